@@ -13,7 +13,6 @@ import de.jungblut.math.tuple.Tuple;
 import de.upb.cs.is.jpl.api.algorithm.baselearner.ABaselearnerAlgorithm;
 import de.upb.cs.is.jpl.api.algorithm.baselearner.EBaseLearner;
 import de.upb.cs.is.jpl.api.algorithm.baselearner.dataset.BaselearnerDataset;
-import de.upb.cs.is.jpl.api.algorithm.baselearner.dataset.BaselearnerInstance;
 import de.upb.cs.is.jpl.api.dataset.IDataset;
 import de.upb.cs.is.jpl.api.exception.algorithm.TrainModelsFailedException;
 
@@ -59,11 +58,10 @@ public class KNearestNeighborClassification extends ABaselearnerAlgorithm<KNeare
       int numberOfPoints = trainingDataset.getNumberOfInstances();
 
       Stream.Builder<Tuple<DoubleVector, Double>> streamBuilder = Stream.builder();
+      double[] correctResults = trainingDataset.getCorrectResults();
       for (int i = 0; i < numberOfPoints; i++) {
-         BaselearnerInstance currentInstance = trainingDataset.getInstance(i);
-         DoubleVector featureVector = new DenseDoubleVector(currentInstance.getContextFeatureVector());
-         Double result = currentInstance.getRating();
-         streamBuilder.add(new Tuple<DoubleVector, Double>(featureVector, result));
+         DoubleVector featureVector = new DenseDoubleVector(trainingDataset.getFeatureVector(i));
+         streamBuilder.add(new Tuple<DoubleVector, Double>(featureVector, correctResults[i]));
       }
       kdTree.constructWithPayload(streamBuilder.build());
       kdTree.balanceBySort();
@@ -5,15 +5,11 @@ import java.util.HashSet;
 import java.util.Random;
 import java.util.Set;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
 import de.upb.cs.is.jpl.api.algorithm.AAlgorithmConfiguration;
 import de.upb.cs.is.jpl.api.algorithm.baselearner.ABaselearnerAlgorithm;
 import de.upb.cs.is.jpl.api.algorithm.baselearner.dataset.BaselearnerDataset;
 import de.upb.cs.is.jpl.api.algorithm.baselearner.dataset.BaselearnerInstance;
 import de.upb.cs.is.jpl.api.dataset.IDataset;
-import de.upb.cs.is.jpl.api.exception.algorithm.PredictionFailedException;
 import de.upb.cs.is.jpl.api.exception.algorithm.TrainModelsFailedException;
 import de.upb.cs.is.jpl.api.math.RandomGenerator;
 
@@ -27,10 +23,6 @@ import de.upb.cs.is.jpl.api.math.RandomGenerator;
  */
 public abstract class ALinearClassification<CONFIG extends AAlgorithmConfiguration> extends ABaselearnerAlgorithm<CONFIG> {
 
-   private static final Logger logger = LoggerFactory.getLogger(ALinearClassification.class);
-
-   private static final String SOMETHING_UNFORESEEABLE_HAPPENED = "Something unforeseeable happened during prediction, this message should not occure due to construction!";
-
 
    /**
     * Creates a linear classification algorithm with the default configuration and the given
@@ -62,19 +54,15 @@ public abstract class ALinearClassification<CONFIG extends AAlgorithmConfigurati
       Random randomGenerator = RandomGenerator.getRNG();
       Set<Integer> seenInstancesAsIndex = new HashSet<>();
 
+      BaselearnerDataset.RowCursor cursor = baselearnerDataset.createRowCursor();
+
       while (seenInstancesAsIndex.size() < baselearnerDataset.getNumberOfInstances()) {
          int randomInstanceIndex = randomGenerator.nextInt(baselearnerDataset.getNumberOfInstances());
-         BaselearnerInstance baselearnerInstance = baselearnerDataset.getInstance(randomInstanceIndex);
+         cursor.moveTo(randomInstanceIndex);
          seenInstancesAsIndex.add(randomInstanceIndex);
 
-         try {
-            Double prediction = learningModel.predict(baselearnerInstance);
-            if (Double.compare(prediction.doubleValue(), baselearnerInstance.getRating()) != 0) {
-               return baselearnerInstance;
-            }
-         } catch (PredictionFailedException e) {
-            // not possible as of construction
-            logger.error(SOMETHING_UNFORESEEABLE_HAPPENED, e);
+         if (Double.compare(learningModel.predict(cursor), cursor.getCorrectResult()) != 0) {
+            return baselearnerDataset.getInstance(randomInstanceIndex);
          }
       }
       return null;
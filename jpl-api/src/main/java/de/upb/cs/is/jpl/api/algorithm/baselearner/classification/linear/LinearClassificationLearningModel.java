@@ -4,9 +4,6 @@ package de.upb.cs.is.jpl.api.algorithm.baselearner.classification.linear;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
 import de.upb.cs.is.jpl.api.algorithm.baselearner.ABaseLearningModel;
 import de.upb.cs.is.jpl.api.algorithm.baselearner.dataset.BaselearnerDataset;
 import de.upb.cs.is.jpl.api.algorithm.baselearner.dataset.BaselearnerInstance;
@@ -25,10 +22,6 @@ import de.upb.cs.is.jpl.api.math.linearalgebra.IVector;
  */
 public class LinearClassificationLearningModel extends ABaseLearningModel<Double> {
 
-   private static final Logger logger = LoggerFactory.getLogger(ALinearClassification.class);
-
-   private static final String ERROR_SOMETHING_UNFORESEEABLE_HAPPENED = "Something unforeseeable happened during prediction, this message should not occure due to construction!";
-
    private double bias;
    private IVector weightVector;
    private double learningRate;
@@ -90,17 +83,10 @@ public class LinearClassificationLearningModel extends ABaseLearningModel<Double
     */
    public double evaluateInSampleError(final BaselearnerDataset baselearnerDataset) {
       double result = 0;
-      for (int i = 0; i < baselearnerDataset.getNumberOfInstances(); i++) {
-         BaselearnerInstance baselearnerInstance = baselearnerDataset.getInstance(i);
-         double prediction = -1;
-         try {
-            prediction = predict(baselearnerInstance);
-            if (Double.compare(prediction, baselearnerInstance.getRating()) != 0) {
-               result++;
-            }
-         } catch (PredictionFailedException e) {
-            // not possible as of construction
-            logger.error(ERROR_SOMETHING_UNFORESEEABLE_HAPPENED, e);
+      BaselearnerDataset.RowCursor cursor = baselearnerDataset.createRowCursor();
+      while (cursor.next()) {
+         if (Double.compare(predict(cursor), cursor.getCorrectResult()) != 0) {
+            result++;
          }
       }
       result /= baselearnerDataset.getNumberOfInstances();
@@ -112,13 +98,26 @@ public class LinearClassificationLearningModel extends ABaseLearningModel<Double
    public List<Double> predict(final IDataset<?, ?, ?> dataset) throws PredictionFailedException {
       checkDatasetForCompatibility(dataset);
       List<Double> predictionResults = new ArrayList<>();
-      for (int i = 0; i < dataset.getNumberOfInstances(); i++) {
-         predictionResults.add((double) predict(dataset.getInstance(i)));
+      BaselearnerDataset.RowCursor cursor = ((BaselearnerDataset) dataset).createRowCursor();
+      while (cursor.next()) {
+         predictionResults.add(predict(cursor));
       }
       return predictionResults;
    }
 
 
+   /**
+    * Returns the prediction of this model for the current instance of the given cursor, which has
+    * to belong to a dataset compatible with this model.
+    * 
+    * @param cursor the cursor positioned at the instance to predict
+    * @return the prediction of this model, which is either {@code 1} or {@code -1}
+    */
+   public double predict(final BaselearnerDataset.RowCursor cursor) {
+      return sign(weightVector.dotProduct(cursor.getFeatureArray(), cursor.getOffset()) + bias);
+   }
+
+
    @Override
    public Double predict(final IInstance<?, ?, ?> instance) throws PredictionFailedException {
       checkInstanceForCompatibility(instance);
@@ -148,9 +147,7 @@ public class LinearClassificationLearningModel extends ABaseLearningModel<Double
     */
    public void updateWeightVector(final BaselearnerInstance baselearnerInstance) {
       bias += learningRate * baselearnerInstance.getRating();
-      IVector scaledFeatureVector = new DenseDoubleVector(baselearnerInstance.getContextFeatureVector());
-      scaledFeatureVector.multiplyByConstant(learningRate * baselearnerInstance.getRating());
-      weightVector.addVector(scaledFeatureVector);
+      weightVector.addScaledVector(learningRate * baselearnerInstance.getRating(), baselearnerInstance.getContextFeatureVector());
    }
 
 
@@ -15,7 +15,6 @@ import de.upb.cs.is.jpl.api.dataset.IDataset;
 import de.upb.cs.is.jpl.api.exception.algorithm.TrainModelsFailedException;
 import de.upb.cs.is.jpl.api.math.linearalgebra.DenseDoubleVector;
 import de.upb.cs.is.jpl.api.math.linearalgebra.IVector;
-import de.upb.cs.is.jpl.api.math.util.DoubleVectorUtils;
 
 
 /**
@@ -92,22 +91,14 @@ public class MiniBatchPegasosLearningAlgorithm extends ALinearClassification<Min
       IVector vector = new DenseDoubleVector(learningModel.getWeightVector().length());
       double sumForBias = 0;
       for (BaselearnerInstance instance : misclassifiedInstances) {
-         vector.addVector(DoubleVectorUtils.scaleVector(instance.getRating(), instance.getContextFeatureVector()));
+         vector.addScaledVector(instance.getRating(), instance.getContextFeatureVector());
          sumForBias += instance.getRating();
       }
 
       double oneMinusStepsizeTimesRegulatizationParameter = 1 - (stepSize * configuration.getRegularizationParameter());
 
-      IVector newWeightVector = new DenseDoubleVector(learningModel.getWeightVector().length());
-      newWeightVector.addConstant(oneMinusStepsizeTimesRegulatizationParameter);
-      newWeightVector.multiplyByVectorPairwise(learningModel.getWeightVector());
-
-      IVector secondProduct = new DenseDoubleVector(learningModel.getWeightVector().length());
-      secondProduct.addConstant(stepSize / configuration.getSubsetSize());
-      secondProduct.multiplyByVectorPairwise(vector);
-
-      newWeightVector.addVector(secondProduct);
-      learningModel.setWeightVector(newWeightVector);
+      learningModel.getWeightVector().multiplyByConstantAndAddScaledVector(oneMinusStepsizeTimesRegulatizationParameter,
+            stepSize / configuration.getSubsetSize(), vector);
 
       double newBias = oneMinusStepsizeTimesRegulatizationParameter * learningModel.getBias();
       newBias += (stepSize / configuration.getSubsetSize()) * sumForBias;
@@ -56,7 +56,6 @@ public class SupportVectorMachineClassification extends ABaselearnerAlgorithm<Su
    protected ILearningModel<?> performTraining(IDataset<?, ?, ?> dataset) throws TrainModelsFailedException {
       BaselearnerDataset baseLearnerdataset = (BaselearnerDataset) dataset;
       assertCompatibilityOfBaseLearnerDatasetWithSVM(baseLearnerdataset);
-      double[][] features = baseLearnerdataset.getFeatureVectors();
       double[] classes = baseLearnerdataset.getCorrectResults();
       svm_problem svmProblem = new svm_problem();
       int recordCount = baseLearnerdataset.getNumberOfInstances();
@@ -66,13 +65,14 @@ public class SupportVectorMachineClassification extends ABaselearnerAlgorithm<Su
       svmProblem.y = new double[recordCount];
       svmProblem.l = recordCount;
       svmProblem.x = new svm_node[recordCount][featureCount];
-      for (int i = 0; i < recordCount; i++) {
-         double[] featuresForOneInstance = features[i];
-         svmProblem.x[i] = new svm_node[featuresForOneInstance.length];
-         for (int j = 0; j < featuresForOneInstance.length; j++) {
+      BaselearnerDataset.RowCursor cursor = baseLearnerdataset.createRowCursor();
+      while (cursor.next()) {
+         int i = cursor.getIndex();
+         svmProblem.x[i] = new svm_node[featureCount];
+         for (int j = 0; j < featureCount; j++) {
             svm_node node = new svm_node();
             node.index = j;
-            node.value = featuresForOneInstance[j];
+            node.value = cursor.getFeatureValue(j);
             svmProblem.x[i][j] = node;
          }
          svmProblem.y[i] = classes[i];
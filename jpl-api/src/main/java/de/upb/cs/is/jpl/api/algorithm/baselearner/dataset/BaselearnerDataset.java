@@ -6,16 +6,41 @@ import java.util.Arrays;
 import de.upb.cs.is.jpl.api.dataset.ADataset;
 import de.upb.cs.is.jpl.api.dataset.IDataset;
 import de.upb.cs.is.jpl.api.dataset.IInstance;
+import de.upb.cs.is.jpl.api.math.linearalgebra.DenseDoubleVectorView;
+import de.upb.cs.is.jpl.api.math.linearalgebra.DenseFloatVectorView;
+import de.upb.cs.is.jpl.api.math.linearalgebra.IVector;
 import de.upb.cs.is.jpl.api.util.datastructure.NullType;
 
 
 /**
  * A base learner dataset which can only work with real valued feature vectors. The feature vectors
- * are stored as a two-dimensional double array, whereas the correct results are stored in a simple
- * double array.
+ * are stored row after row in a single contiguous double array, in which the feature vector of the
+ * instance with index {@code i} starts at {@code i * getNumberOfFeatures()}. The correct results
+ * are stored in a simple double array.
  * 
  * This dataset has a fixed size, which is predetermined from the very beginning. It assumes that it
- * is filled completely, before being used.
+ * is filled completely, before being used. If the number of instances is not known in advance, the
+ * dataset can be created by a {@link Builder}, which grows as needed.
+ * 
+ * As the feature vectors are stored in a single Java array, a dataset can hold at most about 2^31
+ * feature values, i.e. the number of instances times the number of features must not exceed
+ * {@code Integer.MAX_VALUE - 8}. Larger datasets are rejected with an
+ * {@link IllegalArgumentException} when they are created or grown beyond this limit.
+ * 
+ * Learning algorithms should iterate the feature vectors by a {@link RowCursor} or read single
+ * values by {@link #getFeatureValue(int, int)}, which neither copy the feature vectors nor create
+ * instance objects. {@link #getInstance(int)}, {@link #getFeatureVector(int)} and
+ * {@link #getFeatureVectors()} copy the requested feature vectors.
+ * 
+ * Reduction-based learning algorithms, which train one base learner per label or per label pair on
+ * the same feature vectors, should create the datasets of the base learners by
+ * {@link #createDatasetWithSharedFeatureVectors(double[], double[])}. These datasets share the
+ * feature vectors of a single dataset by reference and only own their correct results.
+ * 
+ * Optionally, the feature vectors can be stored in single precision, which halves their memory
+ * footprint. In this case the feature values are rounded to float when they are added, and they
+ * are converted back to double precision when they are requested, so that all computations are
+ * still carried out in double precision.
  * 
  * @author Alexander Hetzer
  *
@@ -23,13 +48,24 @@ import de.upb.cs.is.jpl.api.util.datastructure.NullType;
 public class BaselearnerDataset extends ADataset<double[], NullType, Double> {
 
    private static final String ERROR_DATASET_IS_FULL = "Cannot add another instance to this dataset, as the dataset is full.";
+   private static final String ERROR_WRONG_NUMBER_OF_FEATURES = "Cannot add a feature vector with %d features to a dataset with %d features.";
+   private static final String ERROR_DATASET_TOO_LARGE = "Cannot store %d instances with %d features in a single array.";
+   private static final String ERROR_WRONG_NUMBER_OF_VALUES = "Cannot share the feature vectors of %d instances with %d %s.";
+   private static final String CORRECT_RESULTS = "correct results";
+   private static final String INSTANCE_WEIGHTS = "instance weights";
+
+   /** The largest array which can be allocated safely on all common virtual machines. */
+   private static final int MAXIMUM_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
 
    private int nextFreeFeatureVectorSlot;
 
    private int numberOfInstances;
    private int numberOfFeatures;
 
-   private double[][] featureVectors;
+   private boolean useSinglePrecision;
+
+   private double[] featureValues;
+   private float[] singlePrecisionFeatureValues;
    private double[] correctResults;
    private double[] instanceWeights;
 
@@ -41,17 +77,58 @@ public class BaselearnerDataset extends ADataset<double[], NullType, Double> {
     * @param numberOfFeatures the number of features this dataset supports
     */
    public BaselearnerDataset(int numberOfInstances, int numberOfFeatures) {
+      this(numberOfInstances, numberOfFeatures, false);
+   }
+
+
+   /**
+    * Creates a new {@link BaselearnerDataset}, which stores the feature vectors in single
+    * precision if requested, and initializes the fields correctly.
+    * 
+    * @param numberOfInstances the maximum number of instances for this dataset
+    * @param numberOfFeatures the number of features this dataset supports
+    * @param useSinglePrecision whether the feature vectors should be stored in single precision
+    */
+   public BaselearnerDataset(int numberOfInstances, int numberOfFeatures, boolean useSinglePrecision) {
       this.numberOfInstances = numberOfInstances;
       this.numberOfFeatures = numberOfFeatures;
+      this.useSinglePrecision = useSinglePrecision;
 
       init();
    }
 
 
+   /**
+    * Creates a new {@link BaselearnerDataset} out of the given contiguous arrays, which are used
+    * without copying them.
+    * 
+    * @param numberOfInstances the number of instances of this dataset
+    * @param numberOfFeatures the number of features this dataset supports
+    * @param featureValues the feature values in row-major order, or {@code null} if they are stored
+    *           in single precision
+    * @param singlePrecisionFeatureValues the feature values in row-major order and single
+    *           precision, or {@code null} if they are stored in double precision
+    * @param correctResults the correct results of the instances
+    * @param instanceWeights the weights of the instances
+    */
+   private BaselearnerDataset(int numberOfInstances, int numberOfFeatures, double[] featureValues, float[] singlePrecisionFeatureValues,
+         double[] correctResults, double[] instanceWeights) {
+      this.numberOfInstances = numberOfInstances;
+      this.numberOfFeatures = numberOfFeatures;
+      this.useSinglePrecision = singlePrecisionFeatureValues != null;
+      this.featureValues = featureValues;
+      this.singlePrecisionFeatureValues = singlePrecisionFeatureValues;
+      this.correctResults = correctResults;
+      this.instanceWeights = instanceWeights;
+      this.nextFreeFeatureVectorSlot = numberOfInstances;
+   }
+
+
    @Override
    public BaselearnerInstance getInstance(int instanceNumber) {
       assertInstanceIsInBounds(instanceNumber);
-      return new BaselearnerInstance(featureVectors[instanceNumber], correctResults[instanceNumber], getWeightForInstance(instanceNumber));
+      return BaselearnerInstance.withoutCopying(getFeatureVector(instanceNumber), correctResults[instanceNumber],
+            getWeightForInstance(instanceNumber));
    }
 
 
@@ -72,10 +149,15 @@ public class BaselearnerDataset extends ADataset<double[], NullType, Double> {
     * @return the according subset of this dataset
     */
    private BaselearnerDataset createSubset(int from, int to) {
-      BaselearnerDataset newDataset = new BaselearnerDataset(to - from, numberOfFeatures);
-      for (int i = from; i < to; i++) {
-         newDataset.addFeatureVectorWithResult(featureVectors[i], correctResults[i]);
+      BaselearnerDataset newDataset = new BaselearnerDataset(to - from, numberOfFeatures, useSinglePrecision);
+      if (useSinglePrecision) {
+         System.arraycopy(singlePrecisionFeatureValues, from * numberOfFeatures, newDataset.singlePrecisionFeatureValues, 0,
+               (to - from) * numberOfFeatures);
+      } else {
+         System.arraycopy(featureValues, from * numberOfFeatures, newDataset.featureValues, 0, (to - from) * numberOfFeatures);
       }
+      System.arraycopy(correctResults, from, newDataset.correctResults, 0, to - from);
+      newDataset.nextFreeFeatureVectorSlot = to - from;
       return newDataset;
    }
 
@@ -88,7 +170,12 @@ public class BaselearnerDataset extends ADataset<double[], NullType, Double> {
 
    @Override
    protected void init() {
-      featureVectors = new double[numberOfInstances][numberOfFeatures];
+      int numberOfFeatureValues = getNumberOfFeatureValues(numberOfInstances, numberOfFeatures);
+      if (useSinglePrecision) {
+         singlePrecisionFeatureValues = new float[numberOfFeatureValues];
+      } else {
+         featureValues = new double[numberOfFeatureValues];
+      }
       correctResults = new double[numberOfInstances];
       instanceWeights = new double[numberOfInstances];
       for (int i = 0; i < correctResults.length; i++) {
@@ -108,6 +195,71 @@ public class BaselearnerDataset extends ADataset<double[], NullType, Double> {
    }
 
 
+   /**
+    * Creates a dataset with the given correct results, which shares the feature vectors and the
+    * instance weights of this dataset by reference instead of copying them.
+    * 
+    * @param correctResults the correct results of the created dataset, one per instance of this
+    *           dataset
+    * @return a dataset with the feature vectors of this dataset and the given correct results
+    * @throws IllegalArgumentException if the number of correct results does not match the number of
+    *            instances of this dataset
+    */
+   public BaselearnerDataset createDatasetWithSharedFeatureVectors(double[] correctResults) {
+      return createDatasetWithSharedFeatureVectors(correctResults, instanceWeights);
+   }
+
+
+   /**
+    * Creates a dataset with the given correct results and instance weights, which shares the feature
+    * vectors of this dataset by reference instead of copying them. Hence the memory required for a
+    * base learner dataset per label or label pair is linear in the number of instances, independent
+    * of the number of features. As the feature vectors are shared, changes to them, for example
+    * through {@link #getFeatureVectorView(int)}, are visible in all of these datasets. Instances can
+    * be excluded from the created dataset by a weight of {@code 0}, if the base learner supports
+    * instance weights.
+    * 
+    * @param correctResults the correct results of the created dataset, one per instance of this
+    *           dataset
+    * @param instanceWeights the instance weights of the created dataset, one per instance of this
+    *           dataset, which may be shared between several datasets
+    * @return a dataset with the feature vectors of this dataset and the given correct results and
+    *         instance weights
+    * @throws IllegalArgumentException if the number of correct results or instance weights does not
+    *            match the number of instances of this dataset
+    */
+   public BaselearnerDataset createDatasetWithSharedFeatureVectors(double[] correctResults, double[] instanceWeights) {
+      if (correctResults.length != numberOfInstances) {
+         throw new IllegalArgumentException(
+               String.format(ERROR_WRONG_NUMBER_OF_VALUES, numberOfInstances, correctResults.length, CORRECT_RESULTS));
+      }
+      if (instanceWeights.length != numberOfInstances) {
+         throw new IllegalArgumentException(
+               String.format(ERROR_WRONG_NUMBER_OF_VALUES, numberOfInstances, instanceWeights.length, INSTANCE_WEIGHTS));
+      }
+      return new BaselearnerDataset(numberOfInstances, numberOfFeatures, featureValues, singlePrecisionFeatureValues, correctResults,
+            instanceWeights);
+   }
+
+
+   /**
+    * Returns the number of values of the contiguous feature array for the given number of instances
+    * and features.
+    * 
+    * @param numberOfInstances the number of instances
+    * @param numberOfFeatures the number of features per instance
+    * @return the number of feature values
+    * @throws IllegalArgumentException if the feature values do not fit into a single array
+    */
+   private static int getNumberOfFeatureValues(int numberOfInstances, int numberOfFeatures) {
+      long numberOfFeatureValues = (long) numberOfInstances * numberOfFeatures;
+      if (numberOfFeatureValues > MAXIMUM_ARRAY_LENGTH) {
+         throw new IllegalArgumentException(String.format(ERROR_DATASET_TOO_LARGE, numberOfInstances, numberOfFeatures));
+      }
+      return (int) numberOfFeatureValues;
+   }
+
+
    /**
     * Returns the number of features which are supported by this dataset.
     * 
@@ -118,6 +270,37 @@ public class BaselearnerDataset extends ADataset<double[], NullType, Double> {
    }
 
 
+   /**
+    * Returns whether the feature vectors of this dataset are stored in single precision.
+    * 
+    * @return {@code true} if the feature vectors are stored in single precision, {@code false} if
+    *         they are stored in double precision
+    */
+   public boolean isSinglePrecision() {
+      return useSinglePrecision;
+   }
+
+
+   /**
+    * Stores a copy of the given feature vector in the next free slot of this dataset.
+    * 
+    * @param featureVector the feature vector to store
+    */
+   private void storeFeatureVector(double[] featureVector) {
+      if (featureVector.length != numberOfFeatures) {
+         throw new IllegalArgumentException(String.format(ERROR_WRONG_NUMBER_OF_FEATURES, featureVector.length, numberOfFeatures));
+      }
+      int rowOffset = nextFreeFeatureVectorSlot * numberOfFeatures;
+      if (useSinglePrecision) {
+         for (int i = 0; i < numberOfFeatures; i++) {
+            singlePrecisionFeatureValues[rowOffset + i] = (float) featureVector[i];
+         }
+      } else {
+         System.arraycopy(featureVector, 0, featureValues, rowOffset, numberOfFeatures);
+      }
+   }
+
+
    /**
     * Checks if this dataset is full.
     * 
@@ -139,8 +322,7 @@ public class BaselearnerDataset extends ADataset<double[], NullType, Double> {
     */
    public void addFeatureVectorWithResultAndWeight(double[] featureVector, double result, double weight) {
       assertDatasetIsNotFull();
-      double[] featureVectorCopy = Arrays.copyOf(featureVector, featureVector.length);
-      featureVectors[nextFreeFeatureVectorSlot] = featureVectorCopy;
+      storeFeatureVector(featureVector);
       correctResults[nextFreeFeatureVectorSlot] = result;
       instanceWeights[nextFreeFeatureVectorSlot] = weight;
       nextFreeFeatureVectorSlot++;
@@ -155,8 +337,7 @@ public class BaselearnerDataset extends ADataset<double[], NullType, Double> {
     */
    public void addFeatureVectorWithResult(double[] featureVector, double result) {
       assertDatasetIsNotFull();
-      double[] featureVectorCopy = Arrays.copyOf(featureVector, featureVector.length);
-      featureVectors[nextFreeFeatureVectorSlot] = featureVectorCopy;
+      storeFeatureVector(featureVector);
       correctResults[nextFreeFeatureVectorSlot] = result;
       nextFreeFeatureVectorSlot++;
    }
@@ -169,8 +350,7 @@ public class BaselearnerDataset extends ADataset<double[], NullType, Double> {
     */
    public void addFeatureVectorWithoutResult(double[] featureVector) {
       assertDatasetIsNotFull();
-      double[] featureVectorCopy = Arrays.copyOf(featureVector, featureVector.length);
-      featureVectors[nextFreeFeatureVectorSlot] = featureVectorCopy;
+      storeFeatureVector(featureVector);
       nextFreeFeatureVectorSlot++;
    }
 
@@ -183,23 +363,82 @@ public class BaselearnerDataset extends ADataset<double[], NullType, Double> {
     */
    public void addFeatureVectorWithWeightWithoutResult(double[] featureVector, double weight) {
       assertDatasetIsNotFull();
-      double[] featureVectorCopy = Arrays.copyOf(featureVector, featureVector.length);
-      featureVectors[nextFreeFeatureVectorSlot] = featureVectorCopy;
+      storeFeatureVector(featureVector);
       instanceWeights[nextFreeFeatureVectorSlot] = weight;
       nextFreeFeatureVectorSlot++;
    }
 
 
    /**
-    * Returns the two dimensional feature vector array.
+    * Returns a copy of the feature vectors as a two dimensional array, which is created on each
+    * call. Learning algorithms should prefer a {@link RowCursor} instead.
     * 
     * @return the feature vectors of this dataset
     */
    public double[][] getFeatureVectors() {
+      double[][] featureVectors = new double[numberOfInstances][];
+      for (int i = 0; i < numberOfInstances; i++) {
+         featureVectors[i] = getFeatureVector(i);
+      }
       return featureVectors;
    }
 
 
+   /**
+    * Returns a copy of the feature vector of the instance with the given index.
+    * 
+    * @param indexOfInstance the index of the instance to get the feature vector for
+    * @return the feature vector of the instance with the given index
+    */
+   public double[] getFeatureVector(int indexOfInstance) {
+      double[] featureVector = new double[numberOfFeatures];
+      copyFeatureVectorInto(indexOfInstance, featureVector);
+      return featureVector;
+   }
+
+
+   /**
+    * Copies the feature vector of the instance with the given index into the first
+    * {@link #getNumberOfFeatures()} entries of the given array.
+    * 
+    * @param indexOfInstance the index of the instance to copy the feature vector of
+    * @param target the array to copy the feature vector into
+    */
+   public void copyFeatureVectorInto(int indexOfInstance, double[] target) {
+      int rowOffset = indexOfInstance * numberOfFeatures;
+      if (useSinglePrecision) {
+         for (int i = 0; i < numberOfFeatures; i++) {
+            target[i] = singlePrecisionFeatureValues[rowOffset + i];
+         }
+      } else {
+         System.arraycopy(featureValues, rowOffset, target, 0, numberOfFeatures);
+      }
+   }
+
+
+   /**
+    * Returns the value of the given feature of the instance with the given index.
+    * 
+    * @param indexOfInstance the index of the instance
+    * @param indexOfFeature the index of the feature
+    * @return the value of the feature
+    */
+   public double getFeatureValue(int indexOfInstance, int indexOfFeature) {
+      int position = indexOfInstance * numberOfFeatures + indexOfFeature;
+      return useSinglePrecision ? singlePrecisionFeatureValues[position] : featureValues[position];
+   }
+
+
+   /**
+    * Creates a new cursor, which is positioned before the first instance of this dataset.
+    * 
+    * @return a new cursor over the rows of this dataset
+    */
+   public RowCursor createRowCursor() {
+      return new RowCursor();
+   }
+
+
    /**
     * Returns the correct results for the feature vectors in this dataset.
     * 
@@ -235,12 +474,31 @@ public class BaselearnerDataset extends ADataset<double[], NullType, Double> {
    }
 
 
+   /**
+    * Returns a view on the feature vector of the instance with the given index, which does not copy
+    * the feature vector, and writes changes through to this dataset. If the feature vectors are
+    * stored in single precision, the changes are rounded to single precision.
+    * 
+    * @param indexOfInstance the index of the instance to get the feature vector view for
+    * @return a view on the feature vector of the instance with the given index
+    */
+   public IVector getFeatureVectorView(int indexOfInstance) {
+      assertInstanceIsInBounds(indexOfInstance);
+      int rowOffset = indexOfInstance * numberOfFeatures;
+      if (useSinglePrecision) {
+         return new DenseFloatVectorView(singlePrecisionFeatureValues, rowOffset, numberOfFeatures);
+      }
+      return new DenseDoubleVectorView(featureValues, rowOffset, 1, numberOfFeatures);
+   }
+
+
    @Override
    public int hashCode() {
       final int prime = 31;
       int result = super.hashCode();
       result = prime * result + Arrays.hashCode(correctResults);
-      result = prime * result + Arrays.deepHashCode(featureVectors);
+      result = prime * result + Arrays.hashCode(featureValues);
+      result = prime * result + Arrays.hashCode(singlePrecisionFeatureValues);
       result = prime * result + Arrays.hashCode(instanceWeights);
       result = prime * result + nextFreeFeatureVectorSlot;
       result = prime * result + numberOfFeatures;
@@ -260,7 +518,9 @@ public class BaselearnerDataset extends ADataset<double[], NullType, Double> {
       BaselearnerDataset other = (BaselearnerDataset) obj;
       if (!Arrays.equals(correctResults, other.correctResults))
          return false;
-      if (!Arrays.deepEquals(featureVectors, other.featureVectors))
+      if (!Arrays.equals(featureValues, other.featureValues))
+         return false;
+      if (!Arrays.equals(singlePrecisionFeatureValues, other.singlePrecisionFeatureValues))
          return false;
       if (!Arrays.equals(instanceWeights, other.instanceWeights))
          return false;
@@ -273,4 +533,282 @@ public class BaselearnerDataset extends ADataset<double[], NullType, Double> {
       return true;
    }
 
+
+   /**
+    * A cursor over the rows of this dataset, which gives access to the feature vector, the correct
+    * result and the weight of one instance at a time without copying the feature vector or creating
+    * an instance object. The feature vector of the current row is the part of
+    * {@link #getFeatureArray()} of length {@link BaselearnerDataset#getNumberOfFeatures()} starting
+    * at {@link #getOffset()}. If the feature vectors are stored in single precision, it is
+    * converted into a buffer of the cursor, which is reused for all rows.
+    * 
+    * @author agent
+    *
+    */
+   public class RowCursor {
+
+      private int indexOfInstance = -1;
+      private double[] rowBuffer;
+
+
+      /**
+       * Creates a new cursor, which is positioned before the first instance.
+       */
+      private RowCursor() {
+         if (useSinglePrecision) {
+            rowBuffer = new double[numberOfFeatures];
+         }
+      }
+
+
+      /**
+       * Moves this cursor to the next instance.
+       * 
+       * @return {@code true} if there is a next instance, {@code false} if the cursor has been
+       *         moved behind the last instance
+       */
+      public boolean next() {
+         if (indexOfInstance + 1 >= numberOfInstances) {
+            indexOfInstance = numberOfInstances;
+            return false;
+         }
+         moveTo(indexOfInstance + 1);
+         return true;
+      }
+
+
+      /**
+       * Moves this cursor to the instance with the given index.
+       * 
+       * @param indexOfInstance the index of the instance
+       */
+      public void moveTo(int indexOfInstance) {
+         assertInstanceIsInBounds(indexOfInstance);
+         this.indexOfInstance = indexOfInstance;
+         if (useSinglePrecision) {
+            copyFeatureVectorInto(indexOfInstance, rowBuffer);
+         }
+      }
+
+
+      /**
+       * Returns the index of the current instance.
+       * 
+       * @return the index of the current instance
+       */
+      public int getIndex() {
+         return indexOfInstance;
+      }
+
+
+      /**
+       * Returns the array which contains the feature vector of the current instance, starting at
+       * {@link #getOffset()}. The array must not be changed.
+       * 
+       * @return the array containing the current feature vector
+       */
+      public double[] getFeatureArray() {
+         return useSinglePrecision ? rowBuffer : featureValues;
+      }
+
+
+      /**
+       * Returns the index in {@link #getFeatureArray()} at which the feature vector of the current
+       * instance starts.
+       * 
+       * @return the offset of the current feature vector
+       */
+      public int getOffset() {
+         return useSinglePrecision ? 0 : indexOfInstance * numberOfFeatures;
+      }
+
+
+      /**
+       * Returns the value of the given feature of the current instance.
+       * 
+       * @param indexOfFeature the index of the feature
+       * @return the value of the feature
+       */
+      public double getFeatureValue(int indexOfFeature) {
+         return getFeatureArray()[getOffset() + indexOfFeature];
+      }
+
+
+      /**
+       * Returns the correct result of the current instance.
+       * 
+       * @return the correct result of the current instance
+       */
+      public double getCorrectResult() {
+         return correctResults[indexOfInstance];
+      }
+
+
+      /**
+       * Returns the weight of the current instance.
+       * 
+       * @return the weight of the current instance
+       */
+      public double getWeight() {
+         return getWeightForInstance(indexOfInstance);
+      }
+
+   }
+
+
+   /**
+    * A builder for {@link BaselearnerDataset}s of an unknown number of instances, which appends the
+    * feature vectors to a contiguous array and grows it as needed.
+    * 
+    * @author agent
+    *
+    */
+   public static class Builder {
+
+      private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+      private final int numberOfFeatures;
+      private final boolean useSinglePrecision;
+
+      private int numberOfInstances;
+      private double[] featureValues;
+      private float[] singlePrecisionFeatureValues;
+      private double[] correctResults;
+      private double[] instanceWeights;
+
+
+      /**
+       * Creates a new builder for a dataset with the given number of features.
+       * 
+       * @param numberOfFeatures the number of features of the dataset
+       */
+      public Builder(int numberOfFeatures) {
+         this(numberOfFeatures, false, DEFAULT_INITIAL_CAPACITY);
+      }
+
+
+      /**
+       * Creates a new builder for a dataset with the given number of features, which can hold the
+       * given number of instances before it has to grow.
+       * 
+       * @param numberOfFeatures the number of features of the dataset
+       * @param useSinglePrecision whether the feature vectors should be stored in single precision
+       * @param expectedNumberOfInstances the expected number of instances
+       */
+      public Builder(int numberOfFeatures, boolean useSinglePrecision, int expectedNumberOfInstances) {
+         this.numberOfFeatures = numberOfFeatures;
+         this.useSinglePrecision = useSinglePrecision;
+         allocate(Math.max(expectedNumberOfInstances, 1));
+      }
+
+
+      /**
+       * Adds the given feature vector with the given result and a weight of {@code 1}.
+       * 
+       * @param featureVector the feature vector to add
+       * @param result the correct result of the instance
+       * @return this builder
+       */
+      public Builder add(double[] featureVector, double result) {
+         return add(featureVector, result, 1.0);
+      }
+
+
+      /**
+       * Adds the given feature vector with the given result and weight.
+       * 
+       * @param featureVector the feature vector to add
+       * @param result the correct result of the instance
+       * @param weight the weight of the instance
+       * @return this builder
+       * @throws IllegalArgumentException if the feature vector does not have the number of
+       *            features of the dataset
+       */
+      public Builder add(double[] featureVector, double result, double weight) {
+         if (featureVector.length != numberOfFeatures) {
+            throw new IllegalArgumentException(String.format(ERROR_WRONG_NUMBER_OF_FEATURES, featureVector.length, numberOfFeatures));
+         }
+         if (numberOfInstances == correctResults.length) {
+            allocate(getGrownCapacity(numberOfInstances, numberOfFeatures));
+         }
+         int rowOffset = numberOfInstances * numberOfFeatures;
+         if (useSinglePrecision) {
+            for (int i = 0; i < numberOfFeatures; i++) {
+               singlePrecisionFeatureValues[rowOffset + i] = (float) featureVector[i];
+            }
+         } else {
+            System.arraycopy(featureVector, 0, featureValues, rowOffset, numberOfFeatures);
+         }
+         correctResults[numberOfInstances] = result;
+         instanceWeights[numberOfInstances] = weight;
+         numberOfInstances++;
+         return this;
+      }
+
+
+      /**
+       * Returns the number of instances added so far.
+       * 
+       * @return the number of instances added so far
+       */
+      public int getNumberOfInstances() {
+         return numberOfInstances;
+      }
+
+
+      /**
+       * Builds the dataset out of the instances added so far. The arrays are trimmed to the number
+       * of instances, hence the builder should not be used afterwards.
+       * 
+       * @return the built dataset
+       */
+      public BaselearnerDataset build() {
+         allocate(numberOfInstances);
+         return new BaselearnerDataset(numberOfInstances, numberOfFeatures, featureValues, singlePrecisionFeatureValues, correctResults,
+               instanceWeights);
+      }
+
+
+      /**
+       * Returns the number of instances a builder holding the given number of instances can hold
+       * after growing, which is twice the given number, but at most as many instances as fit into
+       * a single feature array.
+       * 
+       * @param numberOfInstances the number of instances held by the builder
+       * @param numberOfFeatures the number of features of the dataset
+       * @return the number of instances the builder can hold after growing, which is larger than
+       *         the given number
+       * @throws IllegalArgumentException if not even one more instance fits into a single feature
+       *            array
+       */
+      static int getGrownCapacity(int numberOfInstances, int numberOfFeatures) {
+         long maximumCapacity = MAXIMUM_ARRAY_LENGTH / Math.max(numberOfFeatures, 1);
+         long grownCapacity = Math.min(Math.max(2L * numberOfInstances, 1), maximumCapacity);
+         if (grownCapacity <= numberOfInstances) {
+            throw new IllegalArgumentException(String.format(ERROR_DATASET_TOO_LARGE, numberOfInstances + 1L, numberOfFeatures));
+         }
+         return (int) grownCapacity;
+      }
+
+
+      /**
+       * Resizes the arrays of this builder to the given number of instances, keeping the instances
+       * added so far.
+       * 
+       * @param capacity the number of instances the arrays can hold afterwards
+       */
+      private void allocate(int capacity) {
+         int numberOfFeatureValues = getNumberOfFeatureValues(capacity, numberOfFeatures);
+         if (useSinglePrecision) {
+            singlePrecisionFeatureValues = singlePrecisionFeatureValues == null ? new float[numberOfFeatureValues]
+                  : Arrays.copyOf(singlePrecisionFeatureValues, numberOfFeatureValues);
+         } else {
+            featureValues = featureValues == null ? new double[numberOfFeatureValues] : Arrays.copyOf(featureValues, numberOfFeatureValues);
+         }
+         correctResults = correctResults == null ? new double[capacity] : Arrays.copyOf(correctResults, capacity);
+         instanceWeights = instanceWeights == null ? new double[capacity] : Arrays.copyOf(instanceWeights, capacity);
+      }
+
+   }
+
 }
@@ -66,6 +66,22 @@ public class BaselearnerInstance extends AInstance<double[], NullType, Double> {
    }
 
 
+   /**
+    * Creates an instance which takes ownership of the given feature vector instead of copying it.
+    * 
+    * @param contextFeatureVector the feature vector of this instance, which must not be changed
+    *           afterwards by the caller
+    * @param rating the correct prediction for this instance
+    * @param weight the weight of the instance
+    * @return the created instance
+    */
+   static BaselearnerInstance withoutCopying(double[] contextFeatureVector, double rating, double weight) {
+      BaselearnerInstance instance = new BaselearnerInstance(new double[0], rating, weight);
+      instance.featureVector = contextFeatureVector;
+      return instance;
+   }
+
+
    @Override
    public double[] getContextFeatureVector() {
       return featureVector;
@@ -86,15 +86,11 @@ public class LinearRegression extends ABaselearnerAlgorithm<LinearRegressionConf
     */
    private double[][] formatFeaturesForQRDecomposition(BaselearnerDataset dataset) {
       double[][] returnMatrix = new double[dataset.getNumberOfInstances()][dataset.getNumberOfFeatures() + 1];
-      double[][] currentFeatures = dataset.getFeatureVectors();
-      for (int i = 0; i < dataset.getNumberOfInstances(); i++) {
-         for (int j = 0; j < dataset.getNumberOfFeatures() + 1; j++) {
-            if (j == 0) {
-               returnMatrix[i][j] = 1;
-            } else {
-               returnMatrix[i][j] = currentFeatures[i][j - 1];
-            }
-         }
+      BaselearnerDataset.RowCursor cursor = dataset.createRowCursor();
+      while (cursor.next()) {
+         double[] returnRow = returnMatrix[cursor.getIndex()];
+         returnRow[0] = 1;
+         System.arraycopy(cursor.getFeatureArray(), cursor.getOffset(), returnRow, 1, dataset.getNumberOfFeatures());
       }
       return returnMatrix;
    }
@@ -92,11 +92,11 @@ public class LogisticRegression extends ABaselearnerAlgorithm<LogisticRegression
       numberOfFeaturesIncludingBias = this.dataset.getNumberOfFeatures() + 1;
       this.transformedDataset = new ArrayList<>();
       double[] correctResults = this.dataset.getCorrectResults();
-      double[][] featureVectorsOfDataset = this.dataset.getFeatureVectors();
       double[] instanceWeights = this.dataset.getInstanceWeights();
-      for (int i = 0; i < dataset.getNumberOfInstances(); i++) {
-         IVector instanceVector = convertFeatureArrayToVector(numberOfFeaturesIncludingBias, featureVectorsOfDataset[i]);
-         transformedDataset.add(Triple.of(instanceVector, correctResults[i], instanceWeights[i]));
+      BaselearnerDataset.RowCursor cursor = this.dataset.createRowCursor();
+      while (cursor.next()) {
+         IVector instanceVector = convertFeatureArrayToVector(numberOfFeaturesIncludingBias, cursor.getFeatureArray(), cursor.getOffset());
+         transformedDataset.add(Triple.of(instanceVector, correctResults[cursor.getIndex()], instanceWeights[cursor.getIndex()]));
       }
    }
 
@@ -107,16 +107,15 @@ public class LogisticRegression extends ABaselearnerAlgorithm<LogisticRegression
     * component.
     * 
     * @param numberOfDimensionsIncludingBias the number of dimensions including the bias
-    * @param featureVectorOfDataset the feature vector as array to be converted into a vector
+    * @param featureArray the array containing the feature vector to be converted into a vector
+    * @param offset the index in the array at which the feature vector starts
     * @return a vector representation of the given feature array
     */
-   private IVector convertFeatureArrayToVector(int numberOfDimensionsIncludingBias, double[] featureVectorOfDataset) {
-      IVector instanceVector = new DenseDoubleVector(numberOfDimensionsIncludingBias);
-      instanceVector.setValue(0, 1);
-      for (int j = 0; j < numberOfDimensionsIncludingBias - 1; j++) {
-         instanceVector.setValue(j + 1, featureVectorOfDataset[j]);
-      }
-      return instanceVector;
+   private IVector convertFeatureArrayToVector(int numberOfDimensionsIncludingBias, double[] featureArray, int offset) {
+      double[] instanceArray = new double[numberOfDimensionsIncludingBias];
+      instanceArray[0] = 1;
+      System.arraycopy(featureArray, offset, instanceArray, 1, numberOfDimensionsIncludingBias - 1);
+      return new DenseDoubleVector(instanceArray);
    }
 
 
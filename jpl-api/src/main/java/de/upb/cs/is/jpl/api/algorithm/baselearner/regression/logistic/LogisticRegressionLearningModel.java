@@ -2,7 +2,6 @@ package de.upb.cs.is.jpl.api.algorithm.baselearner.regression.logistic;
 
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
 import de.upb.cs.is.jpl.api.algorithm.baselearner.ABaseLearningModel;
@@ -66,8 +65,9 @@ public class LogisticRegressionLearningModel extends ABaseLearningModel<Double>
       checkDatasetForCompatibility(dataset);
       BaselearnerDataset baseLearnerDataset = (BaselearnerDataset) dataset;
       List<Double> results = new ArrayList<>();
-      for (double[] feature : baseLearnerDataset.getFeatureVectors()) {
-         results.add(predictOnFeatureArray(feature));
+      BaselearnerDataset.RowCursor cursor = baseLearnerDataset.createRowCursor();
+      while (cursor.next()) {
+         results.add(predictOnFeatureArray(cursor.getFeatureArray(), cursor.getOffset()));
       }
       return results;
    }
@@ -78,19 +78,19 @@ public class LogisticRegressionLearningModel extends ABaseLearningModel<Double>
       checkInstanceForCompatibility(instance);
       BaselearnerInstance baseLearnerInstance = (BaselearnerInstance) instance;
       double[] features = baseLearnerInstance.getContextFeatureVector();
-      return predictOnFeatureArray(features);
+      return predictOnFeatureArray(features, 0);
    }
 
 
    /**
-    * Returns the prediction of this model on the given feature array.
+    * Returns the prediction of this model on the feature vector in the given array.
     * 
-    * @param features the features as array
+    * @param features the array containing the feature vector
+    * @param offset the index in the array at which the feature vector starts
     * @return the prediction result of this model on the given feature array
     */
-   private double predictOnFeatureArray(double[] features) {
-      IVector featureVector = new DenseDoubleVector(features);
-      return FunctionUtils.logisticFunction(weightVector.dotProduct(featureVector) + bias);
+   private double predictOnFeatureArray(double[] features, int offset) {
+      return FunctionUtils.logisticFunction(weightVector.dotProduct(features, offset) + bias);
    }
 
 
@@ -110,7 +110,7 @@ public class LogisticRegressionLearningModel extends ABaseLearningModel<Double>
    public boolean isDatasetCompatible(IDataset<?, ?, ?> dataset) {
       if (dataset instanceof BaselearnerDataset) {
          BaselearnerDataset baselearnerDataset = (BaselearnerDataset) dataset;
-         return areFeatureVectorsSizedCorrectly(Arrays.asList(baselearnerDataset.getFeatureVectors()));
+         return baselearnerDataset.getNumberOfFeatures() == numberOfFeaturesTrainedOn;
       }
       return false;
    }
@@ -139,26 +139,6 @@ public class LogisticRegressionLearningModel extends ABaseLearningModel<Double>
    }
 
 
-   /**
-    * Checks if all of the features in the given list have the size required by this learning model.
-    * 
-    * @param featureVectors the list of feature vectors to check
-    * @return {@code true} if the given features vectors have as many entries as this model has
-    *         training features, otherwise {@code false}
-    */
-   private boolean areFeatureVectorsSizedCorrectly(List<double[]> featureVectors) {
-      if (featureVectors != null) {
-         for (double[] featureVector : featureVectors) {
-            if (!isFeatureVectorSizedCorrectly(featureVector)) {
-               return false;
-            }
-         }
-         return true;
-      }
-      return false;
-   }
-
-
    @Override
    public int hashCode() {
       final int prime = 31;
@@ -34,9 +34,12 @@ public class AAlgorithmConfigurationWithBaseLearner extends AAlgorithmConfigurat
    private static final String ERROR_INVALID_BASE_LEARNER_IDENTIFIER = "Invalid base learner identifier: %s";
 
    protected static final String PARAMETER_NAME_BASE_LEARNER = "base_learner";
+   protected static final String PARAMETER_NAME_SINGLE_PRECISION_FEATURES = "single_precision_features";
 
    @SerializedName(PARAMETER_NAME_BASE_LEARNER)
    protected BaselearnerDefinition baseLearnerElement = null;
+   @SerializedName(PARAMETER_NAME_SINGLE_PRECISION_FEATURES)
+   protected Boolean singlePrecisionFeatures = null;
 
    protected transient IBaselearnerAlgorithm baseLearnerAlgorithm = null;
    protected transient EBaseLearner ebaseLearner = null;
@@ -64,6 +67,9 @@ public class AAlgorithmConfigurationWithBaseLearner extends AAlgorithmConfigurat
       if (algorithmConfigurationWithBaseLearner.baseLearnerElement != null) {
          this.baseLearnerElement = algorithmConfigurationWithBaseLearner.baseLearnerElement;
       }
+      if (algorithmConfigurationWithBaseLearner.singlePrecisionFeatures != null) {
+         this.singlePrecisionFeatures = algorithmConfigurationWithBaseLearner.singlePrecisionFeatures;
+      }
    }
 
 
@@ -182,6 +188,19 @@ public class AAlgorithmConfigurationWithBaseLearner extends AAlgorithmConfigurat
    }
 
 
+   /**
+    * Returns whether the base learner datasets created by the algorithm should store their feature
+    * values in single precision, which halves the memory needed by them. If the parameter is not
+    * set in the configuration, the feature values are stored in double precision.
+    * 
+    * @return {@code true} if the feature values should be stored in single precision, otherwise
+    *         {@code false}
+    */
+   public boolean isUsingSinglePrecisionFeatures() {
+      return singlePrecisionFeatures != null && singlePrecisionFeatures;
+   }
+
+
    /**
     * Sets the base learner algorithm of this configuration to the given one.
     * 
@@ -199,6 +218,7 @@ public class AAlgorithmConfigurationWithBaseLearner extends AAlgorithmConfigurat
       result = prime * result + ((baseLearnerAlgorithm == null) ? 0 : baseLearnerAlgorithm.hashCode());
       result = prime * result + ((baseLearnerElement == null) ? 0 : baseLearnerElement.hashCode());
       result = prime * result + ((ebaseLearner == null) ? 0 : ebaseLearner.hashCode());
+      result = prime * result + ((singlePrecisionFeatures == null) ? 0 : singlePrecisionFeatures.hashCode());
       return result;
    }
 
@@ -224,6 +244,11 @@ public class AAlgorithmConfigurationWithBaseLearner extends AAlgorithmConfigurat
          return false;
       if (ebaseLearner != other.ebaseLearner)
          return false;
+      if (singlePrecisionFeatures == null) {
+         if (other.singlePrecisionFeatures != null)
+            return false;
+      } else if (!singlePrecisionFeatures.equals(other.singlePrecisionFeatures))
+         return false;
       return true;
    }
 
@@ -6,6 +6,8 @@ import de.upb.cs.is.jpl.api.algorithm.ATrainableAlgorithm;
 import de.upb.cs.is.jpl.api.dataset.IDataset;
 import de.upb.cs.is.jpl.api.dataset.IDatasetParser;
 import de.upb.cs.is.jpl.api.dataset.IInstance;
+import de.upb.cs.is.jpl.api.dataset.IStreamingDataset;
+import de.upb.cs.is.jpl.api.exception.JplRuntimeException;
 import de.upb.cs.is.jpl.api.exception.algorithm.PredictionFailedException;
 import de.upb.cs.is.jpl.api.exception.algorithm.TrainModelsFailedException;
 import de.upb.cs.is.jpl.api.exception.algorithm.UnsupportedDatasetTypeException;
@@ -25,6 +27,8 @@ import de.upb.cs.is.jpl.api.util.TypeCheckUtils;
 public abstract class ALearningAlgorithm<CONFIG extends AAlgorithmConfiguration> extends ATrainableAlgorithm<CONFIG>
       implements ILearningAlgorithm {
 
+   private static final String ERROR_STREAMING_NOT_SUPPORTED = "The algorithm %s cannot be trained on a streaming dataset.";
+
 
    /**
     * Constructor which initializes the algorithm configuration to default algorithms configuration.
@@ -66,6 +70,39 @@ public abstract class ALearningAlgorithm<CONFIG extends AAlgorithmConfiguration>
    }
 
 
+   /**
+    * Trains a model on the given streaming dataset, which does not need to fit into memory. Only
+    * algorithms which can learn from a sequential traversal of the instances support this.
+    * 
+    * @param dataset the streaming dataset to train on
+    * @return the trained model
+    * @throws TrainModelsFailedException if the algorithm does not support streaming datasets, the
+    *            dataset cannot be read or the training failed
+    */
+   public ILearningModel<?> trainOnStream(IStreamingDataset<?, ?, ?> dataset) throws TrainModelsFailedException {
+      init();
+      try {
+         return performTrainingOnStream(dataset);
+      } catch (JplRuntimeException e) {
+         throw new TrainModelsFailedException(e.getMessage(), e);
+      }
+   }
+
+
+   /**
+    * Performs the training on the given streaming dataset. The chunks of the dataset are checked for
+    * compatibility by the implementation.
+    * 
+    * @param dataset the streaming dataset to train on
+    * @return the trained model
+    * @throws TrainModelsFailedException if the algorithm does not support streaming datasets, which
+    *            is the default, or the training failed
+    */
+   protected ILearningModel<?> performTrainingOnStream(IStreamingDataset<?, ?, ?> dataset) throws TrainModelsFailedException {
+      throw new TrainModelsFailedException(String.format(ERROR_STREAMING_NOT_SUPPORTED, getClass().getSimpleName()));
+   }
+
+
    /**
     * Checks if the given dataset is compatible with this algorithm. If this is not the case a
     * {@link TrainModelsFailedException} is thrown.
@@ -10,8 +10,10 @@ import de.upb.cs.is.jpl.api.algorithm.AAlgorithmConfiguration;
 import de.upb.cs.is.jpl.api.algorithm.learningalgorithm.ALearningAlgorithm;
 import de.upb.cs.is.jpl.api.algorithm.learningalgorithm.ELearningAlgorithm;
 import de.upb.cs.is.jpl.api.algorithm.learningalgorithm.ILearningModel;
+import de.upb.cs.is.jpl.api.dataset.IChunkIterator;
 import de.upb.cs.is.jpl.api.dataset.IDataset;
 import de.upb.cs.is.jpl.api.dataset.IDatasetParser;
+import de.upb.cs.is.jpl.api.dataset.IStreamingDataset;
 import de.upb.cs.is.jpl.api.dataset.collaborativefiltering.CollaborativeFilteringDataset;
 import de.upb.cs.is.jpl.api.dataset.collaborativefiltering.CollaborativeFilteringInstance;
 import de.upb.cs.is.jpl.api.dataset.collaborativefiltering.CollaborativeFilteringParser;
@@ -19,7 +21,6 @@ import de.upb.cs.is.jpl.api.exception.algorithm.TrainModelsFailedException;
 import de.upb.cs.is.jpl.api.math.linearalgebra.DenseDoubleMatrix;
 import de.upb.cs.is.jpl.api.math.linearalgebra.IMatrix;
 import de.upb.cs.is.jpl.api.math.linearalgebra.IVector;
-import de.upb.cs.is.jpl.api.util.datastructure.Pair;
 
 
 /**
@@ -38,6 +39,7 @@ public class MatrixFactorizationLearningAlgorithm extends ALearningAlgorithm<Mat
    private static final String COULD_NOT_CALCULATE_ERROR = "Could not calculate error";
    private static final String GRADIENT_DESCENT_STOPPED = "Gradient descent stopped after %s steps.";
    private static final String STARTING_GRADIENT_DESCENT = "Starting gradient descent of %s steps.";
+   private static final String STARTING_GRADIENT_DESCENT_ON_STREAM = "Starting gradient descent of %s passes over the dataset.";
    private static final String ESTIMATED_TIME_UNTIL_GRADIENT_DESCENT_IS_COMPLETED = "Estimated time until Gradient Descent is completed: {} seconds.";
 
 
@@ -119,14 +121,7 @@ public class MatrixFactorizationLearningAlgorithm extends ALearningAlgorithm<Mat
       logger.info(String.format(STARTING_GRADIENT_DESCENT, numberOfInstances * configuration.getNumberOfIterations()));
       while (stepNumber < configuration.getNumberOfIterations() * numberOfInstances) {
          CollaborativeFilteringInstance instance = cfDataset.getInstance(stepNumber % numberOfInstances);
-         Pair<double[], double[]> newVectors = calculateGradientStep(instance);
-
-         for (int i = 0; i < numberOfHiddenFeatures; i++) {
-            hiddenContextFeatures.setValue(instance.getContextId(), i, newVectors.getFirst()[i]);
-         }
-         for (int i = 0; i < numberOfHiddenFeatures; i++) {
-            hiddenItemFeatures.setValue(i, instance.getItemId(), newVectors.getSecond()[i]);
-         }
+         performGradientStep(instance);
          stepNumber++;
          if (stepNumber == cfDataset.getNumberOfInstances()) {
             logger.info(ESTIMATED_TIME_UNTIL_GRADIENT_DESCENT_IS_COMPLETED,
@@ -148,27 +143,74 @@ public class MatrixFactorizationLearningAlgorithm extends ALearningAlgorithm<Mat
 
 
    /**
-    * Calculate the result of the gradient descent descent step.
+    * {@inheritDoc}
+    * 
+    * The gradient steps are performed in the same order as for an in-memory dataset, i.e. every
+    * iteration is a pass over the instances in their original order, which reads the chunks of the
+    * dataset once more. The hidden features are sized by the first chunk.
+    */
+   @Override
+   protected ILearningModel<?> performTrainingOnStream(IStreamingDataset<?, ?, ?> dataset) throws TrainModelsFailedException {
+      stepNumber = 0;
+
+      numberOfHiddenFeatures = configuration.getNumberOfHiddenFeatures();
+      regFactor = configuration.getRegularizationFactor();
+      stepSize = configuration.getStepSize();
+
+      logger.info(String.format(STARTING_GRADIENT_DESCENT_ON_STREAM, configuration.getNumberOfIterations()));
+      boolean isInitialized = false;
+      for (int iteration = 0; iteration < configuration.getNumberOfIterations(); iteration++) {
+         try (IChunkIterator<?, ?, ?> chunks = dataset.chunkIterator()) {
+            while (chunks.hasNext()) {
+               IDataset<?, ?, ?> chunk = chunks.next();
+               assertDatasetHasCorrectType(chunk, CollaborativeFilteringDataset.class);
+               CollaborativeFilteringDataset cfChunk = (CollaborativeFilteringDataset) chunk;
+               if (!isInitialized) {
+                  initializeHiddenFeatures(cfChunk.getNumberOfItems(), cfChunk.getNumberOfContexts(), numberOfHiddenFeatures);
+                  isInitialized = true;
+               }
+               for (int i = 0; i < cfChunk.getNumberOfInstances(); i++) {
+                  performGradientStep(cfChunk.getInstance(i));
+                  stepNumber++;
+               }
+            }
+         }
+      }
+      if (!isInitialized) {
+         initializeHiddenFeatures(0, 0, numberOfHiddenFeatures);
+      }
+
+      logger.info(String.format(GRADIENT_DESCENT_STOPPED, stepNumber));
+
+      return new MatrixFactorizationLearningModel(hiddenItemFeatures, hiddenContextFeatures);
+   }
+
+
+   @Override
+   public MatrixFactorizationLearningModel trainOnStream(IStreamingDataset<?, ?, ?> dataset) throws TrainModelsFailedException {
+      return (MatrixFactorizationLearningModel) super.trainOnStream(dataset);
+   }
+
+
+   /**
+    * Performs a gradient descent step for the given instance, which updates the according item and
+    * context vectors in place through views on the hidden feature matrices.
     * 
     * @param instance the training instance of this step
-    * @return the new context and item vectors
     * @throws TrainModelsFailedException if the training operation failed
     */
-   private Pair<double[], double[]> calculateGradientStep(CollaborativeFilteringInstance instance) throws TrainModelsFailedException {
-      IVector itemVector = hiddenItemFeatures.getColumnVector(instance.getItemId());
-      IVector contextVector = hiddenContextFeatures.getRowVector(instance.getContextId());
-      double[] newItemVector = new double[numberOfHiddenFeatures];
-      double[] newContextVector = new double[numberOfHiddenFeatures];
+   private void performGradientStep(CollaborativeFilteringInstance instance) throws TrainModelsFailedException {
+      IVector itemVector = hiddenItemFeatures.getColumnView(instance.getItemId());
+      IVector contextVector = hiddenContextFeatures.getRowView(instance.getContextId());
 
       double prediction = itemVector.dotProduct(contextVector);
       double error = calculateError(instance.getRating(), prediction);
       for (int i = 0; i < numberOfHiddenFeatures; i++) {
          double oldItemValue = itemVector.getValue(i);
          double oldContextValue = contextVector.getValue(i);
-         newItemVector[i] = oldItemValue + stepSize * (2 * error * oldContextValue - regFactor * oldItemValue);
-         newContextVector[i] = oldContextValue + stepSize * (2 * error * oldItemValue - regFactor * oldContextValue);
+         itemVector.setValue(i, oldItemValue + stepSize * (2 * error * oldContextValue - regFactor * oldItemValue));
+         contextVector.setValue(i, oldContextValue + stepSize * (2 * error * oldItemValue - regFactor * oldContextValue));
       }
-      return Pair.of(newContextVector, newItemVector);
    }
 
 
@@ -46,8 +46,8 @@ public class MatrixFactorizationLearningModel extends ALearningModel<Double> {
                cfInstance.getContextId(), cfInstance.getItemId()));
       }
 
-      double prediction = userHiddenFeatures.getRowVector(instance.getContextId())
-            .dotProduct(itemHiddenFeatures.getColumnVector(cfInstance.getItemId()));
+      double prediction = userHiddenFeatures.getRowView(instance.getContextId())
+            .dotProduct(itemHiddenFeatures.getColumnView(cfInstance.getItemId()));
 
       if (Double.isNaN(prediction)) {
          throw new PredictionFailedException(PREDICTION_FAILED);
@@ -2,8 +2,11 @@ package de.upb.cs.is.jpl.api.algorithm.learningalgorithm.collaborativefiltering.
 
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.TreeSet;
 
 import org.slf4j.Logger;
@@ -17,7 +20,10 @@ import de.upb.cs.is.jpl.api.dataset.collaborativefiltering.CollaborativeFilterin
 import de.upb.cs.is.jpl.api.exception.algorithm.PredictionFailedException;
 import de.upb.cs.is.jpl.api.exception.evaluation.LossException;
 import de.upb.cs.is.jpl.api.math.linearalgebra.IVector;
+import de.upb.cs.is.jpl.api.math.util.EPairwiseMetric;
+import de.upb.cs.is.jpl.api.math.util.PairwiseMetricUtils;
 import de.upb.cs.is.jpl.api.metric.IMetric;
+import de.upb.cs.is.jpl.api.metric.correlation.CosineSimilariy;
 import de.upb.cs.is.jpl.api.util.datastructure.WeightedObject;
 
 
@@ -43,6 +49,7 @@ public class UserBasedFilteringLearningModel extends ALearningModel<Double> {
    private IMetric<IVector, Double> similarityFunction;
 
    private TreeSet<WeightedObject<Integer>>[] neighborDistances;
+   private List<IVector> ratingVectors;
 
 
    /**
@@ -84,6 +91,12 @@ public class UserBasedFilteringLearningModel extends ALearningModel<Double> {
       if (!isDatasetCompatible(dataset)) {
          throw new PredictionFailedException("The dataset does not contain valid instances.");
       }
+      Set<Integer> users = new LinkedHashSet<>();
+      for (int i = 0; i < dataset.getNumberOfInstances(); i++) {
+         users.add(((CollaborativeFilteringInstance) dataset.getInstance(i)).getContextId());
+      }
+      fillNeighborDistances(users);
+
       List<Double> results = new ArrayList<>();
       for (int i = 0; i < dataset.getNumberOfInstances(); i++) {
          CollaborativeFilteringInstance instance = (CollaborativeFilteringInstance) dataset.getInstance(i);
@@ -104,7 +117,7 @@ public class UserBasedFilteringLearningModel extends ALearningModel<Double> {
    private double predictSingleItem(int user, int item) throws PredictionFailedException {
 
       if (neighborDistances[user] == null) {
-         neighborDistances[user] = fillNeighborDistances(user);
+         fillNeighborDistances(Collections.singleton(user));
       }
 
       double result = 0.0;
@@ -131,6 +144,48 @@ public class UserBasedFilteringLearningModel extends ALearningModel<Double> {
    }
 
 
+   /**
+    * Fills the {@link TreeSet}s which contain the distances / similarities with the other users for
+    * all given users, whose neighborhood has not been computed yet. If the similarity function is
+    * the {@link CosineSimilariy}, the similarities of all these users are computed at once by
+    * {@link PairwiseMetricUtils}, otherwise they are computed one pair at a time.
+    * 
+    * @param users the user ids of the selected users
+    * @throws PredictionFailedException if the distance could not be computed
+    */
+   private void fillNeighborDistances(Set<Integer> users) throws PredictionFailedException {
+      List<Integer> missingUsers = new ArrayList<>();
+      for (int user : users) {
+         if (neighborDistances[user] == null) {
+            missingUsers.add(user);
+         }
+      }
+      if (missingUsers.isEmpty()) {
+         return;
+      }
+      List<IVector> allVectors = getRatingVectors();
+      if (similarityFunction instanceof CosineSimilariy) {
+         List<IVector> predictionVectors = new ArrayList<>(missingUsers.size());
+         for (int user : missingUsers) {
+            predictionVectors.add(allVectors.get(user));
+         }
+         double[][] similarities = PairwiseMetricUtils.computePairwiseMatrix(EPairwiseMetric.COSINE_SIMILARITY, predictionVectors,
+               allVectors);
+         for (int k = 0; k < missingUsers.size(); k++) {
+            TreeSet<WeightedObject<Integer>> distances = new TreeSet<>();
+            for (int i = 0; i < similarities[k].length; i++) {
+               distances.add(new WeightedObject<Integer>(i, similarities[k][i]));
+            }
+            neighborDistances[missingUsers.get(k)] = distances;
+         }
+      } else {
+         for (int user : missingUsers) {
+            neighborDistances[user] = fillNeighborDistances(user);
+         }
+      }
+   }
+
+
    /**
     * Fill the {@link TreeSet} which contains the distances / similarities with the other users.
     * 
@@ -139,10 +194,11 @@ public class UserBasedFilteringLearningModel extends ALearningModel<Double> {
     * @throws PredictionFailedException if the distance could not be computed
     */
    private TreeSet<WeightedObject<Integer>> fillNeighborDistances(int user) throws PredictionFailedException {
-      IVector predictionVector = trainingData.getRowVector(user);
+      List<IVector> allVectors = getRatingVectors();
+      IVector predictionVector = allVectors.get(user);
       TreeSet<WeightedObject<Integer>> distances = new TreeSet<>();
-      for (int i = 0; i < trainingData.getNumberOfContexts(); i++) {
-         IVector compareVector = trainingData.getRowVector(i);
+      for (int i = 0; i < allVectors.size(); i++) {
+         IVector compareVector = allVectors.get(i);
 
          double similarity = Double.MAX_VALUE;
          try {
@@ -156,6 +212,22 @@ public class UserBasedFilteringLearningModel extends ALearningModel<Double> {
    }
 
 
+   /**
+    * Returns the rating vectors of all users of the training data, which are extracted only once.
+    * 
+    * @return the rating vectors of all users
+    */
+   private List<IVector> getRatingVectors() {
+      if (ratingVectors == null) {
+         ratingVectors = new ArrayList<>(trainingData.getNumberOfContexts());
+         for (int i = 0; i < trainingData.getNumberOfContexts(); i++) {
+            ratingVectors.add(trainingData.getRowVector(i));
+         }
+      }
+      return ratingVectors;
+   }
+
+
    @Override
    public boolean isDatasetCompatible(IDataset<?, ?, ?> dataset) {
       if (!(dataset instanceof CollaborativeFilteringDataset)) {
@@ -10,10 +10,13 @@ import de.upb.cs.is.jpl.api.algorithm.AAlgorithmConfiguration;
 import de.upb.cs.is.jpl.api.algorithm.learningalgorithm.ALearningAlgorithm;
 import de.upb.cs.is.jpl.api.algorithm.learningalgorithm.ELearningAlgorithm;
 import de.upb.cs.is.jpl.api.dataset.ADatasetParser;
+import de.upb.cs.is.jpl.api.dataset.IChunkIterator;
 import de.upb.cs.is.jpl.api.dataset.IDataset;
+import de.upb.cs.is.jpl.api.dataset.IStreamingDataset;
 import de.upb.cs.is.jpl.api.dataset.instanceranking.InstanceRankingDataset;
 import de.upb.cs.is.jpl.api.dataset.instanceranking.InstanceRankingDatasetParser;
 import de.upb.cs.is.jpl.api.exception.algorithm.TrainModelsFailedException;
+import de.upb.cs.is.jpl.api.math.util.VectorKernels;
 
 
 /**
@@ -101,13 +104,7 @@ public class PerceptronRankLearningAlgorithm extends ALearningAlgorithm<Perceptr
          throw new IllegalArgumentException(ERROR_ARRAYS_WITH_DIFFERENT_LENGTH);
       }
 
-      double scalarProduct = 0.0;
-
-      for (int i = 0; i < firstArray.length; i++) {
-         scalarProduct += firstArray[i] * secondArray[i];
-      }
-
-      return scalarProduct;
+      return VectorKernels.getKernel().dotProduct(firstArray, 0, secondArray, 0, firstArray.length);
    }
 
 
@@ -141,15 +138,60 @@ public class PerceptronRankLearningAlgorithm extends ALearningAlgorithm<Perceptr
       InstanceRankingDataset instancedataset = (InstanceRankingDataset) dataset;
       setFirstStates(instancedataset.getNumberOfFeatures());
 
-      // Run single steps
+      performSingleSteps(instancedataset);
+
+      logger.debug(String.format(CREATED_MODEL_WITH_WEIGHTINGS, Arrays.toString(weightings), Arrays.toString(thresholds)));
+      return new PerceptronRankLearningModel(weightings, thresholds);
+   }
+
+
+   /**
+    * {@inheritDoc}
+    * 
+    * As Perceptron Rank is an online algorithm, it performs the same single pass over the instances
+    * as for an in-memory dataset, while only one chunk is held in memory at a time.
+    */
+   @Override
+   protected PerceptronRankLearningModel performTrainingOnStream(IStreamingDataset<?, ?, ?> dataset) throws TrainModelsFailedException {
+      boolean isFirstChunk = true;
+      try (IChunkIterator<?, ?, ?> chunks = dataset.chunkIterator()) {
+         while (chunks.hasNext()) {
+            IDataset<?, ?, ?> chunk = chunks.next();
+            assertDatasetHasCorrectType(chunk, InstanceRankingDataset.class);
+            InstanceRankingDataset instanceChunk = (InstanceRankingDataset) chunk;
+            if (isFirstChunk) {
+               setFirstStates(instanceChunk.getNumberOfFeatures());
+               isFirstChunk = false;
+            }
+            performSingleSteps(instanceChunk);
+         }
+      }
+      if (isFirstChunk) {
+         setFirstStates(0);
+      }
+
+      logger.debug(String.format(CREATED_MODEL_WITH_WEIGHTINGS, Arrays.toString(weightings), Arrays.toString(thresholds)));
+      return new PerceptronRankLearningModel(weightings, thresholds);
+   }
+
+
+   @Override
+   public PerceptronRankLearningModel trainOnStream(IStreamingDataset<?, ?, ?> dataset) throws TrainModelsFailedException {
+      return (PerceptronRankLearningModel) super.trainOnStream(dataset);
+   }
+
+
+   /**
+    * Performs a training step for each instance of the given dataset in their order.
+    * 
+    * @param instancedataset the dataset whose instances are used
+    */
+   private void performSingleSteps(InstanceRankingDataset instancedataset) {
       for (int i = 0; i < instancedataset.getNumberOfInstances(); i++) {
          double[] curInstanceFeatures = instancedataset.getContextFeatureList().get(i);
          Integer curInstanceRatings = instancedataset.getRatingList().get(i);
          performSingleStep(curInstanceFeatures, curInstanceRatings);
       }
-
-      logger.debug(String.format(CREATED_MODEL_WITH_WEIGHTINGS, Arrays.toString(weightings), Arrays.toString(thresholds)));
-      return new PerceptronRankLearningModel(weightings, thresholds);
    }
 
 
@@ -98,7 +98,9 @@ public class LabelRankingByPairwiseComparisonLearningAlgorithm extends ALearning
 
 
    /**
-    * Provides l(l-1)/2 {@link BaselearnerDataset}s for the preference learning models.
+    * Provides l(l-1)/2 {@link BaselearnerDataset}s for the preference learning models. The feature
+    * vectors are copied only once and shared by all of these datasets, which only own their correct
+    * results.
     *
     * @param labelRankingDataset the label ranking dataset
     * @param labels the labels of the rankings
@@ -110,25 +112,28 @@ public class LabelRankingByPairwiseComparisonLearningAlgorithm extends ALearning
       int hashMapSize = labels.length * (labels.length - 1) / 2;
       Map<Pair<Integer, Integer>, BaselearnerDataset> baselearnerDatasets = new HashMap<>(hashMapSize);
 
+      int numberOfInstances = labelRankingDataset.getNumberOfInstances();
+      BaselearnerDataset sharedFeatureVectors = new BaselearnerDataset(numberOfInstances,
+            labelRankingDataset.getFeatureValuesOfAnInstance(0).length, configuration.isUsingSinglePrecisionFeatures());
+      int[][] orderings = new int[numberOfInstances][];
+      for (int i = 0; i < numberOfInstances; i++) {
+         sharedFeatureVectors.addFeatureVectorWithoutResult(labelRankingDataset.getFeatureValuesOfAnInstance(i));
+         Ranking ranking = labelRankingDataset.getRankingOfInstance(i);
+         validateComparativeOperators(ranking.getCompareOperators());
+         orderings[i] = ranking.getOrderingForRanking();
+      }
+
       for (int firstLabelIndex = 0; firstLabelIndex < labels.length; firstLabelIndex++) {
 
          int secondLabelIndex = firstLabelIndex + 1;
          while (secondLabelIndex < labels.length) {
 
             Pair<Integer, Integer> itemPair = Pair.of(labels[firstLabelIndex], labels[secondLabelIndex]);
-            BaselearnerDataset baselearnerDataset = new BaselearnerDataset(labelRankingDataset.getNumberOfInstances(),
-                  labelRankingDataset.getFeatureValuesOfAnInstance(0).length);
-
-            for (int i = 0; i < labelRankingDataset.getNumberOfInstances(); i++) {
-               double[] contextVector = labelRankingDataset.getFeatureValuesOfAnInstance(i);
-               Ranking ranking = labelRankingDataset.getRankingOfInstance(i);
-               validateComparativeOperators(ranking.getCompareOperators());
-               int[] item = ranking.getOrderingForRanking();
-
-               int firstLabelPreferedToSecondLabel = isItemPrefered(item, itemPair.getFirst(), itemPair.getSecond());
-               baselearnerDataset.addFeatureVectorWithResult(contextVector, firstLabelPreferedToSecondLabel);
+            double[] correctResults = new double[numberOfInstances];
+            for (int i = 0; i < numberOfInstances; i++) {
+               correctResults[i] = isItemPrefered(orderings[i], itemPair.getFirst(), itemPair.getSecond());
             }
-            baselearnerDatasets.put(itemPair, baselearnerDataset);
+            baselearnerDatasets.put(itemPair, sharedFeatureVectors.createDatasetWithSharedFeatureVectors(correctResults));
             secondLabelIndex++;
          }
       }
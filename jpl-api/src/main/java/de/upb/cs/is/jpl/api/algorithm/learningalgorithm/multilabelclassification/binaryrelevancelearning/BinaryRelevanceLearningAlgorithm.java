@@ -2,6 +2,7 @@ package de.upb.cs.is.jpl.api.algorithm.learningalgorithm.multilabelclassificatio
 
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import de.upb.cs.is.jpl.api.algorithm.AAlgorithmConfiguration;
@@ -12,10 +13,10 @@ import de.upb.cs.is.jpl.api.algorithm.learningalgorithm.ELearningAlgorithm;
 import de.upb.cs.is.jpl.api.algorithm.learningalgorithm.ILearningModel;
 import de.upb.cs.is.jpl.api.dataset.IDataset;
 import de.upb.cs.is.jpl.api.dataset.IDatasetParser;
+import de.upb.cs.is.jpl.api.dataset.multilabelclassification.LabelMatrix;
 import de.upb.cs.is.jpl.api.dataset.multilabelclassification.MultilabelClassificationDataset;
 import de.upb.cs.is.jpl.api.dataset.multilabelclassification.MultilabelClassificationDatasetParser;
 import de.upb.cs.is.jpl.api.exception.algorithm.TrainModelsFailedException;
-import de.upb.cs.is.jpl.api.math.linearalgebra.SparseDoubleVector;
 
 
 /**
@@ -114,18 +115,22 @@ public class BinaryRelevanceLearningAlgorithm extends ALearningAlgorithm<BinaryR
 
    /**
     * Overrides all negative entries in all base learner sets, which should not be negative with
-    * positive values. As the label vectors of the multilabel classification dataset are assumed to
-    * be sparse, this method will not have to override too many values. Note that this method should
-    * only be called after {@link #initializeBaseLearnerDatasetsWithNegativeEntries()}.
+    * positive values. The positive entries of each base learner set are read from the bits of the
+    * column of its label in the label matrix of the multilabel classification dataset, hence only
+    * the instances labeled with the label are visited. Note that this method should only be called
+    * after {@link #initializeBaseLearnerDatasetsWithNegativeEntries()}.
     */
    private void overrideFalseNegativeEntriesInBaseLearnerDatasets() {
-      List<SparseDoubleVector> labelVectors = multilabelClassificationDataset.getCorrectResults();
-      for (int i = 0; i < multilabelClassificationDataset.getNumberOfInstances(); i++) {
-         SparseDoubleVector labelVector = labelVectors.get(i);
-         int[] nonZeroIndices = labelVector.getNonZeroIndices();
-         for (int j = 0; j < nonZeroIndices.length; j++) {
-            BaselearnerDataset baseLearnerDatasetForLabelJ = baseLearnerDatasets.get(nonZeroIndices[j]);
-            baseLearnerDatasetForLabelJ.getCorrectResults()[i] = 1;
+      LabelMatrix labelMatrix = multilabelClassificationDataset.getLabelMatrix();
+      for (int j = 0; j < labelMatrix.getNumberOfLabels(); j++) {
+         double[] correctResultsForLabelJ = baseLearnerDatasets.get(j).getCorrectResults();
+         long[] column = labelMatrix.getColumn(j);
+         for (int word = 0; word < column.length; word++) {
+            long bits = column[word];
+            while (bits != 0) {
+               correctResultsForLabelJ[word * Long.SIZE + Long.numberOfTrailingZeros(bits)] = 1;
+               bits &= bits - 1;
+            }
          }
       }
    }
@@ -133,19 +138,23 @@ public class BinaryRelevanceLearningAlgorithm extends ALearningAlgorithm<BinaryR
 
    /**
     * Initializes one base learner dataset per label with the feature vectors defined in the overall
-    * multilabel classification dataset. All results are initialized with -1. Note that this is
-    * efficient if the label vectors of the multilabel classification are in general sparse.
+    * multilabel classification dataset. The feature vectors are copied only once and shared by all
+    * base learner datasets, which only own their correct results. All results are initialized with
+    * -1. Note that this is efficient if the label vectors of the multilabel classification are in
+    * general sparse.
     */
    private void initializeBaseLearnerDatasetsWithNegativeEntries() {
-      for (int i = 0; i < multilabelClassificationDataset.getNumberOfLabels(); i++) {
-         BaselearnerDataset baselearnerDataset = new BaselearnerDataset(multilabelClassificationDataset.getNumberOfInstances(),
-               multilabelClassificationDataset.getNumberOfFeatures());
+      BaselearnerDataset sharedFeatureVectors = new BaselearnerDataset(multilabelClassificationDataset.getNumberOfInstances(),
+            multilabelClassificationDataset.getNumberOfFeatures(), configuration.isUsingSinglePrecisionFeatures());
+      List<double[]> featureVectors = multilabelClassificationDataset.getFeatureVectors();
+      for (int j = 0; j < multilabelClassificationDataset.getNumberOfInstances(); j++) {
+         sharedFeatureVectors.addFeatureVectorWithoutResult(featureVectors.get(j));
+      }
 
-         List<double[]> featureVectors = multilabelClassificationDataset.getFeatureVectors();
-         for (int j = 0; j < multilabelClassificationDataset.getNumberOfInstances(); j++) {
-            baselearnerDataset.addFeatureVectorWithResult(featureVectors.get(j), -1);
-         }
-         baseLearnerDatasets.add(baselearnerDataset);
+      for (int i = 0; i < multilabelClassificationDataset.getNumberOfLabels(); i++) {
+         double[] correctResults = new double[multilabelClassificationDataset.getNumberOfInstances()];
+         Arrays.fill(correctResults, -1);
+         baseLearnerDatasets.add(sharedFeatureVectors.createDatasetWithSharedFeatureVectors(correctResults));
       }
    }
 
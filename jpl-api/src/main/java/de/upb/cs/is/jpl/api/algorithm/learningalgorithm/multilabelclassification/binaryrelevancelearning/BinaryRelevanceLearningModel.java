@@ -1,7 +1,6 @@
 package de.upb.cs.is.jpl.api.algorithm.learningalgorithm.multilabelclassification.binaryrelevancelearning;
 
 
-import java.util.ArrayList;
 import java.util.List;
 
 import de.upb.cs.is.jpl.api.algorithm.baselearner.ABaseLearningModel;
@@ -10,6 +9,7 @@ import de.upb.cs.is.jpl.api.algorithm.learningalgorithm.ILearningModel;
 import de.upb.cs.is.jpl.api.algorithm.learningalgorithm.multilabelclassification.AMultilabelClassificationLearningModel;
 import de.upb.cs.is.jpl.api.dataset.IDataset;
 import de.upb.cs.is.jpl.api.dataset.IInstance;
+import de.upb.cs.is.jpl.api.dataset.multilabelclassification.LabelMatrix;
 import de.upb.cs.is.jpl.api.dataset.multilabelclassification.MultilabelClassificationDataset;
 import de.upb.cs.is.jpl.api.dataset.multilabelclassification.MultilabelClassificationInstance;
 import de.upb.cs.is.jpl.api.exception.algorithm.PredictionFailedException;
@@ -53,7 +53,7 @@ public class BinaryRelevanceLearningModel extends AMultilabelClassificationLearn
    public List<SparseDoubleVector> predict(IDataset<?, ?, ?> dataset) throws PredictionFailedException {
       assertDatasetIsMultilabelClassificationDataset(dataset);
       MultilabelClassificationDataset multilabelClassificationDataset = (MultilabelClassificationDataset) dataset;
-      List<SparseDoubleVector> predictionResults = new ArrayList<>();
+      LabelMatrix predictionResults = new LabelMatrix(baseLearningModels.size());
       for (int i = 0; i < multilabelClassificationDataset.getNumberOfInstances(); i++) {
          double[] featureVector = multilabelClassificationDataset.getFeatureVectors().get(i);
          SparseDoubleVector labelVector = predictLabelsForFeatureVector(featureVector);
@@ -12,10 +12,10 @@ import de.upb.cs.is.jpl.api.algorithm.learningalgorithm.ILearningModel;
 import de.upb.cs.is.jpl.api.algorithm.learningalgorithm.multilabelclassification.binaryrelevancelearning.BinaryRelevanceLearningAlgorithm;
 import de.upb.cs.is.jpl.api.dataset.IDataset;
 import de.upb.cs.is.jpl.api.dataset.IDatasetParser;
+import de.upb.cs.is.jpl.api.dataset.multilabelclassification.LabelMatrix;
 import de.upb.cs.is.jpl.api.dataset.multilabelclassification.MultilabelClassificationDataset;
 import de.upb.cs.is.jpl.api.dataset.multilabelclassification.MultilabelClassificationDatasetParser;
 import de.upb.cs.is.jpl.api.exception.algorithm.TrainModelsFailedException;
-import de.upb.cs.is.jpl.api.math.linearalgebra.SparseDoubleVector;
 
 
 /**
@@ -151,12 +151,12 @@ public class ClassifierChainsLearningAlgorithm extends ALearningAlgorithm<Classi
     */
    private void initializeBaselearnerDatasets() {
       List<double[]> featureVectors = multilabelClassificationDataset.getFeatureVectors();
-      List<SparseDoubleVector> labelVectors = multilabelClassificationDataset.getCorrectResults();
+      LabelMatrix labelMatrix = multilabelClassificationDataset.getLabelMatrix();
       int numberOfFeatures = multilabelClassificationDataset.getNumberOfFeatures();
       for (int i = 0; i < multilabelClassificationDataset.getNumberOfLabels(); i++) {
          int numberOfFeaturesForBaseLearnerDataset = numberOfFeatures + i;
          BaselearnerDataset baselearnerDataset = new BaselearnerDataset(multilabelClassificationDataset.getNumberOfInstances(),
-               numberOfFeaturesForBaseLearnerDataset);
+               numberOfFeaturesForBaseLearnerDataset, configuration.isUsingSinglePrecisionFeatures());
 
          for (int j = 0; j < multilabelClassificationDataset.getNumberOfInstances(); j++) {
             double[] featureVector = new double[numberOfFeaturesForBaseLearnerDataset];
@@ -165,10 +165,10 @@ public class ClassifierChainsLearningAlgorithm extends ALearningAlgorithm<Classi
             }
             for (int h = numberOfFeatures; h < numberOfFeaturesForBaseLearnerDataset; h++) {
                featureVector[h] = convertPositiveBinaryPredictionToNegativePrediction(
-                     labelVectors.get(j).getValue(getPermutationResultFor(h - numberOfFeatures)));
+                     labelMatrix.isLabelSet(j, getPermutationResultFor(h - numberOfFeatures)) ? 1 : 0);
             }
             baselearnerDataset.addFeatureVectorWithResult(featureVector, convertPositiveBinaryPredictionToNegativePrediction(
-                  labelVectors.get(j).getValue(getPermutationResultFor(numberOfFeaturesForBaseLearnerDataset - numberOfFeatures))));
+                  labelMatrix.isLabelSet(j, getPermutationResultFor(numberOfFeaturesForBaseLearnerDataset - numberOfFeatures)) ? 1 : 0));
          }
          baselearnerDatasets.set(getPermutationResultFor(i), baselearnerDataset);
       }
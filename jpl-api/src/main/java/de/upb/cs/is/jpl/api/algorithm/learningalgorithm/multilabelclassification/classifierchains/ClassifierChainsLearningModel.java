@@ -1,7 +1,6 @@
 package de.upb.cs.is.jpl.api.algorithm.learningalgorithm.multilabelclassification.classifierchains;
 
 
-import java.util.ArrayList;
 import java.util.List;
 
 import de.upb.cs.is.jpl.api.algorithm.baselearner.ABaseLearningModel;
@@ -11,6 +10,7 @@ import de.upb.cs.is.jpl.api.algorithm.learningalgorithm.multilabelclassification
 import de.upb.cs.is.jpl.api.algorithm.learningalgorithm.multilabelclassification.binaryrelevancelearning.BinaryRelevanceLearningModel;
 import de.upb.cs.is.jpl.api.dataset.IDataset;
 import de.upb.cs.is.jpl.api.dataset.IInstance;
+import de.upb.cs.is.jpl.api.dataset.multilabelclassification.LabelMatrix;
 import de.upb.cs.is.jpl.api.dataset.multilabelclassification.MultilabelClassificationDataset;
 import de.upb.cs.is.jpl.api.dataset.multilabelclassification.MultilabelClassificationInstance;
 import de.upb.cs.is.jpl.api.exception.algorithm.PredictionFailedException;
@@ -95,7 +95,7 @@ public class ClassifierChainsLearningModel extends AMultilabelClassificationLear
    public List<SparseDoubleVector> predict(IDataset<?, ?, ?> dataset) throws PredictionFailedException {
       assertDatasetIsMultilabelClassificationDataset(dataset);
       MultilabelClassificationDataset multilabelClassificationDataset = (MultilabelClassificationDataset) dataset;
-      List<SparseDoubleVector> predictions = new ArrayList<>();
+      LabelMatrix predictions = new LabelMatrix(baseLearningModels.size());
       for (int i = 0; i < dataset.getNumberOfInstances(); i++) {
          SparseDoubleVector predictedLabelVector = predictLabelsForFeatureVector(
                multilabelClassificationDataset.getFeatureVectors().get(i));
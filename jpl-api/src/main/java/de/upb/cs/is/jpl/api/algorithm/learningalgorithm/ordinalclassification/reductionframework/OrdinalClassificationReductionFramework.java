@@ -93,7 +93,8 @@ public class OrdinalClassificationReductionFramework extends AOrdinalClassificat
    private BaselearnerDataset transformToBaselearnerDataset(OrdinalClassificationDataset ordinalDataset, int numberOfPredictionClasses)
          throws TrainModelsFailedException {
       BaselearnerDataset baselearnerDataset = new BaselearnerDataset(
-            ordinalDataset.getNumberOfInstances() * (numberOfPredictionClasses - 1), ordinalDataset.getNumberOfFeatures() + 1);
+            ordinalDataset.getNumberOfInstances() * (numberOfPredictionClasses - 1), ordinalDataset.getNumberOfFeatures() + 1,
+            configuration.isUsingSinglePrecisionFeatures());
 
       for (int i = 0; i < ordinalDataset.getNumberOfInstances(); i++) {
          OrdinalClassificationInstance instance = ordinalDataset.getInstance(i);
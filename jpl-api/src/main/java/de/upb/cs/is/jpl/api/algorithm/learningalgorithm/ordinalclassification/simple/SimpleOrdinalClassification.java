@@ -116,7 +116,8 @@ public class SimpleOrdinalClassification extends AOrdinalClassification<SimpleOr
          int numberOfPredictionClasses) {
       List<BaselearnerDataset> allBaselearnerDatasets = new ArrayList<>(numberOfPredictionClasses);
       for (int j = 0; j < numberOfPredictionClasses - 1; j++) {
-         BaselearnerDataset baselearnerDataset = new BaselearnerDataset(numberOfInstances, numberOfFeatures);
+         BaselearnerDataset baselearnerDataset = new BaselearnerDataset(numberOfInstances, numberOfFeatures,
+               configuration.isUsingSinglePrecisionFeatures());
          allBaselearnerDatasets.add(baselearnerDataset);
       }
       return allBaselearnerDatasets;
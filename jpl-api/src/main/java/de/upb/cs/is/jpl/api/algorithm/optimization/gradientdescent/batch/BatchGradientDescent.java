@@ -77,14 +77,9 @@ public class BatchGradientDescent extends AGradientDescent<BatchGradientDescentC
    @Override
    protected void computeGradient() {
       currentGradient.zeroAllDimensions();
-      IVector instanceCopy = new DenseDoubleVector(numberOfDimensions);
       for (Triple<IVector, Double, Double> instance : dataset) {
-         instanceCopy.zeroAllDimensions();
-         instanceCopy.addVector(instance.getFirst());
-         instanceCopy.multiplyByConstant(instance.getSecond());
          double denominator = 1 + Math.exp(instance.getSecond() * currentWeightVector.dotProduct(instance.getFirst()));
-         instanceCopy.divideByConstant(denominator);
-         currentGradient.addVector(instanceCopy);
+         currentGradient.addScaledVector(instance.getSecond() / denominator, instance.getFirst());
       }
       currentGradient.divideByConstant(-dataset.size());
    }
@@ -48,32 +48,37 @@ public class AdamGradientStep extends AGradientStep<AdamGradientStepConfiguratio
    @Override
    public void update(IVector weightVector, IVector gradient, double learningRate, double updateWeight) {
       timestep++;
-      IVector oldWeightVector = weightVector.duplicate();
       updateBiasedFirstMomentEstimate(gradient, updateWeight);
       updateBiasedSecondRawMomentEstimate(gradient, updateWeight);
       // one can add a decay for the learning rate here by dividing by Math.sqrt(timestep)
       updateWeightVector(weightVector, learningRate);
-      computeWeightChange(oldWeightVector, weightVector);
    }
 
 
    /**
-    * Updates the given weight vector with the given learning rate.
+    * Updates the given weight vector with the given learning rate and stores the norm of the
+    * difference between the old and the updated weight vector. The step is computed element by
+    * element in the order of the operations of the former vector based computation, i.e. the
+    * moment estimates are multiplied by the inverse of their bias correction, so that no temporary
+    * vectors are allocated and the updated weights stay the same.
     * 
     * @param weightVector the weight vector to update
     * @param learningRate the learning rate to use for the update
     */
    private void updateWeightVector(IVector weightVector, double learningRate) {
-      IVector nominator = computeBiasCorrectedFirstMomentEstimate();
-      nominator.multiplyByConstant(learningRate);
-
-      IVector denominator = computeBiasCorrectedSecondRawMomentEstimate();
-      denominator.squareRoot();
-      denominator.addConstant(epsilon);
-
-      nominator.divideByVectorPairwise(denominator);
-
-      weightVector.subtractVector(nominator);
+      double inverseFirstMomentBiasCorrection = 1 / (1 - Math.pow(exponentialDecayRateForFirstMoment, timestep));
+      double inverseSecondMomentBiasCorrection = 1 / (1 - Math.pow(exponentialDecayRateForSecondMoment, timestep));
+      double squaredWeightChange = 0;
+      for (int i = 0; i < firstMomentVector.length(); i++) {
+         double nominator = firstMomentVector.getValue(i) * inverseFirstMomentBiasCorrection * learningRate;
+         double denominator = Math.sqrt(secondMomentVector.getValue(i) * inverseSecondMomentBiasCorrection) + epsilon;
+         double oldWeight = weightVector.getValue(i);
+         double newWeight = oldWeight - nominator / denominator;
+         weightVector.setValue(i, newWeight);
+         double weightChange = oldWeight - newWeight;
+         squaredWeightChange += weightChange * weightChange;
+      }
+      lastWeightChange = Math.sqrt(squaredWeightChange);
    }
 
 
@@ -84,11 +89,12 @@ public class AdamGradientStep extends AGradientStep<AdamGradientStepConfiguratio
     * @param updateWeight the weight to weight the gradient with
     */
    private void updateBiasedSecondRawMomentEstimate(IVector gradient, double updateWeight) {
-      secondMomentVector.multiplyByConstant(exponentialDecayRateForSecondMoment);
-      IVector gradientCopy = gradient.multiplyByVectorPairwiseToCopy(gradient);
-      gradientCopy.multiplyByConstant(1 - exponentialDecayRateForSecondMoment);
-      gradientCopy.multiplyByConstant(Math.pow(updateWeight, 2));
-      secondMomentVector.addVector(gradientCopy);
+      double squaredUpdateWeight = Math.pow(updateWeight, 2);
+      for (int i = 0; i < secondMomentVector.length(); i++) {
+         double gradientValue = gradient.getValue(i);
+         double weightedSquaredGradient = gradientValue * gradientValue * (1 - exponentialDecayRateForSecondMoment) * squaredUpdateWeight;
+         secondMomentVector.setValue(i, secondMomentVector.getValue(i) * exponentialDecayRateForSecondMoment + weightedSquaredGradient);
+      }
    }
 
 
@@ -99,45 +105,10 @@ public class AdamGradientStep extends AGradientStep<AdamGradientStepConfiguratio
     * @param updateWeight the weight to weight the gradient with
     */
    private void updateBiasedFirstMomentEstimate(IVector gradient, double updateWeight) {
-      firstMomentVector.multiplyByConstant(exponentialDecayRateForFirstMoment);
-      IVector gradientCopy = gradient.duplicate();
-      gradientCopy.multiplyByConstant(1 - exponentialDecayRateForFirstMoment);
-      gradientCopy.multiplyByConstant(updateWeight);
-      firstMomentVector.addVector(gradientCopy);
-   }
-
-
-   /**
-    * Computes the bias corrected first moment estimate.
-    * 
-    * @return the bias corrected first moment estimate
-    */
-   private IVector computeBiasCorrectedFirstMomentEstimate() {
-      double denominator = 1 - Math.pow(exponentialDecayRateForFirstMoment, timestep);
-      return firstMomentVector.divideByConstantToCopy(denominator);
-   }
-
-
-   /**
-    * Computes the bias corrected second raw moment estimate.
-    * 
-    * @return the bias corrected second raw moment estimate
-    */
-   private IVector computeBiasCorrectedSecondRawMomentEstimate() {
-      double denominator = 1 - Math.pow(exponentialDecayRateForSecondMoment, timestep);
-      return secondMomentVector.divideByConstantToCopy(denominator);
-   }
-
-
-   /**
-    * Computes the norm of the difference between the old and the updated weight vector.
-    * 
-    * @param oldWeightVector the old weight vector
-    * @param newWeightVector the updated weight vector
-    */
-   private void computeWeightChange(IVector oldWeightVector, IVector newWeightVector) {
-      oldWeightVector.subtractVector(newWeightVector);
-      lastWeightChange = oldWeightVector.euclideanNorm();
+      for (int i = 0; i < firstMomentVector.length(); i++) {
+         double weightedGradient = gradient.getValue(i) * (1 - exponentialDecayRateForFirstMoment) * updateWeight;
+         firstMomentVector.setValue(i, firstMomentVector.getValue(i) * exponentialDecayRateForFirstMoment + weightedGradient);
+      }
    }
 
 
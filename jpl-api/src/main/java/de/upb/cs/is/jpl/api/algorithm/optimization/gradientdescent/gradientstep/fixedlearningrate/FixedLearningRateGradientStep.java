@@ -30,22 +30,20 @@ public class FixedLearningRateGradientStep extends AGradientStep<FixedLearningRa
 
    @Override
    public void update(IVector weightVector, IVector gradient, double learningRate, double updateWeight) {
-      IVector oldWeightVector = weightVector.duplicate();
       gradient.multiplyByConstant(learningRate * updateWeight);
       weightVector.subtractVector(gradient);
-      computeWeightChange(oldWeightVector, weightVector);
+      computeWeightChange(gradient);
    }
 
 
    /**
-    * Computes the norm of the difference between the old and the updated weight vector.
+    * Computes the norm of the difference between the old and the updated weight vector, which is
+    * the norm of the scaled gradient subtracted from the weight vector.
     * 
-    * @param oldWeightVector the old weight vector
-    * @param newWeightVector the updated weight vector
+    * @param scaledGradient the scaled gradient, which was subtracted from the weight vector
     */
-   private void computeWeightChange(IVector oldWeightVector, IVector newWeightVector) {
-      oldWeightVector.subtractVector(newWeightVector);
-      lastWeightChange = oldWeightVector.euclideanNorm();
+   private void computeWeightChange(IVector scaledGradient) {
+      lastWeightChange = scaledGradient.euclideanNorm();
    }
 
 
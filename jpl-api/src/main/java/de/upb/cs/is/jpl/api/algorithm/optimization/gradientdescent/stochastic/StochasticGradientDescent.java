@@ -163,10 +163,9 @@ public class StochasticGradientDescent extends AGradientDescent<StochasticGradie
       Triple<IVector, Double, Double> randomInstance = dataset.get(currentExampleIndex);
       this.updateWeight = randomInstance.getThird();
 
-      currentGradient = randomInstance.getFirst().duplicate();
-      currentGradient.multiplyByConstant(-randomInstance.getSecond());
-      currentGradient
-            .divideByConstant(1 + Math.exp(randomInstance.getSecond() * currentWeightVector.dotProduct(randomInstance.getFirst())));
+      double denominator = 1 + Math.exp(randomInstance.getSecond() * currentWeightVector.dotProduct(randomInstance.getFirst()));
+      currentGradient.zeroAllDimensions();
+      currentGradient.addScaledVector(-randomInstance.getSecond() / denominator, randomInstance.getFirst());
 
       currentExampleIndex++;
    }
@@ -3,15 +3,16 @@ package de.upb.cs.is.jpl.api.dataset;
 
 
 import java.io.File;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
 import java.util.Random;
+import java.util.Spliterator;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
 
 import de.upb.cs.is.jpl.api.dataset.defaultdataset.relative.Ranking;
 import de.upb.cs.is.jpl.api.exception.algorithm.UnsupportedInstanceTypeException;
+import de.upb.cs.is.jpl.api.exception.dataset.InvalidInstanceException;
 import de.upb.cs.is.jpl.api.math.RandomGenerator;
 import de.upb.cs.is.jpl.api.math.linearalgebra.IVector;
 import de.upb.cs.is.jpl.api.util.TypeCheckUtils;
@@ -41,6 +42,8 @@ public abstract class ADataset<CONTEXT, ITEM, RATING> implements IDataset<CONTEX
    private static final String ERROR_GIVEN_INSTANCE_NUMBER_OUT_OF_BOUNDS = "The given instance number is out of the bounds of the dataset: %s";
    private static final String ERROR_CANNOT_SELECT_NEGATIVE_AMOUNT_OF_INSTANCES = "Cannot select a negative amount of instances. The value of 'from' is bigger than 'to'.";
    private static final String ERROR_GIVEN_BOUNDS_OUT_OF_BOUNDS = "The given bounds are out of the bounds of the dataset.";
+   private static final String ERROR_CHUNK_SIZE_NOT_POSITIVE = "The chunk size must be positive, but is %d.";
+   private static final String ERROR_DATASET_IS_SHARED = "The dataset %s is shared by the parsed dataset cache and must not be changed, parse the dataset file directly instead.";
 
    protected DatasetFile datasetFile = new DatasetFile(new File(DATSET_FILE_NOT_SET));
 
@@ -48,7 +51,12 @@ public abstract class ADataset<CONTEXT, ITEM, RATING> implements IDataset<CONTEX
    private final long id = NEXT_ID.getAndIncrement();
 
 
-   protected Map<Integer, Integer> shuffledPositions;
+   /** The positions of the instances in the shuffled order, {@code null} if not shuffled yet. */
+   protected int[] shuffledPositions;
+
+   private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+   private volatile boolean isShared = false;
 
 
    /**
@@ -56,7 +64,6 @@ public abstract class ADataset<CONTEXT, ITEM, RATING> implements IDataset<CONTEX
     */
    public ADataset() {
       init();
-      shuffledPositions = new HashMap<>();
    }
 
 
@@ -68,33 +75,167 @@ public abstract class ADataset<CONTEXT, ITEM, RATING> implements IDataset<CONTEX
 
    @Override
    public IInstance<CONTEXT, ITEM, RATING> getShuffledInstance(int instanceNumber) {
-      if (shuffledPositions.containsKey(instanceNumber)) {
-         return getInstance(shuffledPositions.get(instanceNumber));
-      } else {
-         return getInstance(instanceNumber);
+      return getInstance(getShuffledPosition(instanceNumber));
+   }
+
+
+   /**
+    * Returns the position of the instance at the given position of the shuffled dataset. Instances
+    * which have been added after the last shuffle keep their position.
+    *
+    * @param instanceNumber the position in the shuffled dataset
+    * @return the position of the instance in this dataset
+    */
+   private int getShuffledPosition(int instanceNumber) {
+      if (shuffledPositions != null && instanceNumber >= 0 && instanceNumber < shuffledPositions.length) {
+         return shuffledPositions[instanceNumber];
       }
+      return instanceNumber;
    }
 
 
    @Override
    public void shuffle() {
-      List<Integer> positionNumbers = new ArrayList<>();
-      for (int i = 0; i < getNumberOfInstances(); i++) {
-         positionNumbers.add(i);
+      int[] positionNumbers = new int[getNumberOfInstances()];
+      for (int i = 0; i < positionNumbers.length; i++) {
+         positionNumbers[i] = i;
       }
       Random random = RandomGenerator.getRNG();
-      int n = positionNumbers.size() - 1;
+      int n = positionNumbers.length - 1;
       for (int i = 0; i < n; i++) {
-         Integer temp = positionNumbers.get(i);
+         int temp = positionNumbers[i];
          int swapPosition = i + random.nextInt(n - i);
-         positionNumbers.set(i, positionNumbers.get(swapPosition));
-         positionNumbers.set(swapPosition, temp);
+         positionNumbers[i] = positionNumbers[swapPosition];
+         positionNumbers[swapPosition] = temp;
       }
+      shuffledPositions = positionNumbers;
+   }
 
-      shuffledPositions.clear();
-      for (int i = 0; i < getNumberOfInstances(); i++) {
-         shuffledPositions.put(i, positionNumbers.get(i));
+
+   /**
+    * Inserts the instances which have been added since the last {@link #shuffle()} at random
+    * positions of the shuffled order, so that appending instances to a large dataset does not
+    * require to shuffle all of its instances again. As in the inside-out variant of the
+    * Fisher-Yates shuffle, each added instance swaps places with a random position up to its own.
+    * Nothing happens if the dataset has not been shuffled yet.
+    */
+   protected void shuffleAddedInstances() {
+      int numberOfInstances = getNumberOfInstances();
+      if (shuffledPositions == null || shuffledPositions.length >= numberOfInstances) {
+         return;
+      }
+      int[] positionNumbers = Arrays.copyOf(shuffledPositions, numberOfInstances);
+      Random random = RandomGenerator.getRNG();
+      for (int i = shuffledPositions.length; i < numberOfInstances; i++) {
+         int swapPosition = random.nextInt(i + 1);
+         positionNumbers[i] = positionNumbers[swapPosition];
+         positionNumbers[swapPosition] = i;
       }
+      shuffledPositions = positionNumbers;
+   }
+
+
+   @Override
+   public int[] getShuffledPositions(int from, int to) {
+      assertCorrectDatasetPartSelection(from, to);
+      int[] positions = new int[to - from];
+      for (int i = from; i < to; i++) {
+         positions[i - from] = getShuffledPosition(i);
+      }
+      return positions;
+   }
+
+
+   /**
+    * {@inheritDoc}
+    *
+    * This implementation copies the instances into {@link #getPartOfDataset(int, int)}, datasets
+    * which can share their content with a view should override it.
+    */
+   @Override
+   public IDataset<CONTEXT, ITEM, RATING> getView(int[] positions) throws InvalidInstanceException {
+      IDataset<CONTEXT, ITEM, RATING> copy = getPartOfDataset(0, 0);
+      for (int position : positions) {
+         copy.addInstance(getInstance(position));
+      }
+      return copy;
+   }
+
+
+   @Override
+   public Spliterator<IInstance<CONTEXT, ITEM, RATING>> spliterator() {
+      return IntStream.range(0, getNumberOfInstances()).mapToObj(this::getInstance).spliterator();
+   }
+
+
+   /**
+    * {@inheritDoc}
+    *
+    * This implementation returns this dataset itself if it is not larger than a single chunk, and
+    * otherwise consecutive parts created by {@link #getPartOfDataset(int, int)}. Closing the iterator
+    * has no effect, as it does not hold any resources.
+    */
+   @Override
+   public IChunkIterator<CONTEXT, ITEM, RATING> chunkIterator() {
+      return new IChunkIterator<CONTEXT, ITEM, RATING>() {
+
+         private int from = 0;
+
+
+         @Override
+         public boolean hasNext() {
+            return from < getNumberOfInstances();
+         }
+
+
+         @Override
+         public IDataset<CONTEXT, ITEM, RATING> next() {
+            if (!hasNext()) {
+               throw new NoSuchElementException();
+            }
+            int numberOfInstances = getNumberOfInstances();
+            if (from == 0 && numberOfInstances <= chunkSize) {
+               from = numberOfInstances;
+               return ADataset.this;
+            }
+            int to = (int) Math.min((long) from + chunkSize, numberOfInstances);
+            IDataset<CONTEXT, ITEM, RATING> chunk = getPartOfDataset(from, to);
+            from = to;
+            return chunk;
+         }
+
+
+         @Override
+         public void close() {
+            // nothing to release
+         }
+      };
+   }
+
+
+   @Override
+   public long estimateNumberOfInstances() {
+      return getNumberOfInstances();
+   }
+
+
+   @Override
+   public int getChunkSize() {
+      return chunkSize;
+   }
+
+
+   /**
+    * Sets the maximum number of instances of a chunk returned by {@link #chunkIterator()}.
+    *
+    * @param chunkSize the maximum number of instances per chunk
+    * @throws IllegalArgumentException if the chunk size is not positive
+    */
+   public void setChunkSize(int chunkSize) {
+      if (chunkSize <= 0) {
+         throw new IllegalArgumentException(String.format(ERROR_CHUNK_SIZE_NOT_POSITIVE, chunkSize));
+      }
+      this.chunkSize = chunkSize;
    }
 
 
@@ -146,6 +287,51 @@ public abstract class ADataset<CONTEXT, ITEM, RATING> implements IDataset<CONTEX
    }
 
 
+   /**
+    * Marks this dataset as shared by the {@link ParsedDatasetCache}. From then on, all operations
+    * changing the content of this dataset throw an {@link UnsupportedOperationException}, also after
+    * the dataset has been evicted from the cache, as other callers may still hold it.
+    */
+   void markAsShared() {
+      isShared = true;
+   }
+
+
+   /**
+    * Returns whether this dataset is shared by the {@link ParsedDatasetCache}, or is a view sharing
+    * its content with such a dataset, and hence must not be changed.
+    * 
+    * @return {@code true} if this dataset is shared
+    */
+   public boolean isShared() {
+      return isShared;
+   }
+
+
+   /**
+    * Marks the given view on this dataset as shared, if this dataset is shared, as the view shares
+    * the content of this dataset.
+    * 
+    * @param view the view sharing the content of this dataset
+    */
+   protected void passSharingOnTo(ADataset<?, ?, ?> view) {
+      view.isShared = isShared;
+   }
+
+
+   /**
+    * Checks that this dataset is not shared by the {@link ParsedDatasetCache}, before its content is
+    * changed.
+    * 
+    * @throws UnsupportedOperationException if this dataset is shared
+    */
+   protected void assertIsNotShared() {
+      if (isShared) {
+         throw new UnsupportedOperationException(String.format(ERROR_DATASET_IS_SHARED, datasetFile));
+      }
+   }
+
+
    /**
     * Checks if the given instance number is part of the dataset or not.
     * 
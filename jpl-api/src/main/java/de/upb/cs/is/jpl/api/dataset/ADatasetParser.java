@@ -1,21 +1,26 @@
 package de.upb.cs.is.jpl.api.dataset;
 
 
-import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import de.upb.cs.is.jpl.api.dataset.defaultdataset.relative.Ranking;
+import de.upb.cs.is.jpl.api.exception.JplRuntimeException;
 import de.upb.cs.is.jpl.api.exception.dataset.ParsingFailedException;
 import de.upb.cs.is.jpl.api.math.linearalgebra.DenseDoubleVector;
 import de.upb.cs.is.jpl.api.math.linearalgebra.IVector;
@@ -33,6 +38,33 @@ import de.upb.cs.is.jpl.api.util.datastructure.Pair;
  * These abstract methods define how the created dataset parser handles and stores the values from
  * the context, item and rating files in the dataset.
  * 
+ * Parsers which support the {@link BinaryDatasetCache} additionally implement
+ * {@link #writeParsedData(BinaryDatasetWriter)} and {@link #readParsedData(BinaryDatasetReader)}.
+ * Then {@link #parse(DatasetFile)} stores the result of a complete parse next to the dataset file and
+ * loads it from there as long as the dataset file does not change.
+ * 
+ * Parsers which support streaming additionally implement {@link #startNextChunk()}. Then
+ * {@link #parseInChunks(DatasetFile, int)} parses the rating file in chunks of a bounded number of
+ * lines, so that the dataset never has to be held in memory completely.
+ * 
+ * If the {@link DatasetFile} selects a subset of the context or item features, the selection is
+ * applied while tokenizing the feature vectors, so that the values of unselected features are
+ * neither parsed nor stored. Parsers use {@link #parseContextVector(String)},
+ * {@link #parseItemVector(String)} and {@link #parseContextValues(String)} for this purpose, and the
+ * declarations of the features are those of the selected features only. As the binary dataset cache
+ * always contains all features, it is bypassed for such a selection.
+ * 
+ * {@link #parseSampleOf(DatasetFile, int, long)} and
+ * {@link #parseStratifiedSampleOf(DatasetFile, int, long)} parse a uniform random sample of the
+ * lines of the rating file instead of its first lines, which is drawn by a
+ * {@link RatingLineReservoir} while the rating file is streamed. Afterwards only the contexts and
+ * items referenced by the sampled lines are parsed.
+ * 
+ * Parsers which support appending additionally implement {@link #resumeParse(IDataset)}. Then
+ * {@link #parseAppendingTo(IDataset, DatasetFile)} parses a supplement containing only new lines of
+ * the dataset into an already parsed dataset, so that a growing dataset does not have to be parsed
+ * completely again.
+ * 
  * @author Sebastian Osterbrink
  *
  */
@@ -57,6 +89,17 @@ public abstract class ADatasetParser implements IDatasetParser {
    protected static final String FOUND_NUMBERS = "Found numbers without item identifiers. "
          + "You can only compare items which are identified by an item identifier.";
    protected static final String INVALID_SYNTAX = "Invalid Syntax: \"%s\"";
+   protected static final String ERROR_INCONSISTENT_BINARY_CACHE = "The binary cache contains %d ids for %d ratings.";
+   private static final String ERROR_BINARY_CACHE_NOT_SUPPORTED = "The parser %s does not support the binary dataset cache.";
+   private static final String ERROR_STREAMING_NOT_SUPPORTED = "The parser %s does not support parsing a dataset in chunks.";
+   private static final String ERROR_APPENDING_NOT_SUPPORTED = "The parser %s does not support appending to a parsed dataset.";
+   private static final String ERROR_APPENDING_TO_CACHED_DATASET = "The dataset of %s is shared by the parsed dataset cache and "
+         + "must not be appended to. Parse the dataset directly to append to it.";
+   private static final String ERROR_CHUNK_SIZE_NOT_POSITIVE = "The chunk size must be positive, but is %d.";
+   private static final String ERROR_SELECTED_FEATURE_NOT_DECLARED = "The selected %s feature %d is not declared in the dataset file.";
+   private static final String CONTEXT = "context";
+   private static final String ITEM = "item";
+   protected static final String MISSING_ENTRY = "The dataset does not contain the file \"%s\".";
 
 
    // The standard file names
@@ -71,8 +114,7 @@ public abstract class ADatasetParser implements IDatasetParser {
    protected static final String FEATURE_MARKER = "f";
    protected static final String COMMENT_MARKER = "#";
 
-   // These dividers are regular expressions
-   protected static final String VECTOR_DIVIDER = "( |\t)+";
+   // These dividers are single characters, values are separated by whitespace
    protected static final String SPARSE_DIVIDER = ",";
    protected static final String ID_DIVIDER = ":";
 
@@ -85,6 +127,16 @@ public abstract class ADatasetParser implements IDatasetParser {
 
 
    protected static final int MAXIMUM_NUMBER_OF_EXCEPTIONS = 255;
+   /**
+    * The id returned by {@link #getContextIdOfRatingLine(String)} if a line of the rating file may
+    * reference any context.
+    */
+   protected static final int ALL_REFERENCED = -1;
+   /**
+    * The number of batches of lines buffered ahead of the parser for each entry of a dataset file,
+    * as the entries may be too large to be held in memory completely.
+    */
+   private static final int LINE_BUFFER_CAPACITY = 64;
 
    protected boolean isRelative = true;
    protected int itemsDeclared = 0;
@@ -99,6 +151,11 @@ public abstract class ADatasetParser implements IDatasetParser {
 
    protected List<Double> allowedRatingValues = new ArrayList<>();
 
+   private FeatureProjection contextFeatureProjection;
+   private FeatureProjection itemFeatureProjection;
+   private int numberOfContextFeaturesInFile = 0;
+   private int numberOfItemFeaturesInFile = 0;
+
 
    /**
     * Prepare the dataset and feature maps.
@@ -116,37 +173,635 @@ public abstract class ADatasetParser implements IDatasetParser {
    protected abstract void finishParse() throws ParsingFailedException;
 
 
+   /**
+    * Sets the directory, in which the binary caches of all parsed dataset files are stored. By
+    * default, the cache of a dataset file is stored next to the dataset file, which is not desired
+    * if the directory of the dataset files must not be changed, for example in tests.
+    * 
+    * @param directory the directory for all binary caches, or {@code null} to store each cache next
+    *           to its dataset file
+    */
+   public static void setBinaryCacheDirectory(File directory) {
+      BinaryDatasetCache.setCacheDirectory(directory);
+   }
+
+
    @Override
    public IDataset<?, ?, ?> parse(DatasetFile file) throws ParsingFailedException {
-      return parsePartialOf(file, Integer.MAX_VALUE);
+      if (!isBinaryCacheSupported() || file.isContextFeatureSelected() || file.isItemFeatureSelected()) {
+         return parsePartialOf(file, Integer.MAX_VALUE);
+      }
+      BinaryDatasetCache binaryCache = new BinaryDatasetCache(file.getFile(), this);
+      if (binaryCache.load(this)) {
+         IDataset<?, ?, ?> cachedDataset = getDataset();
+         cachedDataset.setDatasetFile(file);
+         return cachedDataset;
+      }
+      IDataset<?, ?, ?> parsedDataset = parsePartialOf(file, Integer.MAX_VALUE);
+      binaryCache.store(this);
+      return parsedDataset;
    }
 
 
-   @Override
-   public IDataset<?, ?, ?> parsePartialOf(DatasetFile file, int amountOfInstances) throws ParsingFailedException {
+   /**
+    * Returns whether this parser can write its parse result into a {@link BinaryDatasetCache} and
+    * read it from there, i.e. whether it implements {@link #writeParsedData(BinaryDatasetWriter)}
+    * and {@link #readParsedData(BinaryDatasetReader)}.
+    * 
+    * @return {@code true} if the binary cache is supported, {@code false} by default
+    */
+   protected boolean isBinaryCacheSupported() {
+      return false;
+   }
+
+
+   /**
+    * Writes the declarations of the dataset which has been parsed last and then the parsed data
+    * itself into the binary cache.
+    * 
+    * @param writer the writer for the binary cache
+    * @throws IOException if the binary cache cannot be written
+    */
+   void writeBinaryCache(BinaryDatasetWriter writer) throws IOException {
+      writer.writeBoolean(isRelative);
+      writer.writeInt(contextsDeclared);
+      writer.writeInt(itemsDeclared);
+      writer.writeInt(ratingDeclared);
+      writer.writeStringMap(contextFeatures);
+      writer.writeStringMap(itemFeatures);
+      writer.writeDoubleListMap(allowedContextFeatureValues);
+      writer.writeDoubleListMap(allowedItemFeatureValues);
+      writer.writeDoubleList(allowedRatingValues);
+      writeParsedData(writer);
+   }
+
+
+   /**
+    * Restores the declarations of a dataset from the binary cache and passes the parsed data to
+    * {@link #readParsedData(BinaryDatasetReader)}, framed by the same calls of {@link #initParse()}
+    * and {@link #finishParse()} as when parsing the dataset file.
+    * 
+    * @param reader the reader for the binary cache
+    * @throws IOException if the binary cache cannot be read
+    * @throws ParsingFailedException if the data from the binary cache is rejected
+    */
+   void readBinaryCache(BinaryDatasetReader reader) throws IOException, ParsingFailedException {
+      isRelative = reader.readBoolean();
+      contextsDeclared = reader.readInt();
+      itemsDeclared = reader.readInt();
+      ratingDeclared = reader.readInt();
+      contextFeatures = reader.readStringMap();
+      itemFeatures = reader.readStringMap();
+      allowedContextFeatureValues = reader.readDoubleListMap();
+      allowedItemFeatureValues = reader.readDoubleListMap();
+      allowedRatingValues = reader.readDoubleList();
+      contextFeatureProjection = null;
+      itemFeatureProjection = null;
+      numberOfContextFeaturesInFile = contextFeatures.size();
+      numberOfItemFeaturesInFile = itemFeatures.size();
+
+      initParse();
+      readParsedData(reader);
+      finishParse();
+   }
+
+
+   /**
+    * Writes the data of the dataset which has been parsed last into the binary cache. The
+    * declarations of the features and ratings have already been written.
+    * 
+    * @param writer the writer for the binary cache
+    * @throws IOException if the binary cache cannot be written
+    */
+   protected void writeParsedData(BinaryDatasetWriter writer) throws IOException {
+      throw new UnsupportedOperationException(String.format(ERROR_BINARY_CACHE_NOT_SUPPORTED, getClass().getSimpleName()));
+   }
+
+
+   /**
+    * Reads the data written by {@link #writeParsedData(BinaryDatasetWriter)} from the binary cache
+    * and enters it into the dataset, instead of the parse methods for the single lines. The
+    * declarations of the features and ratings have already been restored and {@link #initParse()}
+    * has already been called.
+    * 
+    * @param reader the reader for the binary cache
+    * @throws IOException if the binary cache cannot be read
+    * @throws ParsingFailedException if the data from the binary cache is rejected
+    */
+   protected void readParsedData(BinaryDatasetReader reader) throws IOException, ParsingFailedException {
+      throw new UnsupportedOperationException(String.format(ERROR_BINARY_CACHE_NOT_SUPPORTED, getClass().getSimpleName()));
+   }
+
+
+   /**
+    * Returns whether this parser can parse a dataset in chunks by
+    * {@link #parseInChunks(DatasetFile, int)}, i.e. whether it implements {@link #startNextChunk()}.
+    * 
+    * @return {@code true} if streaming is supported, {@code false} by default
+    */
+   protected boolean isStreamingSupported() {
+      return false;
+   }
+
+
+   /**
+    * Returns whether the context file contains one line per line of the rating file, which belong
+    * to the same instance, instead of a table of contexts referenced by their ids. In this case the
+    * context file is parsed in chunks together with the rating file.
+    * 
+    * @return {@code true} if there is one context per instance, {@code false} by default
+    */
+   protected boolean isContextInformationPerInstance() {
+      return false;
+   }
+
+
+   /**
+    * Replaces the dataset which has been filled with the previous chunk by a new empty dataset,
+    * which shares the already parsed items and, unless {@link #isContextInformationPerInstance()},
+    * contexts. The previous dataset must not be changed afterwards.
+    * 
+    * @throws ParsingFailedException if the next chunk cannot be prepared
+    */
+   protected void startNextChunk() throws ParsingFailedException {
+      throw new UnsupportedOperationException(String.format(ERROR_STREAMING_NOT_SUPPORTED, getClass().getSimpleName()));
+   }
+
+
+   /**
+    * Starts to parse the given dataset file in chunks. The declarations, the items and, unless
+    * {@link #isContextInformationPerInstance()}, the contexts are parsed immediately. Each chunk of
+    * the returned iterator is a dataset of at most {@code chunkSize} lines of the rating file. The
+    * parser must not be used otherwise until the iterator has been closed or exhausted.
+    * 
+    * @param file the dataset file to parse
+    * @param chunkSize the maximum number of lines of the rating file per chunk
+    * @return an iterator over the chunks of the dataset
+    * @throws ParsingFailedException if the dataset file cannot be opened or its declarations cannot
+    *            be parsed
+    */
+   DatasetChunkIterator parseInChunks(DatasetFile file, int chunkSize) throws ParsingFailedException {
+      if (!isStreamingSupported()) {
+         throw new UnsupportedOperationException(String.format(ERROR_STREAMING_NOT_SUPPORTED, getClass().getSimpleName()));
+      }
+      if (chunkSize <= 0) {
+         throw new IllegalArgumentException(String.format(ERROR_CHUNK_SIZE_NOT_POSITIVE, chunkSize));
+      }
+      return new DatasetChunkIterator(file, chunkSize);
+   }
+
+
+   /**
+    * Parses a uniform random sample of the given number of lines of the rating file of the given
+    * dataset file, instead of its first lines like {@link #parsePartialOf(DatasetFile, int)}. The
+    * rating file is sampled first, while only the sampled lines are held in memory. Afterwards the
+    * context and item files are streamed, and only the contexts and items referenced by the sampled
+    * lines are parsed, as far as the parser can tell them by
+    * {@link #getContextIdOfRatingLine(String)} and {@link #getItemIdsOfRatingLine(String)}. If the
+    * contexts are stored per instance, only the contexts of the sampled lines are parsed. The
+    * sampled lines are parsed in the order of the file, and the sample depends only on the dataset
+    * file and the given seed.
+    * 
+    * @param file the dataset file to parse
+    * @param sampleSize the maximum number of lines of the rating file to parse
+    * @param seed the seed of the random number generator used for sampling
+    * @return the dataset of the sampled lines
+    * @throws ParsingFailedException if the dataset file cannot be opened or parsed
+    * @throws IllegalArgumentException if the sample size is not positive
+    */
+   public IDataset<?, ?, ?> parseSampleOf(DatasetFile file, int sampleSize, long seed) throws ParsingFailedException {
+      return parseSample(file, sampleSize, seed, false);
+   }
+
+
+   /**
+    * Parses a random sample of the given number of lines of the rating file of the given dataset
+    * file like {@link #parseSampleOf(DatasetFile, int, long)}, which is stratified by the strata
+    * returned by {@link #getStratumOfRatingLine(String)}. Each stratum is represented in the sample
+    * in proportion to its number of lines, and its lines are sampled uniformly. For this purpose
+    * the lines of each stratum are counted in an additional pass over the rating file, so that at
+    * most the sample size of lines is held at any time. The number of strata is limited to
+    * {@link RatingLineReservoir#MAXIMUM_NUMBER_OF_STRATA}.
+    * 
+    * @param file the dataset file to parse
+    * @param sampleSize the maximum number of lines of the rating file to parse
+    * @param seed the seed of the random number generator used for sampling
+    * @return the dataset of the sampled lines
+    * @throws ParsingFailedException if the dataset file cannot be opened or parsed
+    * @throws IllegalArgumentException if the sample size is not positive or the lines of the
+    *           rating file fall into more strata than this limit
+    */
+   public IDataset<?, ?, ?> parseStratifiedSampleOf(DatasetFile file, int sampleSize, long seed) throws ParsingFailedException {
+      return parseSample(file, sampleSize, seed, true);
+   }
+
+
+   /**
+    * Returns the stratum of the given line of the rating file for a stratified sample. By default
+    * this is the rating part of the line, i.e. the rating value or the labels. Parsers whose rating
+    * lines have no small set of such values should override this method.
+    * 
+    * @param ratingLine the line of the rating file
+    * @return the stratum of the line, or {@code null} if the line is not stratified
+    */
+   protected String getStratumOfRatingLine(String ratingLine) {
+      int dividerPosition = ratingLine.indexOf(ID_DIVIDER);
+      return ratingLine.substring(dividerPosition + 1).trim();
+   }
+
+
+   /**
+    * Returns the top ranked object of the ranking in the given line of the rating file, e.g.
+    * {@code i3} for {@code c1: i3>i1>i2}, which parsers of relative datasets use as the stratum of
+    * the line, as the rankings themselves rarely repeat.
+    * 
+    * @param ratingLine the line of the rating file containing a ranking
+    * @return the top ranked object of the ranking
+    */
+   protected String getTopObjectOfRankingLine(String ratingLine) {
+      String ranking = ratingLine.substring(ratingLine.indexOf(ID_DIVIDER) + 1).trim();
+      int end = ranking.indexOf(ITEM_MARKER) + 1;
+      while (end < ranking.length() && Character.isDigit(ranking.charAt(end))) {
+         end++;
+      }
+      return ranking.substring(0, end);
+   }
+
+
+   /**
+    * Returns the id of the context referenced by the given line of the rating file, so that a
+    * sample only parses the referenced contexts. Parsers which store the contexts by their ids
+    * should override this method, by default all contexts are parsed.
+    * 
+    * @param ratingLine the line of the rating file
+    * @return the id of the referenced context, or {@link #ALL_REFERENCED} if the line may reference
+    *         any context
+    * @throws ParsingFailedException if the line does not reference a valid id
+    */
+   protected int getContextIdOfRatingLine(String ratingLine) throws ParsingFailedException {
+      return ALL_REFERENCED;
+   }
+
+
+   /**
+    * Returns the ids of the items referenced by the given line of the rating file, so that a sample
+    * only parses the referenced items. Parsers which store the items by their ids should override
+    * this method, by default all items are parsed.
+    * 
+    * @param ratingLine the line of the rating file
+    * @return the ids of the referenced items, or {@code null} if the line may reference any item
+    * @throws ParsingFailedException if the line does not reference valid ids
+    */
+   protected int[] getItemIdsOfRatingLine(String ratingLine) throws ParsingFailedException {
+      return null;
+   }
+
+
+   /**
+    * Returns the id at the beginning of the given line of a dataset file, e.g. {@code 12} for
+    * {@code c12: 0.5 1.0}.
+    * 
+    * @param line the line of the dataset file
+    * @param marker the marker in front of the id
+    * @return the id of the line
+    * @throws ParsingFailedException if the line does not start with a valid id
+    */
+   protected int parseIdOfLine(String line, String marker) throws ParsingFailedException {
+      int dividerPosition = line.indexOf(ID_DIVIDER);
+      String idDeclaration = dividerPosition == -1 ? line : line.substring(0, dividerPosition);
       try {
-         ZipFile zipFile = new ZipFile(file.getFile());
+         return Integer.parseInt(idDeclaration.substring(idDeclaration.indexOf(marker) + 1).trim());
+      } catch (NumberFormatException e) {
+         throw new ParsingFailedException(String.format(INVALID_SYNTAX, line), e);
+      }
+   }
+
+
+   /**
+    * Parses a random sample of the lines of the rating file of the given dataset file.
+    * 
+    * @param file the dataset file to parse
+    * @param sampleSize the maximum number of lines of the rating file to parse
+    * @param seed the seed of the random number generator used for sampling
+    * @param isStratified whether the sample is stratified by {@link #getStratumOfRatingLine(String)}
+    * @return the dataset of the sampled lines
+    * @throws ParsingFailedException if the dataset file cannot be opened or parsed
+    */
+   private IDataset<?, ?, ?> parseSample(DatasetFile file, int sampleSize, long seed, boolean isStratified)
+         throws ParsingFailedException {
+      RatingLineReservoir reservoir = new RatingLineReservoir(sampleSize, new Random(seed));
+      try (ZipFile zipFile = new ZipFile(file.getFile())) {
+         if (isStratified) {
+            try (ConcurrentLineReader ratingReader = openEntry(zipFile, RATINGS_FILE, LINE_BUFFER_CAPACITY)) {
+               String ratingLine;
+               while ((ratingLine = ratingReader.readLine()) != null) {
+                  if (!ratingLine.startsWith(FORMAT_DECLARATION)) {
+                     reservoir.countLine(getStratumOfRatingLine(ratingLine));
+                  }
+               }
+            }
+         }
+         try (ConcurrentLineReader ratingReader = openEntry(zipFile, RATINGS_FILE, LINE_BUFFER_CAPACITY)) {
+            checkIfDatasetIsRelative(ratingReader);
+            String ratingLine;
+            while ((ratingLine = ratingReader.readLine()) != null) {
+               if (!ratingLine.startsWith(FORMAT_DECLARATION)) {
+                  reservoir.offer(isStratified ? getStratumOfRatingLine(ratingLine) : null, ratingLine);
+               }
+            }
+         }
+         List<RatingLineReservoir.SampledLine> sample = reservoir.getSample();
+
+         try (ConcurrentLineReader contextReader = openEntry(zipFile, CONTEXT_FILE, LINE_BUFFER_CAPACITY);
+               ConcurrentLineReader itemReader = openEntry(zipFile, ITEM_FILE, LINE_BUFFER_CAPACITY)) {
+            parseFeatureDeclarations(contextReader, itemReader, file);
+
+            initParse();
+
+            contextsDeclared = 0;
+            itemsDeclared = 0;
+            if (isContextInformationPerInstance()) {
+               parseReferencedItemLines(itemReader, getReferencedItemIds(sample));
+               String[] contextLines = readContextLinesOfSample(contextReader, sample);
+               for (int i = 0; i < sample.size(); i++) {
+                  if (contextLines[i] != null) {
+                     contextsDeclared++;
+                     parseContextVectorLine(contextLines[i]);
+                  }
+                  parseRatingInformationLine(sample.get(i).getRatingLine());
+               }
+            } else {
+               parseReferencedContextLines(contextReader, getReferencedContextIds(sample));
+               parseReferencedItemLines(itemReader, getReferencedItemIds(sample));
+               for (RatingLineReservoir.SampledLine sampledLine : sample) {
+                  parseRatingInformationLine(sampledLine.getRatingLine());
+               }
+            }
+
+            finishParse();
+         }
+
+      } catch (IOException e) {
+         throw new ParsingFailedException(COULD_NOT_OPEN_FILE + e.getMessage(), e);
+      }
+
+      IDataset<?, ?, ?> parsedDataset = getDataset();
+      parsedDataset.setDatasetFile(file);
+      return parsedDataset;
+   }
+
+
+   /**
+    * Returns the ids of the contexts referenced by the given sampled lines of the rating file.
+    * 
+    * @param sample the sampled lines of the rating file
+    * @return the ids of the referenced contexts, or {@code null} if all contexts are needed
+    * @throws ParsingFailedException if a line does not reference a valid id
+    */
+   private BitSet getReferencedContextIds(List<RatingLineReservoir.SampledLine> sample) throws ParsingFailedException {
+      BitSet contextIds = new BitSet();
+      for (RatingLineReservoir.SampledLine sampledLine : sample) {
+         int contextId = getContextIdOfRatingLine(sampledLine.getRatingLine());
+         if (contextId == ALL_REFERENCED) {
+            return null;
+         }
+         contextIds.set(contextId);
+      }
+      return contextIds;
+   }
+
+
+   /**
+    * Returns the ids of the items referenced by the given sampled lines of the rating file.
+    * 
+    * @param sample the sampled lines of the rating file
+    * @return the ids of the referenced items, or {@code null} if all items are needed
+    * @throws ParsingFailedException if a line does not reference valid ids
+    */
+   private BitSet getReferencedItemIds(List<RatingLineReservoir.SampledLine> sample) throws ParsingFailedException {
+      BitSet itemIds = new BitSet();
+      for (RatingLineReservoir.SampledLine sampledLine : sample) {
+         int[] itemIdsOfLine = getItemIdsOfRatingLine(sampledLine.getRatingLine());
+         if (itemIdsOfLine == null) {
+            return null;
+         }
+         for (int itemId : itemIdsOfLine) {
+            itemIds.set(itemId);
+         }
+      }
+      return itemIds;
+   }
+
+
+   /**
+    * Parses the lines of context information whose ids are among the given ids. The other lines
+    * are only counted, so that the number of declared contexts is the same as for a complete parse.
+    * 
+    * @param reader the reader for the lines of the context file, positioned after the feature
+    *           declarations
+    * @param contextIds the ids of the contexts to parse, or {@code null} to parse all contexts
+    * @throws IOException if reading the file for the context information failed
+    * @throws ParsingFailedException if there is a syntax error in the file
+    */
+   private void parseReferencedContextLines(ConcurrentLineReader reader, BitSet contextIds) throws IOException, ParsingFailedException {
+      if (contextIds == null) {
+         parseNextContextLines(reader, Integer.MAX_VALUE);
+         return;
+      }
+      String line;
+      while ((line = reader.readLine()) != null) {
+         if (line.startsWith(FEATURE_DECLARATION) && contextsDeclared != 0) {
+            throw new ParsingFailedException(FEATURE_AFTER_VALUE);
+         } else if (!line.startsWith(FEATURE_DECLARATION)) {
+            contextsDeclared++;
+            if (contextIds.get(parseIdOfLine(line, CONTEXT_MARKER))) {
+               parseContextVectorLine(line);
+            }
+         }
+      }
+   }
+
+
+   /**
+    * Parses the lines of item information whose ids are among the given ids. The other lines are
+    * only counted, so that the number of declared items is the same as for a complete parse.
+    * 
+    * @param reader the reader for the lines of the item file, positioned after the feature
+    *           declarations
+    * @param itemIds the ids of the items to parse, or {@code null} to parse all items
+    * @throws IOException if reading the file for the item information failed
+    * @throws ParsingFailedException if there is a syntax error in the file
+    */
+   private void parseReferencedItemLines(ConcurrentLineReader reader, BitSet itemIds) throws IOException, ParsingFailedException {
+      if (itemIds == null) {
+         parseNextItemLines(reader);
+         return;
+      }
+      String line;
+      while ((line = reader.readLine()) != null) {
+         if (line.startsWith(FEATURE_DECLARATION) && itemsDeclared != 0) {
+            throw new ParsingFailedException(FEATURE_AFTER_VALUE);
+         } else if (!line.startsWith(FEATURE_DECLARATION)) {
+            itemsDeclared++;
+            if (itemIds.get(parseIdOfLine(line, ITEM_MARKER))) {
+               parseItemVectorLine(line);
+            }
+         }
+      }
+   }
+
+
+   /**
+    * Reads the lines of the context file which belong to the given sampled lines of the rating
+    * file, if the contexts are stored per instance. The context file is read only up to the context
+    * of the last sampled line.
+    * 
+    * @param reader the reader for the lines of the context file, positioned after the feature
+    *           declarations
+    * @param sample the sampled lines of the rating file in the order of the file
+    * @return the lines of the context file in the order of the sample, where lines missing in the
+    *         context file are {@code null}
+    * @throws IOException if reading the file for the context information failed
+    * @throws ParsingFailedException if a feature is declared after the values
+    */
+   private String[] readContextLinesOfSample(ConcurrentLineReader reader, List<RatingLineReservoir.SampledLine> sample)
+         throws IOException,
+            ParsingFailedException {
+      String[] contextLines = new String[sample.size()];
+      int position = 0;
+      long lineNumber = 0;
+      String line;
+      while (position < contextLines.length && (line = readContextLineOfInstance(reader)) != null) {
+         if (lineNumber == sample.get(position).getLineNumber()) {
+            contextLines[position++] = line;
+         }
+         lineNumber++;
+      }
+      return contextLines;
+   }
+
+
+   /**
+    * Reads the line of the context file which belongs to the next line of the rating file, if the
+    * contexts are stored per instance.
+    * 
+    * @param reader the reader for the lines of the context file, positioned after the feature
+    *           declarations
+    * @return the next line of the context file, or {@code null} if there is none
+    * @throws IOException if reading the file for the context information failed
+    * @throws ParsingFailedException if a feature is declared after the values
+    */
+   private String readContextLineOfInstance(ConcurrentLineReader reader) throws IOException, ParsingFailedException {
+      String line = reader.readLine();
+      if (line != null && line.startsWith(FEATURE_DECLARATION)) {
+         throw new ParsingFailedException(FEATURE_AFTER_VALUE);
+      }
+      return line;
+   }
+
+
+   /**
+    * Returns whether this parser can append a supplement to a parsed dataset by
+    * {@link #parseAppendingTo(IDataset, DatasetFile)}, i.e. whether it implements
+    * {@link #resumeParse(IDataset)}.
+    * 
+    * @return {@code true} if appending is supported, {@code false} by default
+    */
+   protected boolean isAppendingSupported() {
+      return false;
+   }
+
+
+   /**
+    * Continues to parse into the given dataset, which has been parsed before, instead of a new
+    * dataset. The numbers of declared contexts and items have to be restored from the dataset, so
+    * that the lines of the supplement are counted in addition to them. The given dataset must not
+    * be changed before {@link #finishParse()}, so that it is left unchanged if the supplement
+    * cannot be parsed.
+    * 
+    * @param dataset the dataset to append to
+    * @throws ParsingFailedException if the dataset is not supported by this parser
+    */
+   protected void resumeParse(IDataset<?, ?, ?> dataset) throws ParsingFailedException {
+      throw new UnsupportedOperationException(String.format(ERROR_APPENDING_NOT_SUPPORTED, getClass().getSimpleName()));
+   }
+
+
+   /**
+    * Parses the given supplement into the given dataset, which has been parsed before. The
+    * supplement is a dataset file which contains a rating file with the format declaration and the
+    * new lines of ratings only. Its context and item files are optional and contain the feature
+    * declarations followed by the new contexts and items only. The feature selection of the dataset
+    * file of the given dataset is applied to the supplement as well. If the dataset has been
+    * shuffled, the new instances are inserted at random positions of the shuffled order. If the
+    * supplement cannot be parsed, the dataset is left unchanged. Datasets held by the
+    * {@link ParsedDatasetCache} are shared and cannot be appended to.
+    * 
+    * @param dataset the dataset to append to
+    * @param supplement the dataset file containing the new lines
+    * @return the given dataset with the appended instances
+    * @throws ParsingFailedException if the supplement cannot be opened or parsed, or the dataset is
+    *            not supported by this parser
+    * @throws IllegalArgumentException if the dataset is held by the {@link ParsedDatasetCache}
+    */
+   public IDataset<?, ?, ?> parseAppendingTo(IDataset<?, ?, ?> dataset, DatasetFile supplement) throws ParsingFailedException {
+      if (!isAppendingSupported()) {
+         throw new UnsupportedOperationException(String.format(ERROR_APPENDING_NOT_SUPPORTED, getClass().getSimpleName()));
+      }
+      if (ParsedDatasetCache.getParsedDatasetCache().contains(dataset)) {
+         throw new IllegalArgumentException(String.format(ERROR_APPENDING_TO_CACHED_DATASET, dataset.getDatasetFile()));
+      }
+      try (ZipFile zipFile = new ZipFile(supplement.getFile());
+            ConcurrentLineReader ratingReader = openEntry(zipFile, RATINGS_FILE, LINE_BUFFER_CAPACITY);
+            ConcurrentLineReader contextReader = openOptionalEntry(zipFile, CONTEXT_FILE);
+            ConcurrentLineReader itemReader = openOptionalEntry(zipFile, ITEM_FILE)) {
+
+         checkIfDatasetIsRelative(ratingReader);
+         parseFeatureDeclarations(contextReader, itemReader, dataset.getDatasetFile());
+
+         resumeParse(dataset);
+
+         if (contextReader != null) {
+            parseNextContextLines(contextReader, Integer.MAX_VALUE);
+         }
+         if (itemReader != null) {
+            parseNextItemLines(itemReader);
+         }
+         parsePartialOfRatingInformation(ratingReader, Integer.MAX_VALUE);
+
+         finishParse();
+
+      } catch (IOException e) {
+         throw new ParsingFailedException(COULD_NOT_OPEN_FILE + e.getMessage(), e);
+      }
+
+      IDataset<?, ?, ?> appendedDataset = getDataset();
+      if (appendedDataset instanceof ADataset) {
+         ((ADataset<?, ?, ?>) appendedDataset).shuffleAddedInstances();
+      }
+      return appendedDataset;
+   }
 
-         checkIfDatasetIsRelative(zipFile);
 
-         Pair<Map<Integer, String>, Map<Integer, List<Double>>> featuresAndAllowedValues = findFeatureDeclarationsAndAllowedValues(zipFile,
-               CONTEXT_FILE);
-         contextFeatures = featuresAndAllowedValues.getFirst();
-         allowedContextFeatureValues = featuresAndAllowedValues.getSecond();
+   @Override
+   public IDataset<?, ?, ?> parsePartialOf(DatasetFile file, int amountOfInstances) throws ParsingFailedException {
+      // each entry is opened once and read on its own thread, while the lines are parsed in order
+      try (ZipFile zipFile = new ZipFile(file.getFile());
+            ConcurrentLineReader ratingReader = openEntry(zipFile, RATINGS_FILE, LINE_BUFFER_CAPACITY);
+            ConcurrentLineReader contextReader = openEntry(zipFile, CONTEXT_FILE, LINE_BUFFER_CAPACITY);
+            ConcurrentLineReader itemReader = openEntry(zipFile, ITEM_FILE, LINE_BUFFER_CAPACITY)) {
 
-         featuresAndAllowedValues = findFeatureDeclarationsAndAllowedValues(zipFile, ITEM_FILE);
-         itemFeatures = featuresAndAllowedValues.getFirst();
-         allowedItemFeatureValues = featuresAndAllowedValues.getSecond();
+         checkIfDatasetIsRelative(ratingReader);
+         parseFeatureDeclarations(contextReader, itemReader, file);
 
          initParse();
 
-         parseContextInformation(zipFile, amountOfInstances);
-         parseItemInformation(zipFile);
+         parseContextInformation(contextReader, amountOfInstances);
+         parseItemInformation(itemReader);
 
-         parsePartialOfRatingInformation(zipFile, amountOfInstances);
+         parsePartialOfRatingInformation(ratingReader, amountOfInstances);
 
          finishParse();
-         zipFile.close();
 
       } catch (IOException e) {
          throw new ParsingFailedException(COULD_NOT_OPEN_FILE + e.getMessage(), e);
@@ -159,26 +814,152 @@ public abstract class ADatasetParser implements IDatasetParser {
 
 
    /**
-    * Find all the feature declaration in the item and context files. This allows it to know the
+    * Opens the entry with the given name of the given zip file and starts to read its lines on a
+    * background thread.
     * 
     * @param zipFile the GPRF file containing the data
-    * @throws IOException if opening the file failed
+    * @param entryName the name of the entry to read
+    * @param capacity the maximum number of batches of lines which are buffered
+    * @return the reader for the lines of the entry
+    * @throws IOException if the zip file does not contain the entry or it cannot be read
+    */
+   private ConcurrentLineReader openEntry(ZipFile zipFile, String entryName, int capacity) throws IOException {
+      ZipEntry entry = zipFile.getEntry(entryName);
+      if (entry == null) {
+         throw new IOException(String.format(MISSING_ENTRY, entryName));
+      }
+      return new ConcurrentLineReader(zipFile.getInputStream(entry), capacity);
+   }
+
+
+   /**
+    * Opens the entry with the given name of the given zip file, if it exists, and starts to read
+    * its lines on a background thread.
+    * 
+    * @param zipFile the GPRF file containing the data
+    * @param entryName the name of the entry to read
+    * @return the reader for the lines of the entry, or {@code null} if the zip file does not
+    *         contain the entry
+    * @throws IOException if the entry cannot be read
+    */
+   private ConcurrentLineReader openOptionalEntry(ZipFile zipFile, String entryName) throws IOException {
+      return zipFile.getEntry(entryName) != null ? openEntry(zipFile, entryName, LINE_BUFFER_CAPACITY) : null;
+   }
+
+
+   /**
+    * Parses the feature declarations of the context and item file and restricts them to the
+    * features selected by the given dataset file.
+    * 
+    * @param contextReader the reader for the lines of the context file, positioned at its beginning,
+    *           or {@code null} if there is no context file
+    * @param itemReader the reader for the lines of the item file, positioned at its beginning, or
+    *           {@code null} if there is no item file
+    * @param file the dataset file, which may select a subset of the features
+    * @throws IOException if reading the files failed
+    * @throws ParsingFailedException if the parsing failed, or a selected feature is not declared
+    */
+   private void parseFeatureDeclarations(ConcurrentLineReader contextReader, ConcurrentLineReader itemReader, DatasetFile file)
+         throws IOException,
+            ParsingFailedException {
+      Pair<Map<Integer, String>, Map<Integer, List<Double>>> featuresAndAllowedValues = findFeatureDeclarationsAndAllowedValues(
+            contextReader);
+      contextFeatures = featuresAndAllowedValues.getFirst();
+      allowedContextFeatureValues = featuresAndAllowedValues.getSecond();
+      numberOfContextFeaturesInFile = contextFeatures.size();
+
+      featuresAndAllowedValues = findFeatureDeclarationsAndAllowedValues(itemReader);
+      itemFeatures = featuresAndAllowedValues.getFirst();
+      allowedItemFeatureValues = featuresAndAllowedValues.getSecond();
+      numberOfItemFeaturesInFile = itemFeatures.size();
+
+      contextFeatureProjection = createFeatureProjection(file.getContextFeatures(), contextFeatures, CONTEXT);
+      if (contextFeatureProjection != null) {
+         List<Integer> featureNumbers = getSortedFeatureNumbers(contextFeatures);
+         contextFeatures = contextFeatureProjection.project(contextFeatures, featureNumbers);
+         allowedContextFeatureValues = contextFeatureProjection.project(allowedContextFeatureValues, featureNumbers);
+      }
+      itemFeatureProjection = createFeatureProjection(file.getItemFeatures(), itemFeatures, ITEM);
+      if (itemFeatureProjection != null) {
+         List<Integer> featureNumbers = getSortedFeatureNumbers(itemFeatures);
+         itemFeatures = itemFeatureProjection.project(itemFeatures, featureNumbers);
+         allowedItemFeatureValues = itemFeatureProjection.project(allowedItemFeatureValues, featureNumbers);
+      }
+   }
+
+
+   /**
+    * Returns the numbers of the declared features in ascending order, which is the order of their
+    * positions in the feature vectors.
+    * 
+    * @param declaredFeatures the names of the declared features by their numbers
+    * @return the sorted numbers of the declared features
+    */
+   private List<Integer> getSortedFeatureNumbers(Map<Integer, String> declaredFeatures) {
+      List<Integer> featureNumbers = new ArrayList<>(declaredFeatures.keySet());
+      Collections.sort(featureNumbers);
+      return featureNumbers;
+   }
+
+
+   /**
+    * Creates the projection onto the given selected features, which have to be within the declared
+    * features unless no features are declared at all.
+    * 
+    * @param selectedFeatures the selected features, may be {@code null}
+    * @param declaredFeatures the names of the declared features by their numbers
+    * @param kindOfFeature the kind of the features for the error message
+    * @return the projection, or {@code null} if no features are selected
+    * @throws ParsingFailedException if a selected feature is not declared
+    */
+   private FeatureProjection createFeatureProjection(List<Integer> selectedFeatures, Map<Integer, String> declaredFeatures,
+         String kindOfFeature) throws ParsingFailedException {
+      FeatureProjection projection;
+      try {
+         projection = FeatureProjection.of(selectedFeatures);
+      } catch (IllegalArgumentException e) {
+         throw new ParsingFailedException(e.getMessage(), e);
+      }
+      if (projection != null && !declaredFeatures.isEmpty()) {
+         for (int selection = 0; selection < projection.getNumberOfSelections(); selection++) {
+            int feature = projection.getFeatureOfSelection(selection);
+            if (feature >= declaredFeatures.size()) {
+               throw new ParsingFailedException(String.format(ERROR_SELECTED_FEATURE_NOT_DECLARED, kindOfFeature, feature));
+            }
+         }
+      }
+      return projection;
+   }
+
+
+   /**
+    * Find all the feature declaration at the beginning of the item or context file. The first line
+    * after the declarations is left unread, so that the values can be parsed afterwards.
+    * 
+    * @param reader the reader for the lines of the item or context file, or {@code null} if there is
+    *           no such file
+    * @return the feature names and the allowed values of the features
+    * @throws IOException if reading the file failed
     * @throws ParsingFailedException if the parsing failed
     */
-   private Pair<Map<Integer, String>, Map<Integer, List<Double>>> findFeatureDeclarationsAndAllowedValues(ZipFile zipFile, String entryName)
+   private Pair<Map<Integer, String>, Map<Integer, List<Double>>> findFeatureDeclarationsAndAllowedValues(ConcurrentLineReader reader)
          throws IOException,
             ParsingFailedException {
-      InputStream stream = zipFile.getInputStream(zipFile.getEntry(entryName));
-      BufferedReader br = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
       String line;
 
       Map<Integer, String> featureNames = new HashMap<>();
       Map<Integer, List<Double>> allowedFeatureValues = new HashMap<>();
+      if (reader == null) {
+         return Pair.of(featureNames, allowedFeatureValues);
+      }
 
-      while ((line = readNonCommentLine(br)) != null && line.startsWith(FEATURE_DECLARATION)) {
+      while ((line = reader.readLine()) != null && line.startsWith(FEATURE_DECLARATION)) {
          String[] splittedLine = line.split(ID_DIVIDER);
 
-         int featureNumber = Integer.parseInt(splittedLine[0].split(VECTOR_DIVIDER)[1]);
+         LineTokenizer tokenizer = new LineTokenizer(splittedLine[0]);
+         tokenizer.nextToken();
+         tokenizer.nextToken();
+         int featureNumber = tokenizer.getTokenAsInt();
          String featureName = splittedLine[1];
 
          if (line.contains(OPEN_ORDINAL_RANGE) && line.contains(CLOSE_ORDINGAL_RANGE)) {
@@ -190,14 +971,13 @@ public abstract class ADatasetParser implements IDatasetParser {
       if (line != null && featureNames.isEmpty()) {
          String[] featureLine = line.split(ID_DIVIDER);
          if (featureLine.length > 1) {
-            IVector firstLineVector = parseDenseVector(featureLine[1].trim().split(VECTOR_DIVIDER));
-            for (int i = 0; i < firstLineVector.length(); i++) {
+            double[] firstLineValues = parseDoubleValues(featureLine[1]);
+            for (int i = 0; i < firstLineValues.length; i++) {
                featureNames.put(i, FEATURE + i);
             }
          }
       }
-      br.close();
-      stream.close();
+      reader.unreadLine(line);
       return Pair.of(featureNames, allowedFeatureValues);
    }
 
@@ -205,27 +985,21 @@ public abstract class ADatasetParser implements IDatasetParser {
    /**
     * Checks if the given dataset is relative or not.
     * 
-    * @param zipFile the zip file containing the context, item and rating information of the dataset
-    * @throws IOException if the zip file does not contain the file for the rating information
+    * @param reader the reader for the lines of the rating file, positioned at its beginning
+    * @throws IOException if reading the file for the rating information failed
     * @throws ParsingFailedException if no format declaration was found
     */
-   private void checkIfDatasetIsRelative(ZipFile zipFile) throws IOException, ParsingFailedException {
-
-      InputStream stream = zipFile.getInputStream(zipFile.getEntry(RATINGS_FILE));
-      BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
-
-      String line = readNonCommentLine(reader);
+   private void checkIfDatasetIsRelative(ConcurrentLineReader reader) throws IOException, ParsingFailedException {
+      String line = reader.readLine();
       if (line != null && line.startsWith(FORMAT_DECLARATION)) {
          isRelative = line.contains(FORMAT_DECLARATION_RELATIVE);
       } else {
-         reader.close();
          throw new ParsingFailedException(NO_FORMAT_DECLARATION_FOUND);
       }
 
       if (!isRelative && line.contains(OPEN_ORDINAL_RANGE) && line.contains(CLOSE_ORDINGAL_RANGE)) {
          allowedRatingValues = getRangeOfValues(line);
       }
-      reader.close();
    }
 
 
@@ -241,91 +1015,83 @@ public abstract class ADatasetParser implements IDatasetParser {
       if (line.indexOf(OPEN_ORDINAL_RANGE) > line.lastIndexOf(CLOSE_ORDINGAL_RANGE)) {
          throw new ParsingFailedException(String.format(INVALID_SYNTAX, line));
       }
-      String[] ordinalList = line.substring(line.indexOf(OPEN_ORDINAL_RANGE) + 1, line.lastIndexOf(CLOSE_ORDINGAL_RANGE))
-            .split(VECTOR_DIVIDER);
-      for (int i = 0; i < ordinalList.length; i++) {
-         try {
-            allowedValues.add(Double.parseDouble(ordinalList[i]));
-         } catch (NumberFormatException e) {
-            throw new ParsingFailedException(String.format(NOT_A_NUMBER, ordinalList[i]), e);
-         }
-
+      LineTokenizer tokenizer = new LineTokenizer(line, line.indexOf(OPEN_ORDINAL_RANGE) + 1, line.lastIndexOf(CLOSE_ORDINGAL_RANGE));
+      while (tokenizer.nextToken()) {
+         allowedValues.add(parseDoubleToken(tokenizer));
       }
       return allowedValues;
    }
 
 
    /**
-    * Reads from a {@link BufferedReader} until it finds a line which contains something which is
-    * not a comment.
+    * Parses the context information of the dataset into valid vectors and puts it into the dataset.
     * 
-    * @param reader the {@link BufferedReader} which reads the lines
-    * @return the content of the first line which contains something besides comments and
-    *         {@code null} if there is no such line
-    * @throws IOException is thrown if the reader encounters an error
+    * @param reader the reader for the lines of the context file, positioned after the feature
+    *           declarations
+    * @param amountOfLines the number of contexts read
+    * @throws IOException if reading the file for the context information failed
+    * @throws ParsingFailedException if there is a syntax error in the file
     */
-   private String readNonCommentLine(BufferedReader reader) throws IOException {
-      String line = StringUtils.EMPTY_STRING;
-      while (line.isEmpty()) {
-         line = reader.readLine();
-         if (line == null)
-            return null;
-         else if (line.contains(COMMENT_MARKER)) {
-            line = line.substring(0, line.indexOf(COMMENT_MARKER));
-         }
-         line = line.trim();
-      }
-      return line;
+   private void parseContextInformation(ConcurrentLineReader reader, int amountOfLines) throws IOException, ParsingFailedException {
+      contextsDeclared = 0;
+      parseNextContextLines(reader, amountOfLines);
    }
 
 
    /**
-    * Parses the context information of the dataset into valid vectors and puts it into the dataset.
+    * Parses the next lines of context information of the dataset into valid vectors and puts them
+    * into the dataset. Lines after the given amount are left unread.
     * 
-    * @param zipFile the zip file containing the context information of the dataset
-    * @param amountOfLines the number of contexts read
-    * @throws IOException if the zip file does not contain the file for the context information
+    * @param reader the reader for the lines of the context file
+    * @param amountOfLines the maximum number of contexts read
+    * @throws IOException if reading the file for the context information failed
     * @throws ParsingFailedException if there is a syntax error in the file
     */
-   private void parseContextInformation(ZipFile zipFile, int amountOfLines) throws IOException, ParsingFailedException {
-      InputStream stream = zipFile.getInputStream(zipFile.getEntry(CONTEXT_FILE));
-      BufferedReader br = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
-      contextsDeclared = 0;
+   private void parseNextContextLines(ConcurrentLineReader reader, int amountOfLines) throws IOException, ParsingFailedException {
+      int linesParsed = 0;
       String line;
-      while ((line = readNonCommentLine(br)) != null && contextsDeclared < amountOfLines) {
+      while (linesParsed < amountOfLines && (line = reader.readLine()) != null) {
          if (line.startsWith(FEATURE_DECLARATION) && contextsDeclared != 0) {
-            br.close();
             throw new ParsingFailedException(FEATURE_AFTER_VALUE);
          } else if (line.startsWith(FEATURE_DECLARATION)) {
             // Already parsed
          } else {
             contextsDeclared++;
+            linesParsed++;
             parseContextVectorLine(line);
          }
 
       }
-      br.close();
    }
 
 
    /**
     * Parses the item information of the dataset into valid vectors and puts it into the dataset.
     * 
-    * @param zipFile the zip file containing the item information of the dataset
-    * @throws IOException if the zip file does not contain the file for the item information
+    * @param reader the reader for the lines of the item file, positioned after the feature
+    *           declarations
+    * @throws IOException if reading the file for the item information failed
     * @throws ParsingFailedException if there is a syntax error in the file
     */
-   private void parseItemInformation(ZipFile zipFile) throws IOException, ParsingFailedException {
+   private void parseItemInformation(ConcurrentLineReader reader) throws IOException, ParsingFailedException {
+      itemsDeclared = 0;
+      parseNextItemLines(reader);
+   }
 
-      InputStream stream = zipFile.getInputStream(zipFile.getEntry(ITEM_FILE));
-      BufferedReader br = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
 
-      itemsDeclared = 0;
+   /**
+    * Parses the remaining lines of item information of the dataset into valid vectors and puts them
+    * into the dataset.
+    * 
+    * @param reader the reader for the lines of the item file
+    * @throws IOException if reading the file for the item information failed
+    * @throws ParsingFailedException if there is a syntax error in the file
+    */
+   private void parseNextItemLines(ConcurrentLineReader reader) throws IOException, ParsingFailedException {
       String line;
-      while ((line = readNonCommentLine(br)) != null) {
+      while ((line = reader.readLine()) != null) {
          // read the item feature data
          if (line.startsWith(FEATURE_DECLARATION) && itemsDeclared != 0) {
-            br.close();
             throw new ParsingFailedException(FEATURE_AFTER_VALUE);
          } else if (line.startsWith(FEATURE_DECLARATION)) {
             // Already parsed
@@ -336,28 +1102,25 @@ public abstract class ADatasetParser implements IDatasetParser {
          }
 
       }
-      br.close();
-
-
    }
 
 
    /**
-    * Parses the first <i>n</i> rating information lines of the dataset into valid values and puts
-    * it into the dataset.
+    * Parses the next <i>n</i> rating information lines of the dataset into valid values and puts
+    * it into the dataset. Lines after the given amount are left unread.
     * 
-    * @param zipFile the zip file containing the rating information of the dataset
+    * @param reader the reader for the lines of the rating file, positioned after the format
+    *           declaration
     * @param amountOfInstances the amount of instances to parse from the rating information
-    * @throws IOException if the zip file does not contain the file for the rating information
+    * @throws IOException if reading the file for the rating information failed
     * @throws ParsingFailedException if there is a syntax error in the file
     */
-   private void parsePartialOfRatingInformation(ZipFile zipFile, int amountOfInstances) throws IOException, ParsingFailedException {
-      InputStream stream = zipFile.getInputStream(zipFile.getEntry(RATINGS_FILE));
-      BufferedReader br = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
-
+   private void parsePartialOfRatingInformation(ConcurrentLineReader reader, int amountOfInstances)
+         throws IOException,
+            ParsingFailedException {
       int lineNumber = 0;
       String line;
-      while (((line = readNonCommentLine(br)) != null) && (lineNumber < amountOfInstances)) {
+      while ((lineNumber < amountOfInstances) && ((line = reader.readLine()) != null)) {
          if (line.startsWith(FORMAT_DECLARATION)) {
             // Ignore empty lines and format declaration lines
          } else {
@@ -366,91 +1129,424 @@ public abstract class ADatasetParser implements IDatasetParser {
             parseRatingInformationLine(line);
          }
       }
-      br.close();
    }
 
 
    /**
-    * Transforms a line of feature information into an id and a vector.
+    * An iterator over the chunks of a dataset file, which are parsed by this parser. It holds the
+    * dataset file open until all chunks have been read or it is closed, while the lines of the
+    * rating file and, if {@link #isContextInformationPerInstance()}, the context file are only
+    * buffered in a bounded amount.
+    * 
+    * @author agent
+    *
+    */
+   final class DatasetChunkIterator implements Iterator<IDataset<?, ?, ?>>, Closeable {
+
+      private final DatasetFile file;
+      private final int chunkSize;
+
+      private ZipFile zipFile;
+      private ConcurrentLineReader ratingReader;
+      private ConcurrentLineReader contextReader;
+
+      private boolean isFirstChunk = true;
+      private boolean isClosed = false;
+
+
+      /**
+       * Opens the given dataset file and parses everything except the chunks.
+       * 
+       * @param file the dataset file to parse
+       * @param chunkSize the maximum number of lines of the rating file per chunk
+       * @throws ParsingFailedException if the dataset file cannot be opened or its declarations
+       *            cannot be parsed
+       */
+      private DatasetChunkIterator(DatasetFile file, int chunkSize) throws ParsingFailedException {
+         this.file = file;
+         this.chunkSize = chunkSize;
+         try {
+            zipFile = new ZipFile(file.getFile());
+            ratingReader = openEntry(zipFile, RATINGS_FILE, LINE_BUFFER_CAPACITY);
+            contextReader = openEntry(zipFile, CONTEXT_FILE, LINE_BUFFER_CAPACITY);
+            try (ConcurrentLineReader itemReader = openEntry(zipFile, ITEM_FILE, LINE_BUFFER_CAPACITY)) {
+               checkIfDatasetIsRelative(ratingReader);
+               parseFeatureDeclarations(contextReader, itemReader, file);
+
+               initParse();
+
+               contextsDeclared = 0;
+               if (!isContextInformationPerInstance()) {
+                  parseNextContextLines(contextReader, Integer.MAX_VALUE);
+               }
+               parseItemInformation(itemReader);
+            }
+         } catch (IOException e) {
+            close();
+            throw new ParsingFailedException(COULD_NOT_OPEN_FILE + e.getMessage(), e);
+         } catch (ParsingFailedException | RuntimeException e) {
+            close();
+            throw e;
+         }
+      }
+
+
+      @Override
+      public boolean hasNext() {
+         if (isClosed) {
+            return false;
+         }
+         try {
+            String line;
+            while ((line = ratingReader.readLine()) != null && line.startsWith(FORMAT_DECLARATION)) {
+               // Ignore format declaration lines
+            }
+            if (line == null) {
+               close();
+               return false;
+            }
+            ratingReader.unreadLine(line);
+            return true;
+         } catch (IOException e) {
+            close();
+            throw new JplRuntimeException(COULD_NOT_OPEN_FILE + e.getMessage(), e);
+         }
+      }
+
+
+      @Override
+      public IDataset<?, ?, ?> next() {
+         if (!hasNext()) {
+            throw new NoSuchElementException();
+         }
+         try {
+            if (!isFirstChunk) {
+               startNextChunk();
+            }
+            isFirstChunk = false;
+            if (isContextInformationPerInstance()) {
+               parseNextContextLines(contextReader, chunkSize);
+            }
+            parsePartialOfRatingInformation(ratingReader, chunkSize);
+            finishParse();
+         } catch (IOException e) {
+            close();
+            throw new JplRuntimeException(COULD_NOT_OPEN_FILE + e.getMessage(), e);
+         } catch (ParsingFailedException e) {
+            close();
+            throw new JplRuntimeException(e.getMessage(), e);
+         }
+         IDataset<?, ?, ?> chunk = getDataset();
+         chunk.setDatasetFile(file);
+         return chunk;
+      }
+
+
+      /**
+       * Stops reading the dataset file and closes it. Failures while closing are only logged, as
+       * the chunks which have already been returned are not affected by them.
+       */
+      @Override
+      public void close() {
+         if (isClosed) {
+            return;
+         }
+         isClosed = true;
+         for (Closeable closeable : new Closeable[] { ratingReader, contextReader, zipFile }) {
+            if (closeable != null) {
+               try {
+                  closeable.close();
+               } catch (IOException e) {
+                  logger.warn(e.getMessage(), e);
+               }
+            }
+         }
+      }
+
+   }
+
+
+   /**
+    * Transforms the feature part of a line of feature information into a vector. The vector is
+    * parsed as a sparse vector if the first feature contains the {@link #FEATURE_MARKER} and as a
+    * dense vector otherwise.
     * 
-    * @param line the {@link String}[] read from the file
+    * @param vectorString the part of the line containing the features, separated by whitespace
     * @param dimension the dimension of the vector inside the {@link String}
     * @return the finished, parsed {@link IVector}
     * @throws ParsingFailedException if the parsing operation encounters invalid input
     */
-   protected IVector parseInformationVector(String[] line, int dimension) throws ParsingFailedException {
-      IVector featureVector;
-      if (line[0].contains(FEATURE_MARKER)) {
-         featureVector = parseSparseVector(line, dimension);
-      } else {
-         featureVector = parseDenseVector(line, dimension);
+   protected IVector parseInformationVector(String vectorString, int dimension) throws ParsingFailedException {
+      LineTokenizer tokenizer = new LineTokenizer(vectorString);
+      if (tokenizer.nextToken() && tokenizer.indexOfInToken(FEATURE_MARKER.charAt(0)) >= 0) {
+         return parseSparseVector(vectorString, dimension);
       }
-      return featureVector;
+      return parseDenseVector(vectorString, dimension);
    }
 
 
    /**
-    * Parses a string with a dense feature vector.
+    * Parses a string with a dense feature vector, whose values are separated by whitespace.
     * 
-    * @param splittedLine the {@link String}[] read from the file
+    * @param vectorString the {@link String} containing the vector
     * @param dimension the dimension of the vector inside the {@link String}
     * @return the finished, parsed {@link IVector}
     * @throws ParsingFailedException if the parsing operation encounters invalid input
     */
-   protected IVector parseDenseVector(String[] splittedLine, int dimension) throws ParsingFailedException {
-      IVector result = new DenseDoubleVector(dimension);
-      for (int featureNumber = 0; featureNumber < splittedLine.length; featureNumber++) {
-         if (!splittedLine[featureNumber].isEmpty()) {
-            try {
-               double value = Double.parseDouble(splittedLine[featureNumber].trim());
-               result.setValue(featureNumber, value);
-            } catch (NumberFormatException nfe) {
-               throw new ParsingFailedException(String.format(NOT_A_NUMBER, splittedLine[featureNumber]), nfe);
-            } catch (ArrayIndexOutOfBoundsException e) {
-               throw new ParsingFailedException(String.format(INDEX_DOES_NOT_EXIST, result.length(), featureNumber), e);
-            }
+   protected IVector parseDenseVector(String vectorString, int dimension) throws ParsingFailedException {
+      return new DenseDoubleVector(parseDoubleValues(vectorString, dimension));
+   }
 
+
+   /**
+    * Parses a string with a dense feature vector, whose values are separated by whitespace, into a
+    * double array. If the string contains less than {@code dimension} values, the remaining
+    * entries of the array are zero.
+    * 
+    * @param vectorString the {@link String} containing the vector
+    * @param dimension the dimension of the vector inside the {@link String}
+    * @return the parsed values
+    * @throws ParsingFailedException if the parsing operation encounters invalid input or the string
+    *            contains more than {@code dimension} values
+    */
+   protected double[] parseDoubleValues(String vectorString, int dimension) throws ParsingFailedException {
+      double[] values = new double[dimension];
+      LineTokenizer tokenizer = new LineTokenizer(vectorString);
+      for (int featureNumber = 0; tokenizer.nextToken(); featureNumber++) {
+         double value = parseDoubleToken(tokenizer);
+         if (featureNumber >= dimension) {
+            throw new ParsingFailedException(String.format(INDEX_DOES_NOT_EXIST, dimension, featureNumber));
          }
+         values[featureNumber] = value;
       }
-      return result;
+      return values;
    }
 
 
    /**
-    * Parses a split string containing a dense vector into an {@link IVector}.
+    * Parses a string with a dense feature vector, whose values are separated by whitespace, into a
+    * double array with one entry per value.
     * 
-    * @param splittedLine the line which contains the values
-    * @return the parsed vector
-    * @throws ParsingFailedException if the parsing encountered unecpexted syntax
+    * @param vectorString the {@link String} containing the vector
+    * @return the parsed values
+    * @throws ParsingFailedException if the parsing operation encounters invalid input
     */
-   protected IVector parseDenseVector(String[] splittedLine) throws ParsingFailedException {
-      return parseDenseVector(splittedLine, splittedLine.length);
+   protected double[] parseDoubleValues(String vectorString) throws ParsingFailedException {
+      return parseDoubleValues(vectorString, new LineTokenizer(vectorString).countRemainingTokens());
    }
 
 
    /**
-    * Parses a string with a sparse feature vector.
+    * Parses a string with a sparse feature vector, which consists of pairs of a marked feature
+    * identifier and a value, separated by whitespace.
     * 
-    * @param splittedLine the {@link String}[] read from the file
+    * @param vectorString the {@link String} containing the vector
     * @param dimension the dimension of the vector inside the {@link String}
     * @return the finished, parsed {@link IVector}
     * @throws ParsingFailedException if the parsing operation encounters invalid input
     */
-   protected IVector parseSparseVector(String[] splittedLine, int dimension) throws ParsingFailedException {
-      IVector result = new SparseDoubleVector(dimension);
-      for (int pairNumber = 0; pairNumber < splittedLine.length; pairNumber++) {
-         String[] pair = splittedLine[pairNumber].split(SPARSE_DIVIDER);
-         int itemId = Integer.parseInt(pair[0].trim().substring(1));
+   protected IVector parseSparseVector(String vectorString, int dimension) throws ParsingFailedException {
+      SparseDoubleVector.Builder builder = new SparseDoubleVector.Builder(dimension);
+      LineTokenizer tokenizer = new LineTokenizer(vectorString);
+      char sparseDivider = SPARSE_DIVIDER.charAt(0);
+      while (tokenizer.nextToken()) {
+         int dividerPosition = tokenizer.indexOfInToken(sparseDivider);
+         int valueEnd = dividerPosition < 0 ? -1 : vectorString.indexOf(sparseDivider, dividerPosition + 1);
+         if (valueEnd < 0 || valueEnd > tokenizer.getTokenEnd()) {
+            valueEnd = tokenizer.getTokenEnd();
+         }
+         if (dividerPosition < 0 || dividerPosition + 1 == valueEnd) {
+            throw new ParsingFailedException(String.format(NOT_A_PAIR, tokenizer.getToken()));
+         }
          try {
-            double value = Double.parseDouble(pair[1]);
-            result.setValue(itemId, value);
+            int itemId = LineTokenizer.parseInt(vectorString, tokenizer.getTokenStart() + 1, dividerPosition);
+            double value = LineTokenizer.parseDouble(vectorString, dividerPosition + 1, valueEnd);
+            builder.setValue(itemId, value);
          } catch (NumberFormatException nfe) {
-            throw new ParsingFailedException(String.format(NOT_A_NUMBER, pair[1]), nfe);
+            throw new ParsingFailedException(String.format(NOT_A_NUMBER, vectorString.substring(dividerPosition + 1, valueEnd)), nfe);
          } catch (ArrayIndexOutOfBoundsException e) {
-            throw new ParsingFailedException(String.format(NOT_A_PAIR, splittedLine[pairNumber]), e);
+            throw new ParsingFailedException(String.format(NOT_A_PAIR, tokenizer.getToken()), e);
          }
       }
-      return result;
+      return builder.build();
+   }
+
+
+   /**
+    * Transforms the feature part of a line of context information into a vector as
+    * {@link #parseInformationVector(String, int)} does for all declared context features, but only
+    * parses the values of the selected context features, if the dataset file selects a subset of
+    * them.
+    * 
+    * @param vectorString the part of the line containing the features, separated by whitespace
+    * @return the parsed vector with one entry per declared or selected context feature
+    * @throws ParsingFailedException if the parsing operation encounters invalid input
+    */
+   protected IVector parseContextVector(String vectorString) throws ParsingFailedException {
+      return parseInformationVector(vectorString, numberOfContextFeaturesInFile, contextFeatureProjection);
+   }
+
+
+   /**
+    * Transforms the feature part of a line of item information into a vector as
+    * {@link #parseInformationVector(String, int)} does for all declared item features, but only
+    * parses the values of the selected item features, if the dataset file selects a subset of them.
+    * 
+    * @param vectorString the part of the line containing the features, separated by whitespace
+    * @return the parsed vector with one entry per declared or selected item feature
+    * @throws ParsingFailedException if the parsing operation encounters invalid input
+    */
+   protected IVector parseItemVector(String vectorString) throws ParsingFailedException {
+      return parseInformationVector(vectorString, numberOfItemFeaturesInFile, itemFeatureProjection);
+   }
+
+
+   /**
+    * Parses a string with a dense context feature vector as {@link #parseDoubleValues(String)}
+    * does, but only parses the values of the selected context features, if the dataset file selects
+    * a subset of them. The tokenization stops behind the last selected feature.
+    * 
+    * @param vectorString the {@link String} containing the vector
+    * @return the parsed values of all or the selected context features
+    * @throws ParsingFailedException if the parsing operation encounters invalid input
+    */
+   protected double[] parseContextValues(String vectorString) throws ParsingFailedException {
+      if (contextFeatureProjection == null) {
+         return parseDoubleValues(vectorString);
+      }
+      return parseDoubleValues(vectorString, Integer.MAX_VALUE, contextFeatureProjection);
+   }
+
+
+   /**
+    * Returns whether the dataset file which is parsed selects a subset of the context features.
+    * 
+    * @return {@code true} if only selected context features are parsed
+    */
+   protected boolean isContextFeatureSelected() {
+      return contextFeatureProjection != null;
+   }
+
+
+   /**
+    * Returns the number of context features of the dataset file, regardless of a selection.
+    * 
+    * @return the number of declared context features in the dataset file
+    */
+   protected int getNumberOfContextFeaturesInFile() {
+      return numberOfContextFeaturesInFile;
+   }
+
+
+   /**
+    * Transforms the feature part of a line into a vector and applies the given projection.
+    * 
+    * @param vectorString the part of the line containing the features, separated by whitespace
+    * @param dimension the dimension of the vector inside the {@link String}
+    * @param projection the projection onto the selected features, or {@code null} for all
+    * @return the parsed, projected vector
+    * @throws ParsingFailedException if the parsing operation encounters invalid input
+    */
+   private IVector parseInformationVector(String vectorString, int dimension, FeatureProjection projection)
+         throws ParsingFailedException {
+      if (projection == null) {
+         return parseInformationVector(vectorString, dimension);
+      }
+      LineTokenizer tokenizer = new LineTokenizer(vectorString);
+      if (tokenizer.nextToken() && tokenizer.indexOfInToken(FEATURE_MARKER.charAt(0)) >= 0) {
+         return parseSparseVector(vectorString, projection);
+      }
+      return new DenseDoubleVector(parseDoubleValues(vectorString, dimension, projection));
+   }
+
+
+   /**
+    * Parses a string with a dense feature vector into the values of the selected features. The
+    * values of the other features are skipped without being parsed, and the tokenization stops
+    * behind the last selected feature. Selected features behind the end of the string are zero.
+    * 
+    * @param vectorString the {@link String} containing the vector
+    * @param dimension the dimension of the vector inside the {@link String}
+    * @param projection the projection onto the selected features
+    * @return the parsed values of the selected features
+    * @throws ParsingFailedException if the parsing operation encounters invalid input or the string
+    *            contains more than {@code dimension} values
+    */
+   private double[] parseDoubleValues(String vectorString, int dimension, FeatureProjection projection)
+         throws ParsingFailedException {
+      double[] values = new double[projection.getDimension()];
+      LineTokenizer tokenizer = new LineTokenizer(vectorString);
+      int selection = 0;
+      int lastFeature = projection.getLastFeature();
+      for (int featureNumber = 0; featureNumber <= lastFeature && tokenizer.nextToken(); featureNumber++) {
+         if (featureNumber >= dimension) {
+            throw new ParsingFailedException(String.format(INDEX_DOES_NOT_EXIST, dimension, featureNumber));
+         }
+         if (projection.getFeatureOfSelection(selection) == featureNumber) {
+            double value = parseDoubleToken(tokenizer);
+            for (; selection < projection.getNumberOfSelections()
+                  && projection.getFeatureOfSelection(selection) == featureNumber; selection++) {
+               values[projection.getTargetPositionOfSelection(selection)] = value;
+            }
+         }
+      }
+      return values;
+   }
+
+
+   /**
+    * Parses a string with a sparse feature vector into a vector of the selected features. The
+    * values of the other features are skipped without being parsed.
+    * 
+    * @param vectorString the {@link String} containing the vector
+    * @param projection the projection onto the selected features
+    * @return the parsed vector of the selected features
+    * @throws ParsingFailedException if the parsing operation encounters invalid input
+    */
+   private IVector parseSparseVector(String vectorString, FeatureProjection projection) throws ParsingFailedException {
+      SparseDoubleVector.Builder builder = new SparseDoubleVector.Builder(projection.getDimension());
+      LineTokenizer tokenizer = new LineTokenizer(vectorString);
+      char sparseDivider = SPARSE_DIVIDER.charAt(0);
+      while (tokenizer.nextToken()) {
+         int dividerPosition = tokenizer.indexOfInToken(sparseDivider);
+         int valueEnd = dividerPosition < 0 ? -1 : vectorString.indexOf(sparseDivider, dividerPosition + 1);
+         if (valueEnd < 0 || valueEnd > tokenizer.getTokenEnd()) {
+            valueEnd = tokenizer.getTokenEnd();
+         }
+         if (dividerPosition < 0 || dividerPosition + 1 == valueEnd) {
+            throw new ParsingFailedException(String.format(NOT_A_PAIR, tokenizer.getToken()));
+         }
+         try {
+            int featureNumber = LineTokenizer.parseInt(vectorString, tokenizer.getTokenStart() + 1, dividerPosition);
+            int selection = projection.getFirstSelectionOf(featureNumber);
+            if (selection >= 0) {
+               double value = LineTokenizer.parseDouble(vectorString, dividerPosition + 1, valueEnd);
+               for (; selection < projection.getNumberOfSelections()
+                     && projection.getFeatureOfSelection(selection) == featureNumber; selection++) {
+                  builder.setValue(projection.getTargetPositionOfSelection(selection), value);
+               }
+            }
+         } catch (NumberFormatException nfe) {
+            throw new ParsingFailedException(String.format(NOT_A_NUMBER, vectorString.substring(dividerPosition + 1, valueEnd)), nfe);
+         }
+      }
+      return builder.build();
+   }
+
+
+   /**
+    * Parses the current token of the given tokenizer as a double value.
+    * 
+    * @param tokenizer the tokenizer positioned at the value
+    * @return the parsed value
+    * @throws ParsingFailedException if the token is not a valid double value
+    */
+   private double parseDoubleToken(LineTokenizer tokenizer) throws ParsingFailedException {
+      try {
+         return tokenizer.getTokenAsDouble();
+      } catch (NumberFormatException nfe) {
+         throw new ParsingFailedException(String.format(NOT_A_NUMBER, tokenizer.getToken()), nfe);
+      }
    }
 
 
@@ -513,15 +1609,12 @@ public abstract class ADatasetParser implements IDatasetParser {
     * @throws ParsingFailedException if the parsing failed because of invalid data or invalid syntax
     */
    protected IVector parseAbsoluteRatingVector(String ratingVector) throws ParsingFailedException {
-      IVector ratings;
-      if (ratingVector.contains(SPARSE_DIVIDER)) {
+      if (ratingVector.indexOf(SPARSE_DIVIDER.charAt(0)) >= 0) {
          // Sparse Case
-         ratings = parseSparseVector(ratingVector.trim().split(VECTOR_DIVIDER), itemsDeclared);
-      } else {
-         // Dense Case
-         ratings = parseDenseVector(ratingVector.trim().split(VECTOR_DIVIDER), itemsDeclared);
+         return parseSparseVector(ratingVector, itemsDeclared);
       }
-      return ratings;
+      // Dense Case
+      return parseDenseVector(ratingVector, itemsDeclared);
    }
 
 
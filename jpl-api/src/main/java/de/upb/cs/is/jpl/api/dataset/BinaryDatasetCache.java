@@ -0,0 +1,222 @@
+package de.upb.cs.is.jpl.api.dataset;
+
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.upb.cs.is.jpl.api.exception.dataset.ParsingFailedException;
+
+
+/**
+ * The binary cache of a dataset file, which is stored next to the dataset file with the hash code
+ * of the class of the parser and the extension {@value DatasetFile#BINARY_CACHE_EXTENSION} appended
+ * to its name, unless a common cache directory has been set by
+ * {@link ADatasetParser#setBinaryCacheDirectory(File)}. Different kinds of parsers of the same
+ * dataset file thus keep separate caches instead of replacing each other's cache. After a dataset file has been parsed
+ * completely, the parser writes the parsed content into the cache. Later parses of the same file by
+ * the same kind of parser map the cache into memory and read the content from there, which avoids
+ * decompressing and parsing the text of the dataset file.
+ *
+ * The cache starts with a header consisting of a magic number, the version of the format, the size,
+ * the modification time and a CRC32 checksum of the content of the dataset file and the name of the
+ * class of the parser. A cache is only used if all of these still match the dataset file, otherwise
+ * the dataset file is parsed again and the cache is replaced. The content following the header is
+ * written by {@link ADatasetParser#writeBinaryCache(BinaryDatasetWriter)}.
+ *
+ * Failing to read or write a cache never fails the parse, even if a corrupt cache causes an
+ * unexpected runtime exception, it only causes the dataset file to be parsed from its text. Caches larger than 2 GB are not supported, as they cannot be mapped into a
+ * single buffer, and writing such a cache is aborted as soon as it exceeds this size.
+ *
+ * @author agent
+ *
+ */
+class BinaryDatasetCache {
+
+   private static final Logger logger = LoggerFactory.getLogger(BinaryDatasetCache.class);
+
+   private static final String WARNING_COULD_NOT_READ_CACHE = "Could not read the binary cache %s, parsing the dataset file instead: %s";
+   private static final String WARNING_COULD_NOT_WRITE_CACHE = "Could not write the binary cache %s: %s";
+   private static final String ERROR_COULD_NOT_CREATE_DIRECTORY = "Could not create the cache directory %s.";
+   private static final String ERROR_CACHE_TOO_LARGE = "The binary cache has %d bytes, which is more than can be mapped.";
+   private static final String READ_ONLY_MODE = "r";
+   private static final String READ_WRITE_MODE = "rw";
+
+   private static final int MAGIC_NUMBER = 0x4A504C42;
+   private static final int VERSION = 1;
+   private static final long MAXIMUM_SEGMENT_SIZE = Integer.MAX_VALUE;
+
+   private static volatile File cacheDirectory;
+
+   private final File datasetFile;
+   private final File cacheFile;
+   private final String parserName;
+   private final long datasetSize;
+   private final long datasetModificationTime;
+   private long datasetChecksum = -1;
+
+
+   /**
+    * Creates the binary cache of the given dataset file for the given parser. The size and the
+    * modification time of the dataset file are determined immediately, so that a cache written
+    * afterwards never claims to match a newer version of the dataset file.
+    *
+    * @param datasetFile the dataset file
+    * @param parser the parser which parses the dataset file
+    */
+   BinaryDatasetCache(File datasetFile, ADatasetParser parser) {
+      this.datasetFile = datasetFile;
+      this.parserName = parser.getClass().getName();
+      this.cacheFile = getCacheFileOf(datasetFile, parserName);
+      this.datasetSize = datasetFile.length();
+      this.datasetModificationTime = datasetFile.lastModified();
+   }
+
+
+   /**
+    * Sets the directory, in which the caches of all dataset files are stored.
+    *
+    * @param directory the directory for all caches, or {@code null} to store each cache next to its
+    *           dataset file
+    */
+   static void setCacheDirectory(File directory) {
+      cacheDirectory = directory;
+   }
+
+
+   /**
+    * Returns the file of the cache of the given dataset file for the parser with the given class
+    * name. The name of the cache contains the hash code of the class name of the parser. In a common
+    * cache directory, it additionally contains the hash code of the absolute path of the dataset
+    * file, so that dataset files with the same name in different directories do not share their
+    * cache.
+    *
+    * @param datasetFile the dataset file
+    * @param parserName the name of the class of the parser
+    * @return the cache file
+    */
+   private static File getCacheFileOf(File datasetFile, String parserName) {
+      String parserHash = Integer.toHexString(parserName.hashCode());
+      File directory = cacheDirectory;
+      if (directory == null) {
+         return new File(datasetFile.getPath() + '.' + parserHash + DatasetFile.BINARY_CACHE_EXTENSION);
+      }
+      String pathHash = Integer.toHexString(datasetFile.getAbsolutePath().hashCode());
+      return new File(directory, datasetFile.getName() + '.' + pathHash + '.' + parserHash + DatasetFile.BINARY_CACHE_EXTENSION);
+   }
+
+
+   /**
+    * Returns the file, which contains the binary cache.
+    *
+    * @return the cache file
+    */
+   File getCacheFile() {
+      return cacheFile;
+   }
+
+
+   /**
+    * Returns the CRC32 checksum of the content of the dataset file, which is computed once by
+    * mapping the dataset file into memory.
+    *
+    * @return the checksum of the dataset file
+    * @throws IOException if the dataset file cannot be read
+    */
+   private long getDatasetChecksum() throws IOException {
+      if (datasetChecksum < 0) {
+         CRC32 checksum = new CRC32();
+         try (RandomAccessFile randomAccessFile = new RandomAccessFile(datasetFile, READ_ONLY_MODE);
+               FileChannel channel = randomAccessFile.getChannel()) {
+            long size = channel.size();
+            for (long position = 0; position < size; position += MAXIMUM_SEGMENT_SIZE) {
+               checksum.update(channel.map(MapMode.READ_ONLY, position, Math.min(MAXIMUM_SEGMENT_SIZE, size - position)));
+            }
+         }
+         datasetChecksum = checksum.getValue();
+      }
+      return datasetChecksum;
+   }
+
+
+   /**
+    * Loads the content of the cache into the given parser, if the cache exists and still matches the
+    * dataset file.
+    *
+    * @param parser the parser to load the content into
+    * @return {@code true} if the content has been loaded, {@code false} if the dataset file has to
+    *         be parsed
+    */
+   boolean load(ADatasetParser parser) {
+      if (!cacheFile.isFile() || datasetSize == 0) {
+         return false;
+      }
+      try (RandomAccessFile randomAccessFile = new RandomAccessFile(cacheFile, READ_ONLY_MODE);
+            FileChannel channel = randomAccessFile.getChannel()) {
+         if (channel.size() > MAXIMUM_SEGMENT_SIZE) {
+            throw new IOException(String.format(ERROR_CACHE_TOO_LARGE, channel.size()));
+         }
+         ByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+         BinaryDatasetReader reader = new BinaryDatasetReader(buffer);
+         if (reader.readInt() != MAGIC_NUMBER || reader.readInt() != VERSION || reader.readLong() != datasetSize
+               || reader.readLong() != datasetModificationTime || !parserName.equals(reader.readString())
+               || reader.readLong() != getDatasetChecksum()) {
+            return false;
+         }
+         parser.readBinaryCache(reader);
+         return true;
+      } catch (IOException | ParsingFailedException | RuntimeException e) {
+         logger.warn(String.format(WARNING_COULD_NOT_READ_CACHE, cacheFile, e.getMessage()));
+         return false;
+      }
+   }
+
+
+   /**
+    * Stores the content of the given parser, which has just parsed the dataset file completely, in
+    * the cache. The cache is written into a temporary file first, which then replaces the cache, so
+    * that a partially written cache is never read. Writing stops before the cache exceeds the size
+    * which can be mapped, in which case the temporary file is deleted.
+    *
+    * @param parser the parser whose content is stored
+    */
+   void store(ADatasetParser parser) {
+      File temporaryFile = null;
+      try {
+         File directory = cacheFile.getAbsoluteFile().getParentFile();
+         if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException(String.format(ERROR_COULD_NOT_CREATE_DIRECTORY, directory));
+         }
+         temporaryFile = File.createTempFile(cacheFile.getName(), DatasetFile.BINARY_CACHE_EXTENSION, directory);
+         try (RandomAccessFile randomAccessFile = new RandomAccessFile(temporaryFile, READ_WRITE_MODE);
+               FileChannel channel = randomAccessFile.getChannel()) {
+            BinaryDatasetWriter writer = new BinaryDatasetWriter(channel, MAXIMUM_SEGMENT_SIZE);
+            writer.writeInt(MAGIC_NUMBER);
+            writer.writeInt(VERSION);
+            writer.writeLong(datasetSize);
+            writer.writeLong(datasetModificationTime);
+            writer.writeString(parserName);
+            writer.writeLong(getDatasetChecksum());
+            parser.writeBinaryCache(writer);
+            writer.flush();
+         }
+         Files.move(temporaryFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch (IOException | RuntimeException e) {
+         logger.warn(String.format(WARNING_COULD_NOT_WRITE_CACHE, cacheFile, e.getMessage()));
+         if (temporaryFile != null && !temporaryFile.delete()) {
+            temporaryFile.deleteOnExit();
+         }
+      }
+   }
+
+}
@@ -0,0 +1,398 @@
+package de.upb.cs.is.jpl.api.dataset;
+
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.upb.cs.is.jpl.api.dataset.defaultdataset.relative.PackedRankingList;
+import de.upb.cs.is.jpl.api.dataset.defaultdataset.relative.Ranking;
+import de.upb.cs.is.jpl.api.math.linearalgebra.DenseDoubleVector;
+import de.upb.cs.is.jpl.api.math.linearalgebra.IVector;
+import de.upb.cs.is.jpl.api.math.linearalgebra.SparseDoubleVector;
+
+
+/**
+ * Reads the content of a dataset from a binary dataset cache, which has been written by a
+ * {@link BinaryDatasetWriter}. The reader works on a buffer, which usually maps the cache file into
+ * memory, and copies whole blocks of primitives at once into the arrays of the dataset.
+ *
+ * @author agent
+ *
+ */
+public class BinaryDatasetReader {
+
+   private static final String ERROR_INVALID_LENGTH = "Found the invalid length %d at position %d of the binary cache.";
+   private static final String ERROR_INVALID_VECTOR_KIND = "Found the invalid vector kind %d at position %d of the binary cache.";
+
+   private final ByteBuffer buffer;
+
+
+   /**
+    * Creates a new reader, which reads the given buffer from its current position on. The buffer
+    * has to be in little-endian byte order.
+    *
+    * @param buffer the buffer to read
+    */
+   BinaryDatasetReader(ByteBuffer buffer) {
+      this.buffer = buffer;
+   }
+
+
+   /**
+    * Reads a length, which is either {@code -1} for {@code null} or not negative.
+    *
+    * @return the length
+    * @throws IOException if the length is invalid
+    */
+   private int readLength() throws IOException {
+      int length = buffer.getInt();
+      if (length < BinaryDatasetWriter.NULL_LENGTH) {
+         throw new IOException(String.format(ERROR_INVALID_LENGTH, length, buffer.position() - Integer.BYTES));
+      }
+      return length;
+   }
+
+
+   /**
+    * Reads a length, which must not be negative.
+    *
+    * @return the length
+    * @throws IOException if the length is invalid
+    */
+   private int readNonNegativeLength() throws IOException {
+      int length = buffer.getInt();
+      if (length < 0) {
+         throw new IOException(String.format(ERROR_INVALID_LENGTH, length, buffer.position() - Integer.BYTES));
+      }
+      return length;
+   }
+
+
+   /**
+    * Returns a view of the given number of integers starting at the current position and advances
+    * the position behind them.
+    *
+    * @param numberOfValues the number of integers to view
+    * @return the view of the integers
+    */
+   private IntBuffer viewIntValues(long numberOfValues) {
+      IntBuffer view = buffer.asIntBuffer();
+      view.limit((int) numberOfValues);
+      buffer.position((int) (buffer.position() + numberOfValues * Integer.BYTES));
+      return view;
+   }
+
+
+   /**
+    * Returns a view of the given number of doubles starting at the current position and advances
+    * the position behind them.
+    *
+    * @param numberOfValues the number of doubles to view
+    * @return the view of the doubles
+    */
+   private DoubleBuffer viewDoubleValues(long numberOfValues) {
+      DoubleBuffer view = buffer.asDoubleBuffer();
+      view.limit((int) numberOfValues);
+      buffer.position((int) (buffer.position() + numberOfValues * Double.BYTES));
+      return view;
+   }
+
+
+   /**
+    * Reads an integer value.
+    *
+    * @return the value
+    */
+   public int readInt() {
+      return buffer.getInt();
+   }
+
+
+   /**
+    * Reads a long value.
+    *
+    * @return the value
+    */
+   public long readLong() {
+      return buffer.getLong();
+   }
+
+
+   /**
+    * Reads a double value.
+    *
+    * @return the value
+    */
+   public double readDouble() {
+      return buffer.getDouble();
+   }
+
+
+   /**
+    * Reads a boolean value.
+    *
+    * @return the value
+    */
+   public boolean readBoolean() {
+      return buffer.getInt() != 0;
+   }
+
+
+   /**
+    * Reads a string, which may be {@code null}.
+    *
+    * @return the string
+    * @throws IOException if the length of the string is invalid
+    */
+   public String readString() throws IOException {
+      int length = readLength();
+      if (length == BinaryDatasetWriter.NULL_LENGTH) {
+         return null;
+      }
+      byte[] bytes = new byte[length];
+      buffer.get(bytes);
+      return new String(bytes, StandardCharsets.UTF_8);
+   }
+
+
+   /**
+    * Reads an array of integers.
+    *
+    * @return the values
+    * @throws IOException if the length of the array is invalid
+    */
+   public int[] readIntArray() throws IOException {
+      int[] values = new int[readNonNegativeLength()];
+      viewIntValues(values.length).get(values);
+      return values;
+   }
+
+
+   /**
+    * Reads an array of doubles.
+    *
+    * @return the values
+    * @throws IOException if the length of the array is invalid
+    */
+   public double[] readDoubleArray() throws IOException {
+      double[] values = new double[readNonNegativeLength()];
+      viewDoubleValues(values.length).get(values);
+      return values;
+   }
+
+
+   /**
+    * Reads a list of integers.
+    *
+    * @return the values
+    * @throws IOException if the length of the list is invalid
+    */
+   public List<Integer> readIntegerList() throws IOException {
+      int[] values = readIntArray();
+      List<Integer> list = new ArrayList<>(values.length);
+      for (int value : values) {
+         list.add(value);
+      }
+      return list;
+   }
+
+
+   /**
+    * Reads a list of doubles, which may be {@code null}.
+    *
+    * @return the values
+    * @throws IOException if the length of the list is invalid
+    */
+   public List<Double> readDoubleList() throws IOException {
+      int length = readLength();
+      if (length == BinaryDatasetWriter.NULL_LENGTH) {
+         return null;
+      }
+      DoubleBuffer view = viewDoubleValues(length);
+      List<Double> list = new ArrayList<>(length);
+      for (int i = 0; i < length; i++) {
+         list.add(view.get(i));
+      }
+      return list;
+   }
+
+
+   /**
+    * Reads a map from integers to strings.
+    *
+    * @return the map
+    * @throws IOException if a length in the map is invalid
+    */
+   public Map<Integer, String> readStringMap() throws IOException {
+      int size = readNonNegativeLength();
+      Map<Integer, String> map = new HashMap<>();
+      for (int i = 0; i < size; i++) {
+         int key = buffer.getInt();
+         map.put(key, readString());
+      }
+      return map;
+   }
+
+
+   /**
+    * Reads a map from integers to lists of doubles, which may be {@code null}.
+    *
+    * @return the map
+    * @throws IOException if a length in the map is invalid
+    */
+   public Map<Integer, List<Double>> readDoubleListMap() throws IOException {
+      int size = readLength();
+      if (size == BinaryDatasetWriter.NULL_LENGTH) {
+         return null;
+      }
+      Map<Integer, List<Double>> map = new HashMap<>();
+      for (int i = 0; i < size; i++) {
+         int key = buffer.getInt();
+         map.put(key, readDoubleList());
+      }
+      return map;
+   }
+
+
+   /**
+    * Reads a list of double arrays, which has been written as a block.
+    *
+    * @return the arrays
+    * @throws IOException if a length in the block is invalid
+    */
+   public List<double[]> readDoubleBlock() throws IOException {
+      int size = readNonNegativeLength();
+      int[] lengths = new int[size];
+      long numberOfValues = 0;
+      for (int i = 0; i < size; i++) {
+         lengths[i] = readLength();
+         numberOfValues += Math.max(lengths[i], 0);
+      }
+      DoubleBuffer view = viewDoubleValues(numberOfValues);
+      List<double[]> arrays = new ArrayList<>(size);
+      for (int length : lengths) {
+         double[] array = null;
+         if (length != BinaryDatasetWriter.NULL_LENGTH) {
+            array = new double[length];
+            view.get(array);
+         }
+         arrays.add(array);
+      }
+      return arrays;
+   }
+
+
+   /**
+    * Reads a list of rankings, which has been written as a block.
+    *
+    * @return the rankings
+    * @throws IOException if a length in the block is invalid
+    */
+   public List<Ranking> readRankings() throws IOException {
+      int size = readNonNegativeLength();
+      int[] objectLengths = new int[size];
+      int[] operatorLengths = new int[size];
+      long numberOfObjects = 0;
+      long numberOfOperators = 0;
+      for (int i = 0; i < size; i++) {
+         objectLengths[i] = readLength();
+         operatorLengths[i] = readLength();
+         numberOfObjects += Math.max(objectLengths[i], 0);
+         numberOfOperators += Math.max(operatorLengths[i], 0);
+      }
+      IntBuffer objects = viewIntValues(numberOfObjects);
+      IntBuffer operators = viewIntValues(numberOfOperators);
+      List<Ranking> rankings = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+         Ranking ranking = null;
+         if (objectLengths[i] != BinaryDatasetWriter.NULL_LENGTH) {
+            int[] objectList = new int[objectLengths[i]];
+            int[] compareOperators = new int[operatorLengths[i]];
+            objects.get(objectList);
+            operators.get(compareOperators);
+            ranking = new Ranking(objectList, compareOperators);
+         }
+         rankings.add(ranking);
+      }
+      return rankings;
+   }
+
+
+   /**
+    * Reads a list of rankings, which has been written as a block, directly into a
+    * {@link PackedRankingList} without creating a {@link Ranking} object per ranking.
+    *
+    * @return the packed rankings
+    * @throws IOException if a length in the block is invalid
+    */
+   public PackedRankingList readPackedRankings() throws IOException {
+      int size = readNonNegativeLength();
+      int[] objectLengths = new int[size];
+      int[] operatorLengths = new int[size];
+      long numberOfObjects = 0;
+      long numberOfOperators = 0;
+      for (int i = 0; i < size; i++) {
+         objectLengths[i] = readLength();
+         operatorLengths[i] = readLength();
+         numberOfObjects += Math.max(objectLengths[i], 0);
+         numberOfOperators += Math.max(operatorLengths[i], 0);
+      }
+      IntBuffer objects = viewIntValues(numberOfObjects);
+      IntBuffer operators = viewIntValues(numberOfOperators);
+      return PackedRankingList.fromBlocks(objectLengths, operatorLengths, objects, operators);
+   }
+
+
+   /**
+    * Reads a list of vectors, which has been written as a block.
+    *
+    * @return the vectors
+    * @throws IOException if a length or kind in the block is invalid
+    */
+   public List<IVector> readVectors() throws IOException {
+      int size = readNonNegativeLength();
+      int[] kinds = new int[size];
+      int[] dimensions = new int[size];
+      int[] numbersOfValues = new int[size];
+      long numberOfIndices = 0;
+      long numberOfValues = 0;
+      for (int i = 0; i < size; i++) {
+         kinds[i] = buffer.getInt();
+         dimensions[i] = readLength();
+         numbersOfValues[i] = readNonNegativeLength();
+         if (kinds[i] == BinaryDatasetWriter.SPARSE_VECTOR) {
+            numberOfIndices += numbersOfValues[i];
+         } else if (kinds[i] != BinaryDatasetWriter.DENSE_VECTOR) {
+            throw new IOException(String.format(ERROR_INVALID_VECTOR_KIND, kinds[i], buffer.position() - 3 * Integer.BYTES));
+         }
+         numberOfValues += numbersOfValues[i];
+      }
+      IntBuffer indices = viewIntValues(numberOfIndices);
+      DoubleBuffer values = viewDoubleValues(numberOfValues);
+      List<IVector> vectors = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+         IVector vector = null;
+         if (dimensions[i] != BinaryDatasetWriter.NULL_LENGTH) {
+            double[] vectorValues = new double[numbersOfValues[i]];
+            values.get(vectorValues);
+            if (kinds[i] == BinaryDatasetWriter.SPARSE_VECTOR) {
+               int[] vectorIndices = new int[numbersOfValues[i]];
+               indices.get(vectorIndices);
+               vector = new SparseDoubleVector(vectorIndices, vectorValues, dimensions[i]);
+            } else {
+               vector = new DenseDoubleVector(vectorValues);
+            }
+         }
+         vectors.add(vector);
+      }
+      return vectors;
+   }
+
+}
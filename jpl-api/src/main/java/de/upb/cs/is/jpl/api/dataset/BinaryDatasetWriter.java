@@ -0,0 +1,379 @@
+package de.upb.cs.is.jpl.api.dataset;
+
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import de.upb.cs.is.jpl.api.dataset.defaultdataset.relative.Ranking;
+import de.upb.cs.is.jpl.api.math.linearalgebra.IVector;
+import de.upb.cs.is.jpl.api.math.linearalgebra.SparseDoubleVector;
+
+
+/**
+ * Writes the content of a parsed dataset into a binary dataset cache, which can be read again by a
+ * {@link BinaryDatasetReader}. All values are written in little-endian byte order.
+ *
+ * Collections are stored in columns: the number of elements is followed by the lengths of all
+ * elements and then by the values of all elements as one contiguous block of primitives. For
+ * example, a list of feature vectors is stored as one block of doubles, and a list of rankings as
+ * one block of object ids and one block of compare operators. Thus the reader can copy whole
+ * blocks at once instead of decoding the elements one by one. A length of {@code -1} marks an
+ * element which is {@code null}.
+ *
+ * @author agent
+ *
+ */
+public class BinaryDatasetWriter {
+
+   private static final String ERROR_NULL_VALUE = "The list contains a null value, which cannot be stored in the binary cache.";
+   private static final String ERROR_MAXIMUM_SIZE_EXCEEDED = "The binary cache would exceed the maximum size of %d bytes.";
+
+   static final int NULL_LENGTH = -1;
+   static final int DENSE_VECTOR = 0;
+   static final int SPARSE_VECTOR = 1;
+
+   private static final int BUFFER_SIZE = 1 << 16;
+
+   private final FileChannel channel;
+   private final ByteBuffer buffer;
+   private final long maximumSize;
+   private long numberOfWrittenBytes = 0;
+
+
+   /**
+    * Creates a new writer, which writes at most the given number of bytes to the given channel at
+    * its current position.
+    *
+    * @param channel the channel to write to
+    * @param maximumSize the maximum number of bytes to write
+    */
+   BinaryDatasetWriter(FileChannel channel, long maximumSize) {
+      this.channel = channel;
+      this.buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+      this.maximumSize = maximumSize;
+   }
+
+
+   /**
+    * Makes sure that the given number of bytes can be put into the buffer, by writing the content
+    * of the buffer to the channel if necessary.
+    *
+    * @param numberOfBytes the number of bytes which are going to be put into the buffer
+    * @throws IOException if the channel cannot be written
+    */
+   private void ensureRemaining(int numberOfBytes) throws IOException {
+      if (buffer.remaining() < numberOfBytes) {
+         flush();
+      }
+   }
+
+
+   /**
+    * Writes the content of the buffer to the channel. Nothing is written if the maximum number of
+    * bytes would be exceeded.
+    *
+    * @throws IOException if the channel cannot be written or the maximum number of bytes would be
+    *            exceeded
+    */
+   void flush() throws IOException {
+      if (numberOfWrittenBytes + buffer.position() > maximumSize) {
+         throw new IOException(String.format(ERROR_MAXIMUM_SIZE_EXCEEDED, maximumSize));
+      }
+      numberOfWrittenBytes += buffer.position();
+      buffer.flip();
+      while (buffer.hasRemaining()) {
+         channel.write(buffer);
+      }
+      buffer.clear();
+   }
+
+
+   /**
+    * Writes the given integer value.
+    *
+    * @param value the value to write
+    * @throws IOException if the value cannot be written
+    */
+   public void writeInt(int value) throws IOException {
+      ensureRemaining(Integer.BYTES);
+      buffer.putInt(value);
+   }
+
+
+   /**
+    * Writes the given long value.
+    *
+    * @param value the value to write
+    * @throws IOException if the value cannot be written
+    */
+   public void writeLong(long value) throws IOException {
+      ensureRemaining(Long.BYTES);
+      buffer.putLong(value);
+   }
+
+
+   /**
+    * Writes the given double value.
+    *
+    * @param value the value to write
+    * @throws IOException if the value cannot be written
+    */
+   public void writeDouble(double value) throws IOException {
+      ensureRemaining(Double.BYTES);
+      buffer.putDouble(value);
+   }
+
+
+   /**
+    * Writes the given boolean value.
+    *
+    * @param value the value to write
+    * @throws IOException if the value cannot be written
+    */
+   public void writeBoolean(boolean value) throws IOException {
+      writeInt(value ? 1 : 0);
+   }
+
+
+   /**
+    * Writes the given string, which may be {@code null}, in UTF-8 encoding.
+    *
+    * @param value the string to write
+    * @throws IOException if the string cannot be written
+    */
+   public void writeString(String value) throws IOException {
+      if (value == null) {
+         writeInt(NULL_LENGTH);
+         return;
+      }
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      writeInt(bytes.length);
+      for (byte character : bytes) {
+         ensureRemaining(1);
+         buffer.put(character);
+      }
+   }
+
+
+   /**
+    * Writes the given array of integers, preceded by its length.
+    *
+    * @param values the values to write
+    * @throws IOException if the values cannot be written
+    */
+   public void writeIntArray(int[] values) throws IOException {
+      writeInt(values.length);
+      writeIntValues(values);
+   }
+
+
+   /**
+    * Writes the given array of doubles, preceded by its length.
+    *
+    * @param values the values to write
+    * @throws IOException if the values cannot be written
+    */
+   public void writeDoubleArray(double[] values) throws IOException {
+      writeInt(values.length);
+      writeDoubleValues(values);
+   }
+
+
+   /**
+    * Writes the given integers without their number.
+    *
+    * @param values the values to write
+    * @throws IOException if the values cannot be written
+    */
+   private void writeIntValues(int[] values) throws IOException {
+      for (int value : values) {
+         writeInt(value);
+      }
+   }
+
+
+   /**
+    * Writes the given doubles without their number.
+    *
+    * @param values the values to write
+    * @throws IOException if the values cannot be written
+    */
+   private void writeDoubleValues(double[] values) throws IOException {
+      for (double value : values) {
+         writeDouble(value);
+      }
+   }
+
+
+   /**
+    * Writes the given list of integers, which must not contain {@code null}.
+    *
+    * @param values the values to write
+    * @throws IOException if the values cannot be written or the list contains {@code null}
+    */
+   public void writeIntegerList(List<Integer> values) throws IOException {
+      writeInt(values.size());
+      for (Integer value : values) {
+         if (value == null) {
+            throw new IOException(ERROR_NULL_VALUE);
+         }
+         writeInt(value);
+      }
+   }
+
+
+   /**
+    * Writes the given list of doubles, which may be {@code null} itself, but must not contain
+    * {@code null}.
+    *
+    * @param values the values to write
+    * @throws IOException if the values cannot be written or the list contains {@code null}
+    */
+   public void writeDoubleList(List<Double> values) throws IOException {
+      if (values == null) {
+         writeInt(NULL_LENGTH);
+         return;
+      }
+      writeInt(values.size());
+      for (Double value : values) {
+         if (value == null) {
+            throw new IOException(ERROR_NULL_VALUE);
+         }
+         writeDouble(value);
+      }
+   }
+
+
+   /**
+    * Writes the given map from integers to strings, such as the feature names of a dataset.
+    *
+    * @param map the map to write
+    * @throws IOException if the map cannot be written
+    */
+   public void writeStringMap(Map<Integer, String> map) throws IOException {
+      writeInt(map.size());
+      for (Entry<Integer, String> entry : map.entrySet()) {
+         writeInt(entry.getKey());
+         writeString(entry.getValue());
+      }
+   }
+
+
+   /**
+    * Writes the given map from integers to lists of doubles, such as the allowed values of the
+    * features of a dataset. The map may be {@code null}.
+    *
+    * @param map the map to write
+    * @throws IOException if the map cannot be written
+    */
+   public void writeDoubleListMap(Map<Integer, List<Double>> map) throws IOException {
+      if (map == null) {
+         writeInt(NULL_LENGTH);
+         return;
+      }
+      writeInt(map.size());
+      for (Entry<Integer, List<Double>> entry : map.entrySet()) {
+         writeInt(entry.getKey());
+         writeDoubleList(entry.getValue());
+      }
+   }
+
+
+   /**
+    * Writes the given list of double arrays, such as the feature vectors of a dataset, as one block
+    * of lengths followed by one block of values. The list may contain {@code null}.
+    *
+    * @param arrays the arrays to write
+    * @throws IOException if the arrays cannot be written
+    */
+   public void writeDoubleBlock(List<double[]> arrays) throws IOException {
+      writeInt(arrays.size());
+      for (double[] array : arrays) {
+         writeInt(array == null ? NULL_LENGTH : array.length);
+      }
+      for (double[] array : arrays) {
+         if (array != null) {
+            writeDoubleValues(array);
+         }
+      }
+   }
+
+
+   /**
+    * Writes the given list of rankings as one block of lengths, one block of object ids and one
+    * block of compare operators. The list may contain {@code null}.
+    *
+    * @param rankings the rankings to write
+    * @throws IOException if the rankings cannot be written
+    */
+   public void writeRankings(List<Ranking> rankings) throws IOException {
+      writeInt(rankings.size());
+      for (Ranking ranking : rankings) {
+         writeInt(ranking == null ? NULL_LENGTH : ranking.getObjectList().length);
+         writeInt(ranking == null ? NULL_LENGTH : ranking.getCompareOperators().length);
+      }
+      for (Ranking ranking : rankings) {
+         if (ranking != null) {
+            writeIntValues(ranking.getObjectList());
+         }
+      }
+      for (Ranking ranking : rankings) {
+         if (ranking != null) {
+            writeIntValues(ranking.getCompareOperators());
+         }
+      }
+   }
+
+
+   /**
+    * Writes the given list of vectors. For every vector its kind, dimension and number of stored
+    * values are written first, followed by one block of the indices of all sparse vectors and one
+    * block of the stored values of all vectors. Sparse vectors are restored as
+    * {@link SparseDoubleVector}s, all other vectors as dense vectors. The list may contain
+    * {@code null}.
+    *
+    * @param vectors the vectors to write
+    * @throws IOException if the vectors cannot be written
+    */
+   public void writeVectors(List<? extends IVector> vectors) throws IOException {
+      writeInt(vectors.size());
+      for (IVector vector : vectors) {
+         if (vector == null) {
+            writeInt(DENSE_VECTOR);
+            writeInt(NULL_LENGTH);
+            writeInt(0);
+         } else if (vector instanceof SparseDoubleVector) {
+            writeInt(SPARSE_VECTOR);
+            writeInt(vector.length());
+            writeInt(((SparseDoubleVector) vector).getNumberOfNonZeroEntries());
+         } else {
+            writeInt(DENSE_VECTOR);
+            writeInt(vector.length());
+            writeInt(vector.length());
+         }
+      }
+      for (IVector vector : vectors) {
+         if (vector instanceof SparseDoubleVector) {
+            writeIntValues(((SparseDoubleVector) vector).getNonZeroIndices());
+         }
+      }
+      for (IVector vector : vectors) {
+         if (vector instanceof SparseDoubleVector) {
+            for (int index : ((SparseDoubleVector) vector).getNonZeroIndices()) {
+               writeDouble(vector.getValue(index));
+            }
+         } else if (vector != null) {
+            for (int index = 0; index < vector.length(); index++) {
+               writeDouble(vector.getValue(index));
+            }
+         }
+      }
+   }
+
+}
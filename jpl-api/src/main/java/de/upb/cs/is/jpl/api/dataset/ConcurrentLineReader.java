@@ -0,0 +1,196 @@
+package de.upb.cs.is.jpl.api.dataset;
+
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Reads the lines of a dataset file on a background thread, while the lines which have already
+ * been read can be consumed by the parser. Comments are removed from the lines, and lines which are
+ * empty afterwards are skipped, hence {@link #readLine()} only returns lines with content.
+ *
+ * The lines are handed over in batches through a queue. If the queue has a bounded capacity, the
+ * background thread waits as soon as it is full, so that large files are never held in memory
+ * completely. With an unbounded capacity, the whole file is buffered as fast as it can be read.
+ *
+ * @author agent
+ *
+ */
+class ConcurrentLineReader implements Closeable {
+
+   private static final String THREAD_NAME = "jpl-dataset-reader";
+
+   /** The number of lines handed over at once. */
+   private static final int BATCH_SIZE = 1024;
+   /** The time in milliseconds after which the background thread checks whether it was closed. */
+   private static final long OFFER_TIMEOUT = 100;
+   /** The marker for the end of the file, which is never the same as a batch of lines. */
+   private static final List<String> END_OF_FILE = new ArrayList<>(0);
+
+   private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+      Thread thread = new Thread(runnable, THREAD_NAME);
+      thread.setDaemon(true);
+      return thread;
+   });
+
+   private final BlockingQueue<List<String>> batches;
+   private final Future<?> backgroundReader;
+   private volatile boolean isClosed = false;
+   private volatile IOException failure;
+
+   private List<String> currentBatch = new ArrayList<>(0);
+   private int positionInBatch = 0;
+   private boolean isEndOfFileReached = false;
+   private String unreadLine;
+
+
+   /**
+    * Creates a new reader, which starts to read the given stream immediately on a background
+    * thread. The stream is closed by the background thread as soon as it has been read completely
+    * or this reader is closed.
+    *
+    * @param stream the UTF-8 encoded stream to read
+    * @param capacity the maximum number of batches of lines which are buffered, or
+    *           {@link Integer#MAX_VALUE} to buffer the whole stream
+    */
+   ConcurrentLineReader(InputStream stream, int capacity) {
+      batches = new LinkedBlockingQueue<>(capacity);
+      backgroundReader = EXECUTOR.submit(() -> readLines(stream));
+   }
+
+
+   /**
+    * Reads all lines of the given stream into the queue. Is executed on the background thread.
+    *
+    * @param stream the stream to read
+    */
+   private void readLines(InputStream stream) {
+      try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+         List<String> batch = new ArrayList<>(BATCH_SIZE);
+         String line;
+         while (!isClosed && (line = reader.readLine()) != null) {
+            int commentPosition = line.indexOf(ADatasetParser.COMMENT_MARKER.charAt(0));
+            if (commentPosition >= 0) {
+               line = line.substring(0, commentPosition);
+            }
+            line = line.trim();
+            if (!line.isEmpty()) {
+               batch.add(line);
+               if (batch.size() == BATCH_SIZE) {
+                  handOver(batch);
+                  batch = new ArrayList<>(BATCH_SIZE);
+               }
+            }
+         }
+         if (!batch.isEmpty()) {
+            handOver(batch);
+         }
+      } catch (IOException e) {
+         failure = e;
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         failure = new InterruptedIOException(e.getMessage());
+      } finally {
+         try {
+            handOver(END_OF_FILE);
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+         }
+      }
+   }
+
+
+   /**
+    * Puts the given batch into the queue, waiting until there is space in the queue or this reader
+    * has been closed.
+    *
+    * @param batch the batch of lines to hand over
+    * @throws InterruptedException if the background thread is interrupted while waiting
+    */
+   private void handOver(List<String> batch) throws InterruptedException {
+      while (!isClosed && !batches.offer(batch, OFFER_TIMEOUT, TimeUnit.MILLISECONDS)) {
+         // wait until the consumer has taken a batch
+      }
+   }
+
+
+   /**
+    * Returns the next line with content, from which comments have been removed and which has been
+    * trimmed.
+    *
+    * @return the next line, or {@code null} if the end of the file has been reached
+    * @throws IOException if the file could not be read
+    */
+   public String readLine() throws IOException {
+      if (unreadLine != null) {
+         String line = unreadLine;
+         unreadLine = null;
+         return line;
+      }
+      while (positionInBatch == currentBatch.size()) {
+         if (isEndOfFileReached) {
+            return null;
+         }
+         try {
+            currentBatch = batches.take();
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+         }
+         positionInBatch = 0;
+         if (currentBatch == END_OF_FILE) {
+            isEndOfFileReached = true;
+            if (failure != null) {
+               throw failure;
+            }
+         }
+      }
+      return currentBatch.get(positionInBatch++);
+   }
+
+
+   /**
+    * Pushes the given line back, so that it is returned by the next call of {@link #readLine()}.
+    * Only a single line can be pushed back.
+    *
+    * @param line the line to push back
+    */
+   public void unreadLine(String line) {
+      unreadLine = line;
+   }
+
+
+   /**
+    * Stops the background thread, if it is still reading, and waits until it has closed the
+    * stream.
+    */
+   @Override
+   public void close() throws IOException {
+      isClosed = true;
+      batches.clear();
+      try {
+         backgroundReader.get();
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new InterruptedIOException(e.getMessage());
+      } catch (ExecutionException e) {
+         throw new IOException(e.getCause());
+      }
+   }
+
+}
@@ -18,6 +18,12 @@ import de.upb.cs.is.jpl.api.util.StringUtils;
  */
 public class DatasetFile {
 
+   /**
+    * The extension of the binary caches, which are stored next to the dataset files and are no
+    * dataset files themselves.
+    */
+   public static final String BINARY_CACHE_EXTENSION = ".jplbin";
+
    private File file;
    private String comment = StringUtils.EMPTY_STRING;
    private List<Integer> itemFeatures;
@@ -0,0 +1,169 @@
+package de.upb.cs.is.jpl.api.dataset;
+
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * The selection of a subset of the features of a dataset file, which is applied by the
+ * {@link ADatasetParser} while tokenizing the feature vectors. The selected features are the
+ * positions of the features in the feature vectors of the dataset file, starting at 0, regardless of
+ * the numbers of their declarations. The projected feature vector contains the values of the
+ * selected features in the order of the selection.
+ *
+ * @author agent
+ *
+ */
+final class FeatureProjection {
+
+   private static final String ERROR_NEGATIVE_FEATURE = "The selected feature %d is negative.";
+
+   private final int[] selectedFeatures;
+   private final int[] sortedFeatures;
+   private final int[] targetPositions;
+
+
+   /**
+    * Creates a projection onto the given features.
+    *
+    * @param selectedFeatures the selected features in the order of the projected vector
+    */
+   private FeatureProjection(int[] selectedFeatures) {
+      this.selectedFeatures = selectedFeatures;
+      Integer[] order = new Integer[selectedFeatures.length];
+      for (int i = 0; i < order.length; i++) {
+         order[i] = i;
+      }
+      Arrays.sort(order, (first, second) -> Integer.compare(selectedFeatures[first], selectedFeatures[second]));
+      sortedFeatures = new int[order.length];
+      targetPositions = new int[order.length];
+      for (int i = 0; i < order.length; i++) {
+         sortedFeatures[i] = selectedFeatures[order[i]];
+         targetPositions[i] = order[i];
+      }
+   }
+
+
+   /**
+    * Returns the projection onto the given selected features, or {@code null} if no features are
+    * selected, i.e. all features should be parsed.
+    *
+    * @param selectedFeatures the selected features, may be {@code null}
+    * @return the projection onto the selected features, or {@code null} if none are selected
+    * @throws IllegalArgumentException if a selected feature is negative
+    */
+   static FeatureProjection of(List<Integer> selectedFeatures) {
+      if (selectedFeatures == null || selectedFeatures.isEmpty()) {
+         return null;
+      }
+      int[] features = new int[selectedFeatures.size()];
+      for (int i = 0; i < features.length; i++) {
+         features[i] = selectedFeatures.get(i);
+         if (features[i] < 0) {
+            throw new IllegalArgumentException(String.format(ERROR_NEGATIVE_FEATURE, features[i]));
+         }
+      }
+      return new FeatureProjection(features);
+   }
+
+
+   /**
+    * Returns the dimension of the projected feature vectors, which is the number of selected
+    * features.
+    *
+    * @return the dimension of the projected feature vectors
+    */
+   int getDimension() {
+      return selectedFeatures.length;
+   }
+
+
+   /**
+    * Returns the selected feature with the highest position in the dataset file. The tokenization
+    * of a dense feature vector can stop behind this feature.
+    *
+    * @return the last selected feature
+    */
+   int getLastFeature() {
+      return sortedFeatures[sortedFeatures.length - 1];
+   }
+
+
+   /**
+    * Returns the number of selections, which are ordered by the position of their feature in the
+    * dataset file. A feature which is selected several times counts once per selection.
+    *
+    * @return the number of selections
+    */
+   int getNumberOfSelections() {
+      return sortedFeatures.length;
+   }
+
+
+   /**
+    * Returns the feature of the selection with the given number, where the selections are ordered
+    * by the position of their feature in the dataset file.
+    *
+    * @param selection the number of the selection
+    * @return the position of the selected feature in the dataset file
+    */
+   int getFeatureOfSelection(int selection) {
+      return sortedFeatures[selection];
+   }
+
+
+   /**
+    * Returns the position of the value of the selection with the given number in the projected
+    * feature vector.
+    *
+    * @param selection the number of the selection
+    * @return the position in the projected feature vector
+    */
+   int getTargetPositionOfSelection(int selection) {
+      return targetPositions[selection];
+   }
+
+
+   /**
+    * Returns the number of the first selection of the given feature.
+    *
+    * @param feature the position of the feature in the dataset file
+    * @return the number of the first selection of the feature, or -1 if it is not selected
+    */
+   int getFirstSelectionOf(int feature) {
+      int selection = Arrays.binarySearch(sortedFeatures, feature);
+      if (selection < 0) {
+         return -1;
+      }
+      while (selection > 0 && sortedFeatures[selection - 1] == feature) {
+         selection--;
+      }
+      return selection;
+   }
+
+
+   /**
+    * Returns the given declarations of the features, e.g. their names or allowed values, for the
+    * projected feature vector. The declaration of a selected feature is stored at its position in
+    * the projected feature vector.
+    *
+    * @param <V> the type of the declarations
+    * @param declarations the declarations by the numbers of the features in the dataset file
+    * @param featureNumbers the numbers of the declared features in the order of their positions in
+    *           the feature vectors
+    * @return the declarations by the positions of the features in the projected vector
+    */
+   <V> Map<Integer, V> project(Map<Integer, V> declarations, List<Integer> featureNumbers) {
+      Map<Integer, V> projectedDeclarations = new HashMap<>();
+      for (int i = 0; i < selectedFeatures.length; i++) {
+         if (selectedFeatures[i] < featureNumbers.size() && declarations.containsKey(featureNumbers.get(selectedFeatures[i]))) {
+            projectedDeclarations.put(i, declarations.get(featureNumbers.get(selectedFeatures[i])));
+         }
+      }
+      return projectedDeclarations;
+   }
+
+}
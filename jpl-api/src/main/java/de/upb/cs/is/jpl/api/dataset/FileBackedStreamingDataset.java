@@ -0,0 +1,265 @@
+package de.upb.cs.is.jpl.api.dataset;
+
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import de.upb.cs.is.jpl.api.dataset.defaultdataset.relative.Ranking;
+import de.upb.cs.is.jpl.api.exception.JplRuntimeException;
+import de.upb.cs.is.jpl.api.exception.dataset.ParsingFailedException;
+import de.upb.cs.is.jpl.api.math.linearalgebra.IVector;
+
+
+/**
+ * A streaming dataset which reads its instances from a dataset file on every traversal, instead of
+ * holding them in memory. The file is parsed in chunks of at most {@link #getChunkSize()} lines of
+ * the rating file by a new parser for each traversal, hence only a single chunk of instances is held
+ * in memory at a time. The parser has to support streaming, which is the case for the
+ * {@code InstanceRankingDatasetParser} and the {@code CollaborativeFilteringParser}.
+ *
+ * @author agent
+ *
+ * @param <CONTEXT> the type of the context feature vector used in the implementation of this class
+ *           to store the context feature vector
+ * @param <ITEM> the type of the item feature vector used in the implementation of this class to
+ *           store the item feature vector
+ * @param <RATING> the type of the rating used in the implementation of this class to store the
+ *           rating. Suggested values are {@link IVector} for absolute ratings and {@link Ranking}
+ *           for relative ratings.
+ */
+public class FileBackedStreamingDataset<CONTEXT, ITEM, RATING> implements IStreamingDataset<CONTEXT, ITEM, RATING> {
+
+   private static final String ERROR_CHUNK_SIZE_NOT_POSITIVE = "The chunk size must be positive, but is %d.";
+
+   private final DatasetFile datasetFile;
+   private final Supplier<? extends ADatasetParser> parserSupplier;
+   private final int chunkSize;
+
+   private volatile long numberOfInstances = Long.MAX_VALUE;
+
+
+   /**
+    * Creates a streaming dataset for the given dataset file, which is parsed in chunks of
+    * {@link IStreamingDataset#DEFAULT_CHUNK_SIZE} lines of the rating file.
+    *
+    * @param datasetFile the dataset file to read the instances from
+    * @param parserSupplier the supplier for a new parser of the dataset file for each traversal
+    */
+   public FileBackedStreamingDataset(DatasetFile datasetFile, Supplier<? extends ADatasetParser> parserSupplier) {
+      this(datasetFile, parserSupplier, DEFAULT_CHUNK_SIZE);
+   }
+
+
+   /**
+    * Creates a streaming dataset for the given dataset file, which is parsed in chunks of the given
+    * number of lines of the rating file.
+    *
+    * @param datasetFile the dataset file to read the instances from
+    * @param parserSupplier the supplier for a new parser of the dataset file for each traversal
+    * @param chunkSize the maximum number of lines of the rating file per chunk
+    * @throws IllegalArgumentException if the chunk size is not positive
+    */
+   public FileBackedStreamingDataset(DatasetFile datasetFile, Supplier<? extends ADatasetParser> parserSupplier, int chunkSize) {
+      if (chunkSize <= 0) {
+         throw new IllegalArgumentException(String.format(ERROR_CHUNK_SIZE_NOT_POSITIVE, chunkSize));
+      }
+      this.datasetFile = datasetFile;
+      this.parserSupplier = parserSupplier;
+      this.chunkSize = chunkSize;
+   }
+
+
+   /**
+    * {@inheritDoc}
+    *
+    * The dataset file stays open until the spliterator has been traversed completely. Use
+    * {@link #stream()} to be able to close it earlier.
+    */
+   @Override
+   public Spliterator<IInstance<CONTEXT, ITEM, RATING>> spliterator() {
+      return createSpliterator(new InstanceIterator(openChunks()));
+   }
+
+
+   /**
+    * {@inheritDoc}
+    *
+    * Closing the stream closes the dataset file, even if the stream has not been traversed
+    * completely.
+    */
+   @Override
+   public Stream<IInstance<CONTEXT, ITEM, RATING>> stream() {
+      InstanceIterator instanceIterator = new InstanceIterator(openChunks());
+      return StreamSupport.stream(createSpliterator(instanceIterator), false).onClose(instanceIterator.chunks::close);
+   }
+
+
+   /**
+    * {@inheritDoc}
+    *
+    * The dataset file stays open until the iterator has been exhausted or closed.
+    *
+    * @throws JplRuntimeException if the dataset file cannot be opened, or a chunk cannot be parsed
+    */
+   @Override
+   public IChunkIterator<CONTEXT, ITEM, RATING> chunkIterator() {
+      return openChunks();
+   }
+
+
+   @Override
+   public long estimateNumberOfInstances() {
+      return numberOfInstances;
+   }
+
+
+   @Override
+   public int getChunkSize() {
+      return chunkSize;
+   }
+
+
+   /**
+    * Returns the dataset file from which the instances are read.
+    *
+    * @return the dataset file of this dataset
+    */
+   public DatasetFile getDatasetFile() {
+      return datasetFile;
+   }
+
+
+   /**
+    * Opens the dataset file with a new parser and starts a new traversal of its chunks.
+    *
+    * @return the iterator over the chunks of the dataset file
+    * @throws JplRuntimeException if the dataset file cannot be opened
+    */
+   private CountingChunkIterator openChunks() {
+      try {
+         return new CountingChunkIterator(parserSupplier.get().parseInChunks(datasetFile, chunkSize));
+      } catch (ParsingFailedException e) {
+         throw new JplRuntimeException(e.getMessage(), e);
+      }
+   }
+
+
+   /**
+    * Creates a spliterator over the given instances, which is sized if the number of instances is
+    * already known.
+    *
+    * @param instanceIterator the iterator over the instances
+    * @return the spliterator over the instances
+    */
+   private Spliterator<IInstance<CONTEXT, ITEM, RATING>> createSpliterator(InstanceIterator instanceIterator) {
+      int characteristics = Spliterator.ORDERED | Spliterator.NONNULL;
+      long knownNumberOfInstances = numberOfInstances;
+      if (knownNumberOfInstances == Long.MAX_VALUE) {
+         return Spliterators.spliteratorUnknownSize(instanceIterator, characteristics);
+      }
+      return Spliterators.spliterator(instanceIterator, knownNumberOfInstances, characteristics);
+   }
+
+
+   /**
+    * An iterator over the chunks of a single traversal, which counts the instances in order to
+    * know the number of instances after the first complete traversal.
+    *
+    * @author agent
+    *
+    */
+   private class CountingChunkIterator implements IChunkIterator<CONTEXT, ITEM, RATING> {
+
+      private final ADatasetParser.DatasetChunkIterator chunks;
+      private long numberOfInstancesRead = 0;
+
+
+      /**
+       * Creates a new counting iterator over the given chunks.
+       *
+       * @param chunks the chunks of the dataset file
+       */
+      private CountingChunkIterator(ADatasetParser.DatasetChunkIterator chunks) {
+         this.chunks = chunks;
+      }
+
+
+      @Override
+      public boolean hasNext() {
+         boolean hasNext = chunks.hasNext();
+         if (!hasNext) {
+            numberOfInstances = numberOfInstancesRead;
+         }
+         return hasNext;
+      }
+
+
+      @SuppressWarnings("unchecked")
+      @Override
+      public IDataset<CONTEXT, ITEM, RATING> next() {
+         IDataset<CONTEXT, ITEM, RATING> chunk = (IDataset<CONTEXT, ITEM, RATING>) chunks.next();
+         numberOfInstancesRead += chunk.getNumberOfInstances();
+         return chunk;
+      }
+
+
+      @Override
+      public void close() {
+         chunks.close();
+      }
+
+   }
+
+
+   /**
+    * An iterator over the instances of the chunks of a single traversal.
+    *
+    * @author agent
+    *
+    */
+   private class InstanceIterator implements Iterator<IInstance<CONTEXT, ITEM, RATING>> {
+
+      private final CountingChunkIterator chunks;
+      private IDataset<CONTEXT, ITEM, RATING> currentChunk;
+      private int positionInChunk = 0;
+
+
+      /**
+       * Creates a new iterator over the instances of the given chunks.
+       *
+       * @param chunks the chunks of the dataset file
+       */
+      private InstanceIterator(CountingChunkIterator chunks) {
+         this.chunks = chunks;
+      }
+
+
+      @Override
+      public boolean hasNext() {
+         while (currentChunk == null || positionInChunk == currentChunk.getNumberOfInstances()) {
+            if (!chunks.hasNext()) {
+               return false;
+            }
+            currentChunk = chunks.next();
+            positionInChunk = 0;
+         }
+         return true;
+      }
+
+
+      @Override
+      public IInstance<CONTEXT, ITEM, RATING> next() {
+         if (!hasNext()) {
+            throw new NoSuchElementException();
+         }
+         return currentChunk.getInstance(positionInChunk++);
+      }
+
+   }
+
+}
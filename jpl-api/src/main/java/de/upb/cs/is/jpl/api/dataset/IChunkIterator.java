@@ -0,0 +1,29 @@
+package de.upb.cs.is.jpl.api.dataset;
+
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+
+/**
+ * An iterator over the chunks of an {@link IStreamingDataset}, which may hold resources like an
+ * open dataset file until it has been exhausted. It should therefore be closed as soon as it is
+ * not used anymore, for example in a try-with-resources statement, so that these resources are
+ * also released if a traversal is stopped early.
+ *
+ * @author agent
+ *
+ * @param <CONTEXT> the type of the context feature vector of the chunks
+ * @param <ITEM> the type of the item feature vector of the chunks
+ * @param <RATING> the type of the rating of the chunks
+ */
+public interface IChunkIterator<CONTEXT, ITEM, RATING> extends Iterator<IDataset<CONTEXT, ITEM, RATING>>, Closeable {
+
+   /**
+    * Stops the traversal and releases all resources held by this iterator. Closing an iterator
+    * more than once has no effect.
+    */
+   @Override
+   public void close();
+
+}
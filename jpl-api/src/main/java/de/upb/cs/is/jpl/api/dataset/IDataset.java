@@ -9,7 +9,8 @@ import de.upb.cs.is.jpl.api.math.linearalgebra.IVector;
 
 /**
  * An interface for a dataset which is intended to be used in combination with the interface
- * {@link IInstance} .
+ * {@link IInstance} . In contrast to an {@link IStreamingDataset}, all instances are held in memory
+ * and can be accessed at random positions.
  * 
  * @author Sebastian Osterbrink
  * @author Tanja Tornede
@@ -23,7 +24,7 @@ import de.upb.cs.is.jpl.api.math.linearalgebra.IVector;
  *           for relative ratings.
  * 
  */
-public interface IDataset<CONTEXT, ITEM, RATING> {
+public interface IDataset<CONTEXT, ITEM, RATING> extends IStreamingDataset<CONTEXT, ITEM, RATING> {
 
    /**
     * Adds a range [to, from[ of instances of the source dataset to the target dataset
@@ -81,6 +82,33 @@ public interface IDataset<CONTEXT, ITEM, RATING> {
    public IDataset<CONTEXT, ITEM, RATING> getPartOfDataset(final int from, final int to);
 
 
+   /**
+    * Returns the positions of the instances which are returned by
+    * {@link #getShuffledInstance(int)} for the positions in the given range of the shuffled
+    * dataset.
+    *
+    * @param from the first position of the shuffled dataset
+    * @param to the first position of the shuffled dataset which is not included
+    * @return the positions of the instances in this dataset
+    */
+   public int[] getShuffledPositions(final int from, final int to);
+
+
+   /**
+    * Returns a read-only view of this dataset, which contains the instances at the given positions
+    * in the given order. The view contains the same instances as an empty part of this dataset to
+    * which these instances are added one after another, but it only stores the positions instead of
+    * copying the instances. Datasets which do not support views return such a copy instead.
+    *
+    * @param positions the positions of the instances of the view, which must not be changed
+    *           afterwards
+    * @return a view of the instances at the given positions
+    * @throws InvalidInstanceException if a copy has to be created and an instance cannot be added
+    *            to it
+    */
+   public IDataset<CONTEXT, ITEM, RATING> getView(final int[] positions) throws InvalidInstanceException;
+
+
    /**
     * Returns the number of instances of this dataset.
     * 
@@ -0,0 +1,86 @@
+package de.upb.cs.is.jpl.api.dataset;
+
+
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import de.upb.cs.is.jpl.api.dataset.defaultdataset.relative.Ranking;
+import de.upb.cs.is.jpl.api.math.linearalgebra.IVector;
+
+
+/**
+ * An interface for a dataset whose instances can only be traversed in order, but not accessed at
+ * random positions. The instances can be visited one after another by a {@link Spliterator}, or in
+ * chunks whose size is bounded by {@link #getChunkSize()}, which are themselves in-memory
+ * {@link IDataset}s. Hence an implementation does not need to hold all instances in memory at the
+ * same time, which allows single-pass learning algorithms to train on datasets larger than the
+ * heap.
+ *
+ * @author agent
+ *
+ * @param <CONTEXT> the type of the context feature vector used in the implementation of this class
+ *           to store the context feature vector
+ * @param <ITEM> the type of the item feature vector used in the implementation of this class to
+ *           store the item feature vector
+ * @param <RATING> the type of the rating used in the implementation of this class to store the
+ *           rating. Suggested values are {@link IVector} for absolute ratings and {@link Ranking}
+ *           for relative ratings.
+ */
+public interface IStreamingDataset<CONTEXT, ITEM, RATING> {
+
+   /** The number of instances per chunk, if no chunk size is configured. */
+   public static final int DEFAULT_CHUNK_SIZE = 1024;
+
+
+   /**
+    * Returns a {@link Spliterator} over the instances of this dataset in their original order.
+    * Every call starts a new traversal from the first instance.
+    *
+    * @return a spliterator over the instances of this dataset
+    */
+   public Spliterator<IInstance<CONTEXT, ITEM, RATING>> spliterator();
+
+
+   /**
+    * Returns a sequential {@link Stream} of the instances of this dataset in their original order.
+    * Streams of datasets which read their instances from a file should be closed after use.
+    *
+    * @return a stream of the instances of this dataset
+    */
+   public default Stream<IInstance<CONTEXT, ITEM, RATING>> stream() {
+      return StreamSupport.stream(spliterator(), false);
+   }
+
+
+   /**
+    * Returns an iterator over consecutive chunks of this dataset in their original order. Every
+    * chunk is an in-memory dataset whose size is bounded by {@link #getChunkSize()}, which is only
+    * referenced by the iterator until the next chunk is requested. Every call starts a new
+    * traversal from the first instance, which should be closed after use.
+    *
+    * @return an iterator over the chunks of this dataset
+    */
+   public IChunkIterator<CONTEXT, ITEM, RATING> chunkIterator();
+
+
+   /**
+    * Returns an estimate of the number of instances of this dataset. The estimate is exact if the
+    * dataset is held in memory or has been traversed completely once, and {@link Long#MAX_VALUE}
+    * if the number is unknown.
+    *
+    * @return the estimated number of instances
+    */
+   public long estimateNumberOfInstances();
+
+
+   /**
+    * Returns the maximum number of instances of a chunk returned by {@link #chunkIterator()}. For
+    * datasets which are read from a file, this is the maximum number of lines of the rating file
+    * per chunk, which may contain several instances each.
+    *
+    * @return the maximum size of a chunk
+    */
+   public int getChunkSize();
+
+}
@@ -0,0 +1,340 @@
+package de.upb.cs.is.jpl.api.dataset;
+
+
+/**
+ * A tokenizer which splits a line of a dataset file into tokens separated by whitespace, i.e.
+ * blanks and tabs, by scanning the characters of the line directly. In contrast to splitting the
+ * line with a regular expression, no intermediate strings are created, as the tokens can be parsed
+ * in place by {@link #getTokenAsDouble()} and {@link #getTokenAsInt()}.
+ *
+ * The static methods {@link #parseDouble(CharSequence, int, int)} and
+ * {@link #parseInt(CharSequence, int, int)} parse numbers from a range of characters. The double
+ * parser handles the common case of numbers with at most 18 significant digits and a small
+ * exponent without creating any objects, and falls back to {@link Double#parseDouble(String)}
+ * otherwise. In either case, the result is exactly the same as the one of
+ * {@link Double#parseDouble(String)}.
+ *
+ * @author agent
+ *
+ */
+public class LineTokenizer {
+
+   private static final String ERROR_EMPTY_NUMBER = "Empty string";
+
+   /** The maximum number of significant digits which can be accumulated in a long. */
+   private static final int MAXIMUM_NUMBER_OF_DIGITS = 18;
+   /** The largest mantissa which can be represented exactly as a double. */
+   private static final long MAXIMUM_EXACT_MANTISSA = 1L << 53;
+   /** The maximum number of digits of an exponent, which is parsed without the fallback. */
+   private static final int MAXIMUM_EXPONENT_DIGITS = 4;
+   /** The powers of ten, which can be represented exactly as a double. */
+   private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14,
+         1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+   private String line;
+   private int position;
+   private int end;
+   private int tokenStart;
+   private int tokenEnd;
+
+
+   /**
+    * Creates a new tokenizer for the given line.
+    *
+    * @param line the line to split into tokens
+    */
+   public LineTokenizer(String line) {
+      reset(line, 0, line.length());
+   }
+
+
+   /**
+    * Creates a new tokenizer for the given range of the given line.
+    *
+    * @param line the line to split into tokens
+    * @param start the first position of the range, inclusive
+    * @param end the last position of the range, exclusive
+    */
+   public LineTokenizer(String line, int start, int end) {
+      reset(line, start, end);
+   }
+
+
+   /**
+    * Resets this tokenizer to the given range of the given line, so that it can be reused for
+    * several lines.
+    *
+    * @param line the line to split into tokens
+    * @param start the first position of the range, inclusive
+    * @param end the last position of the range, exclusive
+    * @return this tokenizer
+    */
+   public LineTokenizer reset(String line, int start, int end) {
+      this.line = line;
+      this.position = start;
+      this.end = end;
+      this.tokenStart = start;
+      this.tokenEnd = start;
+      return this;
+   }
+
+
+   /**
+    * Advances to the next token of the line.
+    *
+    * @return {@code true} if there is a next token, {@code false} if the end of the line has been
+    *         reached
+    */
+   public boolean nextToken() {
+      while (position < end && isWhitespace(line.charAt(position))) {
+         position++;
+      }
+      if (position >= end) {
+         tokenStart = end;
+         tokenEnd = end;
+         return false;
+      }
+      tokenStart = position;
+      while (position < end && !isWhitespace(line.charAt(position))) {
+         position++;
+      }
+      tokenEnd = position;
+      return true;
+   }
+
+
+   /**
+    * Returns the number of tokens which have not been read yet, without advancing this tokenizer.
+    *
+    * @return the number of remaining tokens
+    */
+   public int countRemainingTokens() {
+      int numberOfTokens = 0;
+      boolean isInToken = false;
+      for (int i = position; i < end; i++) {
+         boolean isWhitespace = isWhitespace(line.charAt(i));
+         if (!isWhitespace && !isInToken) {
+            numberOfTokens++;
+         }
+         isInToken = !isWhitespace;
+      }
+      return numberOfTokens;
+   }
+
+
+   /**
+    * Returns the position of the first character of the current token in the line.
+    *
+    * @return the start of the current token, inclusive
+    */
+   public int getTokenStart() {
+      return tokenStart;
+   }
+
+
+   /**
+    * Returns the position after the last character of the current token in the line.
+    *
+    * @return the end of the current token, exclusive
+    */
+   public int getTokenEnd() {
+      return tokenEnd;
+   }
+
+
+   /**
+    * Returns the current token as a string.
+    *
+    * @return the current token
+    */
+   public String getToken() {
+      return line.substring(tokenStart, tokenEnd);
+   }
+
+
+   /**
+    * Returns the position of the first occurrence of the given character in the current token, or
+    * {@code -1} if the token does not contain the character. The position refers to the line, not to
+    * the token.
+    *
+    * @param character the character to search for
+    * @return the position of the character in the line or {@code -1}
+    */
+   public int indexOfInToken(char character) {
+      for (int i = tokenStart; i < tokenEnd; i++) {
+         if (line.charAt(i) == character) {
+            return i;
+         }
+      }
+      return -1;
+   }
+
+
+   /**
+    * Parses the current token as a double value.
+    *
+    * @return the value of the current token
+    * @throws NumberFormatException if the token is not a valid double value
+    */
+   public double getTokenAsDouble() {
+      return parseDouble(line, tokenStart, tokenEnd);
+   }
+
+
+   /**
+    * Parses the current token as an integer value.
+    *
+    * @return the value of the current token
+    * @throws NumberFormatException if the token is not a valid integer value
+    */
+   public int getTokenAsInt() {
+      return parseInt(line, tokenStart, tokenEnd);
+   }
+
+
+   /**
+    * Returns whether the given character separates two tokens.
+    *
+    * @param character the character to check
+    * @return {@code true} if the character is a blank or a tab
+    */
+   private static boolean isWhitespace(char character) {
+      return character == ' ' || character == '\t';
+   }
+
+
+   /**
+    * Parses the given range of characters as a double value, with exactly the same result as
+    * {@link Double#parseDouble(String)}.
+    *
+    * @param characters the characters containing the value
+    * @param start the first position of the value, inclusive
+    * @param end the last position of the value, exclusive
+    * @return the parsed value
+    * @throws NumberFormatException if the range does not contain a valid double value
+    */
+   public static double parseDouble(CharSequence characters, int start, int end) {
+      if (start >= end) {
+         throw new NumberFormatException(ERROR_EMPTY_NUMBER);
+      }
+      int i = start;
+      boolean isNegative = false;
+      char character = characters.charAt(i);
+      if (character == '-' || character == '+') {
+         isNegative = character == '-';
+         i++;
+      }
+
+      long mantissa = 0;
+      int numberOfDigits = 0;
+      int exponent = 0;
+      boolean hasDigits = false;
+      while (i < end && (character = characters.charAt(i)) >= '0' && character <= '9') {
+         mantissa = 10 * mantissa + (character - '0');
+         if (numberOfDigits > 0 || character != '0') {
+            numberOfDigits++;
+         }
+         hasDigits = true;
+         i++;
+      }
+      if (i < end && characters.charAt(i) == '.') {
+         i++;
+         while (i < end && (character = characters.charAt(i)) >= '0' && character <= '9') {
+            mantissa = 10 * mantissa + (character - '0');
+            if (numberOfDigits > 0 || character != '0') {
+               numberOfDigits++;
+            }
+            exponent--;
+            hasDigits = true;
+            i++;
+         }
+      }
+      if (hasDigits && i < end && ((character = characters.charAt(i)) == 'e' || character == 'E')) {
+         i++;
+         boolean isExponentNegative = false;
+         if (i < end && ((character = characters.charAt(i)) == '-' || character == '+')) {
+            isExponentNegative = character == '-';
+            i++;
+         }
+         int exponentStart = i;
+         int explicitExponent = 0;
+         while (i < end && (character = characters.charAt(i)) >= '0' && character <= '9') {
+            explicitExponent = 10 * explicitExponent + (character - '0');
+            i++;
+         }
+         if (i == exponentStart || i - exponentStart > MAXIMUM_EXPONENT_DIGITS) {
+            return parseDoubleWithFallback(characters, start, end);
+         }
+         exponent += isExponentNegative ? -explicitExponent : explicitExponent;
+      }
+
+      if (!hasDigits || i != end || numberOfDigits > MAXIMUM_NUMBER_OF_DIGITS) {
+         return parseDoubleWithFallback(characters, start, end);
+      }
+      if (mantissa == 0) {
+         return isNegative ? -0.0 : 0.0;
+      }
+      if (mantissa > MAXIMUM_EXACT_MANTISSA || exponent < -(POWERS_OF_TEN.length - 1) || exponent > POWERS_OF_TEN.length - 1) {
+         return parseDoubleWithFallback(characters, start, end);
+      }
+      // both operands are exact, hence the single rounding of the operation yields the correctly
+      // rounded result
+      double value = exponent >= 0 ? mantissa * POWERS_OF_TEN[exponent] : mantissa / POWERS_OF_TEN[-exponent];
+      return isNegative ? -value : value;
+   }
+
+
+   /**
+    * Parses the given range of characters by {@link Double#parseDouble(String)}.
+    *
+    * @param characters the characters containing the value
+    * @param start the first position of the value, inclusive
+    * @param end the last position of the value, exclusive
+    * @return the parsed value
+    * @throws NumberFormatException if the range does not contain a valid double value
+    */
+   private static double parseDoubleWithFallback(CharSequence characters, int start, int end) {
+      return Double.parseDouble(characters.subSequence(start, end).toString());
+   }
+
+
+   /**
+    * Parses the given range of characters as a decimal integer value, with exactly the same result
+    * as {@link Integer#parseInt(String)}.
+    *
+    * @param characters the characters containing the value
+    * @param start the first position of the value, inclusive
+    * @param end the last position of the value, exclusive
+    * @return the parsed value
+    * @throws NumberFormatException if the range does not contain a valid integer value
+    */
+   public static int parseInt(CharSequence characters, int start, int end) {
+      if (start >= end) {
+         throw new NumberFormatException(ERROR_EMPTY_NUMBER);
+      }
+      int i = start;
+      boolean isNegative = false;
+      char character = characters.charAt(i);
+      if (character == '-' || character == '+') {
+         isNegative = character == '-';
+         i++;
+      }
+      if (i == end) {
+         return Integer.parseInt(characters.subSequence(start, end).toString());
+      }
+      long value = 0;
+      for (; i < end; i++) {
+         character = characters.charAt(i);
+         if (character < '0' || character > '9' || value > Integer.MAX_VALUE) {
+            return Integer.parseInt(characters.subSequence(start, end).toString());
+         }
+         value = 10 * value + (character - '0');
+      }
+      value = isNegative ? -value : value;
+      if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+         return Integer.parseInt(characters.subSequence(start, end).toString());
+      }
+      return (int) value;
+   }
+
+}
@@ -0,0 +1,452 @@
+package de.upb.cs.is.jpl.api.dataset;
+
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.upb.cs.is.jpl.api.exception.JplRuntimeException;
+import de.upb.cs.is.jpl.api.exception.dataset.ParsingFailedException;
+
+
+/**
+ * Parses many dataset files concurrently on a bounded pool of threads into the
+ * {@link ParsedDatasetCache}, so that the subsequent training and evaluation, which request the
+ * datasets one after another, find them in the cache instead of parsing them strictly in sequence.
+ *
+ * Every dataset file is parsed once by every distinct class of parser. A failure to parse a dataset
+ * file does not abort the ingestion of the other files, but is collected in the {@link Report}
+ * together with the parse time of every dataset file. Before parsing, the maximum number of entries
+ * of the cache is raised to the number of ingested datasets, so that the cache does not evict
+ * ingested datasets before they are requested. No further parses are started as soon as the used
+ * heap exceeds the memory budget while no other parse is running. While other parses are running, a
+ * new parse only starts once the used heap is within the budget again. The remaining dataset files
+ * are parsed on demand later.
+ *
+ * @author agent
+ *
+ */
+public class ParallelDatasetIngestion {
+
+   private static final Logger logger = LoggerFactory.getLogger(ParallelDatasetIngestion.class);
+
+   private static final String THREAD_NAME = "jpl-dataset-ingestion";
+
+   private static final String ERROR_INVALID_NUMBER_OF_THREADS = "The number of threads has to be positive, but is %d.";
+   private static final String ERROR_INVALID_MEMORY_BUDGET = "The memory budget has to be positive, but is %d bytes.";
+   private static final String ERROR_INGESTION_FAILED = "The ingestion of the dataset files failed.";
+   private static final String DEBUG_PARSED_DATASET = "Parsed %s with %s in %d ms.";
+   private static final String WARNING_PARSING_FAILED = "Parsing %s with %s failed: %s";
+   private static final String INFO_INGESTION_STOPPED = "Stopped the ingestion of dataset files after %d parses, %d dataset files are parsed on demand.";
+   private static final String SUMMARY = "Ingested %d datasets in %d ms (%d ms of parsing), %d failed, %d dataset files skipped.";
+
+   private final int numberOfThreads;
+   private final long memoryBudget;
+
+
+   /**
+    * Creates a new ingestion, which uses one thread per available processor and the memory budget
+    * of the {@link ParsedDatasetCache}.
+    */
+   public ParallelDatasetIngestion() {
+      this(getDefaultNumberOfThreads(), getDefaultMemoryBudget());
+   }
+
+
+   /**
+    * Creates a new ingestion with the given number of threads and memory budget.
+    *
+    * @param numberOfThreads the maximum number of dataset files which are parsed at the same time
+    * @param memoryBudget the number of bytes of used heap, above which no further parses are started
+    * @throws IllegalArgumentException if the number of threads or the memory budget is not positive
+    */
+   public ParallelDatasetIngestion(int numberOfThreads, long memoryBudget) {
+      if (numberOfThreads <= 0) {
+         throw new IllegalArgumentException(String.format(ERROR_INVALID_NUMBER_OF_THREADS, numberOfThreads));
+      }
+      if (memoryBudget <= 0) {
+         throw new IllegalArgumentException(String.format(ERROR_INVALID_MEMORY_BUDGET, memoryBudget));
+      }
+      this.numberOfThreads = numberOfThreads;
+      this.memoryBudget = memoryBudget;
+   }
+
+
+   /**
+    * Returns the number of threads used by default, which is the number of available processors.
+    *
+    * @return the default number of threads
+    */
+   public static int getDefaultNumberOfThreads() {
+      return Runtime.getRuntime().availableProcessors();
+   }
+
+
+   /**
+    * Returns the memory budget used by default, which is the part of the maximum heap the
+    * {@link ParsedDatasetCache} may fill before it evicts datasets.
+    *
+    * @return the default memory budget in bytes
+    */
+   public static long getDefaultMemoryBudget() {
+      return (long) (ParsedDatasetCache.getParsedDatasetCache().getMaximumMemoryFraction() * Runtime.getRuntime().maxMemory());
+   }
+
+
+   /**
+    * Parses the given dataset files with the parsers of the given suppliers into the
+    * {@link ParsedDatasetCache}. Each supplier has to return a new parser on every call, or
+    * {@code null} if it has no parser. Suppliers returning parsers of the same class are only used
+    * once per dataset file.
+    *
+    * @param datasetFiles the dataset files to parse
+    * @param parserSuppliers the suppliers of the parsers for the dataset files
+    * @return the report of the ingestion
+    */
+   public Report ingest(List<DatasetFile> datasetFiles, List<? extends Supplier<? extends IDatasetParser>> parserSuppliers) {
+      List<Supplier<? extends IDatasetParser>> distinctParserSuppliers = getSuppliersOfDistinctParsers(parserSuppliers);
+      List<ParseResult> parseResults = new ArrayList<>();
+      Set<DatasetFile> skippedDatasetFiles = new LinkedHashSet<>();
+      long startTime = System.nanoTime();
+      ParsedDatasetCache.getParsedDatasetCache().ensureMaximumNumberOfEntries(datasetFiles.size() * distinctParserSuppliers.size());
+
+      ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads, runnable -> {
+         Thread thread = new Thread(runnable, THREAD_NAME);
+         thread.setDaemon(true);
+         return thread;
+      });
+      try {
+         CompletionService<ParseResult> completionService = new ExecutorCompletionService<>(executor);
+         int numberOfRunningParses = 0;
+         int numberOfStartedParses = 0;
+         for (DatasetFile datasetFile : datasetFiles) {
+            for (Supplier<? extends IDatasetParser> parserSupplier : distinctParserSuppliers) {
+               while (numberOfRunningParses >= numberOfThreads || (numberOfRunningParses > 0 && isMemoryBudgetExceeded())) {
+                  parseResults.add(takeParseResult(completionService));
+                  numberOfRunningParses--;
+               }
+               if (!skippedDatasetFiles.isEmpty() || isMemoryBudgetExceeded()) {
+                  skippedDatasetFiles.add(datasetFile);
+                  continue;
+               }
+               completionService.submit(() -> parse(parserSupplier.get(), datasetFile));
+               numberOfRunningParses++;
+               numberOfStartedParses++;
+            }
+         }
+         while (numberOfRunningParses > 0) {
+            parseResults.add(takeParseResult(completionService));
+            numberOfRunningParses--;
+         }
+         if (!skippedDatasetFiles.isEmpty()) {
+            logger.info(String.format(INFO_INGESTION_STOPPED, numberOfStartedParses, skippedDatasetFiles.size()));
+         }
+      } finally {
+         executor.shutdownNow();
+      }
+      long ingestionTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+      Report report = new Report(parseResults, new ArrayList<>(skippedDatasetFiles), ingestionTime);
+      logger.info(report.getSummary());
+      return report;
+   }
+
+
+   /**
+    * Returns the suppliers among the given ones, which supply parsers of different classes.
+    *
+    * @param parserSuppliers the suppliers of parsers
+    * @return the suppliers of distinct classes of parsers
+    */
+   private List<Supplier<? extends IDatasetParser>> getSuppliersOfDistinctParsers(
+         List<? extends Supplier<? extends IDatasetParser>> parserSuppliers) {
+      List<Supplier<? extends IDatasetParser>> distinctParserSuppliers = new ArrayList<>();
+      Set<Class<?>> parserClasses = new HashSet<>();
+      for (Supplier<? extends IDatasetParser> parserSupplier : parserSuppliers) {
+         IDatasetParser datasetParser = parserSupplier.get();
+         if (datasetParser != null && parserClasses.add(datasetParser.getClass())) {
+            distinctParserSuppliers.add(parserSupplier);
+         }
+      }
+      return distinctParserSuppliers;
+   }
+
+
+   /**
+    * Parses the given dataset file with the given parser into the {@link ParsedDatasetCache} and
+    * measures the time needed. Is executed on a thread of the pool.
+    *
+    * @param datasetParser the parser to use
+    * @param datasetFile the dataset file to parse
+    * @return the result of parsing the dataset file
+    */
+   private ParseResult parse(IDatasetParser datasetParser, DatasetFile datasetFile) {
+      long startTime = System.nanoTime();
+      Exception failure = null;
+      try {
+         ParsedDatasetCache.getParsedDatasetCache().parse(datasetParser, datasetFile);
+      } catch (ParsingFailedException | RuntimeException e) {
+         failure = e;
+      }
+      ParseResult parseResult = new ParseResult(datasetFile, datasetParser.getClass(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime), failure);
+      if (failure == null) {
+         logger.debug(String.format(DEBUG_PARSED_DATASET, datasetFile.getFile(), datasetParser.getClass().getSimpleName(),
+               parseResult.getParseTime()));
+      } else {
+         logger.warn(String.format(WARNING_PARSING_FAILED, datasetFile.getFile(), datasetParser.getClass().getSimpleName(),
+               failure.getMessage()), failure);
+      }
+      return parseResult;
+   }
+
+
+   /**
+    * Waits for the next parse to complete and returns its result.
+    *
+    * @param completionService the completion service running the parses
+    * @return the result of the completed parse
+    * @throws JplRuntimeException if the thread is interrupted, or the parse failed with an error
+    */
+   private ParseResult takeParseResult(CompletionService<ParseResult> completionService) {
+      try {
+         return completionService.take().get();
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new JplRuntimeException(ERROR_INGESTION_FAILED, e);
+      } catch (ExecutionException e) {
+         throw new JplRuntimeException(ERROR_INGESTION_FAILED, e.getCause());
+      }
+   }
+
+
+   /**
+    * Checks whether the used heap exceeds the memory budget.
+    *
+    * @return {@code true} if the used heap exceeds the memory budget
+    */
+   private boolean isMemoryBudgetExceeded() {
+      Runtime runtime = Runtime.getRuntime();
+      return runtime.totalMemory() - runtime.freeMemory() > memoryBudget;
+   }
+
+
+   /**
+    * Returns the maximum number of dataset files which are parsed at the same time.
+    *
+    * @return the number of threads
+    */
+   public int getNumberOfThreads() {
+      return numberOfThreads;
+   }
+
+
+   /**
+    * Returns the number of bytes of used heap, above which no further parses are started.
+    *
+    * @return the memory budget in bytes
+    */
+   public long getMemoryBudget() {
+      return memoryBudget;
+   }
+
+
+   /**
+    * The result of parsing a single dataset file with a single parser.
+    *
+    * @author agent
+    *
+    */
+   public static class ParseResult {
+
+      private final DatasetFile datasetFile;
+      private final Class<?> parserClass;
+      private final long parseTime;
+      private final Exception failure;
+
+
+      /**
+       * Creates a new result of parsing the given dataset file.
+       *
+       * @param datasetFile the parsed dataset file
+       * @param parserClass the class of the parser
+       * @param parseTime the time needed to parse the dataset file in milliseconds
+       * @param failure the exception thrown while parsing, or {@code null} if parsing succeeded
+       */
+      private ParseResult(DatasetFile datasetFile, Class<?> parserClass, long parseTime, Exception failure) {
+         this.datasetFile = datasetFile;
+         this.parserClass = parserClass;
+         this.parseTime = parseTime;
+         this.failure = failure;
+      }
+
+
+      /**
+       * Returns the parsed dataset file.
+       *
+       * @return the dataset file
+       */
+      public DatasetFile getDatasetFile() {
+         return datasetFile;
+      }
+
+
+      /**
+       * Returns the class of the parser which parsed the dataset file.
+       *
+       * @return the class of the parser
+       */
+      public Class<?> getParserClass() {
+         return parserClass;
+      }
+
+
+      /**
+       * Returns the time needed to parse the dataset file, or to find it in the
+       * {@link ParsedDatasetCache}, in milliseconds.
+       *
+       * @return the parse time in milliseconds
+       */
+      public long getParseTime() {
+         return parseTime;
+      }
+
+
+      /**
+       * Returns whether the dataset file has been parsed successfully.
+       *
+       * @return {@code true} if parsing succeeded
+       */
+      public boolean isSuccessful() {
+         return failure == null;
+      }
+
+
+      /**
+       * Returns the exception thrown while parsing the dataset file.
+       *
+       * @return the exception, or {@code null} if parsing succeeded
+       */
+      public Exception getFailure() {
+         return failure;
+      }
+
+   }
+
+
+   /**
+    * The report of an ingestion, which contains the results of all parses in the order of their
+    * completion and the dataset files which have been skipped.
+    *
+    * @author agent
+    *
+    */
+   public static class Report {
+
+      private final List<ParseResult> parseResults;
+      private final List<DatasetFile> skippedDatasetFiles;
+      private final long ingestionTime;
+
+
+      /**
+       * Creates a new report.
+       *
+       * @param parseResults the results of all parses
+       * @param skippedDatasetFiles the dataset files which have not been parsed by all parsers
+       * @param ingestionTime the time needed for the whole ingestion in milliseconds
+       */
+      private Report(List<ParseResult> parseResults, List<DatasetFile> skippedDatasetFiles, long ingestionTime) {
+         this.parseResults = Collections.unmodifiableList(parseResults);
+         this.skippedDatasetFiles = Collections.unmodifiableList(skippedDatasetFiles);
+         this.ingestionTime = ingestionTime;
+      }
+
+
+      /**
+       * Returns the results of all parses in the order of their completion.
+       *
+       * @return the results of all parses
+       */
+      public List<ParseResult> getParseResults() {
+         return parseResults;
+      }
+
+
+      /**
+       * Returns the results of the parses which failed.
+       *
+       * @return the failed parses
+       */
+      public List<ParseResult> getFailures() {
+         List<ParseResult> failures = new ArrayList<>();
+         for (ParseResult parseResult : parseResults) {
+            if (!parseResult.isSuccessful()) {
+               failures.add(parseResult);
+            }
+         }
+         return failures;
+      }
+
+
+      /**
+       * Returns the dataset files which have not been parsed by all parsers, because the memory
+       * budget was exhausted. They are parsed on demand.
+       *
+       * @return the skipped dataset files
+       */
+      public List<DatasetFile> getSkippedDatasetFiles() {
+         return skippedDatasetFiles;
+      }
+
+
+      /**
+       * Returns the time needed for the whole ingestion in milliseconds.
+       *
+       * @return the ingestion time in milliseconds
+       */
+      public long getIngestionTime() {
+         return ingestionTime;
+      }
+
+
+      /**
+       * Returns the sum of the parse times of all parses in milliseconds, which exceeds the
+       * ingestion time if dataset files have been parsed concurrently.
+       *
+       * @return the total parse time in milliseconds
+       */
+      public long getTotalParseTime() {
+         long totalParseTime = 0;
+         for (ParseResult parseResult : parseResults) {
+            totalParseTime += parseResult.getParseTime();
+         }
+         return totalParseTime;
+      }
+
+
+      /**
+       * Returns a human-readable summary of this report.
+       *
+       * @return the summary of this report
+       */
+      public String getSummary() {
+         int numberOfFailures = getFailures().size();
+         return String.format(SUMMARY, parseResults.size() - numberOfFailures, ingestionTime, getTotalParseTime(), numberOfFailures,
+               skippedDatasetFiles.size());
+      }
+
+   }
+
+}
@@ -0,0 +1,399 @@
+package de.upb.cs.is.jpl.api.dataset;
+
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.upb.cs.is.jpl.api.exception.dataset.ParsingFailedException;
+
+
+/**
+ * A process-wide cache of parsed datasets, which is shared by the training and the evaluation of
+ * learning algorithms. Without it, every combination of a learning algorithm and a dataset file
+ * parses the dataset file again, although all algorithms using the same kind of parser obtain the
+ * same dataset.
+ *
+ * The datasets are identified by the absolute path, the size and the modification time of the
+ * dataset file, by the selected context and item features and by the class of the parser. The
+ * cache holds at most {@link #getMaximumNumberOfEntries()} datasets and evicts the least recently
+ * used datasets as soon as the used heap exceeds {@link #getMaximumMemoryFraction()} of the maximum
+ * heap. The dataset which has just been parsed and datasets which are still being parsed are never
+ * evicted.
+ *
+ * Each entry holds a future of the dataset, which is inserted before the dataset file is parsed.
+ * Concurrent requests for a dataset which is still being parsed wait for this parse, instead of
+ * parsing the dataset file again. If the parse fails, the entry is removed and all waiting requests
+ * fail with the same exception.
+ *
+ * The cached datasets are handed out to all callers, hence they are marked as shared by
+ * {@link ADataset#markAsShared()} and all operations changing their content fail. Operations which
+ * only rearrange the access to the instances, such as {@link IDataset#shuffle()}, are allowed, as
+ * long as every user shuffles the dataset before relying on the order. Datasets which are going to
+ * be modified have to be parsed directly by an {@link IDatasetParser}, and
+ * {@link ADatasetParser#parseAppendingTo(IDataset, DatasetFile)} rejects cached datasets.
+ *
+ * @author agent
+ *
+ */
+public class ParsedDatasetCache {
+
+   private static final Logger logger = LoggerFactory.getLogger(ParsedDatasetCache.class);
+
+   private static final String DEBUG_EVICTED_DATASET = "Evicted the parsed dataset %s from the cache.";
+   private static final String ERROR_INTERRUPTED = "Interrupted while waiting for the dataset %s to be parsed.";
+   private static final String ERROR_INVALID_MAXIMUM_NUMBER_OF_ENTRIES = "The maximum number of entries has to be positive, but is %d.";
+   private static final String ERROR_INVALID_MEMORY_FRACTION = "The maximum memory fraction has to be in (0, 1], but is %f.";
+   private static final String STATISTICS = "Parsed dataset cache: %d hits, %d misses, %d evictions, %d cached datasets.";
+
+   private static final int DEFAULT_MAXIMUM_NUMBER_OF_ENTRIES = 16;
+   private static final double DEFAULT_MAXIMUM_MEMORY_FRACTION = 0.5;
+
+   private static ParsedDatasetCache parsedDatasetCache;
+
+   private final Map<Key, CompletableFuture<IDataset<?, ?, ?>>> datasets = new LinkedHashMap<>(DEFAULT_MAXIMUM_NUMBER_OF_ENTRIES, 0.75f,
+         true);
+   private final AtomicLong numberOfHits = new AtomicLong();
+   private final AtomicLong numberOfMisses = new AtomicLong();
+   private final AtomicLong numberOfEvictions = new AtomicLong();
+
+   private int maximumNumberOfEntries = DEFAULT_MAXIMUM_NUMBER_OF_ENTRIES;
+   private double maximumMemoryFraction = DEFAULT_MAXIMUM_MEMORY_FRACTION;
+
+
+   /**
+    * Hides the constructor of the singleton.
+    */
+   private ParsedDatasetCache() {
+      // hides the constructor of the singleton
+   }
+
+
+   /**
+    * Returns the singleton instance of the {@link ParsedDatasetCache}.
+    *
+    * @return the singleton instance of the {@link ParsedDatasetCache}
+    */
+   public static synchronized ParsedDatasetCache getParsedDatasetCache() {
+      if (parsedDatasetCache == null) {
+         parsedDatasetCache = new ParsedDatasetCache();
+      }
+      return parsedDatasetCache;
+   }
+
+
+   /**
+    * Returns the dataset of the given file as parsed by the given parser. If the dataset is not
+    * cached yet, it is parsed and cached. If it is being parsed by another thread, this method
+    * waits for that parse. The returned dataset is shared and cannot be changed.
+    *
+    * @param datasetParser the parser which parses the dataset file if necessary
+    * @param datasetFile the dataset file to parse
+    * @return the parsed dataset
+    * @throws ParsingFailedException if the dataset file could not be parsed
+    */
+   public IDataset<?, ?, ?> parse(IDatasetParser datasetParser, DatasetFile datasetFile) throws ParsingFailedException {
+      Key key = new Key(datasetParser, datasetFile);
+      CompletableFuture<IDataset<?, ?, ?>> future;
+      CompletableFuture<IDataset<?, ?, ?>> cachedFuture;
+      synchronized (this) {
+         cachedFuture = datasets.get(key);
+         if (cachedFuture == null) {
+            future = new CompletableFuture<>();
+            datasets.put(key, future);
+         } else {
+            future = cachedFuture;
+         }
+      }
+      if (cachedFuture != null) {
+         numberOfHits.incrementAndGet();
+         return waitFor(cachedFuture, key);
+      }
+      numberOfMisses.incrementAndGet();
+      IDataset<?, ?, ?> dataset;
+      try {
+         dataset = datasetParser.parse(datasetFile);
+      } catch (ParsingFailedException | RuntimeException e) {
+         synchronized (this) {
+            datasets.remove(key, future);
+         }
+         future.completeExceptionally(e);
+         throw e;
+      }
+      if (dataset instanceof ADataset) {
+         ((ADataset<?, ?, ?>) dataset).markAsShared();
+      }
+      future.complete(dataset);
+      synchronized (this) {
+         evict(key);
+      }
+      return dataset;
+   }
+
+
+   /**
+    * Waits until the dataset of the given future has been parsed and returns it.
+    *
+    * @param future the future of the dataset
+    * @param key the key of the dataset
+    * @return the parsed dataset
+    * @throws ParsingFailedException if the dataset file could not be parsed
+    */
+   private IDataset<?, ?, ?> waitFor(CompletableFuture<IDataset<?, ?, ?>> future, Key key) throws ParsingFailedException {
+      try {
+         return future.get();
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new ParsingFailedException(String.format(ERROR_INTERRUPTED, key.path), e);
+      } catch (ExecutionException e) {
+         if (e.getCause() instanceof ParsingFailedException) {
+            throw (ParsingFailedException) e.getCause();
+         }
+         throw (RuntimeException) e.getCause();
+      }
+   }
+
+
+   /**
+    * Evicts the least recently used datasets, until the number of datasets and the used memory are
+    * within the bounds of this cache, or only the dataset with the given key and datasets which are
+    * still being parsed are left.
+    *
+    * @param keptKey the key of the dataset which must not be evicted
+    */
+   private void evict(Key keptKey) {
+      Iterator<Map.Entry<Key, CompletableFuture<IDataset<?, ?, ?>>>> iterator = datasets.entrySet().iterator();
+      while (iterator.hasNext() && (datasets.size() > maximumNumberOfEntries || isMemoryExceeded())) {
+         Map.Entry<Key, CompletableFuture<IDataset<?, ?, ?>>> entry = iterator.next();
+         if (!entry.getKey().equals(keptKey) && entry.getValue().isDone()) {
+            iterator.remove();
+            numberOfEvictions.incrementAndGet();
+            logger.debug(String.format(DEBUG_EVICTED_DATASET, entry.getKey().path));
+         }
+      }
+   }
+
+
+   /**
+    * Checks whether the used heap exceeds the maximum fraction of the maximum heap.
+    *
+    * @return {@code true} if the used heap exceeds the maximum fraction
+    */
+   private boolean isMemoryExceeded() {
+      Runtime runtime = Runtime.getRuntime();
+      long usedMemory = runtime.totalMemory() - runtime.freeMemory();
+      return usedMemory > maximumMemoryFraction * runtime.maxMemory();
+   }
+
+
+   /**
+    * Checks whether the given dataset instance is currently held by this cache, and thus shared
+    * with other callers.
+    *
+    * @param dataset the dataset to check
+    * @return {@code true} if the given instance is cached
+    */
+   public synchronized boolean contains(IDataset<?, ?, ?> dataset) {
+      for (CompletableFuture<IDataset<?, ?, ?>> future : datasets.values()) {
+         if (future.isDone() && !future.isCompletedExceptionally() && future.getNow(null) == dataset) {
+            return true;
+         }
+      }
+      return false;
+   }
+
+
+   /**
+    * Removes all datasets from this cache. The counters are not reset.
+    */
+   public synchronized void clear() {
+      datasets.clear();
+   }
+
+
+   /**
+    * Returns the number of datasets which are currently cached.
+    *
+    * @return the number of cached datasets
+    */
+   public synchronized int size() {
+      return datasets.size();
+   }
+
+
+   /**
+    * Returns the number of requests which have been answered from the cache.
+    *
+    * @return the number of hits
+    */
+   public long getNumberOfHits() {
+      return numberOfHits.get();
+   }
+
+
+   /**
+    * Returns the number of requests which required the dataset file to be parsed.
+    *
+    * @return the number of misses
+    */
+   public long getNumberOfMisses() {
+      return numberOfMisses.get();
+   }
+
+
+   /**
+    * Returns the number of datasets which have been evicted from the cache.
+    *
+    * @return the number of evictions
+    */
+   public long getNumberOfEvictions() {
+      return numberOfEvictions.get();
+   }
+
+
+   /**
+    * Returns the maximum number of datasets held by this cache.
+    *
+    * @return the maximum number of entries
+    */
+   public synchronized int getMaximumNumberOfEntries() {
+      return maximumNumberOfEntries;
+   }
+
+
+   /**
+    * Sets the maximum number of datasets held by this cache and evicts datasets if necessary.
+    *
+    * @param maximumNumberOfEntries the maximum number of entries, which has to be positive
+    */
+   public synchronized void setMaximumNumberOfEntries(int maximumNumberOfEntries) {
+      if (maximumNumberOfEntries <= 0) {
+         throw new IllegalArgumentException(String.format(ERROR_INVALID_MAXIMUM_NUMBER_OF_ENTRIES, maximumNumberOfEntries));
+      }
+      this.maximumNumberOfEntries = maximumNumberOfEntries;
+      evict(null);
+   }
+
+
+   /**
+    * Raises the maximum number of datasets held by this cache to the given number, if it is lower.
+    * A lower number is ignored, so that this cache never shrinks and evicts datasets.
+    *
+    * @param numberOfEntries the number of entries this cache should be able to hold
+    */
+   public synchronized void ensureMaximumNumberOfEntries(int numberOfEntries) {
+      if (numberOfEntries > maximumNumberOfEntries) {
+         maximumNumberOfEntries = numberOfEntries;
+      }
+   }
+
+
+   /**
+    * Returns the fraction of the maximum heap, above which datasets are evicted from this cache.
+    *
+    * @return the maximum memory fraction
+    */
+   public synchronized double getMaximumMemoryFraction() {
+      return maximumMemoryFraction;
+   }
+
+
+   /**
+    * Sets the fraction of the maximum heap, above which datasets are evicted from this cache.
+    *
+    * @param maximumMemoryFraction the maximum memory fraction, which has to be in (0, 1]
+    */
+   public synchronized void setMaximumMemoryFraction(double maximumMemoryFraction) {
+      if (!(maximumMemoryFraction > 0 && maximumMemoryFraction <= 1)) {
+         throw new IllegalArgumentException(String.format(ERROR_INVALID_MEMORY_FRACTION, maximumMemoryFraction));
+      }
+      this.maximumMemoryFraction = maximumMemoryFraction;
+   }
+
+
+   /**
+    * Returns a human-readable summary of the counters of this cache.
+    *
+    * @return the statistics of this cache
+    */
+   public String getStatistics() {
+      return String.format(STATISTICS, getNumberOfHits(), getNumberOfMisses(), getNumberOfEvictions(), size());
+   }
+
+
+   /**
+    * The key of a parsed dataset, which consists of everything that influences the result of
+    * parsing a dataset file.
+    *
+    * @author agent
+    *
+    */
+   private static class Key {
+
+      private final String path;
+      private final long size;
+      private final long modificationTime;
+      private final List<Integer> contextFeatures;
+      private final List<Integer> itemFeatures;
+      private final Class<?> parserClass;
+
+
+      /**
+       * Creates the key of the dataset of the given file parsed by the given parser.
+       *
+       * @param datasetParser the parser
+       * @param datasetFile the dataset file
+       */
+      private Key(IDatasetParser datasetParser, DatasetFile datasetFile) {
+         this.path = datasetFile.getFile().getAbsolutePath();
+         this.size = datasetFile.getFile().length();
+         this.modificationTime = datasetFile.getFile().lastModified();
+         this.contextFeatures = copy(datasetFile.getContextFeatures());
+         this.itemFeatures = copy(datasetFile.getItemFeatures());
+         this.parserClass = datasetParser.getClass();
+      }
+
+
+      /**
+       * Returns an unmodifiable copy of the given feature selection.
+       *
+       * @param features the feature selection, which may be {@code null}
+       * @return the copy, or {@code null} if no features are selected
+       */
+      private static List<Integer> copy(List<Integer> features) {
+         return features == null ? null : Collections.unmodifiableList(new ArrayList<>(features));
+      }
+
+
+      @Override
+      public int hashCode() {
+         return Objects.hash(path, size, modificationTime, contextFeatures, itemFeatures, parserClass);
+      }
+
+
+      @Override
+      public boolean equals(Object obj) {
+         if (this == obj) {
+            return true;
+         }
+         if (obj == null || getClass() != obj.getClass()) {
+            return false;
+         }
+         Key other = (Key) obj;
+         return path.equals(other.path) && size == other.size && modificationTime == other.modificationTime
+               && Objects.equals(contextFeatures, other.contextFeatures) && Objects.equals(itemFeatures, other.itemFeatures)
+               && parserClass.equals(other.parserClass);
+      }
+   }
+
+}
@@ -0,0 +1,281 @@
+package de.upb.cs.is.jpl.api.dataset;
+
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+
+/**
+ * A reservoir which draws a uniform sample of a bounded number of lines out of the lines of a rating
+ * file, which are offered one after another while the file is streamed. Only the lines of the sample
+ * and their positions in the file are held.
+ *
+ * If the reservoir is stratified, each stratum, e.g. each rating value or label, is sampled by a
+ * reservoir of its own, and the sample is composed of the strata in proportion to their number of
+ * lines. As these proportions must be known before the lines are sampled, the lines are counted by
+ * {@link #countLine(String)} in a first pass over the rating file, which only holds the number of
+ * lines of each stratum. Then the reservoir of each stratum holds at most its share of the sample,
+ * so that at most the sample size of lines is held in total. The number of strata is limited to
+ * {@link #MAXIMUM_NUMBER_OF_STRATA}.
+ *
+ * @author agent
+ *
+ */
+final class RatingLineReservoir {
+
+   /**
+    * The maximum number of strata of a stratified reservoir.
+    */
+   static final int MAXIMUM_NUMBER_OF_STRATA = 1000;
+
+   private static final String ERROR_SAMPLE_SIZE_NOT_POSITIVE = "The sample size must be positive, but is %d.";
+   private static final String ERROR_TOO_MANY_STRATA = "The lines cannot be stratified into more than %d strata.";
+   private static final String ERROR_STRATUM_NOT_COUNTED = "The stratum %s has not been counted before sampling.";
+   private static final String ERROR_COUNTING_AFTER_SAMPLING = "The lines cannot be counted after they have been offered for sampling.";
+   private static final String UNSTRATIFIED = "";
+
+   private final int sampleSize;
+   private final Random random;
+
+   private final Map<String, Stratum> strata = new LinkedHashMap<>();
+   private long numberOfCountedLines = 0;
+   private long numberOfLines = 0;
+
+
+   /**
+    * Creates a new reservoir for a sample of the given size.
+    *
+    * @param sampleSize the maximum number of lines of the sample
+    * @param random the random number generator used for sampling
+    * @throws IllegalArgumentException if the sample size is not positive
+    */
+   RatingLineReservoir(int sampleSize, Random random) {
+      if (sampleSize <= 0) {
+         throw new IllegalArgumentException(String.format(ERROR_SAMPLE_SIZE_NOT_POSITIVE, sampleSize));
+      }
+      this.sampleSize = sampleSize;
+      this.random = random;
+   }
+
+
+   /**
+    * Counts the next line of the rating file for a stratified sample, before any line is offered.
+    * Each line, which is offered afterwards, must have been counted in the same stratum.
+    *
+    * @param stratum the stratum of the line, or {@code null} if the line is not stratified
+    * @throws IllegalArgumentException if the line would start a stratum beyond the
+    *           {@link #MAXIMUM_NUMBER_OF_STRATA}
+    * @throws IllegalStateException if lines have already been offered
+    */
+   void countLine(String stratum) {
+      if (numberOfLines > 0) {
+         throw new IllegalStateException(ERROR_COUNTING_AFTER_SAMPLING);
+      }
+      String key = stratum == null ? UNSTRATIFIED : stratum;
+      Stratum reservoir = strata.get(key);
+      if (reservoir == null) {
+         if (strata.size() >= MAXIMUM_NUMBER_OF_STRATA) {
+            throw new IllegalArgumentException(String.format(ERROR_TOO_MANY_STRATA, MAXIMUM_NUMBER_OF_STRATA));
+         }
+         reservoir = new Stratum();
+         strata.put(key, reservoir);
+      }
+      reservoir.numberOfCountedLines++;
+      numberOfCountedLines++;
+   }
+
+
+   /**
+    * Offers the next line of the rating file to the reservoir.
+    *
+    * @param stratum the stratum of the line, or {@code null} if the sample is not stratified
+    * @param ratingLine the line of the rating file
+    * @throws IllegalArgumentException if the lines have been counted, but not the stratum of this
+    *           line
+    */
+   void offer(String stratum, String ratingLine) {
+      if (numberOfLines == 0) {
+         assignCapacities();
+      }
+      String key = stratum == null ? UNSTRATIFIED : stratum;
+      Stratum reservoir = strata.get(key);
+      if (reservoir == null) {
+         if (numberOfCountedLines > 0) {
+            throw new IllegalArgumentException(String.format(ERROR_STRATUM_NOT_COUNTED, key));
+         }
+         reservoir = new Stratum();
+         reservoir.capacity = sampleSize;
+         strata.put(key, reservoir);
+      }
+      reservoir.offer(new SampledLine(numberOfLines++, ratingLine));
+   }
+
+
+   /**
+    * Returns the number of lines currently held by the reservoirs of all strata.
+    *
+    * @return the number of held lines
+    */
+   int getNumberOfHeldLines() {
+      int numberOfHeldLines = 0;
+      for (Stratum stratum : strata.values()) {
+         numberOfHeldLines += stratum.lines.size();
+      }
+      return numberOfHeldLines;
+   }
+
+
+   /**
+    * Returns the sampled lines in the order in which they were offered. A stratified sample
+    * contains from each stratum a number of lines proportional to the number of lines counted for
+    * it, where the remaining lines are assigned by the largest remainders.
+    *
+    * @return the sampled lines
+    */
+   List<SampledLine> getSample() {
+      List<SampledLine> sample = new ArrayList<>();
+      for (Stratum stratum : strata.values()) {
+         sample.addAll(stratum.lines);
+      }
+      Collections.sort(sample, Comparator.comparingLong(SampledLine::getLineNumber));
+      return sample;
+   }
+
+
+   /**
+    * Assigns each counted stratum its share of the sample as the capacity of its reservoir. If all
+    * counted lines fit into the sample, each stratum keeps all of its lines.
+    */
+   private void assignCapacities() {
+      if (numberOfCountedLines <= sampleSize) {
+         for (Stratum stratum : strata.values()) {
+            stratum.capacity = (int) stratum.numberOfCountedLines;
+         }
+      } else {
+         int[] quotas = computeQuotas();
+         int stratumNumber = 0;
+         for (Stratum stratum : strata.values()) {
+            stratum.capacity = quotas[stratumNumber++];
+         }
+      }
+   }
+
+
+   /**
+    * Computes the number of lines of each stratum in the sample by the largest remainder method.
+    *
+    * @return the numbers of lines of the strata in the order of their first occurrence
+    */
+   private int[] computeQuotas() {
+      int[] quotas = new int[strata.size()];
+      double[] remainders = new double[strata.size()];
+      int numberOfAssignedLines = 0;
+      int stratumNumber = 0;
+      for (Stratum stratum : strata.values()) {
+         double exactQuota = (double) sampleSize * stratum.numberOfCountedLines / numberOfCountedLines;
+         quotas[stratumNumber] = (int) exactQuota;
+         remainders[stratumNumber] = exactQuota - quotas[stratumNumber];
+         numberOfAssignedLines += quotas[stratumNumber];
+         stratumNumber++;
+      }
+      for (; numberOfAssignedLines < sampleSize; numberOfAssignedLines++) {
+         int largestRemainder = 0;
+         for (int i = 1; i < remainders.length; i++) {
+            if (remainders[i] > remainders[largestRemainder]) {
+               largestRemainder = i;
+            }
+         }
+         quotas[largestRemainder]++;
+         remainders[largestRemainder] = -1;
+      }
+      return quotas;
+   }
+
+
+   /**
+    * The reservoir of a single stratum, which keeps a uniform sample of at most its capacity of its
+    * lines by Algorithm R.
+    *
+    * @author agent
+    *
+    */
+   private final class Stratum {
+
+      private final List<SampledLine> lines = new ArrayList<>();
+      private long numberOfCountedLines = 0;
+      private long numberOfLines = 0;
+      private int capacity;
+
+
+      /**
+       * Offers the given line to this stratum, which replaces a random line of the reservoir with
+       * the probability of the capacity divided by the number of lines offered so far.
+       *
+       * @param line the line to offer
+       */
+      private void offer(SampledLine line) {
+         numberOfLines++;
+         if (lines.size() < capacity) {
+            lines.add(line);
+         } else {
+            long position = (long) (random.nextDouble() * numberOfLines);
+            if (position < capacity) {
+               lines.set((int) position, line);
+            }
+         }
+      }
+
+   }
+
+
+   /**
+    * A line of the rating file in the sample, together with its position in the file.
+    *
+    * @author agent
+    *
+    */
+   static final class SampledLine {
+
+      private final long lineNumber;
+      private final String ratingLine;
+
+
+      /**
+       * Creates a new sampled line.
+       *
+       * @param lineNumber the number of the line among the lines of the rating file
+       * @param ratingLine the line of the rating file
+       */
+      private SampledLine(long lineNumber, String ratingLine) {
+         this.lineNumber = lineNumber;
+         this.ratingLine = ratingLine;
+      }
+
+
+      /**
+       * Returns the number of the line among the lines of the rating file.
+       *
+       * @return the number of the line
+       */
+      long getLineNumber() {
+         return lineNumber;
+      }
+
+
+      /**
+       * Returns the line of the rating file.
+       *
+       * @return the line of the rating file
+       */
+      String getRatingLine() {
+         return ratingLine;
+      }
+
+   }
+
+}
@@ -2,9 +2,8 @@ package de.upb.cs.is.jpl.api.dataset.collaborativefiltering;
 
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,17 +11,33 @@ import org.slf4j.LoggerFactory;
 import de.upb.cs.is.jpl.api.dataset.ADataset;
 import de.upb.cs.is.jpl.api.dataset.IInstance;
 import de.upb.cs.is.jpl.api.exception.dataset.InvalidInstanceException;
+import de.upb.cs.is.jpl.api.math.linearalgebra.CompressedSparseDoubleMatrix;
 import de.upb.cs.is.jpl.api.math.linearalgebra.IVector;
-import de.upb.cs.is.jpl.api.math.linearalgebra.SparseDoubleMatrix;
 import de.upb.cs.is.jpl.api.math.linearalgebra.SparseDoubleVector;
+import de.upb.cs.is.jpl.api.math.linearalgebra.SparseDoubleVectorView;
 import de.upb.cs.is.jpl.api.util.CollectionsUtils;
 import de.upb.cs.is.jpl.api.util.StringUtils;
-import de.upb.cs.is.jpl.api.util.datastructure.Pair;
 
 
 /**
  * A Dataset especially optimized for Collaborative Filtering matrix operations.
  * 
+ * The ratings are stored in a {@link CompressedSparseDoubleMatrix}, which allows to iterate the
+ * ratings of a context or an item in time linear in their number. The instances are stored in the
+ * order in which they were added as the positions of their ratings in this matrix, in a single
+ * primitive array. The item id of an instance is found in constant time, and its context id by a
+ * binary search over the rows of the matrix. As the matrix is immutable, new ratings are collected
+ * in primitive arrays of context ids, item ids and ratings first, and the matrix is updated on the
+ * first access to the instances or ratings after they have been changed. The parser builds the
+ * matrix once at the end of parsing. Ratings appended
+ * afterwards are merged into the existing matrix, so that appending a few ratings to a large
+ * dataset does not sort all of its ratings again. If a rating of the same context and item is set
+ * several times, all of these instances have the rating set last.
+ * 
+ * A view created by {@link #getView(int[])} only stores the positions of its instances in the
+ * dataset it was created from. Its rating matrix is built on the first access to it, and its own
+ * instances are only created if ratings are set in the view.
+ * 
  * @author Sebastian Osterbrink
  *
  */
@@ -37,11 +52,45 @@ public class CollaborativeFilteringDataset extends ADataset<IVector, IVector, Do
 
    private static final String INVALID_INSTANCE = "Invalid Instance. Cannot add this instance to the dataset.";
 
-   protected SparseDoubleMatrix matrix;
+   private static final String ERROR_RATING_OUT_OF_BOUNDS = "Cannot set the rating of context %d and item %d in a dataset of %d contexts and %d items.";
+
+   private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+   protected int numberOfContexts;
+   protected int numberOfItems;
 
    protected double threshold = 0.01;
 
-   protected Map<Integer, Pair<Integer, Integer>> instancePositions;
+   protected int numberOfInstances;
+
+   /** The context ids of the instances which have been added since the last update of the matrix. */
+   private int[] pendingContextIds;
+   /** The item ids of the instances which have been added since the last update of the matrix. */
+   private int[] pendingItemIds;
+   /** The ratings of the instances which have been added since the last update of the matrix. */
+   private double[] pendingRatings;
+   /** The number of instances whose ratings are contained in the compressed ratings. */
+   private int numberOfCompressedInstances;
+   /** The rating matrix of the last update, which may be outdated. */
+   private CompressedSparseDoubleMatrix compressedRatings;
+   /** The current rating matrix, which is {@code null} if it has to be updated. */
+   private volatile CompressedSparseDoubleMatrix ratingMatrix;
+   /**
+    * The positions of the ratings of the compressed instances among the non-zero entries, or
+    * {@code -(k + 1)} for an instance with the k-th zero rating, which is not stored in the matrix.
+    */
+   private int[] instanceRatingPositions;
+   /** The number of zero ratings of compressed instances. */
+   private int numberOfZeroRatings;
+   /** The context ids of the zero ratings of compressed instances. */
+   private int[] zeroRatingContextIds;
+   /** The item ids of the zero ratings of compressed instances. */
+   private int[] zeroRatingItemIds;
+
+   /** The dataset this dataset is a view on, or {@code null} if it stores its instances itself. */
+   private CollaborativeFilteringDataset viewedDataset;
+   /** The positions of the instances of this view in the viewed dataset. */
+   private int[] viewedPositions;
 
    protected List<String> contextFeatures;
    protected List<IVector> contextVectors;
@@ -58,7 +107,7 @@ public class CollaborativeFilteringDataset extends ADataset<IVector, IVector, Do
     */
    public CollaborativeFilteringDataset(int numRows, int numCols) {
       this();
-      matrix = new SparseDoubleMatrix(numRows, numCols);
+      setDimensions(numRows, numCols);
    }
 
 
@@ -70,25 +119,104 @@ public class CollaborativeFilteringDataset extends ADataset<IVector, IVector, Do
       contextFeatures = new ArrayList<>();
       itemFeatures = new ArrayList<>();
       itemVectors = new ArrayList<>();
-      matrix = null;
-      instancePositions = new HashMap<>();
+      pendingContextIds = new int[DEFAULT_INITIAL_CAPACITY];
+      pendingItemIds = new int[DEFAULT_INITIAL_CAPACITY];
+      pendingRatings = new double[DEFAULT_INITIAL_CAPACITY];
+      zeroRatingContextIds = new int[0];
+      zeroRatingItemIds = new int[0];
    }
 
 
    @Override
    public CollaborativeFilteringInstance getInstance(int position) {
-      if (position < 0 || position >= instancePositions.size()) {
+      if (position < 0 || position >= numberOfInstances) {
          throw new IndexOutOfBoundsException(String.format("Cannot access instance %s", position));
       }
-      Pair<Integer, Integer> coordinates = instancePositions.get(position);
-      int x = coordinates.getFirst();
-      int y = coordinates.getSecond();
-      return new CollaborativeFilteringInstance(x, y, matrix.getValue(x, y), this);
+      return new CollaborativeFilteringInstance(getContextIdOfInstance(position), getItemIdOfInstance(position),
+            getRatingOfInstance(position), this);
+   }
+
+
+   /**
+    * Returns the context id of the instance at the given position, which is found by a binary
+    * search over the rows of the rating matrix.
+    * 
+    * @param position the position of the instance
+    * @return the context id of the instance
+    */
+   public int getContextIdOfInstance(int position) {
+      if (viewedDataset != null) {
+         return viewedDataset.getContextIdOfInstance(viewedPositions[position]);
+      }
+      getRatingMatrix();
+      return getContextIdOfCompressedInstance(position);
+   }
+
+
+   /**
+    * Returns the item id of the instance at the given position in constant time.
+    * 
+    * @param position the position of the instance
+    * @return the item id of the instance
+    */
+   public int getItemIdOfInstance(int position) {
+      if (viewedDataset != null) {
+         return viewedDataset.getItemIdOfInstance(viewedPositions[position]);
+      }
+      getRatingMatrix();
+      return getItemIdOfCompressedInstance(position);
+   }
+
+
+   /**
+    * Returns the context id of the compressed instance at the given position.
+    * 
+    * @param position the position of the instance
+    * @return the context id of the instance
+    */
+   private int getContextIdOfCompressedInstance(int position) {
+      int ratingPosition = instanceRatingPositions[position];
+      if (ratingPosition >= 0) {
+         return compressedRatings.getRowOfNonZeroEntry(ratingPosition);
+      }
+      return zeroRatingContextIds[-ratingPosition - 1];
+   }
+
+
+   /**
+    * Returns the item id of the compressed instance at the given position.
+    * 
+    * @param position the position of the instance
+    * @return the item id of the instance
+    */
+   private int getItemIdOfCompressedInstance(int position) {
+      int ratingPosition = instanceRatingPositions[position];
+      if (ratingPosition >= 0) {
+         return compressedRatings.getColumnOfNonZeroEntry(ratingPosition);
+      }
+      return zeroRatingItemIds[-ratingPosition - 1];
+   }
+
+
+   /**
+    * Returns the rating of the instance at the given position in constant time.
+    * 
+    * @param position the position of the instance
+    * @return the rating of the instance
+    */
+   public double getRatingOfInstance(int position) {
+      if (viewedDataset != null) {
+         return viewedDataset.getRatingOfInstance(viewedPositions[position]);
+      }
+      CompressedSparseDoubleMatrix matrix = getRatingMatrix();
+      int ratingPosition = instanceRatingPositions[position];
+      return ratingPosition >= 0 ? matrix.getValueOfNonZeroEntry(ratingPosition) : 0;
    }
 
 
    @Override
    public void addInstance(IInstance<IVector, IVector, Double> instance) throws InvalidInstanceException {
+      assertIsNotShared();
       if (!(instance instanceof CollaborativeFilteringInstance)) {
          throw new InvalidInstanceException(INVALID_INSTANCE);
       }
@@ -141,8 +269,238 @@ public class CollaborativeFilteringDataset extends ADataset<IVector, IVector, Do
     * @param rating the rating which is set
     */
    public void setRating(int contextId, int itemId, double rating) {
-      instancePositions.put(instancePositions.size(), Pair.of(contextId, itemId));
-      matrix.setValue(contextId, itemId, rating);
+      assertIsNotShared();
+      if (contextId < 0 || contextId >= numberOfContexts || itemId < 0 || itemId >= numberOfItems) {
+         throw new IndexOutOfBoundsException(String.format(ERROR_RATING_OUT_OF_BOUNDS, contextId, itemId, numberOfContexts, numberOfItems));
+      }
+      synchronized (this) {
+         if (viewedDataset != null) {
+            copyViewedInstances();
+         }
+         ratingMatrix = null;
+         int pendingPosition = numberOfInstances - numberOfCompressedInstances;
+         if (pendingPosition == pendingRatings.length) {
+            int newCapacity = Math.max(2 * pendingRatings.length, DEFAULT_INITIAL_CAPACITY);
+            pendingContextIds = Arrays.copyOf(pendingContextIds, newCapacity);
+            pendingItemIds = Arrays.copyOf(pendingItemIds, newCapacity);
+            pendingRatings = Arrays.copyOf(pendingRatings, newCapacity);
+         }
+         pendingContextIds[pendingPosition] = contextId;
+         pendingItemIds[pendingPosition] = itemId;
+         pendingRatings[pendingPosition] = rating;
+         numberOfInstances++;
+      }
+   }
+
+
+   /**
+    * Copies the context and item ids and the ratings of the instances of this view out of the
+    * viewed dataset, so that ratings can be set in this view without changing the viewed dataset.
+    * Afterwards this dataset is no view anymore.
+    */
+   private void copyViewedInstances() {
+      int capacity = Math.max(numberOfInstances, DEFAULT_INITIAL_CAPACITY);
+      int[] contextIds = new int[capacity];
+      int[] itemIds = new int[capacity];
+      double[] ratings = new double[capacity];
+      for (int i = 0; i < numberOfInstances; i++) {
+         contextIds[i] = getContextIdOfInstance(i);
+         itemIds[i] = getItemIdOfInstance(i);
+         ratings[i] = getRatingOfInstance(i);
+      }
+      pendingContextIds = contextIds;
+      pendingItemIds = itemIds;
+      pendingRatings = ratings;
+      numberOfCompressedInstances = 0;
+      compressedRatings = null;
+      instanceRatingPositions = null;
+      viewedDataset = null;
+      viewedPositions = null;
+   }
+
+
+   /**
+    * Sets the number of contexts and items of the rating matrix.
+    * 
+    * @param numberOfContexts the number of contexts, i.e. rows of the rating matrix
+    * @param numberOfItems the number of items, i.e. columns of the rating matrix
+    */
+   protected synchronized void setDimensions(int numberOfContexts, int numberOfItems) {
+      ratingMatrix = null;
+      this.numberOfContexts = numberOfContexts;
+      this.numberOfItems = numberOfItems;
+   }
+
+
+   /**
+    * Updates the rating matrix with the ratings added since the last update, if it is outdated,
+    * and frees the ratings collected since then. Afterwards the dataset needs about 24 bytes per
+    * rating: 20 bytes for the rating matrix, and 4 bytes for the position of the instance.
+    */
+   protected void compressRatings() {
+      getRatingMatrix();
+   }
+
+
+   /**
+    * Returns the current rating matrix, which is updated if it is outdated.
+    * 
+    * @return the current rating matrix
+    */
+   private CompressedSparseDoubleMatrix getRatingMatrix() {
+      CompressedSparseDoubleMatrix matrix = ratingMatrix;
+      if (matrix != null) {
+         return matrix;
+      }
+      synchronized (this) {
+         if (ratingMatrix == null && viewedDataset != null) {
+            ratingMatrix = buildViewedRatingMatrix();
+         } else if (ratingMatrix == null) {
+            if (canMergePendingRatings()) {
+               mergePendingRatings();
+            } else {
+               rebuildRatingMatrix();
+            }
+            numberOfCompressedInstances = numberOfInstances;
+            pendingContextIds = new int[0];
+            pendingItemIds = new int[0];
+            pendingRatings = new double[0];
+            ratingMatrix = compressedRatings;
+         }
+         return ratingMatrix;
+      }
+   }
+
+
+   /**
+    * Builds the rating matrix of this view out of the ratings of the viewed instances.
+    * 
+    * @return the rating matrix of this view
+    */
+   private CompressedSparseDoubleMatrix buildViewedRatingMatrix() {
+      CompressedSparseDoubleMatrix.Builder builder = new CompressedSparseDoubleMatrix.Builder(numberOfContexts, numberOfItems,
+            numberOfInstances);
+      for (int i = 0; i < numberOfInstances; i++) {
+         builder.setValue(getContextIdOfInstance(i), getItemIdOfInstance(i), getRatingOfInstance(i));
+      }
+      return builder.build();
+   }
+
+
+   /**
+    * Returns whether the pending ratings can be merged into the compressed ratings, which is the
+    * case if the dimensions have not shrunk and no pending rating removes an entry by setting it
+    * to {@code 0}.
+    * 
+    * @return {@code true} if the pending ratings can be merged, {@code false} if the matrix has to
+    *         be rebuilt
+    */
+   private boolean canMergePendingRatings() {
+      if (compressedRatings == null || numberOfContexts < compressedRatings.getNumberOfRows()
+            || numberOfItems < compressedRatings.getNumberOfColumns()) {
+         return false;
+      }
+      for (int i = 0; i < numberOfInstances - numberOfCompressedInstances; i++) {
+         if (Double.compare(pendingRatings[i], 0.0) == 0) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+
+   /**
+    * Merges the pending ratings into the compressed ratings in time linear in the number of
+    * ratings, and moves the rating positions of the compressed instances accordingly.
+    */
+   private void mergePendingRatings() {
+      int numberOfPendingInstances = numberOfInstances - numberOfCompressedInstances;
+      CompressedSparseDoubleMatrix.Builder builder = new CompressedSparseDoubleMatrix.Builder(numberOfContexts, numberOfItems,
+            numberOfPendingInstances);
+      for (int i = 0; i < numberOfPendingInstances; i++) {
+         builder.setValue(pendingContextIds[i], pendingItemIds[i], pendingRatings[i]);
+      }
+      int[] newPositions = new int[compressedRatings.getNumberOfNonZeroEntries()];
+      CompressedSparseDoubleMatrix matrix = compressedRatings.mergeWith(builder.build(), newPositions);
+      int[] positions = Arrays.copyOf(instanceRatingPositions, numberOfInstances);
+      for (int i = 0; i < numberOfCompressedInstances; i++) {
+         if (positions[i] >= 0) {
+            positions[i] = newPositions[positions[i]];
+         } else {
+            // a zero rating which has been set again by a pending instance
+            int zeroRating = -positions[i] - 1;
+            int position = matrix.getPositionOfNonZeroEntry(zeroRatingContextIds[zeroRating], zeroRatingItemIds[zeroRating]);
+            if (position >= 0) {
+               positions[i] = position;
+            }
+         }
+      }
+      for (int i = 0; i < numberOfPendingInstances; i++) {
+         positions[numberOfCompressedInstances + i] = matrix.getPositionOfNonZeroEntry(pendingContextIds[i], pendingItemIds[i]);
+      }
+      compressedRatings = matrix;
+      instanceRatingPositions = positions;
+   }
+
+
+   /**
+    * Builds the rating matrix out of the ratings of all instances.
+    */
+   private void rebuildRatingMatrix() {
+      int[] contextIds = new int[numberOfInstances];
+      int[] itemIds = new int[numberOfInstances];
+      CompressedSparseDoubleMatrix.Builder builder = new CompressedSparseDoubleMatrix.Builder(numberOfContexts, numberOfItems,
+            numberOfInstances);
+      for (int i = 0; i < numberOfInstances; i++) {
+         double rating;
+         if (i >= numberOfCompressedInstances) {
+            int pendingPosition = i - numberOfCompressedInstances;
+            contextIds[i] = pendingContextIds[pendingPosition];
+            itemIds[i] = pendingItemIds[pendingPosition];
+            rating = pendingRatings[pendingPosition];
+         } else {
+            contextIds[i] = getContextIdOfCompressedInstance(i);
+            itemIds[i] = getItemIdOfCompressedInstance(i);
+            rating = instanceRatingPositions[i] >= 0 ? compressedRatings.getValueOfNonZeroEntry(instanceRatingPositions[i]) : 0;
+         }
+         builder.setValue(contextIds[i], itemIds[i], rating);
+      }
+      CompressedSparseDoubleMatrix matrix = builder.build();
+      int[] positions = new int[numberOfInstances];
+      numberOfZeroRatings = 0;
+      zeroRatingContextIds = new int[0];
+      zeroRatingItemIds = new int[0];
+      for (int i = 0; i < numberOfInstances; i++) {
+         positions[i] = matrix.getPositionOfNonZeroEntry(contextIds[i], itemIds[i]);
+         if (positions[i] < 0) {
+            positions[i] = addZeroRating(contextIds[i], itemIds[i]);
+         }
+      }
+      zeroRatingContextIds = Arrays.copyOf(zeroRatingContextIds, numberOfZeroRatings);
+      zeroRatingItemIds = Arrays.copyOf(zeroRatingItemIds, numberOfZeroRatings);
+      compressedRatings = matrix;
+      instanceRatingPositions = positions;
+   }
+
+
+   /**
+    * Stores the ids of a zero rating, which is not contained in the rating matrix, and returns the
+    * rating position encoding it.
+    * 
+    * @param contextId the context id of the rating
+    * @param itemId the item id of the rating
+    * @return the negative rating position of the zero rating
+    */
+   private int addZeroRating(int contextId, int itemId) {
+      if (numberOfZeroRatings == zeroRatingContextIds.length) {
+         int newCapacity = Math.max(2 * zeroRatingContextIds.length, DEFAULT_INITIAL_CAPACITY);
+         zeroRatingContextIds = Arrays.copyOf(zeroRatingContextIds, newCapacity);
+         zeroRatingItemIds = Arrays.copyOf(zeroRatingItemIds, newCapacity);
+      }
+      zeroRatingContextIds[numberOfZeroRatings] = contextId;
+      zeroRatingItemIds[numberOfZeroRatings] = itemId;
+      numberOfZeroRatings++;
+      return -numberOfZeroRatings;
    }
 
 
@@ -154,7 +512,7 @@ public class CollaborativeFilteringDataset extends ADataset<IVector, IVector, Do
     * @return rating the rating for this context-item combination
     */
    public CollaborativeFilteringInstance getInstance(int contextId, int itemId) {
-      return new CollaborativeFilteringInstance(contextId, itemId, matrix.getValue(contextId, itemId), this);
+      return new CollaborativeFilteringInstance(contextId, itemId, getRating(contextId, itemId), this);
    }
 
 
@@ -166,14 +524,14 @@ public class CollaborativeFilteringDataset extends ADataset<IVector, IVector, Do
     * @return rating the rating for this context-item combination
     */
    public double getRating(int contextId, int itemId) {
-      return matrix.getValue(contextId, itemId);
+      return getRatingMatrix().getValue(contextId, itemId);
    }
 
 
    @Override
    public CollaborativeFilteringDataset getPartOfDataset(int from, int to) {
 
-      CollaborativeFilteringDataset result = new CollaborativeFilteringDataset(matrix.getNumberOfRows(), matrix.getNumberOfColumns());
+      CollaborativeFilteringDataset result = new CollaborativeFilteringDataset(numberOfContexts, numberOfItems);
       result.datasetFile = this.datasetFile;
       result.contextVectors = CollectionsUtils.getDeepCopyOf(contextVectors);
       result.contextFeatures = CollectionsUtils.getDeepCopyOf(contextFeatures);
@@ -181,18 +539,91 @@ public class CollaborativeFilteringDataset extends ADataset<IVector, IVector, Do
       result.itemFeatures = CollectionsUtils.getDeepCopyOf(itemFeatures);
 
       for (int i = from; i < to; i++) {
-         int x = instancePositions.get(i).getFirst();
-         int y = instancePositions.get(i).getSecond();
-         result.setRating(x, y, matrix.getValue(x, y));
+         result.setRating(getContextIdOfInstance(i), getItemIdOfInstance(i), getRatingOfInstance(i));
       }
       return result;
    }
 
 
+   /**
+    * Creates an empty dataset, into which a supplement of this dataset can be parsed without
+    * changing this dataset. It has the dimensions of this dataset and copies of its lists of context
+    * and item vectors and features, which only reference the same vectors.
+    *
+    * @return the dataset for collecting the supplement
+    */
+   CollaborativeFilteringDataset createSupplementBuffer() {
+      CollaborativeFilteringDataset buffer = new CollaborativeFilteringDataset(numberOfContexts, numberOfItems);
+      buffer.datasetFile = this.datasetFile;
+      buffer.contextVectors = new ArrayList<>(contextVectors);
+      buffer.contextFeatures = new ArrayList<>(contextFeatures);
+      buffer.itemVectors = new ArrayList<>(itemVectors);
+      buffer.itemFeatures = new ArrayList<>(itemFeatures);
+      return buffer;
+   }
+
+
+   /**
+    * Appends the supplement collected in the given buffer, which has been created by
+    * {@link #createSupplementBuffer()}, to this dataset. The dimensions, context and item vectors
+    * and features of the buffer replace the ones of this dataset, and its ratings are set in the
+    * order in which they have been added to the buffer.
+    *
+    * @param buffer the buffer containing the supplement
+    */
+   void appendSupplement(CollaborativeFilteringDataset buffer) {
+      contextVectors = buffer.contextVectors;
+      contextFeatures = buffer.contextFeatures;
+      itemVectors = buffer.itemVectors;
+      itemFeatures = buffer.itemFeatures;
+      setDimensions(Math.max(numberOfContexts, buffer.numberOfContexts), Math.max(numberOfItems, buffer.numberOfItems));
+      for (int i = 0; i < buffer.getNumberOfInstances(); i++) {
+         setRating(buffer.getContextIdOfInstance(i), buffer.getItemIdOfInstance(i), buffer.getRatingOfInstance(i));
+      }
+   }
+
+
+   /**
+    * {@inheritDoc}
+    *
+    * The view only stores the given positions, and reads the context and item ids and the ratings
+    * of its instances from this dataset. Its rating matrix is built on the first access out of the
+    * ratings of the selected instances, as the ratings of the other instances must not be visible
+    * in the rows and columns of the view. The view has copies of the lists of context and item
+    * vectors and features, which reference the same vectors, and is shared as well if this dataset
+    * is shared by the parsed dataset cache.
+    */
    @Override
-   public int getNumberOfInstances() {
+   public CollaborativeFilteringDataset getView(int[] positions) {
+      CollaborativeFilteringDataset view = new CollaborativeFilteringDataset(numberOfContexts, numberOfItems);
+      view.datasetFile = this.datasetFile;
+      view.contextVectors = new ArrayList<>(contextVectors);
+      view.contextFeatures = new ArrayList<>(contextFeatures);
+      view.itemVectors = new ArrayList<>(itemVectors);
+      view.itemFeatures = new ArrayList<>(itemFeatures);
+      passSharingOnTo(view);
+
+      for (int position : positions) {
+         assertInstanceIsInBounds(position);
+      }
+      if (viewedDataset != null) {
+         view.viewedDataset = viewedDataset;
+         view.viewedPositions = new int[positions.length];
+         for (int i = 0; i < positions.length; i++) {
+            view.viewedPositions[i] = viewedPositions[positions[i]];
+         }
+      } else {
+         view.viewedDataset = this;
+         view.viewedPositions = positions.clone();
+      }
+      view.numberOfInstances = positions.length;
+      return view;
+   }
+
 
-      return instancePositions.size();
+   @Override
+   public int getNumberOfInstances() {
+      return numberOfInstances;
    }
 
 
@@ -203,24 +634,50 @@ public class CollaborativeFilteringDataset extends ADataset<IVector, IVector, Do
 
 
    /**
-    * Returns a row vector from the matrix of ratings
+    * Returns a copy of a row vector from the matrix of ratings as a {@link SparseDoubleVector},
+    * which is created in time linear in the number of ratings of the row.
     * 
     * @param i the number of the row
     * @return the ratings for this row / user
     */
    public IVector getRowVector(int i) {
-      return matrix.getRowVector(i);
+      return getRatingMatrix().getRowVector(i);
    }
 
 
    /**
-    * Returns a column vector from the matrix of ratings
+    * Returns a copy of a column vector from the matrix of ratings as a {@link SparseDoubleVector},
+    * which is created in time linear in the number of ratings of the column.
     * 
     * @param i the number of the column
     * @return the ratings for this column / item
     */
    public IVector getColumnVector(int i) {
-      return matrix.getColumnVector(i);
+      return getRatingMatrix().getColumnVector(i);
+   }
+
+
+   /**
+    * Returns a read-only view on a row of the matrix of ratings, which does not copy any data. The
+    * view is not updated if ratings are set afterwards.
+    * 
+    * @param i the number of the row
+    * @return a view on the ratings for this row / user
+    */
+   public SparseDoubleVectorView getRowView(int i) {
+      return getRatingMatrix().getRowView(i);
+   }
+
+
+   /**
+    * Returns a read-only view on a column of the matrix of ratings, which does not copy any data.
+    * The view is not updated if ratings are set afterwards.
+    * 
+    * @param i the number of the column
+    * @return a view on the ratings for this column / item
+    */
+   public SparseDoubleVectorView getColumnView(int i) {
+      return getRatingMatrix().getColumnView(i);
    }
 
 
@@ -253,6 +710,7 @@ public class CollaborativeFilteringDataset extends ADataset<IVector, IVector, Do
     * @param contextVector : The vector of context properties
     */
    public void setContextVector(Integer id, IVector contextVector) {
+      assertIsNotShared();
       if (id < contextVectors.size()) {
          contextVectors.set(id, contextVector);
       } else {
@@ -271,6 +729,7 @@ public class CollaborativeFilteringDataset extends ADataset<IVector, IVector, Do
     * @param itemVector : The vector of context properties
     */
    public void setItemVector(Integer id, IVector itemVector) {
+      assertIsNotShared();
       if (id < itemVectors.size()) {
          itemVectors.set(id, itemVector);
       } else {
@@ -288,7 +747,7 @@ public class CollaborativeFilteringDataset extends ADataset<IVector, IVector, Do
     * @return the number of existing items
     */
    public int getNumberOfItems() {
-      return matrix != null ? matrix.getNumberOfColumns() : 0;
+      return numberOfItems;
    }
 
 
@@ -298,7 +757,7 @@ public class CollaborativeFilteringDataset extends ADataset<IVector, IVector, Do
     * @return the number of existing contexts
     */
    public int getNumberOfContexts() {
-      return matrix != null ? matrix.getNumberOfRows() : 0;
+      return numberOfContexts;
    }
 
 
@@ -320,6 +779,7 @@ public class CollaborativeFilteringDataset extends ADataset<IVector, IVector, Do
     * @param contextFeature the name of the contextFeature
     */
    public void setContextFeature(Integer id, String contextFeature) {
+      assertIsNotShared();
       if (contextFeatures.size() > id) {
          contextFeatures.set(id, contextFeature);
       } else {
@@ -349,6 +809,7 @@ public class CollaborativeFilteringDataset extends ADataset<IVector, IVector, Do
     * @param itemFeature the name of the item feature
     */
    public void setItemFeature(Integer id, String itemFeature) {
+      assertIsNotShared();
       if (itemFeatures.size() > id) {
          itemFeatures.set(id, itemFeature);
       } else {
@@ -366,10 +827,14 @@ public class CollaborativeFilteringDataset extends ADataset<IVector, IVector, Do
       int result = super.hashCode();
       result = prime * result + ((contextFeatures == null) ? 0 : contextFeatures.hashCode());
       result = prime * result + ((contextVectors == null) ? 0 : contextVectors.hashCode());
-      result = prime * result + ((instancePositions == null) ? 0 : instancePositions.hashCode());
+      result = prime * result + numberOfInstances;
+      for (int i = 0; i < numberOfInstances; i++) {
+         result = prime * result + getContextIdOfInstance(i);
+         result = prime * result + getItemIdOfInstance(i);
+      }
       result = prime * result + ((itemFeatures == null) ? 0 : itemFeatures.hashCode());
       result = prime * result + ((itemVectors == null) ? 0 : itemVectors.hashCode());
-      result = prime * result + ((matrix == null) ? 0 : matrix.hashCode());
+      result = prime * result + getRatingMatrix().hashCode();
       long temp;
       temp = Double.doubleToLongBits(threshold);
       result = prime * result + (int) (temp ^ (temp >>> 32));
@@ -396,11 +861,12 @@ public class CollaborativeFilteringDataset extends ADataset<IVector, IVector, Do
             return false;
       } else if (!contextVectors.equals(other.contextVectors))
          return false;
-      if (instancePositions == null) {
-         if (other.instancePositions != null)
-            return false;
-      } else if (!instancePositions.equals(other.instancePositions))
+      if (numberOfInstances != other.numberOfInstances)
          return false;
+      for (int i = 0; i < numberOfInstances; i++) {
+         if (getContextIdOfInstance(i) != other.getContextIdOfInstance(i) || getItemIdOfInstance(i) != other.getItemIdOfInstance(i))
+            return false;
+      }
       if (itemFeatures == null) {
          if (other.itemFeatures != null)
             return false;
@@ -411,10 +877,7 @@ public class CollaborativeFilteringDataset extends ADataset<IVector, IVector, Do
             return false;
       } else if (!itemVectors.equals(other.itemVectors))
          return false;
-      if (matrix == null) {
-         if (other.matrix != null)
-            return false;
-      } else if (!matrix.equals(other.matrix))
+      if (!getRatingMatrix().equals(other.getRatingMatrix()))
          return false;
       if (Double.doubleToLongBits(threshold) != Double.doubleToLongBits(other.threshold))
          return false;
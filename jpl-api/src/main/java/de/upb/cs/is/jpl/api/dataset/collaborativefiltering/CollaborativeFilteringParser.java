@@ -1,13 +1,17 @@
 package de.upb.cs.is.jpl.api.dataset.collaborativefiltering;
 
 
+import java.io.IOException;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import de.upb.cs.is.jpl.api.dataset.ADatasetParser;
+import de.upb.cs.is.jpl.api.dataset.BinaryDatasetReader;
+import de.upb.cs.is.jpl.api.dataset.BinaryDatasetWriter;
+import de.upb.cs.is.jpl.api.dataset.IDataset;
 import de.upb.cs.is.jpl.api.exception.dataset.ParsingFailedException;
 import de.upb.cs.is.jpl.api.math.linearalgebra.IVector;
-import de.upb.cs.is.jpl.api.math.linearalgebra.SparseDoubleMatrix;
 import de.upb.cs.is.jpl.api.math.linearalgebra.SparseDoubleVector;
 import de.upb.cs.is.jpl.api.util.StringUtils;
 
@@ -22,7 +26,11 @@ public class CollaborativeFilteringParser extends ADatasetParser {
    @SuppressWarnings("unused")
    private static final Logger parser_logger = LoggerFactory.getLogger(CollaborativeFilteringParser.class);
 
+   private static final String ERROR_DATASET_NOT_SUPPORTED = "Cannot append to a %s, only to a collaborative filtering dataset.";
+
    protected CollaborativeFilteringDataset parseResult;
+   /** The dataset to which the supplement collected in the parse result is appended. */
+   private CollaborativeFilteringDataset appendTarget;
 
 
    @Override
@@ -36,7 +44,7 @@ public class CollaborativeFilteringParser extends ADatasetParser {
    public void parseItemVectorLine(String line) throws ParsingFailedException {
       String[] itemLine = line.split(ID_DIVIDER);
       Integer id = Integer.parseInt(itemLine[0].substring(itemLine[0].indexOf(ITEM_MARKER) + 1));
-      IVector result = itemLine.length > 1 ? parseInformationVector(itemLine[1].trim().split(VECTOR_DIVIDER), itemFeatures.size())
+      IVector result = itemLine.length > 1 ? parseItemVector(itemLine[1])
             : new SparseDoubleVector(itemFeatures.size());
       parseResult.setItemVector(id, result);
    }
@@ -46,7 +54,7 @@ public class CollaborativeFilteringParser extends ADatasetParser {
    public void parseContextVectorLine(String line) throws ParsingFailedException {
       String[] contextLine = line.split(ID_DIVIDER);
       Integer id = Integer.parseInt(contextLine[0].substring(contextLine[0].indexOf(CONTEXT_MARKER) + 1));
-      IVector result = contextLine.length > 1 ? parseInformationVector(contextLine[1].trim().split(VECTOR_DIVIDER), contextFeatures.size())
+      IVector result = contextLine.length > 1 ? parseContextVector(contextLine[1])
             : new SparseDoubleVector(contextFeatures.size());
       parseResult.setContextVector(id, result);
    }
@@ -59,9 +67,15 @@ public class CollaborativeFilteringParser extends ADatasetParser {
       int contextId = Integer.parseInt(contextRatingSplit[0].substring(contextRatingSplit[0].indexOf(CONTEXT_MARKER) + 1).trim());
 
       IVector vector = parseAbsoluteRatingVector(contextRatingSplit.length > 1 ? contextRatingSplit[1] : StringUtils.EMPTY_STRING);
-      for (int i = 0; i < vector.length(); i++) {
-         if (Double.compare(vector.getValue(i), 0.0) != 0)
+      if (vector instanceof SparseDoubleVector) {
+         for (int i : ((SparseDoubleVector) vector).getNonZeroIndices()) {
             parseResult.setRating(contextId, i, vector.getValue(i));
+         }
+      } else {
+         for (int i = 0; i < vector.length(); i++) {
+            if (Double.compare(vector.getValue(i), 0.0) != 0)
+               parseResult.setRating(contextId, i, vector.getValue(i));
+         }
       }
 
 
@@ -71,8 +85,12 @@ public class CollaborativeFilteringParser extends ADatasetParser {
    private void makeMatrixNotNullAndCorrectSize() {
       if (parseResult == null) {
          parseResult = new CollaborativeFilteringDataset(contextsDeclared, itemsDeclared);
-      } else if (parseResult.matrix == null || parseResult.matrix.getNumberOfColumns() == 0 || parseResult.matrix.getNumberOfRows() == 0) {
-         parseResult.matrix = new SparseDoubleMatrix(contextsDeclared, itemsDeclared);
+      } else if (parseResult.getNumberOfItems() == 0 || parseResult.getNumberOfContexts() == 0) {
+         parseResult.setDimensions(contextsDeclared, itemsDeclared);
+      } else if (parseResult.getNumberOfContexts() < contextsDeclared || parseResult.getNumberOfItems() < itemsDeclared) {
+         // contexts or items have been appended
+         parseResult.setDimensions(Math.max(parseResult.getNumberOfContexts(), contextsDeclared),
+               Math.max(parseResult.getNumberOfItems(), itemsDeclared));
       }
 
    }
@@ -81,12 +99,132 @@ public class CollaborativeFilteringParser extends ADatasetParser {
    @Override
    protected void initParse() {
       parseResult = new CollaborativeFilteringDataset();
+      appendTarget = null;
    }
 
 
    @Override
    protected void finishParse() {
-      // Nothing to do
+      if (appendTarget != null) {
+         appendTarget.appendSupplement(parseResult);
+         parseResult = appendTarget;
+         appendTarget = null;
+      }
+      parseResult.compressRatings();
+   }
+
+
+   /**
+    * {@inheritDoc}
+    * 
+    * A line of a collaborative filtering rating file contains all ratings of a context, which
+    * would make each context a stratum of its own and the whole file be held in memory. Hence the
+    * lines are not stratified, and a stratified sample is a uniform sample of the contexts.
+    */
+   @Override
+   protected String getStratumOfRatingLine(String ratingLine) {
+      return null;
+   }
+
+
+   @Override
+   protected int getContextIdOfRatingLine(String ratingLine) throws ParsingFailedException {
+      return parseIdOfLine(ratingLine, CONTEXT_MARKER);
+   }
+
+
+   @Override
+   protected boolean isStreamingSupported() {
+      return true;
+   }
+
+
+   @Override
+   protected void startNextChunk() {
+      CollaborativeFilteringDataset previousResult = parseResult;
+      parseResult = new CollaborativeFilteringDataset(contextsDeclared, itemsDeclared);
+      parseResult.contextFeatures = previousResult.contextFeatures;
+      parseResult.contextVectors = previousResult.contextVectors;
+      parseResult.itemFeatures = previousResult.itemFeatures;
+      parseResult.itemVectors = previousResult.itemVectors;
+   }
+
+
+   @Override
+   protected boolean isAppendingSupported() {
+      return true;
+   }
+
+
+   /**
+    * {@inheritDoc}
+    * 
+    * The supplement is parsed into a buffer, which is only appended to the given dataset by
+    * {@link #finishParse()}, so that the dataset is left unchanged if the supplement cannot be
+    * parsed.
+    */
+   @Override
+   protected void resumeParse(IDataset<?, ?, ?> dataset) throws ParsingFailedException {
+      if (!(dataset instanceof CollaborativeFilteringDataset)) {
+         throw new ParsingFailedException(String.format(ERROR_DATASET_NOT_SUPPORTED, dataset.getClass().getSimpleName()));
+      }
+      appendTarget = (CollaborativeFilteringDataset) dataset;
+      parseResult = appendTarget.createSupplementBuffer();
+      contextsDeclared = parseResult.getNumberOfContexts();
+      itemsDeclared = parseResult.getNumberOfItems();
+   }
+
+
+   @Override
+   protected boolean isBinaryCacheSupported() {
+      return true;
+   }
+
+
+   @Override
+   protected void writeParsedData(BinaryDatasetWriter writer) throws IOException {
+      writer.writeVectors(parseResult.contextVectors);
+      writer.writeVectors(parseResult.itemVectors);
+      boolean hasRatingMatrix = parseResult.getNumberOfContexts() > 0 || parseResult.getNumberOfItems() > 0;
+      writer.writeBoolean(hasRatingMatrix);
+      if (hasRatingMatrix) {
+         writer.writeInt(parseResult.getNumberOfContexts());
+         writer.writeInt(parseResult.getNumberOfItems());
+      }
+      // the ratings are stored as coordinates in the order of the instances
+      int numberOfRatings = parseResult.getNumberOfInstances();
+      int[] contextIds = new int[numberOfRatings];
+      int[] itemIds = new int[numberOfRatings];
+      double[] ratings = new double[numberOfRatings];
+      for (int i = 0; i < numberOfRatings; i++) {
+         contextIds[i] = parseResult.getContextIdOfInstance(i);
+         itemIds[i] = parseResult.getItemIdOfInstance(i);
+         ratings[i] = parseResult.getRatingOfInstance(i);
+      }
+      writer.writeIntArray(contextIds);
+      writer.writeIntArray(itemIds);
+      writer.writeDoubleArray(ratings);
+   }
+
+
+   @Override
+   protected void readParsedData(BinaryDatasetReader reader) throws IOException {
+      parseResult.contextVectors.addAll(reader.readVectors());
+      parseResult.itemVectors.addAll(reader.readVectors());
+      if (reader.readBoolean()) {
+         int numberOfRows = reader.readInt();
+         int numberOfColumns = reader.readInt();
+         parseResult.setDimensions(numberOfRows, numberOfColumns);
+      }
+      int[] contextIds = reader.readIntArray();
+      int[] itemIds = reader.readIntArray();
+      double[] ratings = reader.readDoubleArray();
+      if (contextIds.length != ratings.length || itemIds.length != ratings.length) {
+         throw new IOException(String.format(ERROR_INCONSISTENT_BINARY_CACHE, Math.min(contextIds.length, itemIds.length), ratings.length));
+      }
+      for (int i = 0; i < ratings.length; i++) {
+         parseResult.setRating(contextIds[i], itemIds[i], ratings[i]);
+      }
    }
 
 }
@@ -97,6 +97,7 @@ public abstract class DefaultDataset<T> extends ADataset<double[], List<double[]
 
    @Override
    public void addInstance(IInstance<double[], List<double[]>, T> instance) throws InvalidInstanceException {
+      assertIsNotShared();
       assertInstanceHasCorrectType(instance, DefaultInstance.class);
       ratings.add((DefaultInstance<T>) instance);
       if (instance.getContextId() == -1) {
@@ -116,6 +117,7 @@ public abstract class DefaultDataset<T> extends ADataset<double[], List<double[]
     * @param rating the object with the rating information
     */
    public void addInstance(int contextId, T rating) {
+      assertIsNotShared();
       ratings.add(new DefaultInstance<T>(contextId, rating, this));
    }
 
@@ -139,6 +141,7 @@ public abstract class DefaultDataset<T> extends ADataset<double[], List<double[]
     * @throws InvalidInstanceException if the dimension of the context vector is not valid
     */
    public void setContextVector(Integer id, double[] contextVector) throws InvalidInstanceException {
+      assertIsNotShared();
       if (contextVector.length != contextFeatures.size()) {
          throw new InvalidInstanceException(
                String.format(INVALID_VECTOR_WRONG_LENGTH, CONTEXT, CONTEXT, contextVector.length, contextFeatures.size()));
@@ -174,6 +177,7 @@ public abstract class DefaultDataset<T> extends ADataset<double[], List<double[]
     * @throws InvalidInstanceException if the dimension of the context vector is not valid
     */
    public void setItemVector(Integer id, double[] itemVector) throws InvalidInstanceException {
+      assertIsNotShared();
       if (itemVector.length != itemFeatures.size())
          throw new InvalidInstanceException(String.format(INVALID_VECTOR_WRONG_LENGTH, ITEM, ITEM, itemVector.length, itemFeatures.size()));
       if (id < itemVectors.size()) {
@@ -226,6 +230,7 @@ public abstract class DefaultDataset<T> extends ADataset<double[], List<double[]
     * @param contextFeature the description text of the contextFeature
     */
    public void setContextFeature(Integer id, String contextFeature) {
+      assertIsNotShared();
       if (contextFeatures.size() > id) {
          contextFeatures.set(id, contextFeature);
       } else {
@@ -255,6 +260,7 @@ public abstract class DefaultDataset<T> extends ADataset<double[], List<double[]
     * @param itemFeature the description text of the itemFeature
     */
    public void setItemFeature(Integer id, String itemFeature) {
+      assertIsNotShared();
       if (itemFeatures.size() > id) {
          itemFeatures.set(id, itemFeature);
       } else {
@@ -284,6 +290,7 @@ public abstract class DefaultDataset<T> extends ADataset<double[], List<double[]
     * @param allowedValues the list of allowed values
     */
    public void setContextFeatureAllowedValues(Integer id, List<Double> allowedValues) {
+      assertIsNotShared();
       if (contextFeatureAllowedValues.size() > id) {
          contextFeatureAllowedValues.set(id, allowedValues);
       } else {
@@ -313,6 +320,7 @@ public abstract class DefaultDataset<T> extends ADataset<double[], List<double[]
     * @param allowedValues the list of allowed values
     */
    public void setItemFeatureAllowedValues(Integer id, List<Double> allowedValues) {
+      assertIsNotShared();
       if (itemFeatureAllowedValues.size() > id) {
          itemFeatureAllowedValues.set(id, allowedValues);
       } else {
@@ -330,6 +338,7 @@ public abstract class DefaultDataset<T> extends ADataset<double[], List<double[]
     * @param allowedOrdinalValues the list of allowed values
     */
    public void setRatingAllowedValues(List<Double> allowedOrdinalValues) {
+      assertIsNotShared();
       ratingAllowedValues = allowedOrdinalValues;
    }
 
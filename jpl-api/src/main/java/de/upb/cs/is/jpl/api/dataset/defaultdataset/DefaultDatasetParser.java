@@ -1,7 +1,13 @@
 package de.upb.cs.is.jpl.api.dataset.defaultdataset;
 
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
 import de.upb.cs.is.jpl.api.dataset.ADatasetParser;
+import de.upb.cs.is.jpl.api.dataset.BinaryDatasetReader;
+import de.upb.cs.is.jpl.api.dataset.BinaryDatasetWriter;
 import de.upb.cs.is.jpl.api.dataset.defaultdataset.absolute.DefaultAbsoluteDatasetParser;
 import de.upb.cs.is.jpl.api.dataset.defaultdataset.relative.DefaultRelativeDatasetParser;
 import de.upb.cs.is.jpl.api.exception.dataset.InvalidInstanceException;
@@ -32,6 +38,64 @@ public abstract class DefaultDatasetParser<T> extends ADatasetParser {
    }
 
 
+   @Override
+   protected boolean isBinaryCacheSupported() {
+      return true;
+   }
+
+
+   @Override
+   protected void writeParsedData(BinaryDatasetWriter writer) throws IOException {
+      writer.writeDoubleBlock(parseResult.contextVectors);
+      writer.writeDoubleBlock(parseResult.itemVectors);
+      int[] contextIds = new int[parseResult.ratings.size()];
+      List<T> ratings = new ArrayList<>(contextIds.length);
+      for (int i = 0; i < contextIds.length; i++) {
+         DefaultInstance<T> instance = parseResult.ratings.get(i);
+         contextIds[i] = instance.getContextId();
+         ratings.add(instance.getRating());
+      }
+      writer.writeIntArray(contextIds);
+      writeRatings(writer, ratings);
+   }
+
+
+   @Override
+   protected void readParsedData(BinaryDatasetReader reader) throws IOException {
+      parseResult.contextVectors.addAll(reader.readDoubleBlock());
+      parseResult.itemVectors.addAll(reader.readDoubleBlock());
+      int[] contextIds = reader.readIntArray();
+      List<T> ratings = readRatings(reader);
+      if (contextIds.length != ratings.size()) {
+         throw new IOException(String.format(ERROR_INCONSISTENT_BINARY_CACHE, contextIds.length, ratings.size()));
+      }
+      for (int i = 0; i < contextIds.length; i++) {
+         parseResult.addInstance(contextIds[i], ratings.get(i));
+      }
+   }
+
+
+   /**
+    * Writes the ratings of the instances of the parsed dataset into the binary cache.
+    * 
+    * @param writer the writer for the binary cache
+    * @param ratings the ratings in the order of the instances
+    * @throws IOException if the binary cache cannot be written
+    */
+   protected abstract void writeRatings(BinaryDatasetWriter writer, List<T> ratings) throws IOException;
+
+
+   /**
+    * Reads the ratings written by {@link #writeRatings(BinaryDatasetWriter, List)} from the binary
+    * cache.
+    * 
+    * @param reader the reader for the binary cache
+    * @return the ratings in the order of the instances
+    * @throws IOException if the binary cache cannot be read
+    */
+   protected abstract List<T> readRatings(BinaryDatasetReader reader) throws IOException;
+
+
    /**
     * Enters the currently set values for context and item feature declarations into the dataset.
     * This allows it the dataset to know the dimension of the assigned feature vectors.
@@ -59,7 +123,7 @@ public abstract class DefaultDatasetParser<T> extends ADatasetParser {
       try {
          String[] itemLine = line.split(ID_DIVIDER);
          Integer id = Integer.parseInt(itemLine[0].substring(itemLine[0].indexOf(ITEM_MARKER) + 1));
-         IVector result = itemLine.length > 1 ? parseInformationVector(itemLine[1].trim().split(VECTOR_DIVIDER), itemFeatures.size())
+         IVector result = itemLine.length > 1 ? parseItemVector(itemLine[1])
                : new SparseDoubleVector(itemFeatures.size());
          parseResult.setItemVector(id, result.asArray());
       } catch (NumberFormatException e) {
@@ -78,9 +142,7 @@ public abstract class DefaultDatasetParser<T> extends ADatasetParser {
       String idString = contextLine[0].substring(contextLine[0].indexOf(CONTEXT_MARKER) + 1);
       try {
          Integer id = Integer.parseInt(idString);
-         IVector result = contextLine.length > 1
-               ? parseInformationVector(contextLine[1].trim().split(VECTOR_DIVIDER), contextFeatures.size())
-               : new SparseDoubleVector(contextFeatures.size());
+         IVector result = contextLine.length > 1 ? parseContextVector(contextLine[1]) : new SparseDoubleVector(contextFeatures.size());
          parseResult.setContextVector(id, result.asArray());
       } catch (NumberFormatException e) {
          throw new ParsingFailedException(String.format(ERROR_IN_LINE_PARSING_FEATURES, line), e);
@@ -90,4 +152,9 @@ public abstract class DefaultDatasetParser<T> extends ADatasetParser {
    }
 
 
+   @Override
+   protected int getContextIdOfRatingLine(String ratingLine) throws ParsingFailedException {
+      return parseIdOfLine(ratingLine, CONTEXT_MARKER);
+   }
+
 }
@@ -21,7 +21,9 @@ import de.upb.cs.is.jpl.api.util.CollectionsUtils;
 public class DefaultAbsoluteDataset extends DefaultDataset<IVector> {
 
    /**
-    * Creates a new dataset from the subset of selected contexts and items
+    * Creates a new dataset from the subset of selected contexts and items. The feature vectors are
+    * taken as they are, as the features selected by the dataset file have already been selected
+    * while parsing.
     * 
     * @param contexts the {@link List} of selected contexts in the order they should be in the new
     *           dataset
@@ -47,11 +49,10 @@ public class DefaultAbsoluteDataset extends DefaultDataset<IVector> {
       }
 
       for (int itemPos = 0; itemPos < items.size(); itemPos++) {
-         result.setItemVector(itemPos, selectSubsetOfArray(datasetFile.getItemFeatures(), this.getItemVector(contexts.get(itemPos))));
+         result.setItemVector(itemPos, this.getItemVector(contexts.get(itemPos)));
       }
       for (int contextPos = 0; contextPos < contexts.size(); contextPos++) {
-         result.setContextVector(contextPos,
-               selectSubsetOfArray(datasetFile.getContextFeatures(), this.getContextVector(contexts.get(contextPos))));
+         result.setContextVector(contextPos, this.getContextVector(contexts.get(contextPos)));
       }
 
       List<DefaultInstance<IVector>> ratingsVectors = CollectionsUtils.getDeepCopyOf(ratings.subList(from, to));
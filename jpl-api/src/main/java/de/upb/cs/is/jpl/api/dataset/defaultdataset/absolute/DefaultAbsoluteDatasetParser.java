@@ -1,6 +1,11 @@
 package de.upb.cs.is.jpl.api.dataset.defaultdataset.absolute;
 
 
+import java.io.IOException;
+import java.util.List;
+
+import de.upb.cs.is.jpl.api.dataset.BinaryDatasetReader;
+import de.upb.cs.is.jpl.api.dataset.BinaryDatasetWriter;
 import de.upb.cs.is.jpl.api.dataset.defaultdataset.DefaultDatasetParser;
 import de.upb.cs.is.jpl.api.exception.dataset.ParsingFailedException;
 import de.upb.cs.is.jpl.api.math.linearalgebra.IVector;
@@ -47,4 +52,16 @@ public class DefaultAbsoluteDatasetParser extends DefaultDatasetParser<IVector>
          throw new ParsingFailedException(ERROR_IN_LINE_PARSING_FEATURES, e);
       }
    }
+
+
+   @Override
+   protected void writeRatings(BinaryDatasetWriter writer, List<IVector> ratings) throws IOException {
+      writer.writeVectors(ratings);
+   }
+
+
+   @Override
+   protected List<IVector> readRatings(BinaryDatasetReader reader) throws IOException {
+      return reader.readVectors();
+   }
 }
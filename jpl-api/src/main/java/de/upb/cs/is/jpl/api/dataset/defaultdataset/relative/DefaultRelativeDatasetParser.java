@@ -1,6 +1,11 @@
 package de.upb.cs.is.jpl.api.dataset.defaultdataset.relative;
 
 
+import java.io.IOException;
+import java.util.List;
+
+import de.upb.cs.is.jpl.api.dataset.BinaryDatasetReader;
+import de.upb.cs.is.jpl.api.dataset.BinaryDatasetWriter;
 import de.upb.cs.is.jpl.api.dataset.defaultdataset.DefaultDatasetParser;
 import de.upb.cs.is.jpl.api.exception.dataset.ParsingFailedException;
 
@@ -44,4 +49,32 @@ public class DefaultRelativeDatasetParser extends DefaultDatasetParser<Ranking>
          throw new ParsingFailedException(String.format(ERROR_IN_LINE_PARSING_FEATURES, ratingInformationLine), e);
       }
    }
+
+
+   @Override
+   protected String getStratumOfRatingLine(String ratingLine) {
+      return getTopObjectOfRankingLine(ratingLine);
+   }
+
+
+   @Override
+   protected int[] getItemIdsOfRatingLine(String ratingLine) throws ParsingFailedException {
+      try {
+         return parseRelativeRanking(ratingLine.split(ID_DIVIDER)[1]).getObjectList();
+      } catch (NumberFormatException e) {
+         throw new ParsingFailedException(String.format(ERROR_IN_LINE_PARSING_FEATURES, ratingLine), e);
+      }
+   }
+
+
+   @Override
+   protected void writeRatings(BinaryDatasetWriter writer, List<Ranking> ratings) throws IOException {
+      writer.writeRankings(ratings);
+   }
+
+
+   @Override
+   protected List<Ranking> readRatings(BinaryDatasetReader reader) throws IOException {
+      return reader.readRankings();
+   }
 }
@@ -0,0 +1,630 @@
+package de.upb.cs.is.jpl.api.dataset.defaultdataset.relative;
+
+
+import java.nio.IntBuffer;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+
+/**
+ * A list of rankings, which stores all rankings packed into a few primitive arrays instead of one
+ * {@link Ranking} object with two arrays per ranking. The objects of all rankings are stored one
+ * after another in a single array, which holds {@code short} values as long as all objects fit into
+ * a {@code short} and is widened to {@code int} values otherwise. The compare operators are
+ * bit-packed with four bits per operator, only the rare concatenated operators, e.g. "35", are
+ * stored separately. The rankings returned by {@link #get(int)} are flyweight views, which read
+ * from the packed arrays on demand.
+ *
+ * The orderings of the rankings, as returned by {@link Ranking#getOrderingForRanking()}, are
+ * computed once for all rankings when they are requested first, instead of on every call.
+ *
+ * The list can only be extended by adding rankings at its end. It may contain {@code null}.
+ *
+ * @author agent
+ *
+ */
+public class PackedRankingList extends AbstractList<Ranking> implements RandomAccess {
+
+   private static final String ERROR_NO_ORDERING = "The ranking at position %d has no ordering, as its objects are no permutation of 0 to %d.";
+
+   private static final int DEFAULT_CAPACITY = 16;
+   private static final int BITS_PER_OPERATOR = 4;
+   private static final int OPERATORS_PER_WORD = Long.SIZE / BITS_PER_OPERATOR;
+   private static final int ESCAPED_OPERATOR = (1 << BITS_PER_OPERATOR) - 1;
+
+   private int size = 0;
+   private int[] objectOffsets;
+   private int[] operatorOffsets;
+   private final BitSet nullRankings = new BitSet();
+
+   private short[] shortObjects;
+   private int[] intObjects;
+
+   private long[] packedOperators;
+   private int[] escapedOperatorPositions;
+   private int[] escapedOperators;
+   private int numberOfEscapedOperators = 0;
+
+   private volatile boolean orderingsComputed = false;
+   private short[] shortOrderings;
+   private int[] intOrderings;
+   private BitSet rankingsWithoutOrdering;
+
+
+   /**
+    * Creates an empty list of rankings.
+    */
+   public PackedRankingList() {
+      this(DEFAULT_CAPACITY);
+   }
+
+
+   /**
+    * Creates an empty list of rankings with space for the given number of rankings, each with a
+    * few objects.
+    *
+    * @param initialCapacity the number of rankings the list can hold without growing
+    */
+   public PackedRankingList(int initialCapacity) {
+      int capacity = Math.max(initialCapacity, 1);
+      objectOffsets = new int[capacity + 1];
+      operatorOffsets = new int[capacity + 1];
+      shortObjects = new short[capacity];
+      packedOperators = new long[capacity / OPERATORS_PER_WORD + 1];
+      escapedOperatorPositions = new int[DEFAULT_CAPACITY];
+      escapedOperators = new int[DEFAULT_CAPACITY];
+   }
+
+
+   /**
+    * Creates a list of rankings, which contains the given rankings in their order.
+    *
+    * @param rankings the rankings to pack
+    */
+   public PackedRankingList(Collection<? extends Ranking> rankings) {
+      this(rankings.size());
+      addAll(rankings);
+   }
+
+
+   /**
+    * Creates a list of the rankings stored in the given arrays, as written block-wise into a
+    * binary dataset cache. The objects and compare operators of all rankings are stored one after
+    * another, a negative number of objects denotes {@code null}.
+    *
+    * @param objectLengths the number of objects of every ranking, or a negative value for
+    *           {@code null}
+    * @param operatorLengths the number of compare operators of every ranking
+    * @param objects the buffer containing the objects of all rankings from its position on
+    * @param operators the buffer containing the compare operators of all rankings from its
+    *           position on
+    * @return the list of the rankings
+    */
+   public static PackedRankingList fromBlocks(int[] objectLengths, int[] operatorLengths, IntBuffer objects, IntBuffer operators) {
+      PackedRankingList rankings = new PackedRankingList(objectLengths.length);
+      int objectPosition = objects.position();
+      int operatorPosition = operators.position();
+      for (int i = 0; i < objectLengths.length; i++) {
+         if (objectLengths[i] < 0) {
+            rankings.add(null);
+         } else {
+            rankings.add(objects, objectPosition, objectLengths[i], operators, operatorPosition, operatorLengths[i]);
+            objectPosition += objectLengths[i];
+            operatorPosition += operatorLengths[i];
+         }
+      }
+      return rankings;
+   }
+
+
+   /**
+    * Returns the given rankings as packed list. If they already are a packed list, it is returned
+    * as is, otherwise the rankings are copied into a new packed list.
+    *
+    * @param rankings the rankings to pack
+    * @return the packed list of the rankings
+    */
+   public static PackedRankingList pack(Collection<? extends Ranking> rankings) {
+      if (rankings instanceof PackedRankingList) {
+         return (PackedRankingList) rankings;
+      }
+      return new PackedRankingList(rankings);
+   }
+
+
+   @Override
+   public Ranking get(int index) {
+      rangeCheck(index);
+      if (nullRankings.get(index)) {
+         return null;
+      }
+      return new PackedRanking(index);
+   }
+
+
+   @Override
+   public int size() {
+      return size;
+   }
+
+
+   @Override
+   public boolean add(Ranking ranking) {
+      if (ranking == null) {
+         ensureCapacity(0, 0);
+         nullRankings.set(size);
+         objectOffsets[size + 1] = objectOffsets[size];
+         operatorOffsets[size + 1] = operatorOffsets[size];
+         size++;
+         invalidateOrderings();
+      } else {
+         int[] objectList = ranking.getObjectList();
+         int[] compareOperators = ranking.getCompareOperators();
+         add(IntBuffer.wrap(objectList), 0, objectList.length, IntBuffer.wrap(compareOperators), 0, compareOperators.length);
+      }
+      modCount++;
+      return true;
+   }
+
+
+   /**
+    * Appends the ranking with the given objects and compare operators at the end of this list.
+    *
+    * @param objects the buffer containing the objects of the ranking
+    * @param objectPosition the position of the first object of the ranking in the buffer
+    * @param numberOfObjects the number of objects of the ranking
+    * @param operators the buffer containing the compare operators of the ranking
+    * @param operatorPosition the position of the first compare operator in the buffer
+    * @param numberOfOperators the number of compare operators of the ranking
+    */
+   private void add(IntBuffer objects, int objectPosition, int numberOfObjects, IntBuffer operators, int operatorPosition,
+         int numberOfOperators) {
+      ensureCapacity(numberOfObjects, numberOfOperators);
+      int objectOffset = objectOffsets[size];
+      for (int i = 0; i < numberOfObjects; i++) {
+         setObject(objectOffset + i, objects.get(objectPosition + i));
+      }
+      int operatorOffset = operatorOffsets[size];
+      for (int i = 0; i < numberOfOperators; i++) {
+         setOperator(operatorOffset + i, operators.get(operatorPosition + i));
+      }
+      objectOffsets[size + 1] = objectOffset + numberOfObjects;
+      operatorOffsets[size + 1] = operatorOffset + numberOfOperators;
+      size++;
+      invalidateOrderings();
+   }
+
+
+   /**
+    * Returns the number of objects of the ranking at the given position.
+    *
+    * @param index the position of the ranking in this list
+    * @return the number of objects of the ranking
+    */
+   public int getNumberOfObjects(int index) {
+      rangeCheck(index);
+      return objectOffsets[index + 1] - objectOffsets[index];
+   }
+
+
+   /**
+    * Returns the object at the given position of the ranking at the given position, without
+    * creating a copy of the objects of the ranking.
+    *
+    * @param index the position of the ranking in this list
+    * @param position the position of the object in the ranking
+    * @return the object at the given position of the ranking
+    */
+   public int getObject(int index, int position) {
+      return getObject(getGlobalObjectPosition(index, position));
+   }
+
+
+   /**
+    * Returns the position of the given object in the ranking at the given position, which is the
+    * entry of the ordering of the ranking for this object.
+    *
+    * @param index the position of the ranking in this list
+    * @param object the object whose position should be returned
+    * @return the position of the object in the ranking
+    * @throws IllegalArgumentException if the objects of the ranking are no permutation of the
+    *            first natural numbers
+    */
+   public int getPositionOfObject(int index, int object) {
+      computeOrderingsIfNecessary();
+      int numberOfObjects = getNumberOfObjects(index);
+      if (rankingsWithoutOrdering.get(index)) {
+         throw new IllegalArgumentException(String.format(ERROR_NO_ORDERING, index, numberOfObjects - 1));
+      }
+      if (object < 0 || object >= numberOfObjects) {
+         throw new IndexOutOfBoundsException(Integer.toString(object));
+      }
+      int globalPosition = objectOffsets[index] + object;
+      return shortOrderings != null ? shortOrderings[globalPosition] : intOrderings[globalPosition];
+   }
+
+
+   /**
+    * Returns a copy of the objects of the ranking at the given position.
+    *
+    * @param index the position of the ranking in this list
+    * @return the objects of the ranking
+    */
+   public int[] getObjectList(int index) {
+      int[] objectList = new int[getNumberOfObjects(index)];
+      int objectOffset = objectOffsets[index];
+      for (int i = 0; i < objectList.length; i++) {
+         objectList[i] = getObject(objectOffset + i);
+      }
+      return objectList;
+   }
+
+
+   /**
+    * Returns the number of compare operators of the ranking at the given position.
+    *
+    * @param index the position of the ranking in this list
+    * @return the number of compare operators of the ranking
+    */
+   public int getNumberOfCompareOperators(int index) {
+      rangeCheck(index);
+      return operatorOffsets[index + 1] - operatorOffsets[index];
+   }
+
+
+   /**
+    * Returns the compare operator at the given position of the ranking at the given position,
+    * without creating a copy of the compare operators of the ranking.
+    *
+    * @param index the position of the ranking in this list
+    * @param position the position of the compare operator in the ranking
+    * @return the compare operator at the given position of the ranking
+    */
+   public int getCompareOperator(int index, int position) {
+      int numberOfOperators = getNumberOfCompareOperators(index);
+      if (position < 0 || position >= numberOfOperators) {
+         throw new IndexOutOfBoundsException(Integer.toString(position));
+      }
+      return getOperator(operatorOffsets[index] + position);
+   }
+
+
+   /**
+    * Returns a copy of the compare operators of the ranking at the given position.
+    *
+    * @param index the position of the ranking in this list
+    * @return the compare operators of the ranking
+    */
+   public int[] getCompareOperators(int index) {
+      rangeCheck(index);
+      int operatorOffset = operatorOffsets[index];
+      int[] compareOperators = new int[operatorOffsets[index + 1] - operatorOffset];
+      for (int i = 0; i < compareOperators.length; i++) {
+         compareOperators[i] = getOperator(operatorOffset + i);
+      }
+      return compareOperators;
+   }
+
+
+   /**
+    * Returns a copy of the ordering of the ranking at the given position, as returned by
+    * {@link Ranking#getOrderingForRanking()}. The orderings of all rankings are computed once, when
+    * the first ordering is requested.
+    *
+    * @param index the position of the ranking in this list
+    * @return the ordering of the ranking
+    * @throws IllegalArgumentException if the objects of the ranking are no permutation of the
+    *            first natural numbers
+    */
+   public int[] getOrdering(int index) {
+      computeOrderingsIfNecessary();
+      int[] ordering = new int[getNumberOfObjects(index)];
+      if (rankingsWithoutOrdering.get(index)) {
+         throw new IllegalArgumentException(String.format(ERROR_NO_ORDERING, index, ordering.length - 1));
+      }
+      int objectOffset = objectOffsets[index];
+      for (int i = 0; i < ordering.length; i++) {
+         ordering[i] = shortOrderings != null ? shortOrderings[objectOffset + i] : intOrderings[objectOffset + i];
+      }
+      return ordering;
+   }
+
+
+   /**
+    * Returns whether the ranking at the given position has an ordering, i.e. whether its objects
+    * are a permutation of the first natural numbers.
+    *
+    * @param index the position of the ranking in this list
+    * @return {@code true} if the ranking has an ordering
+    */
+   public boolean hasOrdering(int index) {
+      rangeCheck(index);
+      computeOrderingsIfNecessary();
+      return !nullRankings.get(index) && !rankingsWithoutOrdering.get(index);
+   }
+
+
+   /**
+    * Computes the orderings of all rankings, if they have not been computed since the last ranking
+    * was added.
+    */
+   private void computeOrderingsIfNecessary() {
+      if (!orderingsComputed) {
+         synchronized (this) {
+            if (!orderingsComputed) {
+               computeOrderings();
+               orderingsComputed = true;
+            }
+         }
+      }
+   }
+
+
+   /**
+    * Computes the orderings of all rankings into an array of the same layout and width as the
+    * objects. Rankings whose objects are no permutation of the first natural numbers, because an
+    * object is out of range or occurs more than once, are marked as having no ordering.
+    */
+   private void computeOrderings() {
+      int numberOfObjects = objectOffsets[size];
+      BitSet withoutOrdering = new BitSet();
+      BitSet seenObjects = new BitSet();
+      short[] newShortOrderings = shortObjects != null ? new short[numberOfObjects] : null;
+      int[] newIntOrderings = shortObjects != null ? null : new int[numberOfObjects];
+      for (int index = 0; index < size; index++) {
+         int objectOffset = objectOffsets[index];
+         int length = objectOffsets[index + 1] - objectOffset;
+         seenObjects.clear();
+         for (int position = 0; position < length; position++) {
+            int object = getObject(objectOffset + position);
+            if (object < 0 || object >= length || seenObjects.get(object)) {
+               withoutOrdering.set(index);
+               break;
+            }
+            seenObjects.set(object);
+            if (newShortOrderings != null) {
+               newShortOrderings[objectOffset + object] = (short) position;
+            } else {
+               newIntOrderings[objectOffset + object] = position;
+            }
+         }
+      }
+      shortOrderings = newShortOrderings;
+      intOrderings = newIntOrderings;
+      rankingsWithoutOrdering = withoutOrdering;
+   }
+
+
+   /**
+    * Discards the orderings after the list has been changed.
+    */
+   private void invalidateOrderings() {
+      if (orderingsComputed) {
+         synchronized (this) {
+            orderingsComputed = false;
+            shortOrderings = null;
+            intOrderings = null;
+            rankingsWithoutOrdering = null;
+         }
+      }
+   }
+
+
+   /**
+    * Returns the position of the given object of the given ranking in the array of all objects.
+    *
+    * @param index the position of the ranking in this list
+    * @param position the position of the object in the ranking
+    * @return the position of the object in the array of all objects
+    */
+   private int getGlobalObjectPosition(int index, int position) {
+      int numberOfObjects = getNumberOfObjects(index);
+      if (position < 0 || position >= numberOfObjects) {
+         throw new IndexOutOfBoundsException(Integer.toString(position));
+      }
+      return objectOffsets[index] + position;
+   }
+
+
+   /**
+    * Returns the object at the given position of the array of all objects.
+    *
+    * @param globalPosition the position in the array of all objects
+    * @return the object at this position
+    */
+   private int getObject(int globalPosition) {
+      return shortObjects != null ? shortObjects[globalPosition] : intObjects[globalPosition];
+   }
+
+
+   /**
+    * Stores the object at the given position of the array of all objects, and widens the array to
+    * {@code int} values if the object does not fit into a {@code short}.
+    *
+    * @param globalPosition the position in the array of all objects
+    * @param object the object to store
+    */
+   private void setObject(int globalPosition, int object) {
+      if (shortObjects != null && (object < Short.MIN_VALUE || object > Short.MAX_VALUE)) {
+         intObjects = new int[shortObjects.length];
+         for (int i = 0; i < globalPosition; i++) {
+            intObjects[i] = shortObjects[i];
+         }
+         shortObjects = null;
+      }
+      if (shortObjects != null) {
+         shortObjects[globalPosition] = (short) object;
+      } else {
+         intObjects[globalPosition] = object;
+      }
+   }
+
+
+   /**
+    * Returns the compare operator at the given position of all compare operators.
+    *
+    * @param globalPosition the position of the compare operator
+    * @return the compare operator
+    */
+   private int getOperator(int globalPosition) {
+      int shift = (globalPosition % OPERATORS_PER_WORD) * BITS_PER_OPERATOR;
+      int operator = (int) (packedOperators[globalPosition / OPERATORS_PER_WORD] >>> shift) & ESCAPED_OPERATOR;
+      if (operator == ESCAPED_OPERATOR) {
+         return escapedOperators[Arrays.binarySearch(escapedOperatorPositions, 0, numberOfEscapedOperators, globalPosition)];
+      }
+      return operator;
+   }
+
+
+   /**
+    * Stores the compare operator at the given position of all compare operators, which has to be
+    * the next position after the last stored operator. Operators which do not fit into the bits of
+    * an operator are stored separately.
+    *
+    * @param globalPosition the position of the compare operator
+    * @param operator the compare operator to store
+    */
+   private void setOperator(int globalPosition, int operator) {
+      int packedOperator = operator;
+      if (operator < 0 || operator >= ESCAPED_OPERATOR) {
+         if (numberOfEscapedOperators == escapedOperators.length) {
+            escapedOperators = Arrays.copyOf(escapedOperators, getGrownCapacity(escapedOperators.length, numberOfEscapedOperators + 1));
+            escapedOperatorPositions = Arrays.copyOf(escapedOperatorPositions, escapedOperators.length);
+         }
+         escapedOperatorPositions[numberOfEscapedOperators] = globalPosition;
+         escapedOperators[numberOfEscapedOperators] = operator;
+         numberOfEscapedOperators++;
+         packedOperator = ESCAPED_OPERATOR;
+      }
+      int shift = (globalPosition % OPERATORS_PER_WORD) * BITS_PER_OPERATOR;
+      int word = globalPosition / OPERATORS_PER_WORD;
+      packedOperators[word] = (packedOperators[word] & ~((long) ESCAPED_OPERATOR << shift)) | ((long) packedOperator << shift);
+   }
+
+
+   /**
+    * Ensures that another ranking with the given number of objects and compare operators can be
+    * appended.
+    *
+    * @param numberOfObjects the number of objects of the next ranking
+    * @param numberOfOperators the number of compare operators of the next ranking
+    */
+   private void ensureCapacity(int numberOfObjects, int numberOfOperators) {
+      if (size + 2 > objectOffsets.length) {
+         int capacity = getGrownCapacity(objectOffsets.length, size + 2);
+         objectOffsets = Arrays.copyOf(objectOffsets, capacity);
+         operatorOffsets = Arrays.copyOf(operatorOffsets, capacity);
+      }
+      int requiredObjects = objectOffsets[size] + numberOfObjects;
+      if (shortObjects != null && requiredObjects > shortObjects.length) {
+         shortObjects = Arrays.copyOf(shortObjects, getGrownCapacity(shortObjects.length, requiredObjects));
+      } else if (intObjects != null && requiredObjects > intObjects.length) {
+         intObjects = Arrays.copyOf(intObjects, getGrownCapacity(intObjects.length, requiredObjects));
+      }
+      int requiredWords = (operatorOffsets[size] + numberOfOperators) / OPERATORS_PER_WORD + 1;
+      if (requiredWords > packedOperators.length) {
+         packedOperators = Arrays.copyOf(packedOperators, getGrownCapacity(packedOperators.length, requiredWords));
+      }
+   }
+
+
+   /**
+    * Returns the new capacity of an array of the given capacity, which has to hold at least the
+    * given number of values.
+    *
+    * @param capacity the current capacity
+    * @param requiredCapacity the number of values which have to fit into the array
+    * @return the new capacity
+    */
+   private static int getGrownCapacity(int capacity, int requiredCapacity) {
+      int grownCapacity = capacity + (capacity >> 1);
+      return grownCapacity < requiredCapacity ? requiredCapacity : grownCapacity;
+   }
+
+
+   /**
+    * Checks whether the given position is a valid position of a ranking in this list.
+    *
+    * @param index the position to check
+    * @throws IndexOutOfBoundsException if the position is invalid
+    */
+   private void rangeCheck(int index) {
+      if (index < 0 || index >= size) {
+         throw new IndexOutOfBoundsException(Integer.toString(index));
+      }
+   }
+
+
+   /**
+    * A flyweight ranking, which reads the objects and compare operators of a ranking from the
+    * packed arrays of this list whenever they are requested.
+    *
+    * @author agent
+    *
+    */
+   private class PackedRanking extends Ranking {
+
+      private final int index;
+
+
+      /**
+       * Creates a view of the ranking at the given position of this list.
+       *
+       * @param index the position of the ranking in this list
+       */
+      private PackedRanking(int index) {
+         super(null, null);
+         this.index = index;
+      }
+
+
+      @Override
+      public int[] getObjectList() {
+         return PackedRankingList.this.getObjectList(index);
+      }
+
+
+      @Override
+      public int getObjectAt(int position) {
+         return getObject(index, position);
+      }
+
+
+      @Override
+      public int[] getCompareOperators() {
+         return PackedRankingList.this.getCompareOperators(index);
+      }
+
+
+      @Override
+      public int getCompareOperatorAt(int position) {
+         return getCompareOperator(index, position);
+      }
+
+
+      @Override
+      public int getNumberOfCompareOperators() {
+         return PackedRankingList.this.getNumberOfCompareOperators(index);
+      }
+
+
+      @Override
+      public int[] getOrderingForRanking() {
+         if (!hasOrdering(index)) {
+            return getOrderingFromRanking(getObjectList());
+         }
+         return getOrdering(index);
+      }
+
+
+      @Override
+      public int getNumberOfItems() {
+         return getNumberOfObjects(index);
+      }
+
+   }
+
+}
@@ -4,8 +4,6 @@
 package de.upb.cs.is.jpl.api.dataset.defaultdataset.relative;
 
 
-import java.util.Arrays;
-
 import de.upb.cs.is.jpl.api.dataset.ADatasetParser;
 import de.upb.cs.is.jpl.api.exception.dataset.ParsingFailedException;
 import de.upb.cs.is.jpl.api.util.StringUtils;
@@ -163,6 +161,18 @@ public class Ranking {
    }
 
 
+   /**
+    * Returns the compared object at the given position of the ranking, without copying the
+    * compared objects.
+    * 
+    * @param position the position of the object in the ranking
+    * @return the compared object at the given position
+    */
+   public int getObjectAt(int position) {
+      return objectList[position];
+   }
+
+
    /**
     * Returns the ordering for ranking. The ranking objects should start from 1 in increasing order.
     * This method is not applicable for partial ranking.
@@ -201,6 +211,27 @@ public class Ranking {
    }
 
 
+   /**
+    * Returns the compare operator at the given position, without copying the compare operators.
+    * 
+    * @param position the position of the compare operator
+    * @return the compare operator at the given position
+    */
+   public int getCompareOperatorAt(int position) {
+      return compareOperators[position];
+   }
+
+
+   /**
+    * Returns the number of compare operators.
+    * 
+    * @return the number of compare operators
+    */
+   public int getNumberOfCompareOperators() {
+      return compareOperators.length;
+   }
+
+
    /**
     * Returns the number of items.
     * 
@@ -213,6 +244,8 @@ public class Ranking {
 
    @Override
    public String toString() {
+      int[] objectList = getObjectList();
+      int[] compareOperators = getCompareOperators();
       StringBuilder rankingString = new StringBuilder();
       int operatorOffset = 0;
       if (compareOperators[0] == OPENING_BRACKETS_ENCODING) {
@@ -237,13 +270,20 @@ public class Ranking {
          return false;
 
       Ranking secondRanking = (Ranking) comparedObject;
-      for (int i = 0; i < compareOperators.length; i++) {
-         if (compareOperators[i] != secondRanking.compareOperators[i])
+      int numberOfItems = getNumberOfItems();
+      int numberOfCompareOperators = getNumberOfCompareOperators();
+      if (numberOfItems != secondRanking.getNumberOfItems() || numberOfCompareOperators != secondRanking.getNumberOfCompareOperators()) {
+         return false;
+      }
+      for (int i = 0; i < numberOfCompareOperators; i++) {
+         if (getCompareOperatorAt(i) != secondRanking.getCompareOperatorAt(i)) {
             return false;
+         }
       }
-      for (int i = 0; i < objectList.length; i++) {
-         if (objectList[i] != secondRanking.objectList[i])
+      for (int i = 0; i < numberOfItems; i++) {
+         if (getObjectAt(i) != secondRanking.getObjectAt(i)) {
             return false;
+         }
       }
       return true;
    }
@@ -251,9 +291,18 @@ public class Ranking {
 
    @Override
    public int hashCode() {
+      // combines the array hash codes of the compare operators and objects without copying them
+      int compareOperatorsHashCode = 1;
+      for (int i = 0; i < getNumberOfCompareOperators(); i++) {
+         compareOperatorsHashCode = 31 * compareOperatorsHashCode + getCompareOperatorAt(i);
+      }
+      int objectListHashCode = 1;
+      for (int i = 0; i < getNumberOfItems(); i++) {
+         objectListHashCode = 31 * objectListHashCode + getObjectAt(i);
+      }
       int hashCode = 1;
-      hashCode = 31 * hashCode + (Arrays.hashCode(compareOperators));
-      hashCode = 31 * hashCode + (Arrays.hashCode(objectList));
+      hashCode = 31 * hashCode + compareOperatorsHashCode;
+      hashCode = 31 * hashCode + objectListHashCode;
       return hashCode;
    }
 
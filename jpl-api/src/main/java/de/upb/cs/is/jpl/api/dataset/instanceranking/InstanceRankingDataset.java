@@ -10,6 +10,7 @@ import de.upb.cs.is.jpl.api.dataset.IInstance;
 import de.upb.cs.is.jpl.api.exception.dataset.InvalidInstanceException;
 import de.upb.cs.is.jpl.api.exception.dataset.WrongDatasetInputException;
 import de.upb.cs.is.jpl.api.util.CollectionsUtils;
+import de.upb.cs.is.jpl.api.util.datastructure.IndexedListView;
 import de.upb.cs.is.jpl.api.util.datastructure.NullType;
 
 
@@ -160,8 +161,22 @@ public class InstanceRankingDataset extends ADataset<double[], NullType, Integer
    }
 
 
+   @Override
+   public IDataset<double[], NullType, Integer> getView(int[] positions) {
+      InstanceRankingDataset view = new InstanceRankingDataset();
+      view.contextFeatureList = new IndexedListView<>(contextFeatureList, positions);
+      view.ratingList = new IndexedListView<>(ratingList, positions);
+      if (positions.length > 0) {
+         view.numberOfFeatures = contextFeatureList.get(positions[0]).length;
+      }
+      passSharingOnTo(view);
+      return view;
+   }
+
+
    @Override
    public void addInstance(IInstance<double[], NullType, Integer> instance) throws InvalidInstanceException {
+      assertIsNotShared();
       assertInstanceHasCorrectType(instance, InstanceRankingInstance.class);
 
       InstanceRankingInstance rankingInstance = (InstanceRankingInstance) instance;
@@ -1,11 +1,15 @@
 package de.upb.cs.is.jpl.api.dataset.instanceranking;
 
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
 import de.upb.cs.is.jpl.api.dataset.ADatasetParser;
+import de.upb.cs.is.jpl.api.dataset.BinaryDatasetReader;
+import de.upb.cs.is.jpl.api.dataset.BinaryDatasetWriter;
 import de.upb.cs.is.jpl.api.dataset.IDataset;
+import de.upb.cs.is.jpl.api.dataset.LineTokenizer;
 import de.upb.cs.is.jpl.api.exception.dataset.ParsingFailedException;
 import de.upb.cs.is.jpl.api.util.datastructure.NullType;
 
@@ -39,21 +43,26 @@ public class InstanceRankingDatasetParser extends ADatasetParser {
       // Split line into [c*]:[*] and use second part
       String[] splittedLine = contextInformationLine.trim().split(ID_DIVIDER, 2);
       try {
-         // Split line into single features
-         String[] features = splittedLine[1].trim().split(VECTOR_DIVIDER);
+         // Tokenize line into single features
+         LineTokenizer features = new LineTokenizer(splittedLine[1]);
+         int numberOfFeaturesInLine = features.countRemainingTokens();
 
          // Find different feature vector length
          if (numberOfFeatures == -1) {
             // Save features of first line
-            numberOfFeatures = features.length;
+            numberOfFeatures = numberOfFeaturesInLine;
          }
 
-         if (numberOfFeatures != features.length) {
+         if (numberOfFeatures != numberOfFeaturesInLine) {
             throw new ParsingFailedException(String.format(ERROR_IN_CONTEXT_LINE_FEATURE_NUMBERS, this.contextsDeclared));
          }
 
          // Add features
-         contextFeatureList.add(createInstanceFeatureArray(features));
+         if (isContextFeatureSelected()) {
+            contextFeatureList.add(parseContextValues(splittedLine[1]));
+         } else {
+            contextFeatureList.add(createInstanceFeatureArray(features));
+         }
 
       } catch (NumberFormatException e) {
          throw new ParsingFailedException(String.format(ERROR_IN_CONTEXT_LINE_PARSING_FEATURES, this.contextsDeclared), e);
@@ -64,23 +73,23 @@ public class InstanceRankingDatasetParser extends ADatasetParser {
 
 
    /**
-    * Create a context feature array out of feature string array which separated features via comma.
-    * This function will also remove unused features.
+    * Create a context feature array out of the tokenized features. This function will also remove
+    * unused features.
     * 
-    * @param features string array with the context features
+    * @param features the tokenizer positioned before the first context feature
     * @return a double array with the context features
     */
-   private double[] createInstanceFeatureArray(String[] features) {
+   private double[] createInstanceFeatureArray(LineTokenizer features) {
       double[] instanceList = new double[numberOfFeatures];
 
-      for (int i = 0; i < numberOfFeatures; i++) {
+      for (int i = 0; i < numberOfFeatures && features.nextToken(); i++) {
          // Check if only a few features should be selected
          if (!this.itemFeatures.isEmpty()) {
             if (this.itemFeatures.containsKey(i + 1)) {
-               instanceList[i] = Double.parseDouble(features[i]);
+               instanceList[i] = features.getTokenAsDouble();
             }
          } else {
-            instanceList[i] = Double.parseDouble(features[i]);
+            instanceList[i] = features.getTokenAsDouble();
          }
       }
       return instanceList;
@@ -147,6 +156,53 @@ public class InstanceRankingDatasetParser extends ADatasetParser {
    }
 
 
+   @Override
+   protected boolean isBinaryCacheSupported() {
+      return true;
+   }
+
+
+   @Override
+   protected void writeParsedData(BinaryDatasetWriter writer) throws IOException {
+      writer.writeInt(numberOfFeatures);
+      writer.writeDoubleBlock(contextFeatureList);
+      writer.writeIntegerList(ratingList);
+   }
+
+
+   @Override
+   protected void readParsedData(BinaryDatasetReader reader) throws IOException {
+      numberOfFeatures = reader.readInt();
+      contextFeatureList.addAll(reader.readDoubleBlock());
+      ratingList.addAll(reader.readIntegerList());
+   }
+
+
+   @Override
+   protected boolean isStreamingSupported() {
+      return true;
+   }
+
+
+   @Override
+   protected boolean isContextInformationPerInstance() {
+      return true;
+   }
+
+
+   /**
+    * {@inheritDoc}
+    * 
+    * The number of features of the first context is kept, so that all chunks are checked against
+    * it.
+    */
+   @Override
+   protected void startNextChunk() {
+      contextFeatureList = new ArrayList<>();
+      ratingList = new ArrayList<>();
+   }
+
+
    @Override
    protected void parseItemVectorLine(String itemInformationLine) throws ParsingFailedException {
       // Function not needed
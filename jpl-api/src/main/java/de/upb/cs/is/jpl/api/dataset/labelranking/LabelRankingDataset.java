@@ -2,15 +2,18 @@ package de.upb.cs.is.jpl.api.dataset.labelranking;
 
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import de.upb.cs.is.jpl.api.algorithm.baselearner.dataset.BaselearnerDataset;
 import de.upb.cs.is.jpl.api.dataset.ADataset;
 import de.upb.cs.is.jpl.api.dataset.IDataset;
 import de.upb.cs.is.jpl.api.dataset.IInstance;
+import de.upb.cs.is.jpl.api.dataset.defaultdataset.relative.PackedRankingList;
 import de.upb.cs.is.jpl.api.dataset.defaultdataset.relative.Ranking;
 import de.upb.cs.is.jpl.api.exception.dataset.InvalidInstanceException;
 import de.upb.cs.is.jpl.api.util.CollectionsUtils;
+import de.upb.cs.is.jpl.api.util.datastructure.IndexedListView;
 import de.upb.cs.is.jpl.api.util.datastructure.NullType;
 
 
@@ -18,7 +21,8 @@ import de.upb.cs.is.jpl.api.util.datastructure.NullType;
  * 
  * This class represents a simple and efficient dataset for the label ranking problem. The dataset
  * is implemented in such a way that it does not work with {@link LabelRankingInstance}s directly in
- * order to save resources.
+ * order to save resources. The rankings are stored packed in a {@link PackedRankingList}, unless
+ * the dataset is a view of another dataset.
  * 
  * @author Andreas Kornelsen
  *
@@ -48,7 +52,7 @@ public class LabelRankingDataset extends ADataset<double[], NullType, Ranking> {
     * @param rankings the rankings for all instances
     */
    public LabelRankingDataset(List<Integer> labels, List<double[]> features, List<Ranking> rankings) {
-      this(labels, features, rankings, new ArrayList<>());
+      this(labels, features, PackedRankingList.pack(rankings), new ArrayList<>());
    }
 
 
@@ -112,7 +116,7 @@ public class LabelRankingDataset extends ADataset<double[], NullType, Ranking> {
       List<Integer> copyLabels = CollectionsUtils.getDeepCopyOf(labels);
 
       List<double[]> fromToFeatures = new ArrayList<>();
-      List<Ranking> fromToRankings = new ArrayList<>();
+      List<Ranking> fromToRankings = new PackedRankingList(to - from);
       List<Integer> fromToIds = new ArrayList<>();
 
       for (int i = from; i < to; i++) {
@@ -125,8 +129,18 @@ public class LabelRankingDataset extends ADataset<double[], NullType, Ranking> {
    }
 
 
+   @Override
+   public IDataset<double[], NullType, Ranking> getView(int[] positions) {
+      LabelRankingDataset view = new LabelRankingDataset(Collections.unmodifiableList(labels), new IndexedListView<>(features, positions),
+            new IndexedListView<>(rankings, positions), new ArrayList<>());
+      passSharingOnTo(view);
+      return view;
+   }
+
+
    @Override
    public void addInstance(IInstance<double[], NullType, Ranking> instance) throws InvalidInstanceException {
+      assertIsNotShared();
       assertInstanceHasCorrectType(instance, LabelRankingInstance.class);
 
       LabelRankingInstance castedInstance = (LabelRankingInstance) instance;
@@ -211,6 +225,16 @@ public class LabelRankingDataset extends ADataset<double[], NullType, Ranking> {
    }
 
 
+   /**
+    * Returns an unmodifiable view of the rankings of all instances, which does not copy them.
+    *
+    * @return the rankings of all instances
+    */
+   public List<Ranking> getRankings() {
+      return Collections.unmodifiableList(rankings);
+   }
+
+
    /**
     * Returns a copy of rankings.
     * 
@@ -1,14 +1,18 @@
 package de.upb.cs.is.jpl.api.dataset.labelranking;
 
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
 import de.upb.cs.is.jpl.api.dataset.ADatasetParser;
+import de.upb.cs.is.jpl.api.dataset.BinaryDatasetReader;
+import de.upb.cs.is.jpl.api.dataset.BinaryDatasetWriter;
 import de.upb.cs.is.jpl.api.dataset.IDataset;
+import de.upb.cs.is.jpl.api.dataset.LineTokenizer;
+import de.upb.cs.is.jpl.api.dataset.defaultdataset.relative.PackedRankingList;
 import de.upb.cs.is.jpl.api.dataset.defaultdataset.relative.Ranking;
 import de.upb.cs.is.jpl.api.exception.dataset.ParsingFailedException;
-import de.upb.cs.is.jpl.api.util.CollectionsUtils;
 
 
 /**
@@ -23,14 +27,13 @@ public class LabelRankingDatasetParser extends ADatasetParser {
    private static final String ERROR_LINE_CONTAINS_NO_CONTENT = "Line contains no content, line: %s.";
    private static final String ERROR_PARSE_FEATURE_LINE = "Error by parsing double values of feature linem line %s.";
    private static final String ERROR_FEATURE_LINE_SPLIT = "The provided feature line couldn't be split, featureLine: %s.";
-   private static final String ERROR_FEATURE_VALUE_COULDNT_BE_PARSED = "A feature value couldn't be parsed, featureValue: %s.";
    private static final String ERROR_UNEQUAL_SIZE_OF_RANKINGS_AND_FEATURES = "The size of the rankings and the features is not the same, rankingsSize: %d, featuresSize: %d.";
    private static final String ERROR_NO_ID_DIVIDER_IN_STRING = "No id divider found in the line, line: %s.";
    private static final String ERROR_INTEGER_PARSE = "String couldn't be parsed to Integer, integerString: %s.";
 
    private List<Integer> labels;
    private List<double[]> features;
-   private List<Ranking> rankings;
+   private PackedRankingList rankings;
    private LabelRankingDataset labelRankingDataset;
 
 
@@ -47,7 +50,7 @@ public class LabelRankingDatasetParser extends ADatasetParser {
    protected void initParse() throws ParsingFailedException {
       this.labels = new ArrayList<>();
       this.features = new ArrayList<>();
-      this.rankings = new ArrayList<>();
+      this.rankings = new PackedRankingList();
    }
 
 
@@ -64,6 +67,46 @@ public class LabelRankingDatasetParser extends ADatasetParser {
    }
 
 
+   /**
+    * {@inheritDoc}
+    * 
+    * The contexts and the rankings are stored in the order of their lines, so that the context of
+    * a ranking is the line of the context file at the same position.
+    */
+   @Override
+   protected boolean isContextInformationPerInstance() {
+      return true;
+   }
+
+
+   @Override
+   protected String getStratumOfRatingLine(String ratingLine) {
+      return getTopObjectOfRankingLine(ratingLine);
+   }
+
+
+   @Override
+   protected boolean isBinaryCacheSupported() {
+      return true;
+   }
+
+
+   @Override
+   protected void writeParsedData(BinaryDatasetWriter writer) throws IOException {
+      writer.writeIntegerList(labels);
+      writer.writeDoubleBlock(features);
+      writer.writeRankings(rankings);
+   }
+
+
+   @Override
+   protected void readParsedData(BinaryDatasetReader reader) throws IOException {
+      labels.addAll(reader.readIntegerList());
+      features.addAll(reader.readDoubleBlock());
+      rankings = reader.readPackedRankings();
+   }
+
+
    @Override
    protected void parseItemVectorLine(String itemInformationLine) throws ParsingFailedException {
       String itemLineContent = getLineContent(itemInformationLine);
@@ -153,7 +196,7 @@ public class LabelRankingDatasetParser extends ADatasetParser {
 
    /**
     * Parses the provided features values out of the string and returns the feature values in an
-    * array.
+    * array. If the dataset file selects a subset of the features, only their values are parsed.
     * 
     * @param featureLineString the string which contains the double feature values
     * @return the parsed feature values
@@ -161,23 +204,9 @@ public class LabelRankingDatasetParser extends ADatasetParser {
     *            empty
     */
    private double[] parseFeatureValues(String featureLineString) throws ParsingFailedException {
-      String[] split = featureLineString.split(VECTOR_DIVIDER);
-
-      if (split == null || split.length == 0) {
+      if (!new LineTokenizer(featureLineString).nextToken()) {
          throw new ParsingFailedException(String.format(ERROR_FEATURE_LINE_SPLIT, featureLineString));
       }
-
-      List<Double> featureValuesList = new ArrayList<>();
-
-      for (String featureValueString : split) {
-         try {
-            double featureValue = Double.parseDouble(featureValueString);
-            featureValuesList.add(featureValue);
-         } catch (NumberFormatException | NullPointerException e) {
-            throw new ParsingFailedException(String.format(ERROR_FEATURE_VALUE_COULDNT_BE_PARSED, featureValueString), e);
-         }
-      }
-
-      return CollectionsUtils.convertDoubleListToArray(featureValuesList);
+      return parseContextValues(featureLineString);
    }
 }
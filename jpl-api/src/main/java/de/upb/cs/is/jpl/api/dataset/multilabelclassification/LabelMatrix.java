@@ -0,0 +1,431 @@
+package de.upb.cs.is.jpl.api.dataset.multilabelclassification;
+
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+import de.upb.cs.is.jpl.api.math.linearalgebra.IVector;
+import de.upb.cs.is.jpl.api.math.linearalgebra.SparseDoubleVector;
+
+
+/**
+ * A list of binary label vectors, which stores the labels of all instances bit-packed in a single
+ * array of {@code long} words instead of one {@link SparseDoubleVector} per instance. The rows of
+ * the matrix are the instances and its columns the labels, where each row occupies a whole number
+ * of words. Hence a row with thousands of labels needs one bit per label, and operations on whole
+ * rows or columns, like counting the labels of an instance or comparing two label vectors, work on
+ * 64 labels at once by a population count.
+ *
+ * The label vectors returned by {@link #get(int)} are created from the bits on demand. The
+ * column-major transposition of the matrix, which allows to extract all instances of a label in
+ * time linear in the number of instances divided by 64, is computed when it is requested first and
+ * kept until the next label vector is added.
+ *
+ * The list can only be extended by adding label vectors at its end, which must only contain the
+ * values {@code 0} and {@code 1}.
+ *
+ * @author agent
+ *
+ */
+public class LabelMatrix extends AbstractList<SparseDoubleVector> implements RandomAccess {
+
+   private static final String ERROR_LABEL_NOT_BINARY = "The label vector contains the value %s for label %d, but only 0 and 1 are allowed.";
+   private static final String ERROR_WRONG_NUMBER_OF_LABELS = "The label vector has %d labels, but the label matrix has %d labels.";
+
+   private static final int DEFAULT_CAPACITY = 16;
+   private static final int ADDRESS_BITS_PER_WORD = 6;
+
+   private int numberOfLabels;
+   private int wordsPerRow;
+   private int size = 0;
+   private long[] rows;
+
+   private volatile long[] columns;
+
+
+   /**
+    * Creates an empty label matrix, whose number of labels is determined by the first label vector
+    * added.
+    */
+   public LabelMatrix() {
+      this(-1);
+   }
+
+
+   /**
+    * Creates an empty label matrix for the given number of labels.
+    *
+    * @param numberOfLabels the number of labels, or {@code -1} if it is determined by the first
+    *           label vector added
+    */
+   public LabelMatrix(int numberOfLabels) {
+      setNumberOfLabels(numberOfLabels);
+      rows = new long[DEFAULT_CAPACITY * wordsPerRow];
+   }
+
+
+   /**
+    * Returns the given label vectors as label matrix, if they already are one. The label vectors
+    * are never copied.
+    *
+    * @param labelVectors the label vectors
+    * @return the label vectors as label matrix, or {@code null} if they are not a label matrix
+    */
+   public static LabelMatrix asLabelMatrix(List<? extends IVector> labelVectors) {
+      return labelVectors instanceof LabelMatrix ? (LabelMatrix) labelVectors : null;
+   }
+
+
+   @Override
+   public SparseDoubleVector get(int index) {
+      int[] labels = getLabelsOfRow(index);
+      double[] values = new double[labels.length];
+      Arrays.fill(values, 1);
+      return new SparseDoubleVector(labels, values, numberOfLabels);
+   }
+
+
+   @Override
+   public int size() {
+      return size;
+   }
+
+
+   /**
+    * {@inheritDoc}
+    *
+    * @throws IllegalArgumentException if the label vector has a different number of labels than
+    *            this matrix, or contains other values than {@code 0} and {@code 1}
+    */
+   @Override
+   public boolean add(SparseDoubleVector labelVector) {
+      if (numberOfLabels < 0) {
+         setNumberOfLabels(labelVector.length());
+      }
+      if (labelVector.length() != numberOfLabels) {
+         throw new IllegalArgumentException(String.format(ERROR_WRONG_NUMBER_OF_LABELS, labelVector.length(), numberOfLabels));
+      }
+      int row = appendEmptyRow();
+      for (int label : labelVector.getNonZeroIndices()) {
+         double value = labelVector.getValue(label);
+         if (Double.compare(value, 1.0) != 0) {
+            size--;
+            throw new IllegalArgumentException(String.format(ERROR_LABEL_NOT_BINARY, value, label));
+         }
+         setBit(row, label);
+      }
+      return true;
+   }
+
+
+   /**
+    * Adds a copy of the given row of the given label matrix, which has the same number of labels,
+    * to this matrix.
+    *
+    * @param labelMatrix the label matrix to copy the row from
+    * @param row the row to copy
+    * @throws IllegalArgumentException if the other label matrix has a different number of labels
+    */
+   public void addRowOf(LabelMatrix labelMatrix, int row) {
+      labelMatrix.rangeCheck(row);
+      if (numberOfLabels < 0) {
+         setNumberOfLabels(labelMatrix.numberOfLabels);
+      }
+      if (labelMatrix.numberOfLabels != numberOfLabels) {
+         throw new IllegalArgumentException(String.format(ERROR_WRONG_NUMBER_OF_LABELS, labelMatrix.numberOfLabels, numberOfLabels));
+      }
+      int newRow = appendEmptyRow();
+      System.arraycopy(labelMatrix.rows, row * wordsPerRow, rows, newRow * wordsPerRow, wordsPerRow);
+   }
+
+
+   /**
+    * Returns a new label matrix which contains copies of the given rows of this matrix in the given
+    * order. Each row is copied word-wise.
+    *
+    * @param positions the rows to copy
+    * @return the label matrix of the given rows
+    */
+   public LabelMatrix getRows(int[] positions) {
+      LabelMatrix labelMatrix = new LabelMatrix(numberOfLabels);
+      labelMatrix.ensureCapacity(positions.length);
+      for (int position : positions) {
+         labelMatrix.addRowOf(this, position);
+      }
+      return labelMatrix;
+   }
+
+
+   /**
+    * Returns the number of labels of this matrix, i.e. the length of its label vectors.
+    *
+    * @return the number of labels, or {@code -1} if it has not been determined yet
+    */
+   public int getNumberOfLabels() {
+      return numberOfLabels;
+   }
+
+
+   /**
+    * Returns whether the given label is set in the given row.
+    *
+    * @param row the row of the instance
+    * @param label the label
+    * @return {@code true} if the label is set
+    */
+   public boolean isLabelSet(int row, int label) {
+      rangeCheck(row);
+      labelCheck(label);
+      return (rows[row * wordsPerRow + (label >>> ADDRESS_BITS_PER_WORD)] & (1L << label)) != 0;
+   }
+
+
+   /**
+    * Returns the number of labels set in the given row.
+    *
+    * @param row the row of the instance
+    * @return the number of labels set
+    */
+   public int getNumberOfLabelsOfRow(int row) {
+      rangeCheck(row);
+      int numberOfLabelsOfRow = 0;
+      for (int word = row * wordsPerRow; word < (row + 1) * wordsPerRow; word++) {
+         numberOfLabelsOfRow += Long.bitCount(rows[word]);
+      }
+      return numberOfLabelsOfRow;
+   }
+
+
+   /**
+    * Returns the labels set in the given row in ascending order.
+    *
+    * @param row the row of the instance
+    * @return the labels set in the row
+    */
+   public int[] getLabelsOfRow(int row) {
+      int[] labels = new int[getNumberOfLabelsOfRow(row)];
+      int numberOfFoundLabels = 0;
+      for (int word = 0; word < wordsPerRow; word++) {
+         long bits = rows[row * wordsPerRow + word];
+         while (bits != 0) {
+            labels[numberOfFoundLabels++] = (word << ADDRESS_BITS_PER_WORD) + Long.numberOfTrailingZeros(bits);
+            bits &= bits - 1;
+         }
+      }
+      return labels;
+   }
+
+
+   /**
+    * Returns the number of labels in which the given row of this matrix differs from the given row
+    * of the given matrix, which has the same number of labels.
+    *
+    * @param row the row of this matrix
+    * @param labelMatrix the other label matrix
+    * @param otherRow the row of the other label matrix
+    * @return the number of differing labels
+    * @throws IllegalArgumentException if the other label matrix has a different number of labels
+    */
+   public int getNumberOfDifferingLabels(int row, LabelMatrix labelMatrix, int otherRow) {
+      rangeCheck(row);
+      labelMatrix.rangeCheck(otherRow);
+      if (labelMatrix.numberOfLabels != numberOfLabels) {
+         throw new IllegalArgumentException(String.format(ERROR_WRONG_NUMBER_OF_LABELS, labelMatrix.numberOfLabels, numberOfLabels));
+      }
+      int numberOfDifferingLabels = 0;
+      for (int word = 0; word < wordsPerRow; word++) {
+         numberOfDifferingLabels += Long.bitCount(rows[row * wordsPerRow + word] ^ labelMatrix.rows[otherRow * wordsPerRow + word]);
+      }
+      return numberOfDifferingLabels;
+   }
+
+
+   /**
+    * Returns the column of the given label as bits, where bit {@code i % 64} of word
+    * {@code i / 64} is set if the label is set in row {@code i}.
+    *
+    * @param label the label
+    * @return a copy of the column of the label
+    */
+   public long[] getColumn(int label) {
+      labelCheck(label);
+      long[] transposedRows = getColumns();
+      int wordsPerColumn = transposedRows.length / numberOfLabels;
+      return Arrays.copyOfRange(transposedRows, label * wordsPerColumn, (label + 1) * wordsPerColumn);
+   }
+
+
+   /**
+    * Returns the number of rows in which the given label is set.
+    *
+    * @param label the label
+    * @return the number of rows with the label
+    */
+   public int getNumberOfRowsWithLabel(int label) {
+      labelCheck(label);
+      long[] transposedRows = getColumns();
+      int wordsPerColumn = transposedRows.length / numberOfLabels;
+      int numberOfRows = 0;
+      for (int word = label * wordsPerColumn; word < (label + 1) * wordsPerColumn; word++) {
+         numberOfRows += Long.bitCount(transposedRows[word]);
+      }
+      return numberOfRows;
+   }
+
+
+   /**
+    * Returns the number of rows in which the given label is set both in this matrix and in the
+    * given matrix, which has the same number of rows and labels.
+    *
+    * @param labelMatrix the other label matrix
+    * @param label the label
+    * @return the number of rows with the label in both matrices
+    * @throws IllegalArgumentException if the other label matrix has a different number of rows or
+    *            labels
+    */
+   public int getNumberOfRowsWithLabelInBoth(LabelMatrix labelMatrix, int label) {
+      labelCheck(label);
+      if (labelMatrix.numberOfLabels != numberOfLabels || labelMatrix.size != size) {
+         throw new IllegalArgumentException(String.format(ERROR_WRONG_NUMBER_OF_LABELS, labelMatrix.numberOfLabels, numberOfLabels));
+      }
+      long[] transposedRows = getColumns();
+      long[] otherTransposedRows = labelMatrix.getColumns();
+      int wordsPerColumn = transposedRows.length / numberOfLabels;
+      int numberOfRows = 0;
+      for (int word = label * wordsPerColumn; word < (label + 1) * wordsPerColumn; word++) {
+         numberOfRows += Long.bitCount(transposedRows[word] & otherTransposedRows[word]);
+      }
+      return numberOfRows;
+   }
+
+
+   @Override
+   public boolean equals(Object obj) {
+      if (this == obj) {
+         return true;
+      }
+      if (obj instanceof LabelMatrix) {
+         LabelMatrix other = (LabelMatrix) obj;
+         return size == other.size && (size == 0 || numberOfLabels == other.numberOfLabels)
+               && Arrays.equals(Arrays.copyOf(rows, size * wordsPerRow), Arrays.copyOf(other.rows, other.size * other.wordsPerRow));
+      }
+      return super.equals(obj);
+   }
+
+
+   @Override
+   public int hashCode() {
+      return super.hashCode();
+   }
+
+
+   /**
+    * Returns the column-major transposition of this matrix, which is computed if a label vector
+    * has been added since it was computed last. Each column occupies the length of the returned
+    * array divided by the number of labels in words, which is derived from the array itself, so
+    * that it always matches the array even if a label vector is added concurrently.
+    *
+    * @return the columns of this matrix one after another
+    */
+   private long[] getColumns() {
+      long[] transposedRows = columns;
+      if (transposedRows != null) {
+         return transposedRows;
+      }
+      synchronized (this) {
+         if (columns == null) {
+            int numberOfWordsPerColumn = (size + Long.SIZE - 1) >>> ADDRESS_BITS_PER_WORD;
+            transposedRows = new long[Math.max(numberOfLabels, 0) * numberOfWordsPerColumn];
+            for (int row = 0; row < size; row++) {
+               for (int word = 0; word < wordsPerRow; word++) {
+                  long bits = rows[row * wordsPerRow + word];
+                  while (bits != 0) {
+                     int label = (word << ADDRESS_BITS_PER_WORD) + Long.numberOfTrailingZeros(bits);
+                     transposedRows[label * numberOfWordsPerColumn + (row >>> ADDRESS_BITS_PER_WORD)] |= 1L << row;
+                     bits &= bits - 1;
+                  }
+               }
+            }
+            columns = transposedRows;
+         }
+         return columns;
+      }
+   }
+
+
+   /**
+    * Sets the number of labels and the number of words per row accordingly.
+    *
+    * @param numberOfLabels the number of labels, or {@code -1} if it is not known yet
+    */
+   private void setNumberOfLabels(int numberOfLabels) {
+      this.numberOfLabels = numberOfLabels;
+      wordsPerRow = numberOfLabels > 0 ? (numberOfLabels + Long.SIZE - 1) >>> ADDRESS_BITS_PER_WORD : 0;
+   }
+
+
+   /**
+    * Appends a row without any labels to this matrix.
+    *
+    * @return the number of the new row
+    */
+   private int appendEmptyRow() {
+      ensureCapacity(size + 1);
+      Arrays.fill(rows, size * wordsPerRow, (size + 1) * wordsPerRow, 0L);
+      columns = null;
+      return size++;
+   }
+
+
+   /**
+    * Grows the array of rows, so that it can hold the given number of rows.
+    *
+    * @param numberOfRows the number of rows to hold
+    */
+   private void ensureCapacity(int numberOfRows) {
+      if ((long) numberOfRows * wordsPerRow > rows.length) {
+         int newCapacity = Math.max(numberOfRows, Math.max(2 * (rows.length / Math.max(wordsPerRow, 1)), DEFAULT_CAPACITY));
+         rows = Arrays.copyOf(rows, newCapacity * wordsPerRow);
+      }
+   }
+
+
+   /**
+    * Sets the bit of the given label in the given row.
+    *
+    * @param row the row
+    * @param label the label
+    */
+   private void setBit(int row, int label) {
+      rows[row * wordsPerRow + (label >>> ADDRESS_BITS_PER_WORD)] |= 1L << label;
+   }
+
+
+   /**
+    * Checks whether the given row exists.
+    *
+    * @param row the row to check
+    * @throws IndexOutOfBoundsException if the row does not exist
+    */
+   private void rangeCheck(int row) {
+      if (row < 0 || row >= size) {
+         throw new IndexOutOfBoundsException(Integer.toString(row));
+      }
+   }
+
+
+   /**
+    * Checks whether the given label exists.
+    *
+    * @param label the label to check
+    * @throws IndexOutOfBoundsException if the label does not exist
+    */
+   private void labelCheck(int label) {
+      if (label < 0 || label >= numberOfLabels) {
+         throw new IndexOutOfBoundsException(Integer.toString(label));
+      }
+   }
+
+}
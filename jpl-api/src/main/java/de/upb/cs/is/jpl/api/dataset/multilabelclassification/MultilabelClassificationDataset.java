@@ -7,15 +7,16 @@ import java.util.List;
 import de.upb.cs.is.jpl.api.dataset.ADataset;
 import de.upb.cs.is.jpl.api.dataset.IInstance;
 import de.upb.cs.is.jpl.api.math.linearalgebra.SparseDoubleVector;
+import de.upb.cs.is.jpl.api.util.datastructure.IndexedListView;
 import de.upb.cs.is.jpl.api.util.datastructure.NullType;
 
 
 /**
  * This class represents a simple and efficient dataset for multilabel classification problems with
- * sparse datasets (in terms of the label). In particular this implementation assumes that each
- * instance is only labeled with very few labels from the label set, as the labels of each instance
- * are stored in a sparse vector. Therefore the memory and possibly also the runtime efficiency of
- * this dataset decreases if the underlying dataset is not sparse (in terms of the labels).
+ * binary labels. The labels of all instances are stored bit-packed in a {@link LabelMatrix}, which
+ * needs one bit per label and instance independent of how many labels an instance is labeled with,
+ * and which allows the learning algorithms and metrics to work on whole label columns or label
+ * vectors at once. The label vectors of single instances are provided as sparse vectors on demand.
  * 
  * The dataset is implemented in such a way to not work with
  * {@link MultilabelClassificationInstance}s directly in order to save resources.
@@ -28,7 +29,7 @@ public class MultilabelClassificationDataset extends ADataset<double[], NullType
 
    private int numberOfLabels;
    private List<double[]> featureVectors;
-   private List<SparseDoubleVector> correctResults;
+   private LabelMatrix correctResults;
 
 
    /**
@@ -59,7 +60,7 @@ public class MultilabelClassificationDataset extends ADataset<double[], NullType
    @Override
    protected void init() {
       this.featureVectors = new ArrayList<>();
-      this.correctResults = new ArrayList<>();
+      this.correctResults = new LabelMatrix();
    }
 
 
@@ -79,7 +80,7 @@ public class MultilabelClassificationDataset extends ADataset<double[], NullType
       MultilabelClassificationDataset partialDataset = new MultilabelClassificationDataset(getNumberOfLabels(), getNumberOfFeatures());
       for (int i = from; i < to; i++) {
          partialDataset.addFeatureVector(featureVectors.get(i));
-         partialDataset.addCorrectResult(correctResults.get(i));
+         partialDataset.correctResults.addRowOf(correctResults, i);
       }
       return partialDataset;
    }
@@ -91,8 +92,19 @@ public class MultilabelClassificationDataset extends ADataset<double[], NullType
    }
 
 
+   @Override
+   public MultilabelClassificationDataset getView(int[] positions) {
+      MultilabelClassificationDataset view = new MultilabelClassificationDataset(getNumberOfLabels(), getNumberOfFeatures());
+      view.featureVectors = new IndexedListView<>(featureVectors, positions);
+      view.correctResults = correctResults.getRows(positions);
+      passSharingOnTo(view);
+      return view;
+   }
+
+
    @Override
    public void addInstance(IInstance<double[], NullType, SparseDoubleVector> instance) {
+      assertIsNotShared();
       assertInstanceHasCorrectType(instance, MultilabelClassificationInstance.class);
       MultilabelClassificationInstance castedInstance = (MultilabelClassificationInstance) instance;
       featureVectors.add(castedInstance.getContextFeatureVector());
@@ -106,6 +118,7 @@ public class MultilabelClassificationDataset extends ADataset<double[], NullType
     * @param featureVector the feature vector to add
     */
    public void addFeatureVector(double[] featureVector) {
+      assertIsNotShared();
       featureVectors.add(featureVector);
    }
 
@@ -114,8 +127,11 @@ public class MultilabelClassificationDataset extends ADataset<double[], NullType
     * Adds the given correct result to this dataset.
     * 
     * @param correctResult the correct result to add
+    * @throws IllegalArgumentException if the correct result contains other values than {@code 0}
+    *            and {@code 1}, or has a different number of labels than the previous ones
     */
    public void addCorrectResult(SparseDoubleVector correctResult) {
+      assertIsNotShared();
       correctResults.add(correctResult);
    }
 
@@ -140,7 +156,7 @@ public class MultilabelClassificationDataset extends ADataset<double[], NullType
     */
    public int getNumberOfLabels() {
       if (numberOfLabels == -1 && getNumberOfInstances() > 0) {
-         numberOfLabels = correctResults.get(0).length();
+         numberOfLabels = correctResults.getNumberOfLabels();
       }
       return numberOfLabels;
    }
@@ -166,6 +182,16 @@ public class MultilabelClassificationDataset extends ADataset<double[], NullType
    }
 
 
+   /**
+    * Returns the correct results of this dataset as bit-packed label matrix.
+    * 
+    * @return the label matrix of the correct results of this dataset
+    */
+   public LabelMatrix getLabelMatrix() {
+      return correctResults;
+   }
+
+
    @Override
    public int hashCode() {
       final int prime = 31;
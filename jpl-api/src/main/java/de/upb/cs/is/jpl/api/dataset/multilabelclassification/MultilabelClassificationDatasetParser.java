@@ -1,9 +1,14 @@
 package de.upb.cs.is.jpl.api.dataset.multilabelclassification;
 
 
+import java.io.IOException;
+
 import de.upb.cs.is.jpl.api.dataset.ADatasetParser;
+import de.upb.cs.is.jpl.api.dataset.BinaryDatasetReader;
+import de.upb.cs.is.jpl.api.dataset.BinaryDatasetWriter;
 import de.upb.cs.is.jpl.api.exception.dataset.ParsingFailedException;
 import de.upb.cs.is.jpl.api.math.linearalgebra.IVector;
+import de.upb.cs.is.jpl.api.math.linearalgebra.SparseDoubleVector;
 
 
 /**
@@ -23,6 +28,7 @@ public class MultilabelClassificationDatasetParser extends ADatasetParser {
    private static final String ERROR_CANNOT_WORK_WITH_SPARSE_DATASET = "Cannot work with a sparse dataset that has no feature declarations.";
    private static final String ERROR_UNEQUAL_AMOUNT_CONTEXTS_RATINGS = "The amount of contexts and ratings does not coincide.";
    private static final String ERROR_CONTEXT_WITHOUT_FEATURES = "Encountered a context without features; line: %s.";
+   private static final String ERROR_LABELS_NOT_BINARY = "Encountered labels which are not binary; line: %s.";
 
    private MultilabelClassificationDataset multilabelClassificationDataset;
 
@@ -53,6 +59,42 @@ public class MultilabelClassificationDatasetParser extends ADatasetParser {
    }
 
 
+   /**
+    * {@inheritDoc}
+    * 
+    * The contexts and the labels are stored in the order of their lines, so that the context of
+    * the labels of an instance is the line of the context file at the same position.
+    */
+   @Override
+   protected boolean isContextInformationPerInstance() {
+      return true;
+   }
+
+
+   @Override
+   protected boolean isBinaryCacheSupported() {
+      return true;
+   }
+
+
+   @Override
+   protected void writeParsedData(BinaryDatasetWriter writer) throws IOException {
+      writer.writeDoubleBlock(multilabelClassificationDataset.getFeatureVectors());
+      writer.writeVectors(multilabelClassificationDataset.getCorrectResults());
+   }
+
+
+   @Override
+   protected void readParsedData(BinaryDatasetReader reader) throws IOException {
+      for (double[] featureVector : reader.readDoubleBlock()) {
+         multilabelClassificationDataset.addFeatureVector(featureVector);
+      }
+      for (IVector correctResult : reader.readVectors()) {
+         multilabelClassificationDataset.addCorrectResult((SparseDoubleVector) correctResult);
+      }
+   }
+
+
    @Override
    protected void parseItemVectorLine(String itemInformationLine) throws ParsingFailedException {
       // not needed as we ignore item declarations
@@ -68,18 +110,17 @@ public class MultilabelClassificationDatasetParser extends ADatasetParser {
       }
 
       String featureDeclaration = contextLine[1].trim();
-      String[] splitFeatureDeclarationLine = featureDeclaration.split(VECTOR_DIVIDER);
-      IVector parsedContextVector;
+      double[] parsedContextVector;
       if (contextFeatures.isEmpty()) {
          if (featureDeclaration.contains(FEATURE_MARKER)) {
             throw new ParsingFailedException(ERROR_CANNOT_WORK_WITH_SPARSE_DATASET);
          }
-         parsedContextVector = parseInformationVector(splitFeatureDeclarationLine, splitFeatureDeclarationLine.length);
+         parsedContextVector = parseContextValues(featureDeclaration);
       } else {
-         parsedContextVector = parseInformationVector(splitFeatureDeclarationLine, contextFeatures.size());
+         parsedContextVector = parseContextVector(featureDeclaration).asArray();
       }
 
-      multilabelClassificationDataset.addFeatureVector(parsedContextVector.asArray());
+      multilabelClassificationDataset.addFeatureVector(parsedContextVector);
    }
 
 
@@ -106,7 +147,11 @@ public class MultilabelClassificationDatasetParser extends ADatasetParser {
          throw new ParsingFailedException(String.format(ERROR_FOUND_INVALID_RATING_INFORMATION_LINE, ratingInformationLine));
       }
       IVector vector = parseAbsoluteRatingVector(contextRatingSplit[1]);
-      multilabelClassificationDataset.addCorrectResult(vector.toSparseVector());
+      try {
+         multilabelClassificationDataset.addCorrectResult(vector.toSparseVector());
+      } catch (IllegalArgumentException e) {
+         throw new ParsingFailedException(String.format(ERROR_LABELS_NOT_BINARY, ratingInformationLine), e);
+      }
 
    }
 
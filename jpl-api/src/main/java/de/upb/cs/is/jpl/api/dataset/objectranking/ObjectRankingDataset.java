@@ -2,6 +2,7 @@ package de.upb.cs.is.jpl.api.dataset.objectranking;
 
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import de.upb.cs.is.jpl.api.dataset.ADataset;
@@ -10,6 +11,7 @@ import de.upb.cs.is.jpl.api.dataset.IInstance;
 import de.upb.cs.is.jpl.api.dataset.defaultdataset.relative.Ranking;
 import de.upb.cs.is.jpl.api.exception.dataset.InvalidInstanceException;
 import de.upb.cs.is.jpl.api.util.CollectionsUtils;
+import de.upb.cs.is.jpl.api.util.datastructure.IndexedListView;
 
 
 /**
@@ -61,8 +63,20 @@ public class ObjectRankingDataset extends ADataset<double[], List<double[]>, Ran
    }
 
 
+   @Override
+   public IDataset<double[], List<double[]>, Ranking> getView(int[] positions) {
+      ObjectRankingDataset view = new ObjectRankingDataset();
+      view.contextVectors = new IndexedListView<>(contextVectors, positions);
+      view.itemVectors = Collections.unmodifiableList(itemVectors);
+      view.rankings = new IndexedListView<>(rankings, positions);
+      passSharingOnTo(view);
+      return view;
+   }
+
+
    @Override
    public void addInstance(IInstance<double[], List<double[]>, Ranking> instance) throws InvalidInstanceException {
+      assertIsNotShared();
       assertInstanceHasCorrectType(instance, ObjectRankingInstance.class);
       if (itemVectors.isEmpty()) {
          itemVectors.addAll(instance.getItemFeatureVectors());
@@ -1,10 +1,13 @@
 package de.upb.cs.is.jpl.api.dataset.objectranking;
 
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
 import de.upb.cs.is.jpl.api.dataset.ADatasetParser;
+import de.upb.cs.is.jpl.api.dataset.BinaryDatasetReader;
+import de.upb.cs.is.jpl.api.dataset.BinaryDatasetWriter;
 import de.upb.cs.is.jpl.api.dataset.IDataset;
 import de.upb.cs.is.jpl.api.dataset.defaultdataset.relative.Ranking;
 import de.upb.cs.is.jpl.api.exception.dataset.ParsingFailedException;
@@ -63,6 +66,46 @@ public class ObjectRankingDatasetParser extends ADatasetParser {
    }
 
 
+   /**
+    * {@inheritDoc}
+    * 
+    * The contexts and the rankings are stored in the order of their lines, so that the context of
+    * a ranking is the line of the context file at the same position.
+    */
+   @Override
+   protected boolean isContextInformationPerInstance() {
+      return true;
+   }
+
+
+   @Override
+   protected String getStratumOfRatingLine(String ratingLine) {
+      return getTopObjectOfRankingLine(ratingLine);
+   }
+
+
+   @Override
+   protected boolean isBinaryCacheSupported() {
+      return true;
+   }
+
+
+   @Override
+   protected void writeParsedData(BinaryDatasetWriter writer) throws IOException {
+      writer.writeDoubleBlock(contextVectors);
+      writer.writeDoubleBlock(itemVectors);
+      writer.writeRankings(rankings);
+   }
+
+
+   @Override
+   protected void readParsedData(BinaryDatasetReader reader) throws IOException {
+      contextVectors.addAll(reader.readDoubleBlock());
+      itemVectors.addAll(reader.readDoubleBlock());
+      rankings.addAll(reader.readRankings());
+   }
+
+
    @Override
    protected void parseItemVectorLine(String itemInformationLine) throws ParsingFailedException {
       String[] contextLine = itemInformationLine.split(ID_DIVIDER);
@@ -70,7 +113,7 @@ public class ObjectRankingDatasetParser extends ADatasetParser {
          throw new ParsingFailedException(String.format(ERROR_ITEM_WITHOUT_FEATURES, itemInformationLine));
       }
       String featureDeclaration = contextLine[1].trim();
-      IVector parsedItemVector = parseInformationVector(featureDeclaration.split(VECTOR_DIVIDER), getNumberOfItemFeatures());
+      IVector parsedItemVector = parseItemVector(featureDeclaration);
       itemVectors.add(parsedItemVector.asArray());
    }
 
@@ -82,7 +125,7 @@ public class ObjectRankingDatasetParser extends ADatasetParser {
          throw new ParsingFailedException(String.format(ERROR_CONTEXT_WITHOUT_FEATURES, contextInformationLine));
       }
       String featureDeclaration = contextLine[1].trim();
-      IVector parsedContextVector = parseInformationVector(featureDeclaration.split(VECTOR_DIVIDER), getNumberOfContextFeatures());
+      IVector parsedContextVector = parseContextVector(featureDeclaration);
       contextVectors.add(parsedContextVector.asArray());
    }
 
@@ -103,25 +146,4 @@ public class ObjectRankingDatasetParser extends ADatasetParser {
       }
    }
 
-
-   /**
-    * Returns the number of context features in the parsed dataset.
-    * 
-    * @return the number of context features in the parsed dataset
-    */
-   private int getNumberOfContextFeatures() {
-      return contextFeatures.size();
-   }
-
-
-   /**
-    * Returns the number of item features in the parsed dataset.
-    * 
-    * @return the number of item features in the parsed dataset
-    */
-   private int getNumberOfItemFeatures() {
-      return itemFeatures.size();
-   }
-
-
 }
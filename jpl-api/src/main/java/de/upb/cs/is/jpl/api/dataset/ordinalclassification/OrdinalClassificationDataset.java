@@ -10,6 +10,7 @@ import de.upb.cs.is.jpl.api.dataset.DatasetFile;
 import de.upb.cs.is.jpl.api.dataset.IInstance;
 import de.upb.cs.is.jpl.api.exception.dataset.WrongDatasetInputException;
 import de.upb.cs.is.jpl.api.util.CollectionsUtils;
+import de.upb.cs.is.jpl.api.util.datastructure.IndexedListView;
 import de.upb.cs.is.jpl.api.util.datastructure.NullType;
 
 
@@ -117,8 +118,20 @@ public class OrdinalClassificationDataset extends ADataset<double[], NullType, D
    }
 
 
+   @Override
+   public OrdinalClassificationDataset getView(int[] positions) {
+      OrdinalClassificationDataset view = new OrdinalClassificationDataset(validRatings, numberOfFeatures);
+      view.featureVectors = new IndexedListView<>(featureVectors, positions);
+      view.ratings = new IndexedListView<>(ratings, positions);
+      view.datasetFile = getDatasetFile();
+      passSharingOnTo(view);
+      return view;
+   }
+
+
    @Override
    public void addInstance(IInstance<double[], NullType, Double> instance) {
+      assertIsNotShared();
       if (instance instanceof OrdinalClassificationInstance) {
          addFeatureVectorWithResult(instance.getContextFeatureVector(), instance.getRating());
       } else {
@@ -211,6 +224,7 @@ public class OrdinalClassificationDataset extends ADataset<double[], NullType, D
     * @param newValidRatings the new valid ordinal rating classes to set
     */
    public void setValidRatings(List<Double> newValidRatings) {
+      assertIsNotShared();
       validRatings = CollectionsUtils.getDeepCopyOf(newValidRatings);
    }
 
@@ -248,6 +262,7 @@ public class OrdinalClassificationDataset extends ADataset<double[], NullType, D
     * @param featureVector the feature vector to store
     */
    public void setFeatureVectorForInstance(int index, double[] featureVector) {
+      assertIsNotShared();
       if (featureVector.length == numberOfFeatures) {
          if (index > featureVectors.size() - 1) {
             while (featureVectors.size() - 1 < index) {
@@ -282,6 +297,7 @@ public class OrdinalClassificationDataset extends ADataset<double[], NullType, D
     * @param rating the rating to store
     */
    public void setRatingForInstance(int index, double rating) {
+      assertIsNotShared();
       if (!isRatingValid(rating)) {
          throw new IllegalArgumentException(String.format(ERROR_WRONG_RATING_VALUE, rating, validRatings));
       }
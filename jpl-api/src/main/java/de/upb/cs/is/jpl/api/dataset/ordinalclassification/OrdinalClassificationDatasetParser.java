@@ -1,13 +1,17 @@
 package de.upb.cs.is.jpl.api.dataset.ordinalclassification;
 
 
+import java.io.IOException;
 import java.util.Collections;
+import java.util.List;
 
 import de.upb.cs.is.jpl.api.dataset.ADatasetParser;
+import de.upb.cs.is.jpl.api.dataset.BinaryDatasetReader;
+import de.upb.cs.is.jpl.api.dataset.BinaryDatasetWriter;
 import de.upb.cs.is.jpl.api.dataset.IDataset;
+import de.upb.cs.is.jpl.api.dataset.LineTokenizer;
 import de.upb.cs.is.jpl.api.exception.dataset.NotAllowedValueException;
 import de.upb.cs.is.jpl.api.exception.dataset.ParsingFailedException;
-import de.upb.cs.is.jpl.api.util.CollectionsUtils;
 
 
 /**
@@ -117,18 +121,18 @@ public class OrdinalClassificationDatasetParser extends ADatasetParser {
    private double[] getContextFeatureVectorOf(String contextFeatureVectorPartOfContextInformationLine)
          throws ParsingFailedException,
             NotAllowedValueException {
-      String[] contextFeatureVectorAsString = contextFeatureVectorPartOfContextInformationLine.trim().split(VECTOR_DIVIDER);
-      if (contextFeatureVectorAsString.length != contextFeatures.size()) {
+      LineTokenizer tokenizer = new LineTokenizer(contextFeatureVectorPartOfContextInformationLine);
+      if (tokenizer.countRemainingTokens() != getNumberOfContextFeaturesInFile()) {
          throw new ParsingFailedException(String.format(ERROR_GIVEN_LINE_DOES_NOT_HAVE_CORRECT_AMOUNT_OF_CONTEXT_FEATURES,
-               contextFeatures.size(), contextFeatureVectorPartOfContextInformationLine));
+               getNumberOfContextFeaturesInFile(), contextFeatureVectorPartOfContextInformationLine));
       }
 
       double[] contextFeatureVector;
       try {
-         contextFeatureVector = CollectionsUtils.convertStringArrayToDoubleArray(contextFeatureVectorAsString);
-      } catch (NumberFormatException ex) {
+         contextFeatureVector = parseContextValues(contextFeatureVectorPartOfContextInformationLine);
+      } catch (ParsingFailedException ex) {
          throw new ParsingFailedException(
-               String.format(ERROR_GIVEN_LINE_DOES_NOT_CONTAIN_VALID_CONTEXT_FEATURES, contextFeatureVectorPartOfContextInformationLine));
+               String.format(ERROR_GIVEN_LINE_DOES_NOT_CONTAIN_VALID_CONTEXT_FEATURES, contextFeatureVectorPartOfContextInformationLine), ex);
       }
 
       checkIfContextFeatureValuesAreAllowed(contextFeatureVector);
@@ -179,14 +183,15 @@ public class OrdinalClassificationDatasetParser extends ADatasetParser {
     * @throws NotAllowedValueException if the rating contains a value that is not defined before
     */
    private double getRatingOf(String ratingPartOfRatingInformationLine) throws ParsingFailedException, NotAllowedValueException {
-      String[] ratingAsString = ratingPartOfRatingInformationLine.trim().split(VECTOR_DIVIDER);
-      if (ratingAsString.length != 1) {
+      LineTokenizer tokenizer = new LineTokenizer(ratingPartOfRatingInformationLine);
+      if (tokenizer.countRemainingTokens() != 1) {
          throw new ParsingFailedException(String.format(ERROR_GIVEN_LINE_DOES_EXACT_ONE_RATING, ratingPartOfRatingInformationLine));
       }
 
       double rating;
       try {
-         rating = Double.parseDouble(ratingAsString[0]);
+         tokenizer.nextToken();
+         rating = tokenizer.getTokenAsDouble();
       } catch (NumberFormatException ex) {
          throw new ParsingFailedException(String.format(ERROR_GIVEN_LINE_DOES_NOT_CONTAIN_VALID_RATING, ratingPartOfRatingInformationLine));
       }
@@ -217,4 +222,43 @@ public class OrdinalClassificationDatasetParser extends ADatasetParser {
       }
    }
 
+
+   @Override
+   protected int getContextIdOfRatingLine(String ratingLine) throws ParsingFailedException {
+      return parseIdOfLine(ratingLine, CONTEXT_MARKER);
+   }
+
+
+   @Override
+   protected boolean isBinaryCacheSupported() {
+      return true;
+   }
+
+
+   @Override
+   protected void writeParsedData(BinaryDatasetWriter writer) throws IOException {
+      writer.writeDoubleList(dataset.getValidRatings());
+      writer.writeDoubleBlock(dataset.getFeatureVectors());
+      writer.writeDoubleList(dataset.getRatings());
+   }
+
+
+   @Override
+   protected void readParsedData(BinaryDatasetReader reader) throws IOException {
+      // the valid ratings are restored in the order in which the rating lines introduced them
+      dataset.setValidRatings(reader.readDoubleList());
+      List<double[]> featureVectors = reader.readDoubleBlock();
+      for (int i = 0; i < featureVectors.size(); i++) {
+         if (featureVectors.get(i) == null) {
+            dataset.getFeatureVectors().add(null);
+         } else {
+            dataset.setFeatureVectorForInstance(i, featureVectors.get(i));
+         }
+      }
+      List<Double> ratings = reader.readDoubleList();
+      for (int i = 0; i < ratings.size(); i++) {
+         dataset.setRatingForInstance(i, ratings.get(i));
+      }
+   }
+
 }
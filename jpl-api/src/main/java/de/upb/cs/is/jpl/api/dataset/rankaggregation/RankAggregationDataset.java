@@ -8,16 +8,19 @@ import java.util.List;
 import de.upb.cs.is.jpl.api.dataset.ADataset;
 import de.upb.cs.is.jpl.api.dataset.IDataset;
 import de.upb.cs.is.jpl.api.dataset.IInstance;
+import de.upb.cs.is.jpl.api.dataset.defaultdataset.relative.PackedRankingList;
 import de.upb.cs.is.jpl.api.dataset.defaultdataset.relative.Ranking;
 import de.upb.cs.is.jpl.api.exception.dataset.InvalidInstanceException;
 import de.upb.cs.is.jpl.api.util.CollectionsUtils;
+import de.upb.cs.is.jpl.api.util.datastructure.IndexedListView;
 import de.upb.cs.is.jpl.api.util.datastructure.NullType;
 
 
 /**
  * This class represents a simple and efficient dataset for the rank aggregation problem. The
  * dataset is implemented in such a way that it does not work with {@link RankAggregationInstance}s
- * directly in order to save resources.
+ * directly in order to save resources. The rankings are stored packed in a
+ * {@link PackedRankingList}, unless the dataset is a view of another dataset.
  * 
  * @author Andreas Kornelsen
  *
@@ -58,7 +61,7 @@ public class RankAggregationDataset extends ADataset<Integer, NullType, Ranking>
     * @param rankings the rankings
     */
    public RankAggregationDataset(List<Integer> labels, List<Integer> countRankings, List<Ranking> rankings) {
-      this(labels, countRankings, rankings, new ArrayList<>());
+      this(labels, countRankings, PackedRankingList.pack(rankings), new ArrayList<>());
    }
 
 
@@ -121,7 +124,7 @@ public class RankAggregationDataset extends ADataset<Integer, NullType, Ranking>
       List<Integer> copyLabels = CollectionsUtils.getDeepCopyOf(labels);
 
       List<Integer> fromToCountRankings = new ArrayList<>();
-      List<Ranking> fromToRankings = new ArrayList<>();
+      List<Ranking> fromToRankings = new PackedRankingList(to - from);
       List<Integer> fromToIds = new ArrayList<>();
 
       for (int i = from; i < to; i++) {
@@ -134,8 +137,19 @@ public class RankAggregationDataset extends ADataset<Integer, NullType, Ranking>
    }
 
 
+   @Override
+   public IDataset<Integer, NullType, Ranking> getView(int[] positions) {
+      RankAggregationDataset view = new RankAggregationDataset(Collections.unmodifiableList(labels),
+            new IndexedListView<>(countRankings, positions), new IndexedListView<>(rankings, positions),
+            new IndexedListView<>(ids, positions));
+      passSharingOnTo(view);
+      return view;
+   }
+
+
    @Override
    public void addInstance(IInstance<Integer, NullType, Ranking> instance) throws InvalidInstanceException {
+      assertIsNotShared();
       assertInstanceHasCorrectType(instance, RankAggregationInstance.class);
 
       RankAggregationInstance castedInstance = (RankAggregationInstance) instance;
@@ -1,11 +1,15 @@
 package de.upb.cs.is.jpl.api.dataset.rankaggregation;
 
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
 import de.upb.cs.is.jpl.api.dataset.ADatasetParser;
+import de.upb.cs.is.jpl.api.dataset.BinaryDatasetReader;
+import de.upb.cs.is.jpl.api.dataset.BinaryDatasetWriter;
 import de.upb.cs.is.jpl.api.dataset.IDataset;
+import de.upb.cs.is.jpl.api.dataset.defaultdataset.relative.PackedRankingList;
 import de.upb.cs.is.jpl.api.dataset.defaultdataset.relative.Ranking;
 import de.upb.cs.is.jpl.api.exception.dataset.ParsingFailedException;
 
@@ -25,7 +29,7 @@ public class RankAggregationDatasetParser extends ADatasetParser {
    private static final String ERROR_INTEGER_PARSE = "Line couldn't be parsed to Integer, lineContent: %s.";
    private List<Integer> labels;
    private List<Integer> countRankings;
-   private List<Ranking> rankings;
+   private PackedRankingList rankings;
 
    private RankAggregationDataset rankAggregationDataset;
 
@@ -43,7 +47,7 @@ public class RankAggregationDatasetParser extends ADatasetParser {
    protected void initParse() throws ParsingFailedException {
       this.labels = new ArrayList<>();
       this.countRankings = new ArrayList<>();
-      this.rankings = new ArrayList<>();
+      this.rankings = new PackedRankingList();
    }
 
 
@@ -61,6 +65,46 @@ public class RankAggregationDatasetParser extends ADatasetParser {
    }
 
 
+   /**
+    * {@inheritDoc}
+    * 
+    * The contexts and the rankings are stored in the order of their lines, so that the context of
+    * a ranking is the line of the context file at the same position.
+    */
+   @Override
+   protected boolean isContextInformationPerInstance() {
+      return true;
+   }
+
+
+   @Override
+   protected String getStratumOfRatingLine(String ratingLine) {
+      return getTopObjectOfRankingLine(ratingLine);
+   }
+
+
+   @Override
+   protected boolean isBinaryCacheSupported() {
+      return true;
+   }
+
+
+   @Override
+   protected void writeParsedData(BinaryDatasetWriter writer) throws IOException {
+      writer.writeIntegerList(labels);
+      writer.writeIntegerList(countRankings);
+      writer.writeRankings(rankings);
+   }
+
+
+   @Override
+   protected void readParsedData(BinaryDatasetReader reader) throws IOException {
+      labels.addAll(reader.readIntegerList());
+      countRankings.addAll(reader.readIntegerList());
+      rankings = reader.readPackedRankings();
+   }
+
+
    @Override
    protected void parseItemVectorLine(String itemInformationLine) throws ParsingFailedException {
       int label = getFirstFeatureValueOfLine(itemInformationLine);
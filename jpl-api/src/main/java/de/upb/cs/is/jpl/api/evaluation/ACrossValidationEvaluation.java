@@ -2,6 +2,7 @@ package de.upb.cs.is.jpl.api.evaluation;
 
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.slf4j.Logger;
@@ -64,25 +65,22 @@ public abstract class ACrossValidationEvaluation<CONFIG extends ACrossValidation
          folds = dataset.getNumberOfInstances() - 1;
       }
       dataset.shuffle();
+      int numberOfInstances = dataset.getNumberOfInstances();
       for (int currentFold = 0; currentFold < folds; currentFold++) {
-         int numberOfTestingInstances = dataset.getNumberOfInstances() / folds;
-         IDataset<?, ?, ?> testDataset = dataset.getPartOfDataset(0, 0);
-         IDataset<?, ?, ?> trainDataset = dataset.getPartOfDataset(0, 0);
+         int numberOfTestingInstances = numberOfInstances / folds;
+         int startIndex = currentFold * numberOfTestingInstances;
+         // for the last instance
+         if (currentFold == folds - 1) {
+            numberOfTestingInstances = numberOfInstances - (folds - 1) * numberOfTestingInstances;
+            startIndex = numberOfInstances - numberOfTestingInstances;
+         }
+         int endIndex = startIndex + numberOfTestingInstances;
+         IDataset<?, ?, ?> testDataset;
+         IDataset<?, ?, ?> trainDataset;
          try {
-            // for the last instance
-            if (currentFold == folds - 1) {
-               numberOfTestingInstances = dataset.getNumberOfInstances() - (folds - 1) * numberOfTestingInstances;
-               int startIndex = dataset.getNumberOfInstances() - numberOfTestingInstances;
-               IDataset.addShuffledInstancesToDataset(dataset, testDataset, startIndex, startIndex + numberOfTestingInstances);
-               IDataset.addShuffledInstancesToDataset(dataset, trainDataset, 0, startIndex);
-            } else {
-               IDataset.addShuffledInstancesToDataset(dataset, trainDataset, 0, currentFold * numberOfTestingInstances);
-               IDataset.addShuffledInstancesToDataset(dataset, testDataset, currentFold * numberOfTestingInstances,
-                     (currentFold + 1) * numberOfTestingInstances);
-               IDataset.addShuffledInstancesToDataset(dataset, trainDataset, (currentFold + 1) * numberOfTestingInstances,
-                     dataset.getNumberOfInstances());
-
-            }
+            testDataset = dataset.getView(dataset.getShuffledPositions(startIndex, endIndex));
+            trainDataset = dataset.getView(
+                  concatenate(dataset.getShuffledPositions(0, startIndex), dataset.getShuffledPositions(endIndex, numberOfInstances)));
             trainDataset.setDatasetFile(dataset.getDatasetFile());
             testDataset.setDatasetFile(dataset.getDatasetFile());
 
@@ -97,4 +95,18 @@ public abstract class ACrossValidationEvaluation<CONFIG extends ACrossValidation
       return testTrainPairs;
    }
 
+
+   /**
+    * Returns the concatenation of the given arrays of positions.
+    * 
+    * @param first the first positions
+    * @param second the positions following the first positions
+    * @return the concatenated positions
+    */
+   private static int[] concatenate(int[] first, int[] second) {
+      int[] positions = Arrays.copyOf(first, first.length + second.length);
+      System.arraycopy(second, 0, positions, first.length, second.length);
+      return positions;
+   }
+
 }
@@ -10,6 +10,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
@@ -22,6 +23,8 @@ import de.upb.cs.is.jpl.api.algorithm.learningalgorithm.ILearningModel;
 import de.upb.cs.is.jpl.api.dataset.DatasetFile;
 import de.upb.cs.is.jpl.api.dataset.IDataset;
 import de.upb.cs.is.jpl.api.dataset.IDatasetParser;
+import de.upb.cs.is.jpl.api.dataset.ParallelDatasetIngestion;
+import de.upb.cs.is.jpl.api.dataset.ParsedDatasetCache;
 import de.upb.cs.is.jpl.api.exception.algorithm.PredictionFailedException;
 import de.upb.cs.is.jpl.api.exception.algorithm.TrainModelsFailedException;
 import de.upb.cs.is.jpl.api.exception.configuration.json.ParameterValidationFailedException;
@@ -77,6 +80,7 @@ public abstract class AEvaluation<CONFIG extends AEvaluationConfiguration> imple
    protected AMetricConfiguration evaluationMetricConfiguration;
    protected EvaluationsOutputGenerator evaluationOuputGenerator;
    protected IDatasetParser datasetParser;
+   protected ParallelDatasetIngestion datasetIngestion;
 
 
    /**
@@ -89,6 +93,7 @@ public abstract class AEvaluation<CONFIG extends AEvaluationConfiguration> imple
       init();
       configuration = null;
       evaluationResults = new ArrayList<>();
+      datasetIngestion = new ParallelDatasetIngestion();
       this.eLearningProblem = eLearningProblem;
       getEvaluationConfiguration();
    }
@@ -380,6 +385,7 @@ public abstract class AEvaluation<CONFIG extends AEvaluationConfiguration> imple
    public void setupEvaluation(List<DatasetFile> datasetFiles, List<ILearningAlgorithm> learningAlgorithms, List<IMetric<?, ?>> metrics) {
       configuration.setMetrics(metrics);
       evaluationOuputGenerator = new EvaluationsOutputGenerator(learningAlgorithms, metrics);
+      ingestDatasetFiles(datasetFiles, learningAlgorithms);
       int setNumber = 0;
       for (ILearningAlgorithm learningAlgorithm : learningAlgorithms) {
          logger.debug(String.format(ADDING_LEARNING_ALGORITHM_MESSAGE, learningAlgorithm));
@@ -391,13 +397,35 @@ public abstract class AEvaluation<CONFIG extends AEvaluationConfiguration> imple
    }
 
 
+   /**
+    * Parses the given dataset files with the parsers of all given learning algorithms concurrently
+    * into the {@link ParsedDatasetCache}, before the evaluation requests them one after another.
+    * 
+    * @param datasetFiles the dataset files to parse
+    * @param learningAlgorithms the learning algorithms providing the dataset parsers
+    */
+   private void ingestDatasetFiles(List<DatasetFile> datasetFiles, List<ILearningAlgorithm> learningAlgorithms) {
+      List<Supplier<IDatasetParser>> parserSuppliers = new ArrayList<>(learningAlgorithms.size());
+      for (ILearningAlgorithm learningAlgorithm : learningAlgorithms) {
+         parserSuppliers.add(learningAlgorithm::getDatasetParser);
+      }
+      datasetIngestion.ingest(datasetFiles, parserSuppliers);
+   }
+
+
+   @Override
+   public void setDatasetIngestion(ParallelDatasetIngestion datasetIngestion) {
+      this.datasetIngestion = datasetIngestion;
+   }
+
+
    @Override
    public int setupSingleEvaluationDatasetAndAlgorithm(int setNumber, DatasetFile datasetFile, ILearningAlgorithm learningAlgorithm,
          List<IMetric<?, ?>> metrics) {
       try {
          datasetParser = learningAlgorithm.getDatasetParser();
          if (datasetParser != null) {
-            IDataset<?, ?, ?> dataset = datasetParser.parse(datasetFile);
+            IDataset<?, ?, ?> dataset = ParsedDatasetCache.getParsedDatasetCache().parse(datasetParser, datasetFile);
             logger.debug(String.format(ADDING_DATASET_MESSAGE, datasetFile.getFile()));
             List<EvaluationSetting> evaluationSettings = new ArrayList<>();
             List<Pair<IDataset<?, ?, ?>, IDataset<?, ?, ?>>> testTrainDatasetPairs = getTestTrainPairs(dataset);
@@ -56,11 +56,11 @@ public abstract class APercentageSplitEvaluation<CONFIG extends APercentageSplit
       int numberOfTrainingInstances = Math.round(dataset.getNumberOfInstances() * percentage);
       for (int i = 0; i < numberOfDatasets; i++) {
          dataset.shuffle();
-         IDataset<?, ?, ?> testDataset = dataset.getPartOfDataset(0, 0);
-         IDataset<?, ?, ?> trainDataset = dataset.getPartOfDataset(0, 0);
+         IDataset<?, ?, ?> testDataset;
+         IDataset<?, ?, ?> trainDataset;
          try {
-            IDataset.addShuffledInstancesToDataset(dataset, trainDataset, 0, numberOfTrainingInstances);
-            IDataset.addShuffledInstancesToDataset(dataset, testDataset, numberOfTrainingInstances, dataset.getNumberOfInstances());
+            trainDataset = dataset.getView(dataset.getShuffledPositions(0, numberOfTrainingInstances));
+            testDataset = dataset.getView(dataset.getShuffledPositions(numberOfTrainingInstances, dataset.getNumberOfInstances()));
 
          } catch (InvalidInstanceException exception) {
             logger.error(exception.getMessage(), exception);
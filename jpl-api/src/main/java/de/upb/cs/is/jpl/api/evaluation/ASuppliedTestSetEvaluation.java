@@ -12,6 +12,7 @@ import de.upb.cs.is.jpl.api.algorithm.learningalgorithm.ILearningAlgorithm;
 import de.upb.cs.is.jpl.api.algorithm.learningalgorithm.ILearningModel;
 import de.upb.cs.is.jpl.api.dataset.DatasetFile;
 import de.upb.cs.is.jpl.api.dataset.IDataset;
+import de.upb.cs.is.jpl.api.dataset.ParsedDatasetCache;
 import de.upb.cs.is.jpl.api.exception.algorithm.TrainModelsFailedException;
 import de.upb.cs.is.jpl.api.exception.dataset.ParsingFailedException;
 import de.upb.cs.is.jpl.api.exception.evaluation.TrainTestDatasetPairsNotCreated;
@@ -58,7 +59,7 @@ public abstract class ASuppliedTestSetEvaluation<CONFIG extends ASuppliedTestSet
       try {
          datasetParser = learningAlgorithm.getDatasetParser();
          if (datasetParser != null) {
-            IDataset<?, ?, ?> dataset = datasetParser.parse(datasetFile);
+            IDataset<?, ?, ?> dataset = ParsedDatasetCache.getParsedDatasetCache().parse(datasetParser, datasetFile);
             logger.debug(String.format(ADDING_DATASET_MESSAGE, datasetFile.getFile()));
             List<Pair<IDataset<?, ?, ?>, IDataset<?, ?, ?>>> testTrainDatasetPairs = getTestTrainPairs(dataset);
             for (int i = 0; i < testTrainDatasetPairs.size(); i++) {
@@ -106,7 +107,7 @@ public abstract class ASuppliedTestSetEvaluation<CONFIG extends ASuppliedTestSet
 
          IDataset<?, ?, ?> testDataset;
          try {
-            testDataset = datasetParser.parse(testSetDatasetSetFile);
+            testDataset = ParsedDatasetCache.getParsedDatasetCache().parse(datasetParser, testSetDatasetSetFile);
          } catch (ParsingFailedException exception) {
             throw new TrainTestDatasetPairsNotCreated(String.format(TEST_DATASET_FILE_CANNOT_BE_PARSED, testSetFilePath), exception);
          }
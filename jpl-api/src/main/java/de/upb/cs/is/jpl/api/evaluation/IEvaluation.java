@@ -10,6 +10,7 @@ import de.upb.cs.is.jpl.api.algorithm.learningalgorithm.ILearningModel;
 import de.upb.cs.is.jpl.api.dataset.ADatasetParser;
 import de.upb.cs.is.jpl.api.dataset.DatasetFile;
 import de.upb.cs.is.jpl.api.dataset.IDataset;
+import de.upb.cs.is.jpl.api.dataset.ParallelDatasetIngestion;
 import de.upb.cs.is.jpl.api.exception.configuration.json.ParameterValidationFailedException;
 import de.upb.cs.is.jpl.api.exception.evaluation.EvaluationNotCarriedOutSuccesfully;
 import de.upb.cs.is.jpl.api.exception.evaluation.EvaluationResultsNotCreatedForUniquePairOfDatasetAndAlgorithm;
@@ -57,6 +58,15 @@ public interface IEvaluation {
    public void setupEvaluation(List<DatasetFile> datasetFiles, List<ILearningAlgorithm> learningAlgorithms, List<IMetric<?, ?>> metrics);
 
 
+   /**
+    * Sets the {@link ParallelDatasetIngestion} which parses the dataset files concurrently before
+    * the evaluation is set up.
+    * 
+    * @param datasetIngestion the dataset ingestion to use
+    */
+   public void setDatasetIngestion(ParallelDatasetIngestion datasetIngestion);
+
+
    /**
     * This method will create proper pair of {@link IDataset} and {@link ILearningAlgorithm} and add
     * them to the learning algorithm and dataset pair with learning model map in
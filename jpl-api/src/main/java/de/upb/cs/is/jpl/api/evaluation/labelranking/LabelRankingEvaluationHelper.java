@@ -52,7 +52,7 @@ public class LabelRankingEvaluationHelper {
 
       @SuppressWarnings("unchecked")
       List<Ranking> predictedRankings = (List<Ranking>) evaluationSetting.getLearningModel().predict(evaluationSetting.getDataset());
-      List<Ranking> expectedRankings = labelRankingDataset.getCopyOfRankings();
+      List<Ranking> expectedRankings = labelRankingDataset.getRankings();
 
       for (IMetric<?, ?> evaluationMetric : evaluationSetting.getMetrics()) {
          @SuppressWarnings("unchecked")
@@ -130,7 +130,7 @@ public class PlackettLuceModelSampleSet extends ASpecialDistributionSampleSet<Ra
    private int computeNumberOfRankingsWhereItemIsRankedHigherThanLast(int itemId) {
       int count = 0;
       for (Ranking ranking : rankings) {
-         if (ranking.getObjectList()[ranking.getNumberOfItems() - 1] != itemId) {
+         if (ranking.getObjectAt(ranking.getNumberOfItems() - 1) != itemId) {
             count++;
          }
       }
@@ -171,7 +171,7 @@ public class PlackettLuceModelSampleSet extends ASpecialDistributionSampleSet<Ra
     */
    private boolean computeIfItemIsRankedLowerOrEqualThan(int itemId, int rank, Ranking ranking) {
       for (int i = rank; i < ranking.getNumberOfItems(); i++) {
-         if (ranking.getObjectList()[i] == itemId) {
+         if (ranking.getObjectAt(i) == itemId) {
             return true;
          }
       }
@@ -1,6 +1,9 @@
 package de.upb.cs.is.jpl.api.math.linearalgebra;
 
 
+import de.upb.cs.is.jpl.api.exception.math.MatrixDecompositionException;
+import de.upb.cs.is.jpl.api.util.datastructure.Pair;
+import de.upb.cs.is.jpl.api.util.datastructure.Triple;
 import no.uib.cipr.matrix.Matrix;
 import no.uib.cipr.matrix.MatrixEntry;
 import no.uib.cipr.matrix.QRP;
@@ -59,6 +62,48 @@ public abstract class AMatrix implements IMatrix {
    }
 
 
+   /**
+    * Returns a copy of the i-th row, as this matrix does not support views.
+    */
+   @Override
+   public IVector getRowView(int i) {
+      return getRowVector(i);
+   }
+
+
+   /**
+    * Returns a copy of the i-th column, as this matrix does not support views.
+    */
+   @Override
+   public IVector getColumnView(int i) {
+      return getColumnVector(i);
+   }
+
+
+   @Override
+   public IMatrix getCholeskyDecomposition() throws MatrixDecompositionException {
+      return asDenseMatrix().getCholeskyDecomposition();
+   }
+
+
+   @Override
+   public Pair<IMatrix, IVector> getLDLDecomposition() throws MatrixDecompositionException {
+      return asDenseMatrix().getLDLDecomposition();
+   }
+
+
+   @Override
+   public Triple<IMatrix, IMatrix, IMatrix> getLUDecomposition() throws MatrixDecompositionException {
+      return asDenseMatrix().getLUDecomposition();
+   }
+
+
+   @Override
+   public Pair<IVector, IMatrix> getSymmetricEigenDecomposition() throws MatrixDecompositionException {
+      return asDenseMatrix().getSymmetricEigenDecomposition();
+   }
+
+
    @Override
    public int hashCode() {
       final int prime = 31;
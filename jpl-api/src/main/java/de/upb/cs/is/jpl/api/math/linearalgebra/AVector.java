@@ -92,6 +92,48 @@ public abstract class AVector implements IVector {
    }
 
 
+   @Override
+   public double dotProduct(double[] array, int offset) {
+      double result = 0;
+      for (int i = 0; i < length(); i++) {
+         result += getValue(i) * array[offset + i];
+      }
+      return result;
+   }
+
+
+   @Override
+   public void addScaledVector(double scalar, double[] vectorAsArray) {
+      for (int i = 0; i < length(); i++) {
+         setValue(i, getValue(i) + scalar * vectorAsArray[i]);
+      }
+   }
+
+
+   @Override
+   public void addScaledVector(double scalar, IVector vector) {
+      for (int i = 0; i < length(); i++) {
+         setValue(i, getValue(i) + scalar * vector.getValue(i));
+      }
+   }
+
+
+   @Override
+   public void multiplyByConstantAndAddScaledVector(double constant, double scalar, IVector vector) {
+      for (int i = 0; i < length(); i++) {
+         setValue(i, constant * getValue(i) + scalar * vector.getValue(i));
+      }
+   }
+
+
+   @Override
+   public void addScaledPairwiseProduct(double scalar, IVector firstVector, IVector secondVector) {
+      for (int i = 0; i < length(); i++) {
+         setValue(i, getValue(i) + scalar * (firstVector.getValue(i) * secondVector.getValue(i)));
+      }
+   }
+
+
    @Override
    public IVector addVectorToCopy(double[] vectorAsArray) {
       IVector vector = duplicate();
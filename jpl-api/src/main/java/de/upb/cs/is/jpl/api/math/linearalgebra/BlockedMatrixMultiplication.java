@@ -0,0 +1,228 @@
+package de.upb.cs.is.jpl.api.math.linearalgebra;
+
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+
+/**
+ * Cache-blocked multiplication {@code C = A * B} of dense matrices stored in column-major order,
+ * as used by the MTJ {@link no.uib.cipr.matrix.DenseMatrix}. The result is split recursively into
+ * blocks of rows and columns, which are computed in parallel on the common {@link ForkJoinPool}.
+ * Inside a block the computation is tiled over the inner dimension, so that a tile of {@code A}
+ * stays in the cache while it is used for all columns of the block.
+ *
+ * If the result has too few blocks to keep the pool busy, e.g. for a matrix-vector product
+ * {@code Q^T * y} or the Gram matrix {@code X^T * X} of a few features, the inner dimension is
+ * additionally split into chunks. Each chunk is multiplied into a partial result of its own, and
+ * the partial results are added in the order of the chunks.
+ *
+ * For each entry of the result, the products of a chunk are summed up in the order of the inner
+ * dimension. As the chunks only depend on the dimensions of the matrices, the result does not
+ * depend on the number of threads used. All products are computed, also those with a factor of
+ * {@code 0}, so that {@link Double#NaN} and infinite values propagate into the result.
+ *
+ * @author agent
+ *
+ */
+class BlockedMatrixMultiplication extends RecursiveAction {
+
+   private static final long serialVersionUID = -4262113424378342577L;
+
+   /** The number of rows of a block which is not split any further. */
+   private static final int ROW_BLOCK_SIZE = 64;
+   /** The number of columns of a block which is not split any further. */
+   private static final int COLUMN_BLOCK_SIZE = 64;
+   /** The size of a tile in the inner dimension. */
+   private static final int INNER_BLOCK_SIZE = 256;
+   /** The number of multiply-add operations below which the multiplication is not parallelized. */
+   private static final long PARALLELIZATION_THRESHOLD = 1L << 16;
+   /** The number of tasks below which the inner dimension is split into chunks. */
+   private static final int MINIMUM_NUMBER_OF_TASKS = 32;
+   /** The minimum length of a chunk of the inner dimension. */
+   private static final int MINIMUM_INNER_CHUNK_SIZE = 4 * INNER_BLOCK_SIZE;
+   /** The maximum number of entries of all partial results together. */
+   private static final long MAXIMUM_PARTIAL_RESULT_SIZE = 1L << 20;
+
+   private final double[] a;
+   private final double[] b;
+   private final double[] c;
+   private final int numberOfRows;
+   private final int innerDimension;
+   private final int firstRow;
+   private final int lastRow;
+   private final int firstColumn;
+   private final int lastColumn;
+   private final int firstInner;
+   private final int lastInner;
+
+
+   /**
+    * Creates a new multiplication task computing the block of the given rows and columns of the
+    * result, summed over the given range of the inner dimension. All ranges include their first
+    * and exclude their last index.
+    *
+    * @param a the left matrix in column-major order
+    * @param b the right matrix in column-major order
+    * @param c the result matrix in column-major order
+    * @param numberOfRows the number of rows of {@code a} and {@code c}
+    * @param innerDimension the number of columns of {@code a} and rows of {@code b}
+    * @param firstRow the first row to compute
+    * @param lastRow the last row to compute
+    * @param firstColumn the first column to compute
+    * @param lastColumn the last column to compute
+    * @param firstInner the first index of the inner dimension to sum over
+    * @param lastInner the last index of the inner dimension to sum over
+    */
+   private BlockedMatrixMultiplication(double[] a, double[] b, double[] c, int numberOfRows, int innerDimension, int firstRow,
+         int lastRow, int firstColumn, int lastColumn, int firstInner, int lastInner) {
+      this.a = a;
+      this.b = b;
+      this.c = c;
+      this.numberOfRows = numberOfRows;
+      this.innerDimension = innerDimension;
+      this.firstRow = firstRow;
+      this.lastRow = lastRow;
+      this.firstColumn = firstColumn;
+      this.lastColumn = lastColumn;
+      this.firstInner = firstInner;
+      this.lastInner = lastInner;
+   }
+
+
+   /**
+    * Computes {@code C = A * B}. The array {@code c} is overwritten and must neither be the same as
+    * {@code a} nor {@code b}.
+    *
+    * @param a the left matrix in column-major order
+    * @param b the right matrix in column-major order
+    * @param c the result matrix in column-major order
+    * @param numberOfRows the number of rows of {@code a} and {@code c}
+    * @param innerDimension the number of columns of {@code a} and rows of {@code b}
+    * @param numberOfColumns the number of columns of {@code b} and {@code c}
+    */
+   static void multiply(double[] a, double[] b, double[] c, int numberOfRows, int innerDimension, int numberOfColumns) {
+      long numberOfOperations = (long) numberOfRows * innerDimension * numberOfColumns;
+      if (numberOfOperations < PARALLELIZATION_THRESHOLD) {
+         new BlockedMatrixMultiplication(a, b, c, numberOfRows, innerDimension, 0, numberOfRows, 0, numberOfColumns, 0, innerDimension)
+               .computeBlock();
+         return;
+      }
+      int numberOfChunks = getNumberOfInnerChunks(numberOfRows, innerDimension, numberOfColumns);
+      if (numberOfChunks == 1) {
+         ForkJoinPool.commonPool().invoke(new BlockedMatrixMultiplication(a, b, c, numberOfRows, innerDimension, 0, numberOfRows, 0,
+               numberOfColumns, 0, innerDimension));
+         return;
+      }
+      double[][] partialResults = new double[numberOfChunks][];
+      BlockedMatrixMultiplication[] chunks = new BlockedMatrixMultiplication[numberOfChunks];
+      for (int chunk = 0; chunk < numberOfChunks; chunk++) {
+         partialResults[chunk] = chunk == 0 ? c : new double[numberOfRows * numberOfColumns];
+         int firstInner = (int) ((long) innerDimension * chunk / numberOfChunks);
+         int lastInner = (int) ((long) innerDimension * (chunk + 1) / numberOfChunks);
+         chunks[chunk] = new BlockedMatrixMultiplication(a, b, partialResults[chunk], numberOfRows, innerDimension, 0, numberOfRows, 0,
+               numberOfColumns, firstInner, lastInner);
+      }
+      for (int chunk = 1; chunk < numberOfChunks; chunk++) {
+         chunks[chunk].fork();
+      }
+      chunks[0].invoke();
+      for (int chunk = 1; chunk < numberOfChunks; chunk++) {
+         chunks[chunk].join();
+      }
+      for (int chunk = 1; chunk < numberOfChunks; chunk++) {
+         double[] partialResult = partialResults[chunk];
+         for (int i = 0; i < partialResult.length; i++) {
+            c[i] += partialResult[i];
+         }
+      }
+   }
+
+
+   /**
+    * Returns the number of chunks the inner dimension is split into, which only depends on the
+    * dimensions of the matrices. The inner dimension is only split if the result has fewer blocks
+    * than {@link #MINIMUM_NUMBER_OF_TASKS}, and the chunks are limited by their minimum length and
+    * the memory needed by the partial results.
+    *
+    * @param numberOfRows the number of rows of the result
+    * @param innerDimension the inner dimension of the product
+    * @param numberOfColumns the number of columns of the result
+    * @return the number of chunks, at least {@code 1}
+    */
+   private static int getNumberOfInnerChunks(int numberOfRows, int innerDimension, int numberOfColumns) {
+      long numberOfBlocks = (long) divideRoundingUp(numberOfRows, ROW_BLOCK_SIZE) * divideRoundingUp(numberOfColumns, COLUMN_BLOCK_SIZE);
+      if (numberOfBlocks >= MINIMUM_NUMBER_OF_TASKS) {
+         return 1;
+      }
+      long numberOfChunks = Math.min(divideRoundingUp(MINIMUM_NUMBER_OF_TASKS, (int) numberOfBlocks),
+            innerDimension / MINIMUM_INNER_CHUNK_SIZE);
+      long resultSize = Math.max((long) numberOfRows * numberOfColumns, 1);
+      numberOfChunks = Math.min(numberOfChunks, 1 + MAXIMUM_PARTIAL_RESULT_SIZE / resultSize);
+      return (int) Math.max(numberOfChunks, 1);
+   }
+
+
+   /**
+    * Returns the quotient of the given numbers rounded up.
+    *
+    * @param dividend the positive dividend
+    * @param divisor the positive divisor
+    * @return the quotient rounded up
+    */
+   private static int divideRoundingUp(int dividend, int divisor) {
+      return (dividend + divisor - 1) / divisor;
+   }
+
+
+   @Override
+   protected void compute() {
+      int rows = lastRow - firstRow;
+      int columns = lastColumn - firstColumn;
+      long numberOfOperations = (long) rows * columns * (lastInner - firstInner);
+      if (numberOfOperations < PARALLELIZATION_THRESHOLD || (rows <= ROW_BLOCK_SIZE && columns <= COLUMN_BLOCK_SIZE)) {
+         computeBlock();
+      } else if ((long) rows * COLUMN_BLOCK_SIZE >= (long) columns * ROW_BLOCK_SIZE) {
+         int middleRow = (firstRow + lastRow) >>> 1;
+         invokeAll(
+               new BlockedMatrixMultiplication(a, b, c, numberOfRows, innerDimension, firstRow, middleRow, firstColumn, lastColumn,
+                     firstInner, lastInner),
+               new BlockedMatrixMultiplication(a, b, c, numberOfRows, innerDimension, middleRow, lastRow, firstColumn, lastColumn,
+                     firstInner, lastInner));
+      } else {
+         int middleColumn = (firstColumn + lastColumn) >>> 1;
+         invokeAll(
+               new BlockedMatrixMultiplication(a, b, c, numberOfRows, innerDimension, firstRow, lastRow, firstColumn, middleColumn,
+                     firstInner, lastInner),
+               new BlockedMatrixMultiplication(a, b, c, numberOfRows, innerDimension, firstRow, lastRow, middleColumn, lastColumn,
+                     firstInner, lastInner));
+      }
+   }
+
+
+   /**
+    * Computes the block of the result assigned to this task sequentially.
+    */
+   private void computeBlock() {
+      for (int column = firstColumn; column < lastColumn; column++) {
+         int columnOffset = column * numberOfRows;
+         Arrays.fill(c, columnOffset + firstRow, columnOffset + lastRow, 0);
+      }
+      for (int innerStart = firstInner; innerStart < lastInner; innerStart += INNER_BLOCK_SIZE) {
+         int innerEnd = Math.min(innerStart + INNER_BLOCK_SIZE, lastInner);
+         for (int column = firstColumn; column < lastColumn; column++) {
+            int columnOffset = column * numberOfRows;
+            int bColumnOffset = column * innerDimension;
+            for (int inner = innerStart; inner < innerEnd; inner++) {
+               double factor = b[bColumnOffset + inner];
+               int aColumnOffset = inner * numberOfRows;
+               for (int row = firstRow; row < lastRow; row++) {
+                  c[columnOffset + row] += factor * a[aColumnOffset + row];
+               }
+            }
+         }
+      }
+   }
+
+}
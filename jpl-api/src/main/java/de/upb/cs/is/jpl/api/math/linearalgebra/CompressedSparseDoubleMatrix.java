@@ -0,0 +1,727 @@
+package de.upb.cs.is.jpl.api.math.linearalgebra;
+
+
+import java.util.Arrays;
+
+import de.upb.cs.is.jpl.api.exception.math.MatrixDecompositionException;
+import de.upb.cs.is.jpl.api.util.datastructure.Pair;
+import no.uib.cipr.matrix.sparse.LinkedSparseMatrix;
+
+
+/**
+ * An immutable sparse matrix, which indexes its non-zero entries twice: once in compressed sparse
+ * row (CSR) and once in compressed sparse column (CSC) format. This dual indexing allows to access
+ * a single row or column in time linear in the number of its non-zero entries, independent of the
+ * dimensions of the matrix. Single values are found by a binary search within their row.
+ *
+ * The values are only stored in row order. Instead of a second array of values, the CSC format
+ * stores the position of each entry in row order, so that the matrix needs 20 bytes per non-zero
+ * entry: 12 bytes for the column indices and values of the rows, and 8 bytes for the row indices
+ * and positions of the columns.
+ *
+ * Instances are created with a {@link Builder}. The values of such a matrix cannot be changed
+ * after creation, which is why {@link #setValue(int, int, double)} is not supported. Transposing
+ * and multiplying replace the internal arrays of the matrix, but never change them, so that copies
+ * created by {@link #createCopy()} can share these arrays safely. Transposing costs time linear in
+ * the number of non-zero entries, as the values have to be reordered.
+ *
+ * @author agent
+ *
+ */
+public class CompressedSparseDoubleMatrix extends AMatrix {
+
+   private static final String ERROR_MATRIX_IS_IMMUTABLE = "A compressed sparse matrix is immutable. Use a builder to create a new one.";
+   private static final String ERROR_DIMENSIONS_DO_NOT_MATCH = "The number of columns (%d) does not match the number of rows (%d) of the multiplier.";
+   private static final String ERROR_UPDATE_SMALLER_THAN_MATRIX = "The %dx%d update is smaller than the %dx%d matrix.";
+
+   private int numberOfRows;
+   private int numberOfColumns;
+
+   private int[] rowPointers;
+   private int[] columnIndices;
+   private double[] rowValues;
+
+   private int[] columnPointers;
+   private int[] rowIndices;
+   /** The positions of the entries of the columns in row order. */
+   private int[] rowPositions;
+
+
+   /**
+    * Creates a new {@link CompressedSparseDoubleMatrix} from a 2-dimensional double array. Only the
+    * non-zero entries of the array are stored.
+    *
+    * @param matrix the 2-D array which contains all the values
+    */
+   public CompressedSparseDoubleMatrix(double[][] matrix) {
+      Builder builder = new Builder(matrix.length, matrix.length > 0 ? matrix[0].length : 0);
+      for (int row = 0; row < matrix.length; row++) {
+         for (int column = 0; column < matrix[row].length; column++) {
+            builder.setValue(row, column, matrix[row][column]);
+         }
+      }
+      copyStructureFrom(builder.build());
+   }
+
+
+   /**
+    * Creates a new {@link CompressedSparseDoubleMatrix} containing the non-zero entries of the
+    * given matrix.
+    *
+    * @param matrix the matrix to compress
+    */
+   public CompressedSparseDoubleMatrix(IMatrix matrix) {
+      if (matrix instanceof CompressedSparseDoubleMatrix) {
+         copyStructureFrom((CompressedSparseDoubleMatrix) matrix);
+      } else {
+         Builder builder = new Builder(matrix.getNumberOfRows(), matrix.getNumberOfColumns());
+         for (int row = 0; row < matrix.getNumberOfRows(); row++) {
+            for (int column = 0; column < matrix.getNumberOfColumns(); column++) {
+               builder.setValue(row, column, matrix.getValue(row, column));
+            }
+         }
+         copyStructureFrom(builder.build());
+      }
+   }
+
+
+   /**
+    * Creates a new {@link CompressedSparseDoubleMatrix} from the given CSR structure and computes
+    * the according CSC structure. The column indices of each row have to be sorted in ascending
+    * order and must not contain duplicates.
+    *
+    * @param numberOfRows the number of rows
+    * @param numberOfColumns the number of columns
+    * @param rowPointers the start positions of the rows, followed by the number of non-zero entries
+    * @param columnIndices the column indices of the non-zero entries in row order
+    * @param rowValues the values of the non-zero entries in row order
+    */
+   private CompressedSparseDoubleMatrix(int numberOfRows, int numberOfColumns, int[] rowPointers, int[] columnIndices,
+         double[] rowValues) {
+      this.numberOfRows = numberOfRows;
+      this.numberOfColumns = numberOfColumns;
+      this.rowPointers = rowPointers;
+      this.columnIndices = columnIndices;
+      this.rowValues = rowValues;
+      computeCompressedColumns();
+   }
+
+
+   /**
+    * Computes the CSC structure of this matrix out of the CSR structure by a counting sort over the
+    * columns. As the rows are processed in ascending order, the row indices of each column are
+    * sorted afterwards.
+    */
+   private void computeCompressedColumns() {
+      int numberOfNonZeroEntries = rowPointers[numberOfRows];
+      columnPointers = new int[numberOfColumns + 1];
+      for (int k = 0; k < numberOfNonZeroEntries; k++) {
+         columnPointers[columnIndices[k] + 1]++;
+      }
+      for (int column = 0; column < numberOfColumns; column++) {
+         columnPointers[column + 1] += columnPointers[column];
+      }
+      rowIndices = new int[numberOfNonZeroEntries];
+      rowPositions = new int[numberOfNonZeroEntries];
+      int[] nextPositions = Arrays.copyOf(columnPointers, numberOfColumns);
+      for (int row = 0; row < numberOfRows; row++) {
+         for (int k = rowPointers[row]; k < rowPointers[row + 1]; k++) {
+            int position = nextPositions[columnIndices[k]]++;
+            rowIndices[position] = row;
+            rowPositions[position] = k;
+         }
+      }
+   }
+
+
+   /**
+    * Lets this matrix share the internal arrays of the given matrix.
+    *
+    * @param other the matrix to share the arrays with
+    */
+   private void copyStructureFrom(CompressedSparseDoubleMatrix other) {
+      numberOfRows = other.numberOfRows;
+      numberOfColumns = other.numberOfColumns;
+      rowPointers = other.rowPointers;
+      columnIndices = other.columnIndices;
+      rowValues = other.rowValues;
+      columnPointers = other.columnPointers;
+      rowIndices = other.rowIndices;
+      rowPositions = other.rowPositions;
+   }
+
+
+   @Override
+   public double getValue(int row, int col) {
+      int position = getPositionOfNonZeroEntry(row, col);
+      return position >= 0 ? rowValues[position] : 0;
+   }
+
+
+   /**
+    * Returns the position of the given entry among the non-zero entries of this matrix in row
+    * order, which can be passed to {@link #getValueOfNonZeroEntry(int)}. The position is found by
+    * a binary search within the row.
+    *
+    * @param row the row of the entry
+    * @param column the column of the entry
+    * @return the position of the entry, or a negative number if the entry is zero
+    */
+   public int getPositionOfNonZeroEntry(int row, int column) {
+      if (row < 0 || row >= numberOfRows || column < 0 || column >= numberOfColumns) {
+         throw new ArrayIndexOutOfBoundsException(String.format("(%d,%d)", row, column));
+      }
+      int position = Arrays.binarySearch(columnIndices, rowPointers[row], rowPointers[row + 1], column);
+      return position >= 0 ? position : -1;
+   }
+
+
+   /**
+    * Returns the value of the non-zero entry at the given position in row order.
+    *
+    * @param position the position of the entry as returned by
+    *           {@link #getPositionOfNonZeroEntry(int, int)}
+    * @return the value of the entry
+    */
+   public double getValueOfNonZeroEntry(int position) {
+      return rowValues[position];
+   }
+
+
+   /**
+    * Returns the row of the non-zero entry at the given position in row order, which is found by a
+    * binary search over the rows.
+    *
+    * @param position the position of the entry as returned by
+    *           {@link #getPositionOfNonZeroEntry(int, int)}
+    * @return the row of the entry
+    */
+   public int getRowOfNonZeroEntry(int position) {
+      if (position < 0 || position >= getNumberOfNonZeroEntries()) {
+         throw new ArrayIndexOutOfBoundsException(position);
+      }
+      // the last row starting at or before the position, which cannot be empty
+      int low = 0;
+      int high = numberOfRows - 1;
+      while (low < high) {
+         int middle = (low + high + 1) >>> 1;
+         if (rowPointers[middle] <= position) {
+            low = middle;
+         } else {
+            high = middle - 1;
+         }
+      }
+      return low;
+   }
+
+
+   /**
+    * Returns the column of the non-zero entry at the given position in row order.
+    *
+    * @param position the position of the entry as returned by
+    *           {@link #getPositionOfNonZeroEntry(int, int)}
+    * @return the column of the entry
+    */
+   public int getColumnOfNonZeroEntry(int position) {
+      return columnIndices[position];
+   }
+
+
+   /**
+    * Returns a new matrix which contains the non-zero entries of this matrix, replaced or
+    * supplemented by the non-zero entries of the given update. The dimensions of the merged matrix
+    * are those of the update, which must not be smaller than this matrix. The rows of both matrices
+    * are merged in time linear in their numbers of rows and non-zero entries, without sorting any
+    * entry again. As the update does not store zero entries, it cannot remove an entry of this
+    * matrix.
+    *
+    * @param update the matrix whose non-zero entries are merged into the entries of this matrix
+    * @param newPositions an array of at least {@link #getNumberOfNonZeroEntries()} elements, which
+    *           is filled with the positions of the non-zero entries of this matrix in the merged
+    *           matrix
+    * @return the merged matrix
+    * @throws IllegalArgumentException if the update has less rows or columns than this matrix
+    */
+   public CompressedSparseDoubleMatrix mergeWith(CompressedSparseDoubleMatrix update, int[] newPositions) {
+      if (update.numberOfRows < numberOfRows || update.numberOfColumns < numberOfColumns) {
+         throw new IllegalArgumentException(String.format(ERROR_UPDATE_SMALLER_THAN_MATRIX, update.numberOfRows, update.numberOfColumns,
+               numberOfRows, numberOfColumns));
+      }
+      int maximumNumberOfEntries = rowPointers[numberOfRows] + update.rowPointers[update.numberOfRows];
+      int[] mergedRowPointers = new int[update.numberOfRows + 1];
+      int[] mergedColumnIndices = new int[maximumNumberOfEntries];
+      double[] mergedValues = new double[maximumNumberOfEntries];
+      int position = 0;
+      for (int row = 0; row < update.numberOfRows; row++) {
+         int k = row < numberOfRows ? rowPointers[row] : 0;
+         int end = row < numberOfRows ? rowPointers[row + 1] : 0;
+         int l = update.rowPointers[row];
+         int updateEnd = update.rowPointers[row + 1];
+         while (k < end || l < updateEnd) {
+            if (l == updateEnd || (k < end && columnIndices[k] < update.columnIndices[l])) {
+               mergedColumnIndices[position] = columnIndices[k];
+               mergedValues[position] = rowValues[k];
+               newPositions[k++] = position;
+            } else {
+               // an entry of the update replaces the entry of this matrix in the same column
+               if (k < end && columnIndices[k] == update.columnIndices[l]) {
+                  newPositions[k++] = position;
+               }
+               mergedColumnIndices[position] = update.columnIndices[l];
+               mergedValues[position] = update.rowValues[l++];
+            }
+            position++;
+         }
+         mergedRowPointers[row + 1] = position;
+      }
+      return new CompressedSparseDoubleMatrix(update.numberOfRows, update.numberOfColumns, mergedRowPointers,
+            Arrays.copyOf(mergedColumnIndices, position), Arrays.copyOf(mergedValues, position));
+   }
+
+
+   @Override
+   public void setValue(int row, int col, double value) {
+      throw new UnsupportedOperationException(ERROR_MATRIX_IS_IMMUTABLE);
+   }
+
+
+   @Override
+   public int getNumberOfColumns() {
+      return numberOfColumns;
+   }
+
+
+   @Override
+   public int getNumberOfRows() {
+      return numberOfRows;
+   }
+
+
+   /**
+    * Returns the number of non-zero entries of this matrix.
+    *
+    * @return the number of non-zero entries
+    */
+   public int getNumberOfNonZeroEntries() {
+      return rowPointers[numberOfRows];
+   }
+
+
+   /**
+    * Returns the number of non-zero entries in the given row.
+    *
+    * @param row the number of the row
+    * @return the number of non-zero entries in the row
+    */
+   public int getNumberOfNonZeroEntriesInRow(int row) {
+      return rowPointers[row + 1] - rowPointers[row];
+   }
+
+
+   /**
+    * Returns the number of non-zero entries in the given column.
+    *
+    * @param column the number of the column
+    * @return the number of non-zero entries in the column
+    */
+   public int getNumberOfNonZeroEntriesInColumn(int column) {
+      return columnPointers[column + 1] - columnPointers[column];
+   }
+
+
+   @Override
+   public int getRank() {
+      return asDenseMatrix().getRank();
+   }
+
+
+   /**
+    * {@inheritDoc}
+    *
+    * The CSC structure becomes the CSR structure and vice versa, while the values are reordered
+    * into the new row order, which costs time linear in the number of non-zero entries.
+    */
+   @Override
+   public void transponse() {
+      int numberOfNonZeroEntries = getNumberOfNonZeroEntries();
+      double[] transposedValues = new double[numberOfNonZeroEntries];
+      int[] transposedRowPositions = new int[numberOfNonZeroEntries];
+      for (int k = 0; k < numberOfNonZeroEntries; k++) {
+         transposedValues[k] = rowValues[rowPositions[k]];
+         transposedRowPositions[rowPositions[k]] = k;
+      }
+      int[] oldRowPointers = rowPointers;
+      int[] oldColumnIndices = columnIndices;
+      int oldNumberOfRows = numberOfRows;
+
+      rowPointers = columnPointers;
+      columnIndices = rowIndices;
+      rowValues = transposedValues;
+      numberOfRows = numberOfColumns;
+
+      columnPointers = oldRowPointers;
+      rowIndices = oldColumnIndices;
+      rowPositions = transposedRowPositions;
+      numberOfColumns = oldNumberOfRows;
+   }
+
+
+   @Override
+   public IVector solve(IVector b) {
+      return asSparseMatrix().solve(b);
+   }
+
+
+   /**
+    * Multiplies this matrix with the given matrix by Gustavson's algorithm: each row of the result
+    * is accumulated from the rows of the multiplier selected by the non-zero entries of the
+    * according row of this matrix. Thus, the costs are proportional to the number of scalar
+    * multiplications actually needed.
+    */
+   @Override
+   public void multiply(IMatrix multiplier) {
+      if (numberOfColumns != multiplier.getNumberOfRows()) {
+         throw new IllegalArgumentException(String.format(ERROR_DIMENSIONS_DO_NOT_MATCH, numberOfColumns, multiplier.getNumberOfRows()));
+      }
+      CompressedSparseDoubleMatrix compressedMultiplier = multiplier instanceof CompressedSparseDoubleMatrix
+            ? (CompressedSparseDoubleMatrix) multiplier
+            : new CompressedSparseDoubleMatrix(multiplier);
+      int resultNumberOfColumns = compressedMultiplier.numberOfColumns;
+
+      double[] accumulator = new double[resultNumberOfColumns];
+      int[] lastRowTouchingColumn = new int[resultNumberOfColumns];
+      Arrays.fill(lastRowTouchingColumn, -1);
+      int[] touchedColumns = new int[resultNumberOfColumns];
+
+      int[] resultRowPointers = new int[numberOfRows + 1];
+      int[] resultColumnIndices = new int[Math.max(getNumberOfNonZeroEntries(), 1)];
+      double[] resultValues = new double[resultColumnIndices.length];
+      int numberOfResultEntries = 0;
+
+      for (int row = 0; row < numberOfRows; row++) {
+         int numberOfTouchedColumns = 0;
+         for (int k = rowPointers[row]; k < rowPointers[row + 1]; k++) {
+            int innerIndex = columnIndices[k];
+            double value = rowValues[k];
+            for (int l = compressedMultiplier.rowPointers[innerIndex]; l < compressedMultiplier.rowPointers[innerIndex + 1]; l++) {
+               int column = compressedMultiplier.columnIndices[l];
+               if (lastRowTouchingColumn[column] != row) {
+                  lastRowTouchingColumn[column] = row;
+                  touchedColumns[numberOfTouchedColumns++] = column;
+                  accumulator[column] = 0;
+               }
+               accumulator[column] += value * compressedMultiplier.rowValues[l];
+            }
+         }
+         Arrays.sort(touchedColumns, 0, numberOfTouchedColumns);
+         if (numberOfResultEntries + numberOfTouchedColumns > resultColumnIndices.length) {
+            int newCapacity = Math.max(2 * resultColumnIndices.length, numberOfResultEntries + numberOfTouchedColumns);
+            resultColumnIndices = Arrays.copyOf(resultColumnIndices, newCapacity);
+            resultValues = Arrays.copyOf(resultValues, newCapacity);
+         }
+         for (int t = 0; t < numberOfTouchedColumns; t++) {
+            int column = touchedColumns[t];
+            if (Double.compare(accumulator[column], 0.0) != 0) {
+               resultColumnIndices[numberOfResultEntries] = column;
+               resultValues[numberOfResultEntries] = accumulator[column];
+               numberOfResultEntries++;
+            }
+         }
+         resultRowPointers[row + 1] = numberOfResultEntries;
+      }
+
+      copyStructureFrom(new CompressedSparseDoubleMatrix(numberOfRows, resultNumberOfColumns, resultRowPointers,
+            Arrays.copyOf(resultColumnIndices, numberOfResultEntries), Arrays.copyOf(resultValues, numberOfResultEntries)));
+   }
+
+
+   @Override
+   public Pair<IMatrix, IMatrix> getQRDecomposition() throws MatrixDecompositionException {
+      return asSparseMatrix().getQRDecomposition();
+   }
+
+
+   @Override
+   public IMatrix createCopy() {
+      return new CompressedSparseDoubleMatrix(this);
+   }
+
+
+   @Override
+   public SparseDoubleMatrix asSparseMatrix() {
+      SparseDoubleMatrix result = new SparseDoubleMatrix(new LinkedSparseMatrix(numberOfRows, numberOfColumns));
+      for (int row = 0; row < numberOfRows; row++) {
+         for (int k = rowPointers[row]; k < rowPointers[row + 1]; k++) {
+            result.setValue(row, columnIndices[k], rowValues[k]);
+         }
+      }
+      return result;
+   }
+
+
+   @Override
+   public DenseDoubleMatrix asDenseMatrix() {
+      DenseDoubleMatrix result = new DenseDoubleMatrix(numberOfRows, numberOfColumns);
+      for (int row = 0; row < numberOfRows; row++) {
+         for (int k = rowPointers[row]; k < rowPointers[row + 1]; k++) {
+            result.setValue(row, columnIndices[k], rowValues[k]);
+         }
+      }
+      return result;
+   }
+
+
+   /**
+    * Returns a copy of the i-th column of this matrix as a {@link SparseDoubleVector}. The costs
+    * are linear in the number of non-zero entries of the column.
+    */
+   @Override
+   public IVector getColumnVector(int i) {
+      return getColumnView(i).toSparseVector();
+   }
+
+
+   /**
+    * Returns a copy of the i-th row of this matrix as a {@link SparseDoubleVector}. The costs are
+    * linear in the number of non-zero entries of the row.
+    */
+   @Override
+   public IVector getRowVector(int i) {
+      return getRowView(i).toSparseVector();
+   }
+
+
+   /**
+    * Returns a read-only view on the i-th row of this matrix, which does not copy any data.
+    *
+    * @param i the number of the row
+    * @return a view on the row
+    */
+   @Override
+   public SparseDoubleVectorView getRowView(int i) {
+      return new SparseDoubleVectorView(columnIndices, rowValues, rowPointers[i], rowPointers[i + 1], numberOfColumns);
+   }
+
+
+   /**
+    * Returns a read-only view on the i-th column of this matrix, which does not copy any data.
+    *
+    * @param i the number of the column
+    * @return a view on the column
+    */
+   @Override
+   public SparseDoubleVectorView getColumnView(int i) {
+      return new SparseDoubleVectorView(rowIndices, rowValues, rowPositions, columnPointers[i], columnPointers[i + 1], numberOfRows);
+   }
+
+
+   @Override
+   public double getFrobeniusNorm() {
+      double norm = 0;
+      for (int k = 0; k < getNumberOfNonZeroEntries(); k++) {
+         norm += rowValues[k] * rowValues[k];
+      }
+      return Math.sqrt(norm);
+   }
+
+
+   @Override
+   public String toString() {
+      return asSparseMatrix().toString();
+   }
+
+
+   @Override
+   public int hashCode() {
+      final int prime = 31;
+      int result = 1;
+      result = prime * result + numberOfRows;
+      result = prime * result + numberOfColumns;
+      result = prime * result + Arrays.hashCode(rowPointers);
+      result = prime * result + Arrays.hashCode(Arrays.copyOf(columnIndices, getNumberOfNonZeroEntries()));
+      result = prime * result + Arrays.hashCode(Arrays.copyOf(rowValues, getNumberOfNonZeroEntries()));
+      return result;
+   }
+
+
+   @Override
+   public boolean equals(Object obj) {
+      if (this == obj)
+         return true;
+      if (obj == null)
+         return false;
+      if (getClass() != obj.getClass())
+         return false;
+      CompressedSparseDoubleMatrix other = (CompressedSparseDoubleMatrix) obj;
+      if (numberOfRows != other.numberOfRows || numberOfColumns != other.numberOfColumns)
+         return false;
+      if (!Arrays.equals(rowPointers, other.rowPointers))
+         return false;
+      for (int k = 0; k < getNumberOfNonZeroEntries(); k++) {
+         if (columnIndices[k] != other.columnIndices[k] || Double.compare(rowValues[k], other.rowValues[k]) != 0)
+            return false;
+      }
+      return true;
+   }
+
+
+   /**
+    * A builder for {@link CompressedSparseDoubleMatrix} instances. Entries can be set in any order
+    * and are stored in primitive arrays growing on demand. If a single entry is set several times,
+    * the value set last is used. Entries with a value of {@code 0} are not stored in the built
+    * matrix. Building the matrix costs time linear in the number of entries set and the dimensions
+    * of the matrix.
+    *
+    * @author agent
+    *
+    */
+   public static class Builder {
+
+      private static final int DEFAULT_INITIAL_CAPACITY = 16;
+      private static final String ERROR_INDEX_OUT_OF_BOUNDS = "The entry (%d,%d) is outside of the %dx%d matrix.";
+
+      private int numberOfRows;
+      private int numberOfColumns;
+
+      private int numberOfEntries;
+      private int[] entryRows;
+      private int[] entryColumns;
+      private double[] entryValues;
+
+
+      /**
+       * Creates a new builder for a matrix with the given dimensions.
+       *
+       * @param numberOfRows the number of rows of the matrix
+       * @param numberOfColumns the number of columns of the matrix
+       */
+      public Builder(int numberOfRows, int numberOfColumns) {
+         this(numberOfRows, numberOfColumns, DEFAULT_INITIAL_CAPACITY);
+      }
+
+
+      /**
+       * Creates a new builder for a matrix with the given dimensions, which can hold the given
+       * number of entries before it has to grow.
+       *
+       * @param numberOfRows the number of rows of the matrix
+       * @param numberOfColumns the number of columns of the matrix
+       * @param expectedNumberOfEntries the expected number of entries
+       */
+      public Builder(int numberOfRows, int numberOfColumns, int expectedNumberOfEntries) {
+         this.numberOfRows = numberOfRows;
+         this.numberOfColumns = numberOfColumns;
+         int capacity = Math.max(expectedNumberOfEntries, 1);
+         entryRows = new int[capacity];
+         entryColumns = new int[capacity];
+         entryValues = new double[capacity];
+      }
+
+
+      /**
+       * Sets the entry at the given row and column to the given value.
+       *
+       * @param row the row of the entry
+       * @param column the column of the entry
+       * @param value the value of the entry
+       * @return this builder
+       */
+      public Builder setValue(int row, int column, double value) {
+         if (row < 0 || row >= numberOfRows || column < 0 || column >= numberOfColumns) {
+            throw new ArrayIndexOutOfBoundsException(String.format(ERROR_INDEX_OUT_OF_BOUNDS, row, column, numberOfRows, numberOfColumns));
+         }
+         if (numberOfEntries == entryRows.length) {
+            int newCapacity = 2 * entryRows.length;
+            entryRows = Arrays.copyOf(entryRows, newCapacity);
+            entryColumns = Arrays.copyOf(entryColumns, newCapacity);
+            entryValues = Arrays.copyOf(entryValues, newCapacity);
+         }
+         entryRows[numberOfEntries] = row;
+         entryColumns[numberOfEntries] = column;
+         entryValues[numberOfEntries] = value;
+         numberOfEntries++;
+         return this;
+      }
+
+
+      /**
+       * Returns the number of entries set so far, including entries set several times.
+       *
+       * @return the number of entries set so far
+       */
+      public int getNumberOfEntries() {
+         return numberOfEntries;
+      }
+
+
+      /**
+       * Builds the matrix out of the entries set so far. The builder can still be used afterwards.
+       *
+       * @return the built matrix
+       */
+      public CompressedSparseDoubleMatrix build() {
+         // first sort stable by column, then stable by row, which yields the entries sorted by row
+         // and column, while entries set several times keep the order in which they were set
+         int[] orderByColumn = countingSort(entryColumns, numberOfColumns, null);
+         int[] orderByRowAndColumn = countingSort(entryRows, numberOfRows, orderByColumn);
+
+         int[] rowPointers = new int[numberOfRows + 1];
+         int[] columnIndices = new int[numberOfEntries];
+         double[] values = new double[numberOfEntries];
+         int numberOfNonZeroEntries = 0;
+         int k = 0;
+         while (k < numberOfEntries) {
+            int entry = orderByRowAndColumn[k];
+            int row = entryRows[entry];
+            int column = entryColumns[entry];
+            // skip all earlier values of the same entry
+            while (k + 1 < numberOfEntries && entryRows[orderByRowAndColumn[k + 1]] == row
+                  && entryColumns[orderByRowAndColumn[k + 1]] == column) {
+               k++;
+               entry = orderByRowAndColumn[k];
+            }
+            if (Double.compare(entryValues[entry], 0.0) != 0) {
+               columnIndices[numberOfNonZeroEntries] = column;
+               values[numberOfNonZeroEntries] = entryValues[entry];
+               numberOfNonZeroEntries++;
+               rowPointers[row + 1]++;
+            }
+            k++;
+         }
+         for (int row = 0; row < numberOfRows; row++) {
+            rowPointers[row + 1] += rowPointers[row];
+         }
+         return new CompressedSparseDoubleMatrix(numberOfRows, numberOfColumns, rowPointers,
+               Arrays.copyOf(columnIndices, numberOfNonZeroEntries), Arrays.copyOf(values, numberOfNonZeroEntries));
+      }
+
+
+      /**
+       * Sorts the entries stably by the given keys using a counting sort and returns the resulting
+       * order of entries.
+       *
+       * @param keys the keys of the entries
+       * @param numberOfKeys the number of different keys
+       * @param inputOrder the order in which the entries are processed, or {@code null} for the
+       *           order in which they were set
+       * @return the positions of the entries in sorted order
+       */
+      private int[] countingSort(int[] keys, int numberOfKeys, int[] inputOrder) {
+         int[] nextPositions = new int[numberOfKeys + 1];
+         for (int i = 0; i < numberOfEntries; i++) {
+            nextPositions[keys[i] + 1]++;
+         }
+         for (int key = 0; key < numberOfKeys; key++) {
+            nextPositions[key + 1] += nextPositions[key];
+         }
+         int[] order = new int[numberOfEntries];
+         for (int i = 0; i < numberOfEntries; i++) {
+            int entry = inputOrder == null ? i : inputOrder[i];
+            order[nextPositions[keys[entry]]++] = entry;
+         }
+         return order;
+      }
+
+   }
+
+}
@@ -6,11 +6,18 @@ import org.slf4j.LoggerFactory;
 
 import de.upb.cs.is.jpl.api.exception.math.MatrixDecompositionException;
 import de.upb.cs.is.jpl.api.util.datastructure.Pair;
+import de.upb.cs.is.jpl.api.util.datastructure.Triple;
+import no.uib.cipr.matrix.DenseLU;
 import no.uib.cipr.matrix.DenseMatrix;
 import no.uib.cipr.matrix.DenseVector;
+import no.uib.cipr.matrix.LowerTriangDenseMatrix;
 import no.uib.cipr.matrix.Matrix;
 import no.uib.cipr.matrix.MatrixEntry;
+import no.uib.cipr.matrix.MatrixSingularException;
+import no.uib.cipr.matrix.NotConvergedException;
 import no.uib.cipr.matrix.QR;
+import no.uib.cipr.matrix.SymmDenseEVD;
+import no.uib.cipr.matrix.UpperTriangDenseMatrix;
 import no.uib.cipr.matrix.Vector;
 import no.uib.cipr.matrix.sparse.IterativeSolver;
 import no.uib.cipr.matrix.sparse.IterativeSolverNotConvergedException;
@@ -21,15 +28,35 @@ import no.uib.cipr.matrix.sparse.QMR;
  * This is dense matrix of double values. Apart from many matrix algebra operations implementations,
  * it also solves the set of linear equations represented as a double matrix.
  * 
+ * Square systems are solved directly by an LU decomposition, which is cached until this matrix is
+ * changed through one of its methods, so that solving several systems with the same matrix only
+ * requires a single decomposition. Changes to an MTJ matrix shared with this matrix are not
+ * detected.
+ * 
  * @author Sebastian Osterbrink
  *
  */
 public class DenseDoubleMatrix extends AMatrix {
 
    private static final String SOLVER_DID_NOT_TERMINATE = "Solver did not terminate. Last result returned. The reason is %s.";
+   private static final String ERROR_INCOMPATIBLE_DIMENSIONS = "Cannot multiply a %dx%d matrix with a %dx%d matrix.";
+   private static final String ERROR_WRONG_RESULT_DIMENSIONS = "The result matrix has to be a %dx%d matrix, but is a %dx%d matrix.";
+   private static final String ERROR_RESULT_IS_OPERAND = "The result matrix must not be one of the multiplied matrices.";
+   private static final String DIRECT_SOLVER_FAILED = "Direct solver failed, falling back to the iterative solver. The reason is %s.";
+   private static final String ERROR_MATRIX_NOT_SQUARE = "The %s decomposition requires a square matrix, but the matrix is a %dx%d matrix.";
+   private static final String ERROR_MATRIX_NOT_POSITIVE_DEFINITE = "The matrix is not positive definite, the Cholesky decomposition failed at row %d.";
+   private static final String ERROR_ZERO_PIVOT = "The LDL decomposition encountered a zero pivot at row %d.";
+   private static final String ERROR_EIGENDECOMPOSITION_NOT_CONVERGED = "The eigendecomposition did not converge.";
+
+   private static final String CHOLESKY = "Cholesky";
+   private static final String LDL = "LDL";
+   private static final String LU = "LU";
+   private static final String EIGEN = "eigen";
 
    private static final Logger logger = LoggerFactory.getLogger(DenseDoubleMatrix.class);
 
+   private DenseLU cachedLUDecomposition;
+
 
    /**
     * Creates a new matrix out of a double array.
@@ -78,8 +105,16 @@ public class DenseDoubleMatrix extends AMatrix {
    }
 
 
+   @Override
+   public void setValue(int row, int col, double value) {
+      super.setValue(row, col, value);
+      cachedLUDecomposition = null;
+   }
+
+
    @Override
    public void transponse() {
+      cachedLUDecomposition = null;
       if (internalMatrix.numColumns() == internalMatrix.numRows()) {
          internalMatrix = internalMatrix.transpose();
       } else {
@@ -92,6 +127,38 @@ public class DenseDoubleMatrix extends AMatrix {
    @Override
    public IVector solve(IVector b) {
       DenseVector bInternal = new DenseVector(b.asArray());
+      try {
+         if (internalMatrix instanceof UpperTriangDenseMatrix || internalMatrix instanceof LowerTriangDenseMatrix) {
+            DenseVector result = new DenseVector(getNumberOfColumns());
+            internalMatrix.solve(bInternal, result);
+            return new DenseDoubleVector(result);
+         }
+         DenseMatrix denseMatrix = new DenseMatrix(getNumberOfRows(), getNumberOfColumns(), getColumnMajorData(), false);
+         if (!denseMatrix.isSquare()) {
+            DenseVector result = new DenseVector(getNumberOfColumns());
+            denseMatrix.solve(bInternal, result);
+            return new DenseDoubleVector(result);
+         }
+         if (cachedLUDecomposition == null) {
+            cachedLUDecomposition = DenseLU.factorize(denseMatrix);
+         }
+         DenseMatrix result = cachedLUDecomposition.solve(new DenseMatrix(bInternal, false));
+         return new DenseDoubleVector(result.getData());
+      } catch (MatrixSingularException exception) {
+         logger.info(String.format(DIRECT_SOLVER_FAILED, exception));
+         return solveIteratively(bInternal);
+      }
+   }
+
+
+   /**
+    * Solves the equation A * x = b by the iterative QMR solver, which also returns an approximate
+    * result for singular matrices.
+    *
+    * @param bInternal the vector which should be the result of the equation
+    * @return the vector which solves the equation
+    */
+   private IVector solveIteratively(DenseVector bInternal) {
       DenseVector result = bInternal.copy().zero();
 
       IterativeSolver solver = new QMR(result);
@@ -107,10 +174,59 @@ public class DenseDoubleMatrix extends AMatrix {
 
    @Override
    public void multiply(IMatrix multipland) {
+      DenseDoubleMatrix result = new DenseDoubleMatrix(getNumberOfRows(), multipland.getNumberOfColumns());
+      multiply(multipland, result);
+      internalMatrix = result.internalMatrix;
+      cachedLUDecomposition = null;
+   }
 
-      Matrix result = new DenseMatrix(getNumberOfRows(), multipland.getNumberOfColumns());
-      internalMatrix = internalMatrix.mult(multipland.asDenseMatrix().internalMatrix, result);
 
+   /**
+    * Multiplies this matrix with the given one and stores the product in the given result matrix,
+    * whose previous content is overwritten. This matrix is not changed. Reusing the same result
+    * matrix for several multiplications avoids allocating a new matrix for each product.
+    * 
+    * The multiplication is cache-blocked and the rows of the result are computed in parallel, if
+    * the matrices are large enough.
+    *
+    * @param multipland the matrix this matrix is multiplied with
+    * @param result the matrix to store the product in, which has to have as many rows as this
+    *           matrix and as many columns as the multipland
+    * @return the result matrix
+    * @throws IllegalArgumentException if the dimensions of the matrices do not match or the result
+    *            matrix is one of the multiplied matrices
+    */
+   public DenseDoubleMatrix multiply(IMatrix multipland, DenseDoubleMatrix result) {
+      if (getNumberOfColumns() != multipland.getNumberOfRows()) {
+         throw new IllegalArgumentException(String.format(ERROR_INCOMPATIBLE_DIMENSIONS, getNumberOfRows(), getNumberOfColumns(),
+               multipland.getNumberOfRows(), multipland.getNumberOfColumns()));
+      }
+      if (result.getNumberOfRows() != getNumberOfRows() || result.getNumberOfColumns() != multipland.getNumberOfColumns()) {
+         throw new IllegalArgumentException(String.format(ERROR_WRONG_RESULT_DIMENSIONS, getNumberOfRows(),
+               multipland.getNumberOfColumns(), result.getNumberOfRows(), result.getNumberOfColumns()));
+      }
+      if (result == this || result == multipland) {
+         throw new IllegalArgumentException(ERROR_RESULT_IS_OPERAND);
+      }
+      BlockedMatrixMultiplication.multiply(getColumnMajorData(), multipland.asDenseMatrix().getColumnMajorData(),
+            result.getColumnMajorData(), getNumberOfRows(), getNumberOfColumns(), multipland.getNumberOfColumns());
+      result.cachedLUDecomposition = null;
+      return result;
+   }
+
+
+   /**
+    * Returns the column-major data array backing this matrix. If this matrix is not backed by an
+    * MTJ {@link DenseMatrix} yet, for example because it is the triangular factor of a
+    * decomposition, it is converted into one first.
+    *
+    * @return the column-major data array backing this matrix
+    */
+   private double[] getColumnMajorData() {
+      if (!(internalMatrix instanceof DenseMatrix)) {
+         internalMatrix = new DenseMatrix(internalMatrix);
+      }
+      return ((DenseMatrix) internalMatrix).getData();
    }
 
 
@@ -128,6 +244,184 @@ public class DenseDoubleMatrix extends AMatrix {
    }
 
 
+   @Override
+   public IMatrix getCholeskyDecomposition() throws MatrixDecompositionException {
+      DenseDoubleMatrix factor = new DenseDoubleMatrix(new DenseMatrix(internalMatrix));
+      factor.decomposeCholeskyInPlace();
+      return factor;
+   }
+
+
+   /**
+    * Overwrites this matrix with the lower triangular matrix L of its Cholesky decomposition
+    * A = L * L^T, without allocating any additional memory. Only the lower triangle of this
+    * matrix is read, i.e. the matrix is assumed to be symmetric.
+    *
+    * @throws MatrixDecompositionException if the matrix is not square or not positive definite
+    */
+   public void decomposeCholeskyInPlace() throws MatrixDecompositionException {
+      assertSquare(CHOLESKY);
+      cachedLUDecomposition = null;
+      double[] data = getColumnMajorData();
+      int n = getNumberOfRows();
+      for (int j = 0; j < n; j++) {
+         double diagonal = data[j + j * n];
+         for (int k = 0; k < j; k++) {
+            diagonal -= data[j + k * n] * data[j + k * n];
+         }
+         if (!(diagonal > 0)) {
+            throw new MatrixDecompositionException(String.format(ERROR_MATRIX_NOT_POSITIVE_DEFINITE, j));
+         }
+         diagonal = Math.sqrt(diagonal);
+         data[j + j * n] = diagonal;
+         for (int i = j + 1; i < n; i++) {
+            double value = data[i + j * n];
+            for (int k = 0; k < j; k++) {
+               value -= data[i + k * n] * data[j + k * n];
+            }
+            data[i + j * n] = value / diagonal;
+            data[j + i * n] = 0;
+         }
+      }
+   }
+
+
+   @Override
+   public Pair<IMatrix, IVector> getLDLDecomposition() throws MatrixDecompositionException {
+      DenseDoubleMatrix factor = new DenseDoubleMatrix(new DenseMatrix(internalMatrix));
+      factor.decomposeLDLInPlace();
+      int n = getNumberOfRows();
+      double[] diagonal = new double[n];
+      for (int i = 0; i < n; i++) {
+         diagonal[i] = factor.getValue(i, i);
+         factor.setValue(i, i, 1);
+      }
+      return Pair.of(factor, new DenseDoubleVector(diagonal));
+   }
+
+
+   /**
+    * Overwrites this matrix with its LDL decomposition A = L * D * L^T, without allocating any
+    * additional memory. Afterwards the strictly lower triangle of this matrix contains the unit
+    * lower triangular matrix L, the diagonal contains the diagonal matrix D and the upper triangle
+    * is zero. Only the lower triangle of this matrix is read, i.e. the matrix is assumed to be
+    * symmetric. In contrast to the Cholesky decomposition, this decomposition also works for
+    * indefinite matrices, as long as no zero pivot is encountered.
+    *
+    * @throws MatrixDecompositionException if the matrix is not square or a zero pivot is
+    *            encountered
+    */
+   public void decomposeLDLInPlace() throws MatrixDecompositionException {
+      assertSquare(LDL);
+      cachedLUDecomposition = null;
+      double[] data = getColumnMajorData();
+      int n = getNumberOfRows();
+      for (int j = 0; j < n; j++) {
+         double diagonal = data[j + j * n];
+         for (int k = 0; k < j; k++) {
+            diagonal -= data[j + k * n] * data[j + k * n] * data[k + k * n];
+         }
+         if (Double.compare(Math.abs(diagonal), 0.0) == 0 || Double.isNaN(diagonal)) {
+            throw new MatrixDecompositionException(String.format(ERROR_ZERO_PIVOT, j));
+         }
+         data[j + j * n] = diagonal;
+         for (int i = j + 1; i < n; i++) {
+            double value = data[i + j * n];
+            for (int k = 0; k < j; k++) {
+               value -= data[i + k * n] * data[j + k * n] * data[k + k * n];
+            }
+            data[i + j * n] = value / diagonal;
+            data[j + i * n] = 0;
+         }
+      }
+   }
+
+
+   @Override
+   public Triple<IMatrix, IMatrix, IMatrix> getLUDecomposition() throws MatrixDecompositionException {
+      DenseDoubleMatrix factor = new DenseDoubleMatrix(new DenseMatrix(internalMatrix));
+      int[] pivots = factor.decomposeLUInPlace();
+      int n = getNumberOfRows();
+
+      int[] permutation = new int[n];
+      for (int i = 0; i < n; i++) {
+         permutation[i] = i;
+      }
+      for (int i = 0; i < n; i++) {
+         int swap = permutation[i];
+         permutation[i] = permutation[pivots[i]];
+         permutation[pivots[i]] = swap;
+      }
+
+      DenseDoubleMatrix pMatrix = new DenseDoubleMatrix(n, n);
+      DenseDoubleMatrix lMatrix = new DenseDoubleMatrix(n, n);
+      DenseDoubleMatrix uMatrix = new DenseDoubleMatrix(n, n);
+      for (int i = 0; i < n; i++) {
+         pMatrix.setValue(i, permutation[i], 1);
+         lMatrix.setValue(i, i, 1);
+         for (int j = 0; j < n; j++) {
+            if (j < i) {
+               lMatrix.setValue(i, j, factor.getValue(i, j));
+            } else {
+               uMatrix.setValue(i, j, factor.getValue(i, j));
+            }
+         }
+      }
+      return Triple.of(pMatrix, lMatrix, uMatrix);
+   }
+
+
+   /**
+    * Overwrites this matrix with its LU decomposition with partial pivoting, without allocating
+    * any additional matrix. Afterwards the strictly lower triangle of this matrix contains the unit
+    * lower triangular matrix L and the upper triangle contains the upper triangular matrix U. The
+    * returned pivots describe the row interchanges: during the decomposition, row {@code i} was
+    * interchanged with row {@code pivots[i]}, in the order of increasing {@code i}.
+    *
+    * @return the pivots of the decomposition
+    * @throws MatrixDecompositionException if the matrix is not square
+    */
+   public int[] decomposeLUInPlace() throws MatrixDecompositionException {
+      assertSquare(LU);
+      cachedLUDecomposition = null;
+      int n = getNumberOfRows();
+      DenseMatrix denseMatrix = new DenseMatrix(n, n, getColumnMajorData(), false);
+      int[] pivots = new DenseLU(n, n).factor(denseMatrix).getPivots();
+      for (int i = 0; i < pivots.length; i++) {
+         // LAPACK uses one-based pivots
+         pivots[i]--;
+      }
+      return pivots;
+   }
+
+
+   @Override
+   public Pair<IVector, IMatrix> getSymmetricEigenDecomposition() throws MatrixDecompositionException {
+      assertSquare(EIGEN);
+      try {
+         SymmDenseEVD eigenDecomposition = SymmDenseEVD.factorize(internalMatrix);
+         return Pair.of(new DenseDoubleVector(eigenDecomposition.getEigenvalues()),
+               new DenseDoubleMatrix(eigenDecomposition.getEigenvectors()));
+      } catch (NotConvergedException exception) {
+         throw new MatrixDecompositionException(ERROR_EIGENDECOMPOSITION_NOT_CONVERGED, exception);
+      }
+   }
+
+
+   /**
+    * Checks whether this matrix is square.
+    *
+    * @param decompositionName the name of the decomposition requiring a square matrix
+    * @throws MatrixDecompositionException if this matrix is not square
+    */
+   private void assertSquare(String decompositionName) throws MatrixDecompositionException {
+      if (getNumberOfRows() != getNumberOfColumns()) {
+         throw new MatrixDecompositionException(
+               String.format(ERROR_MATRIX_NOT_SQUARE, decompositionName, getNumberOfRows(), getNumberOfColumns()));
+      }
+   }
+
+
    @Override
    public IMatrix createCopy() {
       return new DenseDoubleMatrix(internalMatrix.copy());
@@ -157,6 +451,32 @@ public class DenseDoubleMatrix extends AMatrix {
    }
 
 
+   /**
+    * Returns a view on the i-th row of this matrix, which reads and writes the entries of the row in
+    * the column-major data array of this matrix.
+    */
+   @Override
+   public DenseDoubleVectorView getRowView(int i) {
+      if (i < 0 || i >= getNumberOfRows()) {
+         throw new ArrayIndexOutOfBoundsException(i);
+      }
+      return new MatrixVectorView(this, i, getNumberOfRows(), getNumberOfColumns());
+   }
+
+
+   /**
+    * Returns a view on the i-th column of this matrix, which reads and writes the contiguous entries
+    * of the column in the column-major data array of this matrix.
+    */
+   @Override
+   public DenseDoubleVectorView getColumnView(int i) {
+      if (i < 0 || i >= getNumberOfColumns()) {
+         throw new ArrayIndexOutOfBoundsException(i);
+      }
+      return new MatrixVectorView(this, i * getNumberOfRows(), 1, getNumberOfRows());
+   }
+
+
    @Override
    public IVector getColumnVector(int i) {
       double[] column = new double[internalMatrix.numRows()];
@@ -177,4 +497,37 @@ public class DenseDoubleMatrix extends AMatrix {
    }
 
 
+   /**
+    * A view on a row or a column of a {@link DenseDoubleMatrix}, which discards the cached
+    * decomposition of the matrix whenever values are changed through the view.
+    *
+    * @author agent
+    *
+    */
+   private static class MatrixVectorView extends DenseDoubleVectorView {
+
+      private DenseDoubleMatrix matrix;
+
+
+      /**
+       * Creates a new view on the given entries of the data array of the given matrix.
+       *
+       * @param matrix the matrix to create the view on
+       * @param offset the position of the first entry of the view in the data array
+       * @param stride the distance between two consecutive entries of the view in the data array
+       * @param length the number of entries of the view
+       */
+      private MatrixVectorView(DenseDoubleMatrix matrix, int offset, int stride, int length) {
+         super(matrix.getColumnMajorData(), offset, stride, length);
+         this.matrix = matrix;
+      }
+
+
+      @Override
+      protected void valuesChanged() {
+         matrix.cachedLUDecomposition = null;
+      }
+
+   }
+
 }
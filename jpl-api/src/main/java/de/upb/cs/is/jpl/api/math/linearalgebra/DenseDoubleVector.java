@@ -4,51 +4,63 @@ package de.upb.cs.is.jpl.api.math.linearalgebra;
 import java.util.Arrays;
 
 import de.upb.cs.is.jpl.api.math.RandomGenerator;
+import de.upb.cs.is.jpl.api.math.util.VectorKernels;
 import no.uib.cipr.matrix.DenseVector;
 import no.uib.cipr.matrix.Vector;
-import no.uib.cipr.matrix.Vector.Norm;
 
 
 /**
- * Dense vector implementation wrapping the JBlas(http://jblas.org/) implementation of a dense
- * vector.
- * 
+ * Dense vector implementation backed by a primitive double array. All in-place operations work
+ * directly on this array and do not allocate any temporary objects, which makes this vector
+ * suitable for the hot loops of the optimization and learning algorithms.
+ *
  * @author Alexander Hetzer
  * @author Sebastian Osterbrink
  *
  */
 public class DenseDoubleVector extends AVector {
 
-   private Vector internalVector;
+   private static final String ERROR_DIMENSIONS_DO_NOT_MATCH = "The vector has %d dimensions, but the other vector has %d dimensions.";
+   private static final String ERROR_OFFSET_OUT_OF_BOUNDS = "The vector has %d dimensions, but the array of length %d only has %d dimensions from offset %d.";
+
+   private double[] data;
 
 
    /**
     * Creates a dense vector with the given amount of dimensions, initialized with zeros.
-    * 
+    *
     * @param numberOfDimensions the number of dimensions of this vector
     */
    public DenseDoubleVector(int numberOfDimensions) {
-      internalVector = new DenseVector(numberOfDimensions);
+      data = new double[numberOfDimensions];
    }
 
 
    /**
     * Creates a dense vector from the given data.
-    * 
+    *
     * @param data a double array, which can be interpreted as a vector
     */
    public DenseDoubleVector(double[] data) {
-      internalVector = new DenseVector(Arrays.copyOf(data, data.length));
+      this.data = Arrays.copyOf(data, data.length);
    }
 
 
    /**
-    * Creates a dense vector from an MTJ vector.
-    * 
+    * Creates a dense vector from an MTJ vector. If the given vector is an MTJ {@link DenseVector},
+    * its underlying data array is shared with this vector.
+    *
     * @param vector the MTJ vector
     */
    public DenseDoubleVector(Vector vector) {
-      internalVector = vector;
+      if (vector instanceof DenseVector) {
+         data = ((DenseVector) vector).getData();
+      } else {
+         data = new double[vector.size()];
+         for (int i = 0; i < data.length; i++) {
+            data[i] = vector.get(i);
+         }
+      }
    }
 
 
@@ -59,44 +71,53 @@ public class DenseDoubleVector extends AVector {
     * @param value the value for each entry
     */
    public DenseDoubleVector(int size, double value) {
-      internalVector = new DenseVector(size);
-      for (int index = 0; index < internalVector.size(); index++) {
-         internalVector.set(index, value);
-      }
+      data = new double[size];
+      Arrays.fill(data, value);
    }
 
 
    @Override
    public int length() {
-      return internalVector.size();
+      return data.length;
    }
 
 
    @Override
    public double getValue(int index) {
-      return internalVector.get(index);
+      return data[index];
    }
 
 
    @Override
    public void setValue(int index, double value) {
-      internalVector.set(index, value);
+      data[index] = value;
+   }
+
+
+   @Override
+   public void incrementValueAt(int index, double amount) {
+      data[index] += amount;
    }
 
 
    @Override
    public void addConstant(double constant) {
-      double[] contantAsVector = new double[internalVector.size()];
-      for (int i = 0; i < contantAsVector.length; i++) {
-         contantAsVector[i] = constant;
+      for (int i = 0; i < data.length; i++) {
+         data[i] += constant;
       }
-      addVector(contantAsVector);
    }
 
 
    @Override
    public void addVector(IVector vector) {
-      internalVector = internalVector.add(vector.toDenseVector().internalVector);
+      assertSameLength(vector.length());
+      if (vector instanceof DenseDoubleVector) {
+         addVector(((DenseDoubleVector) vector).data);
+      } else {
+         for (int i = 0; i < data.length; i++) {
+            data[i] += vector.getValue(i);
+         }
+      }
    }
 
 
@@ -108,41 +129,68 @@ public class DenseDoubleVector extends AVector {
 
    @Override
    public void subtractVector(IVector vector) {
-      internalVector = internalVector.add(-1, vector.toDenseVector().internalVector);
+      assertSameLength(vector.length());
+      if (vector instanceof DenseDoubleVector) {
+         subtractVector(((DenseDoubleVector) vector).data);
+      } else {
+         for (int i = 0; i < data.length; i++) {
+            data[i] -= vector.getValue(i);
+         }
+      }
    }
 
 
    @Override
    public void multiplyByVectorPairwise(IVector secondVector) {
-      for (int i = 0; i < internalVector.size(); i++) {
-         internalVector.set(i, internalVector.get(i) * secondVector.getValue(i));
+      assertSameLength(secondVector.length());
+      if (secondVector instanceof DenseDoubleVector) {
+         multiplyByVectorPairwise(((DenseDoubleVector) secondVector).data);
+      } else {
+         for (int i = 0; i < data.length; i++) {
+            data[i] *= secondVector.getValue(i);
+         }
       }
    }
 
 
    @Override
    public void multiplyByConstant(double constant) {
-      internalVector = internalVector.scale(constant);
+      for (int i = 0; i < data.length; i++) {
+         data[i] *= constant;
+      }
    }
 
 
    @Override
    public void divideByVectorPairwise(IVector secondVector) {
-      for (int i = 0; i < internalVector.size(); i++) {
-         internalVector.set(i, internalVector.get(i) / secondVector.getValue(i));
+      assertSameLength(secondVector.length());
+      if (secondVector instanceof DenseDoubleVector) {
+         divideByVectorPairwise(((DenseDoubleVector) secondVector).data);
+      } else {
+         for (int i = 0; i < data.length; i++) {
+            data[i] /= secondVector.getValue(i);
+         }
       }
    }
 
 
    @Override
    public void divideByConstant(double constant) {
-      internalVector = internalVector.scale(1 / constant);
+      multiplyByConstant(1 / constant);
    }
 
 
    @Override
    public double dotProduct(IVector vector) {
-      return internalVector.dot(vector.toDenseVector().internalVector);
+      assertSameLength(vector.length());
+      if (vector instanceof DenseDoubleVector) {
+         return dotProduct(((DenseDoubleVector) vector).data);
+      }
+      double result = 0;
+      for (int i = 0; i < data.length; i++) {
+         result += data[i] * vector.getValue(i);
+      }
+      return result;
    }
 
 
@@ -154,61 +202,160 @@ public class DenseDoubleVector extends AVector {
 
    @Override
    public double[] asArray() {
-      double[] result = new double[internalVector.size()];
-      for (int i = 0; i < result.length; i++) {
-         result[i] = internalVector.get(i);
-      }
-      return result;
+      return Arrays.copyOf(data, data.length);
    }
 
 
    @Override
    public void addVector(double[] vectorAsArray) {
-      addVector(new DenseDoubleVector(vectorAsArray));
+      assertSameLength(vectorAsArray.length);
+      for (int i = 0; i < data.length; i++) {
+         data[i] += vectorAsArray[i];
+      }
    }
 
 
    @Override
    public void subtractVector(double[] vectorAsArray) {
-      subtractVector(new DenseDoubleVector(vectorAsArray));
+      assertSameLength(vectorAsArray.length);
+      for (int i = 0; i < data.length; i++) {
+         data[i] -= vectorAsArray[i];
+      }
    }
 
 
    @Override
    public void multiplyByVectorPairwise(double[] vectorAsArray) {
-      multiplyByVectorPairwise(new DenseDoubleVector(vectorAsArray));
+      assertSameLength(vectorAsArray.length);
+      for (int i = 0; i < data.length; i++) {
+         data[i] *= vectorAsArray[i];
+      }
    }
 
 
    @Override
    public void divideByVectorPairwise(double[] vectorAsArray) {
-      divideByVectorPairwise(new DenseDoubleVector(vectorAsArray));
+      assertSameLength(vectorAsArray.length);
+      for (int i = 0; i < data.length; i++) {
+         data[i] /= vectorAsArray[i];
+      }
    }
 
 
    @Override
    public double dotProduct(double[] vectorAsArray) {
-      return dotProduct(new DenseDoubleVector(vectorAsArray));
+      assertSameLength(vectorAsArray.length);
+      return dotProduct(vectorAsArray, 0);
+   }
+
+
+   @Override
+   public double dotProduct(double[] array, int offset) {
+      if (offset < 0 || offset > array.length - data.length) {
+         throw new IllegalArgumentException(String.format(ERROR_OFFSET_OUT_OF_BOUNDS, data.length, array.length, array.length - offset, offset));
+      }
+      return VectorKernels.getKernel().dotProduct(data, 0, array, offset, data.length);
+   }
+
+
+   @Override
+   public void addScaledVector(double scalar, double[] vectorAsArray) {
+      assertSameLength(vectorAsArray.length);
+      VectorKernels.getKernel().axpy(scalar, vectorAsArray, 0, data, 0, data.length);
+   }
+
+
+   @Override
+   public void addScaledVector(double scalar, IVector vector) {
+      assertSameLength(vector.length());
+      if (vector instanceof DenseDoubleVector) {
+         addScaledVector(scalar, ((DenseDoubleVector) vector).data);
+      } else {
+         super.addScaledVector(scalar, vector);
+      }
+   }
+
+
+   @Override
+   public void multiplyByConstantAndAddScaledVector(double constant, double scalar, IVector vector) {
+      assertSameLength(vector.length());
+      if (vector instanceof DenseDoubleVector) {
+         double[] vectorData = ((DenseDoubleVector) vector).data;
+         for (int i = 0; i < data.length; i++) {
+            data[i] = constant * data[i] + scalar * vectorData[i];
+         }
+      } else {
+         super.multiplyByConstantAndAddScaledVector(constant, scalar, vector);
+      }
+   }
+
+
+   @Override
+   public void addScaledPairwiseProduct(double scalar, IVector firstVector, IVector secondVector) {
+      assertSameLength(firstVector.length());
+      assertSameLength(secondVector.length());
+      if (firstVector instanceof DenseDoubleVector && secondVector instanceof DenseDoubleVector) {
+         double[] firstData = ((DenseDoubleVector) firstVector).data;
+         double[] secondData = ((DenseDoubleVector) secondVector).data;
+         for (int i = 0; i < data.length; i++) {
+            data[i] += scalar * (firstData[i] * secondData[i]);
+         }
+      } else {
+         super.addScaledPairwiseProduct(scalar, firstVector, secondVector);
+      }
+   }
+
+
+   @Override
+   public void squareRoot() {
+      for (int i = 0; i < data.length; i++) {
+         data[i] = Math.sqrt(data[i]);
+      }
+   }
+
+
+   @Override
+   public double sum() {
+      double sum = 0;
+      for (int i = 0; i < data.length; i++) {
+         sum += data[i];
+      }
+      return sum;
+   }
+
+
+   @Override
+   public void zeroAllDimensions() {
+      Arrays.fill(data, 0);
+   }
+
+
+   @Override
+   public double euclideanNorm() {
+      return Math.sqrt(dotProduct(data));
    }
 
 
    @Override
    public IVector duplicate() {
-      return new DenseDoubleVector(asArray());
+      return new DenseDoubleVector(data);
    }
 
 
    @Override
    public void normalize() {
-      internalVector = internalVector.scale(internalVector.norm(Norm.Two));
+      double norm = euclideanNorm();
+      if (norm != 0.0) {
+         divideByConstant(norm);
+      }
    }
 
 
    @Override
    public void fillRandomly() {
-      for (int numberOfAddedValues = 0; numberOfAddedValues < internalVector.size(); numberOfAddedValues++) {
+      for (int numberOfAddedValues = 0; numberOfAddedValues < data.length; numberOfAddedValues++) {
          double fillValue = RandomGenerator.getRNG().nextDouble();
-         internalVector.set(numberOfAddedValues, fillValue);
+         data[numberOfAddedValues] = fillValue;
       }
    }
 
@@ -221,7 +368,21 @@ public class DenseDoubleVector extends AVector {
 
    @Override
    public SparseDoubleVector toSparseVector() {
-      return new SparseDoubleVector(asArray());
+      return new SparseDoubleVector(data);
+   }
+
+
+   /**
+    * Checks whether the other operand of an element-wise operation has the same number of
+    * dimensions as this vector.
+    *
+    * @param otherLength the number of dimensions of the other operand
+    * @throws IllegalArgumentException if the numbers of dimensions differ
+    */
+   private void assertSameLength(int otherLength) {
+      if (otherLength != data.length) {
+         throw new IllegalArgumentException(String.format(ERROR_DIMENSIONS_DO_NOT_MATCH, data.length, otherLength));
+      }
    }
 
 
@@ -229,7 +390,7 @@ public class DenseDoubleVector extends AVector {
    public int hashCode() {
       final int prime = 31;
       int result = super.hashCode();
-      result = prime * result + ((internalVector == null) ? 0 : internalVector.hashCode());
+      result = prime * result + Arrays.hashCode(data);
       return result;
    }
 
@@ -242,7 +403,6 @@ public class DenseDoubleVector extends AVector {
          return false;
       if (getClass() != obj.getClass())
          return false;
-      // we cannot compare interval vector, as it does not overwrite the equals method
       return true;
    }
 
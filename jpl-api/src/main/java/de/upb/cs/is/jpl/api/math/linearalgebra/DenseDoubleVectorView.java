@@ -0,0 +1,347 @@
+package de.upb.cs.is.jpl.api.math.linearalgebra;
+
+
+import de.upb.cs.is.jpl.api.math.RandomGenerator;
+
+
+/**
+ * A dense vector, which is a view on equally spaced entries of a double array owned by another
+ * object, for example a row or a column of a {@link DenseDoubleMatrix} or a feature vector of a
+ * dataset. The i-th entry of the view is the entry {@code offset + i * stride} of the array.
+ * Creating a view does not copy any data, and all changes to the view are written through to the
+ * array, so that they are visible to the owner of the array immediately.
+ *
+ * Operations returning a copy, like {@link #duplicate()} or {@link #toDenseVector()}, create an
+ * independent {@link DenseDoubleVector}.
+ *
+ * @author agent
+ *
+ */
+public class DenseDoubleVectorView extends AVector {
+
+   private double[] data;
+   private int offset;
+   private int stride;
+   private int length;
+
+
+   /**
+    * Creates a new view on the entries {@code offset + i * stride} for {@code 0 <= i < length} of
+    * the given array.
+    *
+    * @param data the array to create the view on
+    * @param offset the position of the first entry of the view in the array
+    * @param stride the distance between two consecutive entries of the view in the array
+    * @param length the number of entries of the view
+    */
+   public DenseDoubleVectorView(double[] data, int offset, int stride, int length) {
+      this.data = data;
+      this.offset = offset;
+      this.stride = stride;
+      this.length = length;
+   }
+
+
+   /**
+    * Is called after the values of this view have been changed. Subclasses can override this
+    * method to notify the owner of the array.
+    */
+   protected void valuesChanged() {
+      // nothing to do by default
+   }
+
+
+   /**
+    * Returns the position of the given entry of this view in the underlying array.
+    *
+    * @param index the index of the entry
+    * @return the position in the array
+    */
+   private int getPosition(int index) {
+      if (index < 0 || index >= length) {
+         throw new ArrayIndexOutOfBoundsException(index);
+      }
+      return offset + index * stride;
+   }
+
+
+   @Override
+   public int length() {
+      return length;
+   }
+
+
+   @Override
+   public double getValue(int index) {
+      return data[getPosition(index)];
+   }
+
+
+   @Override
+   public void setValue(int index, double value) {
+      data[getPosition(index)] = value;
+      valuesChanged();
+   }
+
+
+   @Override
+   public void incrementValueAt(int index, double amount) {
+      data[getPosition(index)] += amount;
+      valuesChanged();
+   }
+
+
+   @Override
+   public void addConstant(double constant) {
+      for (int i = 0, k = offset; i < length; i++, k += stride) {
+         data[k] += constant;
+      }
+      valuesChanged();
+   }
+
+
+   @Override
+   public void subtractConstant(double constant) {
+      addConstant(-1 * constant);
+   }
+
+
+   @Override
+   public void addVector(IVector vector) {
+      for (int i = 0, k = offset; i < length; i++, k += stride) {
+         data[k] += vector.getValue(i);
+      }
+      valuesChanged();
+   }
+
+
+   @Override
+   public void subtractVector(IVector vector) {
+      for (int i = 0, k = offset; i < length; i++, k += stride) {
+         data[k] -= vector.getValue(i);
+      }
+      valuesChanged();
+   }
+
+
+   @Override
+   public void multiplyByVectorPairwise(IVector secondVector) {
+      for (int i = 0, k = offset; i < length; i++, k += stride) {
+         data[k] *= secondVector.getValue(i);
+      }
+      valuesChanged();
+   }
+
+
+   @Override
+   public void divideByVectorPairwise(IVector secondVector) {
+      for (int i = 0, k = offset; i < length; i++, k += stride) {
+         data[k] /= secondVector.getValue(i);
+      }
+      valuesChanged();
+   }
+
+
+   @Override
+   public void multiplyByConstant(double constant) {
+      for (int i = 0, k = offset; i < length; i++, k += stride) {
+         data[k] *= constant;
+      }
+      valuesChanged();
+   }
+
+
+   @Override
+   public void divideByConstant(double constant) {
+      multiplyByConstant(1 / constant);
+   }
+
+
+   @Override
+   public void addVector(double[] vectorAsArray) {
+      for (int i = 0, k = offset; i < length; i++, k += stride) {
+         data[k] += vectorAsArray[i];
+      }
+      valuesChanged();
+   }
+
+
+   @Override
+   public void subtractVector(double[] vectorAsArray) {
+      for (int i = 0, k = offset; i < length; i++, k += stride) {
+         data[k] -= vectorAsArray[i];
+      }
+      valuesChanged();
+   }
+
+
+   @Override
+   public void multiplyByVectorPairwise(double[] vectorAsArray) {
+      for (int i = 0, k = offset; i < length; i++, k += stride) {
+         data[k] *= vectorAsArray[i];
+      }
+      valuesChanged();
+   }
+
+
+   @Override
+   public void divideByVectorPairwise(double[] vectorAsArray) {
+      for (int i = 0, k = offset; i < length; i++, k += stride) {
+         data[k] /= vectorAsArray[i];
+      }
+      valuesChanged();
+   }
+
+
+   @Override
+   public void addScaledVector(double scalar, double[] vectorAsArray) {
+      for (int i = 0, k = offset; i < length; i++, k += stride) {
+         data[k] += scalar * vectorAsArray[i];
+      }
+      valuesChanged();
+   }
+
+
+   @Override
+   public void addScaledVector(double scalar, IVector vector) {
+      for (int i = 0, k = offset; i < length; i++, k += stride) {
+         data[k] += scalar * vector.getValue(i);
+      }
+      valuesChanged();
+   }
+
+
+   @Override
+   public void multiplyByConstantAndAddScaledVector(double constant, double scalar, IVector vector) {
+      for (int i = 0, k = offset; i < length; i++, k += stride) {
+         data[k] = constant * data[k] + scalar * vector.getValue(i);
+      }
+      valuesChanged();
+   }
+
+
+   @Override
+   public void addScaledPairwiseProduct(double scalar, IVector firstVector, IVector secondVector) {
+      for (int i = 0, k = offset; i < length; i++, k += stride) {
+         data[k] += scalar * (firstVector.getValue(i) * secondVector.getValue(i));
+      }
+      valuesChanged();
+   }
+
+
+   @Override
+   public void squareRoot() {
+      for (int i = 0, k = offset; i < length; i++, k += stride) {
+         data[k] = Math.sqrt(data[k]);
+      }
+      valuesChanged();
+   }
+
+
+   @Override
+   public void zeroAllDimensions() {
+      for (int i = 0, k = offset; i < length; i++, k += stride) {
+         data[k] = 0;
+      }
+      valuesChanged();
+   }
+
+
+   @Override
+   public void normalize() {
+      double norm = euclideanNorm();
+      if (Double.compare(norm, 0.0) != 0) {
+         divideByConstant(norm);
+      }
+   }
+
+
+   @Override
+   public void fillRandomly() {
+      for (int i = 0, k = offset; i < length; i++, k += stride) {
+         data[k] = RandomGenerator.getRNG().nextDouble();
+      }
+      valuesChanged();
+   }
+
+
+   @Override
+   public double dotProduct(IVector vector) {
+      double result = 0;
+      for (int i = 0, k = offset; i < length; i++, k += stride) {
+         result += data[k] * vector.getValue(i);
+      }
+      return result;
+   }
+
+
+   @Override
+   public double dotProduct(double[] vectorAsArray) {
+      return dotProduct(vectorAsArray, 0);
+   }
+
+
+   @Override
+   public double dotProduct(double[] array, int arrayOffset) {
+      double result = 0;
+      for (int i = 0, k = offset; i < length; i++, k += stride) {
+         result += data[k] * array[arrayOffset + i];
+      }
+      return result;
+   }
+
+
+   @Override
+   public double sum() {
+      double sum = 0;
+      for (int i = 0, k = offset; i < length; i++, k += stride) {
+         sum += data[k];
+      }
+      return sum;
+   }
+
+
+   @Override
+   public double euclideanNorm() {
+      double squaredNorm = 0;
+      for (int i = 0, k = offset; i < length; i++, k += stride) {
+         squaredNorm += data[k] * data[k];
+      }
+      return Math.sqrt(squaredNorm);
+   }
+
+
+   @Override
+   public boolean isSparse() {
+      return false;
+   }
+
+
+   @Override
+   public double[] asArray() {
+      double[] result = new double[length];
+      for (int i = 0, k = offset; i < length; i++, k += stride) {
+         result[i] = data[k];
+      }
+      return result;
+   }
+
+
+   @Override
+   public IVector duplicate() {
+      return toDenseVector();
+   }
+
+
+   @Override
+   public DenseDoubleVector toDenseVector() {
+      return new DenseDoubleVector(asArray());
+   }
+
+
+   @Override
+   public SparseDoubleVector toSparseVector() {
+      return new SparseDoubleVector(asArray());
+   }
+
+}
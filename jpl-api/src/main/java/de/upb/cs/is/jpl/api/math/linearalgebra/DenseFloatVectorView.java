@@ -0,0 +1,328 @@
+package de.upb.cs.is.jpl.api.math.linearalgebra;
+
+
+import java.util.Arrays;
+
+import de.upb.cs.is.jpl.api.math.RandomGenerator;
+
+
+/**
+ * A dense vector, which is a view on a range of a float array owned by another object, for example
+ * a feature vector of a dataset storing its feature vectors in single precision. Creating a view
+ * does not copy any data. The values are converted to double precision when they are read, and all
+ * changes to the view are rounded to single precision and written through to the array, so that
+ * they are visible to the owner of the array immediately.
+ *
+ * Operations returning a copy, like {@link #duplicate()} or {@link #toDenseVector()}, create an
+ * independent {@link DenseDoubleVector}.
+ *
+ * @author agent
+ *
+ */
+public class DenseFloatVectorView extends AVector {
+
+   private float[] data;
+   private int offset;
+   private int length;
+
+
+   /**
+    * Creates a new view on the entries {@code offset} (inclusive) to {@code offset + length}
+    * (exclusive) of the given array.
+    *
+    * @param data the array to create the view on
+    * @param offset the position of the first entry of the view in the array
+    * @param length the number of entries of the view
+    */
+   public DenseFloatVectorView(float[] data, int offset, int length) {
+      this.data = data;
+      this.offset = offset;
+      this.length = length;
+   }
+
+
+   /**
+    * Returns the position of the given entry of this view in the underlying array.
+    *
+    * @param index the index of the entry
+    * @return the position in the array
+    */
+   private int getPosition(int index) {
+      if (index < 0 || index >= length) {
+         throw new ArrayIndexOutOfBoundsException(index);
+      }
+      return offset + index;
+   }
+
+
+   @Override
+   public int length() {
+      return length;
+   }
+
+
+   @Override
+   public double getValue(int index) {
+      return data[getPosition(index)];
+   }
+
+
+   @Override
+   public void setValue(int index, double value) {
+      data[getPosition(index)] = (float) value;
+   }
+
+
+   @Override
+   public void incrementValueAt(int index, double amount) {
+      int position = getPosition(index);
+      data[position] = (float) (data[position] + amount);
+   }
+
+
+   @Override
+   public void addConstant(double constant) {
+      for (int k = offset; k < offset + length; k++) {
+         data[k] = (float) (data[k] + constant);
+      }
+   }
+
+
+   @Override
+   public void subtractConstant(double constant) {
+      addConstant(-1 * constant);
+   }
+
+
+   @Override
+   public void addVector(IVector vector) {
+      for (int i = 0, k = offset; i < length; i++, k++) {
+         data[k] = (float) (data[k] + vector.getValue(i));
+      }
+   }
+
+
+   @Override
+   public void subtractVector(IVector vector) {
+      for (int i = 0, k = offset; i < length; i++, k++) {
+         data[k] = (float) (data[k] - vector.getValue(i));
+      }
+   }
+
+
+   @Override
+   public void multiplyByVectorPairwise(IVector secondVector) {
+      for (int i = 0, k = offset; i < length; i++, k++) {
+         data[k] = (float) (data[k] * secondVector.getValue(i));
+      }
+   }
+
+
+   @Override
+   public void divideByVectorPairwise(IVector secondVector) {
+      for (int i = 0, k = offset; i < length; i++, k++) {
+         data[k] = (float) (data[k] / secondVector.getValue(i));
+      }
+   }
+
+
+   @Override
+   public void multiplyByConstant(double constant) {
+      for (int k = offset; k < offset + length; k++) {
+         data[k] = (float) (data[k] * constant);
+      }
+   }
+
+
+   @Override
+   public void divideByConstant(double constant) {
+      multiplyByConstant(1 / constant);
+   }
+
+
+   @Override
+   public void addVector(double[] vectorAsArray) {
+      for (int i = 0, k = offset; i < length; i++, k++) {
+         data[k] = (float) (data[k] + vectorAsArray[i]);
+      }
+   }
+
+
+   @Override
+   public void subtractVector(double[] vectorAsArray) {
+      for (int i = 0, k = offset; i < length; i++, k++) {
+         data[k] = (float) (data[k] - vectorAsArray[i]);
+      }
+   }
+
+
+   @Override
+   public void multiplyByVectorPairwise(double[] vectorAsArray) {
+      for (int i = 0, k = offset; i < length; i++, k++) {
+         data[k] = (float) (data[k] * vectorAsArray[i]);
+      }
+   }
+
+
+   @Override
+   public void divideByVectorPairwise(double[] vectorAsArray) {
+      for (int i = 0, k = offset; i < length; i++, k++) {
+         data[k] = (float) (data[k] / vectorAsArray[i]);
+      }
+   }
+
+
+   @Override
+   public void addScaledVector(double scalar, double[] vectorAsArray) {
+      for (int i = 0, k = offset; i < length; i++, k++) {
+         data[k] = (float) (data[k] + scalar * vectorAsArray[i]);
+      }
+   }
+
+
+   @Override
+   public void addScaledVector(double scalar, IVector vector) {
+      for (int i = 0, k = offset; i < length; i++, k++) {
+         data[k] = (float) (data[k] + scalar * vector.getValue(i));
+      }
+   }
+
+
+   @Override
+   public void multiplyByConstantAndAddScaledVector(double constant, double scalar, IVector vector) {
+      for (int i = 0, k = offset; i < length; i++, k++) {
+         data[k] = (float) (constant * data[k] + scalar * vector.getValue(i));
+      }
+   }
+
+
+   @Override
+   public void addScaledPairwiseProduct(double scalar, IVector firstVector, IVector secondVector) {
+      for (int i = 0, k = offset; i < length; i++, k++) {
+         data[k] = (float) (data[k] + scalar * (firstVector.getValue(i) * secondVector.getValue(i)));
+      }
+   }
+
+
+   @Override
+   public void squareRoot() {
+      for (int k = offset; k < offset + length; k++) {
+         data[k] = (float) Math.sqrt(data[k]);
+      }
+   }
+
+
+   @Override
+   public void zeroAllDimensions() {
+      Arrays.fill(data, offset, offset + length, 0);
+   }
+
+
+   @Override
+   public void normalize() {
+      double norm = euclideanNorm();
+      if (Double.compare(norm, 0.0) != 0) {
+         divideByConstant(norm);
+      }
+   }
+
+
+   @Override
+   public void fillRandomly() {
+      for (int k = offset; k < offset + length; k++) {
+         data[k] = (float) RandomGenerator.getRNG().nextDouble();
+      }
+   }
+
+
+   @Override
+   public double dotProduct(IVector vector) {
+      double result = 0;
+      for (int i = 0, k = offset; i < length; i++, k++) {
+         result += data[k] * vector.getValue(i);
+      }
+      return result;
+   }
+
+
+   @Override
+   public double dotProduct(double[] vectorAsArray) {
+      return dotProduct(vectorAsArray, 0);
+   }
+
+
+   @Override
+   public double dotProduct(double[] array, int arrayOffset) {
+      double result = 0;
+      for (int i = 0, k = offset; i < length; i++, k++) {
+         result += data[k] * array[arrayOffset + i];
+      }
+      return result;
+   }
+
+
+   @Override
+   public double sum() {
+      double sum = 0;
+      for (int k = offset; k < offset + length; k++) {
+         sum += data[k];
+      }
+      return sum;
+   }
+
+
+   @Override
+   public double euclideanNorm() {
+      double squaredNorm = 0;
+      for (int k = offset; k < offset + length; k++) {
+         double value = data[k];
+         squaredNorm += value * value;
+      }
+      return Math.sqrt(squaredNorm);
+   }
+
+
+   @Override
+   public boolean isSparse() {
+      return false;
+   }
+
+
+   @Override
+   public double[] asArray() {
+      double[] result = new double[length];
+      for (int i = 0; i < length; i++) {
+         result[i] = data[offset + i];
+      }
+      return result;
+   }
+
+
+   /**
+    * Returns a copy of the values of this view in single precision.
+    *
+    * @return the values of this view
+    */
+   public float[] asFloatArray() {
+      return Arrays.copyOfRange(data, offset, offset + length);
+   }
+
+
+   @Override
+   public IVector duplicate() {
+      return toDenseVector();
+   }
+
+
+   @Override
+   public DenseDoubleVector toDenseVector() {
+      return new DenseDoubleVector(asArray());
+   }
+
+
+   @Override
+   public SparseDoubleVector toSparseVector() {
+      return new SparseDoubleVector(asArray());
+   }
+
+}
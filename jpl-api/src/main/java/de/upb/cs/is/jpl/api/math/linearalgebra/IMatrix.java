@@ -3,6 +3,7 @@ package de.upb.cs.is.jpl.api.math.linearalgebra;
 
 import de.upb.cs.is.jpl.api.exception.math.MatrixDecompositionException;
 import de.upb.cs.is.jpl.api.util.datastructure.Pair;
+import de.upb.cs.is.jpl.api.util.datastructure.Triple;
 
 
 /**
@@ -89,6 +90,50 @@ public interface IMatrix {
    Pair<IMatrix, IMatrix> getQRDecomposition() throws MatrixDecompositionException;
 
 
+   /**
+    * Computes the Cholesky decomposition A = L * L^T of this symmetric positive definite matrix.
+    * Only the lower triangle of this matrix is read.
+    * 
+    * @return the lower triangular matrix L
+    * @throws MatrixDecompositionException if the matrix is not square or not positive definite
+    */
+   IMatrix getCholeskyDecomposition() throws MatrixDecompositionException;
+
+
+   /**
+    * Computes the LDL decomposition A = L * D * L^T of this symmetric matrix, where L is a unit
+    * lower triangular matrix and D a diagonal matrix. Only the lower triangle of this matrix is
+    * read.
+    * 
+    * @return the pair of the matrix L and the diagonal of D
+    * @throws MatrixDecompositionException if the matrix is not square or a zero pivot is
+    *            encountered
+    */
+   Pair<IMatrix, IVector> getLDLDecomposition() throws MatrixDecompositionException;
+
+
+   /**
+    * Computes the LU decomposition with partial pivoting P * A = L * U of this matrix, where P is a
+    * permutation matrix, L a unit lower triangular matrix and U an upper triangular matrix.
+    * 
+    * @return the triple of the matrices P, L and U
+    * @throws MatrixDecompositionException if the matrix is not square
+    */
+   Triple<IMatrix, IMatrix, IMatrix> getLUDecomposition() throws MatrixDecompositionException;
+
+
+   /**
+    * Computes the eigendecomposition of this symmetric matrix. Only the upper triangle of this
+    * matrix is read.
+    * 
+    * @return the pair of the eigenvalues in ascending order and the matrix containing the
+    *         according eigenvectors as columns
+    * @throws MatrixDecompositionException if the matrix is not square or the decomposition did not
+    *            converge
+    */
+   Pair<IVector, IMatrix> getSymmetricEigenDecomposition() throws MatrixDecompositionException;
+
+
    /**
     * Creates a copy of the current matrix.
     *
@@ -131,6 +176,30 @@ public interface IMatrix {
    IVector getRowVector(int i);
 
 
+   /**
+    * Returns a view on the i-th row of this matrix. In contrast to {@link #getRowVector(int)}, no
+    * data is copied if the matrix supports views, and changes to the view are written through to
+    * this matrix, if its values can be changed. Matrices which do not support views return a copy.
+    * A view is only valid until this matrix is transposed or multiplied.
+    * 
+    * @param i the number of the row
+    * @return a view on the row
+    */
+   IVector getRowView(int i);
+
+
+   /**
+    * Returns a view on the i-th column of this matrix. In contrast to {@link #getColumnVector(int)},
+    * no data is copied if the matrix supports views, and changes to the view are written through to
+    * this matrix, if its values can be changed. Matrices which do not support views return a copy.
+    * A view is only valid until this matrix is transposed or multiplied.
+    * 
+    * @param i the number of the column
+    * @return a view on the column
+    */
+   IVector getColumnView(int i);
+
+
    /**
     * Calculate the Frobenius Norm for this matrix.
     * 
@@ -93,6 +93,60 @@ public interface IVector {
    public double dotProduct(double[] vectorAsArray);
 
 
+   /**
+    * Computes the dot product of this vector and the part of the given array starting at the given
+    * offset, i.e. the entries {@code array[offset]} to {@code array[offset + length() - 1]}.
+    * 
+    * @param array the array containing the vector to compute the dot product with
+    * @param offset the index in the array at which the vector starts
+    * @return the dot product of the given and this vector
+    */
+   public double dotProduct(double[] array, int offset);
+
+
+   /**
+    * Adds the given double array interpreted as a vector scaled by the given scalar to this vector,
+    * i.e. computes {@code this = this + scalar * vector}.
+    * 
+    * @param scalar the scalar to scale the given vector with
+    * @param vectorAsArray the vector to be scaled and added as an array
+    */
+   public void addScaledVector(double scalar, double[] vectorAsArray);
+
+
+   /**
+    * Adds the given vector scaled by the given scalar to this vector, i.e. computes
+    * {@code this = this + scalar * vector}.
+    * 
+    * @param scalar the scalar to scale the given vector with
+    * @param vector the vector to be scaled and added
+    */
+   public void addScaledVector(double scalar, IVector vector);
+
+
+   /**
+    * Multiplies this vector with the given constant and adds the given vector scaled by the given
+    * scalar to it, i.e. computes {@code this = constant * this + scalar * vector}.
+    * 
+    * @param constant the constant to multiply this vector with
+    * @param scalar the scalar to scale the given vector with
+    * @param vector the vector to be scaled and added
+    */
+   public void multiplyByConstantAndAddScaledVector(double constant, double scalar, IVector vector);
+
+
+   /**
+    * Adds the pairwise product of the given vectors scaled by the given scalar to this vector, i.e.
+    * computes {@code this[i] = this[i] + scalar * firstVector[i] * secondVector[i]} for every
+    * dimension {@code i}.
+    * 
+    * @param scalar the scalar to scale the pairwise product with
+    * @param firstVector the first factor of the pairwise product
+    * @param secondVector the second factor of the pairwise product
+    */
+   public void addScaledPairwiseProduct(double scalar, IVector firstVector, IVector secondVector);
+
+
    /**
     * Returns the number of dimensions of this vector.
     * 
@@ -326,7 +380,7 @@ public interface IVector {
 
 
    /**
-    * Normalizes this vector to the unit interval.
+    * Normalizes this vector to unit Euclidean length. A vector with a norm of zero is not changed.
     */
    public void normalize();
 
@@ -0,0 +1,344 @@
+package de.upb.cs.is.jpl.api.math.linearalgebra;
+
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+import de.upb.cs.is.jpl.api.exception.math.MatrixDecompositionException;
+import de.upb.cs.is.jpl.api.util.datastructure.Pair;
+import no.uib.cipr.matrix.DenseMatrix;
+
+
+/**
+ * A read-only dense matrix, whose values are stored in a file, which is mapped into memory by
+ * {@link FileChannel#map(MapMode, long, long)}. The values do not live on the Java heap, but in the
+ * page cache of the operating system, so that several matrices mapping the same file, for example
+ * in different worker threads, share a single copy of the data. All read accesses are absolute, thus
+ * a matrix, and copies created by {@link #createCopy()}, can be read concurrently by several
+ * threads.
+ *
+ * The file is written by {@link #write(IMatrix, File)} and consists of a header of 16 bytes (magic
+ * number, version, number of rows and number of columns as integers), followed by the values in
+ * row-major order, all in little-endian byte order. Files larger than 2 GB are mapped in several
+ * segments of whole rows.
+ *
+ * The values of the matrix cannot be changed, which is why {@link #setValue(int, int, double)} and
+ * {@link #multiply(IMatrix)} are not supported. Transposing only changes the way the file is
+ * interpreted. Operations which need the values on the heap, such as solving or decompositions,
+ * work on a {@link DenseDoubleMatrix} copy.
+ *
+ * This matrix is a standalone storage. The datasets and learning algorithms of the framework keep
+ * their values on the heap and do not create memory-mapped matrices themselves, hence a mapped
+ * matrix has to be written and mapped explicitly by the code using it.
+ *
+ * @author agent
+ *
+ */
+public class MappedDoubleMatrix extends AMatrix {
+
+   private static final String ERROR_MATRIX_IS_READ_ONLY = "A memory-mapped matrix is read-only. Use asDenseMatrix() to obtain a modifiable copy.";
+   private static final String ERROR_NOT_A_MATRIX_FILE = "The file %s is not a matrix file of version %d.";
+   private static final String ERROR_FILE_TOO_SHORT = "The file %s is too short for a %dx%d matrix.";
+   private static final String ERROR_INDEX_OUT_OF_BOUNDS = "(%d,%d) is out of bounds for a %dx%d matrix.";
+
+   private static final int MAGIC_NUMBER = 0x4A504C4D;
+   private static final int VERSION = 1;
+   private static final int HEADER_SIZE = 16;
+   private static final long MAXIMUM_SEGMENT_SIZE = Integer.MAX_VALUE - 7L;
+
+   private final DoubleBuffer[] segments;
+   private final int rowsPerSegment;
+   private final int numberOfStoredRows;
+   private final int numberOfStoredColumns;
+   private boolean isTransposed;
+
+
+   /**
+    * Creates a new {@link MappedDoubleMatrix} by mapping the given matrix file, which has been
+    * written by {@link #write(IMatrix, File)}, into memory. The file can be closed or deleted
+    * afterwards, as the mapping stays valid until the matrix is garbage collected.
+    *
+    * @param file the matrix file to map
+    * @throws IOException if the file cannot be read or is not a valid matrix file
+    */
+   public MappedDoubleMatrix(File file) throws IOException {
+      try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r"); FileChannel channel = randomAccessFile.getChannel()) {
+         ByteBuffer header = channel.map(MapMode.READ_ONLY, 0, HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+         if (header.getInt() != MAGIC_NUMBER || header.getInt() != VERSION) {
+            throw new IOException(String.format(ERROR_NOT_A_MATRIX_FILE, file, VERSION));
+         }
+         numberOfStoredRows = header.getInt();
+         numberOfStoredColumns = header.getInt();
+         long rowSize = (long) numberOfStoredColumns * Double.BYTES;
+         if (channel.size() < HEADER_SIZE + rowSize * numberOfStoredRows) {
+            throw new IOException(String.format(ERROR_FILE_TOO_SHORT, file, numberOfStoredRows, numberOfStoredColumns));
+         }
+
+         rowsPerSegment = rowSize == 0 ? Math.max(numberOfStoredRows, 1) : (int) Math.max(1, MAXIMUM_SEGMENT_SIZE / rowSize);
+         int numberOfSegments = (numberOfStoredRows + rowsPerSegment - 1) / rowsPerSegment;
+         segments = new DoubleBuffer[numberOfSegments];
+         for (int segment = 0; segment < numberOfSegments; segment++) {
+            int firstRow = segment * rowsPerSegment;
+            int numberOfRowsInSegment = Math.min(rowsPerSegment, numberOfStoredRows - firstRow);
+            segments[segment] = channel.map(MapMode.READ_ONLY, HEADER_SIZE + firstRow * rowSize, numberOfRowsInSegment * rowSize)
+                  .order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+         }
+      }
+   }
+
+
+   /**
+    * Creates a copy of the given matrix sharing its mapped segments.
+    *
+    * @param matrix the matrix to copy
+    */
+   private MappedDoubleMatrix(MappedDoubleMatrix matrix) {
+      segments = matrix.segments;
+      rowsPerSegment = matrix.rowsPerSegment;
+      numberOfStoredRows = matrix.numberOfStoredRows;
+      numberOfStoredColumns = matrix.numberOfStoredColumns;
+      isTransposed = matrix.isTransposed;
+   }
+
+
+   /**
+    * Writes the given matrix into the given file in the format which can be mapped by
+    * {@link #MappedDoubleMatrix(File)}. An existing file is overwritten.
+    *
+    * @param matrix the matrix to write
+    * @param file the file to write to
+    * @throws IOException if the file cannot be written
+    */
+   public static void write(IMatrix matrix, File file) throws IOException {
+      int numberOfRows = matrix.getNumberOfRows();
+      int numberOfColumns = matrix.getNumberOfColumns();
+      try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw"); FileChannel channel = randomAccessFile.getChannel()) {
+         channel.truncate(0);
+         ByteBuffer buffer = ByteBuffer.allocate(Math.max(HEADER_SIZE, numberOfColumns * Double.BYTES)).order(ByteOrder.LITTLE_ENDIAN);
+         buffer.putInt(MAGIC_NUMBER).putInt(VERSION).putInt(numberOfRows).putInt(numberOfColumns);
+         writeFully(channel, buffer);
+         for (int row = 0; row < numberOfRows; row++) {
+            for (int column = 0; column < numberOfColumns; column++) {
+               buffer.putDouble(matrix.getValue(row, column));
+            }
+            writeFully(channel, buffer);
+         }
+      }
+   }
+
+
+   /**
+    * Writes the content of the given buffer up to its current position to the given channel and
+    * clears the buffer afterwards.
+    *
+    * @param channel the channel to write to
+    * @param buffer the buffer to write
+    * @throws IOException if the channel cannot be written
+    */
+   private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+      buffer.flip();
+      while (buffer.hasRemaining()) {
+         channel.write(buffer);
+      }
+      buffer.clear();
+   }
+
+
+   /**
+    * Returns the value stored at the given position of the file, ignoring whether this matrix is
+    * transposed.
+    *
+    * @param storedRow the row in the file
+    * @param storedColumn the column in the file
+    * @return the value at the given position
+    */
+   private double getStoredValue(int storedRow, int storedColumn) {
+      return segments[storedRow / rowsPerSegment].get((storedRow % rowsPerSegment) * numberOfStoredColumns + storedColumn);
+   }
+
+
+   @Override
+   public double getValue(int row, int col) {
+      if (row < 0 || row >= getNumberOfRows() || col < 0 || col >= getNumberOfColumns()) {
+         throw new ArrayIndexOutOfBoundsException(String.format(ERROR_INDEX_OUT_OF_BOUNDS, row, col, getNumberOfRows(), getNumberOfColumns()));
+      }
+      return isTransposed ? getStoredValue(col, row) : getStoredValue(row, col);
+   }
+
+
+   @Override
+   public void setValue(int row, int col, double value) {
+      throw new UnsupportedOperationException(ERROR_MATRIX_IS_READ_ONLY);
+   }
+
+
+   @Override
+   public int getNumberOfRows() {
+      return isTransposed ? numberOfStoredColumns : numberOfStoredRows;
+   }
+
+
+   @Override
+   public int getNumberOfColumns() {
+      return isTransposed ? numberOfStoredRows : numberOfStoredColumns;
+   }
+
+
+   /**
+    * Copies the i-th row of this matrix into the given array, which has to have at least as many
+    * entries as this matrix has columns. In contrast to {@link #getRowVector(int)}, this method does
+    * not allocate any memory.
+    *
+    * @param i the number of the row
+    * @param target the array to copy the row into
+    */
+   public void copyRow(int i, double[] target) {
+      int numberOfColumns = getNumberOfColumns();
+      if (isTransposed) {
+         for (int column = 0; column < numberOfColumns; column++) {
+            target[column] = getStoredValue(column, i);
+         }
+      } else {
+         DoubleBuffer segment = segments[i / rowsPerSegment].duplicate();
+         segment.position((i % rowsPerSegment) * numberOfStoredColumns);
+         segment.get(target, 0, numberOfColumns);
+      }
+   }
+
+
+   @Override
+   public IVector getRowVector(int i) {
+      double[] row = new double[getNumberOfColumns()];
+      copyRow(i, row);
+      return new DenseDoubleVector(row);
+   }
+
+
+   @Override
+   public IVector getColumnVector(int i) {
+      double[] column = new double[getNumberOfRows()];
+      for (int row = 0; row < column.length; row++) {
+         column[row] = getValue(row, i);
+      }
+      return new DenseDoubleVector(column);
+   }
+
+
+   @Override
+   public void transponse() {
+      isTransposed = !isTransposed;
+   }
+
+
+   @Override
+   public IVector solve(IVector b) {
+      return asDenseMatrix().solve(b);
+   }
+
+
+   @Override
+   public void multiply(IMatrix matrixB) {
+      throw new UnsupportedOperationException(ERROR_MATRIX_IS_READ_ONLY);
+   }
+
+
+   @Override
+   public int getRank() {
+      return asDenseMatrix().getRank();
+   }
+
+
+   @Override
+   public Pair<IMatrix, IMatrix> getQRDecomposition() throws MatrixDecompositionException {
+      return asDenseMatrix().getQRDecomposition();
+   }
+
+
+   /**
+    * Returns a copy of this matrix, which shares the mapped file with this matrix and thus does not
+    * copy any values.
+    */
+   @Override
+   public IMatrix createCopy() {
+      return new MappedDoubleMatrix(this);
+   }
+
+
+   @Override
+   public SparseDoubleMatrix asSparseMatrix() {
+      return asDenseMatrix().asSparseMatrix();
+   }
+
+
+   @Override
+   public DenseDoubleMatrix asDenseMatrix() {
+      int numberOfRows = getNumberOfRows();
+      int numberOfColumns = getNumberOfColumns();
+      double[] columnMajorData = new double[numberOfRows * numberOfColumns];
+      double[] row = new double[numberOfColumns];
+      for (int i = 0; i < numberOfRows; i++) {
+         copyRow(i, row);
+         for (int column = 0; column < numberOfColumns; column++) {
+            columnMajorData[i + column * numberOfRows] = row[column];
+         }
+      }
+      return new DenseDoubleMatrix(new DenseMatrix(numberOfRows, numberOfColumns, columnMajorData, false));
+   }
+
+
+   @Override
+   public double getFrobeniusNorm() {
+      double norm = 0;
+      for (DoubleBuffer segment : segments) {
+         for (int k = 0; k < segment.limit(); k++) {
+            double value = segment.get(k);
+            norm += value * value;
+         }
+      }
+      return Math.sqrt(norm);
+   }
+
+
+   @Override
+   public String toString() {
+      return asDenseMatrix().toString();
+   }
+
+
+   @Override
+   public int hashCode() {
+      final int prime = 31;
+      int result = 1;
+      result = prime * result + getNumberOfRows();
+      result = prime * result + getNumberOfColumns();
+      return result;
+   }
+
+
+   @Override
+   public boolean equals(Object obj) {
+      if (this == obj)
+         return true;
+      if (obj == null)
+         return false;
+      if (getClass() != obj.getClass())
+         return false;
+      MappedDoubleMatrix other = (MappedDoubleMatrix) obj;
+      if (getNumberOfRows() != other.getNumberOfRows() || getNumberOfColumns() != other.getNumberOfColumns())
+         return false;
+      for (int row = 0; row < getNumberOfRows(); row++) {
+         for (int column = 0; column < getNumberOfColumns(); column++) {
+            if (Double.compare(getValue(row, column), other.getValue(row, column)) != 0)
+               return false;
+         }
+      }
+      return true;
+   }
+
+}
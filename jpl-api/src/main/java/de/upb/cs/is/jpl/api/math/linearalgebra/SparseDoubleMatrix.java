@@ -90,7 +90,7 @@ public class SparseDoubleMatrix extends AMatrix {
 
    @Override
    public IVector solve(IVector b) {
-      Vector bInternal = b.toSparseVector().internalVector;
+      Vector bInternal = b.toSparseVector().asMTJVector();
       SparseVector result = (SparseVector) bInternal.copy();
       internalMatrix.solve(bInternal, result);
       return new SparseDoubleVector(result);
@@ -1,211 +1,457 @@
 package de.upb.cs.is.jpl.api.math.linearalgebra;
 
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 import java.util.Random;
 
 import de.upb.cs.is.jpl.api.math.RandomGenerator;
-import de.upb.cs.is.jpl.api.util.CollectionsUtils;
-import no.uib.cipr.matrix.DenseVector;
-import no.uib.cipr.matrix.Vector.Norm;
 import no.uib.cipr.matrix.sparse.SparseVector;
 
 
 /**
- * Sparse vector implementation wrapping the MTJ implementation of a sparse vector.
- * 
+ * Sparse vector implementation storing only the non-zero entries of the vector in two primitive
+ * arrays, which are sorted by index. Operations with other sparse vectors are computed by merging
+ * the non-zero entries of both vectors, so that their costs are linear in the number of non-zero
+ * entries instead of the dimension of the vectors. The result of such an operation is sparse
+ * again. Entries becoming {@code 0} are removed from the vector.
+ *
  * @author Sebastian Osterbrink
  *
  */
 public class SparseDoubleVector extends AVector {
 
-   protected SparseVector internalVector;
+   private static final int DEFAULT_INITIAL_CAPACITY = 4;
 
-   private boolean isChanged = true;
+   private int dimension;
+   private int numberOfNonZeroEntries;
+   private int[] indices;
+   private double[] values;
 
 
    /**
     * Creates a new SparseDoubleVector which contains the given values.
-    * 
+    *
     * @param indexes an array which includes all indices for which there exists a value
     * @param values an array which contains all values
     * @param dimension the total dimension of the vector
     */
    public SparseDoubleVector(int[] indexes, double[] values, int dimension) {
-      internalVector = new SparseVector(dimension, indexes, values);
-      setIsChanged();
+      this(dimension, 0, new int[0], new double[0]);
+      Builder builder = new Builder(dimension, indexes.length);
+      for (int i = 0; i < indexes.length; i++) {
+         builder.setValue(indexes[i], values[i]);
+      }
+      builder.buildInto(this);
    }
 
 
    /**
     * Creates a new SparseDoubleVector which contains only zero values.
-    * 
+    *
     * @param dimension the dimension of the vector
     */
    public SparseDoubleVector(int dimension) {
-      internalVector = new SparseVector(dimension);
+      this(dimension, 0, new int[DEFAULT_INITIAL_CAPACITY], new double[DEFAULT_INITIAL_CAPACITY]);
    }
 
 
    /**
     * Creates a new SparseDoubleVector which contains the given values.
-    * 
+    *
     * @param asArray the vector in the form on a double array
     */
    public SparseDoubleVector(double[] asArray) {
-      List<Integer> indicesWithNonZeroEntry = new ArrayList<>();
-      List<Double> nonZeroEntries = new ArrayList<>();
+      this.dimension = asArray.length;
+      int numberOfNonZeroValues = 0;
       for (int i = 0; i < asArray.length; i++) {
-         if (Double.compare(asArray[i], 0.0) != 0) {
-            indicesWithNonZeroEntry.add(i);
-            nonZeroEntries.add(asArray[i]);
+         if (asArray[i] != 0.0) {
+            numberOfNonZeroValues++;
+         }
+      }
+      indices = new int[numberOfNonZeroValues];
+      values = new double[numberOfNonZeroValues];
+      for (int i = 0; i < asArray.length; i++) {
+         if (asArray[i] != 0.0) {
+            indices[numberOfNonZeroEntries] = i;
+            values[numberOfNonZeroEntries] = asArray[i];
+            numberOfNonZeroEntries++;
          }
       }
-
-      internalVector = new SparseVector(asArray.length, CollectionsUtils.convertIntegerListToArray(indicesWithNonZeroEntry),
-            CollectionsUtils.convertDoubleListToArray(nonZeroEntries));
-      setIsChanged();
    }
 
 
    /**
     * Creates a new SparseDoubleVector from a MTJ SparseVector class object.
-    * 
+    *
     * @param mtjVector an MTJ Vector class object
     */
    public SparseDoubleVector(SparseVector mtjVector) {
-      internalVector = mtjVector;
-      setIsChanged();
+      this(mtjVector.getIndex(), Arrays.copyOf(mtjVector.getData(), mtjVector.getUsed()), mtjVector.size());
+   }
+
+
+   /**
+    * Creates a new SparseDoubleVector directly using the given arrays, which have to be sorted by
+    * index and must not contain any zero values in the first {@code numberOfNonZeroEntries}
+    * positions.
+    *
+    * @param dimension the total dimension of the vector
+    * @param numberOfNonZeroEntries the number of used positions in the arrays
+    * @param indices the sorted indices of the non-zero entries
+    * @param values the values of the non-zero entries
+    */
+   private SparseDoubleVector(int dimension, int numberOfNonZeroEntries, int[] indices, double[] values) {
+      this.dimension = dimension;
+      this.numberOfNonZeroEntries = numberOfNonZeroEntries;
+      this.indices = indices;
+      this.values = values;
+   }
+
+
+   /**
+    * Returns this vector as an MTJ {@link SparseVector}.
+    *
+    * @return this vector as an MTJ vector
+    */
+   SparseVector asMTJVector() {
+      return new SparseVector(dimension, Arrays.copyOf(indices, numberOfNonZeroEntries), Arrays.copyOf(values, numberOfNonZeroEntries));
+   }
+
+
+   /**
+    * Replaces the content of this vector by the given arrays.
+    *
+    * @param newNumberOfNonZeroEntries the number of used positions in the arrays
+    * @param newIndices the sorted indices of the non-zero entries
+    * @param newValues the values of the non-zero entries
+    */
+   private void setContent(int newNumberOfNonZeroEntries, int[] newIndices, double[] newValues) {
+      this.numberOfNonZeroEntries = newNumberOfNonZeroEntries;
+      this.indices = newIndices;
+      this.values = newValues;
+   }
+
+
+   /**
+    * Returns the position of the given index in the index array, or a negative value encoding the
+    * insertion point as defined by {@link Arrays#binarySearch(int[], int, int, int)}.
+    *
+    * @param index the index to look for
+    * @return the position of the index in the index array
+    */
+   private int findPosition(int index) {
+      return Arrays.binarySearch(indices, 0, numberOfNonZeroEntries, index);
+   }
+
+
+   /**
+    * Removes all entries, which became {@code 0}, from the arrays of this vector.
+    */
+   private void removeZeroEntries() {
+      int newNumberOfNonZeroEntries = 0;
+      for (int k = 0; k < numberOfNonZeroEntries; k++) {
+         if (values[k] != 0.0) {
+            indices[newNumberOfNonZeroEntries] = indices[k];
+            values[newNumberOfNonZeroEntries] = values[k];
+            newNumberOfNonZeroEntries++;
+         }
+      }
+      numberOfNonZeroEntries = newNumberOfNonZeroEntries;
+   }
+
+
+   /**
+    * Computes {@code this = constant * this + scalar * vector} for the given sparse vector by
+    * merging the non-zero entries of both vectors.
+    *
+    * @param constant the constant to multiply this vector with
+    * @param scalar the scalar to multiply the given vector with
+    * @param vector the sparse vector to add
+    */
+   private void mergeScaled(double constant, double scalar, SparseDoubleVector vector) {
+      int capacity = numberOfNonZeroEntries + vector.numberOfNonZeroEntries;
+      int[] newIndices = new int[capacity];
+      double[] newValues = new double[capacity];
+      int newNumberOfNonZeroEntries = 0;
+      int k = 0;
+      int l = 0;
+      while (k < numberOfNonZeroEntries || l < vector.numberOfNonZeroEntries) {
+         int index;
+         double value;
+         if (l >= vector.numberOfNonZeroEntries || (k < numberOfNonZeroEntries && indices[k] < vector.indices[l])) {
+            index = indices[k];
+            value = constant * values[k];
+            k++;
+         } else if (k >= numberOfNonZeroEntries || vector.indices[l] < indices[k]) {
+            index = vector.indices[l];
+            value = scalar * vector.values[l];
+            l++;
+         } else {
+            index = indices[k];
+            value = constant * values[k] + scalar * vector.values[l];
+            k++;
+            l++;
+         }
+         if (value != 0.0) {
+            newIndices[newNumberOfNonZeroEntries] = index;
+            newValues[newNumberOfNonZeroEntries] = value;
+            newNumberOfNonZeroEntries++;
+         }
+      }
+      setContent(newNumberOfNonZeroEntries, newIndices, newValues);
+   }
+
+
+   /**
+    * Computes {@code this = constant * this + scalar * vector} for the given array by iterating
+    * over all dimensions.
+    *
+    * @param constant the constant to multiply this vector with
+    * @param scalar the scalar to multiply the given vector with
+    * @param vectorAsArray the vector to add as an array
+    */
+   private void mergeScaled(double constant, double scalar, double[] vectorAsArray) {
+      Builder builder = new Builder(dimension, numberOfNonZeroEntries);
+      int k = 0;
+      for (int i = 0; i < dimension; i++) {
+         double value = scalar * vectorAsArray[i];
+         if (k < numberOfNonZeroEntries && indices[k] == i) {
+            value += constant * values[k];
+            k++;
+         }
+         builder.setValue(i, value);
+      }
+      builder.buildInto(this);
+   }
+
+
+   /**
+    * Computes {@code this = constant * this + scalar * vector} for the given vector, choosing the
+    * merge strategy according to its type.
+    *
+    * @param constant the constant to multiply this vector with
+    * @param scalar the scalar to multiply the given vector with
+    * @param vector the vector to add
+    */
+   private void mergeScaled(double constant, double scalar, IVector vector) {
+      if (vector instanceof SparseDoubleVector) {
+         mergeScaled(constant, scalar, (SparseDoubleVector) vector);
+      } else if (vector.isSparse()) {
+         mergeScaled(constant, scalar, vector.toSparseVector());
+      } else {
+         mergeScaled(constant, scalar, vector.asArray());
+      }
    }
 
 
    @Override
    public void addVector(double[] vectorAsArray) {
-      setIsChanged();
-      addVector(new SparseDoubleVector(vectorAsArray));
+      mergeScaled(1, 1, vectorAsArray);
    }
 
 
    @Override
    public void subtractVector(double[] vectorAsArray) {
-      setIsChanged();
-      internalVector = (SparseVector) internalVector.add(-1, new SparseDoubleVector(vectorAsArray).internalVector);
+      mergeScaled(1, -1, vectorAsArray);
    }
 
 
    @Override
    public void multiplyByVectorPairwise(double[] vectorAsArray) {
-      setIsChanged();
-      SparseVector vector = internalVector;
-      int[] indexes = vector.getIndex();
-      for (int i = 0; i < indexes.length; i++) {
-         vector.set(indexes[i], vector.get(indexes[i]) * vectorAsArray[indexes[i]]);
+      for (int k = 0; k < numberOfNonZeroEntries; k++) {
+         values[k] *= vectorAsArray[indices[k]];
       }
-      internalVector = vector;
-   }
-
-
-   /**
-    * Changes the status of this vector to changed.
-    */
-   private void setIsChanged() {
-      isChanged = true;
+      removeZeroEntries();
    }
 
 
    @Override
    public void divideByVectorPairwise(double[] vectorAsArray) {
-      setIsChanged();
-      SparseVector vector = internalVector;
-      int[] indexes = vector.getIndex();
-      for (int i = 0; i < indexes.length; i++) {
-         vector.set(indexes[i], vector.get(indexes[i]) / vectorAsArray[indexes[i]]);
+      for (int k = 0; k < numberOfNonZeroEntries; k++) {
+         values[k] /= vectorAsArray[indices[k]];
       }
-      internalVector = vector;
+      removeZeroEntries();
    }
 
 
    @Override
    public double dotProduct(double[] vectorAsArray) {
-      return internalVector.dot(new DenseVector(vectorAsArray));
+      return dotProduct(vectorAsArray, 0);
+   }
+
+
+   @Override
+   public double dotProduct(double[] array, int offset) {
+      double result = 0;
+      for (int k = 0; k < numberOfNonZeroEntries; k++) {
+         result += values[k] * array[offset + indices[k]];
+      }
+      return result;
    }
 
 
    @Override
    public int length() {
-      return internalVector.size();
+      return dimension;
    }
 
 
    @Override
    public double getValue(int index) {
-      return internalVector.get(index);
+      if (index < 0 || index >= dimension) {
+         throw new ArrayIndexOutOfBoundsException(index);
+      }
+      int position = findPosition(index);
+      return position >= 0 ? values[position] : 0;
    }
 
 
    @Override
    public void setValue(int index, double value) {
-      setIsChanged();
-      internalVector.set(index, value);
+      if (index < 0 || index >= dimension) {
+         throw new ArrayIndexOutOfBoundsException(index);
+      }
+      int position = findPosition(index);
+      if (position >= 0) {
+         if (value != 0.0) {
+            values[position] = value;
+         } else {
+            System.arraycopy(indices, position + 1, indices, position, numberOfNonZeroEntries - position - 1);
+            System.arraycopy(values, position + 1, values, position, numberOfNonZeroEntries - position - 1);
+            numberOfNonZeroEntries--;
+         }
+      } else if (value != 0.0) {
+         int insertionPoint = -(position + 1);
+         if (numberOfNonZeroEntries == indices.length) {
+            int newCapacity = Math.max(2 * indices.length, DEFAULT_INITIAL_CAPACITY);
+            indices = Arrays.copyOf(indices, newCapacity);
+            values = Arrays.copyOf(values, newCapacity);
+         }
+         System.arraycopy(indices, insertionPoint, indices, insertionPoint + 1, numberOfNonZeroEntries - insertionPoint);
+         System.arraycopy(values, insertionPoint, values, insertionPoint + 1, numberOfNonZeroEntries - insertionPoint);
+         indices[insertionPoint] = index;
+         values[insertionPoint] = value;
+         numberOfNonZeroEntries++;
+      }
    }
 
 
    @Override
    public void addVector(IVector vector) {
-      setIsChanged();
-      internalVector = (SparseVector) internalVector.add(vector.toSparseVector().internalVector);
+      mergeScaled(1, 1, vector);
    }
 
 
    @Override
    public void subtractVector(IVector vector) {
-      setIsChanged();
-      internalVector = (SparseVector) internalVector.add(-1, vector.toSparseVector().internalVector);
+      mergeScaled(1, -1, vector);
+   }
+
+
+   @Override
+   public void addScaledVector(double scalar, double[] vectorAsArray) {
+      mergeScaled(1, scalar, vectorAsArray);
+   }
+
+
+   @Override
+   public void addScaledVector(double scalar, IVector vector) {
+      mergeScaled(1, scalar, vector);
+   }
+
+
+   @Override
+   public void multiplyByConstantAndAddScaledVector(double constant, double scalar, IVector vector) {
+      mergeScaled(constant, scalar, vector);
+   }
+
+
+   @Override
+   public void addScaledPairwiseProduct(double scalar, IVector firstVector, IVector secondVector) {
+      IVector sparseFactor = firstVector.isSparse() ? firstVector : secondVector;
+      IVector otherFactor = firstVector.isSparse() ? secondVector : firstVector;
+      SparseDoubleVector product = sparseFactor.toSparseVector();
+      if (product == sparseFactor) {
+         product = product.duplicate();
+      }
+      product.multiplyByVectorPairwise(otherFactor);
+      mergeScaled(1, scalar, product);
    }
 
 
    @Override
    public void multiplyByVectorPairwise(IVector secondVector) {
-      setIsChanged();
-      SparseVector sparseVector = internalVector;
-      int[] indexes = sparseVector.getIndex();
-      for (int i = 0; i < indexes.length; i++) {
-         sparseVector.set(indexes[i], sparseVector.get(indexes[i]) * secondVector.getValue(indexes[i]));
+      if (secondVector instanceof SparseDoubleVector) {
+         SparseDoubleVector sparseVector = (SparseDoubleVector) secondVector;
+         int l = 0;
+         for (int k = 0; k < numberOfNonZeroEntries; k++) {
+            while (l < sparseVector.numberOfNonZeroEntries && sparseVector.indices[l] < indices[k]) {
+               l++;
+            }
+            if (l < sparseVector.numberOfNonZeroEntries && sparseVector.indices[l] == indices[k]) {
+               values[k] *= sparseVector.values[l];
+            } else {
+               values[k] = 0;
+            }
+         }
+      } else {
+         for (int k = 0; k < numberOfNonZeroEntries; k++) {
+            values[k] *= secondVector.getValue(indices[k]);
+         }
       }
-      internalVector = sparseVector;
+      removeZeroEntries();
    }
 
 
    @Override
    public void multiplyByConstant(double constant) {
-      setIsChanged();
-      internalVector = internalVector.scale(constant);
+      for (int k = 0; k < numberOfNonZeroEntries; k++) {
+         values[k] *= constant;
+      }
+      removeZeroEntries();
    }
 
 
    @Override
    public void divideByVectorPairwise(IVector secondVector) {
-      setIsChanged();
-      SparseVector sparseVector = internalVector;
-      int[] indexes = sparseVector.getIndex();
-      for (int i = 0; i < indexes.length; i++) {
-         sparseVector.set(indexes[i], sparseVector.get(indexes[i]) / secondVector.getValue(indexes[i]));
+      for (int k = 0; k < numberOfNonZeroEntries; k++) {
+         values[k] /= secondVector.getValue(indices[k]);
       }
-      internalVector = sparseVector;
+      removeZeroEntries();
    }
 
 
    @Override
    public void divideByConstant(double constant) {
-      setIsChanged();
-      internalVector = internalVector.scale(1 / constant);
+      multiplyByConstant(1 / constant);
    }
 
 
    @Override
    public double dotProduct(IVector vector) {
-      return internalVector.dot(vector.toSparseVector().internalVector);
+      if (vector instanceof SparseDoubleVector) {
+         SparseDoubleVector sparseVector = (SparseDoubleVector) vector;
+         double result = 0;
+         int k = 0;
+         int l = 0;
+         while (k < numberOfNonZeroEntries && l < sparseVector.numberOfNonZeroEntries) {
+            if (indices[k] < sparseVector.indices[l]) {
+               k++;
+            } else if (sparseVector.indices[l] < indices[k]) {
+               l++;
+            } else {
+               result += values[k] * sparseVector.values[l];
+               k++;
+               l++;
+            }
+         }
+         return result;
+      }
+      double result = 0;
+      for (int k = 0; k < numberOfNonZeroEntries; k++) {
+         result += values[k] * vector.getValue(indices[k]);
+      }
+      return result;
    }
 
 
@@ -217,9 +463,9 @@ public class SparseDoubleVector extends AVector {
 
    @Override
    public double[] asArray() {
-      double[] result = new double[internalVector.size()];
-      for (int i = 0; i < result.length; i++) {
-         result[i] = internalVector.get(i);
+      double[] result = new double[dimension];
+      for (int k = 0; k < numberOfNonZeroEntries; k++) {
+         result[indices[k]] = values[k];
       }
       return result;
    }
@@ -238,97 +484,132 @@ public class SparseDoubleVector extends AVector {
 
 
    @Override
-   public IVector duplicate() {
-      return new SparseDoubleVector(asArray());
+   public SparseDoubleVector duplicate() {
+      return new SparseDoubleVector(dimension, numberOfNonZeroEntries, Arrays.copyOf(indices, numberOfNonZeroEntries),
+            Arrays.copyOf(values, numberOfNonZeroEntries));
    }
 
 
+   /**
+    * Normalizes this vector to unit Euclidean length. Only the non-zero entries are visited.
+    */
    @Override
    public void normalize() {
-      setIsChanged();
-      internalVector = internalVector.scale(internalVector.norm(Norm.Two));
+      double norm = euclideanNorm();
+      if (norm != 0.0) {
+         divideByConstant(norm);
+      }
    }
 
 
    @Override
    public void addConstant(double constant) {
-      setIsChanged();
-      double[] contantAsVector = new double[internalVector.size()];
-      for (int i = 0; i < contantAsVector.length; i++) {
-         contantAsVector[i] = constant;
+      if (constant == 0.0) {
+         return;
+      }
+      // adding a constant affects every dimension, so the result cannot stay sparse
+      Builder builder = new Builder(dimension, dimension);
+      int k = 0;
+      for (int i = 0; i < dimension; i++) {
+         double value = constant;
+         if (k < numberOfNonZeroEntries && indices[k] == i) {
+            value += values[k];
+            k++;
+         }
+         builder.setValue(i, value);
       }
-      addVector(contantAsVector);
+      builder.buildInto(this);
    }
 
 
    @Override
    public void subtractConstant(double constant) {
-      setIsChanged();
       addConstant(-1 * constant);
    }
 
 
+   @Override
+   public void squareRoot() {
+      for (int k = 0; k < numberOfNonZeroEntries; k++) {
+         values[k] = Math.sqrt(values[k]);
+      }
+   }
+
+
+   @Override
+   public double sum() {
+      double sum = 0;
+      for (int k = 0; k < numberOfNonZeroEntries; k++) {
+         sum += values[k];
+      }
+      return sum;
+   }
+
+
+   @Override
+   public double euclideanNorm() {
+      double squaredNorm = 0;
+      for (int k = 0; k < numberOfNonZeroEntries; k++) {
+         squaredNorm += values[k] * values[k];
+      }
+      return Math.sqrt(squaredNorm);
+   }
+
+
+   @Override
+   public void zeroAllDimensions() {
+      numberOfNonZeroEntries = 0;
+   }
+
+
    @Override
    public void fillRandomly() {
-      setIsChanged();
       Random random = RandomGenerator.getRNG();
-      int numberToAdd = random.nextInt(internalVector.size());
-      List<Integer> unfilledIndexes = new ArrayList<>();
-      for (int i = 0; i < internalVector.size(); i++) {
-         unfilledIndexes.add(i);
+      int numberToAdd = random.nextInt(dimension);
+      int[] unfilledIndexes = new int[dimension];
+      for (int i = 0; i < dimension; i++) {
+         unfilledIndexes[i] = i;
       }
       for (int numberOfAddedValues = 0; numberOfAddedValues < numberToAdd; numberOfAddedValues++) {
-         int randomIndex = random.nextInt(unfilledIndexes.size());
-         int toBeFilledIndex = unfilledIndexes.get(randomIndex);
-         double fillValue = random.nextDouble();
-         internalVector.set(toBeFilledIndex, fillValue);
-         unfilledIndexes.remove(0);
+         int randomIndex = numberOfAddedValues + random.nextInt(dimension - numberOfAddedValues);
+         int toBeFilledIndex = unfilledIndexes[randomIndex];
+         unfilledIndexes[randomIndex] = unfilledIndexes[numberOfAddedValues];
+         unfilledIndexes[numberOfAddedValues] = toBeFilledIndex;
+         setValue(toBeFilledIndex, random.nextDouble());
       }
    }
 
 
    /**
-    * Returns an array containing the non-zero indices of this sparse vector.
-    * 
-    * @return an integer array containing the non-zero indices of this sparse vector
+    * Returns the number of non-zero entries of this sparse vector.
+    *
+    * @return the number of non-zero entries
     */
-   public int[] getNonZeroIndices() {
-      if (isChanged) {
-         List<Integer> indicesWithNonZeroEntry = new ArrayList<>(length());
-         List<Double> nonZeroEntries = new ArrayList<>(length());
-         for (int i = 0; i < length(); i++) {
-            double value = internalVector.get(i);
-            if (Double.compare(value, 0.0) != 0) {
-               indicesWithNonZeroEntry.add(i);
-               nonZeroEntries.add(value);
-            }
-         }
-         // do we need to recopy?
-         if (indicesWithNonZeroEntry.size() != internalVector.getIndex().length) {
-            this.internalVector = new SparseVector(indicesWithNonZeroEntry.size(),
-                  CollectionsUtils.convertIntegerListToArray(indicesWithNonZeroEntry),
-                  CollectionsUtils.convertDoubleListToArray(nonZeroEntries));
-         }
-         setUnchanged();
-      }
-      return internalVector.getIndex();
+   public int getNumberOfNonZeroEntries() {
+      return numberOfNonZeroEntries;
    }
 
 
    /**
-    * Changes the status of this vector to unchanged.
+    * Returns an array containing the non-zero indices of this sparse vector.
+    *
+    * @return an integer array containing the non-zero indices of this sparse vector
     */
-   private void setUnchanged() {
-      isChanged = false;
+   public int[] getNonZeroIndices() {
+      return Arrays.copyOf(indices, numberOfNonZeroEntries);
    }
 
 
    @Override
    public int hashCode() {
       final int prime = 31;
-      int result = super.hashCode();
-      result = prime * result + ((internalVector == null) ? 0 : internalVector.hashCode());
-      result = prime * result + (isChanged ? 1231 : 1237);
+      int result = 1;
+      result = prime * result + dimension;
+      for (int k = 0; k < numberOfNonZeroEntries; k++) {
+         result = prime * result + indices[k];
+         long temp = Double.doubleToLongBits(values[k]);
+         result = prime * result + (int) (temp ^ (temp >>> 32));
+      }
       return result;
    }
 
@@ -337,16 +618,136 @@ public class SparseDoubleVector extends AVector {
    public boolean equals(Object obj) {
       if (this == obj)
          return true;
-      if (!super.equals(obj))
+      if (obj == null)
          return false;
       if (getClass() != obj.getClass())
-         return false;
+         return super.equals(obj);
       SparseDoubleVector other = (SparseDoubleVector) obj;
-      // we cannot compare the internal vector
-      if (isChanged != other.isChanged)
+      if (dimension != other.dimension || numberOfNonZeroEntries != other.numberOfNonZeroEntries)
          return false;
+      for (int k = 0; k < numberOfNonZeroEntries; k++) {
+         if (indices[k] != other.indices[k] || Double.compare(values[k], other.values[k]) != 0)
+            return false;
+      }
       return true;
    }
 
 
+   /**
+    * A builder for {@link SparseDoubleVector}s, which collects the entries in primitive arrays
+    * without boxing. Entries can be set in any order. If an index is set several times, the value
+    * set last is used. Entries with a value of {@code 0} are not stored.
+    *
+    * @author agent
+    *
+    */
+   public static class Builder {
+
+      private int dimension;
+      private int numberOfEntries;
+      private int[] entryIndices;
+      private double[] entryValues;
+      private boolean isSorted = true;
+
+
+      /**
+       * Creates a new builder for a vector of the given dimension.
+       *
+       * @param dimension the dimension of the vector to build
+       */
+      public Builder(int dimension) {
+         this(dimension, DEFAULT_INITIAL_CAPACITY);
+      }
+
+
+      /**
+       * Creates a new builder for a vector of the given dimension, which can hold the given number
+       * of entries before it has to grow.
+       *
+       * @param dimension the dimension of the vector to build
+       * @param expectedNumberOfEntries the expected number of entries
+       */
+      public Builder(int dimension, int expectedNumberOfEntries) {
+         this.dimension = dimension;
+         int capacity = Math.max(expectedNumberOfEntries, 1);
+         entryIndices = new int[capacity];
+         entryValues = new double[capacity];
+      }
+
+
+      /**
+       * Sets the entry at the given index to the given value.
+       *
+       * @param index the index of the entry
+       * @param value the value of the entry
+       * @return this builder
+       */
+      public Builder setValue(int index, double value) {
+         if (index < 0 || index >= dimension) {
+            throw new ArrayIndexOutOfBoundsException(index);
+         }
+         if (numberOfEntries == entryIndices.length) {
+            entryIndices = Arrays.copyOf(entryIndices, 2 * entryIndices.length);
+            entryValues = Arrays.copyOf(entryValues, 2 * entryValues.length);
+         }
+         if (numberOfEntries > 0 && entryIndices[numberOfEntries - 1] >= index) {
+            isSorted = false;
+         }
+         entryIndices[numberOfEntries] = index;
+         entryValues[numberOfEntries] = value;
+         numberOfEntries++;
+         return this;
+      }
+
+
+      /**
+       * Builds the vector out of the entries set so far.
+       *
+       * @return the built vector
+       */
+      public SparseDoubleVector build() {
+         SparseDoubleVector vector = new SparseDoubleVector(dimension);
+         buildInto(vector);
+         return vector;
+      }
+
+
+      /**
+       * Replaces the content of the given vector by the entries set so far.
+       *
+       * @param vector the vector to fill
+       */
+      private void buildInto(SparseDoubleVector vector) {
+         int[] order = null;
+         if (!isSorted) {
+            // sort by index, while entries with the same index keep the order they were set in
+            long[] keys = new long[numberOfEntries];
+            for (int i = 0; i < numberOfEntries; i++) {
+               keys[i] = ((long) entryIndices[i] << 32) | i;
+            }
+            Arrays.sort(keys);
+            order = new int[numberOfEntries];
+            for (int i = 0; i < numberOfEntries; i++) {
+               order[i] = (int) keys[i];
+            }
+         }
+         int[] indices = new int[numberOfEntries];
+         double[] values = new double[numberOfEntries];
+         int numberOfNonZeroEntries = 0;
+         for (int k = 0; k < numberOfEntries; k++) {
+            int entry = order == null ? k : order[k];
+            boolean isOverwrittenLater = k + 1 < numberOfEntries
+                  && entryIndices[order == null ? k + 1 : order[k + 1]] == entryIndices[entry];
+            if (!isOverwrittenLater && entryValues[entry] != 0.0) {
+               indices[numberOfNonZeroEntries] = entryIndices[entry];
+               values[numberOfNonZeroEntries] = entryValues[entry];
+               numberOfNonZeroEntries++;
+            }
+         }
+         vector.dimension = dimension;
+         vector.setContent(numberOfNonZeroEntries, indices, values);
+      }
+
+   }
+
 }
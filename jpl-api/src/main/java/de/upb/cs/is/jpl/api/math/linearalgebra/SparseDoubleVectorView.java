@@ -0,0 +1,316 @@
+package de.upb.cs.is.jpl.api.math.linearalgebra;
+
+
+import java.util.Arrays;
+
+
+/**
+ * A read-only sparse vector, which is a view on a slice of an index and a value array owned by
+ * another object, for example a row or a column of a {@link CompressedSparseDoubleMatrix}. The
+ * indices in the slice have to be sorted in ascending order. The values are either stored in the
+ * same slice of the value array, or at the positions given by a slice of a third array, as for the
+ * columns of a {@link CompressedSparseDoubleMatrix}. Creating a view does not copy any data,
+ * accessing a single value costs a binary search over the non-zero entries of the view and all
+ * operations, which only read the view, are linear in the number of non-zero entries.
+ *
+ * All operations changing the vector in place are not supported. Operations returning a copy work
+ * on a {@link SparseDoubleVector} created from this view.
+ *
+ * @author agent
+ *
+ */
+public class SparseDoubleVectorView extends AVector {
+
+   private static final String ERROR_VIEW_IS_READ_ONLY = "A sparse vector view is read-only and cannot be changed.";
+
+   private int[] indices;
+   private double[] values;
+   private int[] valuePositions;
+   private int from;
+   private int to;
+   private int dimension;
+
+
+   /**
+    * Creates a new view on the entries {@code from} (inclusive) to {@code to} (exclusive) of the
+    * given arrays.
+    *
+    * @param indices the array containing the sorted indices of the non-zero entries
+    * @param values the array containing the values of the non-zero entries
+    * @param from the first position of the view in the arrays, inclusive
+    * @param to the last position of the view in the arrays, exclusive
+    * @param dimension the total dimension of the vector
+    */
+   public SparseDoubleVectorView(int[] indices, double[] values, int from, int to, int dimension) {
+      this(indices, values, null, from, to, dimension);
+   }
+
+
+   /**
+    * Creates a new view on the entries {@code from} (inclusive) to {@code to} (exclusive) of the
+    * given index and position arrays, whose values are stored in the value array at the given
+    * positions.
+    *
+    * @param indices the array containing the sorted indices of the non-zero entries
+    * @param values the array containing the values of the non-zero entries
+    * @param valuePositions the array containing the positions of the values of the non-zero
+    *           entries in the value array, or {@code null} if they are stored at the same positions
+    *           as their indices
+    * @param from the first position of the view in the index and position arrays, inclusive
+    * @param to the last position of the view in the index and position arrays, exclusive
+    * @param dimension the total dimension of the vector
+    */
+   public SparseDoubleVectorView(int[] indices, double[] values, int[] valuePositions, int from, int to, int dimension) {
+      this.indices = indices;
+      this.values = values;
+      this.valuePositions = valuePositions;
+      this.from = from;
+      this.to = to;
+      this.dimension = dimension;
+   }
+
+
+   /**
+    * Returns the value of the non-zero entry at the given position of the index array.
+    *
+    * @param k the position in the index array
+    * @return the value of the entry
+    */
+   private double getValueAt(int k) {
+      return valuePositions == null ? values[k] : values[valuePositions[k]];
+   }
+
+
+   /**
+    * Returns the number of non-zero entries of this vector.
+    *
+    * @return the number of non-zero entries
+    */
+   public int getNumberOfNonZeroEntries() {
+      return to - from;
+   }
+
+
+   /**
+    * Returns the index of the k-th non-zero entry of this vector.
+    *
+    * @param k the number of the non-zero entry
+    * @return the index of the k-th non-zero entry
+    */
+   public int getIndexOfNonZeroEntry(int k) {
+      return indices[from + k];
+   }
+
+
+   /**
+    * Returns the value of the k-th non-zero entry of this vector.
+    *
+    * @param k the number of the non-zero entry
+    * @return the value of the k-th non-zero entry
+    */
+   public double getValueOfNonZeroEntry(int k) {
+      return getValueAt(from + k);
+   }
+
+
+   /**
+    * Returns an array containing the non-zero indices of this vector.
+    *
+    * @return an integer array containing the non-zero indices of this vector
+    */
+   public int[] getNonZeroIndices() {
+      return Arrays.copyOfRange(indices, from, to);
+   }
+
+
+   @Override
+   public int length() {
+      return dimension;
+   }
+
+
+   @Override
+   public double getValue(int index) {
+      if (index < 0 || index >= dimension) {
+         throw new ArrayIndexOutOfBoundsException(index);
+      }
+      int position = Arrays.binarySearch(indices, from, to, index);
+      return position >= 0 ? getValueAt(position) : 0;
+   }
+
+
+   @Override
+   public double dotProduct(double[] vectorAsArray) {
+      return dotProduct(vectorAsArray, 0);
+   }
+
+
+   @Override
+   public double dotProduct(double[] array, int offset) {
+      double result = 0;
+      for (int k = from; k < to; k++) {
+         result += getValueAt(k) * array[offset + indices[k]];
+      }
+      return result;
+   }
+
+
+   @Override
+   public double dotProduct(IVector vector) {
+      double result = 0;
+      for (int k = from; k < to; k++) {
+         result += getValueAt(k) * vector.getValue(indices[k]);
+      }
+      return result;
+   }
+
+
+   @Override
+   public double sum() {
+      double sum = 0;
+      for (int k = from; k < to; k++) {
+         sum += getValueAt(k);
+      }
+      return sum;
+   }
+
+
+   @Override
+   public double euclideanNorm() {
+      double squaredNorm = 0;
+      for (int k = from; k < to; k++) {
+         double value = getValueAt(k);
+         squaredNorm += value * value;
+      }
+      return Math.sqrt(squaredNorm);
+   }
+
+
+   @Override
+   public boolean isSparse() {
+      return true;
+   }
+
+
+   @Override
+   public double[] asArray() {
+      double[] result = new double[dimension];
+      for (int k = from; k < to; k++) {
+         result[indices[k]] = getValueAt(k);
+      }
+      return result;
+   }
+
+
+   @Override
+   public DenseDoubleVector toDenseVector() {
+      return new DenseDoubleVector(asArray());
+   }
+
+
+   @Override
+   public SparseDoubleVector toSparseVector() {
+      double[] nonZeroValues = new double[to - from];
+      for (int k = from; k < to; k++) {
+         nonZeroValues[k - from] = getValueAt(k);
+      }
+      return new SparseDoubleVector(Arrays.copyOfRange(indices, from, to), nonZeroValues, dimension);
+   }
+
+
+   @Override
+   public IVector duplicate() {
+      return toSparseVector();
+   }
+
+
+   @Override
+   public void setValue(int index, double value) {
+      throw new UnsupportedOperationException(ERROR_VIEW_IS_READ_ONLY);
+   }
+
+
+   @Override
+   public void addVector(double[] vectorAsArray) {
+      throw new UnsupportedOperationException(ERROR_VIEW_IS_READ_ONLY);
+   }
+
+
+   @Override
+   public void subtractVector(double[] vectorAsArray) {
+      throw new UnsupportedOperationException(ERROR_VIEW_IS_READ_ONLY);
+   }
+
+
+   @Override
+   public void multiplyByVectorPairwise(double[] vectorAsArray) {
+      throw new UnsupportedOperationException(ERROR_VIEW_IS_READ_ONLY);
+   }
+
+
+   @Override
+   public void divideByVectorPairwise(double[] vectorAsArray) {
+      throw new UnsupportedOperationException(ERROR_VIEW_IS_READ_ONLY);
+   }
+
+
+   @Override
+   public void addConstant(double constant) {
+      throw new UnsupportedOperationException(ERROR_VIEW_IS_READ_ONLY);
+   }
+
+
+   @Override
+   public void addVector(IVector vector) {
+      throw new UnsupportedOperationException(ERROR_VIEW_IS_READ_ONLY);
+   }
+
+
+   @Override
+   public void subtractConstant(double constant) {
+      throw new UnsupportedOperationException(ERROR_VIEW_IS_READ_ONLY);
+   }
+
+
+   @Override
+   public void subtractVector(IVector vector) {
+      throw new UnsupportedOperationException(ERROR_VIEW_IS_READ_ONLY);
+   }
+
+
+   @Override
+   public void multiplyByVectorPairwise(IVector vector) {
+      throw new UnsupportedOperationException(ERROR_VIEW_IS_READ_ONLY);
+   }
+
+
+   @Override
+   public void multiplyByConstant(double constant) {
+      throw new UnsupportedOperationException(ERROR_VIEW_IS_READ_ONLY);
+   }
+
+
+   @Override
+   public void divideByVectorPairwise(IVector vector) {
+      throw new UnsupportedOperationException(ERROR_VIEW_IS_READ_ONLY);
+   }
+
+
+   @Override
+   public void divideByConstant(double constant) {
+      throw new UnsupportedOperationException(ERROR_VIEW_IS_READ_ONLY);
+   }
+
+
+   @Override
+   public void normalize() {
+      throw new UnsupportedOperationException(ERROR_VIEW_IS_READ_ONLY);
+   }
+
+
+   @Override
+   public void fillRandomly() {
+      throw new UnsupportedOperationException(ERROR_VIEW_IS_READ_ONLY);
+   }
+
+}
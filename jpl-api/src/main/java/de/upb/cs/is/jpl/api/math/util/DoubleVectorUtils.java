@@ -44,11 +44,7 @@ public class DoubleVectorUtils {
     * @return the multiplication of the given vectors
     */
    public static double multiplyVectors(final double[] vector1, final double[] vector2) {
-      double result = 0;
-      for (int i = 0; i < vector1.length; i++) {
-         result += vector1[i] * vector2[i];
-      }
-      return result;
+      return VectorKernels.getKernel().dotProduct(vector1, 0, vector2, 0, vector1.length);
    }
 
 
@@ -60,10 +56,6 @@ public class DoubleVectorUtils {
     * @return the euclidian distance
     */
    public static double distance(final double[] vector1, final double[] vector2) {
-      double result = 0;
-      for (int i = 0; i < vector2.length; i++) {
-         result += Math.pow(vector1[i] - vector2[i], 2);
-      }
-      return Math.sqrt(result);
+      return Math.sqrt(VectorKernels.getKernel().squaredDistance(vector1, 0, vector2, 0, vector2.length));
    }
 }
@@ -0,0 +1,51 @@
+package de.upb.cs.is.jpl.api.math.util;
+
+
+/**
+ * This enum lists the distance and similarity measures which can be computed for many pairs of
+ * vectors at once by {@link PairwiseMetricUtils}.
+ *
+ * @author agent
+ *
+ */
+public enum EPairwiseMetric {
+
+   /**
+    * The euclidean distance, smaller values denote closer vectors.
+    */
+   EUCLIDEAN_DISTANCE(false),
+   /**
+    * The cosine of the angle between two vectors, larger values denote closer vectors. The
+    * similarity to a zero vector is {@link Double#NaN}.
+    */
+   COSINE_SIMILARITY(true),
+   /**
+    * The Pearson correlation coefficient over all dimensions of two vectors, larger values denote
+    * closer vectors. The correlation with a constant vector is {@link Double#NaN}.
+    */
+   PEARSON_CORRELATION(true);
+
+   private final boolean isSimilarity;
+
+
+   /**
+    * Creates a new pairwise metric.
+    *
+    * @param isSimilarity {@code true} if larger values denote closer vectors
+    */
+   private EPairwiseMetric(boolean isSimilarity) {
+      this.isSimilarity = isSimilarity;
+   }
+
+
+   /**
+    * Returns whether this metric is a similarity, i.e. larger values denote closer vectors, or a
+    * distance, i.e. smaller values denote closer vectors.
+    *
+    * @return {@code true} if this metric is a similarity, {@code false} if it is a distance
+    */
+   public boolean isSimilarity() {
+      return isSimilarity;
+   }
+
+}
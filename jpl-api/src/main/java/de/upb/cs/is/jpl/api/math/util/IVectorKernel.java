@@ -0,0 +1,54 @@
+package de.upb.cs.is.jpl.api.math.util;
+
+
+/**
+ * This interface defines the basic numerical kernels on double arrays, which are used by the
+ * vectors, base learners, metrics and optimizers. Implementations can be provided through the
+ * {@link java.util.ServiceLoader} mechanism, for example to use SIMD instructions on newer Java
+ * versions. The implementation in use is obtained by {@link VectorKernels#getKernel()}.
+ *
+ * @author agent
+ *
+ */
+public interface IVectorKernel {
+
+   /**
+    * Returns the dot product of the given ranges of the two arrays.
+    *
+    * @param firstArray the first array
+    * @param firstOffset the first position of the range in the first array
+    * @param secondArray the second array
+    * @param secondOffset the first position of the range in the second array
+    * @param length the length of the ranges
+    * @return the dot product of the given ranges
+    */
+   public double dotProduct(double[] firstArray, int firstOffset, double[] secondArray, int secondOffset, int length);
+
+
+   /**
+    * Adds the given range of the first array scaled by the given scalar to the given range of the
+    * second array, i.e. computes {@code y = scalar * x + y}.
+    *
+    * @param scalar the scalar to multiply the first array with
+    * @param x the array to add
+    * @param xOffset the first position of the range in the array to add
+    * @param y the array to add to, which is changed
+    * @param yOffset the first position of the range in the array to add to
+    * @param length the length of the ranges
+    */
+   public void axpy(double scalar, double[] x, int xOffset, double[] y, int yOffset, int length);
+
+
+   /**
+    * Returns the squared euclidean distance between the given ranges of the two arrays.
+    *
+    * @param firstArray the first array
+    * @param firstOffset the first position of the range in the first array
+    * @param secondArray the second array
+    * @param secondOffset the first position of the range in the second array
+    * @param length the length of the ranges
+    * @return the squared euclidean distance of the given ranges
+    */
+   public double squaredDistance(double[] firstArray, int firstOffset, double[] secondArray, int secondOffset, int length);
+
+}
@@ -0,0 +1,532 @@
+package de.upb.cs.is.jpl.api.math.util;
+
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import de.upb.cs.is.jpl.api.math.linearalgebra.IVector;
+import de.upb.cs.is.jpl.api.math.linearalgebra.SparseDoubleVector;
+
+
+/**
+ * Computes a {@link EPairwiseMetric} for all pairs of a set of query rows and a set of candidate
+ * rows, either as a full matrix or as the {@code k} closest candidates of each query row. The query
+ * rows are split recursively into blocks, which are computed in parallel on the common
+ * {@link ForkJoinPool}. Inside a block the candidate rows are processed in tiles, so that a tile of
+ * candidates stays in the cache while it is compared to all query rows of the block.
+ *
+ * Each value is computed independently of all others, hence the result does not depend on the
+ * number of threads used.
+ *
+ * @author agent
+ *
+ */
+class PairwiseMetricComputation extends RecursiveAction {
+
+   private static final long serialVersionUID = 3215871934467622417L;
+
+   /** The number of query rows of a block which is not split any further. */
+   private static final int ROW_BLOCK_SIZE = 64;
+   /** The number of values of the candidate rows which fit into a tile. */
+   private static final int TILE_SIZE = 1 << 15;
+   /** The number of operations below which the computation is not parallelized. */
+   private static final long PARALLELIZATION_THRESHOLD = 1L << 16;
+
+   private final EPairwiseMetric metric;
+   private final RowSet rows;
+   private final RowSet candidates;
+   private final double[][] resultMatrix;
+   private final int[][] neighborIndices;
+   private final double[][] neighborValues;
+   private final int firstRow;
+   private final int lastRow;
+
+
+   /**
+    * Creates a new computation task for the query rows {@code firstRow} (inclusive) to
+    * {@code lastRow} (exclusive). Either {@code resultMatrix} or {@code neighborIndices} and
+    * {@code neighborValues} are {@code null}.
+    *
+    * @param metric the metric to compute
+    * @param rows the query rows
+    * @param candidates the candidate rows
+    * @param resultMatrix the matrix to store all values in
+    * @param neighborIndices the arrays to store the indices of the closest candidates in
+    * @param neighborValues the arrays to store the values of the closest candidates in
+    * @param firstRow the first query row to compute, inclusive
+    * @param lastRow the last query row to compute, exclusive
+    */
+   private PairwiseMetricComputation(EPairwiseMetric metric, RowSet rows, RowSet candidates, double[][] resultMatrix,
+         int[][] neighborIndices, double[][] neighborValues, int firstRow, int lastRow) {
+      this.metric = metric;
+      this.rows = rows;
+      this.candidates = candidates;
+      this.resultMatrix = resultMatrix;
+      this.neighborIndices = neighborIndices;
+      this.neighborValues = neighborValues;
+      this.firstRow = firstRow;
+      this.lastRow = lastRow;
+   }
+
+
+   /**
+    * Returns the matrix of the values of the given metric, where the entry {@code (i,j)} is the
+    * value for the i-th query row and the j-th candidate row.
+    *
+    * @param metric the metric to compute
+    * @param rows the query rows
+    * @param candidates the candidate rows
+    * @return the matrix of all values
+    */
+   static double[][] computeMatrix(EPairwiseMetric metric, RowSet rows, RowSet candidates) {
+      double[][] resultMatrix = new double[rows.size()][candidates.size()];
+      run(new PairwiseMetricComputation(metric, rows, candidates, resultMatrix, null, null, 0, rows.size()));
+      return resultMatrix;
+   }
+
+
+   /**
+    * Stores the indices and values of the {@code k} closest candidate rows for each query row in
+    * the given arrays, ordered from the closest to the farthest. Ties are broken in favor of the
+    * smaller index, {@link Double#NaN} values are considered to be the farthest.
+    *
+    * @param metric the metric to compute
+    * @param rows the query rows
+    * @param candidates the candidate rows
+    * @param k the number of closest candidates to find
+    * @param neighborIndices the arrays to store the indices in, one per query row
+    * @param neighborValues the arrays to store the values in, one per query row
+    */
+   static void computeNearestNeighbors(EPairwiseMetric metric, RowSet rows, RowSet candidates, int k, int[][] neighborIndices,
+         double[][] neighborValues) {
+      int numberOfNeighbors = Math.min(k, candidates.size());
+      for (int row = 0; row < rows.size(); row++) {
+         neighborIndices[row] = new int[numberOfNeighbors];
+         neighborValues[row] = new double[numberOfNeighbors];
+      }
+      run(new PairwiseMetricComputation(metric, rows, candidates, null, neighborIndices, neighborValues, 0, rows.size()));
+   }
+
+
+   /**
+    * Runs the given computation, in parallel if it is large enough.
+    *
+    * @param computation the computation to run
+    */
+   private static void run(PairwiseMetricComputation computation) {
+      long numberOfOperations = (long) computation.rows.size() * computation.candidates.size()
+            * Math.max(1, computation.candidates.dimension);
+      if (numberOfOperations < PARALLELIZATION_THRESHOLD || computation.rows.size() <= ROW_BLOCK_SIZE) {
+         computation.computeBlock();
+      } else {
+         ForkJoinPool.commonPool().invoke(computation);
+      }
+   }
+
+
+   @Override
+   protected void compute() {
+      if (lastRow - firstRow <= ROW_BLOCK_SIZE) {
+         computeBlock();
+      } else {
+         int middleRow = (firstRow + lastRow) >>> 1;
+         invokeAll(
+               new PairwiseMetricComputation(metric, rows, candidates, resultMatrix, neighborIndices, neighborValues, firstRow,
+                     middleRow),
+               new PairwiseMetricComputation(metric, rows, candidates, resultMatrix, neighborIndices, neighborValues, middleRow,
+                     lastRow));
+      }
+   }
+
+
+   /**
+    * Computes the query rows assigned to this task sequentially.
+    */
+   private void computeBlock() {
+      int[] numberOfFoundNeighbors = new int[lastRow - firstRow];
+      int tileSize = Math.max(1, TILE_SIZE / Math.max(1, candidates.getAverageNumberOfStoredValues()));
+      for (int tileStart = 0; tileStart < candidates.size(); tileStart += tileSize) {
+         int tileEnd = Math.min(tileStart + tileSize, candidates.size());
+         for (int row = firstRow; row < lastRow; row++) {
+            for (int candidate = tileStart; candidate < tileEnd; candidate++) {
+               double value = computeValue(row, candidate);
+               if (resultMatrix != null) {
+                  resultMatrix[row][candidate] = value;
+               } else {
+                  numberOfFoundNeighbors[row - firstRow] = insertNeighbor(row, numberOfFoundNeighbors[row - firstRow], candidate, value);
+               }
+            }
+         }
+      }
+   }
+
+
+   /**
+    * Inserts the given candidate into the sorted list of the closest candidates of the given query
+    * row, if it is closer than the farthest candidate found so far.
+    *
+    * @param row the query row
+    * @param numberOfFound the number of candidates found so far
+    * @param candidate the candidate to insert
+    * @param value the value of the metric for the query row and the candidate
+    * @return the number of candidates found after the insertion
+    */
+   private int insertNeighbor(int row, int numberOfFound, int candidate, double value) {
+      int[] indices = neighborIndices[row];
+      double[] values = neighborValues[row];
+      int k = indices.length;
+      if (k == 0) {
+         return 0;
+      }
+      double score = getScore(value);
+      if (numberOfFound == k && score >= getScore(values[k - 1])) {
+         return numberOfFound;
+      }
+      int position = numberOfFound < k ? numberOfFound : k - 1;
+      while (position > 0 && score < getScore(values[position - 1])) {
+         indices[position] = indices[position - 1];
+         values[position] = values[position - 1];
+         position--;
+      }
+      indices[position] = candidate;
+      values[position] = value;
+      return numberOfFound < k ? numberOfFound + 1 : numberOfFound;
+   }
+
+
+   /**
+    * Maps the given value of the metric to a score, where smaller scores denote closer rows.
+    *
+    * @param value the value of the metric
+    * @return the score of the value
+    */
+   private double getScore(double value) {
+      if (Double.isNaN(value)) {
+         return Double.POSITIVE_INFINITY;
+      }
+      return metric.isSimilarity() ? -value : value;
+   }
+
+
+   /**
+    * Returns the value of the metric for the given query row and candidate row.
+    *
+    * @param row the query row
+    * @param candidate the candidate row
+    * @return the value of the metric
+    */
+   private double computeValue(int row, int candidate) {
+      switch (metric) {
+         case EUCLIDEAN_DISTANCE:
+            return Math.sqrt(squaredDistance(row, candidate));
+         case COSINE_SIMILARITY:
+            return dotProduct(row, candidate) / (candidates.norms[candidate] * rows.norms[row]);
+         case PEARSON_CORRELATION:
+            double covariance = dotProduct(row, candidate) - rows.sums[row] * candidates.sums[candidate] / rows.dimension;
+            return covariance / (rows.centeredNorms[row] * candidates.centeredNorms[candidate]);
+         default:
+            throw new IllegalArgumentException(metric.name());
+      }
+   }
+
+
+   /**
+    * Returns the dot product of the given query row and candidate row.
+    *
+    * @param row the query row
+    * @param candidate the candidate row
+    * @return the dot product
+    */
+   private double dotProduct(int row, int candidate) {
+      if (candidates.isSparse()) {
+         if (rows.isSparse()) {
+            return dotProduct(candidates.indices[candidate], candidates.values[candidate], rows.indices[row], rows.values[row]);
+         }
+         return dotProduct(candidates.indices[candidate], candidates.values[candidate], rows.denseRows[row]);
+      }
+      if (rows.isSparse()) {
+         return dotProduct(rows.indices[row], rows.values[row], candidates.denseRows[candidate]);
+      }
+      return VectorKernels.getKernel().dotProduct(candidates.denseRows[candidate], 0, rows.denseRows[row], 0, rows.dimension);
+   }
+
+
+   /**
+    * Returns the squared euclidean distance of the given query row and candidate row.
+    *
+    * @param row the query row
+    * @param candidate the candidate row
+    * @return the squared euclidean distance
+    */
+   private double squaredDistance(int row, int candidate) {
+      if (candidates.isSparse()) {
+         if (rows.isSparse()) {
+            return squaredDistance(rows.indices[row], rows.values[row], candidates.indices[candidate], candidates.values[candidate]);
+         }
+         return squaredDistance(candidates.indices[candidate], candidates.values[candidate], rows.denseRows[row]);
+      }
+      if (rows.isSparse()) {
+         return squaredDistance(rows.indices[row], rows.values[row], candidates.denseRows[candidate]);
+      }
+      return VectorKernels.getKernel().squaredDistance(rows.denseRows[row], 0, candidates.denseRows[candidate], 0, rows.dimension);
+   }
+
+
+   /**
+    * Returns the dot product of two sparse rows, given by their sorted indices and values.
+    *
+    * @param firstIndices the indices of the first row
+    * @param firstValues the values of the first row
+    * @param secondIndices the indices of the second row
+    * @param secondValues the values of the second row
+    * @return the dot product
+    */
+   private static double dotProduct(int[] firstIndices, double[] firstValues, int[] secondIndices, double[] secondValues) {
+      double result = 0;
+      int k = 0;
+      int l = 0;
+      while (k < firstIndices.length && l < secondIndices.length) {
+         if (firstIndices[k] < secondIndices[l]) {
+            k++;
+         } else if (secondIndices[l] < firstIndices[k]) {
+            l++;
+         } else {
+            result += firstValues[k] * secondValues[l];
+            k++;
+            l++;
+         }
+      }
+      return result;
+   }
+
+
+   /**
+    * Returns the dot product of a sparse row, given by its sorted indices and values, and a dense
+    * row.
+    *
+    * @param indices the indices of the sparse row
+    * @param values the values of the sparse row
+    * @param denseRow the dense row
+    * @return the dot product
+    */
+   private static double dotProduct(int[] indices, double[] values, double[] denseRow) {
+      double result = 0;
+      for (int k = 0; k < indices.length; k++) {
+         result += values[k] * denseRow[indices[k]];
+      }
+      return result;
+   }
+
+
+   /**
+    * Returns the squared euclidean distance of two sparse rows, given by their sorted indices and
+    * values.
+    *
+    * @param firstIndices the indices of the first row
+    * @param firstValues the values of the first row
+    * @param secondIndices the indices of the second row
+    * @param secondValues the values of the second row
+    * @return the squared euclidean distance
+    */
+   private static double squaredDistance(int[] firstIndices, double[] firstValues, int[] secondIndices, double[] secondValues) {
+      double result = 0;
+      int k = 0;
+      int l = 0;
+      while (k < firstIndices.length || l < secondIndices.length) {
+         double difference;
+         if (l == secondIndices.length || (k < firstIndices.length && firstIndices[k] < secondIndices[l])) {
+            difference = firstValues[k++];
+         } else if (k == firstIndices.length || secondIndices[l] < firstIndices[k]) {
+            difference = secondValues[l++];
+         } else {
+            difference = firstValues[k++] - secondValues[l++];
+         }
+         result += difference * difference;
+      }
+      return result;
+   }
+
+
+   /**
+    * Returns the squared euclidean distance of a sparse row, given by its sorted indices and values,
+    * and a dense row.
+    *
+    * @param indices the indices of the sparse row
+    * @param values the values of the sparse row
+    * @param denseRow the dense row
+    * @return the squared euclidean distance
+    */
+   private static double squaredDistance(int[] indices, double[] values, double[] denseRow) {
+      double result = 0;
+      int k = 0;
+      for (int i = 0; i < denseRow.length; i++) {
+         double difference = denseRow[i];
+         if (k < indices.length && indices[k] == i) {
+            difference -= values[k++];
+         }
+         result += difference * difference;
+      }
+      return result;
+   }
+
+
+   /**
+    * A set of rows of the same dimension together with the statistics needed by the metrics. The
+    * rows are stored as sorted indices and values of their non-zero entries if all of them are
+    * {@link SparseDoubleVector}s and as double arrays otherwise.
+    *
+    * @author agent
+    *
+    */
+   static class RowSet {
+
+      private static final String ERROR_DIMENSIONS_DO_NOT_MATCH = "The row %d has %d dimensions instead of %d.";
+
+      private final double[][] denseRows;
+      private final int[][] indices;
+      private final double[][] values;
+      private final int size;
+      private final int dimension;
+      private final double[] norms;
+      private final double[] sums;
+      private final double[] centeredNorms;
+      private final int averageNumberOfStoredValues;
+
+
+      /**
+       * Creates a new set of rows from the given vectors.
+       *
+       * @param vectors the rows
+       * @param dimension the expected dimension of the rows
+       * @throws IllegalArgumentException if a row does not have the expected dimension
+       */
+      RowSet(List<? extends IVector> vectors, int dimension) {
+         this.size = vectors.size();
+         this.dimension = dimension;
+         boolean allSparse = true;
+         for (int i = 0; i < size && allSparse; i++) {
+            allSparse = vectors.get(i) instanceof SparseDoubleVector;
+         }
+         this.indices = allSparse ? new int[size][] : null;
+         this.values = allSparse ? new double[size][] : null;
+         this.denseRows = allSparse ? null : new double[size][];
+         this.norms = new double[size];
+         this.sums = new double[size];
+         this.centeredNorms = new double[size];
+         long numberOfStoredValues = 0;
+         for (int i = 0; i < size; i++) {
+            IVector vector = vectors.get(i);
+            assertDimension(i, vector.length());
+            if (allSparse) {
+               indices[i] = ((SparseDoubleVector) vector).getNonZeroIndices();
+               values[i] = new double[indices[i].length];
+               for (int k = 0; k < indices[i].length; k++) {
+                  values[i][k] = vector.getValue(indices[i][k]);
+               }
+            } else {
+               denseRows[i] = vector.asArray();
+            }
+            norms[i] = vector.euclideanNorm();
+            sums[i] = vector.sum();
+            centeredNorms[i] = getCenteredNorm(norms[i], sums[i]);
+            numberOfStoredValues += allSparse ? indices[i].length : dimension;
+         }
+         this.averageNumberOfStoredValues = size == 0 ? dimension : (int) (numberOfStoredValues / size);
+      }
+
+
+      /**
+       * Creates a new set of rows from the given arrays, which are not copied.
+       *
+       * @param arrays the rows
+       * @param dimension the expected dimension of the rows
+       * @throws IllegalArgumentException if a row does not have the expected dimension
+       */
+      RowSet(double[][] arrays, int dimension) {
+         this.size = arrays.length;
+         this.dimension = dimension;
+         this.indices = null;
+         this.values = null;
+         this.denseRows = arrays;
+         this.averageNumberOfStoredValues = dimension;
+         this.norms = new double[size];
+         this.sums = new double[size];
+         this.centeredNorms = new double[size];
+         for (int i = 0; i < size; i++) {
+            assertDimension(i, arrays[i].length);
+            double squaredNorm = 0;
+            double sum = 0;
+            for (double value : arrays[i]) {
+               squaredNorm += value * value;
+               sum += value;
+            }
+            norms[i] = Math.sqrt(squaredNorm);
+            sums[i] = sum;
+            centeredNorms[i] = getCenteredNorm(norms[i], sums[i]);
+         }
+      }
+
+
+      /**
+       * Checks that the given row has the dimension of this set.
+       *
+       * @param row the index of the row
+       * @param rowDimension the dimension of the row
+       * @throws IllegalArgumentException if the dimension of the row does not match
+       */
+      private void assertDimension(int row, int rowDimension) {
+         if (rowDimension != dimension) {
+            throw new IllegalArgumentException(String.format(ERROR_DIMENSIONS_DO_NOT_MATCH, row, rowDimension, dimension));
+         }
+      }
+
+
+      /**
+       * Returns the euclidean norm of a row after subtracting its mean from all entries.
+       *
+       * @param norm the euclidean norm of the row
+       * @param sum the sum of all entries of the row
+       * @return the norm of the centered row
+       */
+      private double getCenteredNorm(double norm, double sum) {
+         if (dimension == 0) {
+            return 0;
+         }
+         return Math.sqrt(Math.max(0, norm * norm - sum * sum / dimension));
+      }
+
+
+      /**
+       * Returns the number of rows in this set.
+       *
+       * @return the number of rows
+       */
+      int size() {
+         return size;
+      }
+
+
+      /**
+       * Returns whether the rows are stored as sparse vectors.
+       *
+       * @return {@code true} if the rows are stored as sparse vectors
+       */
+      boolean isSparse() {
+         return indices != null;
+      }
+
+
+      /**
+       * Returns the average number of values stored per row, which is used to determine the size of
+       * a tile.
+       *
+       * @return the average number of stored values per row
+       */
+      int getAverageNumberOfStoredValues() {
+         return averageNumberOfStoredValues;
+      }
+
+   }
+
+}
@@ -0,0 +1,188 @@
+package de.upb.cs.is.jpl.api.math.util;
+
+
+import java.util.List;
+
+import de.upb.cs.is.jpl.api.math.linearalgebra.IVector;
+import de.upb.cs.is.jpl.api.math.util.PairwiseMetricComputation.RowSet;
+import de.upb.cs.is.jpl.api.util.StringUtils;
+import de.upb.cs.is.jpl.api.util.datastructure.Pair;
+
+
+/**
+ * This class offers methods to compute a {@link EPairwiseMetric} for all pairs of two sets of rows
+ * at once, either as a full matrix or as the {@code k} closest rows of the second set for each row
+ * of the first set. Compared to computing the values one pair at a time, the statistics of each
+ * row, like its norm, are computed only once, the rows are processed in cache-friendly tiles and
+ * large computations are parallelized. Neighbor based algorithms should use these methods to
+ * compute their neighborhoods once instead of comparing single vectors.
+ *
+ * If all given vectors are {@link de.upb.cs.is.jpl.api.math.linearalgebra.SparseDoubleVector}s,
+ * they are compared without converting them into dense arrays.
+ *
+ * @author agent
+ *
+ */
+public class PairwiseMetricUtils {
+
+   private static final String ERROR_DIMENSIONS_DO_NOT_MATCH = "The rows have %d dimensions, but the candidates have %d dimensions.";
+   private static final String ERROR_NEGATIVE_NUMBER_OF_NEIGHBORS = "The number of neighbors has to be non-negative, but is %d.";
+
+
+   /**
+    * Hides the public constructor.
+    */
+   private PairwiseMetricUtils() {
+      throw new IllegalAccessError(StringUtils.EXCEPTION_MESSAGE_ACCESS_ERROR);
+   }
+
+
+   /**
+    * Returns the matrix of the values of the given metric, where the entry {@code (i,j)} is the
+    * value for the i-th row and the j-th candidate.
+    *
+    * @param metric the metric to compute
+    * @param rows the first set of rows
+    * @param candidates the second set of rows
+    * @return the matrix of all values
+    * @throws IllegalArgumentException if the rows do not all have the same dimension
+    */
+   public static double[][] computePairwiseMatrix(EPairwiseMetric metric, List<? extends IVector> rows,
+         List<? extends IVector> candidates) {
+      int dimension = getDimension(rows, candidates);
+      return PairwiseMetricComputation.computeMatrix(metric, new RowSet(rows, dimension), new RowSet(candidates, dimension));
+   }
+
+
+   /**
+    * Returns the matrix of the values of the given metric, where the entry {@code (i,j)} is the
+    * value for the i-th row and the j-th candidate.
+    *
+    * @param metric the metric to compute
+    * @param rows the first set of rows
+    * @param candidates the second set of rows
+    * @return the matrix of all values
+    * @throws IllegalArgumentException if the rows do not all have the same dimension
+    */
+   public static double[][] computePairwiseMatrix(EPairwiseMetric metric, double[][] rows, double[][] candidates) {
+      int dimension = getDimension(rows, candidates);
+      return PairwiseMetricComputation.computeMatrix(metric, new RowSet(rows, dimension), new RowSet(candidates, dimension));
+   }
+
+
+   /**
+    * Returns the indices and values of the {@code k} closest candidates for each row. The first
+    * entry of the pair contains one array of indices per row, the second entry the corresponding
+    * values of the metric. The candidates of each row are ordered from the closest to the farthest,
+    * where ties are broken in favor of the smaller index and {@link Double#NaN} values are
+    * considered to be the farthest. If there are less than {@code k} candidates, all of them are
+    * returned.
+    *
+    * @param metric the metric to compute
+    * @param rows the first set of rows
+    * @param candidates the second set of rows
+    * @param k the number of closest candidates to find for each row
+    * @return the indices and values of the closest candidates for each row
+    * @throws IllegalArgumentException if the rows do not all have the same dimension or {@code k}
+    *            is negative
+    */
+   public static Pair<int[][], double[][]> computeNearestNeighbors(EPairwiseMetric metric, List<? extends IVector> rows,
+         List<? extends IVector> candidates, int k) {
+      int dimension = getDimension(rows, candidates);
+      return computeNearestNeighbors(metric, new RowSet(rows, dimension), new RowSet(candidates, dimension), k);
+   }
+
+
+   /**
+    * Returns the indices and values of the {@code k} closest candidates for each row. The first
+    * entry of the pair contains one array of indices per row, the second entry the corresponding
+    * values of the metric. The candidates of each row are ordered from the closest to the farthest,
+    * where ties are broken in favor of the smaller index and {@link Double#NaN} values are
+    * considered to be the farthest. If there are less than {@code k} candidates, all of them are
+    * returned.
+    *
+    * @param metric the metric to compute
+    * @param rows the first set of rows
+    * @param candidates the second set of rows
+    * @param k the number of closest candidates to find for each row
+    * @return the indices and values of the closest candidates for each row
+    * @throws IllegalArgumentException if the rows do not all have the same dimension or {@code k}
+    *            is negative
+    */
+   public static Pair<int[][], double[][]> computeNearestNeighbors(EPairwiseMetric metric, double[][] rows, double[][] candidates,
+         int k) {
+      int dimension = getDimension(rows, candidates);
+      return computeNearestNeighbors(metric, new RowSet(rows, dimension), new RowSet(candidates, dimension), k);
+   }
+
+
+   /**
+    * Returns the indices and values of the {@code k} closest candidates for each row.
+    *
+    * @param metric the metric to compute
+    * @param rows the first set of rows
+    * @param candidates the second set of rows
+    * @param k the number of closest candidates to find for each row
+    * @return the indices and values of the closest candidates for each row
+    * @throws IllegalArgumentException if {@code k} is negative
+    */
+   private static Pair<int[][], double[][]> computeNearestNeighbors(EPairwiseMetric metric, RowSet rows, RowSet candidates, int k) {
+      if (k < 0) {
+         throw new IllegalArgumentException(String.format(ERROR_NEGATIVE_NUMBER_OF_NEIGHBORS, k));
+      }
+      int[][] neighborIndices = new int[rows.size()][];
+      double[][] neighborValues = new double[rows.size()][];
+      PairwiseMetricComputation.computeNearestNeighbors(metric, rows, candidates, k, neighborIndices, neighborValues);
+      return Pair.of(neighborIndices, neighborValues);
+   }
+
+
+   /**
+    * Returns the common dimension of the given rows, which is determined by the first row of either
+    * set.
+    *
+    * @param rows the first set of rows
+    * @param candidates the second set of rows
+    * @return the common dimension
+    * @throws IllegalArgumentException if the first rows of both sets differ in their dimension
+    */
+   private static int getDimension(List<? extends IVector> rows, List<? extends IVector> candidates) {
+      int rowDimension = rows.isEmpty() ? -1 : rows.get(0).length();
+      int candidateDimension = candidates.isEmpty() ? -1 : candidates.get(0).length();
+      return getDimension(rowDimension, candidateDimension);
+   }
+
+
+   /**
+    * Returns the common dimension of the given rows, which is determined by the first row of either
+    * set.
+    *
+    * @param rows the first set of rows
+    * @param candidates the second set of rows
+    * @return the common dimension
+    * @throws IllegalArgumentException if the first rows of both sets differ in their dimension
+    */
+   private static int getDimension(double[][] rows, double[][] candidates) {
+      int rowDimension = rows.length == 0 ? -1 : rows[0].length;
+      int candidateDimension = candidates.length == 0 ? -1 : candidates[0].length;
+      return getDimension(rowDimension, candidateDimension);
+   }
+
+
+   /**
+    * Returns the common dimension of the given dimensions, where {@code -1} denotes an empty set of
+    * rows.
+    *
+    * @param rowDimension the dimension of the first set of rows
+    * @param candidateDimension the dimension of the second set of rows
+    * @return the common dimension
+    * @throws IllegalArgumentException if the dimensions differ
+    */
+   private static int getDimension(int rowDimension, int candidateDimension) {
+      if (rowDimension >= 0 && candidateDimension >= 0 && rowDimension != candidateDimension) {
+         throw new IllegalArgumentException(String.format(ERROR_DIMENSIONS_DO_NOT_MATCH, rowDimension, candidateDimension));
+      }
+      return Math.max(Math.max(rowDimension, candidateDimension), 0);
+   }
+
+}
@@ -0,0 +1,42 @@
+package de.upb.cs.is.jpl.api.math.util;
+
+
+/**
+ * Default {@link IVectorKernel} implementation consisting of plain Java loops. The entries are
+ * accumulated strictly in ascending order, hence the results are identical to the straightforward
+ * loops used before and do not depend on the platform.
+ *
+ * @author agent
+ *
+ */
+public class ScalarVectorKernel implements IVectorKernel {
+
+   @Override
+   public double dotProduct(double[] firstArray, int firstOffset, double[] secondArray, int secondOffset, int length) {
+      double result = 0;
+      for (int i = 0; i < length; i++) {
+         result += firstArray[firstOffset + i] * secondArray[secondOffset + i];
+      }
+      return result;
+   }
+
+
+   @Override
+   public void axpy(double scalar, double[] x, int xOffset, double[] y, int yOffset, int length) {
+      for (int i = 0; i < length; i++) {
+         y[yOffset + i] += scalar * x[xOffset + i];
+      }
+   }
+
+
+   @Override
+   public double squaredDistance(double[] firstArray, int firstOffset, double[] secondArray, int secondOffset, int length) {
+      double result = 0;
+      for (int i = 0; i < length; i++) {
+         double difference = firstArray[firstOffset + i] - secondArray[secondOffset + i];
+         result += difference * difference;
+      }
+      return result;
+   }
+
+}
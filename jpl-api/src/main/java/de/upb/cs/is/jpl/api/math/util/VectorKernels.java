@@ -0,0 +1,77 @@
+package de.upb.cs.is.jpl.api.math.util;
+
+
+import java.util.Iterator;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.upb.cs.is.jpl.api.util.StringUtils;
+
+
+/**
+ * This class provides the {@link IVectorKernel} used throughout the framework. On the first
+ * access, the first implementation registered through the {@link ServiceLoader} mechanism under
+ * {@code META-INF/services/de.upb.cs.is.jpl.api.math.util.IVectorKernel} is loaded. If there is no
+ * such implementation or it cannot be loaded, the {@link ScalarVectorKernel} is used.
+ *
+ * The framework itself only ships the {@link ScalarVectorKernel}, as it is compiled for Java 8,
+ * which offers no vector instructions. Kernels using the vector API of newer Java versions have to
+ * be provided by a separate artifact on the class path.
+ *
+ * @author agent
+ *
+ */
+public class VectorKernels {
+
+   private static final Logger logger = LoggerFactory.getLogger(VectorKernels.class);
+
+   private static final String INFO_USING_VECTOR_KERNEL = "Using vector kernel %s.";
+   private static final String ERROR_COULD_NOT_LOAD_VECTOR_KERNEL = "Could not load vector kernel, using the scalar kernel instead. The reason is %s.";
+
+   private static final IVectorKernel KERNEL = loadKernel();
+
+
+   /**
+    * Hides the public constructor.
+    */
+   private VectorKernels() {
+      throw new IllegalAccessError(StringUtils.EXCEPTION_MESSAGE_ACCESS_ERROR);
+   }
+
+
+   /**
+    * Returns the vector kernel to use.
+    *
+    * @return the vector kernel to use
+    */
+   public static IVectorKernel getKernel() {
+      return KERNEL;
+   }
+
+
+   /**
+    * Loads the first vector kernel registered as a service, or the scalar kernel if there is none.
+    *
+    * @return the loaded vector kernel
+    */
+   private static IVectorKernel loadKernel() {
+      IVectorKernel kernel = null;
+      try {
+         Iterator<IVectorKernel> iterator = ServiceLoader.load(IVectorKernel.class).iterator();
+         if (iterator.hasNext()) {
+            kernel = iterator.next();
+         }
+      } catch (ServiceConfigurationError error) {
+         logger.warn(String.format(ERROR_COULD_NOT_LOAD_VECTOR_KERNEL, error.getMessage()));
+      }
+      if (kernel == null) {
+         kernel = new ScalarVectorKernel();
+      }
+      logger.debug(String.format(INFO_USING_VECTOR_KERNEL, kernel.getClass().getName()));
+      return kernel;
+   }
+
+}
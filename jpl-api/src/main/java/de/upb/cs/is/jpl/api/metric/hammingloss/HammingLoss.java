@@ -1,6 +1,9 @@
 package de.upb.cs.is.jpl.api.metric.hammingloss;
 
 
+import java.util.List;
+
+import de.upb.cs.is.jpl.api.dataset.multilabelclassification.LabelMatrix;
 import de.upb.cs.is.jpl.api.exception.evaluation.LossException;
 import de.upb.cs.is.jpl.api.math.linearalgebra.IVector;
 import de.upb.cs.is.jpl.api.metric.AAverageDecomposableIVectorDoubleMetric;
@@ -44,6 +47,29 @@ public class HammingLoss extends AAverageDecomposableIVectorDoubleMetric<EmptyMe
    }
 
 
+   /**
+    * {@inheritDoc}
+    * 
+    * If both lists already are bit-packed {@link LabelMatrix}s of the same size and number of
+    * labels, the loss is computed by counting the differing labels of 64 labels at once.
+    */
+   @Override
+   public Double getAggregatedLossForRatings(List<IVector> expectedRatings, List<IVector> predictedRatings) throws LossException {
+      LabelMatrix expectedLabelMatrix = LabelMatrix.asLabelMatrix(expectedRatings);
+      LabelMatrix predictedLabelMatrix = LabelMatrix.asLabelMatrix(predictedRatings);
+      if (expectedLabelMatrix != null && predictedLabelMatrix != null && !expectedLabelMatrix.isEmpty()
+            && expectedLabelMatrix.size() == predictedLabelMatrix.size() && expectedLabelMatrix.getNumberOfLabels() > 0
+            && expectedLabelMatrix.getNumberOfLabels() == predictedLabelMatrix.getNumberOfLabels()) {
+         long numberOfDifferingLabels = 0;
+         for (int i = 0; i < expectedLabelMatrix.size(); i++) {
+            numberOfDifferingLabels += expectedLabelMatrix.getNumberOfDifferingLabels(i, predictedLabelMatrix, i);
+         }
+         return (double) numberOfDifferingLabels / expectedLabelMatrix.size() / expectedLabelMatrix.getNumberOfLabels();
+      }
+      return super.getAggregatedLossForRatings(expectedRatings, predictedRatings);
+   }
+
+
    @Override
    protected AMetricConfiguration createDefaultMetricConfiguration() {
       return new EmptyMetricConfiguration();
@@ -3,6 +3,7 @@ package de.upb.cs.is.jpl.api.metric.labelbasedfmeasure;
 
 import java.util.List;
 
+import de.upb.cs.is.jpl.api.dataset.multilabelclassification.LabelMatrix;
 import de.upb.cs.is.jpl.api.exception.evaluation.LossException;
 import de.upb.cs.is.jpl.api.math.linearalgebra.IVector;
 
@@ -41,7 +42,9 @@ public class LabelWiseConfusionMatrix {
 
    /**
     * Fills the confusion matrix with the correct confusion values, which are computed based on the
-    * given list of expected and predicted label vectors.
+    * given list of expected and predicted label vectors. If both lists already are bit-packed
+    * {@link LabelMatrix}s with the number of labels of this confusion matrix, the values are
+    * counted on their columns.
     * 
     * @param expectedLabelVectors the list of expected label vectors
     * @param predictedLabelVectors the list of predicted label vectors
@@ -49,6 +52,9 @@ public class LabelWiseConfusionMatrix {
     * @throws LossException if a pair of vectors of unequal sizes is found
     */
    public void fill(List<IVector> expectedLabelVectors, List<IVector> predictedLabelVectors) throws LossException {
+      if (expectedLabelVectors.size() == predictedLabelVectors.size() && fillFromLabelMatrices(expectedLabelVectors, predictedLabelVectors)) {
+         return;
+      }
       for (int i = 0; i < expectedLabelVectors.size(); i++) {
          IVector expectedRating = expectedLabelVectors.get(i);
          IVector predictedRating = predictedLabelVectors.get(i);
@@ -58,6 +64,35 @@ public class LabelWiseConfusionMatrix {
    }
 
 
+   /**
+    * Fills the confusion matrix from the given lists of expected and predicted label vectors, if
+    * both lists are label matrices and have the number of labels of this confusion matrix.
+    * 
+    * @param expectedLabelVectors the list of expected label vectors
+    * @param predictedLabelVectors the list of predicted label vectors, which has the same size
+    * @return {@code true} if the confusion matrix has been filled, {@code false} if the lists
+    *         are not such label matrices
+    */
+   private boolean fillFromLabelMatrices(List<IVector> expectedLabelVectors, List<IVector> predictedLabelVectors) {
+      LabelMatrix expectedLabelMatrix = LabelMatrix.asLabelMatrix(expectedLabelVectors);
+      LabelMatrix predictedLabelMatrix = LabelMatrix.asLabelMatrix(predictedLabelVectors);
+      if (expectedLabelMatrix == null || predictedLabelMatrix == null || expectedLabelMatrix.isEmpty() || expectedLabelMatrix.getNumberOfLabels() != falsePositives.length
+            || predictedLabelMatrix.getNumberOfLabels() != falsePositives.length) {
+         return false;
+      }
+      for (int j = 0; j < falsePositives.length; j++) {
+         int expectedPositives = expectedLabelMatrix.getNumberOfRowsWithLabel(j);
+         int predictedPositives = predictedLabelMatrix.getNumberOfRowsWithLabel(j);
+         int truePositivesOfLabel = expectedLabelMatrix.getNumberOfRowsWithLabelInBoth(predictedLabelMatrix, j);
+         truePositives[j] += truePositivesOfLabel;
+         falseNegatives[j] += expectedPositives - truePositivesOfLabel;
+         falsePositives[j] += predictedPositives - truePositivesOfLabel;
+         trueNegatives[j] += expectedLabelMatrix.size() - expectedPositives - predictedPositives + truePositivesOfLabel;
+      }
+      return true;
+   }
+
+
    /**
     * Updates the locally stored confusion values based on the given expected label vector and the
     * predicted one.
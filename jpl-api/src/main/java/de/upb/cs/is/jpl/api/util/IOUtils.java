@@ -80,7 +80,7 @@ public class IOUtils {
 
    /**
     * Returns a list of {@link DatasetFile}'s containing all files stored in the folder of the given
-    * path.
+    * path, except for the binary caches of the dataset files.
     * 
     * @param pathToFolder the path to the folder containing the files to add to the returned list
     * @return a list containing all files stored in the given folder
@@ -90,7 +90,7 @@ public class IOUtils {
       File folder = new File(pathToFolder);
       if (folder.isDirectory()) {
          for (File file : folder.listFiles()) {
-            if (file.isFile()) {
+            if (file.isFile() && !file.getName().endsWith(DatasetFile.BINARY_CACHE_EXTENSION)) {
                datasetFileList.add(new DatasetFile(file));
             }
          }
@@ -0,0 +1,48 @@
+package de.upb.cs.is.jpl.api.util.datastructure;
+
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+
+/**
+ * A read-only view of a list, which consists of the elements of the underlying list at the given
+ * positions in the given order. The view only stores the positions, hence creating it does not
+ * copy the elements. Changes of the underlying list are visible in the view.
+ *
+ * @author agent
+ *
+ * @param <E> the type of the elements of the list
+ */
+public class IndexedListView<E> extends AbstractList<E> implements RandomAccess {
+
+   private final List<E> list;
+   private final int[] positions;
+
+
+   /**
+    * Creates a view of the elements of the given list at the given positions. The positions are not
+    * copied and must not be changed afterwards.
+    *
+    * @param list the underlying list, which should support random access
+    * @param positions the positions of the elements of the view in the underlying list
+    */
+   public IndexedListView(List<E> list, int[] positions) {
+      this.list = list;
+      this.positions = positions;
+   }
+
+
+   @Override
+   public E get(int index) {
+      return list.get(positions[index]);
+   }
+
+
+   @Override
+   public int size() {
+      return positions.length;
+   }
+
+}
@@ -6,6 +6,7 @@ import org.junit.runners.Suite;
 
 import de.upb.cs.is.jpl.api.algorithm.baselearner.classification.ClassificationTestSuite;
 import de.upb.cs.is.jpl.api.algorithm.baselearner.classification.knearestneighbor.KNearestNeighborClassificationTest;
+import de.upb.cs.is.jpl.api.algorithm.baselearner.dataset.BaselearnerDatasetTest;
 import de.upb.cs.is.jpl.api.algorithm.baselearner.regression.linear.LinearRegressionUnitTest;
 import de.upb.cs.is.jpl.api.algorithm.baselearner.regression.logistic.LogisticRegressionStochasticGradientDescentTest;
 import de.upb.cs.is.jpl.api.algorithm.baselearner.regression.logistic.LogisticRegressionTest;
@@ -20,7 +21,7 @@ import de.upb.cs.is.jpl.api.algorithm.baselearner.regression.logistic.LogisticRe
 
 @RunWith(Suite.class)
 @Suite.SuiteClasses({ ClassificationTestSuite.class, LogisticRegressionTest.class, LogisticRegressionStochasticGradientDescentTest.class,
-      LinearRegressionUnitTest.class, KNearestNeighborClassificationTest.class })
+      LinearRegressionUnitTest.class, KNearestNeighborClassificationTest.class, BaselearnerDatasetTest.class })
 
 
 public class BaselearnerTestSuite {
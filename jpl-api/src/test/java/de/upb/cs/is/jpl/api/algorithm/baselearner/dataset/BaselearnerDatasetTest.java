@@ -0,0 +1,203 @@
+package de.upb.cs.is.jpl.api.algorithm.baselearner.dataset;
+
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import de.upb.cs.is.jpl.api.common.AUnitTest;
+import de.upb.cs.is.jpl.api.math.linearalgebra.IVector;
+import de.upb.cs.is.jpl.api.util.StringUtils;
+
+
+/**
+ * This class tests the contiguous storage of the {@link BaselearnerDataset}.
+ *
+ * @author agent
+ *
+ */
+public class BaselearnerDatasetTest extends AUnitTest {
+
+   private static final double[][] FEATURE_VECTORS = { { 1.0, 2.0, 3.0 }, { 4.0, 5.0, 6.0 }, { 7.0, 8.0, 9.0 }, { 10.5, 11.5, 12.5 } };
+   private static final double[] CORRECT_RESULTS = { 1.0, -1.0, 1.0, -1.0 };
+   private static final double[] WEIGHTS = { 0.5, 1.0, 1.5, 2.0 };
+
+
+   /**
+    * Creates a new unit test for the {@link BaselearnerDataset}.
+    */
+   public BaselearnerDatasetTest() {
+      super(StringUtils.EMPTY_STRING, StringUtils.EMPTY_STRING);
+   }
+
+
+   /**
+    * Tests whether a dataset created by the builder, which grows several times, contains the same
+    * instances as a dataset of fixed size filled with the same instances.
+    */
+   @Test
+   public void testBuilderEqualsFixedSizeDataset() {
+      BaselearnerDataset fixedSizeDataset = new BaselearnerDataset(FEATURE_VECTORS.length, FEATURE_VECTORS[0].length);
+      BaselearnerDataset.Builder builder = new BaselearnerDataset.Builder(FEATURE_VECTORS[0].length, false, 1);
+      for (int i = 0; i < FEATURE_VECTORS.length; i++) {
+         fixedSizeDataset.addFeatureVectorWithResultAndWeight(FEATURE_VECTORS[i], CORRECT_RESULTS[i], WEIGHTS[i]);
+         builder.add(FEATURE_VECTORS[i], CORRECT_RESULTS[i], WEIGHTS[i]);
+      }
+      BaselearnerDataset builtDataset = builder.build();
+
+      assertEquals(fixedSizeDataset.getNumberOfInstances(), builtDataset.getNumberOfInstances());
+      assertArrayEquals(fixedSizeDataset.getFeatureVectors(), builtDataset.getFeatureVectors());
+      assertArrayEquals(FEATURE_VECTORS, builtDataset.getFeatureVectors());
+      assertArrayEquals(fixedSizeDataset.getCorrectResults(), builtDataset.getCorrectResults(), 0);
+      for (int i = 0; i < FEATURE_VECTORS.length; i++) {
+         assertEquals(fixedSizeDataset.getInstance(i), builtDataset.getInstance(i));
+      }
+   }
+
+
+   /**
+    * Tests whether the cursor visits all rows in order with their features, results and weights,
+    * in double and in single precision.
+    */
+   @Test
+   public void testRowCursor() {
+      for (boolean useSinglePrecision : new boolean[] { false, true }) {
+         BaselearnerDataset.Builder builder = new BaselearnerDataset.Builder(FEATURE_VECTORS[0].length, useSinglePrecision, 2);
+         for (int i = 0; i < FEATURE_VECTORS.length; i++) {
+            builder.add(FEATURE_VECTORS[i], CORRECT_RESULTS[i], WEIGHTS[i]);
+         }
+         BaselearnerDataset dataset = builder.build();
+
+         BaselearnerDataset.RowCursor cursor = dataset.createRowCursor();
+         for (int i = 0; i < FEATURE_VECTORS.length; i++) {
+            cursor.next();
+            assertEquals(i, cursor.getIndex());
+            for (int j = 0; j < FEATURE_VECTORS[i].length; j++) {
+               assertEquals(FEATURE_VECTORS[i][j], cursor.getFeatureArray()[cursor.getOffset() + j], 0);
+               assertEquals(FEATURE_VECTORS[i][j], cursor.getFeatureValue(j), 0);
+               assertEquals(FEATURE_VECTORS[i][j], dataset.getFeatureValue(i, j), 0);
+            }
+            assertEquals(CORRECT_RESULTS[i], cursor.getCorrectResult(), 0);
+            assertEquals(WEIGHTS[i], cursor.getWeight(), 0);
+         }
+         assertFalse(cursor.next());
+      }
+   }
+
+
+   /**
+    * Tests whether a part of the dataset contains the rows of the according interval.
+    */
+   @Test
+   public void testGetPartOfDataset() {
+      BaselearnerDataset.Builder builder = new BaselearnerDataset.Builder(FEATURE_VECTORS[0].length);
+      for (int i = 0; i < FEATURE_VECTORS.length; i++) {
+         builder.add(FEATURE_VECTORS[i], CORRECT_RESULTS[i]);
+      }
+      BaselearnerDataset part = (BaselearnerDataset) builder.build().getPartOfDataset(1, 3);
+
+      assertEquals(2, part.getNumberOfInstances());
+      assertArrayEquals(FEATURE_VECTORS[1], part.getFeatureVector(0), 0);
+      assertArrayEquals(FEATURE_VECTORS[2], part.getFeatureVector(1), 0);
+      assertEquals(CORRECT_RESULTS[2], part.getCorrectResults()[1], 0);
+   }
+
+
+   /**
+    * Tests whether a dataset with shared feature vectors contains the feature vectors of the
+    * original dataset by reference, but its own correct results.
+    */
+   @Test
+   public void testCreateDatasetWithSharedFeatureVectors() {
+      BaselearnerDataset.Builder builder = new BaselearnerDataset.Builder(FEATURE_VECTORS[0].length);
+      for (int i = 0; i < FEATURE_VECTORS.length; i++) {
+         builder.add(FEATURE_VECTORS[i], CORRECT_RESULTS[i], WEIGHTS[i]);
+      }
+      BaselearnerDataset dataset = builder.build();
+      double[] otherResults = { -1.0, -1.0, 1.0, 1.0 };
+      BaselearnerDataset sharedDataset = dataset.createDatasetWithSharedFeatureVectors(otherResults);
+
+      assertEquals(dataset.getNumberOfInstances(), sharedDataset.getNumberOfInstances());
+      assertArrayEquals(FEATURE_VECTORS, sharedDataset.getFeatureVectors());
+      assertArrayEquals(otherResults, sharedDataset.getCorrectResults(), 0);
+      assertArrayEquals(CORRECT_RESULTS, dataset.getCorrectResults(), 0);
+      assertArrayEquals(WEIGHTS, sharedDataset.getInstanceWeights(), 0);
+
+      dataset.getFeatureVectorView(1).setValue(0, -4.0);
+      assertEquals(-4.0, sharedDataset.getFeatureValue(1, 0), 0);
+   }
+
+
+   /**
+    * Tests whether the feature vector view of a single precision dataset reads the stored values and
+    * writes changes through to the dataset, rounded to single precision.
+    */
+   @Test
+   public void testSinglePrecisionFeatureVectorViewWritesThrough() {
+      BaselearnerDataset dataset = new BaselearnerDataset(FEATURE_VECTORS.length, FEATURE_VECTORS[0].length, true);
+      for (int i = 0; i < FEATURE_VECTORS.length; i++) {
+         dataset.addFeatureVectorWithResult(FEATURE_VECTORS[i], CORRECT_RESULTS[i]);
+      }
+      IVector view = dataset.getFeatureVectorView(1);
+      assertArrayEquals(FEATURE_VECTORS[1], view.asArray(), 0);
+
+      view.setValue(0, -4.0);
+      view.addScaledVector(2.0, new double[] { 0.5, 0.5, 0.5 });
+      view.multiplyByConstant(0.1);
+      double[] expectedValues = { (float) (-3.0f * 0.1), (float) (6.0f * 0.1), (float) (7.0f * 0.1) };
+      assertArrayEquals(expectedValues, view.asArray(), 0);
+      assertArrayEquals(expectedValues, dataset.getFeatureVector(1), 0);
+      assertArrayEquals(FEATURE_VECTORS[2], dataset.getFeatureVector(2), 0);
+
+      view.zeroAllDimensions();
+      assertEquals(0, dataset.getFeatureValue(1, 2), 0);
+   }
+
+
+   /**
+    * Tests whether a dataset with shared feature vectors and a wrong number of correct results is
+    * rejected.
+    */
+   @Test(expected = IllegalArgumentException.class)
+   public void testSharedFeatureVectorsWithWrongNumberOfResultsAreRejected() {
+      BaselearnerDataset dataset = new BaselearnerDataset(2, 3);
+      dataset.createDatasetWithSharedFeatureVectors(CORRECT_RESULTS);
+   }
+
+
+   /**
+    * Tests whether a feature vector with the wrong number of features is rejected.
+    */
+   @Test(expected = IllegalArgumentException.class)
+   public void testWrongNumberOfFeaturesIsRejected() {
+      new BaselearnerDataset(1, 2).addFeatureVectorWithResult(FEATURE_VECTORS[0], CORRECT_RESULTS[0]);
+   }
+
+
+   /**
+    * Tests whether the builder doubles its capacity, but never grows beyond the number of
+    * instances whose feature vectors fit into a single array, and whether it fails clearly once
+    * not even one more instance fits.
+    */
+   @Test
+   public void testBuilderGrowthIsClampedToMaximumArrayLength() {
+      int maximumArrayLength = Integer.MAX_VALUE - 8;
+      int numberOfFeatures = 1000;
+      int maximumCapacity = maximumArrayLength / numberOfFeatures;
+
+      assertEquals(1, BaselearnerDataset.Builder.getGrownCapacity(0, numberOfFeatures));
+      assertEquals(32, BaselearnerDataset.Builder.getGrownCapacity(16, numberOfFeatures));
+      assertEquals(maximumCapacity, BaselearnerDataset.Builder.getGrownCapacity(maximumCapacity - 1, numberOfFeatures));
+      assertEquals(maximumArrayLength, BaselearnerDataset.Builder.getGrownCapacity(Integer.MAX_VALUE / 2, 1));
+      try {
+         BaselearnerDataset.Builder.getGrownCapacity(maximumCapacity, numberOfFeatures);
+         fail("The builder grew beyond the maximum array length.");
+      } catch (IllegalArgumentException e) {
+         // expected
+      }
+   }
+
+}
@@ -16,6 +16,8 @@ import de.upb.cs.is.jpl.api.algorithm.learningalgorithm.ALearningAlgorithmTest;
 import de.upb.cs.is.jpl.api.algorithm.learningalgorithm.collaborativefiltering.matrixfactorization.MatrixFactorizationConfiguration;
 import de.upb.cs.is.jpl.api.algorithm.learningalgorithm.collaborativefiltering.matrixfactorization.MatrixFactorizationLearningAlgorithm;
 import de.upb.cs.is.jpl.api.algorithm.learningalgorithm.collaborativefiltering.matrixfactorization.MatrixFactorizationLearningModel;
+import de.upb.cs.is.jpl.api.dataset.DatasetFile;
+import de.upb.cs.is.jpl.api.dataset.FileBackedStreamingDataset;
 import de.upb.cs.is.jpl.api.dataset.IDataset;
 import de.upb.cs.is.jpl.api.dataset.collaborativefiltering.CollaborativeFilteringDataset;
 import de.upb.cs.is.jpl.api.dataset.collaborativefiltering.CollaborativeFilteringInstance;
@@ -47,6 +49,8 @@ public class MatrixFactorizationLearningAlgorithmTest extends ALearningAlgorithm
 
    private static final String PREDICTION = "Prediction:";
 
+   private static final int CHUNK_SIZE = 2;
+
 
    /**
     * Default constructor for the test. Includes the additional path to the ressources directory.
@@ -127,6 +131,30 @@ public class MatrixFactorizationLearningAlgorithmTest extends ALearningAlgorithm
    }
 
 
+   /**
+    * Tests whether training on a streaming dataset of the dataset file, which is read in chunks,
+    * results in the same predictions as training on the parsed dataset.
+    * 
+    * @throws TrainModelsFailedException if the training operation failed
+    * @throws PredictionFailedException if the prediction operation failed
+    */
+   @Test
+   public void testTrainOnStreamEqualsTrain() throws TrainModelsFailedException, PredictionFailedException {
+      String datasetPath = getTestRessourcePathFor(SIMPLE_DATASET_PATH);
+      CollaborativeFilteringDataset dataset = (CollaborativeFilteringDataset) createDatasetOutOfFile(new CollaborativeFilteringParser(),
+            datasetPath);
+      FileBackedStreamingDataset<IVector, IVector, Double> streamingDataset = new FileBackedStreamingDataset<>(
+            new DatasetFile(new File(datasetPath)), CollaborativeFilteringParser::new, CHUNK_SIZE);
+
+      MatrixFactorizationLearningModel expectedModel = ((MatrixFactorizationLearningAlgorithm) getTrainableAlgorithm()).train(dataset);
+      MatrixFactorizationLearningModel streamedModel = ((MatrixFactorizationLearningAlgorithm) getTrainableAlgorithm())
+            .trainOnStream(streamingDataset);
+      for (int i = 0; i < dataset.getNumberOfInstances(); i++) {
+         Assert.assertEquals(expectedModel.predict(dataset.getInstance(i)), streamedModel.predict(dataset.getInstance(i)), 0);
+      }
+   }
+
+
    @Override
    protected boolean areDoublesEqual(double firstValue, double secondValue) {
       return TestUtils.areDoublesEqual(firstValue, secondValue, 0.1);
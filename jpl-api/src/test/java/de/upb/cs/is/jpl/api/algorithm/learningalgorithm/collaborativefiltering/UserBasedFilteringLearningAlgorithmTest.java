@@ -1,6 +1,8 @@
 package de.upb.cs.is.jpl.api.algorithm.learningalgorithm.collaborativefiltering;
 
 
+import static org.junit.Assert.assertEquals;
+
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
@@ -20,7 +22,10 @@ import de.upb.cs.is.jpl.api.dataset.collaborativefiltering.CollaborativeFilterin
 import de.upb.cs.is.jpl.api.dataset.defaultdataset.relative.DefaultRelativeDatasetParser;
 import de.upb.cs.is.jpl.api.exception.algorithm.PredictionFailedException;
 import de.upb.cs.is.jpl.api.exception.algorithm.TrainModelsFailedException;
+import de.upb.cs.is.jpl.api.exception.evaluation.LossException;
 import de.upb.cs.is.jpl.api.math.linearalgebra.IVector;
+import de.upb.cs.is.jpl.api.metric.correlation.ACorrelation;
+import de.upb.cs.is.jpl.api.metric.correlation.CosineSimilariy;
 import de.upb.cs.is.jpl.api.util.datastructure.Pair;
 
 
@@ -41,6 +46,10 @@ public class UserBasedFilteringLearningAlgorithmTest extends ALearningAlgorithmT
 
    private static final String PREDICTION = "Prediction:";
 
+   private static final int NUMBER_OF_NEIGHBORS = 5;
+   private static final double MIN_DOUBLE_VALUE = 0.0001;
+   private static final double DOUBLE_COMPARISON_DELTA = 1e-10;
+
 
    /**
     * Creates the {@link UserBasedFilteringLearningAlgorithmTest}.
@@ -107,4 +116,55 @@ public class UserBasedFilteringLearningAlgorithmTest extends ALearningAlgorithmT
    }
 
 
+   /**
+    * Tests whether the predictions using the {@link CosineSimilariy}, whose neighborhoods are
+    * computed for all users at once, are the same as the predictions using the same similarity
+    * computed one pair of users at a time.
+    * 
+    * @throws PredictionFailedException if the prediction operation failed
+    */
+   @Test
+   public void testPairwiseNeighborhoodsYieldSamePredictionsAsSinglePairs() throws PredictionFailedException {
+      CollaborativeFilteringDataset dataset = (CollaborativeFilteringDataset) createDatasetOutOfFile(new CollaborativeFilteringParser(),
+            getTestRessourcePathFor(MOVIELENS_DATASET_PATH));
+      UserBasedFilteringLearningModel pairwiseModel = new UserBasedFilteringLearningModel(dataset, NUMBER_OF_NEIGHBORS,
+            MIN_DOUBLE_VALUE, new CosineSimilariy());
+      UserBasedFilteringLearningModel singlePairModel = new UserBasedFilteringLearningModel(dataset, NUMBER_OF_NEIGHBORS,
+            MIN_DOUBLE_VALUE, new SinglePairCosineSimilarity());
+
+      List<Double> expectedPredictions = singlePairModel.predict(dataset);
+      List<Double> actualPredictions = pairwiseModel.predict(dataset);
+
+      assertEquals(expectedPredictions.size(), actualPredictions.size());
+      for (int i = 0; i < expectedPredictions.size(); i++) {
+         assertEquals(expectedPredictions.get(i), actualPredictions.get(i), DOUBLE_COMPARISON_DELTA);
+      }
+   }
+
+
+   /**
+    * A cosine similarity which is not recognized as {@link CosineSimilariy} by the
+    * {@link UserBasedFilteringLearningModel}, so that the similarities are computed one pair of
+    * users at a time.
+    */
+   private static class SinglePairCosineSimilarity extends ACorrelation<IVector> {
+
+      private final CosineSimilariy cosineSimilarity = new CosineSimilariy();
+
+
+      /**
+       * Creates a new {@link SinglePairCosineSimilarity}.
+       */
+      public SinglePairCosineSimilarity() {
+         super(SinglePairCosineSimilarity.class.getSimpleName());
+      }
+
+
+      @Override
+      public Double getLossForSingleRating(IVector basis, IVector compare) throws LossException {
+         return cosineSimilarity.getLossForSingleRating(basis, compare);
+      }
+
+   }
+
 }
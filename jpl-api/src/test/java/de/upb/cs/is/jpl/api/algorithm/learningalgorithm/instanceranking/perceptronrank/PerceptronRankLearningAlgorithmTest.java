@@ -7,6 +7,7 @@ import java.util.LinkedList;
 import java.util.List;
 
 import org.junit.Assert;
+import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -16,11 +17,14 @@ import de.upb.cs.is.jpl.api.algorithm.ITrainableAlgorithm;
 import de.upb.cs.is.jpl.api.algorithm.learningalgorithm.ALearningAlgorithmTest;
 import de.upb.cs.is.jpl.api.algorithm.learningalgorithm.instanceranking.perceptronrank.PerceptronRankConfiguration;
 import de.upb.cs.is.jpl.api.algorithm.learningalgorithm.instanceranking.perceptronrank.PerceptronRankLearningAlgorithm;
+import de.upb.cs.is.jpl.api.dataset.DatasetFile;
+import de.upb.cs.is.jpl.api.dataset.FileBackedStreamingDataset;
 import de.upb.cs.is.jpl.api.dataset.IDataset;
 import de.upb.cs.is.jpl.api.dataset.defaultdataset.absolute.DefaultAbsoluteDatasetParser;
 import de.upb.cs.is.jpl.api.dataset.instanceranking.InstanceRankingDataset;
 import de.upb.cs.is.jpl.api.dataset.instanceranking.InstanceRankingDatasetParser;
 import de.upb.cs.is.jpl.api.dataset.instanceranking.InstanceRankingInstance;
+import de.upb.cs.is.jpl.api.exception.algorithm.TrainModelsFailedException;
 import de.upb.cs.is.jpl.api.exception.dataset.InvalidInstanceException;
 import de.upb.cs.is.jpl.api.util.JsonUtils;
 import de.upb.cs.is.jpl.api.util.TestUtils;
@@ -44,6 +48,8 @@ public class PerceptronRankLearningAlgorithmTest extends ALearningAlgorithmTest<
    private static final String PARAMETER_K = "k";
    private static final String PARAMETER_K_REFLECTION_VARIABLE = "WRONG_VALUE_FOR_K";
 
+   private static final int CHUNK_SIZE = 10;
+
 
    /**
     * Creates a new unit test for instance ranking algorithms.
@@ -129,4 +135,23 @@ public class PerceptronRankLearningAlgorithmTest extends ALearningAlgorithmTest<
 
       return returnList;
    }
+
+
+   /**
+    * Tests whether training on a streaming dataset of the dataset file, which is read in chunks,
+    * results in the same model as training on the parsed dataset.
+    * 
+    * @throws TrainModelsFailedException if the training failed
+    */
+   @Test
+   public void testTrainOnStreamEqualsTrain() throws TrainModelsFailedException {
+      String datasetPath = getTestRessourcePathFor(DATASET_FILE);
+      IDataset<?, ?, ?> dataset = createDatasetOutOfFile(new InstanceRankingDatasetParser(), datasetPath);
+      FileBackedStreamingDataset<double[], NullType, Integer> streamingDataset = new FileBackedStreamingDataset<>(
+            new DatasetFile(new File(datasetPath)), InstanceRankingDatasetParser::new, CHUNK_SIZE);
+
+      PerceptronRankLearningModel expectedModel = new PerceptronRankLearningAlgorithm().train(dataset);
+      PerceptronRankLearningModel streamedModel = new PerceptronRankLearningAlgorithm().trainOnStream(streamingDataset);
+      Assert.assertEquals(expectedModel, streamedModel);
+   }
 }
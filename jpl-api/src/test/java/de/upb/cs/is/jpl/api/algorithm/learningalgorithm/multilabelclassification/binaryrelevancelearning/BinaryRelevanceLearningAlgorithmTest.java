@@ -1,12 +1,23 @@
 package de.upb.cs.is.jpl.api.algorithm.learningalgorithm.multilabelclassification.binaryrelevancelearning;
 
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
 import java.util.ArrayList;
 import java.util.List;
 
+import org.junit.Test;
+
+import com.google.gson.JsonObject;
+
 import de.upb.cs.is.jpl.api.algorithm.learningalgorithm.multilabelclassification.AMultilabelClassificationAlgorithmTest;
 import de.upb.cs.is.jpl.api.algorithm.learningalgorithm.multilabelclassification.binaryrelevancelearning.BinaryRelevanceLearningAlgorithm;
 import de.upb.cs.is.jpl.api.dataset.IDataset;
+import de.upb.cs.is.jpl.api.dataset.multilabelclassification.LabelMatrix;
+import de.upb.cs.is.jpl.api.exception.algorithm.PredictionFailedException;
+import de.upb.cs.is.jpl.api.exception.algorithm.TrainModelsFailedException;
+import de.upb.cs.is.jpl.api.exception.configuration.json.ParameterValidationFailedException;
 import de.upb.cs.is.jpl.api.math.linearalgebra.SparseDoubleVector;
 import de.upb.cs.is.jpl.api.util.CollectionsUtils;
 import de.upb.cs.is.jpl.api.util.StringUtils;
@@ -22,6 +33,9 @@ import de.upb.cs.is.jpl.api.util.datastructure.Pair;
  */
 public class BinaryRelevanceLearningAlgorithmTest extends AMultilabelClassificationAlgorithmTest {
 
+   private static final String CONFIGURATION_PARAMETER_SINGLE_PRECISION_FEATURES = "single_precision_features";
+   private static final double MAXIMUM_FRACTION_OF_DIFFERENT_SINGLE_PRECISION_PREDICTIONS = 0.01;
+
    private double[][] expectedPredictions = { { 0.0, 0.0, 1.0, 0.0, 1.0, 0.0 }, { 0.0, 0.0, 0.0, 0.0, 0.0, 1.0 },
          { 0.0, 0.0, 0.0, 0.0, 0.0, 0.0 }, { 0.0, 0.0, 1.0, 0.0, 0.0, 0.0 }, { 0.0, 0.0, 1.0, 0.0, 0.0, 0.0 },
          { 0.0, 0.0, 1.0, 0.0, 0.0, 0.0 }, { 0.0, 0.0, 1.0, 0.0, 0.0, 0.0 }, { 0.0, 0.0, 1.0, 0.0, 0.0, 0.0 },
@@ -244,4 +258,38 @@ public class BinaryRelevanceLearningAlgorithmTest extends AMultilabelClassificat
    }
 
 
+   /**
+    * Tests that the base learners can be trained on feature values stored in single precision, and
+    * that the predictions hardly differ from the ones of the base learners trained in double
+    * precision.
+    * 
+    * @throws ParameterValidationFailedException if the configuration is not accepted
+    * @throws TrainModelsFailedException if the training fails
+    * @throws PredictionFailedException if the prediction fails
+    */
+   @Test
+   public void testSinglePrecisionFeatures()
+         throws ParameterValidationFailedException, TrainModelsFailedException, PredictionFailedException {
+      BinaryRelevanceLearningAlgorithm algorithm = getTrainableAlgorithm();
+      JsonObject parameters = new JsonObject();
+      parameters.addProperty(CONFIGURATION_PARAMETER_SINGLE_PRECISION_FEATURES, true);
+      algorithm.setParameters(parameters);
+      assertTrue(algorithm.getAlgorithmConfiguration().isUsingSinglePrecisionFeatures());
+
+      List<SparseDoubleVector> predictions = algorithm.train(correctDataset).predict(correctDataset);
+      assertEquals(expectedPredictions.length, predictions.size());
+      assertTrue(predictions instanceof LabelMatrix);
+      int numberOfDifferentPredictions = 0;
+      for (int i = 0; i < expectedPredictions.length; i++) {
+         for (int j = 0; j < expectedPredictions[i].length; j++) {
+            if (predictions.get(i).getValue(j) != expectedPredictions[i][j]) {
+               numberOfDifferentPredictions++;
+            }
+         }
+      }
+      assertTrue(numberOfDifferentPredictions <= MAXIMUM_FRACTION_OF_DIFFERENT_SINGLE_PRECISION_PREDICTIONS * expectedPredictions.length
+            * correctDataset.getNumberOfLabels());
+   }
+
+
 }
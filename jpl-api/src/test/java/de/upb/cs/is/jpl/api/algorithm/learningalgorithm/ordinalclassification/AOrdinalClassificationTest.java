@@ -10,6 +10,7 @@ import java.util.List;
 import de.upb.cs.is.jpl.api.algorithm.learningalgorithm.ALearningAlgorithmTest;
 import de.upb.cs.is.jpl.api.algorithm.learningalgorithm.ordinalclassification.reductionframework.OrdinalClassificationReductionFramework;
 import de.upb.cs.is.jpl.api.algorithm.learningalgorithm.ordinalclassification.simple.SimpleOrdinalClassification;
+import de.upb.cs.is.jpl.api.dataset.DatasetFile;
 import de.upb.cs.is.jpl.api.dataset.IDataset;
 import de.upb.cs.is.jpl.api.dataset.defaultdataset.absolute.DefaultAbsoluteDatasetParser;
 import de.upb.cs.is.jpl.api.dataset.ordinalclassification.OrdinalClassificationDataset;
@@ -101,7 +102,7 @@ public abstract class AOrdinalClassificationTest extends ALearningAlgorithmTest<
 
       List<OrdinalClassificationDataset> datasetList = new ArrayList<>();
       File folder = new File(getTestRessourcePathFor(DATASET_FOLDER_AUTOMOBILE + File.separator + folderName));
-      File[] listedFiles = folder.listFiles();
+      File[] listedFiles = folder.listFiles(file -> !file.getName().endsWith(DatasetFile.BINARY_CACHE_EXTENSION));
       Arrays.sort(listedFiles, new FileByNameComparator());
 
       for (int i = 0; i < listedFiles.length; i++) {
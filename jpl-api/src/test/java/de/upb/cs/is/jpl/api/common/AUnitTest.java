@@ -1,9 +1,12 @@
 package de.upb.cs.is.jpl.api.common;
 
 
+import java.io.File;
+
 import org.junit.Before;
 
 import de.upb.cs.is.jpl.api.configuration.logging.LoggingConfiguration;
+import de.upb.cs.is.jpl.api.dataset.ADatasetParser;
 import de.upb.cs.is.jpl.api.math.RandomGenerator;
 import de.upb.cs.is.jpl.api.util.TestUtils;
 
@@ -17,11 +20,17 @@ import de.upb.cs.is.jpl.api.util.TestUtils;
  *
  */
 public abstract class AUnitTest {
+   private static final File BINARY_CACHE_DIRECTORY = new File(System.getProperty("java.io.tmpdir"), "jpl-test-binary-cache");
    private static final String PATH_TO_TEST_RESSOURCES = TestUtils.TEST_RESOURCES_ROOT_PATH;
 
    private String additionalResourcePath;
    private String resourceDirectoryLevel;
 
+   // store the binary caches of parsed dataset files outside of the test resource directories
+   static {
+      ADatasetParser.setBinaryCacheDirectory(BINARY_CACHE_DIRECTORY);
+   }
+
 
    /**
     * Creates a new unit test with the additional path to the resources given.
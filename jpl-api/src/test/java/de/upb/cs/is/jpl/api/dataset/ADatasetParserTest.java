@@ -1,6 +1,7 @@
 package de.upb.cs.is.jpl.api.dataset;
 
 
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.File;
@@ -22,6 +23,8 @@ public abstract class ADatasetParserTest extends AUnitTest {
 
 
    private static final String RESOURCE_DIRECTORY_LEVEL = "dataset" + File.separator;
+   private static final String ERROR_CACHE_NOT_WRITTEN = "The binary cache %s was not written.";
+   private static final String ERROR_CACHE_NOT_LOADED = "The binary cache %s could not be loaded.";
    private static final String PARSING_FAILED_EXCEPTION_EXPECTED_BUT_NOT_FOUND = ParsingFailedException.class.getSimpleName()
          + " expected, but not found";
 
@@ -71,6 +74,33 @@ public abstract class ADatasetParserTest extends AUnitTest {
    }
 
 
+   /**
+    * Parses a valid dataset, which writes the binary cache, loads the dataset from the binary cache
+    * afterwards and validates the loaded dataset.
+    * 
+    * @throws ParsingFailedException if an unexpected error occurs
+    */
+   @Test
+   public void testParseValidDatasetFromBinaryCache() throws ParsingFailedException {
+      List<DatasetFile> datasets = getValidDatasets();
+      for (int i = 0; i < datasets.size(); i++) {
+         DatasetFile datasetFile = datasets.get(i);
+         IDatasetParser parser = getDatasetParser();
+         if (!(parser instanceof ADatasetParser) || !((ADatasetParser) parser).isBinaryCacheSupported()) {
+            continue;
+         }
+         BinaryDatasetCache binaryCache = new BinaryDatasetCache(datasetFile.getFile(), (ADatasetParser) parser);
+         binaryCache.getCacheFile().delete();
+         parser.parse(datasetFile);
+         assertTrue(String.format(ERROR_CACHE_NOT_WRITTEN, binaryCache.getCacheFile()), binaryCache.getCacheFile().isFile());
+
+         ADatasetParser cachedParser = (ADatasetParser) getDatasetParser();
+         assertTrue(String.format(ERROR_CACHE_NOT_LOADED, binaryCache.getCacheFile()), binaryCache.load(cachedParser));
+         validateDataset(i, cachedParser.getDataset());
+      }
+   }
+
+
    /**
     * Provides a {@link List} of invalid {@link DatasetFile}.
     * 
@@ -97,6 +97,31 @@ public abstract class ADatasetTest<CONTEXT, ITEM, RATING> extends AUnitTest {
    }
 
 
+   /**
+    * Test whether {@link IDataset#getView(int[])} returns the same instances as a copy of the
+    * instances at the given positions.
+    *
+    * @throws InvalidInstanceException if an instance could not be added to the dataset
+    */
+   @Test
+   public void testGetView() throws InvalidInstanceException {
+      IDataset<CONTEXT, ITEM, RATING> dataset = fillDatasetWithCorrectInstances();
+      int[] positions = new int[dataset.getNumberOfInstances()];
+      for (int i = 0; i < positions.length; i++) {
+         positions[i] = positions.length - 1 - i;
+      }
+      IDataset<CONTEXT, ITEM, RATING> copy = dataset.getPartOfDataset(0, 0);
+      for (int position : positions) {
+         copy.addInstance(dataset.getShuffledInstance(position));
+      }
+      IDataset<CONTEXT, ITEM, RATING> view = dataset.getView(positions);
+      Assert.assertEquals(TEST_CORRECT_INSTANCES_ARE_RETURNED, copy.getNumberOfInstances(), view.getNumberOfInstances());
+      for (int i = 0; i < positions.length; i++) {
+         Assert.assertEquals(TEST_CORRECT_INSTANCES_ARE_RETURNED, copy.getInstance(i), view.getInstance(i));
+      }
+   }
+
+
    /**
     * Fills the dataset with all available valid instances.
     * 
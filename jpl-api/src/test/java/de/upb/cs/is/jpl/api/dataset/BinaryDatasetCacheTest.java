@@ -0,0 +1,116 @@
+package de.upb.cs.is.jpl.api.dataset;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.Test;
+
+import de.upb.cs.is.jpl.api.common.AUnitTest;
+import de.upb.cs.is.jpl.api.dataset.labelranking.LabelRankingDatasetParser;
+import de.upb.cs.is.jpl.api.exception.dataset.ParsingFailedException;
+
+
+/**
+ * This class tests the {@link BinaryDatasetCache}.
+ *
+ * @author agent
+ *
+ */
+public class BinaryDatasetCacheTest extends AUnitTest {
+
+   private static final String RESOURCE_DIRECTORY_LEVEL = "dataset" + File.separator;
+   private static final String ADDITIONAL_RESOURCE_PATH = "labelranking" + File.separator;
+   private static final String DATASET_LABEL_RANKING = "cold-txt_predict.gprf";
+   private static final String CACHE_DIRECTORY_PREFIX = "jplbincache";
+
+
+   /**
+    * Creates a new unit test for the {@link BinaryDatasetCache}.
+    */
+   public BinaryDatasetCacheTest() {
+      super(RESOURCE_DIRECTORY_LEVEL, ADDITIONAL_RESOURCE_PATH);
+   }
+
+
+   /**
+    * Tests whether different kinds of parsers of the same dataset file use different cache files,
+    * both next to the dataset file and in a common cache directory.
+    *
+    * @throws IOException if the cache directory cannot be created
+    */
+   @Test
+   public void testDifferentParsersUseDifferentCacheFiles() throws IOException {
+      File file = new File(getTestRessourcePathFor(DATASET_LABEL_RANKING));
+      File cacheFile = new BinaryDatasetCache(file, new LabelRankingDatasetParser()).getCacheFile();
+      File otherCacheFile = new BinaryDatasetCache(file, new FailingCacheLabelRankingDatasetParser()).getCacheFile();
+      assertNotEquals(cacheFile, otherCacheFile);
+      assertEquals(file.getParentFile(), cacheFile.getParentFile());
+      assertTrue(cacheFile.getName().endsWith(DatasetFile.BINARY_CACHE_EXTENSION));
+
+      File directory = Files.createTempDirectory(CACHE_DIRECTORY_PREFIX).toFile();
+      try {
+         ADatasetParser.setBinaryCacheDirectory(directory);
+         cacheFile = new BinaryDatasetCache(file, new LabelRankingDatasetParser()).getCacheFile();
+         otherCacheFile = new BinaryDatasetCache(file, new FailingCacheLabelRankingDatasetParser()).getCacheFile();
+         assertNotEquals(cacheFile, otherCacheFile);
+         assertEquals(directory, cacheFile.getParentFile());
+      } finally {
+         ADatasetParser.setBinaryCacheDirectory(null);
+         directory.delete();
+      }
+   }
+
+
+   /**
+    * Tests whether a cache, whose content causes a runtime exception while it is read, is ignored
+    * and the dataset file is parsed from its text instead.
+    *
+    * @throws IOException if the cache directory cannot be created
+    * @throws ParsingFailedException if the dataset cannot be parsed
+    */
+   @Test
+   public void testUnreadableCacheDoesNotFailTheParse() throws IOException, ParsingFailedException {
+      File file = new File(getTestRessourcePathFor(DATASET_LABEL_RANKING));
+      File directory = Files.createTempDirectory(CACHE_DIRECTORY_PREFIX).toFile();
+      try {
+         ADatasetParser.setBinaryCacheDirectory(directory);
+         int expectedNumberOfInstances = new LabelRankingDatasetParser().parse(new DatasetFile(file)).getNumberOfInstances();
+
+         FailingCacheLabelRankingDatasetParser parser = new FailingCacheLabelRankingDatasetParser();
+         BinaryDatasetCache binaryCache = new BinaryDatasetCache(file, parser);
+         parser.parse(new DatasetFile(file));
+         assertTrue(binaryCache.getCacheFile().isFile());
+
+         parser = new FailingCacheLabelRankingDatasetParser();
+         assertFalse(binaryCache.load(parser));
+         assertEquals(expectedNumberOfInstances, parser.parse(new DatasetFile(file)).getNumberOfInstances());
+      } finally {
+         ADatasetParser.setBinaryCacheDirectory(null);
+         for (File cacheFile : directory.listFiles()) {
+            cacheFile.delete();
+         }
+         directory.delete();
+      }
+   }
+
+
+   /**
+    * A label ranking dataset parser which writes its binary cache, but fails with a runtime
+    * exception when reading it.
+    */
+   private static class FailingCacheLabelRankingDatasetParser extends LabelRankingDatasetParser {
+
+      @Override
+      protected void readParsedData(BinaryDatasetReader reader) throws IOException {
+         throw new IllegalStateException();
+      }
+   }
+
+}
@@ -0,0 +1,54 @@
+package de.upb.cs.is.jpl.api.dataset;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+
+import org.junit.Test;
+
+
+/**
+ * This class tests the {@link BinaryDatasetWriter}.
+ *
+ * @author agent
+ *
+ */
+public class BinaryDatasetWriterTest {
+
+   private static final String READ_WRITE_MODE = "rw";
+
+
+   /**
+    * Tests whether the writer stops before it exceeds its maximum size, without writing anything
+    * beyond the last complete flush.
+    *
+    * @throws IOException if the file could not be written
+    */
+   @Test
+   public void testWriterStopsBeforeExceedingMaximumSize() throws IOException {
+      File file = File.createTempFile("writer", DatasetFile.BINARY_CACHE_EXTENSION);
+      file.deleteOnExit();
+      try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, READ_WRITE_MODE);
+            FileChannel channel = randomAccessFile.getChannel()) {
+         BinaryDatasetWriter writer = new BinaryDatasetWriter(channel, 2 * Long.BYTES);
+         writer.writeLong(1);
+         writer.writeLong(2);
+         writer.flush();
+         assertEquals(2 * Long.BYTES, channel.size());
+
+         writer.writeInt(3);
+         try {
+            writer.flush();
+            fail("The writer exceeded its maximum size.");
+         } catch (IOException e) {
+            assertEquals(2 * Long.BYTES, channel.size());
+         }
+      }
+   }
+
+}
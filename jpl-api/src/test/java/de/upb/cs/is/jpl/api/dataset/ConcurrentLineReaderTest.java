@@ -0,0 +1,160 @@
+package de.upb.cs.is.jpl.api.dataset;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Test;
+
+import de.upb.cs.is.jpl.api.dataset.instanceranking.InstanceRankingDatasetParser;
+import de.upb.cs.is.jpl.api.exception.dataset.ParsingFailedException;
+
+
+/**
+ * This class tests the {@link ConcurrentLineReader}.
+ *
+ * @author agent
+ *
+ */
+public class ConcurrentLineReaderTest {
+
+   private static final int UNBOUNDED_CAPACITY = Integer.MAX_VALUE;
+   private static final long TIMEOUT = 10000;
+
+
+   /**
+    * Tests whether comments are removed, lines are trimmed and lines without content are skipped.
+    *
+    * @throws IOException if the lines could not be read
+    */
+   @Test
+   public void testCommentsAndBlankLinesAreRemoved() throws IOException {
+      try (ConcurrentLineReader reader = createReader("a 1 # first\n\n   \n# comment only\n  b 2  \n#\nc", UNBOUNDED_CAPACITY)) {
+         assertEquals("a 1", reader.readLine());
+         assertEquals("b 2", reader.readLine());
+         assertEquals("c", reader.readLine());
+         assertNull(reader.readLine());
+         assertNull(reader.readLine());
+      }
+   }
+
+
+   /**
+    * Tests whether a line, which has been pushed back, is returned by the next read.
+    *
+    * @throws IOException if the lines could not be read
+    */
+   @Test
+   public void testUnreadLineIsReturnedAgain() throws IOException {
+      try (ConcurrentLineReader reader = createReader("a\nb", UNBOUNDED_CAPACITY)) {
+         String line = reader.readLine();
+         reader.unreadLine(line);
+         assertSame(line, reader.readLine());
+         assertEquals("b", reader.readLine());
+         reader.unreadLine("b");
+         assertEquals("b", reader.readLine());
+         assertNull(reader.readLine());
+      }
+   }
+
+
+   /**
+    * Tests whether an {@link IOException} thrown while reading on the background thread is thrown
+    * by {@link ConcurrentLineReader#readLine()} instead of reporting the end of the file.
+    *
+    * @throws IOException if the reader could not be closed
+    */
+   @Test
+   public void testFailureOfBackgroundThreadIsThrownByReadLine() throws IOException {
+      IOException failure = new IOException("broken stream");
+      InputStream stream = new InputStream() {
+
+         private final InputStream lines = new ByteArrayInputStream("a\nb\n".getBytes(StandardCharsets.UTF_8));
+
+
+         @Override
+         public int read() throws IOException {
+            int next = lines.read();
+            if (next < 0) {
+               throw failure;
+            }
+            return next;
+         }
+      };
+      try (ConcurrentLineReader reader = new ConcurrentLineReader(stream, UNBOUNDED_CAPACITY)) {
+         for (int i = 0; i < 3; i++) {
+            assertNotNull(reader.readLine());
+         }
+         fail("The failure of the background thread was not thrown.");
+      } catch (IOException e) {
+         assertSame(failure, e);
+      }
+   }
+
+
+   /**
+    * Tests whether closing a reader returns, while its background thread is waiting for space in
+    * a full bounded queue.
+    *
+    * @throws IOException if the lines could not be read
+    */
+   @Test(timeout = TIMEOUT)
+   public void testCloseDoesNotHangOnFullQueue() throws IOException {
+      StringBuilder content = new StringBuilder();
+      for (int i = 0; i < 100000; i++) {
+         content.append(i).append('\n');
+      }
+      ConcurrentLineReader reader = createReader(content.toString(), 1);
+      assertEquals("0", reader.readLine());
+      reader.close();
+   }
+
+
+   /**
+    * Tests whether a dataset file missing one of its entries leads to a
+    * {@link ParsingFailedException}.
+    *
+    * @throws IOException if the dataset file could not be written
+    */
+   @Test
+   public void testMissingEntryRaisesParsingFailedException() throws IOException {
+      File file = File.createTempFile("missingentry", ".gprf");
+      file.deleteOnExit();
+      try (ZipOutputStream zipStream = new ZipOutputStream(new FileOutputStream(file))) {
+         zipStream.putNextEntry(new ZipEntry(ADatasetParser.RATINGS_FILE));
+         zipStream.write("# Instance Ranking\n".getBytes(StandardCharsets.UTF_8));
+         zipStream.closeEntry();
+      }
+      try {
+         new InstanceRankingDatasetParser().parse(new DatasetFile(file));
+         fail("A dataset file without context and item entries was parsed.");
+      } catch (ParsingFailedException e) {
+         // expected
+      }
+   }
+
+
+   /**
+    * Creates a new reader for the given content.
+    *
+    * @param content the content to read
+    * @param capacity the maximum number of batches of lines which are buffered
+    * @return the reader for the content
+    */
+   private ConcurrentLineReader createReader(String content, int capacity) {
+      return new ConcurrentLineReader(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), capacity);
+   }
+
+}
@@ -24,7 +24,10 @@ import de.upb.cs.is.jpl.api.dataset.rankaggregation.RankAggregationDatasetTestSu
 @RunWith(Suite.class)
 @Suite.SuiteClasses({ CollaborativeFilteringDatasetTestSuite.class, DefaultDatasetTestSuite.class, InstanceRankingDatasetTestSuite.class,
       LabelRankingTestSuite.class, ObjectRankingDatasetTestSuite.class, OrdinalClassificationDatasetTestSuite.class,
-      RankAggregationDatasetTestSuite.class, MultilabelClassificationDatasetTestSuite.class })
+      RankAggregationDatasetTestSuite.class, MultilabelClassificationDatasetTestSuite.class, LineTokenizerTest.class,
+      ParsedDatasetCacheTest.class, FileBackedStreamingDatasetTest.class, ParallelDatasetIngestionTest.class,
+      FeatureProjectionParsingTest.class, SampledParsingTest.class, ConcurrentLineReaderTest.class,
+      BinaryDatasetWriterTest.class, BinaryDatasetCacheTest.class })
 public class DatasetTestSuite {
 
 }
@@ -0,0 +1,117 @@
+package de.upb.cs.is.jpl.api.dataset;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import de.upb.cs.is.jpl.api.common.AUnitTest;
+import de.upb.cs.is.jpl.api.dataset.instanceranking.InstanceRankingDataset;
+import de.upb.cs.is.jpl.api.dataset.instanceranking.InstanceRankingDatasetParser;
+import de.upb.cs.is.jpl.api.dataset.labelranking.LabelRankingDataset;
+import de.upb.cs.is.jpl.api.dataset.labelranking.LabelRankingDatasetParser;
+import de.upb.cs.is.jpl.api.exception.dataset.ParsingFailedException;
+import de.upb.cs.is.jpl.api.util.StringUtils;
+
+
+/**
+ * This class tests whether the feature selection of a {@link DatasetFile} is applied correctly by
+ * the parsers while tokenizing the feature vectors.
+ *
+ * @author agent
+ *
+ */
+public class FeatureProjectionParsingTest extends AUnitTest {
+
+   private static final String RESOURCE_DIRECTORY_LEVEL = "dataset" + File.separator;
+   private static final String DATASET_LABEL_RANKING = "labelranking" + File.separator + "cold-txt_predict.gprf";
+   private static final String DATASET_INSTANCE_RANKING = "instanceranking" + File.separator + "instancemovielens.gprf";
+
+   private static final List<Integer> SELECTED_FEATURES = Arrays.asList(5, 0, 2, 5);
+
+
+   /**
+    * Creates a new unit test for the feature selection while parsing.
+    */
+   public FeatureProjectionParsingTest() {
+      super(RESOURCE_DIRECTORY_LEVEL, StringUtils.EMPTY_STRING);
+   }
+
+
+   /**
+    * Tests whether the feature vectors of a label ranking dataset parsed with a feature selection
+    * consist of the selected values of the feature vectors parsed without a selection.
+    *
+    * @throws ParsingFailedException if the dataset cannot be parsed
+    */
+   @Test
+   public void testLabelRankingFeaturesAreProjected() throws ParsingFailedException {
+      File file = new File(getTestRessourcePathFor(DATASET_LABEL_RANKING));
+      LabelRankingDataset fullDataset = (LabelRankingDataset) new LabelRankingDatasetParser().parse(new DatasetFile(file));
+      LabelRankingDataset projectedDataset = (LabelRankingDataset) new LabelRankingDatasetParser()
+            .parse(new DatasetFile(file, SELECTED_FEATURES, null));
+
+      assertEquals(fullDataset.getNumberOfInstances(), projectedDataset.getNumberOfInstances());
+      assertEquals(SELECTED_FEATURES.size(), projectedDataset.getNumberOfFeatures());
+      for (int i = 0; i < fullDataset.getNumberOfInstances(); i++) {
+         assertProjected(fullDataset.getFeatureValuesOfAnInstance(i), projectedDataset.getFeatureValuesOfAnInstance(i));
+      }
+   }
+
+
+   /**
+    * Tests whether the context feature vectors of an instance ranking dataset parsed with a feature
+    * selection consist of the selected values of the vectors parsed without a selection.
+    *
+    * @throws ParsingFailedException if the dataset cannot be parsed
+    */
+   @Test
+   public void testInstanceRankingFeaturesAreProjected() throws ParsingFailedException {
+      File file = new File(getTestRessourcePathFor(DATASET_INSTANCE_RANKING));
+      InstanceRankingDataset fullDataset = (InstanceRankingDataset) new InstanceRankingDatasetParser().parse(new DatasetFile(file));
+      InstanceRankingDataset projectedDataset = (InstanceRankingDataset) new InstanceRankingDatasetParser()
+            .parse(new DatasetFile(file, SELECTED_FEATURES, null));
+
+      assertEquals(fullDataset.getNumberOfInstances(), projectedDataset.getNumberOfInstances());
+      for (int i = 0; i < fullDataset.getNumberOfInstances(); i++) {
+         assertProjected(fullDataset.getContextFeatureList().get(i), projectedDataset.getContextFeatureList().get(i));
+      }
+   }
+
+
+   /**
+    * Tests whether the selection of a feature which is not declared in the dataset file is
+    * rejected.
+    */
+   @Test
+   public void testUndeclaredFeatureIsRejected() {
+      File file = new File(getTestRessourcePathFor(DATASET_LABEL_RANKING));
+      try {
+         new LabelRankingDatasetParser().parse(new DatasetFile(file, Arrays.asList(0, Integer.MAX_VALUE), null));
+         fail("The selection of an undeclared feature should not be parsed.");
+      } catch (ParsingFailedException e) {
+         // expected
+      }
+   }
+
+
+   /**
+    * Asserts that the given projected feature vector consists of the selected values of the given
+    * full feature vector.
+    *
+    * @param fullFeatureVector the feature vector parsed without a selection
+    * @param projectedFeatureVector the feature vector parsed with the selection
+    */
+   private void assertProjected(double[] fullFeatureVector, double[] projectedFeatureVector) {
+      assertEquals(SELECTED_FEATURES.size(), projectedFeatureVector.length);
+      for (int i = 0; i < SELECTED_FEATURES.size(); i++) {
+         assertEquals(fullFeatureVector[SELECTED_FEATURES.get(i)], projectedFeatureVector[i], 0);
+      }
+   }
+
+}
@@ -0,0 +1,138 @@
+package de.upb.cs.is.jpl.api.dataset;
+
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import de.upb.cs.is.jpl.api.common.AUnitTest;
+import de.upb.cs.is.jpl.api.dataset.collaborativefiltering.CollaborativeFilteringDataset;
+import de.upb.cs.is.jpl.api.dataset.collaborativefiltering.CollaborativeFilteringInstance;
+import de.upb.cs.is.jpl.api.dataset.collaborativefiltering.CollaborativeFilteringParser;
+import de.upb.cs.is.jpl.api.dataset.instanceranking.InstanceRankingDataset;
+import de.upb.cs.is.jpl.api.dataset.instanceranking.InstanceRankingDatasetParser;
+import de.upb.cs.is.jpl.api.exception.dataset.ParsingFailedException;
+import de.upb.cs.is.jpl.api.math.linearalgebra.IVector;
+import de.upb.cs.is.jpl.api.util.StringUtils;
+import de.upb.cs.is.jpl.api.util.datastructure.NullType;
+
+
+/**
+ * This class tests the {@link FileBackedStreamingDataset}.
+ *
+ * @author agent
+ *
+ */
+public class FileBackedStreamingDatasetTest extends AUnitTest {
+
+   private static final String RESOURCE_DIRECTORY_LEVEL = "dataset" + File.separator;
+   private static final String DATASET_INSTANCE_RANKING = "instanceranking" + File.separator + "instancemovielens.gprf";
+   private static final String DATASET_COLLABORATIVE_FILTERING = "collaborativefiltering" + File.separator + "simpleDataset.gprf";
+
+   private static final int CHUNK_SIZE = 7;
+
+
+   /**
+    * Creates a new unit test for the {@link FileBackedStreamingDataset}.
+    */
+   public FileBackedStreamingDatasetTest() {
+      super(RESOURCE_DIRECTORY_LEVEL, StringUtils.EMPTY_STRING);
+   }
+
+
+   /**
+    * Tests whether the streamed instances are the same as the instances of the parsed dataset, and
+    * whether the number of instances is known after the first traversal.
+    *
+    * @throws ParsingFailedException if the dataset cannot be parsed
+    */
+   @Test
+   public void testStreamedInstancesEqualParsedInstances() throws ParsingFailedException {
+      DatasetFile datasetFile = new DatasetFile(new File(getTestRessourcePathFor(DATASET_INSTANCE_RANKING)));
+      InstanceRankingDataset parsedDataset = (InstanceRankingDataset) new InstanceRankingDatasetParser().parse(datasetFile);
+      FileBackedStreamingDataset<double[], NullType, Integer> streamingDataset = new FileBackedStreamingDataset<>(datasetFile,
+            InstanceRankingDatasetParser::new, CHUNK_SIZE);
+      assertEquals(Long.MAX_VALUE, streamingDataset.estimateNumberOfInstances());
+
+      List<IInstance<double[], NullType, Integer>> streamedInstances;
+      try (Stream<IInstance<double[], NullType, Integer>> stream = streamingDataset.stream()) {
+         streamedInstances = stream.collect(Collectors.toList());
+      }
+      assertEquals(parsedDataset.getNumberOfInstances(), streamedInstances.size());
+      assertEquals(parsedDataset.getNumberOfInstances(), streamingDataset.estimateNumberOfInstances());
+      for (int i = 0; i < streamedInstances.size(); i++) {
+         assertArrayEquals(parsedDataset.getContextFeatureList().get(i), streamedInstances.get(i).getContextFeatureVector(), 0);
+         assertEquals(parsedDataset.getRatingList().get(i), streamedInstances.get(i).getRating());
+      }
+   }
+
+
+   /**
+    * Tests whether the chunks do not exceed the chunk size and contain all ratings of the parsed
+    * dataset in their original order.
+    *
+    * @throws ParsingFailedException if the dataset cannot be parsed
+    */
+   @Test
+   public void testChunksContainAllRatings() throws ParsingFailedException {
+      DatasetFile datasetFile = new DatasetFile(new File(getTestRessourcePathFor(DATASET_COLLABORATIVE_FILTERING)));
+      CollaborativeFilteringDataset parsedDataset = (CollaborativeFilteringDataset) new CollaborativeFilteringParser().parse(datasetFile);
+      FileBackedStreamingDataset<IVector, IVector, Double> streamingDataset = new FileBackedStreamingDataset<>(datasetFile,
+            CollaborativeFilteringParser::new, 2);
+
+      int position = 0;
+      int numberOfChunks = 0;
+      try (IChunkIterator<IVector, IVector, Double> chunks = streamingDataset.chunkIterator()) {
+         while (chunks.hasNext()) {
+            CollaborativeFilteringDataset chunk = (CollaborativeFilteringDataset) chunks.next();
+            numberOfChunks++;
+            assertEquals(parsedDataset.getNumberOfContexts(), chunk.getNumberOfContexts());
+            assertEquals(parsedDataset.getNumberOfItems(), chunk.getNumberOfItems());
+            for (int i = 0; i < chunk.getNumberOfInstances(); i++) {
+               CollaborativeFilteringInstance expected = parsedDataset.getInstance(position++);
+               CollaborativeFilteringInstance actual = chunk.getInstance(i);
+               assertEquals(expected.getContextId(), actual.getContextId());
+               assertEquals(expected.getItemId(), actual.getItemId());
+               assertEquals(expected.getRating(), actual.getRating());
+            }
+         }
+      }
+      assertEquals(parsedDataset.getNumberOfInstances(), position);
+      assertEquals((parsedDataset.getNumberOfContexts() + 1) / 2, numberOfChunks);
+   }
+
+
+   /**
+    * Tests whether a traversal of the chunks, which is closed before it has been exhausted, can be
+    * closed again without an error and does not affect a new traversal.
+    *
+    * @throws ParsingFailedException if the dataset cannot be parsed
+    */
+   @Test
+   public void testClosingChunksEarly() throws ParsingFailedException {
+      DatasetFile datasetFile = new DatasetFile(new File(getTestRessourcePathFor(DATASET_INSTANCE_RANKING)));
+      int numberOfInstances = new InstanceRankingDatasetParser().parse(datasetFile).getNumberOfInstances();
+      FileBackedStreamingDataset<double[], NullType, Integer> streamingDataset = new FileBackedStreamingDataset<>(datasetFile,
+            InstanceRankingDatasetParser::new, CHUNK_SIZE);
+
+      IChunkIterator<double[], NullType, Integer> chunks = streamingDataset.chunkIterator();
+      assertEquals(CHUNK_SIZE, chunks.next().getNumberOfInstances());
+      chunks.close();
+      chunks.close();
+
+      int numberOfStreamedInstances = 0;
+      try (IChunkIterator<double[], NullType, Integer> newChunks = streamingDataset.chunkIterator()) {
+         while (newChunks.hasNext()) {
+            numberOfStreamedInstances += newChunks.next().getNumberOfInstances();
+         }
+      }
+      assertEquals(numberOfInstances, numberOfStreamedInstances);
+   }
+
+}
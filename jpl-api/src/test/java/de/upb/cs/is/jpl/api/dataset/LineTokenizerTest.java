@@ -0,0 +1,95 @@
+package de.upb.cs.is.jpl.api.dataset;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+
+/**
+ * This class tests the {@link LineTokenizer}.
+ *
+ * @author agent
+ *
+ */
+public class LineTokenizerTest {
+
+   private static final String ERROR_NUMBER_FORMAT_EXCEPTION_EXPECTED = "A NumberFormatException was expected for \"%s\".";
+
+
+   /**
+    * Tests whether lines are split at blanks and tabs, ignoring leading, trailing and repeated
+    * whitespace.
+    */
+   @Test
+   public void testTokenization() {
+      LineTokenizer tokenizer = new LineTokenizer(" \t1.5  f2,3\t-4 ");
+      assertEquals(3, tokenizer.countRemainingTokens());
+
+      assertTrue(tokenizer.nextToken());
+      assertEquals("1.5", tokenizer.getToken());
+      assertEquals(1.5, tokenizer.getTokenAsDouble(), 0);
+      assertEquals(2, tokenizer.countRemainingTokens());
+
+      assertTrue(tokenizer.nextToken());
+      assertEquals("f2,3", tokenizer.getToken());
+      assertEquals(tokenizer.getTokenStart() + 2, tokenizer.indexOfInToken(','));
+      assertEquals(-1, tokenizer.indexOfInToken(':'));
+
+      assertTrue(tokenizer.nextToken());
+      assertEquals(-4, tokenizer.getTokenAsInt());
+      assertFalse(tokenizer.nextToken());
+      assertEquals(0, tokenizer.countRemainingTokens());
+
+      tokenizer.reset("a b c", 2, 3);
+      assertTrue(tokenizer.nextToken());
+      assertEquals("b", tokenizer.getToken());
+      assertFalse(tokenizer.nextToken());
+   }
+
+
+   /**
+    * Tests whether the double parser yields exactly the same values as
+    * {@link Double#parseDouble(String)}.
+    */
+   @Test
+   public void testParseDoubleEqualsJavaParser() {
+      String[] values = { "0", "-0", "+1", "1.", ".5", "-.5", "0.1", "0.3", "1e5", "1E-5", "1e+22", "1e23", "1e-22", "123456789012345678",
+            "1234567890123456789", "9007199254740993", "0.000000000000000000000000001", "000000000000000001.5", "1.7976931348623157e308",
+            "4.9e-324", "3.141592653589793", "NaN", "-Infinity", "1d", "2f" };
+      for (String value : values) {
+         assertEquals(value, Double.doubleToRawLongBits(Double.parseDouble(value)),
+               Double.doubleToRawLongBits(LineTokenizer.parseDouble(value, 0, value.length())));
+      }
+   }
+
+
+   /**
+    * Tests whether invalid numbers are rejected by a {@link NumberFormatException}.
+    */
+   @Test
+   public void testParseInvalidNumbers() {
+      String[] values = { "", "-", ".", "e1", "1e", "1.2.3", "abc", "1,5" };
+      for (String value : values) {
+         try {
+            LineTokenizer.parseDouble(value, 0, value.length());
+            assertTrue(String.format(ERROR_NUMBER_FORMAT_EXCEPTION_EXPECTED, value), false);
+         } catch (NumberFormatException e) {
+            // expected
+         }
+      }
+      String[] integers = { "", "+", "1.0", "2147483648", "-2147483649" };
+      for (String value : integers) {
+         try {
+            LineTokenizer.parseInt(value, 0, value.length());
+            assertTrue(String.format(ERROR_NUMBER_FORMAT_EXCEPTION_EXPECTED, value), false);
+         } catch (NumberFormatException e) {
+            // expected
+         }
+      }
+      assertEquals(Integer.MIN_VALUE, LineTokenizer.parseInt("-2147483648", 0, 11));
+   }
+
+}
@@ -0,0 +1,136 @@
+package de.upb.cs.is.jpl.api.dataset;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+
+import de.upb.cs.is.jpl.api.common.AUnitTest;
+import de.upb.cs.is.jpl.api.dataset.instanceranking.InstanceRankingDatasetParser;
+import de.upb.cs.is.jpl.api.exception.dataset.ParsingFailedException;
+import de.upb.cs.is.jpl.api.util.StringUtils;
+
+
+/**
+ * This class tests the {@link ParallelDatasetIngestion}.
+ *
+ * @author agent
+ *
+ */
+public class ParallelDatasetIngestionTest extends AUnitTest {
+
+   private static final String RESOURCE_DIRECTORY_LEVEL = "dataset" + File.separator;
+   private static final String DATASET_INSTANCE_RANKING = "instanceranking" + File.separator + "instancerankingtest.gprf";
+   private static final String DATASET_INSTANCE_MOVIELENS = "instanceranking" + File.separator + "instancemovielens.gprf";
+   private static final String DATASET_INCORRECT_CONTENT = "instanceranking" + File.separator + "incorrectfilecontent.gprf";
+
+
+   /**
+    * Creates a new unit test for the {@link ParallelDatasetIngestion}.
+    */
+   public ParallelDatasetIngestionTest() {
+      super(RESOURCE_DIRECTORY_LEVEL, StringUtils.EMPTY_STRING);
+   }
+
+
+   /**
+    * Tests whether all dataset files are parsed into the {@link ParsedDatasetCache}, whether a
+    * failure is collected without aborting the ingestion, and whether parsers of the same class are
+    * only used once.
+    *
+    * @throws ParsingFailedException if a dataset cannot be parsed
+    */
+   @Test
+   public void testIngestionFillsCacheAndCollectsFailures() throws ParsingFailedException {
+      ParsedDatasetCache cache = ParsedDatasetCache.getParsedDatasetCache();
+      cache.clear();
+      DatasetFile first = new DatasetFile(new File(getTestRessourcePathFor(DATASET_INSTANCE_RANKING)));
+      DatasetFile second = new DatasetFile(new File(getTestRessourcePathFor(DATASET_INSTANCE_MOVIELENS)));
+      DatasetFile incorrect = new DatasetFile(new File(getTestRessourcePathFor(DATASET_INCORRECT_CONTENT)));
+      List<Supplier<IDatasetParser>> parserSuppliers = Arrays.asList(InstanceRankingDatasetParser::new, InstanceRankingDatasetParser::new,
+            () -> null);
+
+      ParallelDatasetIngestion.Report report = new ParallelDatasetIngestion(2, Long.MAX_VALUE)
+            .ingest(Arrays.asList(first, incorrect, second), parserSuppliers);
+
+      assertEquals(3, report.getParseResults().size());
+      assertEquals(1, report.getFailures().size());
+      assertSame(incorrect, report.getFailures().get(0).getDatasetFile());
+      assertEquals(InstanceRankingDatasetParser.class, report.getFailures().get(0).getParserClass());
+      assertTrue(report.getSkippedDatasetFiles().isEmpty());
+      assertTrue(report.getTotalParseTime() >= 0);
+
+      long hits = cache.getNumberOfHits();
+      cache.parse(new InstanceRankingDatasetParser(), new DatasetFile(first.getFile()));
+      cache.parse(new InstanceRankingDatasetParser(), new DatasetFile(second.getFile()));
+      assertEquals(hits + 2, cache.getNumberOfHits());
+      cache.clear();
+   }
+
+
+   /**
+    * Tests whether the cache is enlarged to hold all ingested datasets, so that none of them is
+    * evicted before it is requested.
+    *
+    * @throws ParsingFailedException if a dataset cannot be parsed
+    */
+   @Test
+   public void testIngestionSizesCacheToIngestedDatasets() throws ParsingFailedException {
+      ParsedDatasetCache cache = ParsedDatasetCache.getParsedDatasetCache();
+      cache.clear();
+      int maximumNumberOfEntries = cache.getMaximumNumberOfEntries();
+      try {
+         cache.setMaximumNumberOfEntries(1);
+         DatasetFile first = new DatasetFile(new File(getTestRessourcePathFor(DATASET_INSTANCE_RANKING)));
+         DatasetFile second = new DatasetFile(new File(getTestRessourcePathFor(DATASET_INSTANCE_MOVIELENS)));
+         List<Supplier<IDatasetParser>> parserSuppliers = Arrays.asList(InstanceRankingDatasetParser::new);
+
+         ParallelDatasetIngestion.Report report = new ParallelDatasetIngestion(1, Long.MAX_VALUE)
+               .ingest(Arrays.asList(first, second), parserSuppliers);
+
+         assertEquals(2, report.getParseResults().size());
+         assertTrue(report.getSkippedDatasetFiles().isEmpty());
+         assertEquals(2, cache.getMaximumNumberOfEntries());
+         assertEquals(2, cache.size());
+
+         long hits = cache.getNumberOfHits();
+         cache.parse(new InstanceRankingDatasetParser(), new DatasetFile(first.getFile()));
+         assertEquals(hits + 1, cache.getNumberOfHits());
+      } finally {
+         cache.setMaximumNumberOfEntries(maximumNumberOfEntries);
+         cache.clear();
+      }
+   }
+
+
+   /**
+    * Tests whether the ingestion rejects a number of threads or a memory budget which is not
+    * positive.
+    */
+   @Test
+   public void testInvalidConfiguration() {
+      for (int numberOfThreads : new int[] { 0, -1 }) {
+         try {
+            new ParallelDatasetIngestion(numberOfThreads, 1);
+            fail();
+         } catch (IllegalArgumentException e) {
+            // expected
+         }
+      }
+      try {
+         new ParallelDatasetIngestion(1, 0);
+         fail();
+      } catch (IllegalArgumentException e) {
+         // expected
+      }
+   }
+
+}
@@ -0,0 +1,195 @@
+package de.upb.cs.is.jpl.api.dataset;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import de.upb.cs.is.jpl.api.common.AUnitTest;
+import de.upb.cs.is.jpl.api.dataset.labelranking.LabelRankingDataset;
+import de.upb.cs.is.jpl.api.dataset.labelranking.LabelRankingDatasetParser;
+import de.upb.cs.is.jpl.api.dataset.labelranking.LabelRankingInstance;
+import de.upb.cs.is.jpl.api.exception.dataset.InvalidInstanceException;
+import de.upb.cs.is.jpl.api.exception.dataset.ParsingFailedException;
+
+
+/**
+ * This class tests the {@link ParsedDatasetCache}.
+ *
+ * @author agent
+ *
+ */
+public class ParsedDatasetCacheTest extends AUnitTest {
+
+   private static final String RESOURCE_DIRECTORY_LEVEL = "dataset" + File.separator;
+   private static final String ADDITIONAL_RESOURCE_PATH = "labelranking" + File.separator;
+   private static final String DATASET_LABEL_RANKING = "cold-txt_predict.gprf";
+
+
+   /**
+    * Creates a new unit test for the {@link ParsedDatasetCache}.
+    */
+   public ParsedDatasetCacheTest() {
+      super(RESOURCE_DIRECTORY_LEVEL, ADDITIONAL_RESOURCE_PATH);
+   }
+
+
+   /**
+    * Tests whether the same dataset is handed out for the same file, feature selection and kind of
+    * parser, and whether a different feature selection or kind of parser causes a miss.
+    *
+    * @throws ParsingFailedException if the dataset cannot be parsed
+    */
+   @Test
+   public void testHitsAndMisses() throws ParsingFailedException {
+      ParsedDatasetCache cache = ParsedDatasetCache.getParsedDatasetCache();
+      cache.clear();
+      long hits = cache.getNumberOfHits();
+      long misses = cache.getNumberOfMisses();
+      File file = new File(getTestRessourcePathFor(DATASET_LABEL_RANKING));
+
+      IDataset<?, ?, ?> dataset = cache.parse(new LabelRankingDatasetParser(), new DatasetFile(file));
+      assertSame(dataset, cache.parse(new LabelRankingDatasetParser(), new DatasetFile(file)));
+      assertEquals(hits + 1, cache.getNumberOfHits());
+      assertEquals(misses + 1, cache.getNumberOfMisses());
+
+      DatasetFile selectedFeatures = new DatasetFile(file, Arrays.asList(0, 1), null);
+      assertNotSame(dataset, cache.parse(new LabelRankingDatasetParser(), selectedFeatures));
+      assertNotSame(dataset, cache.parse(new LabelRankingDatasetParser() {
+      }, new DatasetFile(file)));
+      assertEquals(misses + 3, cache.getNumberOfMisses());
+      cache.clear();
+   }
+
+
+   /**
+    * Tests whether the least recently used dataset is evicted, if the cache is full.
+    *
+    * @throws ParsingFailedException if the dataset cannot be parsed
+    */
+   @Test
+   public void testLeastRecentlyUsedEviction() throws ParsingFailedException {
+      ParsedDatasetCache cache = ParsedDatasetCache.getParsedDatasetCache();
+      cache.clear();
+      int maximumNumberOfEntries = cache.getMaximumNumberOfEntries();
+      double maximumMemoryFraction = cache.getMaximumMemoryFraction();
+      try {
+         cache.setMaximumNumberOfEntries(2);
+         cache.setMaximumMemoryFraction(1);
+         long evictions = cache.getNumberOfEvictions();
+         File file = new File(getTestRessourcePathFor(DATASET_LABEL_RANKING));
+         DatasetFile first = new DatasetFile(file, Arrays.asList(0), null);
+         DatasetFile second = new DatasetFile(file, Arrays.asList(1), null);
+         DatasetFile third = new DatasetFile(file, Arrays.asList(2), null);
+
+         IDataset<?, ?, ?> firstDataset = cache.parse(new LabelRankingDatasetParser(), first);
+         IDataset<?, ?, ?> secondDataset = cache.parse(new LabelRankingDatasetParser(), second);
+         assertSame(firstDataset, cache.parse(new LabelRankingDatasetParser(), first));
+         cache.parse(new LabelRankingDatasetParser(), third);
+
+         assertEquals(2, cache.size());
+         assertEquals(evictions + 1, cache.getNumberOfEvictions());
+         assertSame(firstDataset, cache.parse(new LabelRankingDatasetParser(), first));
+         assertNotSame(secondDataset, cache.parse(new LabelRankingDatasetParser(), second));
+      } finally {
+         cache.setMaximumNumberOfEntries(maximumNumberOfEntries);
+         cache.setMaximumMemoryFraction(maximumMemoryFraction);
+         cache.clear();
+      }
+   }
+
+
+   /**
+    * Tests whether concurrent requests for the same dataset, which is not cached yet, parse the
+    * dataset file only once and all get the same dataset.
+    *
+    * @throws Exception if the dataset cannot be parsed or the parsing thread is interrupted
+    */
+   @Test
+   public void testConcurrentMissesParseOnce() throws Exception {
+      ParsedDatasetCache cache = ParsedDatasetCache.getParsedDatasetCache();
+      cache.clear();
+      long misses = cache.getNumberOfMisses();
+      File file = new File(getTestRessourcePathFor(DATASET_LABEL_RANKING));
+      int numberOfThreads = 4;
+      ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+      try {
+         CountingLabelRankingDatasetParser.NUMBER_OF_PARSES.set(0);
+         List<Callable<IDataset<?, ?, ?>>> requests = new ArrayList<>();
+         for (int i = 0; i < numberOfThreads; i++) {
+            requests.add(() -> cache.parse(new CountingLabelRankingDatasetParser(), new DatasetFile(file)));
+         }
+         List<Future<IDataset<?, ?, ?>>> results = executor.invokeAll(requests);
+         for (Future<IDataset<?, ?, ?>> result : results) {
+            assertSame(results.get(0).get(), result.get());
+         }
+         assertEquals(1, CountingLabelRankingDatasetParser.NUMBER_OF_PARSES.get());
+         assertEquals(misses + 1, cache.getNumberOfMisses());
+      } finally {
+         executor.shutdown();
+         cache.clear();
+      }
+   }
+
+
+   /**
+    * Tests whether a cached dataset and views on it reject changes, while a dataset parsed directly
+    * can still be changed.
+    *
+    * @throws ParsingFailedException if the dataset cannot be parsed
+    * @throws InvalidInstanceException if the instance cannot be added to the dataset
+    */
+   @Test
+   public void testSharedDatasetRejectsChanges() throws ParsingFailedException, InvalidInstanceException {
+      ParsedDatasetCache cache = ParsedDatasetCache.getParsedDatasetCache();
+      cache.clear();
+      File file = new File(getTestRessourcePathFor(DATASET_LABEL_RANKING));
+      LabelRankingDataset dataset = (LabelRankingDataset) cache.parse(new LabelRankingDatasetParser(), new DatasetFile(file));
+      LabelRankingInstance instance = (LabelRankingInstance) dataset.getInstance(0);
+      assertTrue(dataset.isShared());
+      try {
+         dataset.addInstance(instance);
+         fail();
+      } catch (UnsupportedOperationException e) {
+         // expected, as the dataset is shared
+      }
+      assertTrue(((ADataset<?, ?, ?>) dataset.getView(new int[] { 0, 1 })).isShared());
+
+      LabelRankingDataset parsedDataset = (LabelRankingDataset) new LabelRankingDatasetParser().parse(new DatasetFile(file));
+      int numberOfInstances = parsedDataset.getNumberOfInstances();
+      parsedDataset.addInstance(instance);
+      assertEquals(numberOfInstances + 1, parsedDataset.getNumberOfInstances());
+      cache.clear();
+   }
+
+
+   /**
+    * A label ranking dataset parser which counts how often it parses a dataset file.
+    */
+   private static class CountingLabelRankingDatasetParser extends LabelRankingDatasetParser {
+
+      private static final AtomicInteger NUMBER_OF_PARSES = new AtomicInteger();
+
+
+      @Override
+      public IDataset<?, ?, ?> parse(DatasetFile file) throws ParsingFailedException {
+         NUMBER_OF_PARSES.incrementAndGet();
+         return super.parse(file);
+      }
+   }
+
+}
@@ -0,0 +1,317 @@
+package de.upb.cs.is.jpl.api.dataset;
+
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.ZipFile;
+
+import org.junit.Test;
+
+import de.upb.cs.is.jpl.api.common.AUnitTest;
+import de.upb.cs.is.jpl.api.dataset.collaborativefiltering.CollaborativeFilteringParser;
+import de.upb.cs.is.jpl.api.dataset.defaultdataset.relative.DefaultRelativeDataset;
+import de.upb.cs.is.jpl.api.dataset.defaultdataset.relative.DefaultRelativeDatasetParser;
+import de.upb.cs.is.jpl.api.dataset.instanceranking.InstanceRankingDataset;
+import de.upb.cs.is.jpl.api.dataset.instanceranking.InstanceRankingDatasetParser;
+import de.upb.cs.is.jpl.api.dataset.objectranking.ObjectRankingDataset;
+import de.upb.cs.is.jpl.api.dataset.objectranking.ObjectRankingDatasetParser;
+import de.upb.cs.is.jpl.api.exception.dataset.ParsingFailedException;
+import de.upb.cs.is.jpl.api.util.StringUtils;
+
+
+/**
+ * This class tests the sampled parsing of {@link ADatasetParser#parseSampleOf(DatasetFile, int, long)}
+ * and {@link ADatasetParser#parseStratifiedSampleOf(DatasetFile, int, long)}.
+ *
+ * @author agent
+ *
+ */
+public class SampledParsingTest extends AUnitTest {
+
+   private static final String RESOURCE_DIRECTORY_LEVEL = "dataset" + File.separator;
+   private static final String DATASET_INSTANCE_RANKING = "instanceranking" + File.separator + "instancemovielens.gprf";
+   private static final String DATASET_COLLABORATIVE_FILTERING = "collaborativefiltering" + File.separator + "movielens.gprf";
+   private static final String DATASET_DEFAULT_RELATIVE = "defaultdataset" + File.separator + "relativeDataset.gprf";
+   private static final String DATASET_OBJECT_RANKING = "objectranking" + File.separator + "generatedDataset.gprf";
+
+   private static final int SAMPLE_SIZE = 40;
+   private static final int POSITIONAL_SAMPLE_SIZE = 5;
+   private static final int NUMBER_OF_STRATA = 20;
+   private static final int NUMBER_OF_LINES_PER_STRATUM = 50;
+   private static final long SEED = 1234;
+
+
+   /**
+    * Creates a new unit test for the sampled parsing.
+    */
+   public SampledParsingTest() {
+      super(RESOURCE_DIRECTORY_LEVEL, StringUtils.EMPTY_STRING);
+   }
+
+
+   /**
+    * Tests whether the sample has the requested size, consists of instances of the complete dataset
+    * in their original order, and is the same for the same seed.
+    *
+    * @throws ParsingFailedException if the dataset cannot be parsed
+    */
+   @Test
+   public void testSampleIsReproducibleSubsequence() throws ParsingFailedException {
+      InstanceRankingDataset dataset = parseCompletely();
+      InstanceRankingDataset sample = (InstanceRankingDataset) new InstanceRankingDatasetParser().parseSampleOf(getDatasetFile(),
+            SAMPLE_SIZE, SEED);
+      assertEquals(SAMPLE_SIZE, sample.getNumberOfInstances());
+      assertSubsequence(dataset, sample);
+
+      InstanceRankingDataset repeatedSample = (InstanceRankingDataset) new InstanceRankingDatasetParser().parseSampleOf(getDatasetFile(),
+            SAMPLE_SIZE, SEED);
+      for (int i = 0; i < SAMPLE_SIZE; i++) {
+         assertArrayEquals(sample.getContextFeatureList().get(i), repeatedSample.getContextFeatureList().get(i), 0);
+         assertEquals(sample.getRatingList().get(i), repeatedSample.getRatingList().get(i));
+      }
+   }
+
+
+   /**
+    * Tests whether a stratified sample contains each rating value in proportion to its frequency in
+    * the complete dataset.
+    *
+    * @throws ParsingFailedException if the dataset cannot be parsed
+    */
+   @Test
+   public void testStratifiedSampleKeepsProportions() throws ParsingFailedException {
+      InstanceRankingDataset dataset = parseCompletely();
+      InstanceRankingDataset sample = (InstanceRankingDataset) new InstanceRankingDatasetParser()
+            .parseStratifiedSampleOf(getDatasetFile(), SAMPLE_SIZE, SEED);
+      assertEquals(SAMPLE_SIZE, sample.getNumberOfInstances());
+      assertSubsequence(dataset, sample);
+
+      Map<Integer, Integer> ratingCounts = countRatings(dataset.getRatingList());
+      Map<Integer, Integer> sampledRatingCounts = countRatings(sample.getRatingList());
+      for (Map.Entry<Integer, Integer> ratingCount : ratingCounts.entrySet()) {
+         double expectedCount = (double) SAMPLE_SIZE * ratingCount.getValue() / dataset.getNumberOfInstances();
+         int sampledCount = sampledRatingCounts.getOrDefault(ratingCount.getKey(), 0);
+         assertTrue(Math.abs(sampledCount - expectedCount) < 1);
+      }
+   }
+
+
+   /**
+    * Tests whether a sample which is larger than the dataset contains all of its instances.
+    *
+    * @throws ParsingFailedException if the dataset cannot be parsed
+    */
+   @Test
+   public void testLargeSampleContainsAllInstances() throws ParsingFailedException {
+      InstanceRankingDataset dataset = parseCompletely();
+      InstanceRankingDataset sample = (InstanceRankingDataset) new InstanceRankingDatasetParser().parseSampleOf(getDatasetFile(),
+            Integer.MAX_VALUE, SEED);
+      assertEquals(dataset.getNumberOfInstances(), sample.getNumberOfInstances());
+      assertSubsequence(dataset, sample);
+   }
+
+
+   /**
+    * Tests whether a stratified sample of the collaborative filtering dataset, whose rating lines
+    * each contain all ratings of a user, holds at most the sample size of its lines at any time
+    * instead of one stratum per user.
+    *
+    * @throws IOException if the rating file cannot be read
+    */
+   @Test
+   public void testStratifiedCollaborativeFilteringSampleHoldsAtMostSampleSizeLines() throws IOException {
+      ADatasetParser parser = new CollaborativeFilteringParser();
+      RatingLineReservoir reservoir = new RatingLineReservoir(SAMPLE_SIZE, new Random(SEED));
+      int numberOfLines = 0;
+      try (ZipFile zipFile = new ZipFile(getTestRessourcePathFor(DATASET_COLLABORATIVE_FILTERING));
+            ConcurrentLineReader ratingReader = new ConcurrentLineReader(
+                  zipFile.getInputStream(zipFile.getEntry(ADatasetParser.RATINGS_FILE)), Integer.MAX_VALUE)) {
+         String ratingLine;
+         while ((ratingLine = ratingReader.readLine()) != null) {
+            if (!ratingLine.startsWith(ADatasetParser.FORMAT_DECLARATION)) {
+               reservoir.offer(parser.getStratumOfRatingLine(ratingLine), ratingLine);
+               numberOfLines++;
+               assertTrue(reservoir.getNumberOfHeldLines() <= SAMPLE_SIZE);
+            }
+         }
+      }
+      assertTrue(numberOfLines > SAMPLE_SIZE);
+      assertEquals(SAMPLE_SIZE, reservoir.getSample().size());
+   }
+
+
+   /**
+    * Tests whether a stratified reservoir with many strata holds at most the sample size of lines
+    * at any time and samples each stratum in proportion to its number of lines.
+    */
+   @Test
+   public void testStratifiedReservoirHoldsAtMostSampleSizeLines() {
+      RatingLineReservoir reservoir = new RatingLineReservoir(SAMPLE_SIZE, new Random(SEED));
+      for (int i = 0; i < NUMBER_OF_LINES_PER_STRATUM * NUMBER_OF_STRATA; i++) {
+         reservoir.countLine(String.valueOf(i % NUMBER_OF_STRATA));
+      }
+      for (int i = 0; i < NUMBER_OF_LINES_PER_STRATUM * NUMBER_OF_STRATA; i++) {
+         reservoir.offer(String.valueOf(i % NUMBER_OF_STRATA), String.valueOf(i));
+         assertTrue(reservoir.getNumberOfHeldLines() <= SAMPLE_SIZE);
+      }
+
+      List<RatingLineReservoir.SampledLine> sample = reservoir.getSample();
+      assertEquals(SAMPLE_SIZE, sample.size());
+      Map<Integer, Integer> sampledStratumCounts = new HashMap<>();
+      for (RatingLineReservoir.SampledLine sampledLine : sample) {
+         sampledStratumCounts.merge(Integer.parseInt(sampledLine.getRatingLine()) % NUMBER_OF_STRATA, 1, Integer::sum);
+      }
+      for (int sampledCount : sampledStratumCounts.values()) {
+         assertEquals(SAMPLE_SIZE / NUMBER_OF_STRATA, sampledCount);
+      }
+   }
+
+
+   /**
+    * Tests whether counting lines of more than the maximum number of strata is rejected.
+    */
+   @Test
+   public void testTooManyStrataAreRejected() {
+      RatingLineReservoir reservoir = new RatingLineReservoir(SAMPLE_SIZE, new Random(SEED));
+      for (int i = 0; i < RatingLineReservoir.MAXIMUM_NUMBER_OF_STRATA; i++) {
+         reservoir.countLine(String.valueOf(i));
+      }
+      try {
+         reservoir.countLine(String.valueOf(RatingLineReservoir.MAXIMUM_NUMBER_OF_STRATA));
+         fail("A stratum beyond the maximum number of strata was accepted.");
+      } catch (IllegalArgumentException e) {
+         assertEquals(0, reservoir.getNumberOfHeldLines());
+      }
+   }
+
+
+   /**
+    * Tests whether a sample of a dataset, which stores its contexts and items by their ids, only
+    * contains the contexts and items referenced by the sampled lines.
+    *
+    * @throws ParsingFailedException if the dataset cannot be parsed
+    */
+   @Test
+   public void testSampleOnlyParsesReferencedContextsAndItems() throws ParsingFailedException {
+      DatasetFile file = new DatasetFile(new File(getTestRessourcePathFor(DATASET_DEFAULT_RELATIVE)));
+      DefaultRelativeDataset dataset = (DefaultRelativeDataset) new DefaultRelativeDatasetParser().parsePartialOf(file, Integer.MAX_VALUE);
+      DefaultRelativeDataset sample = (DefaultRelativeDataset) new DefaultRelativeDatasetParser().parseSampleOf(file, 1, SEED);
+      assertEquals(1, sample.getNumberOfInstances());
+
+      int sampledContextId = sample.getInstance(0).getContextId();
+      assertArrayEquals(dataset.getContextVector(sampledContextId), sample.getContextVector(sampledContextId), 0);
+      for (int contextId = 0; contextId < sample.getNumberOfContexts(); contextId++) {
+         if (contextId != sampledContextId) {
+            assertEquals(0, Arrays.stream(sample.getContextVector(contextId)).filter(value -> value != 0).count());
+         }
+      }
+      assertTrue(sample.getNumberOfItems() < dataset.getNumberOfItems());
+   }
+
+
+   /**
+    * Tests whether a sample of a dataset, which stores its contexts in the order of its rankings,
+    * keeps the context of each sampled ranking, also if the sample is stratified by the top ranked
+    * objects.
+    *
+    * @throws ParsingFailedException if the dataset cannot be parsed
+    */
+   @Test
+   public void testSampleKeepsContextsOfPositionalRankings() throws ParsingFailedException {
+      DatasetFile file = new DatasetFile(new File(getTestRessourcePathFor(DATASET_OBJECT_RANKING)));
+      ObjectRankingDataset dataset = (ObjectRankingDataset) new ObjectRankingDatasetParser().parsePartialOf(file, Integer.MAX_VALUE);
+      ObjectRankingDataset sample = (ObjectRankingDataset) new ObjectRankingDatasetParser().parseSampleOf(file, POSITIONAL_SAMPLE_SIZE,
+            SEED);
+      ObjectRankingDataset stratifiedSample = (ObjectRankingDataset) new ObjectRankingDatasetParser().parseStratifiedSampleOf(file,
+            POSITIONAL_SAMPLE_SIZE, SEED);
+
+      for (ObjectRankingDataset sampledDataset : Arrays.asList(sample, stratifiedSample)) {
+         assertEquals(POSITIONAL_SAMPLE_SIZE, sampledDataset.getNumberOfInstances());
+         for (int i = 0; i < sampledDataset.getNumberOfInstances(); i++) {
+            int position = dataset.getRankings().indexOf(sampledDataset.getRankingOfInstance(i));
+            assertTrue(position >= 0);
+            assertArrayEquals(dataset.getContextVectors().get(position), sampledDataset.getContextVectors().get(i), 0);
+         }
+      }
+   }
+
+
+   /**
+    * Returns the dataset file of the tested dataset.
+    *
+    * @return the dataset file
+    */
+   private DatasetFile getDatasetFile() {
+      return new DatasetFile(new File(getTestRessourcePathFor(DATASET_INSTANCE_RANKING)));
+   }
+
+
+   /**
+    * Parses the tested dataset completely.
+    *
+    * @return the complete dataset
+    * @throws ParsingFailedException if the dataset cannot be parsed
+    */
+   private InstanceRankingDataset parseCompletely() throws ParsingFailedException {
+      return (InstanceRankingDataset) new InstanceRankingDatasetParser().parsePartialOf(getDatasetFile(), Integer.MAX_VALUE);
+   }
+
+
+   /**
+    * Asserts that the instances of the sample are instances of the dataset in the same order.
+    *
+    * @param dataset the complete dataset
+    * @param sample the sample of the dataset
+    */
+   private void assertSubsequence(InstanceRankingDataset dataset, InstanceRankingDataset sample) {
+      int position = 0;
+      for (int i = 0; i < sample.getNumberOfInstances(); i++) {
+         while (position < dataset.getNumberOfInstances() && !isSameInstance(dataset, position, sample, i)) {
+            position++;
+         }
+         assertTrue(position < dataset.getNumberOfInstances());
+         position++;
+      }
+   }
+
+
+   /**
+    * Returns whether the instances at the given positions of the given datasets are equal.
+    *
+    * @param dataset the first dataset
+    * @param position the position of the instance in the first dataset
+    * @param otherDataset the second dataset
+    * @param otherPosition the position of the instance in the second dataset
+    * @return {@code true} if the features and ratings of the instances are equal
+    */
+   private boolean isSameInstance(InstanceRankingDataset dataset, int position, InstanceRankingDataset otherDataset, int otherPosition) {
+      return dataset.getRatingList().get(position).equals(otherDataset.getRatingList().get(otherPosition))
+            && Arrays.equals(dataset.getContextFeatureList().get(position), otherDataset.getContextFeatureList().get(otherPosition));
+   }
+
+
+   /**
+    * Counts the occurrences of each rating.
+    *
+    * @param ratings the ratings to count
+    * @return the number of occurrences by rating
+    */
+   private Map<Integer, Integer> countRatings(List<Integer> ratings) {
+      Map<Integer, Integer> ratingCounts = new HashMap<>();
+      for (Integer rating : ratings) {
+         ratingCounts.merge(rating, 1, Integer::sum);
+      }
+      return ratingCounts;
+   }
+
+}
@@ -6,11 +6,15 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
+import org.junit.Assert;
+import org.junit.Test;
+
 import de.upb.cs.is.jpl.api.dataset.ADatasetTest;
 import de.upb.cs.is.jpl.api.dataset.IInstance;
 import de.upb.cs.is.jpl.api.math.RandomGenerator;
 import de.upb.cs.is.jpl.api.math.linearalgebra.IVector;
 import de.upb.cs.is.jpl.api.math.linearalgebra.SparseDoubleVector;
+import de.upb.cs.is.jpl.api.math.linearalgebra.SparseDoubleVectorView;
 
 
 /**
@@ -61,4 +65,151 @@ public class CollaborativeFilteringDatasetTest extends ADatasetTest<IVector, IVe
       return validInstances;
    }
 
+
+   /**
+    * Tests whether the rows and columns of the rating matrix contain exactly the ratings set,
+    * sorted by their index, and whether ratings can still be set after the matrix has been read.
+    */
+   @Test
+   public void testRowAndColumnViews() {
+      CollaborativeFilteringDataset dataset = getDataset();
+      dataset.setRating(2, 7, 4.0);
+      dataset.setRating(2, 1, 3.0);
+      dataset.setRating(5, 7, 1.0);
+
+      SparseDoubleVectorView row = dataset.getRowView(2);
+      Assert.assertEquals(2, row.getNumberOfNonZeroEntries());
+      Assert.assertEquals(1, row.getIndexOfNonZeroEntry(0));
+      Assert.assertEquals(3.0, row.getValueOfNonZeroEntry(0), 0);
+      Assert.assertEquals(7, row.getIndexOfNonZeroEntry(1));
+      Assert.assertEquals(4.0, row.getValueOfNonZeroEntry(1), 0);
+      Assert.assertArrayEquals(new double[] { 0, 0, 4.0, 0, 0, 1.0, 0, 0, 0, 0 }, dataset.getColumnVector(7).asArray(), 0);
+
+      dataset.setRating(0, 7, 2.0);
+      Assert.assertEquals(3, dataset.getColumnView(7).getNumberOfNonZeroEntries());
+      Assert.assertEquals(4, dataset.getNumberOfInstances());
+      Assert.assertEquals(2.0, dataset.getInstance(3).getRating(), 0);
+   }
+
+
+   /**
+    * Tests whether all instances of a rating which is set several times have the rating set last.
+    */
+   @Test
+   public void testRatingSetSeveralTimes() {
+      CollaborativeFilteringDataset dataset = getDataset();
+      dataset.setRating(3, 4, 1.0);
+      dataset.setRating(6, 6, 5.0);
+      dataset.setRating(3, 4, 2.0);
+
+      Assert.assertEquals(3, dataset.getNumberOfInstances());
+      Assert.assertEquals(2.0, dataset.getInstance(0).getRating(), 0);
+      Assert.assertEquals(5.0, dataset.getRatingOfInstance(1), 0);
+      Assert.assertEquals(2.0, dataset.getInstance(2).getRating(), 0);
+      Assert.assertEquals(2.0, dataset.getRating(3, 4), 0);
+      Assert.assertEquals(0.0, dataset.getRating(4, 3), 0);
+      Assert.assertEquals(1, dataset.getRowView(3).getNumberOfNonZeroEntries());
+   }
+
+
+   /**
+    * Tests whether instances with a rating of {@code 0}, which is not stored in the rating matrix,
+    * keep their context and item ids, also after the rating has been set again.
+    */
+   @Test
+   public void testZeroRatingsKeepTheirIds() {
+      CollaborativeFilteringDataset dataset = getDataset();
+      dataset.setRating(4, 6, 0.0);
+      dataset.setRating(2, 3, 1.0);
+      Assert.assertEquals(4, dataset.getContextIdOfInstance(0));
+      Assert.assertEquals(6, dataset.getItemIdOfInstance(0));
+      Assert.assertEquals(0.0, dataset.getRatingOfInstance(0), 0);
+      Assert.assertEquals(0, dataset.getRowView(4).getNumberOfNonZeroEntries());
+
+      dataset.setRating(4, 6, 3.0);
+      dataset.setRating(9, 0, 2.0);
+      Assert.assertEquals(4, dataset.getContextIdOfInstance(0));
+      Assert.assertEquals(6, dataset.getItemIdOfInstance(0));
+      Assert.assertEquals(3.0, dataset.getRatingOfInstance(0), 0);
+      Assert.assertEquals(2, dataset.getContextIdOfInstance(1));
+      Assert.assertEquals(3, dataset.getItemIdOfInstance(1));
+      Assert.assertEquals(9, dataset.getContextIdOfInstance(3));
+      Assert.assertEquals(0, dataset.getItemIdOfInstance(3));
+
+      dataset.setRating(2, 3, 0.0);
+      Assert.assertEquals(2, dataset.getContextIdOfInstance(1));
+      Assert.assertEquals(3, dataset.getItemIdOfInstance(1));
+      Assert.assertEquals(0.0, dataset.getRatingOfInstance(1), 0);
+      Assert.assertEquals(2, dataset.getContextIdOfInstance(4));
+      Assert.assertEquals(3.0, dataset.getRatingOfInstance(2), 0);
+   }
+
+
+   /**
+    * Tests whether a view contains only the ratings of the selected instances in its rows and
+    * columns, shares the context vectors and is not changed by ratings of other instances set in its
+    * source.
+    */
+   @Test
+   public void testViewContainsOnlySelectedRatings() {
+      CollaborativeFilteringDataset dataset = getDataset();
+      dataset.setRating(1, 2, 3.0);
+      dataset.setRating(1, 5, 4.0);
+      dataset.setRating(7, 2, 5.0);
+
+      CollaborativeFilteringDataset view = dataset.getView(new int[] { 2, 0 });
+      dataset.setRating(1, 8, 1.0);
+
+      Assert.assertEquals(2, view.getNumberOfInstances());
+      Assert.assertEquals(7, view.getContextIdOfInstance(0));
+      Assert.assertEquals(5.0, view.getRatingOfInstance(0), 0);
+      Assert.assertEquals(3.0, view.getRatingOfInstance(1), 0);
+      Assert.assertEquals(1, view.getRowView(1).getNumberOfNonZeroEntries());
+      Assert.assertEquals(0.0, view.getRating(1, 5), 0);
+      Assert.assertEquals(2, view.getColumnView(2).getNumberOfNonZeroEntries());
+      Assert.assertSame(dataset.getContextVector(7), view.getContextVector(7));
+      Assert.assertEquals(4, dataset.getNumberOfInstances());
+   }
+
+
+   /**
+    * Tests whether ratings and context vectors set in a view, and in a view on that view, do not
+    * change the dataset the views were created from.
+    */
+   @Test
+   public void testChangingViewDoesNotChangeSource() {
+      CollaborativeFilteringDataset dataset = getDataset();
+      dataset.setRating(1, 2, 3.0);
+      dataset.setRating(4, 5, 4.0);
+      dataset.setRating(7, 2, 5.0);
+
+      CollaborativeFilteringDataset view = dataset.getView(new int[] { 2, 1, 0 });
+      CollaborativeFilteringDataset viewOnView = view.getView(new int[] { 1 });
+      Assert.assertEquals(4, viewOnView.getContextIdOfInstance(0));
+      Assert.assertEquals(4.0, viewOnView.getRatingOfInstance(0), 0);
+
+      IVector contextVector = new SparseDoubleVector(new double[] { 1 });
+      view.setContextVector(3, contextVector);
+      view.setRating(3, 3, 2.0);
+      Assert.assertEquals(4, view.getNumberOfInstances());
+      Assert.assertEquals(7, view.getContextIdOfInstance(0));
+      Assert.assertEquals(2.0, view.getRating(3, 3), 0);
+      Assert.assertEquals(5.0, view.getRating(7, 2), 0);
+      Assert.assertSame(contextVector, view.getContextVector(3));
+
+      Assert.assertEquals(3, dataset.getNumberOfInstances());
+      Assert.assertEquals(0.0, dataset.getRating(3, 3), 0);
+      Assert.assertNotSame(contextVector, dataset.getContextVector(3));
+      Assert.assertEquals(1, viewOnView.getNumberOfInstances());
+   }
+
+
+   /**
+    * Tests whether a rating outside of the rating matrix is rejected.
+    */
+   @Test(expected = IndexOutOfBoundsException.class)
+   public void testRatingOutOfBounds() {
+      getDataset().setRating(10, 0, 1.0);
+   }
+
 }
@@ -2,20 +2,31 @@ package de.upb.cs.is.jpl.api.dataset.collaborativefiltering;
 
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Test;
 
 import de.upb.cs.is.jpl.api.configuration.logging.LoggingConfiguration;
 import de.upb.cs.is.jpl.api.dataset.ADatasetParserTest;
 import de.upb.cs.is.jpl.api.dataset.DatasetFile;
 import de.upb.cs.is.jpl.api.dataset.IDataset;
 import de.upb.cs.is.jpl.api.dataset.IDatasetParser;
+import de.upb.cs.is.jpl.api.dataset.ParsedDatasetCache;
+import de.upb.cs.is.jpl.api.exception.dataset.ParsingFailedException;
 import de.upb.cs.is.jpl.api.util.TestUtils;
 
 
@@ -35,6 +46,10 @@ public class CollaborativeFilteringParserTest extends ADatasetParserTest {
 
    private static final String NO_VALIDATION_DEFINED = "No validation defined.";
 
+   private static final String SUPPLEMENT_CONTEXTS = "c5:\n";
+   private static final String SUPPLEMENT_RATINGS = "@format abs\nc5 : 2 0 0 3\nc5 : 0 0 4 0\n";
+   private static final String INVALID_SUPPLEMENT_RATINGS = "@format abs\nc5 : 2 0 0 3\nc5 : 0 x 4 0\n";
+
 
    /**
     * Creates the test.
@@ -97,6 +112,114 @@ public class CollaborativeFilteringParserTest extends ADatasetParserTest {
    }
 
 
+   /**
+    * Tests whether a supplement with a new context and new ratings is appended to a parsed and
+    * shuffled dataset without changing its previous ratings.
+    * 
+    * @throws ParsingFailedException if the dataset or the supplement cannot be parsed
+    * @throws IOException if the supplement cannot be written
+    */
+   @Test
+   public void testAppendSupplement() throws ParsingFailedException, IOException {
+      CollaborativeFilteringParser parser = new CollaborativeFilteringParser();
+      CollaborativeFilteringDataset dataset = (CollaborativeFilteringDataset) parser
+            .parse(new DatasetFile(new File(getTestRessourcePathFor(SIMPLE_DATASET_GPRF))));
+      int numberOfInstances = dataset.getNumberOfInstances();
+      dataset.shuffle();
+
+      IDataset<?, ?, ?> appendedDataset = parser.parseAppendingTo(dataset, new DatasetFile(createSupplement(SUPPLEMENT_RATINGS)));
+      assertSame(dataset, appendedDataset);
+      assertEquals(numberOfInstances + 3, dataset.getNumberOfInstances());
+      assertEquals(6, dataset.getNumberOfContexts());
+      validateSimpleDataset(dataset);
+      assertEquals(2, dataset.getRating(5, 0), TestUtils.DOUBLE_DELTA);
+      assertEquals(3, dataset.getRating(5, 3), TestUtils.DOUBLE_DELTA);
+      assertEquals(4, dataset.getRating(5, 2), TestUtils.DOUBLE_DELTA);
+      assertEquals(2, dataset.getColumnView(2).getNumberOfNonZeroEntries());
+
+      int[] shuffledPositions = dataset.getShuffledPositions(0, dataset.getNumberOfInstances());
+      Arrays.sort(shuffledPositions);
+      for (int i = 0; i < shuffledPositions.length; i++) {
+         assertEquals(i, shuffledPositions[i]);
+      }
+   }
+
+
+   /**
+    * Tests whether appending to a dataset, which is shared by the {@link ParsedDatasetCache}, is
+    * rejected without changing the dataset.
+    * 
+    * @throws ParsingFailedException if the dataset cannot be parsed
+    * @throws IOException if the supplement cannot be written
+    */
+   @Test
+   public void testAppendToCachedDatasetIsRejected() throws ParsingFailedException, IOException {
+      ParsedDatasetCache cache = ParsedDatasetCache.getParsedDatasetCache();
+      cache.clear();
+      CollaborativeFilteringParser parser = new CollaborativeFilteringParser();
+      CollaborativeFilteringDataset dataset = (CollaborativeFilteringDataset) cache.parse(parser,
+            new DatasetFile(new File(getTestRessourcePathFor(SIMPLE_DATASET_GPRF))));
+      int numberOfInstances = dataset.getNumberOfInstances();
+      try {
+         parser.parseAppendingTo(dataset, new DatasetFile(createSupplement(SUPPLEMENT_RATINGS)));
+         fail("A dataset shared by the parsed dataset cache was appended to.");
+      } catch (IllegalArgumentException e) {
+         assertEquals(numberOfInstances, dataset.getNumberOfInstances());
+      } finally {
+         cache.clear();
+      }
+   }
+
+
+   /**
+    * Tests whether a supplement, which cannot be parsed completely, leaves the dataset unchanged,
+    * although its first lines are valid, and whether a valid supplement can be appended afterwards.
+    * 
+    * @throws ParsingFailedException if the dataset or the valid supplement cannot be parsed
+    * @throws IOException if the supplement cannot be written
+    */
+   @Test
+   public void testFailedAppendLeavesDatasetUnchanged() throws ParsingFailedException, IOException {
+      CollaborativeFilteringParser parser = new CollaborativeFilteringParser();
+      CollaborativeFilteringDataset dataset = (CollaborativeFilteringDataset) parser
+            .parse(new DatasetFile(new File(getTestRessourcePathFor(SIMPLE_DATASET_GPRF))));
+      int numberOfInstances = dataset.getNumberOfInstances();
+      int numberOfContexts = dataset.getNumberOfContexts();
+      try {
+         parser.parseAppendingTo(dataset, new DatasetFile(createSupplement(INVALID_SUPPLEMENT_RATINGS)));
+         fail("A supplement containing an invalid rating was appended.");
+      } catch (ParsingFailedException e) {
+         assertEquals(numberOfInstances, dataset.getNumberOfInstances());
+         assertEquals(numberOfContexts, dataset.getNumberOfContexts());
+         validateSimpleDataset(dataset);
+      }
+
+      parser.parseAppendingTo(dataset, new DatasetFile(createSupplement(SUPPLEMENT_RATINGS)));
+      assertEquals(numberOfInstances + 3, dataset.getNumberOfInstances());
+      assertEquals(numberOfContexts + 1, dataset.getNumberOfContexts());
+   }
+
+
+   /**
+    * Writes a supplement for the simple dataset with the given ratings into a temporary file.
+    * 
+    * @param ratings the content of the rating file of the supplement
+    * @return the temporary file containing the supplement
+    * @throws IOException if the supplement cannot be written
+    */
+   private File createSupplement(String ratings) throws IOException {
+      File file = File.createTempFile("supplement", ".gprf");
+      file.deleteOnExit();
+      try (ZipOutputStream zipStream = new ZipOutputStream(new FileOutputStream(file))) {
+         zipStream.putNextEntry(new ZipEntry("context.data"));
+         zipStream.write(SUPPLEMENT_CONTEXTS.getBytes(StandardCharsets.UTF_8));
+         zipStream.putNextEntry(new ZipEntry("rating.data"));
+         zipStream.write(ratings.getBytes(StandardCharsets.UTF_8));
+      }
+      return file;
+   }
+
+
    /**
     * Validate the parsed Movielens dataset.
     * 
@@ -8,6 +8,7 @@ import de.upb.cs.is.jpl.api.dataset.defaultdataset.absolute.DefaultAbsoluteDatas
 import de.upb.cs.is.jpl.api.dataset.defaultdataset.absolute.DefaultAbsoluteDatasetTest;
 import de.upb.cs.is.jpl.api.dataset.defaultdataset.relative.DefaultRelativeDatasetParserTest;
 import de.upb.cs.is.jpl.api.dataset.defaultdataset.relative.DefaultRelativeDatasetTest;
+import de.upb.cs.is.jpl.api.dataset.defaultdataset.relative.PackedRankingListTest;
 import de.upb.cs.is.jpl.api.dataset.defaultdataset.relative.RankingUnitTest;
 
 
@@ -20,7 +21,7 @@ import de.upb.cs.is.jpl.api.dataset.defaultdataset.relative.RankingUnitTest;
 
 @RunWith(Suite.class)
 @Suite.SuiteClasses({ DefaultRelativeDatasetParserTest.class, DefaultAbsoluteDatasetParserTest.class, DefaultAbsoluteDatasetTest.class,
-      DefaultRelativeDatasetTest.class, RankingUnitTest.class })
+      DefaultRelativeDatasetTest.class, RankingUnitTest.class, PackedRankingListTest.class })
 public class DefaultDatasetTestSuite {
 
 }
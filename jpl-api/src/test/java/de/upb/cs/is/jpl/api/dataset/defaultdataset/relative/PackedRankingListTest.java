@@ -0,0 +1,137 @@
+package de.upb.cs.is.jpl.api.dataset.defaultdataset.relative;
+
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+
+/**
+ * Test the {@link PackedRankingList} class and its methods.
+ *
+ * @author agent
+ *
+ */
+public class PackedRankingListTest {
+
+   private static final int NUMBER_OF_RANKINGS = 100;
+
+
+   /**
+    * Tests whether the packed rankings equal the original rankings, including concatenated compare
+    * operators, objects which do not fit into a short and {@code null}.
+    */
+   @Test
+   public void testPackedRankingsEqualOriginalRankings() {
+      List<Ranking> rankings = new ArrayList<>();
+      for (int i = 0; i < NUMBER_OF_RANKINGS; i++) {
+         rankings.add(new Ranking(new int[] { i % 3, (i + 1) % 3, (i + 2) % 3 },
+               new int[] { Ranking.COMPARABLE_ENCODING, Ranking.EQUALS_ENCODING }));
+      }
+      rankings.add(new Ranking(new int[] { 1, 2, 3 }, new int[] { Ranking.OPENING_BRACKETS_ENCODING, Ranking.NOT_COMPARABLE_ENCODING,
+            Ranking.CLOSING_BRACKETS_ENCODING * 10 + Ranking.COMPARABLE_ENCODING }));
+      rankings.add(null);
+      rankings.add(new Ranking(new int[] { Integer.MAX_VALUE, -1 }, new int[] { Ranking.COMPARABLE_ENCODING }));
+
+      PackedRankingList packedRankings = new PackedRankingList(rankings);
+
+      assertEquals(rankings.size(), packedRankings.size());
+      for (int i = 0; i < rankings.size(); i++) {
+         Ranking ranking = rankings.get(i);
+         if (ranking == null) {
+            assertNull(packedRankings.get(i));
+         } else {
+            assertEquals(ranking, packedRankings.get(i));
+            assertEquals(ranking.hashCode(), packedRankings.get(i).hashCode());
+            assertEquals(ranking.toString(), packedRankings.get(i).toString());
+            assertArrayEquals(ranking.getCompareOperators(), packedRankings.getCompareOperators(i));
+            assertEquals(ranking.getNumberOfItems(), packedRankings.getNumberOfObjects(i));
+            for (int position = 0; position < ranking.getNumberOfItems(); position++) {
+               assertEquals(ranking.getObjectList()[position], packedRankings.getObject(i, position));
+               assertEquals(ranking.getObjectAt(position), packedRankings.get(i).getObjectAt(position));
+            }
+            assertEquals(ranking.getNumberOfCompareOperators(), packedRankings.get(i).getNumberOfCompareOperators());
+            for (int position = 0; position < ranking.getNumberOfCompareOperators(); position++) {
+               assertEquals(ranking.getCompareOperatorAt(position), packedRankings.get(i).getCompareOperatorAt(position));
+            }
+         }
+      }
+      assertEquals(rankings, packedRankings);
+   }
+
+
+   /**
+    * Tests whether the precomputed orderings equal the orderings computed by the {@link Ranking},
+    * and whether they are updated when a ranking is added.
+    */
+   @Test
+   public void testOrderings() {
+      PackedRankingList packedRankings = new PackedRankingList();
+      Ranking first = new Ranking(new int[] { 2, 0, 1 }, Ranking.createCompareOperatorArrayForLabels(new int[3]));
+      packedRankings.add(first);
+
+      assertArrayEquals(first.getOrderingForRanking(), packedRankings.get(0).getOrderingForRanking());
+      assertEquals(0, packedRankings.getPositionOfObject(0, 2));
+      assertEquals(2, packedRankings.getPositionOfObject(0, 1));
+
+      Ranking second = new Ranking(new int[] { 3, 1 }, Ranking.createCompareOperatorArrayForLabels(new int[2]));
+      Ranking third = new Ranking(new int[] { 1, 3, 0, 2 }, Ranking.createCompareOperatorArrayForLabels(new int[4]));
+      packedRankings.addAll(Arrays.asList(second, third));
+
+      assertTrue(packedRankings.hasOrdering(0));
+      assertFalse(packedRankings.hasOrdering(1));
+      assertArrayEquals(third.getOrderingForRanking(), packedRankings.getOrdering(2));
+      try {
+         packedRankings.getOrdering(1);
+         fail();
+      } catch (IllegalArgumentException e) {
+         // expected
+      }
+   }
+
+
+   /**
+    * Tests whether a ranking containing an object more than once has no ordering, although all its
+    * objects are in range.
+    */
+   @Test
+   public void testDuplicateObjectsHaveNoOrdering() {
+      PackedRankingList packedRankings = new PackedRankingList();
+      packedRankings.add(new Ranking(new int[] { 0, 0, 2 }, Ranking.createCompareOperatorArrayForLabels(new int[3])));
+      packedRankings.add(new Ranking(new int[] { 1, 2, 0 }, Ranking.createCompareOperatorArrayForLabels(new int[3])));
+
+      assertFalse(packedRankings.hasOrdering(0));
+      assertTrue(packedRankings.hasOrdering(1));
+      try {
+         packedRankings.getPositionOfObject(0, 1);
+         fail();
+      } catch (IllegalArgumentException e) {
+         // expected
+      }
+   }
+
+
+   /**
+    * Tests whether rankings read block-wise equal the rankings added one after another.
+    */
+   @Test
+   public void testFromBlocks() {
+      PackedRankingList packedRankings = PackedRankingList.fromBlocks(new int[] { 2, -1, 3 }, new int[] { 1, -1, 2 },
+            IntBuffer.wrap(new int[] { 0, 1, 2, 1, 0 }), IntBuffer.wrap(new int[] { Ranking.COMPARABLE_ENCODING, 35, 24 }));
+
+      assertEquals(Arrays.asList(new Ranking(new int[] { 0, 1 }, new int[] { Ranking.COMPARABLE_ENCODING }), null,
+            new Ranking(new int[] { 2, 1, 0 }, new int[] { 35, 24 })), packedRankings);
+      assertEquals(packedRankings, PackedRankingList.pack(packedRankings));
+   }
+
+}
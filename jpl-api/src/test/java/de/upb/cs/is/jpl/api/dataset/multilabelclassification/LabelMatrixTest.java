@@ -0,0 +1,130 @@
+package de.upb.cs.is.jpl.api.dataset.multilabelclassification;
+
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import de.upb.cs.is.jpl.api.math.linearalgebra.IVector;
+import de.upb.cs.is.jpl.api.math.linearalgebra.SparseDoubleVector;
+
+
+/**
+ * This class tests the bit-packed {@link LabelMatrix}, whose label vectors span more than a single
+ * word of bits.
+ *
+ * @author agent
+ *
+ */
+public class LabelMatrixTest {
+
+   private static final int NUMBER_OF_LABELS = 70;
+   private static final int[][] LABELS_OF_ROWS = { { 0, 63, 64, 69 }, {}, { 1, 64 }, { 63 }, { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 69 } };
+
+
+   /**
+    * Tests whether the label vectors returned by the matrix equal the added ones.
+    */
+   @Test
+   public void testAddedLabelVectorsAreReturned() {
+      List<SparseDoubleVector> labelVectors = createLabelVectors();
+      LabelMatrix labelMatrix = new LabelMatrix();
+      labelMatrix.addAll(labelVectors);
+
+      assertEquals(NUMBER_OF_LABELS, labelMatrix.getNumberOfLabels());
+      assertEquals(labelVectors.size(), labelMatrix.size());
+      for (int i = 0; i < labelVectors.size(); i++) {
+         assertEquals(labelVectors.get(i), labelMatrix.get(i));
+         assertArrayEquals(LABELS_OF_ROWS[i], labelMatrix.getLabelsOfRow(i));
+         assertEquals(LABELS_OF_ROWS[i].length, labelMatrix.getNumberOfLabelsOfRow(i));
+      }
+      assertEquals(labelVectors, labelMatrix);
+      assertTrue(labelMatrix.isLabelSet(0, 64));
+      assertFalse(labelMatrix.isLabelSet(1, 64));
+   }
+
+
+   /**
+    * Tests whether the columns of the matrix contain the rows labeled with the label, also after
+    * further rows have been added.
+    */
+   @Test
+   public void testColumnsContainLabeledRows() {
+      LabelMatrix labelMatrix = new LabelMatrix(NUMBER_OF_LABELS);
+      labelMatrix.addAll(createLabelVectors());
+      assertArrayEquals(new long[] { 0b10001 }, labelMatrix.getColumn(0));
+      assertEquals(2, labelMatrix.getNumberOfRowsWithLabel(0));
+      assertEquals(2, labelMatrix.getNumberOfRowsWithLabel(64));
+      assertEquals(0, labelMatrix.getNumberOfRowsWithLabel(68));
+
+      labelMatrix.add(new SparseDoubleVector(new int[] { 68 }, new double[] { 1 }, NUMBER_OF_LABELS));
+      assertArrayEquals(new long[] { 0b100000 }, labelMatrix.getColumn(68));
+      assertEquals(1, labelMatrix.getNumberOfRowsWithLabel(68));
+   }
+
+
+   /**
+    * Tests the counts of labels shared by or differing between two matrices.
+    */
+   @Test
+   public void testComparisonOfMatrices() {
+      LabelMatrix labelMatrix = new LabelMatrix();
+      labelMatrix.addAll(createLabelVectors());
+      LabelMatrix reversedLabelMatrix = labelMatrix.getRows(new int[] { 4, 3, 2, 1, 0 });
+
+      assertEquals(labelMatrix.get(4), reversedLabelMatrix.get(0));
+      assertEquals(0, labelMatrix.getNumberOfDifferingLabels(2, reversedLabelMatrix, 2));
+      assertEquals(3, labelMatrix.getNumberOfDifferingLabels(0, reversedLabelMatrix, 1));
+      assertEquals(12, labelMatrix.getNumberOfDifferingLabels(0, reversedLabelMatrix, 0));
+      assertEquals(2, labelMatrix.getNumberOfRowsWithLabelInBoth(reversedLabelMatrix, 0));
+      assertEquals(1, labelMatrix.getNumberOfRowsWithLabelInBoth(reversedLabelMatrix, 64));
+   }
+
+
+   /**
+    * Tests whether label vectors which are not binary are rejected, and whether only label matrices
+    * are returned as label matrix.
+    */
+   @Test
+   public void testNonBinaryLabelVectorsAreRejected() {
+      LabelMatrix labelMatrix = new LabelMatrix(NUMBER_OF_LABELS);
+      try {
+         labelMatrix.add(new SparseDoubleVector(new int[] { 3 }, new double[] { 0.5 }, NUMBER_OF_LABELS));
+         fail("A label vector which is not binary should not be added.");
+      } catch (IllegalArgumentException e) {
+         // expected
+      }
+      assertEquals(0, labelMatrix.size());
+
+      List<IVector> labelVectors = new ArrayList<>(createLabelVectors());
+      assertSame(labelMatrix, LabelMatrix.asLabelMatrix(labelMatrix));
+      assertNull(LabelMatrix.asLabelMatrix(labelVectors));
+   }
+
+
+   /**
+    * Creates the label vectors of the rows {@link #LABELS_OF_ROWS}.
+    *
+    * @return the label vectors
+    */
+   private List<SparseDoubleVector> createLabelVectors() {
+      List<SparseDoubleVector> labelVectors = new ArrayList<>();
+      for (int[] labels : LABELS_OF_ROWS) {
+         double[] values = new double[labels.length];
+         Arrays.fill(values, 1);
+         labelVectors.add(new SparseDoubleVector(labels, values, NUMBER_OF_LABELS));
+      }
+      return labelVectors;
+   }
+
+}
@@ -7,13 +7,15 @@ import org.junit.runners.Suite;
 
 /**
  * This test suite runs all test classes associated with tests of the
- * {@link MultilabelClassificationDataset} and the {@link MultilabelClassificationDatasetParser}.
+ * {@link MultilabelClassificationDataset}, its {@link LabelMatrix} and the
+ * {@link MultilabelClassificationDatasetParser}.
  * 
  * @author Alexander Hetzer
  *
  */
 @RunWith(Suite.class)
-@Suite.SuiteClasses({ MultilabelClassificationDatasetParserTest.class, MultilabelClassificationDatasetTest.class })
+@Suite.SuiteClasses({ MultilabelClassificationDatasetParserTest.class, MultilabelClassificationDatasetTest.class,
+      LabelMatrixTest.class })
 public class MultilabelClassificationDatasetTestSuite {
 
 
@@ -7,6 +7,7 @@ import org.junit.runners.Suite;
 
 import de.upb.cs.is.jpl.api.configuration.logging.LoggingConfiguration;
 import de.upb.cs.is.jpl.api.math.linearalgrbra.LinearAlgebraTestSuite;
+import de.upb.cs.is.jpl.api.math.util.PairwiseMetricUtilsTest;
 
 
 /**
@@ -17,7 +18,7 @@ import de.upb.cs.is.jpl.api.math.linearalgrbra.LinearAlgebraTestSuite;
  */
 
 @RunWith(Suite.class)
-@Suite.SuiteClasses({ LinearAlgebraTestSuite.class })
+@Suite.SuiteClasses({ LinearAlgebraTestSuite.class, PairwiseMetricUtilsTest.class })
 public class MathTestSuite {
 
    /**
@@ -0,0 +1,213 @@
+package de.upb.cs.is.jpl.api.math.linearalgrbra;
+
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import de.upb.cs.is.jpl.api.math.linearalgebra.CompressedSparseDoubleMatrix;
+import de.upb.cs.is.jpl.api.math.linearalgebra.DenseDoubleMatrix;
+import de.upb.cs.is.jpl.api.math.linearalgebra.IMatrix;
+import de.upb.cs.is.jpl.api.math.linearalgebra.IVector;
+import de.upb.cs.is.jpl.api.math.linearalgebra.SparseDoubleVectorView;
+import de.upb.cs.is.jpl.api.util.TestUtils;
+
+
+/**
+ * This class tests every method which can be called on the {@link CompressedSparseDoubleMatrix}.
+ *
+ * @author agent
+ */
+public class CompressedSparseDoubleMatrixTest {
+
+   private static final String ERROR_NO_EXCEPTION_THROWN_AFTER_SET_VALUE_ON_IMMUTABLE_MATRIX = "No exception thrown, after setValue() on an immutable matrix";
+   private static final String ERROR_EXPECTED_EXCEPTION_WAS_THROWN_AFTER_SET_VALUE_ON_IMMUTABLE_MATRIX = "Expected exception was thrown, after setValue() on an immutable matrix";
+
+
+   /**
+    * Check if a new matrix can be created from an array and only stores the non-zero entries.
+    */
+   @Test
+   public void testCreateMatrixFromArray() {
+      double[][] data = { { 1.0, 0.0, 2.0 }, { 0.0, 0.0, 0.0 }, { 3.0, 4.0, 0.0 } };
+      CompressedSparseDoubleMatrix matrix = new CompressedSparseDoubleMatrix(data);
+      assertEquals(4, matrix.getNumberOfNonZeroEntries());
+      assertMatrixEqualsArray(data, matrix);
+
+      IMatrix copiedMatrix = matrix.createCopy();
+      assertMatrixEqualsArray(data, copiedMatrix);
+   }
+
+
+   /**
+    * Check if the builder handles entries set in arbitrary order, entries set several times and
+    * zero entries correctly.
+    */
+   @Test
+   public void testBuilder() {
+      CompressedSparseDoubleMatrix.Builder builder = new CompressedSparseDoubleMatrix.Builder(2, 3);
+      builder.setValue(1, 2, 5.0);
+      builder.setValue(0, 1, 1.0);
+      builder.setValue(1, 0, 7.0);
+      builder.setValue(0, 1, 2.0);
+      builder.setValue(1, 0, 0.0);
+      CompressedSparseDoubleMatrix matrix = builder.build();
+
+      double[][] expected = { { 0.0, 2.0, 0.0 }, { 0.0, 0.0, 5.0 } };
+      assertEquals(2, matrix.getNumberOfNonZeroEntries());
+      assertMatrixEqualsArray(expected, matrix);
+   }
+
+
+   /**
+    * Check if merging an update replaces and supplements the entries of a matrix, grows its
+    * dimensions, and reports the new positions of the existing entries.
+    */
+   @Test
+   public void testMergeWith() {
+      double[][] data = { { 1.0, 0.0, 2.0 }, { 0.0, 3.0, 0.0 } };
+      double[][] updateData = { { 0.0, 5.0, 7.0, 0.0 }, { 0.0, 0.0, 0.0, 0.0 }, { 1.0, 0.0, 0.0, 3.0 } };
+      CompressedSparseDoubleMatrix matrix = new CompressedSparseDoubleMatrix(data);
+      int[] newPositions = new int[matrix.getNumberOfNonZeroEntries()];
+      CompressedSparseDoubleMatrix mergedMatrix = matrix.mergeWith(new CompressedSparseDoubleMatrix(updateData), newPositions);
+
+      double[][] expected = { { 1.0, 5.0, 7.0, 0.0 }, { 0.0, 3.0, 0.0, 0.0 }, { 1.0, 0.0, 0.0, 3.0 } };
+      assertEquals(6, mergedMatrix.getNumberOfNonZeroEntries());
+      assertMatrixEqualsArray(expected, mergedMatrix);
+      assertMatrixEqualsArray(data, matrix);
+      assertArrayEquals(new int[] { 0, 2, 3 }, newPositions);
+      assertEquals(5.0, mergedMatrix.getColumnView(1).getValue(0), TestUtils.DOUBLE_DELTA);
+      assertEquals(3.0, mergedMatrix.getColumnView(1).getValue(1), TestUtils.DOUBLE_DELTA);
+   }
+
+
+   /**
+    * Test if row and column access as well as the according views work correctly.
+    */
+   @Test
+   public void testRowAndColumnAccess() {
+      double[][] data = { { 1.0, 0.0, 2.0 }, { 0.0, 0.0, 0.0 }, { 3.0, 4.0, 0.0 } };
+      CompressedSparseDoubleMatrix matrix = new CompressedSparseDoubleMatrix(data);
+
+      assertArrayEquals(data[2], matrix.getRowVector(2).asArray(), TestUtils.DOUBLE_DELTA);
+      assertArrayEquals(new double[] { 1.0, 0.0, 3.0 }, matrix.getColumnVector(0).asArray(), TestUtils.DOUBLE_DELTA);
+      assertEquals(0, matrix.getNumberOfNonZeroEntriesInRow(1));
+      assertEquals(1, matrix.getNumberOfNonZeroEntriesInColumn(2));
+
+      SparseDoubleVectorView rowView = matrix.getRowView(0);
+      assertEquals(2, rowView.getNumberOfNonZeroEntries());
+      assertArrayEquals(new int[] { 0, 2 }, rowView.getNonZeroIndices());
+      assertEquals(2.0, rowView.getValue(2), TestUtils.DOUBLE_DELTA);
+      assertEquals(0.0, rowView.getValue(1), TestUtils.DOUBLE_DELTA);
+      assertEquals(7.0, rowView.dotProduct(new double[] { 1.0, 1.0, 3.0 }), TestUtils.DOUBLE_DELTA);
+
+      IVector rowCopy = matrix.getRowVector(0);
+      rowCopy.setValue(1, 9.0);
+      assertEquals(0.0, matrix.getValue(0, 1), TestUtils.DOUBLE_DELTA);
+   }
+
+
+   /**
+    * Test if transposing the matrix works correctly and does not influence copies.
+    */
+   @Test
+   public void testTranspose() {
+      double[][] data = { { 1.0, 0.0, 2.0 }, { 3.0, 4.0, 0.0 } };
+      CompressedSparseDoubleMatrix matrix = new CompressedSparseDoubleMatrix(data);
+      IMatrix copy = matrix.createCopy();
+      matrix.transponse();
+
+      double[][] expected = { { 1.0, 3.0 }, { 0.0, 4.0 }, { 2.0, 0.0 } };
+      assertMatrixEqualsArray(expected, matrix);
+      assertMatrixEqualsArray(data, copy);
+      assertArrayEquals(new double[] { 1.0, 0.0, 2.0 }, matrix.getColumnView(0).asArray(), TestUtils.DOUBLE_DELTA);
+      assertArrayEquals(new double[] { 3.0, 4.0, 0.0 }, matrix.getColumnVector(1).asArray(), TestUtils.DOUBLE_DELTA);
+
+      matrix.transponse();
+      assertMatrixEqualsArray(data, matrix);
+      assertArrayEquals(new double[] { 2.0, 0.0 }, matrix.getColumnView(2).asArray(), TestUtils.DOUBLE_DELTA);
+   }
+
+
+   /**
+    * Test if the row and column of a non-zero entry are found from its position, also if there are
+    * empty rows.
+    */
+   @Test
+   public void testRowAndColumnOfNonZeroEntry() {
+      double[][] data = { { 0.0, 0.0, 0.0 }, { 1.0, 0.0, 2.0 }, { 0.0, 0.0, 0.0 }, { 0.0, 0.0, 0.0 }, { 0.0, 3.0, 0.0 } };
+      CompressedSparseDoubleMatrix matrix = new CompressedSparseDoubleMatrix(data);
+      for (int row = 0; row < data.length; row++) {
+         for (int column = 0; column < data[row].length; column++) {
+            int position = matrix.getPositionOfNonZeroEntry(row, column);
+            if (data[row][column] != 0) {
+               assertEquals(row, matrix.getRowOfNonZeroEntry(position));
+               assertEquals(column, matrix.getColumnOfNonZeroEntry(position));
+            } else {
+               assertTrue(position < 0);
+            }
+         }
+      }
+   }
+
+
+   /**
+    * Test if the multiplication yields the same result as the dense multiplication.
+    */
+   @Test
+   public void testMultiply() {
+      double[][] data = { { 1.0, 0.0, 2.0 }, { 0.0, 3.0, 0.0 } };
+      double[][] multiplierData = { { 1.0, 2.0 }, { 0.0, 1.0 }, { 4.0, 0.0 } };
+
+      CompressedSparseDoubleMatrix matrix = new CompressedSparseDoubleMatrix(data);
+      matrix.multiply(new CompressedSparseDoubleMatrix(multiplierData));
+
+      IMatrix denseMatrix = new DenseDoubleMatrix(data);
+      denseMatrix.multiply(new DenseDoubleMatrix(multiplierData));
+
+      assertEquals(2, matrix.getNumberOfRows());
+      assertEquals(2, matrix.getNumberOfColumns());
+      for (int row = 0; row < 2; row++) {
+         for (int column = 0; column < 2; column++) {
+            assertEquals(denseMatrix.getValue(row, column), matrix.getValue(row, column), TestUtils.DOUBLE_DELTA);
+         }
+      }
+      assertEquals(denseMatrix.getFrobeniusNorm(), matrix.getFrobeniusNorm(), TestUtils.DOUBLE_DELTA);
+   }
+
+
+   /**
+    * Ensure that the matrix cannot be changed.
+    */
+   @Test
+   public void testSetValueIsNotSupported() {
+      double[][] data = { { 1.0, 1.0 }, { 1.0, 1.0 } };
+      IMatrix matrix = new CompressedSparseDoubleMatrix(data);
+      try {
+         matrix.setValue(0, 0, 42.0);
+         assertTrue(ERROR_NO_EXCEPTION_THROWN_AFTER_SET_VALUE_ON_IMMUTABLE_MATRIX, false);
+      } catch (UnsupportedOperationException e) {
+         assertTrue(ERROR_EXPECTED_EXCEPTION_WAS_THROWN_AFTER_SET_VALUE_ON_IMMUTABLE_MATRIX, true);
+      }
+   }
+
+
+   /**
+    * Asserts that the given matrix contains exactly the values of the given array.
+    *
+    * @param expected the expected values
+    * @param matrix the matrix to check
+    */
+   private void assertMatrixEqualsArray(double[][] expected, IMatrix matrix) {
+      assertEquals(expected.length, matrix.getNumberOfRows());
+      assertEquals(expected[0].length, matrix.getNumberOfColumns());
+      for (int row = 0; row < expected.length; row++) {
+         for (int column = 0; column < expected[row].length; column++) {
+            assertEquals(expected[row][column], matrix.getValue(row, column), TestUtils.DOUBLE_DELTA);
+         }
+      }
+   }
+
+}
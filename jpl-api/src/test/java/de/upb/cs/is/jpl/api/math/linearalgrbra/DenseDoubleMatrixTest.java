@@ -1,7 +1,10 @@
 package de.upb.cs.is.jpl.api.math.linearalgrbra;
 
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -9,10 +12,12 @@ import org.junit.Test;
 import de.upb.cs.is.jpl.api.configuration.logging.LoggingConfiguration;
 import de.upb.cs.is.jpl.api.exception.math.MatrixDecompositionException;
 import de.upb.cs.is.jpl.api.math.linearalgebra.DenseDoubleMatrix;
+import de.upb.cs.is.jpl.api.math.linearalgebra.DenseDoubleVector;
 import de.upb.cs.is.jpl.api.math.linearalgebra.IMatrix;
 import de.upb.cs.is.jpl.api.math.linearalgebra.IVector;
 import de.upb.cs.is.jpl.api.util.TestUtils;
 import de.upb.cs.is.jpl.api.util.datastructure.Pair;
+import de.upb.cs.is.jpl.api.util.datastructure.Triple;
 
 
 /**
@@ -142,4 +147,259 @@ public class DenseDoubleMatrixTest {
       assertEquals(2.0, solutionMatrix.getValue(1), TestUtils.DOUBLE_DELTA);
 
    }
+
+
+   /**
+    * Tests whether the blocked parallel multiplication yields the same result as the naive
+    * multiplication and whether the result matrix can be reused for several products.
+    */
+   @Test
+   public void testMultiplyIntoResultMatrix() {
+      int numberOfRows = 300;
+      int innerDimension = 70;
+      int numberOfColumns = 5;
+      double[][] left = new double[numberOfRows][innerDimension];
+      double[][] right = new double[innerDimension][numberOfColumns];
+      for (int i = 0; i < numberOfRows; i++) {
+         for (int j = 0; j < innerDimension; j++) {
+            left[i][j] = (i * 7 + j * 3) % 11 - 5;
+         }
+      }
+      for (int i = 0; i < innerDimension; i++) {
+         for (int j = 0; j < numberOfColumns; j++) {
+            right[i][j] = (i + 2 * j) % 5 - 2;
+         }
+      }
+
+      DenseDoubleMatrix leftMatrix = new DenseDoubleMatrix(left);
+      DenseDoubleMatrix result = new DenseDoubleMatrix(numberOfRows, numberOfColumns);
+      result.setValue(0, 0, 42);
+      for (int repetition = 0; repetition < 2; repetition++) {
+         leftMatrix.multiply(new DenseDoubleMatrix(right), result);
+         for (int i = 0; i < numberOfRows; i++) {
+            for (int j = 0; j < numberOfColumns; j++) {
+               double expected = 0;
+               for (int k = 0; k < innerDimension; k++) {
+                  expected += left[i][k] * right[k][j];
+               }
+               assertEquals(expected, result.getValue(i, j), TestUtils.DOUBLE_DELTA);
+            }
+         }
+      }
+      assertEquals(innerDimension, leftMatrix.getNumberOfColumns());
+
+      leftMatrix.multiply(new DenseDoubleMatrix(right));
+      for (int i = 0; i < numberOfRows; i++) {
+         for (int j = 0; j < numberOfColumns; j++) {
+            assertEquals(result.getValue(i, j), leftMatrix.getValue(i, j), TestUtils.DOUBLE_DELTA);
+         }
+      }
+   }
+
+
+   /**
+    * Tests whether a product with a long inner dimension and a small result, which is computed in
+    * chunks of the inner dimension, yields the same result as the naive multiplication and the
+    * same result when it is repeated.
+    */
+   @Test
+   public void testMultiplyWithLongInnerDimension() {
+      int numberOfRows = 6;
+      int innerDimension = 20000;
+      int numberOfColumns = 3;
+      double[][] left = new double[numberOfRows][innerDimension];
+      double[][] right = new double[innerDimension][numberOfColumns];
+      for (int k = 0; k < innerDimension; k++) {
+         for (int i = 0; i < numberOfRows; i++) {
+            left[i][k] = (i * 5 + k * 3) % 7 - 3;
+         }
+         for (int j = 0; j < numberOfColumns; j++) {
+            right[k][j] = (k + j) % 4 - 1.5;
+         }
+      }
+
+      DenseDoubleMatrix leftMatrix = new DenseDoubleMatrix(left);
+      DenseDoubleMatrix result = new DenseDoubleMatrix(numberOfRows, numberOfColumns);
+      DenseDoubleMatrix repeatedResult = new DenseDoubleMatrix(numberOfRows, numberOfColumns);
+      leftMatrix.multiply(new DenseDoubleMatrix(right), result);
+      leftMatrix.multiply(new DenseDoubleMatrix(right), repeatedResult);
+      for (int i = 0; i < numberOfRows; i++) {
+         for (int j = 0; j < numberOfColumns; j++) {
+            double expected = 0;
+            for (int k = 0; k < innerDimension; k++) {
+               expected += left[i][k] * right[k][j];
+            }
+            assertEquals(expected, result.getValue(i, j), TestUtils.DOUBLE_DELTA);
+            assertEquals(Double.doubleToLongBits(result.getValue(i, j)), Double.doubleToLongBits(repeatedResult.getValue(i, j)));
+         }
+      }
+   }
+
+
+   /**
+    * Tests whether {@link Double#NaN} and infinite values are propagated by the multiplication,
+    * also if they are multiplied by {@code 0}.
+    */
+   @Test
+   public void testMultiplyPropagatesNaNAndInfinity() {
+      double[][] left = { { Double.NaN, 1.0 }, { Double.POSITIVE_INFINITY, 2.0 } };
+      double[][] right = { { 0.0 }, { 3.0 } };
+      DenseDoubleMatrix product = new DenseDoubleMatrix(left).multiply(new DenseDoubleMatrix(right), new DenseDoubleMatrix(2, 1));
+      assertTrue(Double.isNaN(product.getValue(0, 0)));
+      assertTrue(Double.isNaN(product.getValue(1, 0)));
+   }
+
+
+   /**
+    * Tests whether the Cholesky and the LDL decomposition of a symmetric positive definite matrix
+    * reproduce the matrix.
+    */
+   @Test
+   public void testCholeskyAndLDLDecompositionMethod() throws MatrixDecompositionException {
+      double[][] data = { { 4.0, 12.0, -16.0 }, { 12.0, 37.0, -43.0 }, { -16.0, -43.0, 98.0 } };
+      IMatrix matrix = new DenseDoubleMatrix(data);
+
+      IMatrix lMatrix = matrix.getCholeskyDecomposition();
+      double[][] expectedL = { { 2.0, 0.0, 0.0 }, { 6.0, 1.0, 0.0 }, { -8.0, 5.0, 3.0 } };
+      assertMatrixEquals(expectedL, lMatrix);
+
+      Pair<IMatrix, IVector> ldl = matrix.getLDLDecomposition();
+      double[][] expectedUnitL = { { 1.0, 0.0, 0.0 }, { 3.0, 1.0, 0.0 }, { -4.0, 5.0, 1.0 } };
+      assertMatrixEquals(expectedUnitL, ldl.getFirst());
+      assertArrayEquals(new double[] { 4.0, 1.0, 9.0 }, ldl.getSecond().asArray(), TestUtils.DOUBLE_DELTA);
+
+      // the matrix itself must not be changed
+      assertMatrixEquals(data, matrix);
+
+      DenseDoubleMatrix notPositiveDefinite = new DenseDoubleMatrix(new double[][] { { 1.0, 2.0 }, { 2.0, 1.0 } });
+      try {
+         notPositiveDefinite.decomposeCholeskyInPlace();
+         fail();
+      } catch (MatrixDecompositionException e) {
+         // expected
+      }
+   }
+
+
+   /**
+    * Tests whether the LU decomposition satisfies P * A = L * U.
+    */
+   @Test
+   public void testLUDecompositionMethod() throws MatrixDecompositionException {
+      double[][] data = { { 1.0, 2.0, 3.0 }, { 4.0, 5.0, 6.0 }, { 7.0, 8.0, 10.0 } };
+      Triple<IMatrix, IMatrix, IMatrix> lu = new DenseDoubleMatrix(data).getLUDecomposition();
+
+      IMatrix left = lu.getFirst().createCopy();
+      left.multiply(new DenseDoubleMatrix(data));
+      IMatrix right = lu.getSecond().createCopy();
+      right.multiply(lu.getThird());
+      for (int i = 0; i < data.length; i++) {
+         for (int j = 0; j < data.length; j++) {
+            assertEquals(left.getValue(i, j), right.getValue(i, j), TestUtils.DOUBLE_DELTA);
+            if (j > i) {
+               assertEquals(0.0, lu.getSecond().getValue(i, j), TestUtils.DOUBLE_DELTA);
+            } else if (j < i) {
+               assertEquals(0.0, lu.getThird().getValue(i, j), TestUtils.DOUBLE_DELTA);
+            }
+         }
+      }
+   }
+
+
+   /**
+    * Tests whether the eigendecomposition of a symmetric matrix yields the correct eigenvalues and
+    * eigenvectors.
+    */
+   @Test
+   public void testSymmetricEigenDecompositionMethod() throws MatrixDecompositionException {
+      double[][] data = { { 2.0, 1.0 }, { 1.0, 2.0 } };
+      IMatrix matrix = new DenseDoubleMatrix(data);
+      Pair<IVector, IMatrix> eigen = matrix.getSymmetricEigenDecomposition();
+
+      assertArrayEquals(new double[] { 1.0, 3.0 }, eigen.getFirst().asArray(), TestUtils.DOUBLE_DELTA);
+      for (int k = 0; k < 2; k++) {
+         IVector eigenvector = eigen.getSecond().getColumnVector(k);
+         for (int i = 0; i < 2; i++) {
+            double product = matrix.getRowVector(i).dotProduct(eigenvector);
+            assertEquals(eigen.getFirst().getValue(k) * eigenvector.getValue(i), product, TestUtils.DOUBLE_DELTA);
+         }
+      }
+   }
+
+
+   /**
+    * Tests whether repeated direct solves work and changes to the matrix are taken into account.
+    */
+   @Test
+   public void testRepeatedSolveMethod() {
+      double[][] data = { { 4.0, 1.0 }, { 2.0, 3.0 } };
+      IMatrix matrix = new DenseDoubleMatrix(data);
+
+      IVector solution = matrix.solve(new DenseDoubleVector(new double[] { 1.0, 2.0 }));
+      assertArrayEquals(new double[] { 0.1, 0.6 }, solution.asArray(), TestUtils.DOUBLE_DELTA);
+      solution = matrix.solve(new DenseDoubleVector(new double[] { 5.0, 5.0 }));
+      assertArrayEquals(new double[] { 1.0, 1.0 }, solution.asArray(), TestUtils.DOUBLE_DELTA);
+
+      matrix.setValue(1, 0, 0.0);
+      solution = matrix.solve(new DenseDoubleVector(new double[] { 5.0, 3.0 }));
+      assertArrayEquals(new double[] { 1.0, 1.0 }, solution.asArray(), TestUtils.DOUBLE_DELTA);
+   }
+
+
+   /**
+    * Tests whether a solve takes into account that the matrix has been overwritten by a product.
+    */
+   @Test
+   public void testSolveAfterMultiplyIntoMatrix() {
+      DenseDoubleMatrix result = new DenseDoubleMatrix(new double[][] { { 4.0, 1.0 }, { 2.0, 3.0 } });
+      IVector solution = result.solve(new DenseDoubleVector(new double[] { 5.0, 5.0 }));
+      assertArrayEquals(new double[] { 1.0, 1.0 }, solution.asArray(), TestUtils.DOUBLE_DELTA);
+
+      DenseDoubleMatrix diagonal = new DenseDoubleMatrix(new double[][] { { 2.0, 0.0 }, { 0.0, 4.0 } });
+      DenseDoubleMatrix identity = new DenseDoubleMatrix(new double[][] { { 1.0, 0.0 }, { 0.0, 1.0 } });
+      diagonal.multiply(identity, result);
+      solution = result.solve(new DenseDoubleVector(new double[] { 1.0, 1.0 }));
+      assertArrayEquals(new double[] { 0.5, 0.25 }, solution.asArray(), TestUtils.DOUBLE_DELTA);
+   }
+
+
+   /**
+    * Tests whether row and column views read and write through to the matrix.
+    */
+   @Test
+   public void testRowAndColumnViews() {
+      double[][] data = { { 1.0, 2.0, 3.0 }, { 4.0, 5.0, 6.0 } };
+      DenseDoubleMatrix matrix = new DenseDoubleMatrix(data);
+
+      IVector rowView = matrix.getRowView(1);
+      IVector columnView = matrix.getColumnView(2);
+      assertArrayEquals(data[1], rowView.asArray(), TestUtils.DOUBLE_DELTA);
+      assertArrayEquals(new double[] { 3.0, 6.0 }, columnView.asArray(), TestUtils.DOUBLE_DELTA);
+      assertEquals(32.0, rowView.dotProduct(new double[] { 1.0, 2.0, 3.0 }), TestUtils.DOUBLE_DELTA);
+
+      rowView.setValue(0, 7.0);
+      columnView.multiplyByConstant(2.0);
+      double[][] expected = { { 1.0, 2.0, 6.0 }, { 7.0, 5.0, 12.0 } };
+      assertMatrixEquals(expected, matrix);
+      assertEquals(12.0, rowView.getValue(2), TestUtils.DOUBLE_DELTA);
+
+      IVector copy = rowView.duplicate();
+      copy.setValue(1, 0.0);
+      assertEquals(5.0, matrix.getValue(1, 1), TestUtils.DOUBLE_DELTA);
+   }
+
+
+   /**
+    * Asserts that the given matrix contains exactly the values of the given array.
+    *
+    * @param expected the expected values
+    * @param matrix the matrix to check
+    */
+   private void assertMatrixEquals(double[][] expected, IMatrix matrix) {
+      for (int row = 0; row < expected.length; row++) {
+         for (int column = 0; column < expected[row].length; column++) {
+            assertEquals(expected[row][column], matrix.getValue(row, column), TestUtils.DOUBLE_DELTA);
+         }
+      }
+   }
 }
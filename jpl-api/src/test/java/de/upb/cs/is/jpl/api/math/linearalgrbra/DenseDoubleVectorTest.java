@@ -4,6 +4,7 @@ package de.upb.cs.is.jpl.api.math.linearalgrbra;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.fail;
 
 import org.junit.Test;
 
@@ -495,6 +496,115 @@ public class DenseDoubleVectorTest {
    }
 
 
+   /**
+    * Tests whether a scaled vector can be directly added to a vector.
+    */
+   @Test
+   public void testAddScaledVector() {
+      double[] data = { 2, 2 };
+      double[] toAddData = { 1, 1 };
+      IVector toAdd = new DenseDoubleVector(toAddData);
+      IVector vector = new DenseDoubleVector(data);
+      vector.addScaledVector(2, toAdd);
+
+      assertResultVectorIs4(vector);
+   }
+
+
+   /**
+    * Tests whether a scaled array can be directly added to a vector.
+    */
+   @Test
+   public void testAddScaledVectorFromArray() {
+      double[] data = { 2, 2 };
+      double[] toAddData = { 1, 1 };
+      IVector vector = new DenseDoubleVector(data);
+      vector.addScaledVector(2, toAddData);
+
+      assertResultVectorIs4(vector);
+   }
+
+
+   /**
+    * Tests whether a vector can be directly multiplied by a constant and be added a scaled vector.
+    */
+   @Test
+   public void testMultiplyByConstantAndAddScaledVector() {
+      double[] data = { 1, 1 };
+      double[] toAddData = { 1, 1 };
+      IVector toAdd = new DenseDoubleVector(toAddData);
+      IVector vector = new DenseDoubleVector(data);
+      vector.multiplyByConstantAndAddScaledVector(2, 2, toAdd);
+
+      assertResultVectorIs4(vector);
+   }
+
+
+   /**
+    * Tests whether a scaled pairwise product of two vectors can be directly added to a vector.
+    */
+   @Test
+   public void testAddScaledPairwiseProduct() {
+      double[] data = { 2, 2 };
+      double[] factorData = { 1, 1 };
+      IVector factor = new DenseDoubleVector(factorData);
+      IVector vector = new DenseDoubleVector(data);
+      vector.addScaledPairwiseProduct(2, factor, factor);
+
+      assertResultVectorIs4(vector);
+   }
+
+
+   /**
+    * Tests whether the dot product with an offset into an array works.
+    */
+   @Test
+   public void testDotProductWithOffset() {
+      double[] vectorData = { 4, 1 };
+      IVector vector = new DenseDoubleVector(vectorData);
+
+      double[] array = { 7, 7, 2, 2 };
+
+      assertEquals(10, vector.dotProduct(array, 2), DOUBLE_COMPARISON_DELTA);
+   }
+
+
+   /**
+    * Tests whether element-wise operations on vectors or arrays of another length are rejected.
+    */
+   @Test
+   public void testOperationsOnUnequalLengthsAreRejected() {
+      IVector vector = new DenseDoubleVector(new double[] { 2, 2 });
+      IVector longerVector = new DenseDoubleVector(new double[] { 1, 1, 1 });
+      double[] shorterArray = { 1 };
+
+      assertRejected(() -> vector.addVector(longerVector));
+      assertRejected(() -> vector.subtractVector(shorterArray));
+      assertRejected(() -> vector.multiplyByVectorPairwise(shorterArray));
+      assertRejected(() -> vector.dotProduct(longerVector));
+      assertRejected(() -> vector.dotProduct(longerVector.asArray()));
+      assertRejected(() -> vector.dotProduct(shorterArray, 0));
+      assertRejected(() -> vector.addScaledVector(2, longerVector));
+      assertRejected(() -> vector.addScaledPairwiseProduct(2, vector, longerVector));
+      assertArrayEquals(new double[] { 2, 2 }, vector.asArray(), DOUBLE_COMPARISON_DELTA);
+   }
+
+
+   /**
+    * Asserts that the given operation throws an {@link IllegalArgumentException}.
+    * 
+    * @param operation the operation to run
+    */
+   private void assertRejected(Runnable operation) {
+      try {
+         operation.run();
+         fail("An operation on vectors of unequal length should be rejected.");
+      } catch (IllegalArgumentException e) {
+         // expected
+      }
+   }
+
+
    /**
     * Asserts that the given vector is a (4,4) vector.
     * 
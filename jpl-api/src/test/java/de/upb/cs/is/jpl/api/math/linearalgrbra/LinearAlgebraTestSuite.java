@@ -13,7 +13,8 @@ import org.junit.runners.Suite;
  */
 
 @RunWith(Suite.class)
-@Suite.SuiteClasses({ DenseDoubleVectorTest.class, DenseDoubleMatrixTest.class, SparseDoubleVectorTest.class, SparseDoubleMatrixTest.class })
+@Suite.SuiteClasses({ DenseDoubleVectorTest.class, DenseDoubleMatrixTest.class, SparseDoubleVectorTest.class, SparseDoubleMatrixTest.class,
+      CompressedSparseDoubleMatrixTest.class, MappedDoubleMatrixTest.class })
 public class LinearAlgebraTestSuite {
 
 }
@@ -0,0 +1,119 @@
+package de.upb.cs.is.jpl.api.math.linearalgrbra;
+
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Test;
+
+import de.upb.cs.is.jpl.api.math.linearalgebra.DenseDoubleMatrix;
+import de.upb.cs.is.jpl.api.math.linearalgebra.IMatrix;
+import de.upb.cs.is.jpl.api.math.linearalgebra.MappedDoubleMatrix;
+import de.upb.cs.is.jpl.api.util.TestUtils;
+
+
+/**
+ * This class tests every method which can be called on the {@link MappedDoubleMatrix}.
+ *
+ * @author agent
+ */
+public class MappedDoubleMatrixTest {
+
+   private static final String ERROR_NO_EXCEPTION_THROWN_AFTER_SET_VALUE_ON_READ_ONLY_MATRIX = "No exception thrown, after setValue() on a read-only matrix";
+   private static final String ERROR_EXPECTED_EXCEPTION_WAS_THROWN_AFTER_SET_VALUE_ON_READ_ONLY_MATRIX = "Expected exception was thrown, after setValue() on a read-only matrix";
+
+   private static final double[][] DATA = { { 1.0, 0.0, 2.0 }, { -3.0, 4.5, 0.0 } };
+
+
+   /**
+    * Check if a matrix written to a file can be mapped again and contains the same values.
+    * 
+    * @throws IOException if the matrix file cannot be written or read
+    */
+   @Test
+   public void testWriteAndMapMatrix() throws IOException {
+      MappedDoubleMatrix matrix = createMappedMatrix(DATA);
+      assertMatrixEqualsArray(DATA, matrix);
+      assertMatrixEqualsArray(DATA, matrix.asDenseMatrix());
+      assertMatrixEqualsArray(DATA, matrix.createCopy());
+
+      double[] row = new double[3];
+      matrix.copyRow(1, row);
+      assertArrayEquals(DATA[1], row, TestUtils.DOUBLE_DELTA);
+      assertArrayEquals(new double[] { 2.0, 0.0 }, matrix.getColumnVector(2).asArray(), TestUtils.DOUBLE_DELTA);
+      assertEquals(new DenseDoubleMatrix(DATA).getFrobeniusNorm(), matrix.getFrobeniusNorm(), TestUtils.DOUBLE_DELTA);
+   }
+
+
+   /**
+    * Test if transposing the matrix works correctly and does not influence copies.
+    * 
+    * @throws IOException if the matrix file cannot be written or read
+    */
+   @Test
+   public void testTranspose() throws IOException {
+      MappedDoubleMatrix matrix = createMappedMatrix(DATA);
+      IMatrix copy = matrix.createCopy();
+      matrix.transponse();
+
+      double[][] expected = { { 1.0, -3.0 }, { 0.0, 4.5 }, { 2.0, 0.0 } };
+      assertMatrixEqualsArray(expected, matrix);
+      assertMatrixEqualsArray(expected, matrix.asDenseMatrix());
+      assertArrayEquals(expected[2], matrix.getRowVector(2).asArray(), TestUtils.DOUBLE_DELTA);
+      assertMatrixEqualsArray(DATA, copy);
+   }
+
+
+   /**
+    * Ensure that the matrix cannot be changed.
+    * 
+    * @throws IOException if the matrix file cannot be written or read
+    */
+   @Test
+   public void testSetValueIsNotSupported() throws IOException {
+      IMatrix matrix = createMappedMatrix(DATA);
+      try {
+         matrix.setValue(0, 0, 42.0);
+         assertTrue(ERROR_NO_EXCEPTION_THROWN_AFTER_SET_VALUE_ON_READ_ONLY_MATRIX, false);
+      } catch (UnsupportedOperationException e) {
+         assertTrue(ERROR_EXPECTED_EXCEPTION_WAS_THROWN_AFTER_SET_VALUE_ON_READ_ONLY_MATRIX, true);
+      }
+   }
+
+
+   /**
+    * Writes the given values into a temporary matrix file and maps it.
+    *
+    * @param data the values of the matrix
+    * @return the mapped matrix
+    * @throws IOException if the matrix file cannot be written or read
+    */
+   private MappedDoubleMatrix createMappedMatrix(double[][] data) throws IOException {
+      File file = File.createTempFile("matrix", ".bin");
+      file.deleteOnExit();
+      MappedDoubleMatrix.write(new DenseDoubleMatrix(data), file);
+      return new MappedDoubleMatrix(file);
+   }
+
+
+   /**
+    * Asserts that the given matrix contains exactly the values of the given array.
+    *
+    * @param expected the expected values
+    * @param matrix the matrix to check
+    */
+   private void assertMatrixEqualsArray(double[][] expected, IMatrix matrix) {
+      assertEquals(expected.length, matrix.getNumberOfRows());
+      assertEquals(expected[0].length, matrix.getNumberOfColumns());
+      for (int row = 0; row < expected.length; row++) {
+         for (int column = 0; column < expected[row].length; column++) {
+            assertEquals(expected[row][column], matrix.getValue(row, column), TestUtils.DOUBLE_DELTA);
+         }
+      }
+   }
+
+}
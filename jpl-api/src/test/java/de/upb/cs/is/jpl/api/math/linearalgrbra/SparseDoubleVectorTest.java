@@ -502,6 +502,68 @@ public class SparseDoubleVectorTest {
    }
 
 
+   /**
+    * Tests whether the builder handles entries set in arbitrary order, entries set several times
+    * and zero entries correctly.
+    */
+   @Test
+   public void testBuilder() {
+      SparseDoubleVector vector = new SparseDoubleVector.Builder(5).setValue(3, 1).setValue(0, 2).setValue(3, 4).setValue(1, 0)
+            .build();
+      assertArrayEquals(new double[] { 2, 0, 0, 4, 0 }, vector.asArray(), TestUtils.DOUBLE_DELTA);
+      assertArrayEquals(new int[] { 0, 3 }, vector.getNonZeroIndices());
+   }
+
+
+   /**
+    * Tests whether adding and multiplying two sparse vectors only keeps the non-zero entries.
+    */
+   @Test
+   public void testSparseArithmeticKeepsOnlyNonZeroEntries() {
+      SparseDoubleVector vector = new SparseDoubleVector(new double[] { 1, 0, 2, 0, 3 });
+      SparseDoubleVector secondVector = new SparseDoubleVector(new double[] { -1, 0, 0, 5, 1 });
+
+      assertEquals(2, vector.dotProduct(secondVector), TestUtils.DOUBLE_DELTA);
+
+      vector.addVector(secondVector);
+      assertArrayEquals(new double[] { 0, 0, 2, 5, 4 }, vector.asArray(), TestUtils.DOUBLE_DELTA);
+      assertEquals(3, vector.getNumberOfNonZeroEntries());
+
+      vector.multiplyByVectorPairwise(secondVector);
+      assertArrayEquals(new double[] { 0, 0, 0, 25, 4 }, vector.asArray(), TestUtils.DOUBLE_DELTA);
+      assertEquals(2, vector.getNumberOfNonZeroEntries());
+
+      vector.setValue(4, 0);
+      vector.setValue(1, 7);
+      assertArrayEquals(new int[] { 1, 3 }, vector.getNonZeroIndices());
+   }
+
+
+   /**
+    * Tests whether normalizing a vector yields a vector of unit length.
+    */
+   @Test
+   public void testNormalize() {
+      IVector vector = new SparseDoubleVector(new double[] { 3, 0, 4 });
+      vector.normalize();
+      assertArrayEquals(new double[] { 0.6, 0, 0.8 }, vector.asArray(), TestUtils.DOUBLE_DELTA);
+   }
+
+
+   /**
+    * Tests whether negative zeros are not stored as non-zero entries.
+    */
+   @Test
+   public void testNegativeZeroIsNotStored() {
+      SparseDoubleVector vector = new SparseDoubleVector(new double[] { -0.0, 2, 0 });
+      assertArrayEquals(new int[] { 1 }, vector.getNonZeroIndices());
+
+      vector.setValue(2, -0.0);
+      vector.subtractVector(new SparseDoubleVector(new double[] { 0, 2, 0 }));
+      assertEquals(0, vector.getNonZeroIndices().length);
+   }
+
+
    /**
     * Asserts that the given vector is a (4,4) vector.
     * 
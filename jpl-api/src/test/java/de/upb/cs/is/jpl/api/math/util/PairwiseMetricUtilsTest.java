@@ -0,0 +1,226 @@
+package de.upb.cs.is.jpl.api.math.util;
+
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import de.upb.cs.is.jpl.api.exception.evaluation.LossException;
+import de.upb.cs.is.jpl.api.math.linearalgebra.DenseDoubleVector;
+import de.upb.cs.is.jpl.api.math.linearalgebra.IVector;
+import de.upb.cs.is.jpl.api.math.linearalgebra.SparseDoubleVector;
+import de.upb.cs.is.jpl.api.metric.correlation.CosineSimilariy;
+import de.upb.cs.is.jpl.api.util.datastructure.Pair;
+
+
+/**
+ * This class tests the computation of pairwise metrics by the {@link PairwiseMetricUtils}, by
+ * comparing the results to the values computed one pair at a time.
+ *
+ * @author agent
+ *
+ */
+public class PairwiseMetricUtilsTest {
+
+   private static final double DOUBLE_COMPARISON_DELTA = 1e-10;
+
+   private static final double[][] ROWS = { { 1, 0, 2, 0, 3 }, { 0, 4, 0, 0, 1 }, { 2, 2, 0, 1, 0 } };
+   private static final double[][] CANDIDATES = { { 0, 1, 0, 2, 0 }, { 3, 0, 0, 0, 1 }, { 1, 1, 1, 1, 2 }, { 0, 0, 5, 0, 0 } };
+
+
+   /**
+    * Tests whether the euclidean distances are the same as the ones computed by
+    * {@link DoubleVectorUtils#distance(double[], double[])}.
+    */
+   @Test
+   public void testEuclideanDistanceMatchesSinglePairDistance() {
+      double[][] result = PairwiseMetricUtils.computePairwiseMatrix(EPairwiseMetric.EUCLIDEAN_DISTANCE, ROWS, CANDIDATES);
+      for (int i = 0; i < ROWS.length; i++) {
+         for (int j = 0; j < CANDIDATES.length; j++) {
+            assertEquals(DoubleVectorUtils.distance(ROWS[i], CANDIDATES[j]), result[i][j], DOUBLE_COMPARISON_DELTA);
+         }
+      }
+   }
+
+
+   /**
+    * Tests whether the cosine similarities are the same as the ones computed by the
+    * {@link CosineSimilariy}.
+    *
+    * @throws LossException if the reference similarity could not be computed
+    */
+   @Test
+   public void testCosineSimilarityMatchesCosineSimilarityMetric() throws LossException {
+      CosineSimilariy cosineSimilarity = new CosineSimilariy();
+      double[][] result = PairwiseMetricUtils.computePairwiseMatrix(EPairwiseMetric.COSINE_SIMILARITY, ROWS, CANDIDATES);
+      for (int i = 0; i < ROWS.length; i++) {
+         for (int j = 0; j < CANDIDATES.length; j++) {
+            double expected = cosineSimilarity.getLossForSingleRating(new DenseDoubleVector(ROWS[i]), new DenseDoubleVector(CANDIDATES[j]));
+            assertEquals(expected, result[i][j], DOUBLE_COMPARISON_DELTA);
+         }
+      }
+   }
+
+
+   /**
+    * Tests whether the Pearson correlations are the same as the ones computed by the textbook
+    * definition over all dimensions.
+    */
+   @Test
+   public void testPearsonCorrelationMatchesTextbookDefinition() {
+      double[][] result = PairwiseMetricUtils.computePairwiseMatrix(EPairwiseMetric.PEARSON_CORRELATION, ROWS, CANDIDATES);
+      for (int i = 0; i < ROWS.length; i++) {
+         for (int j = 0; j < CANDIDATES.length; j++) {
+            assertEquals(computePearsonCorrelation(ROWS[i], CANDIDATES[j]), result[i][j], DOUBLE_COMPARISON_DELTA);
+         }
+      }
+   }
+
+
+   /**
+    * Tests whether sparse vectors, either compared to dense or to sparse vectors, yield the same
+    * values as dense vectors for all metrics.
+    */
+   @Test
+   public void testSparseVectorsYieldSameValuesAsDenseVectors() {
+      List<IVector> denseRows = createVectors(ROWS, false);
+      List<IVector> sparseRows = createVectors(ROWS, true);
+      List<IVector> denseCandidates = createVectors(CANDIDATES, false);
+      List<IVector> sparseCandidates = createVectors(CANDIDATES, true);
+      for (EPairwiseMetric metric : EPairwiseMetric.values()) {
+         double[][] expected = PairwiseMetricUtils.computePairwiseMatrix(metric, denseRows, denseCandidates);
+         assertMatricesEqual(expected, PairwiseMetricUtils.computePairwiseMatrix(metric, denseRows, sparseCandidates));
+         assertMatricesEqual(expected, PairwiseMetricUtils.computePairwiseMatrix(metric, sparseRows, denseCandidates));
+         assertMatricesEqual(expected, PairwiseMetricUtils.computePairwiseMatrix(metric, sparseRows, sparseCandidates));
+      }
+   }
+
+
+   /**
+    * Tests whether the nearest neighbors are ordered from the closest to the farthest, where ties
+    * are broken in favor of the smaller index and {@link Double#NaN} values come last.
+    */
+   @Test
+   public void testNearestNeighborsBreakTiesByIndexAndPutNaNLast() {
+      double[][] rows = { { 1, 0 } };
+      double[][] candidates = { { 0, 0 }, { 0, 1 }, { 2, 0 }, { 0, 3 }, { 1, 0 } };
+
+      Pair<int[][], double[][]> neighbors = PairwiseMetricUtils.computeNearestNeighbors(EPairwiseMetric.COSINE_SIMILARITY, rows,
+            candidates, candidates.length);
+
+      assertArrayEquals(new int[] { 2, 4, 1, 3, 0 }, neighbors.getFirst()[0]);
+      assertArrayEquals(new double[] { 1, 1, 0, 0 }, Arrays.copyOf(neighbors.getSecond()[0], 4), DOUBLE_COMPARISON_DELTA);
+      assertTrue(Double.isNaN(neighbors.getSecond()[0][4]));
+
+      neighbors = PairwiseMetricUtils.computeNearestNeighbors(EPairwiseMetric.COSINE_SIMILARITY, rows, candidates, 3);
+      assertArrayEquals(new int[] { 2, 4, 1 }, neighbors.getFirst()[0]);
+
+      neighbors = PairwiseMetricUtils.computeNearestNeighbors(EPairwiseMetric.EUCLIDEAN_DISTANCE, rows, candidates, 3);
+      assertArrayEquals(new int[] { 4, 0, 2 }, neighbors.getFirst()[0]);
+      assertArrayEquals(new double[] { 0, 1, 1 }, neighbors.getSecond()[0], DOUBLE_COMPARISON_DELTA);
+   }
+
+
+   /**
+    * Tests whether a computation large enough to be parallelized yields exactly the same values
+    * and neighbors as computing each row on its own, which is done sequentially.
+    */
+   @Test
+   public void testParallelComputationMatchesSequentialComputation() {
+      Random random = new Random(42);
+      double[][] rows = createRandomMatrix(random, 200, 20);
+      double[][] candidates = createRandomMatrix(random, 100, 20);
+      int k = 10;
+
+      for (EPairwiseMetric metric : EPairwiseMetric.values()) {
+         double[][] matrix = PairwiseMetricUtils.computePairwiseMatrix(metric, rows, candidates);
+         Pair<int[][], double[][]> neighbors = PairwiseMetricUtils.computeNearestNeighbors(metric, rows, candidates, k);
+         for (int i = 0; i < rows.length; i++) {
+            double[][] singleRow = { rows[i] };
+            assertArrayEquals(PairwiseMetricUtils.computePairwiseMatrix(metric, singleRow, candidates)[0], matrix[i], 0);
+            Pair<int[][], double[][]> singleRowNeighbors = PairwiseMetricUtils.computeNearestNeighbors(metric, singleRow, candidates, k);
+            assertArrayEquals(singleRowNeighbors.getFirst()[0], neighbors.getFirst()[i]);
+            assertArrayEquals(singleRowNeighbors.getSecond()[0], neighbors.getSecond()[i], 0);
+         }
+      }
+   }
+
+
+   /**
+    * Returns the Pearson correlation of the given arrays over all dimensions.
+    *
+    * @param first the first array
+    * @param second the second array
+    * @return the Pearson correlation of both arrays
+    */
+   private double computePearsonCorrelation(double[] first, double[] second) {
+      double firstMean = Arrays.stream(first).average().getAsDouble();
+      double secondMean = Arrays.stream(second).average().getAsDouble();
+      double covariance = 0;
+      double firstVariance = 0;
+      double secondVariance = 0;
+      for (int i = 0; i < first.length; i++) {
+         covariance += (first[i] - firstMean) * (second[i] - secondMean);
+         firstVariance += (first[i] - firstMean) * (first[i] - firstMean);
+         secondVariance += (second[i] - secondMean) * (second[i] - secondMean);
+      }
+      return covariance / Math.sqrt(firstVariance * secondVariance);
+   }
+
+
+   /**
+    * Creates a list of dense or sparse vectors from the given arrays.
+    *
+    * @param arrays the values of the vectors
+    * @param sparse whether sparse vectors should be created
+    * @return the list of vectors
+    */
+   private List<IVector> createVectors(double[][] arrays, boolean sparse) {
+      List<IVector> vectors = new ArrayList<>(arrays.length);
+      for (double[] array : arrays) {
+         vectors.add(sparse ? new SparseDoubleVector(array) : new DenseDoubleVector(array));
+      }
+      return vectors;
+   }
+
+
+   /**
+    * Creates a matrix with the given size, about half of which entries are zero.
+    *
+    * @param random the random number generator to use
+    * @param numberOfRows the number of rows of the matrix
+    * @param numberOfColumns the number of columns of the matrix
+    * @return the random matrix
+    */
+   private double[][] createRandomMatrix(Random random, int numberOfRows, int numberOfColumns) {
+      double[][] matrix = new double[numberOfRows][numberOfColumns];
+      for (int i = 0; i < numberOfRows; i++) {
+         for (int j = 0; j < numberOfColumns; j++) {
+            matrix[i][j] = random.nextBoolean() ? random.nextInt(5) + 1 : 0;
+         }
+      }
+      return matrix;
+   }
+
+
+   /**
+    * Asserts that both matrices contain the same values.
+    *
+    * @param expected the expected matrix
+    * @param actual the actual matrix
+    */
+   private void assertMatricesEqual(double[][] expected, double[][] actual) {
+      assertEquals(expected.length, actual.length);
+      for (int i = 0; i < expected.length; i++) {
+         assertArrayEquals(expected[i], actual[i], DOUBLE_COMPARISON_DELTA);
+      }
+   }
+
+}
@@ -1,11 +1,19 @@
 package de.upb.cs.is.jpl.api.metric.hammingloss;
 
 
+import static org.junit.Assert.assertEquals;
+
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+import org.junit.Test;
+
+import de.upb.cs.is.jpl.api.dataset.multilabelclassification.LabelMatrix;
+import de.upb.cs.is.jpl.api.exception.evaluation.LossException;
 import de.upb.cs.is.jpl.api.math.linearalgebra.IVector;
+import de.upb.cs.is.jpl.api.math.linearalgebra.SparseDoubleVector;
 import de.upb.cs.is.jpl.api.metric.AAverageDecomposableIVectorDoubleMetricTest;
 import de.upb.cs.is.jpl.api.metric.AMetric;
 import de.upb.cs.is.jpl.api.metric.IMetric;
@@ -23,6 +31,11 @@ public class HammingLossTest extends AAverageDecomposableIVectorDoubleMetricTest
 
    private static final String RESOURCE_DIRECTORY_LEVEL = "hammingloss" + File.separator;
 
+   private static final double DOUBLE_COMPARISON_DELTA = 1e-10;
+   private static final int NUMBER_OF_LABELS = 70;
+   private static final int[][] EXPECTED_LABELS = { { 0, 63, 64, 69 }, {}, { 1, 64 } };
+   private static final int[][] PREDICTED_LABELS = { { 0, 64 }, { 2, 68 }, { 1, 64 } };
+
 
    /**
     * Creates a new {@link HammingLossTest}.
@@ -72,9 +85,63 @@ public class HammingLossTest extends AAverageDecomposableIVectorDoubleMetricTest
    }
 
 
+   /**
+    * Tests whether the loss of two bit-packed {@link LabelMatrix}s is the same as the loss of the
+    * same label vectors in plain lists.
+    *
+    * @throws LossException if the loss could not be computed
+    */
+   @Test
+   public void testLossOfLabelMatricesMatchesLossOfLabelVectors() throws LossException {
+      List<IVector> expectedLabelVectors = createLabelVectors(EXPECTED_LABELS);
+      List<IVector> predictedLabelVectors = createLabelVectors(PREDICTED_LABELS);
+      double expectedLoss = getEvaluationMetric().getAggregatedLossForRatings(expectedLabelVectors, predictedLabelVectors);
+
+      double loss = getEvaluationMetric().getAggregatedLossForRatings(createLabelMatrix(expectedLabelVectors),
+            createLabelMatrix(predictedLabelVectors));
+      assertEquals(4.0 / 3 / NUMBER_OF_LABELS, expectedLoss, DOUBLE_COMPARISON_DELTA);
+      assertEquals(expectedLoss, loss, DOUBLE_COMPARISON_DELTA);
+   }
+
+
    @Override
    public IMetric<IVector, Double> getEvaluationMetric() {
       return new HammingLoss();
    }
 
+
+   /**
+    * Creates the binary label vectors with the given labels of each vector.
+    *
+    * @param labelsOfVectors the labels set in each vector
+    * @return the label vectors
+    */
+   private List<IVector> createLabelVectors(int[][] labelsOfVectors) {
+      List<IVector> labelVectors = new ArrayList<>();
+      for (int[] labels : labelsOfVectors) {
+         double[] values = new double[labels.length];
+         Arrays.fill(values, 1);
+         labelVectors.add(new SparseDoubleVector(labels, values, NUMBER_OF_LABELS));
+      }
+      return labelVectors;
+   }
+
+
+   /**
+    * Packs the given label vectors into a label matrix, which is passed as list of vectors like the
+    * correct results of a multilabel classification dataset.
+    *
+    * @param labelVectors the label vectors to pack
+    * @return the label matrix of the label vectors
+    */
+   @SuppressWarnings("unchecked")
+   private List<IVector> createLabelMatrix(List<IVector> labelVectors) {
+      LabelMatrix labelMatrix = new LabelMatrix();
+      for (IVector labelVector : labelVectors) {
+         labelMatrix.add(labelVector.toSparseVector());
+      }
+      List<?> labelMatrixAsList = labelMatrix;
+      return (List<IVector>) labelMatrixAsList;
+   }
+
 }
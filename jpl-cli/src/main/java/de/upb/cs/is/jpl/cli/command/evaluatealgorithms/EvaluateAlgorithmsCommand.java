@@ -66,6 +66,7 @@ public class EvaluateAlgorithmsCommand extends ACommand {
    private static final String LEARNING_ALGORITHMS_ERROR_MESSAGE = "For evaluation \"%s\" learning algorithms are not set in systemConfiguration.";
    private static final String COULDNOT_SETUP_EVALUATION_ERROR_MESSAGE = "For evaluation \"%s\" learning model, dataset and algorithm Map could not be not set in evaluationConfiguration. Please see above warnings for the reason.";
    private static final String CANNOT_CREATE_EVALUATION_FORLEARNINGPROBLEM_ERROR_MESSAGE = "The given type evaluation \"%s\" cannot be created for the learning problem \"%s\".";
+   private static final String INVALID_DATASET_INGESTION_ERROR_MESSAGE = "The dataset ingestion settings are invalid: %s";
 
    private boolean canBeExecuted;
    private Exception caughtException;
@@ -77,6 +78,8 @@ public class EvaluateAlgorithmsCommand extends ACommand {
    private IEvaluation evaluation;
    private SystemConfiguration systemConfiguration;
    private AEvaluationConfiguration aEvaluationConfiguration;
+   private Integer ingestionThreads;
+   private Integer ingestionMemoryBudget;
 
 
    /**
@@ -89,9 +92,32 @@ public class EvaluateAlgorithmsCommand extends ACommand {
     *           be based on
     */
    public EvaluateAlgorithmsCommand(String evaluationIdentifierHandler, List<String> metricIdentifierHandler) {
+      this(evaluationIdentifierHandler, metricIdentifierHandler, null, null);
+   }
+
+
+   /**
+    * Creates the {@code EvaluateAlgorithmsCommand} and initializes it command member variables,
+    * with the values provided by the command handler, including the dataset ingestion settings
+    * which override the ones of the {@link SystemConfiguration}.
+    * 
+    * @param evaluationIdentifierHandler the evaluation identifier which corresponds to kind of
+    *           evaluation should be executed
+    * @param metricIdentifierHandler the list of metrics identifiers on which the evaluation should
+    *           be based on
+    * @param ingestionThreadsHandler the maximum number of dataset files which are parsed at the
+    *           same time, or {@code null} to use the one of the system configuration
+    * @param ingestionMemoryBudgetHandler the number of megabytes of used heap, above which no
+    *           further dataset files are parsed in advance, or {@code null} to use the one of the
+    *           system configuration
+    */
+   public EvaluateAlgorithmsCommand(String evaluationIdentifierHandler, List<String> metricIdentifierHandler,
+         Integer ingestionThreadsHandler, Integer ingestionMemoryBudgetHandler) {
       super(ECommand.EVALUATE_ALGORITHMS.getCommandIdentifier());
       evaluationIdentifier = evaluationIdentifierHandler;
       metricIdentifiers = CollectionsUtils.getDeepCopyOf(metricIdentifierHandler);
+      ingestionThreads = ingestionThreadsHandler;
+      ingestionMemoryBudget = ingestionMemoryBudgetHandler;
       init();
 
    }
@@ -278,6 +304,7 @@ public class EvaluateAlgorithmsCommand extends ACommand {
          String errorMessage = errorsStringBuilder.toString();
          throw new DatasetsOrLearningAlgorithmsNotSetForEvaluationException(errorMessage);
       }
+      evaluation.setDatasetIngestion(systemConfiguration.createDatasetIngestion(ingestionThreads, ingestionMemoryBudget));
       evaluation.setupEvaluation(datasetFiles, learningAlgorithms);
 
       if (aEvaluationConfiguration.getListOfEvaluationSettingsWithSetNumber().isEmpty()) {
@@ -317,6 +344,13 @@ public class EvaluateAlgorithmsCommand extends ACommand {
       if (metricIdentifiers.isEmpty() && evaluationMetrics == null) {
          logger.warn(EVALUATION_METRIC_IDENTIFIER_NOTSET_WARNING_MESSAGE);
       }
+      try {
+         systemConfiguration.createDatasetIngestion(ingestionThreads, ingestionMemoryBudget);
+      } catch (IllegalArgumentException illegalArgumentException) {
+         canBeExecuted = false;
+         String errorMessage = String.format(INVALID_DATASET_INGESTION_ERROR_MESSAGE, illegalArgumentException.getMessage());
+         throw new CommandCannotBeExecutedException(errorMessage);
+      }
 
    }
 
@@ -32,6 +32,14 @@ public class EvaluateAlgorithmsCommandConfiguration extends ACommandConfiguratio
          "-m" }, description = "Specifies the list of evaluation metrics on which the evaluation should be based on.", required = false)
    private List<String> metricIdentifiers;
 
+   @Parameter(names = { "--ingestion_threads",
+         "-it" }, description = "The maximum number of dataset files which are parsed at the same time.", required = false)
+   private Integer ingestionThreads;
+
+   @Parameter(names = { "--ingestion_memory_budget",
+         "-imb" }, description = "The number of megabytes of used heap, above which no further dataset files are parsed in advance.", required = false)
+   private Integer ingestionMemoryBudget;
+
 
    /**
     * Constructor which created the command configuration for {@link EvaluateAlgorithmsCommand} and
@@ -47,6 +55,8 @@ public class EvaluateAlgorithmsCommandConfiguration extends ACommandConfiguratio
    public void resetFields() {
       evaluationIdentifier = StringUtils.EMPTY_STRING;
       metricIdentifiers.clear();
+      ingestionThreads = null;
+      ingestionMemoryBudget = null;
    }
 
 
@@ -55,6 +65,8 @@ public class EvaluateAlgorithmsCommandConfiguration extends ACommandConfiguratio
       EvaluateAlgorithmsCommandConfiguration evaluateAlgorithmsCommandConfiguration = new EvaluateAlgorithmsCommandConfiguration();
       evaluateAlgorithmsCommandConfiguration.setEvaluationIdentifier(getEvaluationIdentifier());
       evaluateAlgorithmsCommandConfiguration.setEvaluationMetricIdentifier(CollectionsUtils.getDeepCopyOf(getMetricIdentifier()));
+      evaluateAlgorithmsCommandConfiguration.setIngestionThreads(getIngestionThreads());
+      evaluateAlgorithmsCommandConfiguration.setIngestionMemoryBudget(getIngestionMemoryBudget());
       return evaluateAlgorithmsCommandConfiguration;
    }
 
@@ -101,4 +113,46 @@ public class EvaluateAlgorithmsCommandConfiguration extends ACommandConfiguratio
       this.metricIdentifiers = CollectionsUtils.getDeepCopyOf(evaluationMetricIdentifiers);
    }
 
+
+   /**
+    * Returns the maximum number of dataset files which are parsed at the same time.
+    * 
+    * @return the number of threads, or {@code null} if it is not set in the command line
+    */
+   public Integer getIngestionThreads() {
+      return ingestionThreads;
+   }
+
+
+   /**
+    * Set the maximum number of dataset files which are parsed at the same time.
+    * 
+    * @param ingestionThreads the number of threads to set
+    */
+   public void setIngestionThreads(Integer ingestionThreads) {
+      this.ingestionThreads = ingestionThreads;
+   }
+
+
+   /**
+    * Returns the number of megabytes of used heap, above which no further dataset files are parsed
+    * in advance.
+    * 
+    * @return the memory budget in megabytes, or {@code null} if it is not set in the command line
+    */
+   public Integer getIngestionMemoryBudget() {
+      return ingestionMemoryBudget;
+   }
+
+
+   /**
+    * Set the number of megabytes of used heap, above which no further dataset files are parsed in
+    * advance.
+    * 
+    * @param ingestionMemoryBudget the memory budget in megabytes to set
+    */
+   public void setIngestionMemoryBudget(Integer ingestionMemoryBudget) {
+      this.ingestionMemoryBudget = ingestionMemoryBudget;
+   }
+
 }
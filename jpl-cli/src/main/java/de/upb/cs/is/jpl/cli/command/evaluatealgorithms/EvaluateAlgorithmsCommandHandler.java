@@ -9,6 +9,7 @@ import org.slf4j.LoggerFactory;
 
 import com.beust.jcommander.JCommander;
 
+import de.upb.cs.is.jpl.api.dataset.ParsedDatasetCache;
 import de.upb.cs.is.jpl.api.util.StringUtils;
 import de.upb.cs.is.jpl.cli.command.ACommandHandler;
 import de.upb.cs.is.jpl.cli.command.CommandResult;
@@ -30,6 +31,8 @@ public class EvaluateAlgorithmsCommandHandler extends ACommandHandler {
 
    private String evaluationIdentifier;
    private List<String> metricIdentifiers;
+   private Integer ingestionThreads;
+   private Integer ingestionMemoryBudget;
    private static final String EVALUATION_CONFIGURATION_NOTSET_WARNING_MESSAGE = "The EvaluationConfigurations were not set in the CommandLineParser";
    private static final String COMMAND_RESULT_EXECUTION_ERROR_MESSAGE = "The evaluation command failed to execute.";
 
@@ -61,10 +64,12 @@ public class EvaluateAlgorithmsCommandHandler extends ACommandHandler {
          } else {
             logger.warn(METRIC_IDENTIFIERS_EMPTY_WARNING_MESSAGE);
          }
+         ingestionThreads = castedConfiguration.getIngestionThreads();
+         ingestionMemoryBudget = castedConfiguration.getIngestionMemoryBudget();
       } else {
          logger.warn(EVALUATION_CONFIGURATION_NOTSET_WARNING_MESSAGE);
       }
-      return new EvaluateAlgorithmsCommand(evaluationIdentifier, metricIdentifiers);
+      return new EvaluateAlgorithmsCommand(evaluationIdentifier, metricIdentifiers, ingestionThreads, ingestionMemoryBudget);
    }
 
 
@@ -86,7 +91,7 @@ public class EvaluateAlgorithmsCommandHandler extends ACommandHandler {
       if (!evaluationOutput.equals(StringUtils.EMPTY_STRING)) {
          userOutput = combineOutputs(userOutput, evaluationOutput);
       }
-      return userOutput;
+      return combineOutputs(userOutput, ParsedDatasetCache.getParsedDatasetCache().getStatistics());
    }
 
 
@@ -94,6 +99,8 @@ public class EvaluateAlgorithmsCommandHandler extends ACommandHandler {
    public void init() {
       evaluationIdentifier = StringUtils.EMPTY_STRING;
       metricIdentifiers = new ArrayList<>();
+      ingestionThreads = null;
+      ingestionMemoryBudget = null;
    }
 
 
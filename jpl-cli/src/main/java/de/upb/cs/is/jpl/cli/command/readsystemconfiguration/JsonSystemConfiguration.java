@@ -37,6 +37,7 @@ public class JsonSystemConfiguration extends AJsonConfiguration {
    private static final String ITEM_FEATURE_NEGATIVE_VALUE_EXCEPTION_MESSAGE = "Item feature has a negative value for file with file path: %s";
    private static final String CONTEXT_FEATURE_NEGATIVE_VALUE_EXCEPTION_MESSAGE = "Context feature has a negative value for file with file path: %s";
    private static final String VALIDATION_FIELD_EXCEPTION_MESSAGE_NO_EVALUATION_METRIC_SET = "There is no evaluation metric set, evaluationJsonString: %s";
+   private static final String VALIDATION_FIELD_NOT_POSITIVE_MESSAGE = "The value for the '%s' field has to be positive, but is %d.";
 
    @SerializedName(SystemConfigurationKeyValue.INPUT_FILES)
    private List<JsonDatasetFile> inputFiles = null;
@@ -56,6 +57,12 @@ public class JsonSystemConfiguration extends AJsonConfiguration {
    @SerializedName(SystemConfigurationKeyValue.SEED)
    private long seed = RandomGenerator.DEFAULT_SEED;
 
+   @SerializedName(SystemConfigurationKeyValue.DATASET_INGESTION_THREADS)
+   private Integer datasetIngestionThreads = null;
+
+   @SerializedName(SystemConfigurationKeyValue.DATASET_INGESTION_MEMORY_BUDGET)
+   private Integer datasetIngestionMemoryBudget = null;
+
 
    /**
     * Instantiates a new system configuration file Gson converter.
@@ -73,6 +80,25 @@ public class JsonSystemConfiguration extends AJsonConfiguration {
       validateLearningProblem();
       validateAlgorithms();
       validateEvaluation();
+      validateDatasetIngestion();
+   }
+
+
+   /**
+    * Validate the converted dataset ingestion settings, which are optional.
+    *
+    * @throws ParameterValidationFailedException if the number of threads or the memory budget is
+    *            set, but not positive
+    */
+   private void validateDatasetIngestion() throws ParameterValidationFailedException {
+      if (datasetIngestionThreads != null && datasetIngestionThreads <= 0) {
+         throw new ParameterValidationFailedException(String.format(VALIDATION_FIELD_NOT_POSITIVE_MESSAGE,
+               SystemConfigurationKeyValue.DATASET_INGESTION_THREADS, datasetIngestionThreads));
+      }
+      if (datasetIngestionMemoryBudget != null && datasetIngestionMemoryBudget <= 0) {
+         throw new ParameterValidationFailedException(String.format(VALIDATION_FIELD_NOT_POSITIVE_MESSAGE,
+               SystemConfigurationKeyValue.DATASET_INGESTION_MEMORY_BUDGET, datasetIngestionMemoryBudget));
+      }
    }
 
 
@@ -260,6 +286,13 @@ public class JsonSystemConfiguration extends AJsonConfiguration {
          this.evaluation = castedConfiguration.getEvaluations();
       }
 
+      if (castedConfiguration.getDatasetIngestionThreads() != null) {
+         this.datasetIngestionThreads = castedConfiguration.getDatasetIngestionThreads();
+      }
+      if (castedConfiguration.getDatasetIngestionMemoryBudget() != null) {
+         this.datasetIngestionMemoryBudget = castedConfiguration.getDatasetIngestionMemoryBudget();
+      }
+
       this.seed = castedConfiguration.getSeed();
    }
 
@@ -384,6 +417,46 @@ public class JsonSystemConfiguration extends AJsonConfiguration {
    }
 
 
+   /**
+    * Returns the maximum number of dataset files which are parsed at the same time.
+    *
+    * @return the number of threads, or {@code null} if it is not set
+    */
+   public Integer getDatasetIngestionThreads() {
+      return datasetIngestionThreads;
+   }
+
+
+   /**
+    * Sets the maximum number of dataset files which are parsed at the same time.
+    *
+    * @param datasetIngestionThreads the number of threads to set
+    */
+   public void setDatasetIngestionThreads(Integer datasetIngestionThreads) {
+      this.datasetIngestionThreads = datasetIngestionThreads;
+   }
+
+
+   /**
+    * Returns the number of megabytes of used heap, above which no further dataset files are parsed.
+    *
+    * @return the memory budget in megabytes, or {@code null} if it is not set
+    */
+   public Integer getDatasetIngestionMemoryBudget() {
+      return datasetIngestionMemoryBudget;
+   }
+
+
+   /**
+    * Sets the number of megabytes of used heap, above which no further dataset files are parsed.
+    *
+    * @param datasetIngestionMemoryBudget the memory budget in megabytes to set
+    */
+   public void setDatasetIngestionMemoryBudget(Integer datasetIngestionMemoryBudget) {
+      this.datasetIngestionMemoryBudget = datasetIngestionMemoryBudget;
+   }
+
+
    @Override
    public int hashCode() {
       final int prime = 31;
@@ -394,6 +467,8 @@ public class JsonSystemConfiguration extends AJsonConfiguration {
       result = prime * result + ((learningProblem == null) ? 0 : learningProblem.hashCode());
       result = prime * result + ((outputFile == null) ? 0 : outputFile.hashCode());
       result = prime * result + (int) (seed ^ (seed >>> 32));
+      result = prime * result + ((datasetIngestionThreads == null) ? 0 : datasetIngestionThreads.hashCode());
+      result = prime * result + ((datasetIngestionMemoryBudget == null) ? 0 : datasetIngestionMemoryBudget.hashCode());
       return result;
    }
 
@@ -434,6 +509,16 @@ public class JsonSystemConfiguration extends AJsonConfiguration {
          return false;
       if (seed != other.seed)
          return false;
+      if (datasetIngestionThreads == null) {
+         if (other.datasetIngestionThreads != null)
+            return false;
+      } else if (!datasetIngestionThreads.equals(other.datasetIngestionThreads))
+         return false;
+      if (datasetIngestionMemoryBudget == null) {
+         if (other.datasetIngestionMemoryBudget != null)
+            return false;
+      } else if (!datasetIngestionMemoryBudget.equals(other.datasetIngestionMemoryBudget))
+         return false;
       return true;
    }
 
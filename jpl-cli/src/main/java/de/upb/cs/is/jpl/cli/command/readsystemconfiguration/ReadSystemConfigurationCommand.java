@@ -181,6 +181,9 @@ public class ReadSystemConfigurationCommand extends ACommand {
       systemConfiguration
             .setLearningProblem(ELearningProblem.getELearningProblemByIdentifier(jsonSystemConfiguration.getLearningProblem()));
 
+      systemConfiguration.setDatasetIngestionThreads(jsonSystemConfiguration.getDatasetIngestionThreads());
+      systemConfiguration.setDatasetIngestionMemoryBudget(jsonSystemConfiguration.getDatasetIngestionMemoryBudget());
+
       long seed = jsonSystemConfiguration.getSeed();
       systemConfiguration.setSeed(seed);
 
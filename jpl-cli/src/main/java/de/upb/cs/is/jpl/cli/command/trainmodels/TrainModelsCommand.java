@@ -3,6 +3,7 @@ package de.upb.cs.is.jpl.cli.command.trainmodels;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,6 +13,7 @@ import de.upb.cs.is.jpl.api.algorithm.learningalgorithm.ILearningModel;
 import de.upb.cs.is.jpl.api.dataset.DatasetFile;
 import de.upb.cs.is.jpl.api.dataset.IDataset;
 import de.upb.cs.is.jpl.api.dataset.IDatasetParser;
+import de.upb.cs.is.jpl.api.dataset.ParsedDatasetCache;
 import de.upb.cs.is.jpl.api.exception.algorithm.TrainModelsFailedException;
 import de.upb.cs.is.jpl.api.exception.dataset.ParsingFailedException;
 import de.upb.cs.is.jpl.api.util.StringUtils;
@@ -37,18 +39,39 @@ public class TrainModelsCommand extends ACommand {
    private static final String ERROR_NO_TRAINING_OF_ANY_ALGORITHM = "No algorithm could be trained on any dataset.";
    private static final String ERROR_TRAINING_OF_SINGLE_ALGORITHM_FAILED = "Training of %s on %s failed.";
    private static final String ERROR_REMARK = "Error: %s";
+   private static final String ERROR_INVALID_DATASET_INGESTION = "The dataset ingestion settings are invalid: %s";
 
    private static final Logger logger = LoggerFactory.getLogger(TrainModelsCommand.class);
    private SystemConfiguration systemConfiguration = SystemConfiguration.getSystemConfiguration();
    private String failureReason = StringUtils.EMPTY_STRING;
    private boolean isAnyAlgorithmTrainable = false;
+   private Integer ingestionThreads;
+   private Integer ingestionMemoryBudget;
 
 
    /**
-    * Constructs a {@link TrainModelsCommand}.
+    * Constructs a {@link TrainModelsCommand}, which uses the dataset ingestion settings of the
+    * {@link SystemConfiguration}.
     */
    public TrainModelsCommand() {
+      this(null, null);
+   }
+
+
+   /**
+    * Constructs a {@link TrainModelsCommand} with the given dataset ingestion settings, which
+    * override the ones of the {@link SystemConfiguration}.
+    * 
+    * @param ingestionThreads the maximum number of dataset files which are parsed at the same
+    *           time, or {@code null} to use the one of the system configuration
+    * @param ingestionMemoryBudget the number of megabytes of used heap, above which no further
+    *           dataset files are parsed in advance, or {@code null} to use the one of the system
+    *           configuration
+    */
+   public TrainModelsCommand(Integer ingestionThreads, Integer ingestionMemoryBudget) {
       super(ECommand.TRAIN_MODELS.getCommandIdentifier());
+      this.ingestionThreads = ingestionThreads;
+      this.ingestionMemoryBudget = ingestionMemoryBudget;
    }
 
 
@@ -57,7 +80,8 @@ public class TrainModelsCommand extends ACommand {
       // Define new because canBeExecuted can be called more than once
       failureReason = StringUtils.EMPTY_STRING;
       // Executing is ok if algorithm list and dataset list are not empty
-      if (!doesSystemConfigurationHasDatasetFiles() || !doesSystemConfigurationHasLearningAlgorithms()) {
+      if (!doesSystemConfigurationHasDatasetFiles() || !doesSystemConfigurationHasLearningAlgorithms()
+            || !isDatasetIngestionValid()) {
          return false;
       }
 
@@ -65,6 +89,24 @@ public class TrainModelsCommand extends ACommand {
    }
 
 
+   /**
+    * Checks if the dataset ingestion settings are valid. If not it also added the failure reason to
+    * {@link TrainModelsCommand#failureReason}.
+    * 
+    * @return {@code true} if a dataset ingestion can be created from the settings, otherwise
+    *         {@code false}
+    */
+   private boolean isDatasetIngestionValid() {
+      try {
+         systemConfiguration.createDatasetIngestion(ingestionThreads, ingestionMemoryBudget);
+      } catch (IllegalArgumentException e) {
+         failureReason += String.format(ERROR_INVALID_DATASET_INGESTION, e.getMessage());
+         return false;
+      }
+      return true;
+   }
+
+
    /**
     * Checks if at least one {@link ILearningAlgorithm} is in the {@link SystemConfiguration}. If
     * not it also added the failure reason to {@link TrainModelsCommand#failureReason}.
@@ -136,6 +178,13 @@ public class TrainModelsCommand extends ACommand {
       List<ILearningAlgorithm> learningAlgorithms = systemConfiguration.getLearningAlgorithms();
       List<DatasetFile> datasetFiles = systemConfiguration.getDatasetFiles();
 
+      List<Supplier<IDatasetParser>> parserSuppliers = new ArrayList<>(learningAlgorithms.size());
+      for (ILearningAlgorithm learningAlgorithm : learningAlgorithms) {
+         parserSuppliers.add(learningAlgorithm::getDatasetParser);
+      }
+      // parse all datasets concurrently, so that the training finds them in the cache
+      systemConfiguration.createDatasetIngestion(ingestionThreads, ingestionMemoryBudget).ingest(datasetFiles, parserSuppliers);
+
       int maximumCommandResultListSize = learningAlgorithms.size() * datasetFiles.size();
       List<CommandResult> commandResults = new ArrayList<>(maximumCommandResultListSize);
 
@@ -144,7 +193,7 @@ public class TrainModelsCommand extends ACommand {
          for (DatasetFile datasetFile : datasetFiles) {
             try {
                IDatasetParser datasetParser = learningAlgorithm.getDatasetParser();
-               IDataset<?, ?, ?> dataset = datasetParser.parse(datasetFile);
+               IDataset<?, ?, ?> dataset = ParsedDatasetCache.getParsedDatasetCache().parse(datasetParser, datasetFile);
                ILearningModel<?> learningModel = learningAlgorithm.train(dataset);
 
                systemConfiguration.addModelForAlgorithmDatasetPair(learningModel, learningAlgorithm, dataset);
@@ -2,6 +2,7 @@ package de.upb.cs.is.jpl.cli.command.trainmodels;
 
 
 import com.beust.jcommander.JCommander;
+import com.beust.jcommander.Parameter;
 import com.beust.jcommander.Parameters;
 
 import de.upb.cs.is.jpl.cli.command.ACommandConfiguration;
@@ -11,25 +12,88 @@ import de.upb.cs.is.jpl.cli.command.ICommandConfiguration;
 /**
  * This class encapsulates all necessary and/or possible combination of parameters for
  * {@link TrainModelsCommand}. The parameters are defined for easy handling by {@link JCommander}.
- * Currently it is not use for this command as it is not required but it should exist to retain the
- * consistency in command pattern.
+ * The optional parameters override the dataset ingestion settings of the system configuration for
+ * a single training.
  *
  * @author Sebastian Gottschalk
  *
  */
-@Parameters(commandDescription = "Trains all selected algorithms on the current datasets.")
+@Parameters(separators = "=", commandDescription = "Trains all selected algorithms on the current datasets.")
 public class TrainModelsCommandConfiguration extends ACommandConfiguration {
 
+   @Parameter(names = { "--ingestion_threads",
+         "-it" }, description = "The maximum number of dataset files which are parsed at the same time.", required = false)
+   private Integer ingestionThreads;
+
+   @Parameter(names = { "--ingestion_memory_budget",
+         "-imb" }, description = "The number of megabytes of used heap, above which no further dataset files are parsed in advance.", required = false)
+   private Integer ingestionMemoryBudget;
+
+
+   /**
+    * Creates the command configuration for {@link TrainModelsCommand} and initializes the member
+    * variables.
+    */
+   public TrainModelsCommandConfiguration() {
+      resetFields();
+   }
+
+
    @Override
    public void resetFields() {
-      // Not used
+      ingestionThreads = null;
+      ingestionMemoryBudget = null;
    }
 
 
    @Override
    public ICommandConfiguration getCopy() {
-      // Not used
-      return this;
+      TrainModelsCommandConfiguration trainModelsCommandConfiguration = new TrainModelsCommandConfiguration();
+      trainModelsCommandConfiguration.setIngestionThreads(getIngestionThreads());
+      trainModelsCommandConfiguration.setIngestionMemoryBudget(getIngestionMemoryBudget());
+      return trainModelsCommandConfiguration;
+   }
+
+
+   /**
+    * Returns the maximum number of dataset files which are parsed at the same time.
+    *
+    * @return the number of threads, or {@code null} if it is not set in the command line
+    */
+   public Integer getIngestionThreads() {
+      return ingestionThreads;
+   }
+
+
+   /**
+    * Sets the maximum number of dataset files which are parsed at the same time.
+    *
+    * @param ingestionThreads the number of threads to set
+    */
+   public void setIngestionThreads(Integer ingestionThreads) {
+      this.ingestionThreads = ingestionThreads;
+   }
+
+
+   /**
+    * Returns the number of megabytes of used heap, above which no further dataset files are parsed
+    * in advance.
+    *
+    * @return the memory budget in megabytes, or {@code null} if it is not set in the command line
+    */
+   public Integer getIngestionMemoryBudget() {
+      return ingestionMemoryBudget;
+   }
+
+
+   /**
+    * Sets the number of megabytes of used heap, above which no further dataset files are parsed in
+    * advance.
+    *
+    * @param ingestionMemoryBudget the memory budget in megabytes to set
+    */
+   public void setIngestionMemoryBudget(Integer ingestionMemoryBudget) {
+      this.ingestionMemoryBudget = ingestionMemoryBudget;
    }
 
 }
@@ -5,6 +5,7 @@ import java.util.List;
 
 import de.upb.cs.is.jpl.api.algorithm.learningalgorithm.ILearningAlgorithm;
 import de.upb.cs.is.jpl.api.dataset.DatasetFile;
+import de.upb.cs.is.jpl.api.dataset.ParsedDatasetCache;
 import de.upb.cs.is.jpl.api.util.StringUtils;
 import de.upb.cs.is.jpl.api.util.datastructure.Pair;
 import de.upb.cs.is.jpl.cli.command.ACommandHandler;
@@ -26,6 +27,10 @@ public class TrainModelsCommandHandler extends ACommandHandler {
 
    @Override
    public ICommand handleUserCommand(final ICommandConfiguration commandConfiguration) {
+      TrainModelsCommandConfiguration castedConfiguration = (TrainModelsCommandConfiguration) commandConfiguration;
+      if (castedConfiguration != null) {
+         return new TrainModelsCommand(castedConfiguration.getIngestionThreads(), castedConfiguration.getIngestionMemoryBudget());
+      }
       return new TrainModelsCommand();
    }
 
@@ -50,6 +55,7 @@ public class TrainModelsCommandHandler extends ACommandHandler {
             }
             stringBuilder.append(StringUtils.LINE_BREAK);
          }
+         stringBuilder.append(ParsedDatasetCache.getParsedDatasetCache().getStatistics());
 
          return stringBuilder.toString();
       }
@@ -13,6 +13,7 @@ import de.upb.cs.is.jpl.api.algorithm.learningalgorithm.ILearningAlgorithm;
 import de.upb.cs.is.jpl.api.algorithm.learningalgorithm.ILearningModel;
 import de.upb.cs.is.jpl.api.dataset.DatasetFile;
 import de.upb.cs.is.jpl.api.dataset.IDataset;
+import de.upb.cs.is.jpl.api.dataset.ParallelDatasetIngestion;
 import de.upb.cs.is.jpl.api.learningproblem.ELearningProblem;
 import de.upb.cs.is.jpl.api.math.RandomGenerator;
 import de.upb.cs.is.jpl.api.util.StringUtils;
@@ -32,6 +33,8 @@ import de.upb.cs.is.jpl.api.util.datastructure.Pair;
 public class SystemConfiguration {
 
 
+   private static final long BYTES_PER_MEGABYTE = 1024L * 1024L;
+
    /** Singleton variable of the class itself. */
    private static SystemConfiguration systemConfiguration;
 
@@ -76,6 +79,19 @@ public class SystemConfiguration {
     */
    private long randomSeed = RandomGenerator.DEFAULT_SEED;
 
+   /**
+    * The maximum number of dataset files which are parsed at the same time before training and
+    * evaluation, or {@code null} to use the default of {@link ParallelDatasetIngestion}.
+    */
+   private Integer datasetIngestionThreads;
+
+   /**
+    * The number of megabytes of used heap, above which no further dataset files are parsed before
+    * training and evaluation, or {@code null} to use the default of
+    * {@link ParallelDatasetIngestion}.
+    */
+   private Integer datasetIngestionMemoryBudget;
+
 
    /**
     * Creates a new empty system configuration.
@@ -118,6 +134,8 @@ public class SystemConfiguration {
       evaluation = new JsonObject();
       learningAlgorithmDatasetPairToLearningModelMap = new HashMap<>();
       outputFilePath = StringUtils.EMPTY_STRING;
+      datasetIngestionThreads = null;
+      datasetIngestionMemoryBudget = null;
    }
 
 
@@ -309,4 +327,70 @@ public class SystemConfiguration {
       return datasetFiles;
    }
 
+
+   /**
+    * Returns the maximum number of dataset files which are parsed at the same time before training
+    * and evaluation.
+    *
+    * @return the number of threads, or {@code null} if the default is used
+    */
+   public Integer getDatasetIngestionThreads() {
+      return datasetIngestionThreads;
+   }
+
+
+   /**
+    * Sets the maximum number of dataset files which are parsed at the same time before training and
+    * evaluation.
+    *
+    * @param datasetIngestionThreads the number of threads, or {@code null} to use the default
+    */
+   public void setDatasetIngestionThreads(Integer datasetIngestionThreads) {
+      this.datasetIngestionThreads = datasetIngestionThreads;
+   }
+
+
+   /**
+    * Returns the number of megabytes of used heap, above which no further dataset files are parsed
+    * before training and evaluation.
+    *
+    * @return the memory budget in megabytes, or {@code null} if the default is used
+    */
+   public Integer getDatasetIngestionMemoryBudget() {
+      return datasetIngestionMemoryBudget;
+   }
+
+
+   /**
+    * Sets the number of megabytes of used heap, above which no further dataset files are parsed
+    * before training and evaluation.
+    *
+    * @param datasetIngestionMemoryBudget the memory budget in megabytes, or {@code null} to use the
+    *           default
+    */
+   public void setDatasetIngestionMemoryBudget(Integer datasetIngestionMemoryBudget) {
+      this.datasetIngestionMemoryBudget = datasetIngestionMemoryBudget;
+   }
+
+
+   /**
+    * Creates the {@link ParallelDatasetIngestion} for the given number of threads and memory
+    * budget. Every value which is {@code null} is taken from this system configuration, or from the
+    * defaults of {@link ParallelDatasetIngestion} if it is not set here either.
+    *
+    * @param numberOfThreads the number of threads overriding the one of this system configuration,
+    *           or {@code null}
+    * @param memoryBudget the memory budget in megabytes overriding the one of this system
+    *           configuration, or {@code null}
+    * @return the dataset ingestion
+    * @throws IllegalArgumentException if the number of threads or the memory budget is not positive
+    */
+   public ParallelDatasetIngestion createDatasetIngestion(Integer numberOfThreads, Integer memoryBudget) {
+      Integer usedNumberOfThreads = numberOfThreads != null ? numberOfThreads : datasetIngestionThreads;
+      Integer usedMemoryBudget = memoryBudget != null ? memoryBudget : datasetIngestionMemoryBudget;
+      return new ParallelDatasetIngestion(
+            usedNumberOfThreads != null ? usedNumberOfThreads : ParallelDatasetIngestion.getDefaultNumberOfThreads(),
+            usedMemoryBudget != null ? usedMemoryBudget * BYTES_PER_MEGABYTE : ParallelDatasetIngestion.getDefaultMemoryBudget());
+   }
+
 }
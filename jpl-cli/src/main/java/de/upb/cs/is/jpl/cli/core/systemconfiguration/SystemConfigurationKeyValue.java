@@ -35,6 +35,18 @@ public class SystemConfigurationKeyValue {
    /** The Constant SEED identifies an object for the evaluation configuration. */
    public static final String SEED = "seed";
 
+   /**
+    * The Constant DATASET_INGESTION_THREADS identifies the maximum number of dataset files which
+    * are parsed at the same time before training and evaluation.
+    */
+   public static final String DATASET_INGESTION_THREADS = "dataset_ingestion_threads";
+
+   /**
+    * The Constant DATASET_INGESTION_MEMORY_BUDGET identifies the number of megabytes of used heap,
+    * above which no further dataset files are parsed before training and evaluation.
+    */
+   public static final String DATASET_INGESTION_MEMORY_BUDGET = "dataset_ingestion_memory_budget";
+
 
    /**
     * The Constant FILE_PATH is an key value for an input file and identifies an absolute path to a
@@ -10,6 +10,7 @@ import java.util.List;
 import org.junit.Test;
 
 import de.upb.cs.is.jpl.api.dataset.DatasetFile;
+import de.upb.cs.is.jpl.api.dataset.ParallelDatasetIngestion;
 import de.upb.cs.is.jpl.api.learningproblem.ELearningProblem;
 import de.upb.cs.is.jpl.api.util.StringUtils;
 import de.upb.cs.is.jpl.cli.command.ACommandUnitTest;
@@ -35,6 +36,8 @@ public class ReadSystemConfigurationCommandHandlerTest extends ACommandUnitTest
    private static final String SYSTEM_CONFIGURATION_INCORRECT_INPUT_JSON_PATH = "SystemConfigurationIncorrectInput.json";
    private static final String SYSTEM_CONFIGURATION_INCORRECT_INPUT_JSON_PATH_2 = "SystemConfigurationIncorrectInput.json";
    private static final String SYSTEM_CONFIGURATION_INCOMPLETE_INPUT_JSON_PATH = "SystemConfigurationIncompleteInput.json";
+   private static final String SYSTEM_CONFIGURATION_DATASET_INGESTION_JSON_PATH = "SystemConfigurationDatasetIngestion.json";
+   private static final String SYSTEM_CONFIGURATION_INVALID_DATASET_INGESTION_JSON_PATH = "SystemConfigurationInvalidDatasetIngestion.json";
    private static final String OUTPUT_PATH_TXT = "output.txt";
 
 
@@ -45,6 +48,10 @@ public class ReadSystemConfigurationCommandHandlerTest extends ACommandUnitTest
    private static final String ASSERT_TRUE_OUTPUT_FILE_NAME = "The path of the output file should be equals: %s.";
    private static final String ASSERT_TRUE_FILE_SIZE = "The size of the datasetFiles should be 2.";
    private static final String ASSERT_EQULAS_RANK_AGGREGATION_PROBLEM = "The learning problem should be: %s.";
+   private static final String ASSERT_EQUALS_DATASET_INGESTION_THREADS = "The number of dataset ingestion threads should be: %d.";
+   private static final String ASSERT_EQUALS_DATASET_INGESTION_MEMORY_BUDGET = "The dataset ingestion memory budget should be: %d bytes.";
+   private static final int DATASET_INGESTION_THREADS = 2;
+   private static final long DATASET_INGESTION_MEMORY_BUDGET = 256L * 1024L * 1024L;
 
    private static final String COMMAND_SUCCESS_MESSAGE = "COMMAND_SUCCESS_MESSAGE";
    private static final String PARAMETER_KEY_FILEPATH_LONG = "PARAMETER_KEY_FILEPATH_LONG";
@@ -114,6 +121,36 @@ public class ReadSystemConfigurationCommandHandlerTest extends ACommandUnitTest
    }
 
 
+   /**
+    * Tests a correct JSON input File with dataset ingestion settings, which are used for the
+    * dataset ingestion unless they are overridden.
+    */
+   @Test
+   public void testDatasetIngestionInputForSystemConfigurationCommand() {
+      executeReadSystemConfigurationCommand(getTestRessourcePathFor(SYSTEM_CONFIGURATION_DATASET_INGESTION_JSON_PATH), true, true);
+
+      SystemConfiguration systemConfiguration = SystemConfiguration.getSystemConfiguration();
+      ParallelDatasetIngestion datasetIngestion = systemConfiguration.createDatasetIngestion(null, null);
+      assertEquals(String.format(ASSERT_EQUALS_DATASET_INGESTION_THREADS, DATASET_INGESTION_THREADS), DATASET_INGESTION_THREADS,
+            datasetIngestion.getNumberOfThreads());
+      assertEquals(String.format(ASSERT_EQUALS_DATASET_INGESTION_MEMORY_BUDGET, DATASET_INGESTION_MEMORY_BUDGET),
+            DATASET_INGESTION_MEMORY_BUDGET, datasetIngestion.getMemoryBudget());
+
+      datasetIngestion = systemConfiguration.createDatasetIngestion(1, null);
+      assertEquals(String.format(ASSERT_EQUALS_DATASET_INGESTION_THREADS, 1), 1, datasetIngestion.getNumberOfThreads());
+   }
+
+
+   /**
+    * In the JSON file the 'dataset_ingestion_threads' is not positive.
+    */
+   @Test
+   public void testInvalidDatasetIngestionInputForSystemConfigurationCommand() {
+      executeReadSystemConfigurationCommand(getTestRessourcePathFor(SYSTEM_CONFIGURATION_INVALID_DATASET_INGESTION_JSON_PATH), false,
+            false);
+   }
+
+
    /**
     * Tests a correct JSON input File with mandatory fields only.
     */
@@ -6,6 +6,7 @@ import java.io.File;
 import org.junit.Before;
 
 import de.upb.cs.is.jpl.api.configuration.logging.LoggingConfiguration;
+import de.upb.cs.is.jpl.api.dataset.ADatasetParser;
 import de.upb.cs.is.jpl.api.util.StringUtils;
 
 
@@ -18,11 +19,17 @@ import de.upb.cs.is.jpl.api.util.StringUtils;
  *
  */
 public abstract class AUnitTest {
+   private static final File BINARY_CACHE_DIRECTORY = new File(System.getProperty("java.io.tmpdir"), "jpl-test-binary-cache");
    private static final String PATH_TO_TEST_RESSOURCES = "src" + File.separator + "test" + File.separator + "resources" + File.separator;
 
    private String additionalResourcePath;
    private String resourceDirectoryLevel;
 
+   // store the binary caches of parsed dataset files outside of the test resource directories
+   static {
+      ADatasetParser.setBinaryCacheDirectory(BINARY_CACHE_DIRECTORY);
+   }
+
 
    /**
     * Creates a new unit test with the resource level directory path.